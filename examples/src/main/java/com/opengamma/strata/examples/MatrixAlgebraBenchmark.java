@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.examples;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.linearalgebra.DecompositionFactory;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebraFactory;
+import com.opengamma.strata.math.linearalgebra.Decomposition;
+
+/**
+ * Benchmark to compare the matrix algebra and decompositions used by calibration.
+ * <p>
+ * Curve and credit calibration repeatedly solve and invert dense Jacobian matrices whose size is the
+ * number of calibration nodes. This benchmark times the Commons, OpenGamma and dense implementations
+ * for matrices of that size, allowing the effect of changing the default implementations to be measured.
+ * <p>
+ * Run with no arguments to print the median time of each operation in microseconds.
+ * The matrices are random and diagonally dominant, thus they are well-conditioned.
+ */
+public class MatrixAlgebraBenchmark {
+
+  /**
+   * The matrix sizes, typical of the number of nodes in calibration.
+   */
+  private static final int[] SIZES = {10, 30, 60, 120};
+  /**
+   * The number of timed rounds, the median of which is reported.
+   */
+  private static final int ROUNDS = 15;
+  /**
+   * The minimum time of each round in nanoseconds.
+   */
+  private static final long ROUND_NANOS = 50_000_000L;
+  /**
+   * The result of the last operation, which prevents the operation being optimized away.
+   */
+  private static volatile Object sink;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args  ignored
+   */
+  public static void main(String[] args) {
+    System.out.println(String.format("%-28s %8s %8s %8s %8s", "Operation (us)", SIZES[0], SIZES[1], SIZES[2], SIZES[3]));
+    run("multiply Commons", size -> multiply(MatrixAlgebraFactory.COMMONS_ALGEBRA, size));
+    run("multiply OG", size -> multiply(MatrixAlgebraFactory.OG_ALGEBRA, size));
+    run("multiply Dense", size -> multiply(MatrixAlgebraFactory.DENSE_ALGEBRA, size));
+    run("inverse Commons", size -> inverse(MatrixAlgebraFactory.COMMONS_ALGEBRA, size));
+    run("inverse Dense", size -> inverse(MatrixAlgebraFactory.DENSE_ALGEBRA, size));
+    run("LU solve Commons", size -> solve(DecompositionFactory.LU_COMMONS, size));
+    run("LU solve OpenGamma", size -> solve(DecompositionFactory.LU_OPENGAMMA, size));
+    run("QR solve Commons", size -> solve(DecompositionFactory.QR_COMMONS, size));
+    run("QR solve OpenGamma", size -> solve(DecompositionFactory.QR_OPENGAMMA, size));
+    run("SVD solve Commons", size -> solve(DecompositionFactory.SV_COMMONS, size));
+  }
+
+  // times the operation for each size and prints the median
+  private static void run(String name, SizedOperation operation) {
+    StringBuilder buf = new StringBuilder(String.format("%-28s", name));
+    for (int size : SIZES) {
+      Supplier<Object> task = operation.create(size);
+      // warm up
+      time(task);
+      double[] micros = new double[ROUNDS];
+      for (int i = 0; i < ROUNDS; i++) {
+        micros[i] = time(task);
+      }
+      Arrays.sort(micros);
+      buf.append(String.format(" %8.1f", micros[ROUNDS / 2]));
+    }
+    System.out.println(buf);
+  }
+
+  // runs the task repeatedly for the round time, returning the mean time in microseconds
+  private static double time(Supplier<Object> task) {
+    long start = System.nanoTime();
+    long end = start + ROUND_NANOS;
+    int count = 0;
+    long now;
+    do {
+      sink = task.get();
+      count++;
+      now = System.nanoTime();
+    } while (now < end);
+    return (now - start) / 1000d / count;
+  }
+
+  //-------------------------------------------------------------------------
+  private static Supplier<Object> multiply(MatrixAlgebra algebra, int size) {
+    DoubleMatrix a = matrix(size, 1);
+    DoubleMatrix b = matrix(size, 2);
+    return () -> algebra.multiply(a, b);
+  }
+
+  private static Supplier<Object> inverse(MatrixAlgebra algebra, int size) {
+    DoubleMatrix a = matrix(size, 1);
+    return () -> algebra.getInverse(a);
+  }
+
+  private static Supplier<Object> solve(Decomposition<?> decomposition, int size) {
+    DoubleMatrix a = matrix(size, 1);
+    DoubleArray b = DoubleArray.of(size, i -> i + 1d);
+    return () -> decomposition.apply(a).solve(b);
+  }
+
+  // creates a random diagonally dominant matrix
+  private static DoubleMatrix matrix(int size, long seed) {
+    Random random = new Random(seed);
+    return DoubleMatrix.of(size, size, (i, j) -> i == j ? size + random.nextDouble() : random.nextDouble() - 0.5);
+  }
+
+  //-------------------------------------------------------------------------
+  // creates an operation for a matrix size
+  private interface SizedOperation {
+    Supplier<Object> create(int size);
+  }
+
+}
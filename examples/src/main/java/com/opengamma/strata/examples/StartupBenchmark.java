@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.examples;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.basics.index.IborIndices;
+import com.opengamma.strata.collect.io.ResourceConfig;
+import com.opengamma.strata.market.curve.ConstantCurve;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwapTrade;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+
+/**
+ * Benchmark to measure the time taken from JVM startup to pricing the first trade.
+ * <p>
+ * Most of the time taken to price the first trade is spent loading the configuration of
+ * the extended enums, such as indices, holiday calendars and conventions.
+ * This benchmark allows the effect of the {@link ResourceConfig} index to be measured.
+ * <p>
+ * Run with no arguments to price a single swap and print the timings.
+ * Run with the arguments 'index &lt;outputDir&gt;' to price a single swap and then write the index
+ * of the configuration that was loaded to the output directory.
+ * When the output directory is added to the classpath, the index is used if the system property
+ * 'com.opengamma.strata.config.index' is set to 'true'.
+ */
+public class StartupBenchmark {
+
+  /**
+   * The valuation date.
+   */
+  private static final LocalDate VAL_DATE = LocalDate.of(2014, 1, 22);
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args  empty, or 'index' followed by the output directory
+   */
+  public static void main(String[] args) {
+    long startNanos = System.nanoTime();
+    long jvmUptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+
+    CurrencyAmount pv = priceSwap();
+    long firstPriceMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+    long nextStartNanos = System.nanoTime();
+    priceSwap();
+    long nextPriceMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - nextStartNanos);
+
+    System.out.println("Index enabled:         " + Boolean.getBoolean(ResourceConfig.INDEX_PROPERTY));
+    System.out.println("Present value:         " + pv);
+    System.out.println("JVM startup:           " + jvmUptimeMillis + "ms");
+    System.out.println("First price:           " + firstPriceMillis + "ms");
+    System.out.println("Time to first price:   " + (jvmUptimeMillis + firstPriceMillis) + "ms");
+    System.out.println("Second price:          " + nextPriceMillis + "ms");
+
+    if (args.length == 2 && args[0].equals("index")) {
+      ResourceConfig.writeIndex(Paths.get(args[1]));
+      System.out.println("Index written to:      " + args[1]);
+    }
+  }
+
+  // prices a swap, loading the configuration needed on first use
+  private static CurrencyAmount priceSwap() {
+    ReferenceData refData = ReferenceData.standard();
+    ResolvedSwapTrade trade = FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+        .createTrade(VAL_DATE, Tenor.TENOR_5Y, BuySell.BUY, 1_000_000, 0.015, refData)
+        .resolve(refData);
+    ImmutableRatesProvider provider = ImmutableRatesProvider.builder(VAL_DATE)
+        .discountCurve(Currency.USD, ConstantCurve.of(Curves.zeroRates("USD-Disc", DayCounts.ACT_365F), 0.01))
+        .iborIndexCurve(IborIndices.USD_LIBOR_3M, ConstantCurve.of(Curves.zeroRates("USD-3M", DayCounts.ACT_365F), 0.015))
+        .build();
+    return DiscountingSwapTradePricer.DEFAULT.presentValue(trade, Currency.USD, provider);
+  }
+
+}
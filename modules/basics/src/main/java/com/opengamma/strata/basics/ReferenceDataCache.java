@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics;
+
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A bounded, concurrent cache of values derived from a key and reference data.
+ * <p>
+ * This is used to intern the results of resolving immutable definitions against reference data.
+ * When many definitions are equal, such as the schedules of thousands of standard swaps,
+ * the derived value is calculated once and the same instance is shared by all callers.
+ * <p>
+ * The cache is scoped to the reference data instance. Each instance of reference data has its own
+ * bounded cache of derived values, matched by the identity of the reference data.
+ * Reference data is treated as immutable, as per {@link Resolvable}.
+ * The reference data is only held weakly, thus the derived values are discarded together with the
+ * reference data when it is no longer in use, and cannot be matched against other reference data.
+ * <p>
+ * The key must be an immutable value type with a suitable definition of equals and hash code.
+ * The derived value must be immutable and must not refer to the reference data.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <K>  the type of the key
+ * @param <V>  the type of the derived value
+ */
+public final class ReferenceDataCache<K, V> {
+
+  /**
+   * The maximum number of entries for each instance of reference data.
+   */
+  private final int maximumSize;
+  /**
+   * The caches of derived values, keyed by the identity of the reference data, which is held weakly.
+   */
+  private final Cache<ReferenceData, Cache<K, V>> caches;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance with the specified maximum size.
+   * <p>
+   * The maximum size applies separately to each instance of reference data.
+   *
+   * @param <K>  the type of the key
+   * @param <V>  the type of the derived value
+   * @param maximumSize  the maximum number of entries in the cache for each instance of reference data
+   * @return the cache
+   * @throws IllegalArgumentException if the maximum size is less than one
+   */
+  public static <K, V> ReferenceDataCache<K, V> of(int maximumSize) {
+    ArgChecker.notNegativeOrZero(maximumSize, "maximumSize");
+    return new ReferenceDataCache<>(maximumSize);
+  }
+
+  // restricted constructor
+  private ReferenceDataCache(int maximumSize) {
+    this.maximumSize = maximumSize;
+    this.caches = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the value derived from the key and reference data, calculating it if necessary.
+   * <p>
+   * If the value is not present, the supplier is invoked to calculate it.
+   * The supplier must only depend on the key and the reference data.
+   * If two threads calculate the same value concurrently, both will receive the instance that
+   * was stored first. Exceptions thrown by the supplier are propagated and nothing is cached.
+   *
+   * @param key  the key
+   * @param refData  the reference data used to derive the value
+   * @param supplier  the supplier of the value, invoked if the value is not cached
+   * @return the cached or calculated value
+   */
+  public V get(K key, ReferenceData refData, Supplier<? extends V> supplier) {
+    ArgChecker.notNull(key, "key");
+    ArgChecker.notNull(refData, "refData");
+    Cache<K, V> cache = caches.asMap().computeIfAbsent(refData, rd -> CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .build());
+    V cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    V value = supplier.get();
+    V existing = cache.asMap().putIfAbsent(key, value);
+    return existing != null ? existing : value;
+  }
+
+  /**
+   * Gets the approximate number of entries in the cache.
+   * <p>
+   * This is the total across all instances of reference data that are still in use.
+   *
+   * @return the size of the cache
+   */
+  public long size() {
+    return caches.asMap().values().stream()
+        .mapToLong(Cache::size)
+        .sum();
+  }
+
+  /**
+   * Removes all entries from the cache.
+   */
+  public void clear() {
+    caches.invalidateAll();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ReferenceDataCache[size=" + size() + "]";
+  }
+
+}
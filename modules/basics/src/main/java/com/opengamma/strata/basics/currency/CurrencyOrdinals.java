@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Table assigning a fixed ordinal to each currency.
+ * <p>
+ * The ordinal is assigned when a currency is first seen and does not change for the life of the JVM.
+ * Ordinals are dense, starting from zero, allowing amounts to be held in primitive arrays indexed by currency.
+ */
+final class CurrencyOrdinals {
+
+  /**
+   * The ordinals keyed by currency.
+   */
+  private static final ConcurrentMap<Currency, Integer> ORDINALS = new ConcurrentHashMap<>();
+  /**
+   * The next ordinal to be assigned.
+   */
+  private static final AtomicInteger NEXT = new AtomicInteger();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the ordinal of the currency, assigning one if necessary.
+   *
+   * @param currency  the currency
+   * @return the ordinal
+   */
+  static int ordinal(Currency currency) {
+    Integer ordinal = ORDINALS.get(currency);
+    if (ordinal != null) {
+      return ordinal;
+    }
+    return ORDINALS.computeIfAbsent(currency, ccy -> NEXT.getAndIncrement());
+  }
+
+  // restricted constructor
+  private CurrencyOrdinals() {
+  }
+
+}
@@ -9,6 +9,7 @@ import static java.util.stream.Collector.Characteristics.UNORDERED;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -161,21 +162,46 @@ public final class MultiCurrencyAmount
    * @return the collector
    */
   public static Collector<CurrencyAmount, ?, MultiCurrencyAmount> toMultiCurrencyAmount() {
-    return Collector.<CurrencyAmount, Map<Currency, CurrencyAmount>, MultiCurrencyAmount>of(
-        // accumulate into a map
-        HashMap::new,
-        // merge two CurrencyAmounts if same currency
-        (map, ca) -> map.merge(ArgChecker.notNull(ca, "amount").getCurrency(), ca, CurrencyAmount::plus),
-        // combine two maps
-        (map1, map2) -> {
-          map2.values().forEach((ca2) -> map1.merge(ca2.getCurrency(), ca2, CurrencyAmount::plus));
-          return map1;
-        },
+    return Collector.<CurrencyAmount, MultiCurrencyAmountAccumulator, MultiCurrencyAmount>of(
+        // accumulate into a primitive array indexed by currency
+        MultiCurrencyAmountAccumulator::new,
+        MultiCurrencyAmountAccumulator::add,
+        // combine two accumulators
+        MultiCurrencyAmountAccumulator::add,
         // convert to MultiCurrencyAmount
-        map -> new MultiCurrencyAmount(ImmutableSortedSet.copyOf(map.values())),
+        MultiCurrencyAmountAccumulator::toMultiCurrencyAmount,
         UNORDERED);
   }
 
+  /**
+   * Returns a collector that can be used to total a stream of multi-currency amounts.
+   * <p>
+   * The amounts are added together by currency, as per {@link #plus(MultiCurrencyAmount)}.
+   * The collector supports parallel streams, using a separate accumulator for each thread.
+   *
+   * @return the collector
+   */
+  public static Collector<MultiCurrencyAmount, ?, MultiCurrencyAmount> summingMultiCurrencyAmount() {
+    return Collector.<MultiCurrencyAmount, MultiCurrencyAmountAccumulator, MultiCurrencyAmount>of(
+        MultiCurrencyAmountAccumulator::new,
+        MultiCurrencyAmountAccumulator::add,
+        MultiCurrencyAmountAccumulator::add,
+        MultiCurrencyAmountAccumulator::toMultiCurrencyAmount,
+        UNORDERED);
+  }
+
+  /**
+   * Returns a mutable accumulator that can be used to total a large number of amounts.
+   * <p>
+   * The accumulator holds the amounts in a primitive array indexed by currency,
+   * avoiding the allocation of intermediate objects when adding amounts.
+   *
+   * @return the accumulator
+   */
+  public static MultiCurrencyAmountAccumulator accumulator() {
+    return new MultiCurrencyAmountAccumulator();
+  }
+
   /**
    * Returns a collector that can be used to create a multi-currency amount
    * from a stream of amounts where each amount has a different currency.
@@ -192,6 +218,16 @@ public final class MultiCurrencyAmount
         MultiCurrencyAmount::new);
   }
 
+  /**
+   * Obtains an instance from amounts that are known to have different currencies.
+   *
+   * @param amounts  the amounts, each with a different currency
+   * @return the amount
+   */
+  static MultiCurrencyAmount ofDistinct(Collection<CurrencyAmount> amounts) {
+    return new MultiCurrencyAmount(ImmutableSortedSet.copyOf(amounts));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance where the input is already validated.
@@ -0,0 +1,249 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A mutable accumulator of amounts in multiple currencies.
+ * <p>
+ * This is used to total a large number of amounts, such as when aggregating the present value
+ * of a portfolio. Amounts are held in a primitive array indexed by a fixed currency ordinal.
+ * Adding an amount performs one lock-free concurrent map lookup to find the ordinal of the currency,
+ * then updates the array in place, thus no objects are created once the accumulator holds the currency.
+ * <p>
+ * As with {@link MultiCurrencyAmount#total(Iterable)}, a currency is retained once it has been added,
+ * even if the total amount in that currency is zero.
+ * <p>
+ * Instances are obtained from {@link MultiCurrencyAmount#accumulator()}.
+ * <p>
+ * This class is mutable and not thread-safe.
+ * When aggregating in parallel, each thread should use its own accumulator,
+ * combining them using {@link #add(MultiCurrencyAmountAccumulator)}.
+ */
+public final class MultiCurrencyAmountAccumulator {
+
+  /**
+   * The initial capacity, sufficient for the commonly used currencies.
+   */
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * The currencies, indexed by ordinal, null if not present.
+   */
+  private Currency[] currencies = new Currency[INITIAL_CAPACITY];
+  /**
+   * The amounts, indexed by ordinal.
+   */
+  private double[] amounts = new double[INITIAL_CAPACITY];
+  /**
+   * The number of currencies present.
+   */
+  private int currencyCount;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty instance.
+   */
+  MultiCurrencyAmountAccumulator() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds an amount in the specified currency.
+   *
+   * @param currency  the currency of the amount
+   * @param amount  the amount to add
+   * @return this, for chaining
+   */
+  public MultiCurrencyAmountAccumulator add(Currency currency, double amount) {
+    ArgChecker.notNull(currency, "currency");
+    int ordinal = ensureCurrency(currency);
+    amounts[ordinal] += amount;
+    return this;
+  }
+
+  /**
+   * Adds a currency amount.
+   *
+   * @param amount  the amount to add
+   * @return this, for chaining
+   */
+  public MultiCurrencyAmountAccumulator add(CurrencyAmount amount) {
+    ArgChecker.notNull(amount, "amount");
+    int ordinal = ensureCurrency(amount.getCurrency());
+    amounts[ordinal] += amount.getAmount();
+    return this;
+  }
+
+  /**
+   * Adds a multi-currency amount.
+   *
+   * @param amount  the amount to add
+   * @return this, for chaining
+   */
+  public MultiCurrencyAmountAccumulator add(MultiCurrencyAmount amount) {
+    ArgChecker.notNull(amount, "amount");
+    for (CurrencyAmount currencyAmount : amount.getAmounts()) {
+      add(currencyAmount);
+    }
+    return this;
+  }
+
+  /**
+   * Adds a multi-currency amount multiplied by a factor.
+   * <p>
+   * This is typically used to scale the value of a security by a quantity.
+   *
+   * @param amount  the amount to add
+   * @param factor  the factor to multiply the amount by
+   * @return this, for chaining
+   */
+  public MultiCurrencyAmountAccumulator addMultiplied(MultiCurrencyAmount amount, double factor) {
+    ArgChecker.notNull(amount, "amount");
+    for (CurrencyAmount currencyAmount : amount.getAmounts()) {
+      int ordinal = ensureCurrency(currencyAmount.getCurrency());
+      amounts[ordinal] += currencyAmount.getAmount() * factor;
+    }
+    return this;
+  }
+
+  /**
+   * Adds all the specified currency amounts.
+   *
+   * @param amounts  the amounts to add
+   * @return this, for chaining
+   */
+  public MultiCurrencyAmountAccumulator addAll(Iterable<CurrencyAmount> amounts) {
+    ArgChecker.notNull(amounts, "amounts");
+    for (CurrencyAmount amount : amounts) {
+      add(amount);
+    }
+    return this;
+  }
+
+  /**
+   * Adds the total of another accumulator.
+   * <p>
+   * This is used to combine the accumulators of different threads.
+   * The other accumulator is unaffected.
+   *
+   * @param other  the accumulator to add
+   * @return this, for chaining
+   */
+  public MultiCurrencyAmountAccumulator add(MultiCurrencyAmountAccumulator other) {
+    ArgChecker.notNull(other, "other");
+    Currency[] otherCurrencies = other.currencies;
+    for (int i = 0; i < otherCurrencies.length; i++) {
+      if (otherCurrencies[i] != null) {
+        int ordinal = ensureCurrency(otherCurrencies[i]);
+        amounts[ordinal] += other.amounts[i];
+      }
+    }
+    return this;
+  }
+
+  // ensures the currency is present, returning the ordinal
+  private int ensureCurrency(Currency currency) {
+    int ordinal = CurrencyOrdinals.ordinal(currency);
+    if (ordinal >= currencies.length) {
+      int capacity = Math.max(ordinal + 1, currencies.length * 2);
+      currencies = Arrays.copyOf(currencies, capacity);
+      amounts = Arrays.copyOf(amounts, capacity);
+    }
+    if (currencies[ordinal] == null) {
+      currencies[ordinal] = currency;
+      currencyCount++;
+    }
+    return ordinal;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if no amounts have been added.
+   *
+   * @return true if empty
+   */
+  public boolean isEmpty() {
+    return currencyCount == 0;
+  }
+
+  /**
+   * Gets the total amount in the specified currency.
+   * <p>
+   * If the currency has not been added, zero is returned.
+   *
+   * @param currency  the currency
+   * @return the total amount in the currency
+   */
+  public double getAmount(Currency currency) {
+    ArgChecker.notNull(currency, "currency");
+    int ordinal = CurrencyOrdinals.ordinal(currency);
+    return ordinal < amounts.length ? amounts[ordinal] : 0d;
+  }
+
+  /**
+   * Converts the total to a single currency.
+   * <p>
+   * The rate from each currency to the result currency is obtained once,
+   * and the amounts are converted and summed using the primitive array.
+   *
+   * @param resultCurrency  the currency of the result
+   * @param rateProvider  the provider of FX rates
+   * @return the total converted to the result currency
+   * @throws RuntimeException if no FX rate could be found
+   */
+  public CurrencyAmount convertedTo(Currency resultCurrency, FxRateProvider rateProvider) {
+    ArgChecker.notNull(resultCurrency, "resultCurrency");
+    ArgChecker.notNull(rateProvider, "rateProvider");
+    double total = 0d;
+    for (int i = 0; i < currencies.length; i++) {
+      Currency currency = currencies[i];
+      if (currency != null) {
+        double rate = currency.equals(resultCurrency) ? 1d : rateProvider.fxRate(currency, resultCurrency);
+        total += amounts[i] * rate;
+      }
+    }
+    return CurrencyAmount.of(resultCurrency, total);
+  }
+
+  /**
+   * Returns the total as a multi-currency amount.
+   * <p>
+   * The accumulator is unaffected and may continue to be used.
+   *
+   * @return the total
+   */
+  public MultiCurrencyAmount toMultiCurrencyAmount() {
+    List<CurrencyAmount> result = new ArrayList<>(currencyCount);
+    for (int i = 0; i < currencies.length; i++) {
+      if (currencies[i] != null) {
+        result.add(CurrencyAmount.of(currencies[i], amounts[i]));
+      }
+    }
+    return MultiCurrencyAmount.ofDistinct(result);
+  }
+
+  /**
+   * Resets the accumulator, removing all amounts.
+   */
+  public void clear() {
+    Arrays.fill(currencies, null);
+    Arrays.fill(amounts, 0d);
+    currencyCount = 0;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MultiCurrencyAmountAccumulator" + toMultiCurrencyAmount().getAmounts();
+  }
+
+}
@@ -158,6 +158,17 @@ public final class MultiCurrencyAmountArray
     return array1;
   }
 
+  /**
+   * Obtains an instance with the specified size from a map of amounts that are known to have that size.
+   *
+   * @param size  the size of the array
+   * @param values  map of currencies to values
+   * @return an instance containing the values from the map
+   */
+  static MultiCurrencyAmountArray of(int size, Map<Currency, DoubleArray> values) {
+    return new MultiCurrencyAmountArray(size, values);
+  }
+
   @ImmutableConstructor
   private MultiCurrencyAmountArray(int size, Map<Currency, DoubleArray> values) {
     this.values = ImmutableSortedMap.copyOf(values);
@@ -357,23 +368,39 @@ public final class MultiCurrencyAmountArray
    * @return the collector
    */
   public static Collector<CurrencyAmountArray, ?, MultiCurrencyAmountArray> toMultiCurrencyAmountArray() {
-    return Collector.<CurrencyAmountArray, Map<Currency, CurrencyAmountArray>, MultiCurrencyAmountArray>of(
-        // accumulate into a map
-        HashMap::new,
-        (map, ca) -> map.merge(ca.getCurrency(), ca, CurrencyAmountArray::plus),
-        // combine two maps
-        (map1, map2) -> {
-          map2.values().forEach((ca2) -> map1.merge(ca2.getCurrency(), ca2, CurrencyAmountArray::plus));
-          return map1;
-        },
+    return Collector.<CurrencyAmountArray, MultiCurrencyAmountArrayAccumulator, MultiCurrencyAmountArray>of(
+        // accumulate into primitive arrays indexed by currency
+        MultiCurrencyAmountArrayAccumulator::new,
+        MultiCurrencyAmountArrayAccumulator::add,
+        // combine two accumulators
+        MultiCurrencyAmountArrayAccumulator::add,
         // convert to MultiCurrencyAmountArray
-        map -> {
-          Map<Currency, DoubleArray> currencyArrayMap = MapStream.of(map).mapValues(caa -> caa.getValues()).toMap();
-          return MultiCurrencyAmountArray.of(currencyArrayMap);
-        },
+        MultiCurrencyAmountArrayAccumulator::toMultiCurrencyAmountArray,
         UNORDERED);
   }
 
+  /**
+   * Returns a mutable accumulator that can be used to total a large number of amount arrays.
+   * <p>
+   * The size of the accumulator is set by the first array added.
+   *
+   * @return the accumulator
+   */
+  public static MultiCurrencyAmountArrayAccumulator accumulator() {
+    return new MultiCurrencyAmountArrayAccumulator();
+  }
+
+  /**
+   * Returns a mutable accumulator with the specified size that can be used to total
+   * a large number of amount arrays.
+   *
+   * @param size  the size of the arrays
+   * @return the accumulator
+   */
+  public static MultiCurrencyAmountArrayAccumulator accumulator(int size) {
+    return new MultiCurrencyAmountArrayAccumulator(size);
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code MultiCurrencyAmountArray}.
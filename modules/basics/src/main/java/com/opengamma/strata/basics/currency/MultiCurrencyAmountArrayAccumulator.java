@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * A mutable accumulator of arrays of amounts in multiple currencies.
+ * <p>
+ * This is the scenario equivalent of {@link MultiCurrencyAmountAccumulator}, used to total
+ * a large number of arrays of amounts, where each element of the array represents a scenario.
+ * The amounts are held in primitive arrays indexed by a fixed currency ordinal,
+ * thus adding an array only performs primitive addition.
+ * <p>
+ * All the arrays added must have the same size.
+ * If the size is not specified when the accumulator is created, it is set by the first array added.
+ * <p>
+ * Instances are obtained from {@link MultiCurrencyAmountArray#accumulator()}.
+ * <p>
+ * This class is mutable and not thread-safe.
+ * When aggregating in parallel, each thread should use its own accumulator,
+ * combining them using {@link #add(MultiCurrencyAmountArrayAccumulator)}.
+ */
+public final class MultiCurrencyAmountArrayAccumulator {
+
+  /**
+   * The initial capacity, sufficient for the commonly used currencies.
+   */
+  private static final int INITIAL_CAPACITY = 16;
+  /**
+   * The size used when the size is not yet known.
+   */
+  private static final int UNKNOWN_SIZE = -1;
+
+  /**
+   * The currencies, indexed by ordinal, null if not present.
+   */
+  private Currency[] currencies = new Currency[INITIAL_CAPACITY];
+  /**
+   * The amounts, indexed by ordinal and then scenario.
+   */
+  private double[][] amounts = new double[INITIAL_CAPACITY][];
+  /**
+   * The number of currencies present.
+   */
+  private int currencyCount;
+  /**
+   * The size of the arrays, -1 if not yet known.
+   */
+  private int size;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty instance where the size is set by the first array added.
+   */
+  MultiCurrencyAmountArrayAccumulator() {
+    this.size = UNKNOWN_SIZE;
+  }
+
+  /**
+   * Creates an empty instance with the specified size.
+   *
+   * @param size  the size of the arrays
+   */
+  MultiCurrencyAmountArrayAccumulator(int size) {
+    this.size = ArgChecker.notNegative(size, "size");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds an array of amounts in the specified currency.
+   *
+   * @param currency  the currency of the amounts
+   * @param values  the amounts to add, one for each scenario
+   * @return this, for chaining
+   * @throws IllegalArgumentException if the size of the array is different to the size of this accumulator
+   */
+  public MultiCurrencyAmountArrayAccumulator add(Currency currency, DoubleArray values) {
+    ArgChecker.notNull(currency, "currency");
+    ArgChecker.notNull(values, "values");
+    double[] total = ensureCurrency(currency, values.size());
+    for (int i = 0; i < total.length; i++) {
+      total[i] += values.get(i);
+    }
+    return this;
+  }
+
+  /**
+   * Adds an array of currency amounts.
+   *
+   * @param amounts  the amounts to add
+   * @return this, for chaining
+   * @throws IllegalArgumentException if the size of the array is different to the size of this accumulator
+   */
+  public MultiCurrencyAmountArrayAccumulator add(CurrencyAmountArray amounts) {
+    ArgChecker.notNull(amounts, "amounts");
+    return add(amounts.getCurrency(), amounts.getValues());
+  }
+
+  /**
+   * Adds an array of multi-currency amounts.
+   *
+   * @param amounts  the amounts to add
+   * @return this, for chaining
+   * @throws IllegalArgumentException if the size of the array is different to the size of this accumulator
+   */
+  public MultiCurrencyAmountArrayAccumulator add(MultiCurrencyAmountArray amounts) {
+    ArgChecker.notNull(amounts, "amounts");
+    checkSize(amounts.size());
+    for (Currency currency : amounts.getCurrencies()) {
+      add(currency, amounts.getValues(currency));
+    }
+    return this;
+  }
+
+  /**
+   * Adds a multi-currency amount to every scenario.
+   * <p>
+   * The size of the accumulator must be known.
+   *
+   * @param amount  the amount to add to each scenario
+   * @return this, for chaining
+   * @throws IllegalStateException if the size of the accumulator is not yet known
+   */
+  public MultiCurrencyAmountArrayAccumulator add(MultiCurrencyAmount amount) {
+    ArgChecker.notNull(amount, "amount");
+    if (size == UNKNOWN_SIZE) {
+      throw new IllegalStateException("Unable to add a single amount until the size of the accumulator is known");
+    }
+    for (CurrencyAmount currencyAmount : amount.getAmounts()) {
+      double[] total = ensureCurrency(currencyAmount.getCurrency(), size);
+      double value = currencyAmount.getAmount();
+      for (int i = 0; i < total.length; i++) {
+        total[i] += value;
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Adds the total of another accumulator.
+   * <p>
+   * This is used to combine the accumulators of different threads.
+   * The other accumulator is unaffected.
+   *
+   * @param other  the accumulator to add
+   * @return this, for chaining
+   * @throws IllegalArgumentException if the size of the other accumulator is different to the size of this accumulator
+   */
+  public MultiCurrencyAmountArrayAccumulator add(MultiCurrencyAmountArrayAccumulator other) {
+    ArgChecker.notNull(other, "other");
+    if (other.size == UNKNOWN_SIZE) {
+      return this;
+    }
+    checkSize(other.size);
+    Currency[] otherCurrencies = other.currencies;
+    for (int c = 0; c < otherCurrencies.length; c++) {
+      if (otherCurrencies[c] != null) {
+        double[] total = ensureCurrency(otherCurrencies[c], other.size);
+        double[] values = other.amounts[c];
+        for (int i = 0; i < total.length; i++) {
+          total[i] += values[i];
+        }
+      }
+    }
+    return this;
+  }
+
+  // checks the size, setting it if unknown
+  private void checkSize(int arraySize) {
+    if (size == UNKNOWN_SIZE) {
+      size = arraySize;
+    } else if (arraySize != size) {
+      throw new IllegalArgumentException(
+          Messages.format("Arrays must have the same size but found sizes {} and {}", size, arraySize));
+    }
+  }
+
+  // ensures the currency is present, returning the array of totals
+  private double[] ensureCurrency(Currency currency, int arraySize) {
+    checkSize(arraySize);
+    int ordinal = CurrencyOrdinals.ordinal(currency);
+    if (ordinal >= currencies.length) {
+      int capacity = Math.max(ordinal + 1, currencies.length * 2);
+      currencies = Arrays.copyOf(currencies, capacity);
+      amounts = Arrays.copyOf(amounts, capacity);
+    }
+    if (currencies[ordinal] == null) {
+      currencies[ordinal] = currency;
+      amounts[ordinal] = new double[size];
+      currencyCount++;
+    }
+    return amounts[ordinal];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the size of the arrays, zero if no arrays have been added and the size was not specified.
+   *
+   * @return the size of the arrays
+   */
+  public int size() {
+    return size == UNKNOWN_SIZE ? 0 : size;
+  }
+
+  /**
+   * Checks if no amounts have been added.
+   *
+   * @return true if empty
+   */
+  public boolean isEmpty() {
+    return currencyCount == 0;
+  }
+
+  /**
+   * Converts the totals to a single currency.
+   * <p>
+   * The rate from each currency to the result currency is obtained once,
+   * and the amounts are converted and summed using the primitive arrays.
+   * To use a different rate for each scenario, see {@link MultiCurrencyAmountArray#convertedTo}.
+   *
+   * @param resultCurrency  the currency of the result
+   * @param rateProvider  the provider of FX rates
+   * @return the totals converted to the result currency
+   * @throws RuntimeException if no FX rate could be found
+   */
+  public CurrencyAmountArray convertedTo(Currency resultCurrency, FxRateProvider rateProvider) {
+    ArgChecker.notNull(resultCurrency, "resultCurrency");
+    ArgChecker.notNull(rateProvider, "rateProvider");
+    double[] result = new double[size()];
+    for (int c = 0; c < currencies.length; c++) {
+      Currency currency = currencies[c];
+      if (currency != null) {
+        double rate = currency.equals(resultCurrency) ? 1d : rateProvider.fxRate(currency, resultCurrency);
+        double[] values = amounts[c];
+        for (int i = 0; i < result.length; i++) {
+          result[i] += values[i] * rate;
+        }
+      }
+    }
+    return CurrencyAmountArray.of(resultCurrency, DoubleArray.ofUnsafe(result));
+  }
+
+  /**
+   * Returns the totals as a multi-currency amount array.
+   * <p>
+   * The accumulator is unaffected and may continue to be used.
+   *
+   * @return the totals
+   */
+  public MultiCurrencyAmountArray toMultiCurrencyAmountArray() {
+    Map<Currency, DoubleArray> result = new HashMap<>();
+    for (int c = 0; c < currencies.length; c++) {
+      if (currencies[c] != null) {
+        result.put(currencies[c], DoubleArray.copyOf(amounts[c]));
+      }
+    }
+    return MultiCurrencyAmountArray.of(size(), result);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MultiCurrencyAmountArrayAccumulator" + toMultiCurrencyAmountArray().getValues();
+  }
+
+}
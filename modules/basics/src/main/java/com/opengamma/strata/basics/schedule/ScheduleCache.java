@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.schedule;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ReferenceDataCache;
+
+/**
+ * A bounded, concurrent cache of schedules created from periodic schedule definitions.
+ * <p>
+ * Large portfolios contain many trades with the same schedule definition, such as standard
+ * swaps and IMM-dated CDS sharing start date, end date, frequency, roll convention and calendar.
+ * This cache ensures that the schedule is only created once for each distinct definition,
+ * and that the resulting {@link Schedule} and {@link SchedulePeriod} instances are shared.
+ * <p>
+ * Schedules are keyed by the value of the {@link PeriodicSchedule} and are scoped to the instance
+ * of reference data used to resolve the holiday calendars, see {@link ReferenceDataCache}.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class ScheduleCache {
+
+  /**
+   * The default maximum size of the cache.
+   */
+  private static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+  /**
+   * The shared instance, used when resolving trades.
+   */
+  public static final ScheduleCache DEFAULT = of(DEFAULT_MAXIMUM_SIZE);
+
+  /**
+   * The schedules created without combining periods.
+   */
+  private final ReferenceDataCache<PeriodicSchedule, Schedule> schedules;
+  /**
+   * The schedules created combining periods if necessary.
+   */
+  private final ReferenceDataCache<PeriodicSchedule, Schedule> combinedSchedules;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance with the specified maximum size.
+   * <p>
+   * The maximum size applies separately to schedules created with and without combining periods,
+   * and separately to each instance of reference data.
+   *
+   * @param maximumSize  the maximum number of schedules in the cache
+   * @return the cache
+   * @throws IllegalArgumentException if the maximum size is less than one
+   */
+  public static ScheduleCache of(int maximumSize) {
+    return new ScheduleCache(maximumSize);
+  }
+
+  // restricted constructor
+  private ScheduleCache(int maximumSize) {
+    this.schedules = ReferenceDataCache.of(maximumSize);
+    this.combinedSchedules = ReferenceDataCache.of(maximumSize);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the schedule from the definition, returning a shared instance if possible.
+   * <p>
+   * The result is the same as {@link PeriodicSchedule#createSchedule(ReferenceData)}.
+   *
+   * @param definition  the schedule definition
+   * @param refData  the reference data, used to find the holiday calendars
+   * @return the schedule
+   * @throws ScheduleException if the definition is invalid
+   */
+  public Schedule createSchedule(PeriodicSchedule definition, ReferenceData refData) {
+    return createSchedule(definition, refData, false);
+  }
+
+  /**
+   * Creates the schedule from the definition, returning a shared instance if possible.
+   * <p>
+   * The result is the same as {@link PeriodicSchedule#createSchedule(ReferenceData, boolean)}.
+   * Invalid definitions are not cached, thus the exception is thrown on every call.
+   *
+   * @param definition  the schedule definition
+   * @param refData  the reference data, used to find the holiday calendars
+   * @param combinePeriodsIfNecessary  determines whether periods should be combined if necessary
+   * @return the schedule
+   * @throws ScheduleException if the definition is invalid
+   */
+  public Schedule createSchedule(
+      PeriodicSchedule definition,
+      ReferenceData refData,
+      boolean combinePeriodsIfNecessary) {
+
+    if (combinePeriodsIfNecessary) {
+      return combinedSchedules.get(definition, refData, () -> definition.createSchedule(refData, true));
+    }
+    return schedules.get(definition, refData, () -> definition.createSchedule(refData, false));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the approximate number of schedules in the cache.
+   *
+   * @return the size of the cache
+   */
+  public long size() {
+    return schedules.size() + combinedSchedules.size();
+  }
+
+  /**
+   * Removes all schedules from the cache.
+   */
+  public void clear() {
+    schedules.clear();
+    combinedSchedules.clear();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ScheduleCache[size=" + size() + "]";
+  }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Test {@link ReferenceDataCache}.
+ */
+public class ReferenceDataCacheTest {
+
+  private static final ReferenceData REF_DATA1 = ImmutableReferenceData.of(ImmutableMap.of());
+  private static final ReferenceData REF_DATA2 = ImmutableReferenceData.of(ImmutableMap.of());
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_get_sharedByKeyValue() {
+    ReferenceDataCache<String, StringBuilder> test = ReferenceDataCache.of(10);
+    AtomicInteger count = new AtomicInteger();
+    StringBuilder first = test.get("A", REF_DATA1, () -> new StringBuilder("A" + count.incrementAndGet()));
+    StringBuilder second = test.get(new String("A"), REF_DATA1, () -> new StringBuilder("A" + count.incrementAndGet()));
+    assertThat(second).isSameAs(first);
+    assertThat(count.get()).isEqualTo(1);
+    assertThat(test.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void test_get_keyedByReferenceDataIdentity() {
+    ReferenceDataCache<String, StringBuilder> test = ReferenceDataCache.of(10);
+    StringBuilder first = test.get("A", REF_DATA1, () -> new StringBuilder("A"));
+    StringBuilder second = test.get("A", REF_DATA2, () -> new StringBuilder("A"));
+    assertThat(REF_DATA1).isEqualTo(REF_DATA2);
+    assertThat(second).isNotSameAs(first);
+    assertThat(test.size()).isEqualTo(2);
+    test.clear();
+    assertThat(test.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void test_get_exceptionNotCached() {
+    ReferenceDataCache<String, String> test = ReferenceDataCache.of(10);
+    assertThatIllegalStateException()
+        .isThrownBy(() -> test.get("A", REF_DATA1, () -> {
+          throw new IllegalStateException();
+        }));
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.get("A", REF_DATA1, () -> "B")).isEqualTo("B");
+  }
+
+  @Test
+  public void test_of_invalidSize() {
+    assertThatIllegalArgumentException().isThrownBy(() -> ReferenceDataCache.of(0));
+    assertThatIllegalArgumentException().isThrownBy(() -> ReferenceDataCache.of(-1));
+  }
+
+  @Test
+  public void test_bounded_perReferenceData() {
+    ReferenceDataCache<Integer, String> test = ReferenceDataCache.of(5);
+    for (int i = 0; i < 100; i++) {
+      int value = i;
+      test.get(value, REF_DATA1, () -> Integer.toString(value));
+      test.get(value, REF_DATA2, () -> Integer.toString(value));
+    }
+    assertThat(test.size()).isLessThanOrEqualTo(10);
+  }
+
+  @Test
+  public void test_bounded() {
+    ReferenceDataCache<Integer, String> test = ReferenceDataCache.of(5);
+    for (int i = 0; i < 100; i++) {
+      int value = i;
+      test.get(value, REF_DATA1, () -> Integer.toString(value));
+    }
+    assertThat(test.size()).isLessThanOrEqualTo(5);
+    assertThat(test.toString()).startsWith("ReferenceDataCache");
+  }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import static com.opengamma.strata.basics.currency.Currency.CAD;
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test {@link MultiCurrencyAmountAccumulator}.
+ */
+public class MultiCurrencyAmountAccumulatorTest {
+
+  private static final FxMatrix FX_MATRIX = FxMatrix.builder()
+      .addRate(GBP, USD, 1.5)
+      .addRate(EUR, USD, 1.2)
+      .build();
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_empty() {
+    MultiCurrencyAmountAccumulator test = MultiCurrencyAmount.accumulator();
+    assertThat(test.isEmpty()).isTrue();
+    assertThat(test.getAmount(GBP)).isEqualTo(0d);
+    assertThat(test.toMultiCurrencyAmount()).isEqualTo(MultiCurrencyAmount.empty());
+  }
+
+  @Test
+  public void test_add() {
+    MultiCurrencyAmountAccumulator test = MultiCurrencyAmount.accumulator()
+        .add(GBP, 100)
+        .add(CurrencyAmount.of(USD, 50))
+        .add(MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 20), CurrencyAmount.of(EUR, 30)))
+        .addMultiplied(MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 1), CurrencyAmount.of(CAD, 2)), 10)
+        .addAll(ImmutableList.of(CurrencyAmount.of(EUR, -30), CurrencyAmount.of(USD, 5)));
+    assertThat(test.isEmpty()).isFalse();
+    assertThat(test.getAmount(GBP)).isEqualTo(130d);
+    assertThat(test.toMultiCurrencyAmount()).isEqualTo(MultiCurrencyAmount.of(
+        CurrencyAmount.of(GBP, 130),
+        CurrencyAmount.of(USD, 55),
+        CurrencyAmount.of(EUR, 0),
+        CurrencyAmount.of(CAD, 20)));
+  }
+
+  @Test
+  public void test_add_accumulator() {
+    MultiCurrencyAmountAccumulator base = MultiCurrencyAmount.accumulator().add(GBP, 100);
+    MultiCurrencyAmountAccumulator other = MultiCurrencyAmount.accumulator().add(GBP, 10).add(USD, 20);
+    base.add(other);
+    assertThat(base.toMultiCurrencyAmount()).isEqualTo(
+        MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 110), CurrencyAmount.of(USD, 20)));
+    assertThat(other.toMultiCurrencyAmount()).isEqualTo(
+        MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 10), CurrencyAmount.of(USD, 20)));
+  }
+
+  @Test
+  public void test_convertedTo() {
+    MultiCurrencyAmountAccumulator test = MultiCurrencyAmount.accumulator()
+        .add(GBP, 100)
+        .add(USD, 50)
+        .add(EUR, 10);
+    assertThat(test.convertedTo(USD, FX_MATRIX).getAmount()).isCloseTo(100 * 1.5 + 50 + 10 * 1.2, offset(1e-10));
+    assertThat(test.convertedTo(USD, FX_MATRIX))
+        .isEqualTo(test.toMultiCurrencyAmount().convertedTo(USD, FX_MATRIX));
+  }
+
+  @Test
+  public void test_clear() {
+    MultiCurrencyAmountAccumulator test = MultiCurrencyAmount.accumulator().add(GBP, 100);
+    test.clear();
+    assertThat(test.isEmpty()).isTrue();
+    assertThat(test.add(USD, 1).toMultiCurrencyAmount()).isEqualTo(MultiCurrencyAmount.of(USD, 1));
+  }
+
+  @Test
+  public void test_collector_parallel() {
+    MultiCurrencyAmount test = IntStream.range(0, 10_000)
+        .parallel()
+        .mapToObj(i -> CurrencyAmount.of(i % 2 == 0 ? GBP : USD, 1))
+        .collect(MultiCurrencyAmount.toMultiCurrencyAmount());
+    assertThat(test).isEqualTo(MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 5000), CurrencyAmount.of(USD, 5000)));
+  }
+
+  @Test
+  public void coverage() {
+    assertThat(MultiCurrencyAmount.accumulator().add(GBP, 1).toString()).contains("GBP");
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link MultiCurrencyAmountArrayAccumulator}.
+ */
+public class MultiCurrencyAmountArrayAccumulatorTest {
+
+  private static final FxMatrix FX_MATRIX = FxMatrix.builder()
+      .addRate(GBP, USD, 1.5)
+      .addRate(EUR, USD, 1.2)
+      .build();
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_empty() {
+    MultiCurrencyAmountArrayAccumulator test = MultiCurrencyAmountArray.accumulator();
+    assertThat(test.isEmpty()).isTrue();
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.toMultiCurrencyAmountArray().size()).isEqualTo(0);
+    assertThat(MultiCurrencyAmountArray.accumulator(3).toMultiCurrencyAmountArray().size()).isEqualTo(3);
+  }
+
+  @Test
+  public void test_add() {
+    MultiCurrencyAmountArrayAccumulator test = MultiCurrencyAmountArray.accumulator()
+        .add(GBP, DoubleArray.of(1, 2, 3))
+        .add(CurrencyAmountArray.of(USD, DoubleArray.of(10, 20, 30)))
+        .add(MultiCurrencyAmountArray.of(ImmutableMap.of(
+            GBP, DoubleArray.of(1, 1, 1),
+            EUR, DoubleArray.of(5, 6, 7))))
+        .add(MultiCurrencyAmount.of(USD, 100));
+    assertThat(test.size()).isEqualTo(3);
+    assertThat(test.toMultiCurrencyAmountArray()).isEqualTo(MultiCurrencyAmountArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(2, 3, 4),
+        USD, DoubleArray.of(110, 120, 130),
+        EUR, DoubleArray.of(5, 6, 7))));
+  }
+
+  @Test
+  public void test_add_accumulator() {
+    MultiCurrencyAmountArrayAccumulator base = MultiCurrencyAmountArray.accumulator()
+        .add(GBP, DoubleArray.of(1, 2));
+    base.add(MultiCurrencyAmountArray.accumulator());
+    base.add(MultiCurrencyAmountArray.accumulator().add(GBP, DoubleArray.of(3, 4)).add(USD, DoubleArray.of(5, 6)));
+    assertThat(base.toMultiCurrencyAmountArray()).isEqualTo(MultiCurrencyAmountArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(4, 6),
+        USD, DoubleArray.of(5, 6))));
+  }
+
+  @Test
+  public void test_add_wrongSize() {
+    MultiCurrencyAmountArrayAccumulator test = MultiCurrencyAmountArray.accumulator(2);
+    assertThatIllegalArgumentException().isThrownBy(() -> test.add(GBP, DoubleArray.of(1, 2, 3)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> test.add(MultiCurrencyAmountArray.accumulator().add(GBP, DoubleArray.of(1))));
+    assertThatIllegalStateException()
+        .isThrownBy(() -> MultiCurrencyAmountArray.accumulator().add(MultiCurrencyAmount.of(GBP, 1)));
+  }
+
+  @Test
+  public void test_convertedTo() {
+    MultiCurrencyAmountArrayAccumulator test = MultiCurrencyAmountArray.accumulator()
+        .add(GBP, DoubleArray.of(1, 2))
+        .add(USD, DoubleArray.of(10, 20));
+    assertThat(test.convertedTo(USD, FX_MATRIX))
+        .isEqualTo(CurrencyAmountArray.of(USD, DoubleArray.of(11.5, 23)));
+  }
+
+  @Test
+  public void coverage() {
+    assertThat(MultiCurrencyAmountArray.accumulator().add(GBP, DoubleArray.of(1)).toString()).contains("GBP");
+  }
+
+}
@@ -173,6 +173,18 @@ public class MultiCurrencyAmountTest {
     assertThatIllegalArgumentException().isThrownBy(() -> amount.stream().collect(toMultiCurrencyAmount()));
   }
 
+  @Test
+  public void test_summingMultiCurrencyAmount() {
+    List<MultiCurrencyAmount> amounts = ImmutableList.of(
+        MultiCurrencyAmount.of(CurrencyAmount.of(CCY1, 100), CurrencyAmount.of(CCY2, 50)),
+        MultiCurrencyAmount.of(CurrencyAmount.of(CCY1, 150)),
+        MultiCurrencyAmount.of(CurrencyAmount.of(CCY2, 100), CurrencyAmount.of(CCY3, 10)));
+    MultiCurrencyAmount expected = MultiCurrencyAmount.of(
+        CurrencyAmount.of(CCY1, 250), CurrencyAmount.of(CCY2, 150), CurrencyAmount.of(CCY3, 10));
+    assertThat(amounts.stream().collect(MultiCurrencyAmount.summingMultiCurrencyAmount())).isEqualTo(expected);
+    assertThat(amounts.parallelStream().collect(MultiCurrencyAmount.summingMultiCurrencyAmount())).isEqualTo(expected);
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void test_beanBuilder() {
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.schedule;
+
+import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_FOLLOWING;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.GBLO;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+
+/**
+ * Test {@link ScheduleCache}.
+ */
+public class ScheduleCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final BusinessDayAdjustment BDA = BusinessDayAdjustment.of(MODIFIED_FOLLOWING, GBLO);
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_createSchedule() {
+    ScheduleCache test = ScheduleCache.of(100);
+    Schedule first = test.createSchedule(definition(), REF_DATA);
+    Schedule second = test.createSchedule(definition(), REF_DATA);
+    assertThat(first).isEqualTo(definition().createSchedule(REF_DATA));
+    assertThat(second).isSameAs(first);
+    assertThat(second.getPeriod(0)).isSameAs(first.getPeriod(0));
+    assertThat(test.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void test_createSchedule_combinePeriods() {
+    ScheduleCache test = ScheduleCache.of(100);
+    Schedule combined = test.createSchedule(definition(), REF_DATA, true);
+    assertThat(combined).isEqualTo(definition().createSchedule(REF_DATA, true));
+    assertThat(test.createSchedule(definition(), REF_DATA, true)).isSameAs(combined);
+    test.createSchedule(definition(), REF_DATA, false);
+    assertThat(test.size()).isEqualTo(2);
+    test.clear();
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.toString()).isEqualTo("ScheduleCache[size=0]");
+  }
+
+  @Test
+  public void test_createSchedule_invalid() {
+    PeriodicSchedule invalid = PeriodicSchedule.builder()
+        .startDate(date(2014, 1, 17))
+        .endDate(date(2014, 6, 30))
+        .frequency(Frequency.P3M)
+        .businessDayAdjustment(BDA)
+        .stubConvention(StubConvention.NONE)
+        .build();
+    ScheduleCache test = ScheduleCache.of(100);
+    assertThatExceptionOfType(ScheduleException.class).isThrownBy(() -> test.createSchedule(invalid, REF_DATA));
+    assertThat(test.size()).isEqualTo(0);
+  }
+
+  private static PeriodicSchedule definition() {
+    return PeriodicSchedule.builder()
+        .startDate(date(2014, 1, 17))
+        .endDate(date(2019, 1, 17))
+        .frequency(Frequency.P3M)
+        .businessDayAdjustment(BDA)
+        .stubConvention(StubConvention.SHORT_INITIAL)
+        .build();
+  }
+
+}
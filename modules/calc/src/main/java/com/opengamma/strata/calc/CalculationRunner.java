@@ -7,9 +7,11 @@ package com.opengamma.strata.calc;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
 import com.opengamma.strata.calc.runner.CalculationListener;
 import com.opengamma.strata.calc.runner.CalculationTaskRunner;
 import com.opengamma.strata.data.MarketData;
@@ -66,6 +68,27 @@ public interface CalculationRunner extends AutoCloseable {
     return DefaultCalculationRunner.of(executor);
   }
 
+  /**
+   * Creates a calculation runner that coordinates calculations performed by worker processes.
+   * <p>
+   * This factory starts the specified number of worker processes on the local machine.
+   * The workers create the calculation functions using an instance of the specified supplier class,
+   * which must have a public no-arg constructor and produce the same functions as the calculation rules.
+   * See {@link CalculationTaskRunner#ofWorkers(int, Class)} for more details.
+   * <p>
+   * It is recommended to use try-with-resources to manage the runner, which stops the workers.
+   * 
+   * @param workerCount  the number of worker processes
+   * @param functionsSupplier  the class that supplies the calculation functions in each worker
+   * @return the calculation runner
+   */
+  public static CalculationRunner ofWorkers(
+      int workerCount,
+      Class<? extends Supplier<CalculationFunctions>> functionsSupplier) {
+
+    return DefaultCalculationRunner.ofWorkers(workerCount, functionsSupplier);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
@@ -7,9 +7,11 @@ package com.opengamma.strata.calc;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
 import com.opengamma.strata.calc.runner.CalculationListener;
 import com.opengamma.strata.calc.runner.CalculationTaskRunner;
 import com.opengamma.strata.calc.runner.CalculationTasks;
@@ -59,6 +61,20 @@ class DefaultCalculationRunner implements CalculationRunner {
     return new DefaultCalculationRunner(CalculationTaskRunner.of(executor));
   }
 
+  /**
+   * Creates a calculation runner that coordinates calculations performed by worker processes.
+   * 
+   * @param workerCount  the number of worker processes
+   * @param functionsSupplier  the class that supplies the calculation functions in each worker
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner ofWorkers(
+      int workerCount,
+      Class<? extends Supplier<CalculationFunctions>> functionsSupplier) {
+
+    return new DefaultCalculationRunner(CalculationTaskRunner.ofWorkers(workerCount, functionsSupplier));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the underlying task runner to use.
@@ -5,6 +5,9 @@
  */
 package com.opengamma.strata.calc;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -28,8 +31,10 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.Failure;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 
@@ -447,6 +452,41 @@ public final class Results implements ImmutableBean {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a summary of the failed cells, keyed by root cause.
+   * <p>
+   * When market data cannot be built, every cell that depends on it fails with the same root cause.
+   * Such cells share the same {@link Failure} and are counted together in the summary.
+   * Equal failures created separately are also counted together.
+   * <p>
+   * The map value is the number of cells that failed with the failure.
+   * The map is ordered by the first cell that failed with each failure.
+   *
+   * @return the number of failed cells for each failure
+   */
+  public ImmutableMap<Failure, Integer> failureSummary() {
+    // count by reference first, as failures with the same root cause are typically shared
+    Map<Failure, Integer> byReference = new IdentityHashMap<>();
+    List<Failure> ordered = new ArrayList<>();
+    for (Result<?> cell : cells) {
+      if (cell.isFailure()) {
+        Integer count = byReference.get(cell.getFailure());
+        if (count == null) {
+          ordered.add(cell.getFailure());
+          byReference.put(cell.getFailure(), 1);
+        } else {
+          byReference.put(cell.getFailure(), count + 1);
+        }
+      }
+    }
+    Map<Failure, Integer> summary = new LinkedHashMap<>();
+    for (Failure failure : ordered) {
+      summary.merge(failure, byReference.get(failure), Integer::sum);
+    }
+    return ImmutableMap.copyOf(summary);
+  }
+
   //-------------------------------------------------------------------------
   // casts the result, ensuring the type is the expected one
   @SuppressWarnings("unchecked")
@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.runner.AggregatingCalculationListener;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.MapStream;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Aggregates the results of a column across calculation targets, grouped by a key.
+ * <p>
+ * This is used to calculate portfolio-level values, such as the present value or bucketed PV01
+ * of each book or counterparty. The key is derived from the calculation target, for example
+ * from the trade info, and the values of each group are combined using a {@link Collector}.
+ * Collectors that use mutable accumulators, such as {@code MultiCurrencyAmount.summingMultiCurrencyAmount()}
+ * and {@code CurrencyParameterSensitivities.toCombinedSensitivities()}, avoid copying the
+ * accumulated value each time a result is added.
+ * <p>
+ * Aggregation can be performed on a complete set of {@link Results}, or on results as they are
+ * calculated using {@link #listener()}. When aggregating a complete set of results, large sets
+ * are processed in parallel, with each thread using its own accumulators that are then combined.
+ * <p>
+ * If any result in a group is a failure, the aggregated result of that group is a failure
+ * containing the failures of the group.
+ * <p>
+ * This class is immutable and thread-safe if the key function and collector are thread-safe.
+ *
+ * @param <K>  the type of the key
+ * @param <T>  the type of the value in the column
+ * @param <R>  the type of the aggregated value
+ */
+public final class ResultsAggregator<K, T, R> {
+
+  /**
+   * The number of rows above which aggregation is performed in parallel.
+   */
+  static final int PARALLEL_THRESHOLD = 1000;
+
+  /**
+   * The index of the column to aggregate.
+   */
+  private final int columnIndex;
+  /**
+   * The function deriving the key from the target.
+   */
+  private final Function<? super CalculationTarget, ? extends K> keyFunction;
+  /**
+   * The type of the value in the column.
+   */
+  private final Class<T> valueType;
+  /**
+   * The collector used to aggregate the values.
+   */
+  private final Collector<? super T, Object, R> collector;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that aggregates the values of a column.
+   * <p>
+   * The key function must not return null.
+   * Use a constant key function to aggregate all targets into a single group.
+   *
+   * @param <K>  the type of the key
+   * @param <T>  the type of the value in the column
+   * @param <R>  the type of the aggregated value
+   * @param columnIndex  the index of the column to aggregate
+   * @param keyFunction  the function deriving the key from the target
+   * @param valueType  the type of the value in the column
+   * @param collector  the collector used to aggregate the values of each group
+   * @return the aggregator
+   */
+  @SuppressWarnings("unchecked")
+  public static <K, T, R> ResultsAggregator<K, T, R> of(
+      int columnIndex,
+      Function<? super CalculationTarget, ? extends K> keyFunction,
+      Class<T> valueType,
+      Collector<? super T, ?, R> collector) {
+
+    ArgChecker.notNegative(columnIndex, "columnIndex");
+    ArgChecker.notNull(keyFunction, "keyFunction");
+    ArgChecker.notNull(valueType, "valueType");
+    ArgChecker.notNull(collector, "collector");
+    return new ResultsAggregator<>(columnIndex, keyFunction, valueType, (Collector<? super T, Object, R>) collector);
+  }
+
+  // restricted constructor
+  private ResultsAggregator(
+      int columnIndex,
+      Function<? super CalculationTarget, ? extends K> keyFunction,
+      Class<T> valueType,
+      Collector<? super T, Object, R> collector) {
+
+    this.columnIndex = columnIndex;
+    this.keyFunction = keyFunction;
+    this.valueType = valueType;
+    this.collector = collector;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Aggregates the results of the column.
+   * <p>
+   * The targets must be in the same order as the rows of the results.
+   * The returned map is in the order each key is first seen in the targets.
+   *
+   * @param targets  the calculation targets, one for each row of the results
+   * @param results  the calculation results
+   * @return the aggregated result for each key
+   * @throws IllegalArgumentException if the number of targets does not match the number of rows,
+   *   or the column index is invalid
+   * @throws ClassCastException if a result is not of the expected type
+   */
+  public ImmutableMap<K, Result<R>> aggregate(List<? extends CalculationTarget> targets, Results results) {
+    ArgChecker.notNull(targets, "targets");
+    ArgChecker.notNull(results, "results");
+    int rowCount = results.getRowCount();
+    if (targets.size() != rowCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Number of targets {} does not match number of rows {}", targets.size(), rowCount));
+    }
+    if (columnIndex >= results.getColumnCount()) {
+      throw new IllegalArgumentException(Messages.format(
+          "Column index {} is invalid, results contain {} columns", columnIndex, results.getColumnCount()));
+    }
+    Stream<Integer> rows = IntStream.range(0, rowCount).boxed();
+    if (rowCount > PARALLEL_THRESHOLD) {
+      rows = rows.parallel();
+    }
+    Map<K, Group> groups = rows.collect(Collectors.groupingBy(
+        rowIndex -> keyFunction.apply(targets.get(rowIndex)),
+        LinkedHashMap::new,
+        Collector.of(
+            Group::new,
+            (group, rowIndex) -> group.add(results.get(rowIndex, columnIndex)),
+            Group::combine)));
+    return MapStream.of(groups).mapValues(Group::result).toMap();
+  }
+
+  /**
+   * Returns a listener that aggregates the results of the column as they are calculated.
+   * <p>
+   * Only the aggregated value of each group is retained, not the individual results.
+   * The returned map is in the order each key is first seen.
+   * Results for other columns are ignored.
+   * <p>
+   * A new listener must be used for each calculation.
+   *
+   * @return the listener
+   */
+  public AggregatingCalculationListener<ImmutableMap<K, Result<R>>> listener() {
+    return new Listener();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ResultsAggregator[column=" + columnIndex + ", type=" + valueType.getSimpleName() + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  // the mutable state of a single group
+  private final class Group {
+    private Object container = collector.supplier().get();
+    private List<Result<?>> failures;
+
+    // adds a result to the group
+    private void add(Result<?> result) {
+      if (result.isFailure()) {
+        if (failures == null) {
+          failures = new ArrayList<>();
+        }
+        failures.add(result);
+        return;
+      }
+      Object value = result.getValue();
+      if (!valueType.isInstance(value)) {
+        throw new ClassCastException(Messages.format(
+            "Result queried with type '{}' but was '{}'", valueType.getName(), value.getClass().getName()));
+      }
+      BiConsumer<Object, ? super T> accumulator = collector.accumulator();
+      accumulator.accept(container, valueType.cast(value));
+    }
+
+    // combines another group into this group
+    private Group combine(Group other) {
+      BinaryOperator<Object> combiner = collector.combiner();
+      container = combiner.apply(container, other.container);
+      if (other.failures != null) {
+        if (failures == null) {
+          failures = new ArrayList<>();
+        }
+        failures.addAll(other.failures);
+      }
+      return this;
+    }
+
+    // the aggregated result
+    private Result<R> result() {
+      if (failures != null) {
+        return Result.failure(failures);
+      }
+      return Result.success(collector.finisher().apply(container));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // the listener aggregating results as they are received
+  private final class Listener extends AggregatingCalculationListener<ImmutableMap<K, Result<R>>> {
+    private final Map<K, Group> groups = new LinkedHashMap<>();
+
+    @Override
+    public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+      if (columnIndex >= columns.size()) {
+        throw new IllegalArgumentException(Messages.format(
+            "Column index {} is invalid, calculation contains {} columns", columnIndex, columns.size()));
+      }
+    }
+
+    @Override
+    public void resultReceived(CalculationTarget target, CalculationResult result) {
+      if (result.getColumnIndex() == columnIndex) {
+        K key = ArgChecker.notNull(keyFunction.apply(target), "key");
+        groups.computeIfAbsent(key, k -> new Group()).add(result.getResult());
+      }
+    }
+
+    @Override
+    protected ImmutableMap<K, Result<R>> createAggregateResult() {
+      return MapStream.of(groups).mapValues(Group::result).toMap();
+    }
+  }
+
+}
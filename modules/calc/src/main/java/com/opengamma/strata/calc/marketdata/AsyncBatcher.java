@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Loads values asynchronously in batches, coalescing requests for the same key and limiting concurrency.
+ * <p>
+ * The keys requested are split into batches of at most the maximum batch size.
+ * At most the maximum number of batches are requested from the loader at the same time, with the rest queued.
+ * A key that is requested while an earlier request for the same key is in flight shares the earlier request.
+ * <p>
+ * If the loader fails, or does not return a value for a key, the failure function is used to create the value.
+ * Thus the futures returned by this class always complete normally.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <K>  the type of the key
+ * @param <V>  the type of the value
+ */
+final class AsyncBatcher<K, V> {
+
+  /**
+   * The loader, returning a map of the values for a batch of keys.
+   */
+  private final Function<Set<K>, CompletableFuture<Map<K, V>>> loader;
+  /**
+   * The function creating the value for a key that could not be loaded, the exception is null if the key was missing.
+   */
+  private final BiFunction<K, Throwable, V> failureFn;
+  /**
+   * The maximum number of keys in a batch.
+   */
+  private final int maxBatchSize;
+  /**
+   * The maximum number of batches that can be requested at the same time.
+   */
+  private final int maxConcurrentRequests;
+  /**
+   * The futures of the keys that have been requested but not yet loaded.
+   */
+  private final Map<K, CompletableFuture<V>> inFlight = new HashMap<>();
+  /**
+   * The batches waiting to be requested.
+   */
+  private final Deque<Map<K, CompletableFuture<V>>> queue = new ArrayDeque<>();
+  /**
+   * The number of batches that have been requested and not yet loaded.
+   */
+  private int running;
+  /**
+   * Whether a thread is requesting the queued batches.
+   */
+  private boolean dispatching;
+
+  /**
+   * Creates an instance.
+   *
+   * @param loader  the loader
+   * @param failureFn  the function creating the value for a key that could not be loaded
+   * @param maxBatchSize  the maximum number of keys in a batch
+   * @param maxConcurrentRequests  the maximum number of batches requested at the same time
+   */
+  AsyncBatcher(
+      Function<Set<K>, CompletableFuture<Map<K, V>>> loader,
+      BiFunction<K, Throwable, V> failureFn,
+      int maxBatchSize,
+      int maxConcurrentRequests) {
+
+    this.loader = ArgChecker.notNull(loader, "loader");
+    this.failureFn = ArgChecker.notNull(failureFn, "failureFn");
+    this.maxBatchSize = ArgChecker.notNegativeOrZero(maxBatchSize, "maxBatchSize");
+    this.maxConcurrentRequests = ArgChecker.notNegativeOrZero(maxConcurrentRequests, "maxConcurrentRequests");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads the values of the specified keys.
+   *
+   * @param keys  the keys to load
+   * @return the future map of values, keyed by key, which always completes normally
+   */
+  CompletableFuture<Map<K, V>> load(Set<? extends K> keys) {
+    Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+    synchronized (this) {
+      Map<K, CompletableFuture<V>> toLoad = new LinkedHashMap<>();
+      for (K key : keys) {
+        CompletableFuture<V> future = inFlight.get(key);
+        if (future == null) {
+          future = new CompletableFuture<>();
+          inFlight.put(key, future);
+          toLoad.put(key, future);
+        }
+        futures.put(key, future);
+      }
+      for (List<K> batchKeys : Iterables.partition(toLoad.keySet(), maxBatchSize)) {
+        Map<K, CompletableFuture<V>> batch = new LinkedHashMap<>();
+        batchKeys.forEach(key -> batch.put(key, toLoad.get(key)));
+        queue.add(batch);
+      }
+    }
+    dispatch();
+    return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[futures.size()]))
+        .thenApply(ignored -> {
+          ImmutableMap.Builder<K, V> builder = ImmutableMap.builder();
+          futures.forEach((key, future) -> builder.put(key, future.join()));
+          return builder.build();
+        });
+  }
+
+  // requests the queued batches, up to the concurrency limit
+  // the loader is invoked outside the lock, as it may complete synchronously
+  // only one thread dispatches at a time, which avoids recursion when the loader completes synchronously
+  private void dispatch() {
+    synchronized (this) {
+      if (dispatching) {
+        return;
+      }
+      dispatching = true;
+    }
+    while (true) {
+      Map<K, CompletableFuture<V>> batch;
+      synchronized (this) {
+        if (running >= maxConcurrentRequests || queue.isEmpty()) {
+          dispatching = false;
+          return;
+        }
+        batch = queue.poll();
+        running++;
+      }
+      request(batch);
+    }
+  }
+
+  // requests a single batch
+  private void request(Map<K, CompletableFuture<V>> batch) {
+    CompletableFuture<Map<K, V>> result;
+    try {
+      result = loader.apply(ImmutableSet.copyOf(batch.keySet()));
+    } catch (RuntimeException ex) {
+      result = new CompletableFuture<>();
+      result.completeExceptionally(ex);
+    }
+    result.whenComplete((values, ex) -> complete(batch, values, ex));
+  }
+
+  // completes the futures of a batch, then requests any queued batches
+  private void complete(Map<K, CompletableFuture<V>> batch, Map<K, V> values, Throwable ex) {
+    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    List<Runnable> completions = new ArrayList<>(batch.size());
+    synchronized (this) {
+      running--;
+      for (Map.Entry<K, CompletableFuture<V>> entry : batch.entrySet()) {
+        K key = entry.getKey();
+        inFlight.remove(key);
+        V value = values != null ? values.get(key) : null;
+        V completed = value != null ? value : failureFn.apply(key, cause);
+        completions.add(() -> entry.getValue().complete(completed));
+      }
+    }
+    // the futures are completed outside the lock, as dependent actions run synchronously
+    completions.forEach(Runnable::run);
+    dispatch();
+  }
+
+}
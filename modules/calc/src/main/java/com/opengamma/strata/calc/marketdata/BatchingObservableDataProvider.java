@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * Observable data provider that batches and coalesces requests to an underlying provider.
+ * <p>
+ * The identifiers requested are split into batches, which are requested from the underlying provider
+ * using {@link ObservableDataProvider#provideObservableDataAsync(Set)}.
+ * The number of batches requested at the same time is limited, and requests for an identifier
+ * that is already being requested share the earlier request.
+ */
+final class BatchingObservableDataProvider implements ObservableDataProvider {
+
+  /**
+   * The underlying provider.
+   */
+  private final ObservableDataProvider underlying;
+  /**
+   * The batcher.
+   */
+  private final AsyncBatcher<ObservableId, Result<Double>> batcher;
+
+  /**
+   * Creates an instance.
+   *
+   * @param underlying  the underlying provider
+   * @param maxBatchSize  the maximum number of identifiers in a request to the underlying provider
+   * @param maxConcurrentRequests  the maximum number of requests to the underlying provider at the same time
+   */
+  BatchingObservableDataProvider(ObservableDataProvider underlying, int maxBatchSize, int maxConcurrentRequests) {
+    this.underlying = underlying;
+    this.batcher = new AsyncBatcher<>(
+        underlying::provideObservableDataAsync,
+        BatchingObservableDataProvider::failure,
+        maxBatchSize,
+        maxConcurrentRequests);
+  }
+
+  // creates the failure for an identifier that could not be provided
+  private static Result<Double> failure(ObservableId id, Throwable cause) {
+    if (cause == null) {
+      return Result.failure(FailureReason.MISSING_DATA, "No observable market data provided for '{}'", id);
+    }
+    return Result.failure(
+        FailureReason.MISSING_DATA,
+        cause,
+        "Unable to provide observable market data for '{}': {}",
+        id,
+        cause.getMessage());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Map<ObservableId, Result<Double>> provideObservableData(Set<? extends ObservableId> identifiers) {
+    return provideObservableDataAsync(identifiers).join();
+  }
+
+  @Override
+  public CompletableFuture<Map<ObservableId, Result<Double>>> provideObservableDataAsync(
+      Set<? extends ObservableId> identifiers) {
+
+    return batcher.load(identifiers);
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format("BatchingObservableDataProvider[{}]", underlying);
+  }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * Time-series provider that batches and coalesces requests to an underlying provider.
+ * <p>
+ * The identifiers requested are split into batches, which are requested from the underlying provider
+ * using {@link TimeSeriesProvider#provideTimeSeriesAsync(Set)}.
+ * The number of batches requested at the same time is limited, and requests for an identifier
+ * that is already being requested share the earlier request.
+ */
+final class BatchingTimeSeriesProvider implements TimeSeriesProvider {
+
+  /**
+   * The underlying provider.
+   */
+  private final TimeSeriesProvider underlying;
+  /**
+   * The batcher.
+   */
+  private final AsyncBatcher<ObservableId, Result<LocalDateDoubleTimeSeries>> batcher;
+
+  /**
+   * Creates an instance.
+   *
+   * @param underlying  the underlying provider
+   * @param maxBatchSize  the maximum number of identifiers in a request to the underlying provider
+   * @param maxConcurrentRequests  the maximum number of requests to the underlying provider at the same time
+   */
+  BatchingTimeSeriesProvider(TimeSeriesProvider underlying, int maxBatchSize, int maxConcurrentRequests) {
+    this.underlying = underlying;
+    this.batcher = new AsyncBatcher<>(
+        underlying::provideTimeSeriesAsync,
+        BatchingTimeSeriesProvider::failure,
+        maxBatchSize,
+        maxConcurrentRequests);
+  }
+
+  // creates the failure for an identifier that could not be provided
+  private static Result<LocalDateDoubleTimeSeries> failure(ObservableId id, Throwable cause) {
+    if (cause == null) {
+      return Result.failure(FailureReason.MISSING_DATA, "No time-series provided for '{}'", id);
+    }
+    return Result.failure(
+        FailureReason.MISSING_DATA,
+        cause,
+        "Unable to provide time-series for '{}': {}",
+        id,
+        cause.getMessage());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Result<LocalDateDoubleTimeSeries> provideTimeSeries(ObservableId identifier) {
+    return provideTimeSeriesAsync(ImmutableSet.of(identifier)).join().get(identifier);
+  }
+
+  @Override
+  public CompletableFuture<Map<ObservableId, Result<LocalDateDoubleTimeSeries>>> provideTimeSeriesAsync(
+      Set<? extends ObservableId> identifiers) {
+
+    return batcher.load(identifiers);
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format("BatchingTimeSeriesProvider[{}]", underlying);
+  }
+
+}
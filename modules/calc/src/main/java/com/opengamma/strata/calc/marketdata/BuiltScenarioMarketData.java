@@ -28,9 +28,9 @@ import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.result.Failure;
-import com.opengamma.strata.collect.result.FailureException;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.MarketDataFailureException;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.data.MarketDataNotFoundException;
@@ -138,7 +138,7 @@ public final class BuiltScenarioMarketData
     if (!opt.isPresent()) {
       Failure failure = valueFailures.get(id);
       if (failure != null) {
-        throw new FailureException(failure);
+        throw new MarketDataFailureException(failure);
       }
       throw new MarketDataNotFoundException(Messages.format(
           "Market data not found for identifier '{}' of type '{}'", id, id.getClass().getSimpleName()));
@@ -9,16 +9,24 @@ import static com.opengamma.strata.collect.Guavate.not;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.collect.MapStream;
+import com.opengamma.strata.collect.metrics.Metrics;
+import com.opengamma.strata.collect.metrics.MetricsRecorder;
+import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
@@ -30,9 +38,31 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default market data factory.
  * <p>
  * This uses two providers, one for observable data and one for time-series.
+ * <p>
+ * The providers are invoked asynchronously, requesting the data needed by the next level of the
+ * dependency tree while the current level is built. Use {@link ObservableDataProvider#batched} and
+ * {@link TimeSeriesProvider#batched} to limit the size and concurrency of the requests.
+ * <p>
+ * If a {@link MetricsRecorder} is installed, the time taken to build each node of market data is recorded,
+ * together with the time spent waiting for the providers and the time taken to apply perturbations.
  */
 final class DefaultMarketDataFactory implements MarketDataFactory {
 
+  /** The metric for the time taken to build all the market data. */
+  private static final String METRIC_CREATE = "marketdata.create";
+  /** The metric for the number of levels in the dependency tree. */
+  private static final String METRIC_LEVELS = "marketdata.levels";
+  /** The metric for the time spent waiting for the observable data provider. */
+  private static final String METRIC_OBSERVABLES = "marketdata.observables";
+  /** The metric for the number of observable values requested from the provider. */
+  private static final String METRIC_OBSERVABLE_COUNT = "marketdata.observables.count";
+  /** The metric for the time spent waiting for the time-series provider. */
+  private static final String METRIC_TIME_SERIES = "marketdata.timeseries";
+  /** The prefix of the metric for the time taken to build a node, followed by the simple class name of the function. */
+  private static final String METRIC_BUILD = "marketdata.build.";
+  /** The metric for the time taken to apply a perturbation. */
+  private static final String METRIC_PERTURBATION = "marketdata.perturbation";
+
   /** Builds observable market data. */
   private final ObservableDataProvider observableDataProvider;
 
@@ -102,8 +132,11 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       ReferenceData refData,
       ScenarioDefinition scenarioDefinition) {
 
+    MetricsRecorder recorder = Metrics.recorder();
+    long start = recorder.isEnabled() ? System.nanoTime() : 0;
     BuiltScenarioMarketDataBuilder dataBuilder = BuiltScenarioMarketData.builder(suppliedData.getValuationDate());
     BuiltScenarioMarketData builtData = dataBuilder.build();
+    PerturbationMappingIndex mappings = PerturbationMappingIndex.of(scenarioDefinition.getMappings());
 
     // Build a tree of the market data dependencies. The root of the tree represents the calculations.
     // The children of the root represent the market data directly used in the calculations. The children
@@ -128,23 +161,39 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     //
     // The result of this method also contains details of the problems for market data can't be built or found.
 
+    // The requirements of each level of the dependency tree, starting from the leaves
+    List<MarketDataRequirements> levels = new ArrayList<>();
     while (!root.isLeaf()) {
-      // Effectively final reference to buildData which can be used in a lambda expression
-      BuiltScenarioMarketData marketData = builtData;
-
       // The leaves of the dependency tree represent market data with no dependencies that can be built immediately
       Pair<MarketDataNode, MarketDataRequirements> pair = root.withLeavesRemoved();
+      levels.add(pair.getSecond());
+      // A copy of the dependency tree not including the leaf nodes
+      root = pair.getFirst();
+    }
+
+    // Observable data and time-series are requested from the providers asynchronously, one level ahead.
+    // This allows the data needed by the next level to be fetched while the current level is built
+    ProviderRequests requests = new ProviderRequests(suppliedData, recorder);
+    if (!levels.isEmpty()) {
+      requests.request(levels.get(0));
+    }
+    for (int level = 0; level < levels.size(); level++) {
+      if (level + 1 < levels.size()) {
+        requests.request(levels.get(level + 1));
+      }
+      // Effectively final reference to buildData which can be used in a lambda expression
+      BuiltScenarioMarketData marketData = builtData;
 
       // The requirements contained in the leaf nodes
-      MarketDataRequirements leafRequirements = pair.getSecond();
+      MarketDataRequirements leafRequirements = levels.get(level);
 
       // Time series of observable data ------------------------------------------------------------
 
-      // Build any time series that are required but not available
+      // Add any time series that are required but not available, waiting for the provider if necessary
       leafRequirements.getTimeSeries().stream()
           .filter(id -> marketData.getTimeSeries(id).isEmpty())
           .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
-          .forEach(id -> dataBuilder.addTimeSeriesResult(id, timeSeriesProvider.provideTimeSeries(id)));
+          .forEach(id -> dataBuilder.addTimeSeriesResult(id, requests.timeSeries(id)));
 
       // Copy supplied time series to the scenario data
       leafRequirements.getTimeSeries().stream()
@@ -159,17 +208,13 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
           .filter(not(suppliedData::containsValue))
           .collect(toImmutableSet());
 
-      // Observable data is built in bulk so it can be efficiently requested from data provider in one operation
-      if (!observableIds.isEmpty()) {
-        Map<ObservableId, Result<Double>> observableResults = observableDataProvider.provideObservableData(observableIds);
-        MapStream.of(observableResults)
-            .forEach((id, res) -> addObservableResult(id, res, refData, scenarioDefinition, dataBuilder));
-      }
+      // Observable data is requested in bulk so it can be efficiently obtained from data provider in one operation
+      observableIds.forEach(id -> addObservableResult(id, requests.observable(id), refData, mappings, dataBuilder));
 
       // Copy observable data from the supplied data to the builder, applying any matching perturbations
       leafRequirements.getObservables().stream()
           .filter(suppliedData::containsValue)
-          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, mappings, dataBuilder));
 
       // Non-observable data -----------------------------------------------------------------------
 
@@ -183,20 +228,21 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
           buildNonObservableData(nonObservableIds, marketDataConfig, marketData, refData);
 
       MapStream.of(nonObservableResults)
-          .forEach((id, result) -> addResult(id, result, refData, scenarioDefinition, dataBuilder));
+          .forEach((id, result) -> addResult(id, result, refData, mappings, dataBuilder));
 
       // Copy supplied data to the scenario data after applying perturbations
       leafRequirements.getNonObservables().stream()
           .filter(suppliedData::containsValue)
-          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, scenarioDefinition, dataBuilder));
+          .forEach(id -> addValue(id, suppliedData.getValue(id), refData, mappings, dataBuilder));
 
       // --------------------------------------------------------------------------------------------
 
       // Put the data built so far into an object that will be used in the next phase of building data
       builtData = dataBuilder.build();
-
-      // A copy of the dependency tree not including the leaf nodes
-      root = pair.getFirst();
+    }
+    if (recorder.isEnabled()) {
+      recorder.recordTime(METRIC_CREATE, System.nanoTime() - start);
+      recorder.recordValue(METRIC_LEVELS, levels.size());
     }
     return builtData;
   }
@@ -231,7 +277,14 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     if (marketDataFunction == null) {
       throw new IllegalStateException("No market data function available for market data ID of type " + idClass.getName());
     }
-    return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    MetricsRecorder recorder = Metrics.recorder();
+    if (!recorder.isEnabled()) {
+      return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    }
+    long start = System.nanoTime();
+    Result<MarketDataBox<?>> result = Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    recorder.recordTime(METRIC_BUILD + marketDataFunction.getClass().getSimpleName(), System.nanoTime() - start);
+    return result;
   }
 
   @SuppressWarnings("unchecked")
@@ -255,20 +308,20 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    *
    * @param id  ID of the market data value
    * @param valueResult  a result containing the market data value or details of why it couldn't be built
-   * @param scenarioDefinition  definition of a set of scenarios
+   * @param mappings  the index of the perturbation mappings of the scenarios
    * @param builder  the value or failure details are added to this builder
    */
   private void addResult(
       MarketDataId<?> id,
       Result<MarketDataBox<?>> valueResult,
       ReferenceData refData,
-      ScenarioDefinition scenarioDefinition,
+      PerturbationMappingIndex mappings,
       BuiltScenarioMarketDataBuilder builder) {
 
     if (valueResult.isFailure()) {
       builder.addResult(id, valueResult);
     } else {
-      addValue(id, valueResult.getValue(), refData, scenarioDefinition, builder);
+      addValue(id, valueResult.getValue(), refData, mappings, builder);
     }
   }
 
@@ -282,20 +335,20 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    *
    * @param id  ID of the market data value
    * @param valueResult  a result containing the market data value or details of why it couldn't be built
-   * @param scenarioDefinition  definition of a set of scenarios
+   * @param mappings  the index of the perturbation mappings of the scenarios
    * @param builder  the value or failure details are added to this builder
    */
   private void addObservableResult(
       ObservableId id,
       Result<Double> valueResult,
       ReferenceData refData,
-      ScenarioDefinition scenarioDefinition,
+      PerturbationMappingIndex mappings,
       BuiltScenarioMarketDataBuilder builder) {
 
     if (valueResult.isFailure()) {
       builder.addResult(id, Result.failure(valueResult));
     } else {
-      addValue(id, MarketDataBox.ofSingleValue(valueResult.getValue()), refData, scenarioDefinition, builder);
+      addValue(id, MarketDataBox.ofSingleValue(valueResult.getValue()), refData, mappings, builder);
     }
   }
 
@@ -307,7 +360,7 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    *
    * @param id  ID of the market data value
    * @param value  the market data value
-   * @param scenarioDefinition  definition of a set of scenarios
+   * @param mappings  the index of the perturbation mappings of the scenarios
    * @param builder  the market data is added to this builder
    */
   @SuppressWarnings("unchecked")
@@ -315,12 +368,10 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       MarketDataId<?> id,
       MarketDataBox<?> value,
       ReferenceData refData,
-      ScenarioDefinition scenarioDefinition,
+      PerturbationMappingIndex mappings,
       BuiltScenarioMarketDataBuilder builder) {
 
-    Optional<PerturbationMapping<?>> optionalMapping = scenarioDefinition.getMappings().stream()
-        .filter(m -> m.matches(id, value, refData))
-        .findFirst();
+    Optional<PerturbationMapping<?>> optionalMapping = mappings.findMapping(id, value, refData);
 
     if (optionalMapping.isPresent()) {
       // This is definitely safe because the filter matched the value and the types of the filter and perturbation
@@ -328,11 +379,103 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       PerturbationMapping<Object> mapping = (PerturbationMapping<Object>) optionalMapping.get();
       MarketDataBox<Object> objectValue = ((MarketDataBox<Object>) value);
       // Result.of() catches any exceptions thrown by the mapping and wraps them in a failure
+      MetricsRecorder recorder = Metrics.recorder();
+      long start = recorder.isEnabled() ? System.nanoTime() : 0;
       Result<MarketDataBox<?>> result = Result.of(() -> mapping.applyPerturbation(objectValue, refData));
+      if (recorder.isEnabled()) {
+        recorder.recordTime(METRIC_PERTURBATION, System.nanoTime() - start);
+      }
       builder.addResult(id, result);
     } else {
       builder.addBox(id, value);
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * The requests made to the providers while building a single set of market data.
+   * <p>
+   * Each identifier is requested at most once, with the result shared by every level that needs it.
+   */
+  private final class ProviderRequests {
+
+    /** The supplied market data, which is not requested from the providers. */
+    private final ScenarioMarketData suppliedData;
+    /** The metrics recorder. */
+    private final MetricsRecorder recorder;
+    /** The requests for observable data, keyed by identifier. */
+    private final Map<ObservableId, CompletableFuture<Map<ObservableId, Result<Double>>>> observables =
+        new HashMap<>();
+    /** The requests for time-series, keyed by identifier. */
+    private final Map<ObservableId, CompletableFuture<Map<ObservableId, Result<LocalDateDoubleTimeSeries>>>> timeSeries =
+        new HashMap<>();
+
+    private ProviderRequests(ScenarioMarketData suppliedData, MetricsRecorder recorder) {
+      this.suppliedData = suppliedData;
+      this.recorder = recorder;
+    }
+
+    // requests the observable data and time-series of a level that are not supplied and not already requested
+    private void request(MarketDataRequirements requirements) {
+      Set<ObservableId> observableIds = requirements.getObservables().stream()
+          .filter(not(suppliedData::containsValue))
+          .filter(not(observables::containsKey))
+          .collect(toImmutableSet());
+      if (!observableIds.isEmpty()) {
+        CompletableFuture<Map<ObservableId, Result<Double>>> future =
+            observableDataProvider.provideObservableDataAsync(observableIds);
+        observableIds.forEach(id -> observables.put(id, future));
+        recorder.recordValue(METRIC_OBSERVABLE_COUNT, observableIds.size());
+      }
+      Set<ObservableId> timeSeriesIds = requirements.getTimeSeries().stream()
+          .filter(id -> suppliedData.getTimeSeries(id).isEmpty())
+          .filter(not(timeSeries::containsKey))
+          .collect(toImmutableSet());
+      if (!timeSeriesIds.isEmpty()) {
+        CompletableFuture<Map<ObservableId, Result<LocalDateDoubleTimeSeries>>> future =
+            timeSeriesProvider.provideTimeSeriesAsync(timeSeriesIds);
+        timeSeriesIds.forEach(id -> timeSeries.put(id, future));
+      }
+    }
+
+    // obtains the observable data, waiting for the provider if necessary
+    private Result<Double> observable(ObservableId id) {
+      return await(observables.get(id), id, "observable market data", METRIC_OBSERVABLES);
+    }
+
+    // obtains the time-series, waiting for the provider if necessary
+    private Result<LocalDateDoubleTimeSeries> timeSeries(ObservableId id) {
+      return await(timeSeries.get(id), id, "time-series", METRIC_TIME_SERIES);
+    }
+
+    // waits for the result of a request, recording the time spent waiting
+    private <T> Result<T> await(
+        CompletableFuture<Map<ObservableId, Result<T>>> future,
+        ObservableId id,
+        String description,
+        String metric) {
+
+      if (future == null) {
+        // not requested, which only happens if the requirements are inconsistent
+        return Result.failure(FailureReason.MISSING_DATA, "No {} requested for '{}'", description, id);
+      }
+      long start = recorder.isEnabled() ? System.nanoTime() : 0;
+      try {
+        Result<T> result = future.join().get(id);
+        if (result == null) {
+          return Result.failure(FailureReason.MISSING_DATA, "No {} provided for '{}'", description, id);
+        }
+        return result;
+      } catch (CompletionException | CancellationException ex) {
+        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+        return Result.failure(
+            FailureReason.MISSING_DATA, cause, "Unable to provide {} for '{}': {}", description, id, cause.getMessage());
+      } finally {
+        if (recorder.isEnabled()) {
+          recorder.recordTime(metric, System.nanoTime() - start);
+        }
+      }
+    }
+  }
+
 }
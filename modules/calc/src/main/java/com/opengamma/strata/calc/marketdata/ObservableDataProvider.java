@@ -9,7 +9,9 @@ import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.ObservableId;
@@ -39,6 +41,31 @@ public interface ObservableDataProvider {
                 id)));
   }
 
+  /**
+   * Obtains an instance that batches and coalesces requests to the underlying provider.
+   * <p>
+   * The identifiers requested are split into batches of at most {@code maxBatchSize},
+   * each of which is requested using {@link #provideObservableDataAsync(Set)} on the underlying provider.
+   * At most {@code maxConcurrentRequests} batches are requested at the same time, with the rest queued.
+   * A request for an identifier that is already being requested shares the earlier request.
+   * <p>
+   * To request batches concurrently, the underlying provider must implement
+   * {@link #provideObservableDataAsync(Set)} without blocking.
+   *
+   * @param underlying  the underlying provider
+   * @param maxBatchSize  the maximum number of identifiers in a request to the underlying provider
+   * @param maxConcurrentRequests  the maximum number of requests to the underlying provider at the same time
+   * @return the batching provider
+   */
+  public static ObservableDataProvider batched(
+      ObservableDataProvider underlying,
+      int maxBatchSize,
+      int maxConcurrentRequests) {
+
+    ArgChecker.notNull(underlying, "underlying");
+    return new BatchingObservableDataProvider(underlying, maxBatchSize, maxConcurrentRequests);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Provides market data for the specified identifiers.
@@ -52,4 +79,23 @@ public interface ObservableDataProvider {
    */
   public abstract Map<ObservableId, Result<Double>> provideObservableData(Set<? extends ObservableId> identifiers);
 
+  /**
+   * Provides market data for the specified identifiers asynchronously.
+   * <p>
+   * This is used by the market data factory, allowing the market data to be fetched while other market data is built.
+   * The returned future should not complete exceptionally, instead a failure should be returned
+   * for each identifier that could not be provided.
+   * <p>
+   * The default implementation invokes {@link #provideObservableData(Set)} and blocks until it returns.
+   * Providers that perform I/O should override this method to avoid blocking the calling thread.
+   *
+   * @param identifiers  the market data identifiers to find
+   * @return the future map of market data values, keyed by identifier
+   */
+  public default CompletableFuture<Map<ObservableId, Result<Double>>> provideObservableDataAsync(
+      Set<? extends ObservableId> identifiers) {
+
+    return CompletableFuture.completedFuture(provideObservableData(identifiers));
+  }
+
 }
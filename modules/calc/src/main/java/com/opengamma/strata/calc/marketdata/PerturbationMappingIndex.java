@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.NamedMarketDataId;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+
+/**
+ * An index of perturbation mappings, allowing the mapping for an item of market data to be found efficiently.
+ * <p>
+ * Mappings whose filter matches a specific identifier or name are keyed by that identifier or name.
+ * All other mappings are keyed by the type of identifier handled by the filter.
+ * Thus only the mappings that could match an identifier are tested, rather than every mapping.
+ * <p>
+ * The first matching mapping is returned, in the order of the list used to create the index,
+ * which is the same result as testing each mapping in turn.
+ * <p>
+ * This class is thread-safe.
+ */
+final class PerturbationMappingIndex {
+
+  /**
+   * The mappings, in the order they are tested.
+   */
+  private final ImmutableList<PerturbationMapping<?>> mappings;
+  /**
+   * The indices of the mappings that match a specific identifier, keyed by identifier.
+   */
+  private final ImmutableListMultimap<MarketDataId<?>, Integer> idMappings;
+  /**
+   * The indices of the mappings that match a specific name, keyed by name.
+   */
+  private final ImmutableListMultimap<MarketDataName<?>, Integer> nameMappings;
+  /**
+   * The indices of all other mappings, keyed by the identifier type of the filter.
+   */
+  private final ImmutableListMultimap<Class<?>, Integer> typeMappings;
+  /**
+   * The indices of the mappings keyed by identifier type that apply to an identifier class, populated on demand.
+   */
+  private final ConcurrentHashMap<Class<?>, int[]> typeCandidates = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an index of the specified mappings.
+   *
+   * @param mappings  the mappings, in the order they are tested
+   * @return the index
+   */
+  static PerturbationMappingIndex of(List<? extends PerturbationMapping<?>> mappings) {
+    return new PerturbationMappingIndex(mappings);
+  }
+
+  // restricted constructor
+  private PerturbationMappingIndex(List<? extends PerturbationMapping<?>> mappings) {
+    this.mappings = ImmutableList.copyOf(mappings);
+    ImmutableListMultimap.Builder<MarketDataId<?>, Integer> idBuilder = ImmutableListMultimap.builder();
+    ImmutableListMultimap.Builder<MarketDataName<?>, Integer> nameBuilder = ImmutableListMultimap.builder();
+    ImmutableListMultimap.Builder<Class<?>, Integer> typeBuilder = ImmutableListMultimap.builder();
+    for (int i = 0; i < this.mappings.size(); i++) {
+      MarketDataFilter<?, ?> filter = this.mappings.get(i).getFilter();
+      if (filter instanceof IdFilter) {
+        idBuilder.put(((IdFilter<?>) filter).getId(), i);
+      } else if (filter instanceof NameFilter) {
+        nameBuilder.put(((NameFilter<?>) filter).getName(), i);
+      } else {
+        typeBuilder.put(filter.getMarketDataIdType(), i);
+      }
+    }
+    this.idMappings = idBuilder.build();
+    this.nameMappings = nameBuilder.build();
+    this.typeMappings = typeBuilder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Finds the first mapping that matches an item of market data.
+   *
+   * @param id  the identifier of the market data
+   * @param value  the market data value
+   * @param refData  the reference data
+   * @return the first matching mapping, empty if no mapping matches
+   */
+  Optional<PerturbationMapping<?>> findMapping(MarketDataId<?> id, MarketDataBox<?> value, ReferenceData refData) {
+    if (mappings.isEmpty()) {
+      return Optional.empty();
+    }
+    for (int index : candidates(id)) {
+      PerturbationMapping<?> mapping = mappings.get(index);
+      if (mapping.matches(id, value, refData)) {
+        return Optional.of(mapping);
+      }
+    }
+    return Optional.empty();
+  }
+
+  // finds the indices of the mappings that could match the identifier, in ascending order
+  private int[] candidates(MarketDataId<?> id) {
+    int[] byType = typeCandidates.computeIfAbsent(id.getClass(), this::typeCandidates);
+    ImmutableList<Integer> byId = idMappings.get(id);
+    ImmutableList<Integer> byName = id instanceof NamedMarketDataId ?
+        nameMappings.get(((NamedMarketDataId<?>) id).getMarketDataName()) :
+        ImmutableList.of();
+    if (byId.isEmpty() && byName.isEmpty()) {
+      return byType;
+    }
+    IntStream byIdOrName = IntStream.concat(byId.stream().mapToInt(i -> i), byName.stream().mapToInt(i -> i));
+    return IntStream.concat(IntStream.of(byType), byIdOrName).sorted().toArray();
+  }
+
+  // finds the indices of the mappings keyed by an identifier type that applies to the identifier class
+  private int[] typeCandidates(Class<?> idClass) {
+    return typeMappings.entries().stream()
+        .filter(entry -> entry.getKey().isAssignableFrom(idClass))
+        .mapToInt(entry -> entry.getValue())
+        .sorted()
+        .toArray();
+  }
+
+}
@@ -5,6 +5,13 @@
  */
 package com.opengamma.strata.calc.marketdata;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.ObservableId;
@@ -41,6 +48,27 @@ public interface TimeSeriesProvider {
     return EmptyTimeSeriesProvider.INSTANCE;
   }
 
+  /**
+   * Returns a time-series provider that batches and coalesces requests to the underlying provider.
+   * <p>
+   * The identifiers requested are split into batches of at most {@code maxBatchSize},
+   * each of which is requested using {@link #provideTimeSeriesAsync(Set)} on the underlying provider.
+   * At most {@code maxConcurrentRequests} batches are requested at the same time, with the rest queued.
+   * A request for an identifier that is already being requested shares the earlier request.
+   * <p>
+   * To request batches concurrently, the underlying provider must implement
+   * {@link #provideTimeSeriesAsync(Set)} without blocking.
+   *
+   * @param underlying  the underlying provider
+   * @param maxBatchSize  the maximum number of identifiers in a request to the underlying provider
+   * @param maxConcurrentRequests  the maximum number of requests to the underlying provider at the same time
+   * @return the time-series provider
+   */
+  public static TimeSeriesProvider batched(TimeSeriesProvider underlying, int maxBatchSize, int maxConcurrentRequests) {
+    ArgChecker.notNull(underlying, "underlying");
+    return new BatchingTimeSeriesProvider(underlying, maxBatchSize, maxConcurrentRequests);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Provides the time-series for the specified identifier.
@@ -53,4 +81,26 @@ public interface TimeSeriesProvider {
    */
   public abstract Result<LocalDateDoubleTimeSeries> provideTimeSeries(ObservableId identifier);
 
+  /**
+   * Provides the time-series for the specified identifiers asynchronously.
+   * <p>
+   * This is used by the market data factory, allowing the time-series to be fetched while other market data is built.
+   * The returned future should not complete exceptionally, instead a failure should be returned
+   * for each identifier that could not be provided.
+   * <p>
+   * The default implementation invokes {@link #provideTimeSeries(ObservableId)} for each identifier
+   * and blocks until they return. Providers that perform I/O should override this method to fetch
+   * the time-series in bulk without blocking the calling thread.
+   *
+   * @param identifiers  the market data identifiers to find
+   * @return the future map of time-series, keyed by identifier
+   */
+  public default CompletableFuture<Map<ObservableId, Result<LocalDateDoubleTimeSeries>>> provideTimeSeriesAsync(
+      Set<? extends ObservableId> identifiers) {
+
+    Map<ObservableId, Result<LocalDateDoubleTimeSeries>> timeSeries = identifiers.stream()
+        .collect(toImmutableMap(id -> id, id -> provideTimeSeries(id)));
+    return CompletableFuture.completedFuture(timeSeries);
+  }
+
 }
@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.calc.runner;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -145,4 +147,42 @@ public interface CalculationFunction<T extends CalculationTarget> {
       ScenarioMarketData marketData,
       ReferenceData refData);
 
+  /**
+   * Calculates values of multiple measures for a batch of targets using multiple sets of market data.
+   * <p>
+   * The calculation runner groups targets with the same function, measures and parameters
+   * into batches, invoking this method once for each batch. This allows the function to share work
+   * between the targets, such as the market data view and the pricing providers derived from it.
+   * The default implementation invokes
+   * {@link #calculate(CalculationTarget, Set, CalculationParameters, ScenarioMarketData, ReferenceData)}
+   * for each target in turn.
+   * <p>
+   * The result must contain one map for each target, in the same order as the targets.
+   * Each map must be the same as would be returned by the {@code calculate} method for that target.
+   * <p>
+   * If this method throws an exception, the runner splits the batch in two and invokes this method for each half.
+   * This continues until the targets that fail are isolated, with the {@code calculate} method invoked
+   * for each of them individually, thus a failure is reported against the target that caused it.
+   *
+   * @param targets  the targets of the calculation
+   * @param measures  the set of measures to calculate
+   * @param parameters  the parameters that affect how the calculation is performed
+   * @param marketData  the multi-scenario market data to be used in the calculation
+   * @param refData  the reference data to be used in the calculation
+   * @return the list of maps of calculated values, keyed by their measure, one for each target
+   */
+  public default List<Map<Measure, Result<?>>> calculateBatch(
+      List<T> targets,
+      Set<Measure> measures,
+      CalculationParameters parameters,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    List<Map<Measure, Result<?>>> results = new ArrayList<>(targets.size());
+    for (T target : targets) {
+      results.add(calculate(target, measures, parameters, marketData, refData));
+    }
+    return results;
+  }
+
 }
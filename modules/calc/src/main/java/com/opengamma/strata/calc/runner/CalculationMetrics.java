@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import com.opengamma.strata.collect.metrics.MetricsRecorder;
+
+/**
+ * The names of the metrics recorded by the calculation runner.
+ * <p>
+ * The metrics are reported to the installed {@link MetricsRecorder}.
+ */
+final class CalculationMetrics {
+
+  /**
+   * The time taken to execute a single task, including currency conversion.
+   */
+  static final String TASK = "calc.task";
+  /**
+   * The prefix of the time taken by a function, followed by the simple class name of the function.
+   * Batch calculations add the suffix '.batch'.
+   */
+  static final String FUNCTION = "calc.function.";
+  /**
+   * The time taken to convert the results of a task or batch to the reporting currency.
+   */
+  static final String CONVERSION = "calc.conversion";
+  /**
+   * The time taken to execute a unit of work, a single task or a batch of tasks.
+   */
+  static final String BATCH = "calc.batch";
+  /**
+   * The number of tasks in each unit of work.
+   */
+  static final String BATCH_SIZE = "calc.batch.size";
+  /**
+   * The number of units of work waiting for a thread when a unit of work starts.
+   */
+  static final String QUEUE_DEPTH = "calc.queue.depth";
+  /**
+   * The time taken to deliver the results of a task to the listener.
+   */
+  static final String LISTENER = "calc.listener";
+  /**
+   * The estimated number of bytes allocated by a unit of work.
+   */
+  static final String ALLOCATION = "calc.allocation.bytes";
+
+  // restricted constructor
+  private CalculationMetrics() {
+  }
+
+}
@@ -10,6 +10,7 @@ import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,9 +24,12 @@ import org.joda.beans.TypedMetaBean;
 import org.joda.beans.gen.BeanDefinition;
 import org.joda.beans.gen.PropertyDefinition;
 import org.joda.beans.impl.light.LightMetaBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
@@ -36,9 +40,13 @@ import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.metrics.Metrics;
+import com.opengamma.strata.collect.metrics.MetricsRecorder;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.MarketDataFailureException;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.ObservableId;
@@ -57,6 +65,9 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
 @BeanDefinition(style = "light")
 public final class CalculationTask implements ImmutableBean {
 
+  /** Logger. */
+  private static final Logger log = LoggerFactory.getLogger(CalculationTask.class);
+
   /**
    * The target for which the value will be calculated.
    * This is typically a trade.
@@ -147,13 +158,33 @@ public final class CalculationTask implements ImmutableBean {
    * @param refData  the reference data
    * @return requirements specifying the market data the function needs to perform its calculations
    */
-  @SuppressWarnings("unchecked")
   public MarketDataRequirements requirements(ReferenceData refData) {
-    // determine market data requirements of the function
-    FunctionRequirements functionRequirements = function.requirements(target, getMeasures(), parameters, refData);
-    ObservableSource obsSource = functionRequirements.getObservableSource();
+    return requirements(functionRequirements(refData), reportingCurrencies(refData));
+  }
+
+  // determines market data requirements of the function
+  FunctionRequirements functionRequirements(ReferenceData refData) {
+    return function.requirements(target, getMeasures(), parameters, refData);
+  }
+
+  // determines the currencies that the output values will be converted to
+  ImmutableSet<Currency> reportingCurrencies(ReferenceData refData) {
+    ImmutableSet.Builder<Currency> builder = ImmutableSet.builder();
+    for (CalculationTaskCell cell : cells) {
+      if (cell.getMeasure().isCurrencyConvertible() && !cell.getReportingCurrency().isNone()) {
+        builder.add(cell.reportingCurrency(this, refData));
+      }
+    }
+    return builder.build();
+  }
 
-    // convert function requirements to market data requirements
+  // converts the function requirements to market data requirements
+  // the result only depends on the inputs, allowing tasks with the same requirements to share the result
+  static MarketDataRequirements requirements(
+      FunctionRequirements functionRequirements,
+      Set<Currency> reportingCurrencies) {
+
+    ObservableSource obsSource = functionRequirements.getObservableSource();
     MarketDataRequirementsBuilder requirementsBuilder = MarketDataRequirements.builder();
     for (ObservableId id : functionRequirements.getTimeSeriesRequirements()) {
       requirementsBuilder.addTimeSeries(id.withObservableSource(obsSource));
@@ -167,16 +198,13 @@ public final class CalculationTask implements ImmutableBean {
     }
 
     // add requirements for the FX rates needed to convert the output values into the reporting currency
-    for (CalculationTaskCell cell : cells) {
-      if (cell.getMeasure().isCurrencyConvertible() && !cell.getReportingCurrency().isNone()) {
-        Currency reportingCurrency = cell.reportingCurrency(this, refData);
-        List<MarketDataId<FxRate>> fxRateIds = functionRequirements.getOutputCurrencies().stream()
-            .filter(outputCurrency -> !outputCurrency.equals(reportingCurrency))
-            .map(outputCurrency -> CurrencyPair.of(outputCurrency, reportingCurrency))
-            .map(pair -> FxRateId.of(pair, obsSource))
-            .collect(toImmutableList());
-        requirementsBuilder.addValues(fxRateIds);
-      }
+    for (Currency reportingCurrency : reportingCurrencies) {
+      List<MarketDataId<FxRate>> fxRateIds = functionRequirements.getOutputCurrencies().stream()
+          .filter(outputCurrency -> !outputCurrency.equals(reportingCurrency))
+          .map(outputCurrency -> CurrencyPair.of(outputCurrency, reportingCurrency))
+          .map(pair -> FxRateId.of(pair, obsSource))
+          .collect(toImmutableList());
+      requirementsBuilder.addValues(fxRateIds);
     }
     return requirementsBuilder.build();
   }
@@ -203,15 +231,131 @@ public final class CalculationTask implements ImmutableBean {
    * @param refData  the reference data
    * @return results of the calculation, one for every scenario in the market data
    */
-  @SuppressWarnings("unchecked")
   public CalculationResults execute(ScenarioMarketData marketData, ReferenceData refData) {
+    MetricsRecorder recorder = Metrics.recorder();
+    if (recorder.isEnabled()) {
+      return executeMeasured(marketData, refData, recorder);
+    }
     // calculate the results
     Map<Measure, Result<?>> results = calculate(marketData, refData);
+    return createResults(results, fxProvider(marketData), refData);
+  }
+
+  // executes the task, recording the time taken by the function and the currency conversion
+  private CalculationResults executeMeasured(ScenarioMarketData marketData, ReferenceData refData, MetricsRecorder recorder) {
+    long start = System.nanoTime();
+    Map<Measure, Result<?>> results = calculate(marketData, refData);
+    long calculated = System.nanoTime();
+    CalculationResults calculationResults = createResults(results, fxProvider(marketData), refData);
+    long end = System.nanoTime();
+    recorder.recordTime(CalculationMetrics.FUNCTION + function.getClass().getSimpleName(), calculated - start);
+    recorder.recordTime(CalculationMetrics.CONVERSION, end - calculated);
+    recorder.recordTime(CalculationMetrics.TASK, end - start);
+    return calculationResults;
+  }
 
-    // get a suitable FX provider
-    ScenarioFxRateProvider fxProvider = parameters.findParameter(FxRateLookup.class)
+  /**
+   * Executes a batch of tasks, performing calculations for the targets using multiple sets of market data.
+   * <p>
+   * The tasks must all have the same function, parameters and measures, as grouped by
+   * {@link CalculationTasks#batches(int)}. The function is invoked once for the whole batch using
+   * {@link CalculationFunction#calculateBatch(List, Set, CalculationParameters, ScenarioMarketData, ReferenceData)},
+   * and the FX rate provider used to convert to the reporting currency is shared by the batch.
+   * If the batch calculation throws an exception, the batch is split in two and each half is executed as a batch.
+   * This continues until the tasks that fail have been isolated and executed individually,
+   * while the remaining tasks are still calculated in batches.
+   * <p>
+   * The results are the same as would be obtained by calling {@link #execute(ScenarioMarketData, ReferenceData)}
+   * on each task in turn.
+   *
+   * @param tasks  the tasks to execute, not empty
+   * @param marketData  the market data used in the calculation
+   * @param refData  the reference data
+   * @return results of the calculation, one for each task, in the same order as the tasks
+   * @throws IllegalArgumentException if the tasks cannot be executed as a batch
+   */
+  public static List<CalculationResults> executeBatch(
+      List<CalculationTask> tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    ArgChecker.notEmpty(tasks, "tasks");
+    CalculationTask first = tasks.get(0);
+    if (tasks.size() == 1) {
+      return ImmutableList.of(first.execute(marketData, refData));
+    }
+    Set<Measure> requestedMeasures = first.getMeasures();
+    for (CalculationTask task : tasks) {
+      ArgChecker.isTrue(
+          task.function == first.function &&
+              task.parameters.equals(first.parameters) &&
+              task.getMeasures().equals(requestedMeasures),
+          "Tasks in a batch must have the same function, parameters and measures");
+    }
+    return executeValidatedBatch(tasks, marketData, refData);
+  }
+
+  // executes a batch of tasks that have been validated
+  private static List<CalculationResults> executeValidatedBatch(
+      List<CalculationTask> tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    CalculationTask first = tasks.get(0);
+    if (tasks.size() == 1) {
+      return ImmutableList.of(first.execute(marketData, refData));
+    }
+    Set<Measure> requestedMeasures = first.getMeasures();
+
+    // calculate the results, falling back to the individual tasks if the batch cannot be calculated
+    MetricsRecorder recorder = Metrics.recorder();
+    long start = recorder.isEnabled() ? System.nanoTime() : 0;
+    List<Map<Measure, Result<?>>> batchResults;
+    try {
+      batchResults = first.calculateBatch(tasks, requestedMeasures, marketData, refData);
+    } catch (RuntimeException ex) {
+      // the failure is reported against the target that caused it when that target is calculated individually
+      // splitting the batch isolates the failing targets, while the remaining targets are still calculated in batches
+      log.warn("Batch calculation of {} targets by function '{}' failed, calculating each half of the batch separately",
+          tasks.size(), first.function.getClass().getSimpleName(), ex);
+      int half = tasks.size() / 2;
+      return ImmutableList.<CalculationResults>builder()
+          .addAll(executeValidatedBatch(tasks.subList(0, half), marketData, refData))
+          .addAll(executeValidatedBatch(tasks.subList(half, tasks.size()), marketData, refData))
+          .build();
+    }
+    if (batchResults == null) {
+      return tasks.stream()
+          .map(task -> task.execute(marketData, refData))
+          .collect(toImmutableList());
+    }
+    long calculated = recorder.isEnabled() ? System.nanoTime() : 0;
+
+    // convert the results, using a normal loop for better stack traces
+    ScenarioFxRateProvider fxProvider = first.fxProvider(marketData);
+    ImmutableList.Builder<CalculationResults> resultsBuilder = ImmutableList.builder();
+    for (int i = 0; i < tasks.size(); i++) {
+      resultsBuilder.add(tasks.get(i).createResults(batchResults.get(i), fxProvider, refData));
+    }
+    if (recorder.isEnabled()) {
+      recorder.recordTime(CalculationMetrics.FUNCTION + first.function.getClass().getSimpleName() + ".batch", calculated - start);
+      recorder.recordTime(CalculationMetrics.CONVERSION, System.nanoTime() - calculated);
+    }
+    return resultsBuilder.build();
+  }
+
+  // get a suitable FX provider
+  private ScenarioFxRateProvider fxProvider(ScenarioMarketData marketData) {
+    return parameters.findParameter(FxRateLookup.class)
         .map(lookup -> LookupScenarioFxRateProvider.of(marketData, lookup))
         .orElse(ScenarioFxRateProvider.of(marketData));
+  }
+
+  // converts the results for each cell
+  private CalculationResults createResults(
+      Map<Measure, Result<?>> results,
+      ScenarioFxRateProvider fxProvider,
+      ReferenceData refData) {
 
     // convert the results, using a normal loop for better stack traces
     ImmutableList.Builder<CalculationResult> resultBuilder = ImmutableList.builder();
@@ -244,6 +388,38 @@ public final class CalculationTask implements ImmutableBean {
     }
   }
 
+  // calculates the results of a batch of tasks, returning null if the tasks must be calculated individually
+  private List<Map<Measure, Result<?>>> calculateBatch(
+      List<CalculationTask> tasks,
+      Set<Measure> requestedMeasures,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    Set<Measure> supportedMeasures = function.supportedMeasures();
+    Set<Measure> measures = Sets.intersection(requestedMeasures, supportedMeasures);
+    if (measures.isEmpty()) {
+      return null;
+    }
+    List<CalculationTarget> targets = tasks.stream()
+        .map(CalculationTask::getTarget)
+        .collect(toImmutableList());
+    List<Map<Measure, Result<?>>> maps = function.calculateBatch(targets, measures, parameters, marketData, refData);
+    if (maps.size() != tasks.size()) {
+      log.warn("Function '{}' returned {} results for a batch of {} targets, calculating each target individually",
+          function.getClass().getSimpleName(), maps.size(), tasks.size());
+      return null;
+    }
+    // check if each result contains all requested measures
+    List<Map<Measure, Result<?>>> results = new ArrayList<>(maps.size());
+    for (int i = 0; i < maps.size(); i++) {
+      Map<Measure, Result<?>> map = maps.get(i);
+      results.add(map.keySet().containsAll(requestedMeasures) ?
+          map :
+          tasks.get(i).handleMissing(requestedMeasures, supportedMeasures, map));
+    }
+    return results;
+  }
+
   // populate the result with failures
   private Map<Measure, Result<?>> handleMissing(
       Set<Measure> requestedMeasures,
@@ -284,7 +460,12 @@ public final class CalculationTask implements ImmutableBean {
     String exMsg = ex.getMessage();
     Optional<String> id = function.identifier(target);
     String msg = id.map(v -> " for ID '" + v + "': " + exMsg).orElse(": " + exMsg + ": for target '" + target.toString() + "'");
-    if (ex instanceof MarketDataNotFoundException) {
+    if (ex instanceof MarketDataFailureException) {
+      // the failure is that of market data that could not be built
+      // it is shared by reference, rather than creating a new failure and stack trace for every dependent target
+      failure = Result.failure(((MarketDataFailureException) ex).getFailure());
+
+    } else if (ex instanceof MarketDataNotFoundException) {
       failure = Result.failure(
           FailureReason.MISSING_DATA,
           ex,
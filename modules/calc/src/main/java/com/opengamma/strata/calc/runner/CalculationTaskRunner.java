@@ -5,8 +5,10 @@
  */
 package com.opengamma.strata.calc.runner;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.CalculationRules;
@@ -79,6 +81,60 @@ public interface CalculationTaskRunner extends AutoCloseable {
     return DefaultCalculationTaskRunner.of(executor);
   }
 
+  /**
+   * Creates a calculation task runner that coordinates calculations performed by worker processes.
+   * <p>
+   * This factory starts the specified number of {@link CalculationWorker} processes on the local machine.
+   * Each worker is a separate JVM, started with the classpath of this JVM, that connects over the loopback interface.
+   * The tasks are partitioned across the workers, with each worker receiving the market data once per calculation.
+   * A partition is retried on another worker if a worker fails, or does not respond within 30 minutes.
+   * <p>
+   * The workers do not receive the calculation functions of the tasks.
+   * Instead, they create an instance of the specified supplier class, which must have a public no-arg constructor.
+   * The supplier must produce the same functions as those used to create the tasks.
+   * The targets, parameters, market data and reference data must be serializable.
+   * <p>
+   * It is recommended to use try-with-resources to manage the runner, which stops the workers:
+   * <pre>
+   *  try (CalculationTaskRunner runner = CalculationTaskRunner.ofWorkers(4, MyFunctionsSupplier.class)) {
+   *    // use the runner
+   *  }
+   * </pre>
+   *
+   * @param workerCount  the number of worker processes
+   * @param functionsSupplier  the class that supplies the calculation functions in each worker
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofWorkers(
+      int workerCount,
+      Class<? extends Supplier<CalculationFunctions>> functionsSupplier) {
+
+    return WorkerCalculationTaskRunner.of(workerCount, functionsSupplier.getName());
+  }
+
+  /**
+   * Creates a calculation task runner that coordinates calculations performed by worker processes,
+   * specifying the time allowed for a worker to respond.
+   * <p>
+   * This is the same as {@link #ofWorkers(int, Class)}, but with the specified response timeout.
+   * A worker that does not return the results of a partition within the timeout is treated as failed,
+   * with the partition retried on another worker. The timeout includes the time taken by the worker
+   * to receive the market data, so it must allow for the slowest expected partition.
+   * The default timeout is 30 minutes.
+   *
+   * @param workerCount  the number of worker processes
+   * @param functionsSupplier  the class that supplies the calculation functions in each worker
+   * @param responseTimeout  the time allowed for a worker to respond to a partition
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofWorkers(
+      int workerCount,
+      Class<? extends Supplier<CalculationFunctions>> functionsSupplier,
+      Duration responseTimeout) {
+
+    return WorkerCalculationTaskRunner.of(workerCount, functionsSupplier.getName(), responseTimeout);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
@@ -9,6 +9,11 @@ import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.lang.invoke.MethodHandles;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 import org.joda.beans.ImmutableBean;
 import org.joda.beans.JodaBeanUtils;
@@ -20,10 +25,15 @@ import org.joda.beans.impl.light.LightMetaBean;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.MultimapBuilder;
+import com.google.common.collect.Multimaps;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.ResolvableCalculationTarget;
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.calc.CalculationRules;
 import com.opengamma.strata.calc.CalculationRunner;
 import com.opengamma.strata.calc.Column;
@@ -31,7 +41,11 @@ import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.ReportingCurrency;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.collect.tuple.Triple;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
  * The tasks that will be used to perform the calculations.
@@ -43,6 +57,11 @@ import com.opengamma.strata.collect.Messages;
 @BeanDefinition(style = "light")
 public final class CalculationTasks implements ImmutableBean {
 
+  /**
+   * The number of targets or tasks above which processing is performed in parallel.
+   */
+  static final int PARALLEL_THRESHOLD = 1000;
+
   /**
    * The targets that calculations will be performed on.
    * <p>
@@ -95,6 +114,10 @@ public final class CalculationTasks implements ImmutableBean {
    * The columns represent the measures to calculate.
    * <p>
    * The targets will be resolved if they implement {@link ResolvableCalculationTarget}.
+   * <p>
+   * Large sets of targets are resolved and converted to tasks in parallel, thus the reference data
+   * and calculation functions must be thread-safe, as is also required to run the calculations.
+   * The tasks are the same as they would be if created on a single thread.
    * 
    * @param rules  the rules defining how the calculation is performed
    * @param targets  the targets for which values of the measures will be calculated
@@ -116,22 +139,22 @@ public final class CalculationTasks implements ImmutableBean {
             .collect(toImmutableList());
 
     // loop around the targets, then the columns, to build the tasks
-    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
-    for (int rowIndex = 0; rowIndex < targets.size(); rowIndex++) {
-      CalculationTarget target = resolveTarget(targets.get(rowIndex), refData);
-
-      // find the applicable function, resolving the target if necessary
-      CalculationFunction<?> fn = target instanceof UnresolvableTarget ?
-          UnresolvableTargetCalculationFunction.INSTANCE :
-          rules.getFunctions().getFunction(target);
-
-      // create the tasks
-      List<CalculationTask> targetTasks = createTargetTasks(target, rowIndex, fn, effectiveColumns);
-      taskBuilder.addAll(targetTasks);
+    // large sets of targets are processed in parallel, retaining the order of the targets
+    // equal parameters are shared between tasks, as many targets typically have the same parameters
+    List<? extends CalculationTarget> targetList = ImmutableList.copyOf(targets);
+    ConcurrentMap<CalculationParameters, CalculationParameters> parameters = new ConcurrentHashMap<>();
+    IntStream rowIndices = IntStream.range(0, targetList.size());
+    if (targetList.size() > PARALLEL_THRESHOLD) {
+      rowIndices = rowIndices.parallel();
     }
+    ImmutableList<CalculationTask> tasks = rowIndices
+        .mapToObj(rowIndex -> createTargetTasks(
+            rules, targetList.get(rowIndex), rowIndex, effectiveColumns, refData, parameters))
+        .flatMap(List::stream)
+        .collect(toImmutableList());
 
     // calculation tasks holds the original user-specified columns, not the derived ones
-    return new CalculationTasks(taskBuilder.build(), columns);
+    return new CalculationTasks(tasks, columns);
   }
 
   // resolves the target
@@ -147,12 +170,19 @@ public final class CalculationTasks implements ImmutableBean {
     return target;
   }
 
-  // creates the tasks for a single target
+  // creates the tasks for a single target, resolving the target and finding the applicable function
   private static List<CalculationTask> createTargetTasks(
-      CalculationTarget resolvedTarget,
+      CalculationRules rules,
+      CalculationTarget target,
       int rowIndex,
-      CalculationFunction<?> function,
-      List<Column> columns) {
+      List<Column> columns,
+      ReferenceData refData,
+      ConcurrentMap<CalculationParameters, CalculationParameters> parameters) {
+
+    CalculationTarget resolvedTarget = resolveTarget(target, refData);
+    CalculationFunction<?> function = resolvedTarget instanceof UnresolvableTarget ?
+        UnresolvableTargetCalculationFunction.INSTANCE :
+        rules.getFunctions().getFunction(resolvedTarget);
 
     // create the cells and group them
     ListMultimap<CalculationParameters, CalculationTaskCell> grouped = ArrayListMultimap.create();
@@ -164,7 +194,7 @@ public final class CalculationTasks implements ImmutableBean {
       CalculationTaskCell cell = CalculationTaskCell.of(rowIndex, colIndex, measure, reportingCurrency);
       // group to find cells that can be shared, with same mappings and params (minus reporting currency)
       CalculationParameters params = column.getParameters().filter(resolvedTarget, measure);
-      grouped.put(params, cell);
+      grouped.put(parameters.computeIfAbsent(params, p -> p), cell);
     }
 
     // build tasks
@@ -231,17 +261,41 @@ public final class CalculationTasks implements ImmutableBean {
     this.targets = ImmutableList.copyOf(targets);  // missing targets will be caught here by null check
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns an instance containing the tasks that match the predicate.
+   * <p>
+   * The targets and columns are unchanged, thus each remaining task calculates the same cells
+   * of the grid of results as it does in this instance.
+   * This can be used to calculate part of the grid, for example to resume an interrupted calculation.
+   *
+   * @param predicate  the predicate selecting the tasks to retain
+   * @return the calculation tasks
+   * @throws IllegalArgumentException if no tasks match the predicate
+   */
+  public CalculationTasks filter(Predicate<? super CalculationTask> predicate) {
+    List<CalculationTask> filtered = tasks.stream()
+        .filter(predicate)
+        .collect(toImmutableList());
+    return new CalculationTasks(targets, columns, filtered);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets the market data that is required to perform the calculations.
    * <p>
    * This can be used to pass into the market data system to obtain and calibrate data.
+   * <p>
+   * The requirements of a large number of tasks are gathered in parallel.
    *
    * @param refData  the reference data
    * @return the market data required for all calculations
    * @throws RuntimeException if unable to obtain the requirements
    */
   public MarketDataRequirements requirements(ReferenceData refData) {
+    if (tasks.size() > PARALLEL_THRESHOLD) {
+      return requirementsParallel(refData);
+    }
     // use for loop not streams for shorter stack traces
     MarketDataRequirementsBuilder builder = MarketDataRequirements.builder();
     for (CalculationTask task : tasks) {
@@ -250,6 +304,62 @@ public final class CalculationTasks implements ImmutableBean {
     return builder.build();
   }
 
+  // gathers the requirements in parallel
+  // the market data requirements are only created once for each distinct set of function requirements
+  // and reporting currencies, and are merged in task order so that the result is deterministic
+  private MarketDataRequirements requirementsParallel(ReferenceData refData) {
+    List<Pair<FunctionRequirements, ImmutableSet<Currency>>> distinct = tasks.parallelStream()
+        .map(task -> Pair.of(task.functionRequirements(refData), task.reportingCurrencies(refData)))
+        .distinct()
+        .collect(toImmutableList());
+    List<MarketDataRequirements> requirements = distinct.parallelStream()
+        .map(pair -> CalculationTask.requirements(pair.getFirst(), pair.getSecond()))
+        .collect(toImmutableList());
+    return MarketDataRequirements.combine(requirements);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Groups the tasks into batches that can be calculated together.
+   * <p>
+   * Tasks are placed in the same batch if they have the same function, parameters and measures.
+   * Such a batch can be executed using {@link CalculationTask#executeBatch(List, ScenarioMarketData, ReferenceData)},
+   * allowing the function to share work between the targets, see
+   * {@link CalculationFunction#calculateBatch(List, Set, CalculationParameters, ScenarioMarketData, ReferenceData)}.
+   * <p>
+   * Each batch contains at most the specified number of tasks.
+   * Batches are returned in the order of the first task in each group, with tasks in their original order.
+   * A maximum batch size of one returns one batch for each task.
+   *
+   * @param maxBatchSize  the maximum number of tasks in a batch, one or greater
+   * @return the batches of tasks
+   */
+  public ImmutableList<ImmutableList<CalculationTask>> batches(int maxBatchSize) {
+    ArgChecker.notNegativeOrZero(maxBatchSize, "maxBatchSize");
+    return batches(tasks, maxBatchSize);
+  }
+
+  // groups the specified tasks into batches
+  static ImmutableList<ImmutableList<CalculationTask>> batches(List<CalculationTask> tasks, int maxBatchSize) {
+    if (maxBatchSize == 1) {
+      return tasks.stream()
+          .map(ImmutableList::of)
+          .collect(toImmutableList());
+    }
+    ListMultimap<Triple<CalculationFunction<?>, CalculationParameters, Set<Measure>>, CalculationTask> grouped =
+        MultimapBuilder.linkedHashKeys().arrayListValues().build();
+    for (CalculationTask task : tasks) {
+      grouped.put(Triple.of(task.getFunction(), task.getParameters(), task.getMeasures()), task);
+    }
+    ImmutableList.Builder<ImmutableList<CalculationTask>> builder = ImmutableList.builder();
+    for (List<CalculationTask> group : Multimaps.asMap(grouped).values()) {
+      for (List<CalculationTask> batch : Lists.partition(group, maxBatchSize)) {
+        builder.add(ImmutableList.copyOf(batch));
+      }
+    }
+    return builder.build();
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public String toString() {
@@ -0,0 +1,322 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A worker process that performs calculations on behalf of a coordinator.
+ * <p>
+ * The coordinator is created using {@link CalculationTaskRunner#ofWorkers(int, Class)}.
+ * It starts each worker as a separate JVM on the local machine, using the classpath of the coordinator.
+ * Each worker connects to the coordinator over the loopback interface.
+ * <p>
+ * For each calculation, the worker receives the market data and reference data once.
+ * It then receives partitions of the calculation tasks, calculates them and returns the results.
+ * A task that fails, or has a result that cannot be serialized, is returned as failure results,
+ * thus a single bad task does not cause the worker to fail.
+ * The calculation functions are obtained from the supplier class specified by the coordinator,
+ * which must have a public no-arg constructor.
+ * <p>
+ * The worker exits when the coordinator closes the connection.
+ */
+public final class CalculationWorker {
+
+  /**
+   * The current setup, containing the market data.
+   */
+  private Setup setup;
+  /**
+   * The calculation functions, created from the setup.
+   */
+  private CalculationFunctions functions;
+  /**
+   * The name of the class that supplies the calculation functions.
+   */
+  private String functionsSupplierClassName;
+
+  /**
+   * Runs the worker.
+   * <p>
+   * The single argument is the port of the coordinator on the loopback interface.
+   *
+   * @param args  the arguments
+   */
+  public static void main(String[] args) {
+    if (args.length != 1) {
+      throw new IllegalArgumentException("Usage: CalculationWorker <coordinatorPort>");
+    }
+    int port = Integer.parseInt(args[0]);
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+      socket.setTcpNoDelay(true);
+      new CalculationWorker().run(
+          new DataInputStream(new BufferedInputStream(socket.getInputStream())),
+          new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())));
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // creates an instance
+  private CalculationWorker() {
+  }
+
+  // processes messages until the coordinator closes the connection
+  private void run(DataInputStream in, DataOutputStream out) throws IOException {
+    while (true) {
+      Object message;
+      try {
+        message = readMessage(in);
+      } catch (EOFException ex) {
+        return;
+      }
+      if (message instanceof Setup) {
+        receiveSetup((Setup) message);
+      } else if (message instanceof Partition) {
+        writeBytes(out, serializeResults(calculate((Partition) message)));
+      } else {
+        throw new IllegalStateException("Unexpected message: " + message.getClass().getName());
+      }
+    }
+  }
+
+  // stores the setup, creating the functions if necessary
+  private void receiveSetup(Setup setup) {
+    this.setup = setup;
+    if (!setup.functionsSupplierClassName.equals(functionsSupplierClassName)) {
+      functions = createFunctions(setup.functionsSupplierClassName);
+      functionsSupplierClassName = setup.functionsSupplierClassName;
+    }
+  }
+
+  // calculates the partition
+  private PartitionResults calculate(Partition partition) {
+    if (setup == null) {
+      throw new IllegalStateException("Partition received before setup");
+    }
+    List<CalculationTask> tasks = partition.tasks.stream()
+        .map(task -> CalculationTask.of(task.target, functions.getFunction(task.target), task.parameters, task.cells))
+        .collect(toImmutableList());
+    // the coordinator sends a single batch, but the functions may differ in this JVM, so the tasks are grouped again
+    ImmutableList.Builder<CalculationResults> results = ImmutableList.builder();
+    for (List<CalculationTask> batch : CalculationTasks.batches(tasks, tasks.size())) {
+      results.addAll(calculateBatch(batch));
+    }
+    return new PartitionResults(partition.id, results.build());
+  }
+
+  // calculates a batch, containing any failure to the tasks that failed
+  private List<CalculationResults> calculateBatch(List<CalculationTask> batch) {
+    try {
+      return CalculationTask.executeBatch(batch, setup.marketData, setup.refData);
+    } catch (RuntimeException ex) {
+      return batch.stream()
+          .map(this::calculateTask)
+          .collect(toImmutableList());
+    }
+  }
+
+  // calculates a single task, returning failures for its cells if it throws an exception
+  private CalculationResults calculateTask(CalculationTask task) {
+    try {
+      return task.execute(setup.marketData, setup.refData);
+    } catch (RuntimeException ex) {
+      Result<?> failure = Result.failure(FailureReason.CALCULATION_FAILED, ex, "Calculation failed in worker: {}", ex.getMessage());
+      List<CalculationResult> results = task.getCells().stream()
+          .map(cell -> CalculationResult.of(cell.getRowIndex(), cell.getColumnIndex(), failure))
+          .collect(toImmutableList());
+      return CalculationResults.of(task.getTarget(), results);
+    }
+  }
+
+  // serializes the results, replacing any results that cannot be serialized with failures
+  // this ensures that a result that cannot be serialized does not cause the partition to fail on every worker
+  private static byte[] serializeResults(PartitionResults partitionResults) {
+    try {
+      return serialize(partitionResults);
+    } catch (UncheckedIOException ex) {
+      List<CalculationResults> results = partitionResults.results.stream()
+          .map(CalculationWorker::serializableResults)
+          .collect(toImmutableList());
+      return serialize(new PartitionResults(partitionResults.id, results));
+    }
+  }
+
+  // returns the results if they can be serialized, otherwise failures for each cell
+  private static CalculationResults serializableResults(CalculationResults results) {
+    try {
+      serialize(results);
+      return results;
+    } catch (UncheckedIOException ex) {
+      Result<?> failure = Result.failure(
+          FailureReason.CALCULATION_FAILED,
+          ex,
+          "Result could not be returned by worker as it is not serializable: {}",
+          ex.getMessage());
+      List<CalculationResult> failures = results.getCells().stream()
+          .map(cell -> CalculationResult.of(cell.getRowIndex(), cell.getColumnIndex(), failure))
+          .collect(toImmutableList());
+      return CalculationResults.of(results.getTarget(), failures);
+    }
+  }
+
+  // creates the functions from the supplier class
+  @SuppressWarnings("unchecked")
+  private static CalculationFunctions createFunctions(String className) {
+    return Unchecked.wrap(() -> {
+      Class<?> cls = Class.forName(className, true, CalculationWorker.class.getClassLoader());
+      Supplier<CalculationFunctions> supplier = (Supplier<CalculationFunctions>) cls.getConstructor().newInstance();
+      return ArgChecker.notNull(supplier.get(), "functions");
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Serializes a message.
+   *
+   * @param message  the message
+   * @return the serialized form
+   * @throws UncheckedIOException if the message cannot be serialized
+   */
+  static byte[] serialize(Object message) {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
+    try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+      oos.writeObject(message);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return baos.toByteArray();
+  }
+
+  /**
+   * Writes a message that has already been serialized, flushing the stream.
+   *
+   * @param out  the output stream
+   * @param bytes  the serialized message
+   * @throws IOException if an IO error occurs
+   */
+  static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+    out.writeInt(bytes.length);
+    out.write(bytes);
+    out.flush();
+  }
+
+  /**
+   * Reads a message.
+   *
+   * @param in  the input stream
+   * @return the message
+   * @throws EOFException if the stream has been closed
+   * @throws IOException if an IO error occurs
+   */
+  static Object readMessage(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      return ois.readObject();
+    } catch (ClassNotFoundException ex) {
+      throw new IOException(ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The setup message, sent once per calculation.
+   */
+  static final class Setup implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final String functionsSupplierClassName;
+    private final ScenarioMarketData marketData;
+    private final ReferenceData refData;
+
+    Setup(String functionsSupplierClassName, ScenarioMarketData marketData, ReferenceData refData) {
+      this.functionsSupplierClassName = functionsSupplierClassName;
+      this.marketData = marketData;
+      this.refData = refData;
+    }
+  }
+
+  /**
+   * A single task within a partition, sent without its function.
+   */
+  static final class WorkerTask implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final CalculationTarget target;
+    private final CalculationParameters parameters;
+    private final ImmutableList<CalculationTaskCell> cells;
+
+    WorkerTask(CalculationTask task) {
+      this.target = task.getTarget();
+      this.parameters = task.getParameters();
+      this.cells = ImmutableList.copyOf(task.getCells());
+    }
+  }
+
+  /**
+   * The message containing a partition of the tasks.
+   */
+  static final class Partition implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final int id;
+    private final ImmutableList<WorkerTask> tasks;
+
+    Partition(int id, List<CalculationTask> tasks) {
+      this.id = id;
+      this.tasks = tasks.stream().map(WorkerTask::new).collect(toImmutableList());
+    }
+  }
+
+  /**
+   * The message containing the results of a partition.
+   */
+  static final class PartitionResults implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final int id;
+    private final ImmutableList<CalculationResults> results;
+
+    PartitionResults(int id, List<CalculationResults> results) {
+      this.id = id;
+      this.results = ImmutableList.copyOf(results);
+    }
+
+    int getId() {
+      return id;
+    }
+
+    ImmutableList<CalculationResults> getResults() {
+      return results;
+    }
+  }
+
+}
@@ -11,7 +11,10 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -21,6 +24,8 @@ import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.calc.Results;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.metrics.Metrics;
+import com.opengamma.strata.collect.metrics.MetricsRecorder;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioArray;
@@ -30,14 +35,37 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * The default calculation task runner.
  * <p>
  * This uses a single instance of {@link ExecutorService}.
+ * Large numbers of tasks are grouped into batches, see {@link CalculationTasks#batches(int)},
+ * with each batch being executed as a single unit of work.
+ * <p>
+ * If a {@link MetricsRecorder} is installed, the time taken by each task, function and unit of work is recorded,
+ * together with the depth of the queue, the time taken by the listener and an estimate of the allocation.
  */
 final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
 
+  /**
+   * The maximum number of tasks in a batch.
+   */
+  private static final int MAX_BATCH_SIZE = 100;
+  /**
+   * The minimum number of batches for each thread, allowing the load to be balanced.
+   */
+  private static final int BATCHES_PER_THREAD = 4;
+
   /**
    * Executes the tasks that perform the individual calculations.
    * This will typically be multi-threaded, but single or direct executors also work.
    */
   private final ExecutorService executor;
+  /**
+   * The number of tasks that the executor can run at the same time, used to determine the batch size.
+   */
+  private final int parallelism;
+  /**
+   * The number of units of work submitted to the executor that have not yet started.
+   * This is only maintained when metrics are being recorded.
+   */
+  private final AtomicInteger queueDepth = new AtomicInteger();
 
   //-------------------------------------------------------------------------
   /**
@@ -90,6 +118,20 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    */
   private DefaultCalculationTaskRunner(ExecutorService executor) {
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.parallelism = parallelism(executor);
+  }
+
+  // determines the number of tasks that the executor can run at the same time
+  // this is limited by the number of processors, as the calculations are not expected to block
+  static int parallelism(ExecutorService executor) {
+    int processors = Runtime.getRuntime().availableProcessors();
+    if (executor instanceof ForkJoinPool) {
+      return Math.min(((ForkJoinPool) executor).getParallelism(), processors);
+    }
+    if (executor instanceof ThreadPoolExecutor) {
+      return Math.max(1, Math.min(((ThreadPoolExecutor) executor).getMaximumPoolSize(), processors));
+    }
+    return processors;
   }
 
   //-------------------------------------------------------------------------
@@ -124,7 +166,7 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * <p>
    * If this method is called with a {@code ScenarioArray} containing more than one value it throws an exception.
    */
-  private static Result<?> unwrapScenarioResult(Result<?> result) {
+  static Result<?> unwrapScenarioResult(Result<?> result) {
     if (result.isFailure()) {
       return result;
     }
@@ -180,21 +222,68 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     Consumer<CalculationResults> consumer =
         new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns());
 
-    // run each task using the executor
-    taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+    // run each batch of tasks using the executor
+    // small task lists are not batched, as that would reduce the parallelism
+    tasks.batches(batchSize(taskList.size()))
+        .forEach(batch -> runBatch(batch, marketData, refData, consumer));
   }
 
-  // submits a task to the executor to be run
-  private void runTask(
-      CalculationTask task,
+  // determines the batch size, such that there are enough batches to keep all threads of the executor busy
+  int batchSize(int taskCount) {
+    int minBatchCount = parallelism * BATCHES_PER_THREAD;
+    return Math.max(1, Math.min(MAX_BATCH_SIZE, taskCount / minBatchCount));
+  }
+
+  // submits a batch of tasks to the executor to be run
+  private void runBatch(
+      List<CalculationTask> batch,
       ScenarioMarketData marketData,
       ReferenceData refData,
       Consumer<CalculationResults> consumer) {
 
-    // the task is executed, with the result passed to the consumer
+    // the batch is executed, with each result passed to the consumer
     // the consumer wraps the listener to ensure thread-safety
-    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData);
-    CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
+    MetricsRecorder recorder = Metrics.recorder();
+    if (recorder.isEnabled()) {
+      runMeasuredBatch(batch, marketData, refData, consumer, recorder);
+    } else if (batch.size() == 1) {
+      CalculationTask task = batch.get(0);
+      Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData);
+      CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
+    } else {
+      Supplier<List<CalculationResults>> batchExecutor = () -> CalculationTask.executeBatch(batch, marketData, refData);
+      CompletableFuture.supplyAsync(batchExecutor, executor).thenAccept(results -> results.forEach(consumer));
+    }
+  }
+
+  // submits a batch of tasks to the executor to be run, recording metrics
+  private void runMeasuredBatch(
+      List<CalculationTask> batch,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      Consumer<CalculationResults> consumer,
+      MetricsRecorder recorder) {
+
+    queueDepth.incrementAndGet();
+    Supplier<List<CalculationResults>> batchExecutor = () -> {
+      recorder.recordValue(CalculationMetrics.QUEUE_DEPTH, queueDepth.decrementAndGet());
+      long allocatedBefore = Metrics.threadAllocatedBytes();
+      long start = System.nanoTime();
+      List<CalculationResults> results = CalculationTask.executeBatch(batch, marketData, refData);
+      recorder.recordTime(CalculationMetrics.BATCH, System.nanoTime() - start);
+      recorder.recordValue(CalculationMetrics.BATCH_SIZE, batch.size());
+      if (allocatedBefore >= 0) {
+        recorder.recordValue(CalculationMetrics.ALLOCATION, Metrics.threadAllocatedBytes() - allocatedBefore);
+      }
+      return results;
+    };
+    CompletableFuture.supplyAsync(batchExecutor, executor).thenAccept(results -> {
+      for (CalculationResults result : results) {
+        long start = System.nanoTime();
+        consumer.accept(result);
+        recorder.recordTime(CalculationMetrics.LISTENER, System.nanoTime() - start);
+      }
+    });
   }
 
   //-------------------------------------------------------------------------
@@ -211,11 +300,11 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * containing a single value before passing the value to the delegate listener.
    * This is used by the single scenario async method.
    */
-  private static final class UnwrappingListener implements CalculationListener {
+  static final class UnwrappingListener implements CalculationListener {
 
     private final CalculationListener delegate;
 
-    private UnwrappingListener(CalculationListener delegate) {
+    UnwrappingListener(CalculationListener delegate) {
       this.delegate = delegate;
     }
 
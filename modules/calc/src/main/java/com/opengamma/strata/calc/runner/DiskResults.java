@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.ColumnName;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * The results of a calculation stored on disk.
+ * <p>
+ * This provides access to the results written by {@link DiskResultsListener}.
+ * It is the disk-backed equivalent of {@link Results}, suitable for a grid of results too large to hold in memory.
+ * Only the location of each cell is held in memory, with each result read from disk when it is requested.
+ * <p>
+ * Cells that have not been calculated, for example because the calculation was interrupted, are missing.
+ * <p>
+ * This class is thread-safe. It holds open files and must be closed.
+ */
+public final class DiskResults implements AutoCloseable {
+
+  /**
+   * The results directory.
+   */
+  private final Path directory;
+  /**
+   * The number of rows.
+   */
+  private final int rowCount;
+  /**
+   * The column headers.
+   */
+  private final ImmutableList<ColumnHeader> columns;
+  /**
+   * The data file of each column.
+   */
+  private final List<FileChannel> channels;
+  /**
+   * The offset of each cell in the data file of its column, indexed by column then row, -1 if missing.
+   */
+  private final long[][] offsets;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Opens the results in the specified directory.
+   *
+   * @param directory  the directory containing the results
+   * @return the results
+   * @throws UncheckedIOException if an IO error occurs
+   * @throws IllegalArgumentException if the directory does not contain results
+   */
+  public static DiskResults of(Path directory) {
+    ArgChecker.notNull(directory, "directory");
+    DiskResultsFormat.Header header = DiskResultsFormat.readHeader(directory);
+    return new DiskResults(directory, header.getRowCount(), header.getColumns());
+  }
+
+  // opens the data files
+  private DiskResults(Path directory, int rowCount, ImmutableList<ColumnHeader> columns) {
+    this.directory = directory;
+    this.rowCount = rowCount;
+    this.columns = columns;
+    this.channels = new ArrayList<>(columns.size());
+    this.offsets = new long[columns.size()][rowCount];
+    try {
+      for (int i = 0; i < columns.size(); i++) {
+        Path file = DiskResultsFormat.columnFile(directory, i);
+        FileChannel channel = Files.exists(file) ?
+            FileChannel.open(file, StandardOpenOption.READ) :
+            null;
+        channels.add(channel);
+        if (channel != null) {
+          DiskResultsFormat.scan(channel, offsets[i]);
+        } else {
+          Arrays.fill(offsets[i], -1);
+        }
+      }
+    } catch (IOException ex) {
+      close();
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the directory containing the results.
+   *
+   * @return the directory
+   */
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Gets the column headers.
+   *
+   * @return the column headers
+   */
+  public ImmutableList<ColumnHeader> getColumns() {
+    return columns;
+  }
+
+  /**
+   * Gets the number of rows.
+   *
+   * @return the number of rows
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Gets the number of columns.
+   *
+   * @return the number of columns
+   */
+  public int getColumnCount() {
+    return columns.size();
+  }
+
+  /**
+   * Gets the index of the column with the specified name.
+   *
+   * @param columnName  the column name
+   * @return the index of the column
+   * @throws IllegalArgumentException if there is no column with the specified name
+   */
+  public int columnIndexByName(ColumnName columnName) {
+    for (int i = 0; i < columns.size(); i++) {
+      if (columns.get(i).getName().equals(columnName)) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("No column found with name " + columnName);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the cell at the specified row and column has been calculated.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @return true if the cell is present
+   * @throws IllegalArgumentException if the row or column index is invalid
+   */
+  public boolean contains(int rowIndex, int columnIndex) {
+    validate(rowIndex, columnIndex);
+    return offsets[columnIndex][rowIndex] >= 0;
+  }
+
+  /**
+   * Counts the number of cells that have been calculated.
+   *
+   * @return the number of cells present
+   */
+  public long cellCount() {
+    long count = 0;
+    for (long[] column : offsets) {
+      for (long offset : column) {
+        if (offset >= 0) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Finds the result for the cell at the specified row and column.
+   * <p>
+   * The result is read from disk.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @return the result, empty if the cell has not been calculated
+   * @throws IllegalArgumentException if the row or column index is invalid
+   * @throws UncheckedIOException if an IO error occurs
+   */
+  public Optional<Result<?>> find(int rowIndex, int columnIndex) {
+    validate(rowIndex, columnIndex);
+    long offset = offsets[columnIndex][rowIndex];
+    if (offset < 0) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(DiskResultsFormat.read(channels.get(columnIndex), offset));
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Gets the result for the cell at the specified row and column.
+   * <p>
+   * The result is read from disk.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @return the result
+   * @throws IllegalArgumentException if the row or column index is invalid
+   * @throws IllegalStateException if the cell has not been calculated
+   * @throws UncheckedIOException if an IO error occurs
+   */
+  public Result<?> get(int rowIndex, int columnIndex) {
+    return find(rowIndex, columnIndex).orElseThrow(() -> new IllegalStateException(
+        Messages.format("Cell ({}, {}) has not been calculated", rowIndex, columnIndex)));
+  }
+
+  /**
+   * Returns a stream of the results in the specified column, in row order.
+   * <p>
+   * Each result is read from disk as the stream is consumed.
+   *
+   * @param columnIndex  the index of the column
+   * @return the results in the column
+   * @throws IllegalArgumentException if the column index is invalid
+   * @throws IllegalStateException if a cell has not been calculated
+   */
+  public Stream<Result<?>> columnStream(int columnIndex) {
+    validateColumn(columnIndex);
+    return IntStream.range(0, rowCount).mapToObj(rowIndex -> get(rowIndex, columnIndex));
+  }
+
+  /**
+   * Loads all the results into memory.
+   *
+   * @return the results
+   * @throws IllegalStateException if a cell has not been calculated
+   */
+  public Results toResults() {
+    List<Result<?>> cells = new ArrayList<>(rowCount * columns.size());
+    for (int rowIndex = 0; rowIndex < rowCount; rowIndex++) {
+      for (int columnIndex = 0; columnIndex < columns.size(); columnIndex++) {
+        cells.add(get(rowIndex, columnIndex));
+      }
+    }
+    return Results.of(columns, cells);
+  }
+
+  // validates the indices
+  private void validate(int rowIndex, int columnIndex) {
+    if (rowIndex < 0 || rowIndex >= rowCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Row index must be greater than or equal to zero and less than the row count ({}), but it was {}",
+          rowCount,
+          rowIndex));
+    }
+    validateColumn(columnIndex);
+  }
+
+  private void validateColumn(int columnIndex) {
+    if (columnIndex < 0 || columnIndex >= columns.size()) {
+      throw new IllegalArgumentException(Messages.format(
+          "Column index must be greater than or equal to zero and less than the column count ({}), but it was {}",
+          columns.size(),
+          columnIndex));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Closes the data files.
+   */
+  @Override
+  public void close() {
+    for (FileChannel channel : channels) {
+      if (channel != null) {
+        try {
+          channel.close();
+        } catch (IOException ex) {
+          // ignore
+        }
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format("DiskResults[{}, grid={}x{}]", directory, rowCount, columns.size());
+  }
+
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.ColumnName;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+
+/**
+ * The file format used by {@link DiskResultsListener} and {@link DiskResults}.
+ * <p>
+ * The results are stored in a directory, containing a header file and one data file for each column.
+ * The header file holds the number of rows and the column headers.
+ * Each data file is a sequence of records, one for each cell in the column, in the order they were calculated.
+ * A record consists of the row index, the length of the encoded result and the encoded result.
+ * <p>
+ * The result is encoded as a tag byte followed by the value.
+ * Common values, such as {@code CurrencyScenarioArray}, are written as raw primitives.
+ * Failures and other values are written using Java serialization.
+ * A value that cannot be serialized is written as a failure.
+ * <p>
+ * A record that is incomplete, for example because the process was killed while writing, is ignored.
+ */
+final class DiskResultsFormat {
+
+  /**
+   * The name of the header file.
+   */
+  static final String HEADER_FILE = "results.header";
+  /**
+   * The size of the header of each record.
+   */
+  static final int RECORD_HEADER_SIZE = 8;
+  /**
+   * The magic number identifying the header file.
+   */
+  private static final int MAGIC = 0x53545252;
+  /**
+   * The version of the format.
+   */
+  private static final int VERSION = 1;
+  // tags identifying the encoding of a result
+  private static final byte FAILURE = 0;
+  private static final byte OBJECT = 1;
+  private static final byte DOUBLE = 2;
+  private static final byte CURRENCY_AMOUNT = 3;
+  private static final byte DOUBLE_SCENARIO_ARRAY = 4;
+  private static final byte CURRENCY_SCENARIO_ARRAY = 5;
+
+  // restricted constructor
+  private DiskResultsFormat() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the data file of a column.
+   *
+   * @param directory  the results directory
+   * @param columnIndex  the column index
+   * @return the data file
+   */
+  static Path columnFile(Path directory, int columnIndex) {
+    return directory.resolve("column-" + columnIndex + ".dat");
+  }
+
+  /**
+   * Writes the header file.
+   * <p>
+   * The file is written to a temporary file and moved, so the header is either absent or complete.
+   *
+   * @param directory  the results directory
+   * @param header  the header
+   */
+  static void writeHeader(Path directory, Header header) {
+    try {
+      Path temp = directory.resolve(HEADER_FILE + ".tmp");
+      try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(header.rowCount);
+        out.writeInt(header.columns.size());
+        for (ColumnHeader column : header.columns) {
+          out.writeUTF(column.getName().getName());
+          out.writeObject(column.getMeasure());
+          out.writeUTF(column.getCurrency().map(Currency::getCode).orElse(""));
+        }
+      }
+      Files.move(temp, directory.resolve(HEADER_FILE), StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Reads the header file.
+   *
+   * @param directory  the results directory
+   * @return the header
+   * @throws UncheckedIOException if the header cannot be read
+   * @throws IllegalArgumentException if the file is not a results header
+   */
+  static Header readHeader(Path directory) {
+    try (InputStream stream = Files.newInputStream(directory.resolve(HEADER_FILE));
+        ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(stream))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        throw new IllegalArgumentException("Invalid results header: " + directory);
+      }
+      int rowCount = in.readInt();
+      int columnCount = in.readInt();
+      ImmutableList.Builder<ColumnHeader> columns = ImmutableList.builder();
+      for (int i = 0; i < columnCount; i++) {
+        ColumnName name = ColumnName.of(in.readUTF());
+        Measure measure = (Measure) in.readObject();
+        String currency = in.readUTF();
+        columns.add(currency.isEmpty() ? ColumnHeader.of(name, measure) : ColumnHeader.of(name, measure, Currency.of(currency)));
+      }
+      return new Header(rowCount, columns.build());
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    } catch (ClassNotFoundException ex) {
+      throw new IllegalArgumentException("Invalid results header: " + directory, ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Scans a column data file, finding the offset of the record for each row.
+   * <p>
+   * The offsets array is filled with the offset of each record found, leaving -1 for missing rows.
+   * The scan stops at the first incomplete record.
+   *
+   * @param channel  the channel of the data file
+   * @param offsets  the offsets to populate, one for each row
+   * @return the length of the file that contains complete records
+   * @throws IOException if an IO error occurs
+   */
+  static long scan(FileChannel channel, long[] offsets) throws IOException {
+    Arrays.fill(offsets, -1);
+    long size = channel.size();
+    long position = 0;
+    ByteBuffer buf = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+    while (position + RECORD_HEADER_SIZE <= size) {
+      buf.clear();
+      readFully(channel, buf, position);
+      int rowIndex = buf.getInt(0);
+      int length = buf.getInt(4);
+      long next = position + RECORD_HEADER_SIZE + length;
+      if (rowIndex < 0 || rowIndex >= offsets.length || length < 0 || next > size) {
+        break;
+      }
+      offsets[rowIndex] = position;
+      position = next;
+    }
+    return position;
+  }
+
+  /**
+   * Reads the result of the record at the specified offset.
+   *
+   * @param channel  the channel of the data file
+   * @param offset  the offset of the record
+   * @return the result
+   * @throws IOException if an IO error occurs
+   */
+  static Result<?> read(FileChannel channel, long offset) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+    readFully(channel, header, offset);
+    ByteBuffer body = ByteBuffer.allocate(header.getInt(4));
+    readFully(channel, body, offset + RECORD_HEADER_SIZE);
+    return decode(body.array());
+  }
+
+  // reads until the buffer is full
+  private static void readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+    long pos = position;
+    while (buf.hasRemaining()) {
+      int read = channel.read(buf, pos);
+      if (read < 0) {
+        throw new IOException("Unexpected end of results file");
+      }
+      pos += read;
+    }
+  }
+
+  /**
+   * Writes a record.
+   *
+   * @param out  the output stream of the data file
+   * @param rowIndex  the row index
+   * @param result  the result
+   * @throws IOException if an IO error occurs
+   */
+  static void write(DataOutputStream out, int rowIndex, Result<?> result) throws IOException {
+    byte[] bytes = encode(result);
+    out.writeInt(rowIndex);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  //-------------------------------------------------------------------------
+  // encodes the result, encoding a failure instead if the value cannot be serialized
+  private static byte[] encode(Result<?> result) throws IOException {
+    try {
+      return encodeResult(result);
+    } catch (ObjectStreamException ex) {
+      return encodeResult(Result.failure(
+          FailureReason.ERROR,
+          ex,
+          "Result could not be written to disk as it is not serializable: {}",
+          ex.getMessage()));
+    }
+  }
+
+  // encodes the result
+  private static byte[] encodeResult(Result<?> result) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream(64);
+    DataOutputStream out = new DataOutputStream(baos);
+    if (result.isFailure()) {
+      out.writeByte(FAILURE);
+      writeObject(out, result.getFailure());
+      return baos.toByteArray();
+    }
+    Object value = result.getValue();
+    if (value instanceof Double) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) value);
+    } else if (value instanceof CurrencyAmount) {
+      CurrencyAmount amount = (CurrencyAmount) value;
+      out.writeByte(CURRENCY_AMOUNT);
+      out.writeUTF(amount.getCurrency().getCode());
+      out.writeDouble(amount.getAmount());
+    } else if (value instanceof DoubleScenarioArray) {
+      out.writeByte(DOUBLE_SCENARIO_ARRAY);
+      writeDoubles(out, ((DoubleScenarioArray) value).getValues());
+    } else if (value instanceof CurrencyScenarioArray) {
+      CurrencyScenarioArray array = (CurrencyScenarioArray) value;
+      out.writeByte(CURRENCY_SCENARIO_ARRAY);
+      out.writeUTF(array.getCurrency().getCode());
+      writeDoubles(out, array.getAmounts().getValues());
+    } else {
+      out.writeByte(OBJECT);
+      writeObject(out, value);
+    }
+    return baos.toByteArray();
+  }
+
+  // decodes the result
+  private static Result<?> decode(byte[] bytes) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+    byte tag = in.readByte();
+    switch (tag) {
+      case FAILURE:
+        return Result.failure((Failure) readObject(in));
+      case OBJECT:
+        return Result.success(readObject(in));
+      case DOUBLE:
+        return Result.success(in.readDouble());
+      case CURRENCY_AMOUNT:
+        return Result.success(CurrencyAmount.of(Currency.of(in.readUTF()), in.readDouble()));
+      case DOUBLE_SCENARIO_ARRAY:
+        return Result.success(DoubleScenarioArray.of(readDoubles(in)));
+      case CURRENCY_SCENARIO_ARRAY:
+        return Result.success(CurrencyScenarioArray.of(Currency.of(in.readUTF()), readDoubles(in)));
+      default:
+        throw new IOException("Invalid results file, unknown tag: " + tag);
+    }
+  }
+
+  private static void writeDoubles(DataOutputStream out, DoubleArray values) throws IOException {
+    out.writeInt(values.size());
+    for (int i = 0; i < values.size(); i++) {
+      out.writeDouble(values.get(i));
+    }
+  }
+
+  private static DoubleArray readDoubles(DataInputStream in) throws IOException {
+    double[] values = new double[in.readInt()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = in.readDouble();
+    }
+    return DoubleArray.ofUnsafe(values);
+  }
+
+  private static void writeObject(OutputStream out, Object value) throws IOException {
+    ObjectOutputStream oos = new ObjectOutputStream(out);
+    oos.writeObject(value);
+    oos.flush();
+  }
+
+  private static Object readObject(InputStream in) throws IOException {
+    try {
+      return new ObjectInputStream(in).readObject();
+    } catch (ClassNotFoundException ex) {
+      throw new IOException(ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The contents of the header file.
+   */
+  static final class Header {
+    private final int rowCount;
+    private final ImmutableList<ColumnHeader> columns;
+
+    Header(int rowCount, List<ColumnHeader> columns) {
+      this.rowCount = rowCount;
+      this.columns = ImmutableList.copyOf(columns);
+    }
+
+    int getRowCount() {
+      return rowCount;
+    }
+
+    ImmutableList<ColumnHeader> getColumns() {
+      return columns;
+    }
+  }
+
+}
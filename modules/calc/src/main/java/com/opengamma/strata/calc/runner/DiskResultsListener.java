@@ -0,0 +1,249 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * A listener that writes the results of the calculations to disk as they are received.
+ * <p>
+ * This is the disk-backed equivalent of {@link ResultsListener}, suitable for a grid of results
+ * too large to hold in memory. Each cell is appended to the data file of its column as it is received,
+ * with the files flushed every {@value #CHECKPOINT_CELLS} cells and when the calculations are complete.
+ * The aggregate result is a {@link DiskResults}, which reads the cells back from disk on demand.
+ * <p>
+ * If the calculation is interrupted, for example because the process is killed, the cells that were
+ * written to disk are retained. A new listener on the same directory can then be used to resume:
+ * <pre>
+ *  DiskResultsListener listener = DiskResultsListener.of(directory);
+ *  Optional&lt;CalculationTasks&gt; remaining = listener.remainingTasks(tasks);
+ *  if (remaining.isPresent()) {
+ *    runner.calculateMultiScenarioAsync(remaining.get(), marketData, refData, listener);
+ *    listener.result().close();
+ *  }
+ *  try (DiskResults results = DiskResults.of(directory)) {
+ *    // use the results
+ *  }
+ * </pre>
+ * <p>
+ * A listener can only be used for one calculation.
+ */
+public final class DiskResultsListener extends AggregatingCalculationListener<DiskResults> {
+
+  /**
+   * The number of cells received between each flush of the data files.
+   */
+  private static final int CHECKPOINT_CELLS = 10_000;
+  /**
+   * The size of the buffer of each data file.
+   */
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The results directory.
+   */
+  private final Path directory;
+  /**
+   * The header of the existing results, null if there are none.
+   */
+  private final DiskResultsFormat.Header existing;
+  /**
+   * The rows that have already been written, one set for each column, empty if there are no existing results.
+   */
+  private final BitSet[] completed;
+  /**
+   * The output stream of each data file, populated when the calculations start.
+   */
+  private DataOutputStream[] outputs;
+  /**
+   * The number of cells received since the data files were last flushed.
+   */
+  private int uncheckpointedCells;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a listener writing to the specified directory.
+   * <p>
+   * If the directory contains results from an earlier calculation, the cells that were written are retained.
+   * Any incomplete record at the end of a data file is discarded.
+   * Use {@link #remainingTasks(CalculationTasks)} to find the tasks that still need to be calculated.
+   *
+   * @param directory  the directory to write to, created if necessary
+   * @return the listener
+   * @throws UncheckedIOException if an IO error occurs
+   */
+  public static DiskResultsListener of(Path directory) {
+    ArgChecker.notNull(directory, "directory");
+    try {
+      Files.createDirectories(directory);
+      if (!Files.exists(directory.resolve(DiskResultsFormat.HEADER_FILE))) {
+        return new DiskResultsListener(directory, null, new BitSet[0]);
+      }
+      DiskResultsFormat.Header header = DiskResultsFormat.readHeader(directory);
+      BitSet[] completed = new BitSet[header.getColumns().size()];
+      long[] offsets = new long[header.getRowCount()];
+      for (int i = 0; i < completed.length; i++) {
+        completed[i] = new BitSet(header.getRowCount());
+        Path file = DiskResultsFormat.columnFile(directory, i);
+        if (Files.exists(file)) {
+          try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // discard any incomplete record, so new records can be appended
+            channel.truncate(DiskResultsFormat.scan(channel, offsets));
+          }
+          for (int row = 0; row < offsets.length; row++) {
+            if (offsets[row] >= 0) {
+              completed[i].set(row);
+            }
+          }
+        }
+      }
+      return new DiskResultsListener(directory, header, completed);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // creates an instance
+  private DiskResultsListener(Path directory, DiskResultsFormat.Header existing, BitSet[] completed) {
+    this.directory = directory;
+    this.existing = existing;
+    this.completed = completed;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if all the cells of the task have already been written.
+   *
+   * @param task  the task
+   * @return true if the results of the task are already on disk
+   */
+  public boolean isCompleted(CalculationTask task) {
+    for (CalculationTaskCell cell : task.getCells()) {
+      int columnIndex = cell.getColumnIndex();
+      if (columnIndex >= completed.length || !completed[columnIndex].get(cell.getRowIndex())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Finds the tasks that have not already been written.
+   * <p>
+   * When resuming an interrupted calculation, the returned tasks should be passed to the runner with this listener.
+   * If the results of all tasks have already been written, empty is returned.
+   *
+   * @param tasks  the tasks of the calculation
+   * @return the tasks that have not been written, empty if all have been written
+   * @throws IllegalArgumentException if the existing results are for a different grid
+   */
+  public Optional<CalculationTasks> remainingTasks(CalculationTasks tasks) {
+    validate(tasks.getTargets().size(), headers(tasks.getColumns()));
+    if (tasks.getTasks().stream().allMatch(this::isCompleted)) {
+      return Optional.empty();
+    }
+    return Optional.of(tasks.filter(task -> !isCompleted(task)));
+  }
+
+  // converts the columns to headers
+  private static List<ColumnHeader> headers(List<Column> columns) {
+    return columns.stream()
+        .map(Column::toHeader)
+        .collect(toImmutableList());
+  }
+
+  // validates that the existing results are for the same grid
+  private void validate(int rowCount, List<ColumnHeader> columns) {
+    if (existing != null && (existing.getRowCount() != rowCount || !existing.getColumns().equals(columns))) {
+      throw new IllegalArgumentException(Messages.format(
+          "Existing results in {} are for a different grid, expected {}x{} but found {}x{}",
+          directory,
+          rowCount,
+          columns.size(),
+          existing.getRowCount(),
+          existing.getColumns().size()));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    if (outputs != null) {
+      throw new IllegalStateException("DiskResultsListener can only be used for one calculation");
+    }
+    List<ColumnHeader> headers = headers(columns);
+    validate(targets.size(), headers);
+    if (existing == null) {
+      DiskResultsFormat.writeHeader(directory, new DiskResultsFormat.Header(targets.size(), headers));
+    }
+    outputs = new DataOutputStream[columns.size()];
+    try {
+      for (int i = 0; i < outputs.length; i++) {
+        Path file = DiskResultsFormat.columnFile(directory, i);
+        outputs[i] = new DataOutputStream(new BufferedOutputStream(
+            Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND), BUFFER_SIZE));
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult result) {
+    try {
+      DiskResultsFormat.write(outputs[result.getColumnIndex()], result.getRowIndex(), result.getResult());
+      if (++uncheckpointedCells >= CHECKPOINT_CELLS) {
+        checkpoint();
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // flushes the cells received so far to disk
+  // cells received since the last checkpoint may be lost if the process is killed
+  private void checkpoint() {
+    try {
+      for (DataOutputStream out : outputs) {
+        out.flush();
+      }
+      uncheckpointedCells = 0;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  @Override
+  protected DiskResults createAggregateResult() {
+    try {
+      for (DataOutputStream out : outputs) {
+        out.close();
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return DiskResults.of(directory);
+  }
+
+}
@@ -0,0 +1,478 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationWorker.Partition;
+import com.opengamma.strata.calc.runner.CalculationWorker.PartitionResults;
+import com.opengamma.strata.calc.runner.CalculationWorker.Setup;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A calculation task runner that coordinates calculations performed by worker processes.
+ * <p>
+ * The tasks are split into partitions which are calculated by {@link CalculationWorker} instances.
+ * Each partition is a batch, see {@link CalculationTasks#batches(int)}, allowing the worker to share work between tasks.
+ * The workers connect to this coordinator over the loopback interface.
+ * For each calculation, the market data and reference data are serialized once and sent to each worker.
+ * The partitions are then sent to whichever worker is free, with the results passed to the listener
+ * as each partition completes.
+ * <p>
+ * If a worker fails, or does not respond within the response timeout, the partition it was
+ * calculating is retried on another worker.
+ * A partition that fails on too many workers results in failures for each of its cells.
+ * Any partitions remaining when no worker is available are calculated by the coordinator.
+ * Tasks with a target that is not serializable are also calculated by the coordinator.
+ * <p>
+ * The workers obtain the calculation functions from a supplier class, rather than receiving them.
+ * The supplier must produce the same functions as those used to create the tasks.
+ */
+final class WorkerCalculationTaskRunner implements CalculationTaskRunner {
+
+  /**
+   * The logger.
+   */
+  private static final Logger log = LoggerFactory.getLogger(WorkerCalculationTaskRunner.class);
+  /**
+   * The maximum number of workers a partition is sent to before it is treated as failed.
+   */
+  private static final int MAX_ATTEMPTS = 3;
+  /**
+   * The maximum number of tasks in a partition.
+   */
+  private static final int MAX_PARTITION_SIZE = 100;
+  /**
+   * The minimum number of partitions per worker, allowing the load to be balanced.
+   */
+  private static final int PARTITIONS_PER_WORKER = 4;
+  /**
+   * The time allowed for the workers to connect.
+   */
+  private static final int CONNECT_TIMEOUT_MILLIS = 60_000;
+  /**
+   * The default time allowed for a worker to respond to a partition.
+   */
+  static final Duration DEFAULT_RESPONSE_TIMEOUT = Duration.ofMinutes(30);
+
+  /**
+   * The name of the class that supplies the calculation functions to the workers.
+   */
+  private final String functionsSupplierClassName;
+  /**
+   * The server socket that the workers connect to.
+   */
+  private final ServerSocket serverSocket;
+  /**
+   * The connected workers.
+   */
+  private final ImmutableList<WorkerConnection> workers;
+  /**
+   * The handles used to stop the workers.
+   */
+  private final List<AutoCloseable> launched = new ArrayList<>();
+  /**
+   * The executor used to communicate with the workers and to calculate tasks locally.
+   */
+  private final ExecutorService executor;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance that starts the specified number of worker processes.
+   * <p>
+   * Each worker is a separate JVM on the local machine, started with the classpath of this JVM.
+   *
+   * @param workerCount  the number of workers
+   * @param functionsSupplierClassName  the name of the class that supplies the calculation functions
+   * @return the runner
+   */
+  static WorkerCalculationTaskRunner of(int workerCount, String functionsSupplierClassName) {
+    return of(workerCount, functionsSupplierClassName, DEFAULT_RESPONSE_TIMEOUT);
+  }
+
+  /**
+   * Creates an instance that starts the specified number of worker processes,
+   * specifying the time allowed for a worker to respond.
+   * <p>
+   * Each worker is a separate JVM on the local machine, started with the classpath of this JVM.
+   *
+   * @param workerCount  the number of workers
+   * @param functionsSupplierClassName  the name of the class that supplies the calculation functions
+   * @param responseTimeout  the time allowed for a worker to respond to a partition
+   * @return the runner
+   */
+  static WorkerCalculationTaskRunner of(int workerCount, String functionsSupplierClassName, Duration responseTimeout) {
+    return new WorkerCalculationTaskRunner(
+        workerCount, functionsSupplierClassName, responseTimeout, WorkerCalculationTaskRunner::launchProcess);
+  }
+
+  // starts a worker process, returning the handle used to stop it
+  private static AutoCloseable launchProcess(int port) {
+    String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    ProcessBuilder builder = new ProcessBuilder(
+        java, "-cp", System.getProperty("java.class.path"), CalculationWorker.class.getName(), Integer.toString(port));
+    Process process = Unchecked.wrap(() -> builder.inheritIO().start());
+    return () -> {
+      if (!process.waitFor(10, TimeUnit.SECONDS)) {
+        process.destroyForcibly();
+      }
+    };
+  }
+
+  /**
+   * Creates an instance, specifying how the workers are started.
+   * <p>
+   * The launcher is passed the port to connect to and returns a handle used to stop the worker.
+   *
+   * @param workerCount  the number of workers
+   * @param functionsSupplierClassName  the name of the class that supplies the calculation functions
+   * @param launcher  the function that starts a worker
+   */
+  WorkerCalculationTaskRunner(int workerCount, String functionsSupplierClassName, IntFunction<AutoCloseable> launcher) {
+    this(workerCount, functionsSupplierClassName, DEFAULT_RESPONSE_TIMEOUT, launcher);
+  }
+
+  /**
+   * Creates an instance, specifying the response timeout and how the workers are started.
+   * <p>
+   * The launcher is passed the port to connect to and returns a handle used to stop the worker.
+   * A worker that does not respond to a partition within the response timeout is treated as failed.
+   *
+   * @param workerCount  the number of workers
+   * @param functionsSupplierClassName  the name of the class that supplies the calculation functions
+   * @param responseTimeout  the time allowed for a worker to respond to a partition
+   * @param launcher  the function that starts a worker
+   */
+  WorkerCalculationTaskRunner(
+      int workerCount,
+      String functionsSupplierClassName,
+      Duration responseTimeout,
+      IntFunction<AutoCloseable> launcher) {
+
+    ArgChecker.notNegativeOrZero(workerCount, "workerCount");
+    this.functionsSupplierClassName = ArgChecker.notEmpty(functionsSupplierClassName, "functionsSupplierClassName");
+    ArgChecker.notNull(responseTimeout, "responseTimeout");
+    ArgChecker.isTrue(responseTimeout.toMillis() > 0, "Response timeout must be at least one millisecond: {}", responseTimeout);
+    int responseTimeoutMillis = (int) Math.min(responseTimeout.toMillis(), Integer.MAX_VALUE);
+    this.executor = createExecutor();
+    try {
+      this.serverSocket = new ServerSocket(0, workerCount, InetAddress.getLoopbackAddress());
+      serverSocket.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+      for (int i = 0; i < workerCount; i++) {
+        launched.add(launcher.apply(serverSocket.getLocalPort()));
+      }
+      List<WorkerConnection> connections = new ArrayList<>();
+      for (int i = 0; i < workerCount; i++) {
+        connections.add(new WorkerConnection(serverSocket.accept(), responseTimeoutMillis));
+      }
+      this.workers = ImmutableList.copyOf(connections);
+    } catch (IOException ex) {
+      close();
+      throw new UncheckedIOException(ex);
+    } catch (RuntimeException ex) {
+      close();
+      throw ex;
+    }
+  }
+
+  // create an executor with daemon threads
+  private static ExecutorService createExecutor() {
+    ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+    ThreadFactory threadFactory = r -> {
+      Thread t = defaultFactory.newThread(r);
+      t.setName("WorkerCalculationTaskRunner-" + t.getName());
+      t.setDaemon(true);
+      return t;
+    };
+    return Executors.newCachedThreadPool(threadFactory);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Results calculate(CalculationTasks tasks, MarketData marketData, ReferenceData refData) {
+    Results results = calculateMultiScenario(tasks, ScenarioMarketData.of(1, marketData), refData);
+    List<Result<?>> mappedResults = results.getCells().stream()
+        .map(r -> DefaultCalculationTaskRunner.unwrapScenarioResult(r))
+        .collect(toImmutableList());
+    return Results.of(results.getColumns(), mappedResults);
+  }
+
+  @Override
+  public void calculateAsync(
+      CalculationTasks tasks,
+      MarketData marketData,
+      ReferenceData refData,
+      CalculationListener listener) {
+
+    ScenarioMarketData md = ScenarioMarketData.of(1, marketData);
+    calculateMultiScenarioAsync(tasks, md, refData, new DefaultCalculationTaskRunner.UnwrappingListener(listener));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Results calculateMultiScenario(
+      CalculationTasks tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    ResultsListener listener = new ResultsListener();
+    calculateMultiScenarioAsync(tasks, marketData, refData, listener);
+    return listener.result();
+  }
+
+  @Override
+  public void calculateMultiScenarioAsync(
+      CalculationTasks tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      CalculationListener listener) {
+
+    List<CalculationTask> taskList = tasks.getTasks();
+    Consumer<CalculationResults> consumer =
+        new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns());
+
+    // tasks with a target that cannot be sent to a worker are calculated locally
+    List<CalculationTask> localTasks = new ArrayList<>();
+    List<CalculationTask> remoteTasks = new ArrayList<>();
+    for (CalculationTask task : taskList) {
+      (task.getTarget() instanceof Serializable ? remoteTasks : localTasks).add(task);
+    }
+    if (!localTasks.isEmpty()) {
+      executor.execute(() -> calculateLocally(localTasks, marketData, refData, consumer));
+    }
+    if (remoteTasks.isEmpty()) {
+      return;
+    }
+    // the market data is serialized once, with the same bytes sent to each worker
+    byte[] setup;
+    try {
+      setup = CalculationWorker.serialize(new Setup(functionsSupplierClassName, marketData, refData));
+    } catch (UncheckedIOException ex) {
+      log.warn("Market data could not be serialized, calculating locally: " + ex.getMessage());
+      executor.execute(() -> calculateLocally(remoteTasks, marketData, refData, consumer));
+      return;
+    }
+    // each partition is a batch, allowing the worker to calculate it using a single function invocation
+    Queue<PendingPartition> queue = new ConcurrentLinkedQueue<>();
+    List<ImmutableList<CalculationTask>> partitions = CalculationTasks.batches(remoteTasks, partitionSize(remoteTasks.size()));
+    for (int i = 0; i < partitions.size(); i++) {
+      queue.add(new PendingPartition(i, partitions.get(i)));
+    }
+    CompletableFuture<?>[] futures = workers.stream()
+        .filter(worker -> worker.alive)
+        .map(worker -> CompletableFuture.runAsync(() -> worker.serve(setup, queue, marketData, refData, consumer), executor))
+        .toArray(CompletableFuture[]::new);
+    // any partitions left once the workers have finished are calculated locally
+    // this runs even if a worker completed exceptionally, otherwise the listener would never complete
+    CompletableFuture.allOf(futures).whenCompleteAsync(
+        (ignored, ex) -> {
+          if (ex != null) {
+            log.warn("Calculation worker failed unexpectedly: " + ex.toString());
+          }
+          for (PendingPartition partition = queue.poll(); partition != null; partition = queue.poll()) {
+            calculateLocally(partition.tasks, marketData, refData, consumer);
+          }
+        },
+        executor);
+  }
+
+  // determines the partition size, such that there are enough partitions to keep all workers busy
+  private int partitionSize(int taskCount) {
+    int minPartitionCount = workers.size() * PARTITIONS_PER_WORKER;
+    return Math.max(1, Math.min(MAX_PARTITION_SIZE, taskCount / minPartitionCount));
+  }
+
+  // calculates tasks in this JVM, grouping them into batches
+  private static void calculateLocally(
+      List<CalculationTask> tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      Consumer<CalculationResults> consumer) {
+
+    for (List<CalculationTask> batch : CalculationTasks.batches(tasks, MAX_PARTITION_SIZE)) {
+      CalculationTask.executeBatch(batch, marketData, refData).forEach(consumer);
+    }
+  }
+
+  // creates failure results for each cell of the tasks
+  private static void fail(List<CalculationTask> tasks, Exception ex, Consumer<CalculationResults> consumer) {
+    for (CalculationTask task : tasks) {
+      List<CalculationResult> results = task.getCells().stream()
+          .map(cell -> CalculationResult.of(
+              cell.getRowIndex(),
+              cell.getColumnIndex(),
+              Result.failure(
+                  FailureReason.CALCULATION_FAILED,
+                  ex,
+                  "Calculation failed on {} workers: {}",
+                  MAX_ATTEMPTS,
+                  ex.getMessage())))
+          .collect(toImmutableList());
+      consumer.accept(CalculationResults.of(task.getTarget(), results));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void close() {
+    if (workers != null) {
+      workers.forEach(WorkerConnection::close);
+    }
+    for (AutoCloseable handle : launched) {
+      try {
+        handle.close();
+      } catch (Exception ex) {
+        log.warn("Failed to stop worker: " + ex.getMessage());
+      }
+    }
+    if (serverSocket != null) {
+      try {
+        serverSocket.close();
+      } catch (IOException ex) {
+        // ignore
+      }
+    }
+    executor.shutdown();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A partition waiting to be calculated.
+   */
+  private static final class PendingPartition {
+    private final int id;
+    private final List<CalculationTask> tasks;
+    private int attempts;
+
+    private PendingPartition(int id, List<CalculationTask> tasks) {
+      this.id = id;
+      this.tasks = tasks;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The connection to a single worker.
+   * <p>
+   * A worker that fails is marked as dead and is not used again.
+   */
+  private static final class WorkerConnection {
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private volatile boolean alive = true;
+
+    private WorkerConnection(Socket socket, int responseTimeoutMillis) throws IOException {
+      this.socket = socket;
+      socket.setTcpNoDelay(true);
+      // a read that times out throws SocketTimeoutException, handled as a failure of the worker
+      socket.setSoTimeout(responseTimeoutMillis);
+      this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    // sends the setup to the worker, then sends partitions until the queue is empty
+    private synchronized void serve(
+        byte[] setup,
+        Queue<PendingPartition> queue,
+        ScenarioMarketData marketData,
+        ReferenceData refData,
+        Consumer<CalculationResults> consumer) {
+
+      if (!alive) {
+        return;
+      }
+      try {
+        CalculationWorker.writeBytes(out, setup);
+      } catch (IOException ex) {
+        died(ex);
+        return;
+      }
+      for (PendingPartition partition = queue.poll(); partition != null; partition = queue.poll()) {
+        byte[] request;
+        try {
+          request = CalculationWorker.serialize(new Partition(partition.id, partition.tasks));
+        } catch (UncheckedIOException ex) {
+          // the parameters of a task are not serializable
+          calculateLocally(partition.tasks, marketData, refData, consumer);
+          continue;
+        }
+        PartitionResults response;
+        try {
+          CalculationWorker.writeBytes(out, request);
+          response = (PartitionResults) CalculationWorker.readMessage(in);
+          if (response.getId() != partition.id) {
+            throw new IOException("Worker returned results for the wrong partition");
+          }
+        } catch (IOException | RuntimeException ex) {
+          // includes SocketTimeoutException when the worker does not respond in time
+          // and runtime exceptions from reading an invalid response
+          died(ex);
+          partition.attempts++;
+          if (partition.attempts < MAX_ATTEMPTS) {
+            queue.add(partition);
+          } else {
+            fail(partition.tasks, ex, consumer);
+          }
+          return;
+        }
+        response.getResults().forEach(consumer);
+      }
+    }
+
+    // marks the worker as dead
+    private void died(Exception ex) {
+      log.warn("Calculation worker failed: " + ex.toString());
+      close();
+    }
+
+    // closes the connection, which causes the worker to exit
+    private void close() {
+      alive = false;
+      try {
+        socket.close();
+      } catch (IOException ex) {
+        // ignore
+      }
+    }
+  }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.calc.runner.AggregatingCalculationListener;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Test {@link ResultsAggregator}.
+ */
+public class ResultsAggregatorTest {
+
+  private static final List<ColumnHeader> HEADERS = ImmutableList.of(
+      ColumnHeader.of(ColumnName.of("A"), TestingMeasures.PRESENT_VALUE),
+      ColumnHeader.of(ColumnName.of("B"), TestingMeasures.PAR_RATE));
+  private static final ResultsAggregator<String, MultiCurrencyAmount, MultiCurrencyAmount> AGGREGATOR =
+      ResultsAggregator.of(0, target -> ((TestTarget) target).book, MultiCurrencyAmount.class,
+          MultiCurrencyAmount.summingMultiCurrencyAmount());
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_aggregate() {
+    List<TestTarget> targets = ImmutableList.of(new TestTarget("B1"), new TestTarget("B2"), new TestTarget("B1"));
+    Results results = Results.of(HEADERS, ImmutableList.of(
+        Result.success(MultiCurrencyAmount.of(GBP, 1)), Result.success(1d),
+        Result.success(MultiCurrencyAmount.of(USD, 2)), Result.success(2d),
+        Result.success(MultiCurrencyAmount.of(GBP, 3)), Result.success(3d)));
+    ImmutableMap<String, Result<MultiCurrencyAmount>> test = AGGREGATOR.aggregate(targets, results);
+    assertThat(test.keySet()).containsExactly("B1", "B2");
+    assertThat(test.get("B1").getValue()).isEqualTo(MultiCurrencyAmount.of(GBP, 4));
+    assertThat(test.get("B2").getValue()).isEqualTo(MultiCurrencyAmount.of(USD, 2));
+  }
+
+  @Test
+  public void test_aggregate_failure() {
+    List<TestTarget> targets = ImmutableList.of(new TestTarget("B1"), new TestTarget("B2"), new TestTarget("B1"));
+    Results results = Results.of(HEADERS, ImmutableList.of(
+        Result.success(MultiCurrencyAmount.of(GBP, 1)), Result.success(1d),
+        Result.success(MultiCurrencyAmount.of(USD, 2)), Result.success(2d),
+        Result.failure(FailureReason.CALCULATION_FAILED, "Fail"), Result.success(3d)));
+    ImmutableMap<String, Result<MultiCurrencyAmount>> test = AGGREGATOR.aggregate(targets, results);
+    assertThat(test.get("B1").isFailure()).isTrue();
+    assertThat(test.get("B1").getFailure().getMessage()).isEqualTo("Fail");
+    assertThat(test.get("B2").getValue()).isEqualTo(MultiCurrencyAmount.of(USD, 2));
+  }
+
+  @Test
+  public void test_aggregate_parallel() {
+    int rowCount = 10_000;
+    List<TestTarget> targets = IntStream.range(0, rowCount)
+        .mapToObj(i -> new TestTarget("B" + (i % 7)))
+        .collect(toImmutableList());
+    List<Result<?>> cells = new ArrayList<>();
+    for (int i = 0; i < rowCount; i++) {
+      cells.add(Result.success(MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 1), CurrencyAmount.of(USD, i % 7))));
+      cells.add(Result.success(1d));
+    }
+    ImmutableMap<String, Result<MultiCurrencyAmount>> test = AGGREGATOR.aggregate(targets, Results.of(HEADERS, cells));
+    assertThat(test.keySet()).containsExactly("B0", "B1", "B2", "B3", "B4", "B5", "B6");
+    assertThat(test.get("B0").getValue())
+        .isEqualTo(MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 1429), CurrencyAmount.of(USD, 0)));
+    assertThat(test.get("B3").getValue())
+        .isEqualTo(MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 1429), CurrencyAmount.of(USD, 4287)));
+  }
+
+  @Test
+  public void test_aggregate_invalid() {
+    List<TestTarget> targets = ImmutableList.of(new TestTarget("B1"));
+    Results results = Results.of(HEADERS, ImmutableList.of(Result.success(1d), Result.success(1d)));
+    assertThatExceptionOfType(ClassCastException.class).isThrownBy(() -> AGGREGATOR.aggregate(targets, results));
+    assertThatIllegalArgumentException().isThrownBy(() -> AGGREGATOR.aggregate(ImmutableList.of(), results));
+    assertThatIllegalArgumentException().isThrownBy(() -> ResultsAggregator.of(
+        2, target -> "", MultiCurrencyAmount.class, MultiCurrencyAmount.summingMultiCurrencyAmount())
+        .aggregate(targets, results));
+  }
+
+  @Test
+  public void test_listener() {
+    TestTarget target1 = new TestTarget("B1");
+    TestTarget target2 = new TestTarget("B2");
+    AggregatingCalculationListener<ImmutableMap<String, Result<MultiCurrencyAmount>>> test = AGGREGATOR.listener();
+    test.calculationsStarted(ImmutableList.of(target1, target2), ImmutableList.of(
+        Column.of(TestingMeasures.PRESENT_VALUE), Column.of(TestingMeasures.PAR_RATE)));
+    test.resultReceived(target2, CalculationResult.of(1, 0, Result.success(MultiCurrencyAmount.of(USD, 2))));
+    test.resultReceived(target1, CalculationResult.of(0, 1, Result.success(1d)));
+    test.resultReceived(target1, CalculationResult.of(0, 0, Result.success(MultiCurrencyAmount.of(GBP, 1))));
+    test.calculationsComplete();
+    ImmutableMap<String, Result<MultiCurrencyAmount>> result = test.result();
+    assertThat(result.keySet()).containsExactly("B2", "B1");
+    assertThat(result.get("B1").getValue()).isEqualTo(MultiCurrencyAmount.of(GBP, 1));
+    assertThat(result.get("B2").getValue()).isEqualTo(MultiCurrencyAmount.of(USD, 2));
+  }
+
+  @Test
+  public void coverage() {
+    assertThat(AGGREGATOR.toString()).contains("MultiCurrencyAmount");
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class TestTarget implements CalculationTarget {
+    private final String book;
+
+    private TestTarget(String book) {
+      this.book = book;
+    }
+  }
+
+}
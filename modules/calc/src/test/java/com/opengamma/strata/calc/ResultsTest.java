@@ -11,6 +11,7 @@ import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.entry;
 
 import java.util.Arrays;
 import java.util.List;
@@ -20,6 +21,8 @@ import org.junit.jupiter.api.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Streams;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 
@@ -189,6 +192,20 @@ public class ResultsTest {
     return Arrays.stream(items).map(Result::success).collect(toImmutableList());
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_failureSummary() {
+    Failure shared = Failure.of(FailureReason.MISSING_DATA, "Curve failed");
+    Result<?> failure1 = Result.failure(shared);
+    Result<?> failure2 = Result.failure(FailureReason.ERROR, "Bad");
+    Result<?> failure3 = Result.failure(failure2.getFailure());
+    List<Result<?>> cells = ImmutableList.of(
+        Result.success(1), failure1, failure2, Result.failure(shared), failure3, Result.failure(shared));
+    Results test = Results.of(ImmutableList.of(HEADER1, HEADER2, HEADER3), cells);
+    assertThat(test.failureSummary()).containsExactly(entry(shared, 3), entry(failure2.getFailure(), 2));
+    assertThat(Results.of(ImmutableList.of(HEADER1), results(1, 2)).failureSummary()).isEmpty();
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void coverage() {
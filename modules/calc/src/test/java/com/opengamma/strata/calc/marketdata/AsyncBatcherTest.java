@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test {@link AsyncBatcher}.
+ */
+public class AsyncBatcherTest {
+
+  @Test
+  public void test_batchSize() {
+    ManualLoader loader = new ManualLoader();
+    AsyncBatcher<Integer, String> test = new AsyncBatcher<>(loader::load, AsyncBatcherTest::failure, 2, 10);
+    CompletableFuture<Map<Integer, String>> future = test.load(ImmutableSet.of(1, 2, 3, 4, 5));
+    assertThat(loader.batches).containsExactly(ImmutableSet.of(1, 2), ImmutableSet.of(3, 4), ImmutableSet.of(5));
+    assertThat(future).isNotDone();
+    loader.completeAll();
+    assertThat(future.join()).isEqualTo(ImmutableMap.of(1, "1", 2, "2", 3, "3", 4, "4", 5, "5"));
+  }
+
+  @Test
+  public void test_coalesce() {
+    ManualLoader loader = new ManualLoader();
+    AsyncBatcher<Integer, String> test = new AsyncBatcher<>(loader::load, AsyncBatcherTest::failure, 10, 10);
+    CompletableFuture<Map<Integer, String>> future1 = test.load(ImmutableSet.of(1, 2));
+    CompletableFuture<Map<Integer, String>> future2 = test.load(ImmutableSet.of(2, 3));
+    assertThat(loader.batches).containsExactly(ImmutableSet.of(1, 2), ImmutableSet.of(3));
+    loader.completeAll();
+    assertThat(future1.join()).isEqualTo(ImmutableMap.of(1, "1", 2, "2"));
+    assertThat(future2.join()).isEqualTo(ImmutableMap.of(2, "2", 3, "3"));
+    // once loaded, a key is requested again
+    test.load(ImmutableSet.of(2));
+    assertThat(loader.batches).hasSize(3);
+  }
+
+  @Test
+  public void test_concurrencyLimit() {
+    ManualLoader loader = new ManualLoader();
+    AsyncBatcher<Integer, String> test = new AsyncBatcher<>(loader::load, AsyncBatcherTest::failure, 1, 2);
+    CompletableFuture<Map<Integer, String>> future = test.load(ImmutableSet.of(1, 2, 3, 4));
+    assertThat(loader.batches).hasSize(2);
+    loader.complete(0);
+    assertThat(loader.batches).hasSize(3);
+    loader.complete(1);
+    loader.complete(2);
+    assertThat(loader.batches).hasSize(4);
+    assertThat(future).isNotDone();
+    loader.complete(3);
+    assertThat(future.join()).hasSize(4);
+  }
+
+  @Test
+  public void test_synchronousLoader() {
+    AsyncBatcher<Integer, String> test = new AsyncBatcher<>(
+        keys -> CompletableFuture.completedFuture(values(keys)), AsyncBatcherTest::failure, 1, 1);
+    assertThat(test.load(ImmutableSet.of(1, 2, 3)).join()).isEqualTo(ImmutableMap.of(1, "1", 2, "2", 3, "3"));
+  }
+
+  @Test
+  public void test_loaderFails() {
+    AsyncBatcher<Integer, String> test = new AsyncBatcher<>(
+        keys -> {
+          CompletableFuture<Map<Integer, String>> result = new CompletableFuture<>();
+          result.completeExceptionally(new IllegalStateException("Oops"));
+          return result;
+        },
+        AsyncBatcherTest::failure,
+        10,
+        1);
+    assertThat(test.load(ImmutableSet.of(1, 2)).join()).isEqualTo(ImmutableMap.of(1, "Failed: Oops", 2, "Failed: Oops"));
+  }
+
+  @Test
+  public void test_loaderThrows() {
+    AsyncBatcher<Integer, String> test = new AsyncBatcher<>(
+        keys -> {
+          throw new IllegalStateException("Oops");
+        },
+        AsyncBatcherTest::failure,
+        10,
+        1);
+    assertThat(test.load(ImmutableSet.of(1)).join()).isEqualTo(ImmutableMap.of(1, "Failed: Oops"));
+  }
+
+  @Test
+  public void test_missingKey() {
+    AsyncBatcher<Integer, String> test = new AsyncBatcher<>(
+        keys -> CompletableFuture.completedFuture(ImmutableMap.of(1, "1")), AsyncBatcherTest::failure, 10, 1);
+    assertThat(test.load(ImmutableSet.of(1, 2)).join()).isEqualTo(ImmutableMap.of(1, "1", 2, "Missing"));
+  }
+
+  @Test
+  public void test_empty() {
+    ManualLoader loader = new ManualLoader();
+    AsyncBatcher<Integer, String> test = new AsyncBatcher<>(loader::load, AsyncBatcherTest::failure, 10, 1);
+    assertThat(test.load(ImmutableSet.of()).join()).isEmpty();
+    assertThat(loader.batches).isEmpty();
+  }
+
+  @Test
+  public void test_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new AsyncBatcher<Integer, String>(new ManualLoader()::load, AsyncBatcherTest::failure, 0, 1));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new AsyncBatcher<Integer, String>(new ManualLoader()::load, AsyncBatcherTest::failure, 1, 0));
+  }
+
+  //-------------------------------------------------------------------------
+  private static String failure(Integer key, Throwable ex) {
+    return ex == null ? "Missing" : "Failed: " + ex.getMessage();
+  }
+
+  private static Map<Integer, String> values(Set<Integer> keys) {
+    return keys.stream().collect(toImmutableMap(key -> key, key -> key.toString()));
+  }
+
+  /**
+   * Loader that completes the batches when instructed by the test.
+   */
+  private static final class ManualLoader {
+    private final List<Set<Integer>> batches = new ArrayList<>();
+    private final List<CompletableFuture<Map<Integer, String>>> futures = new ArrayList<>();
+
+    CompletableFuture<Map<Integer, String>> load(Set<Integer> keys) {
+      CompletableFuture<Map<Integer, String>> future = new CompletableFuture<>();
+      batches.add(keys);
+      futures.add(future);
+      return future;
+    }
+
+    void complete(int index) {
+      futures.get(index).complete(values(batches.get(index)));
+    }
+
+    void completeAll() {
+      for (int i = 0; i < futures.size(); i++) {
+        complete(i);
+      }
+    }
+  }
+
+}
@@ -15,9 +15,9 @@ import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 
-import com.opengamma.strata.collect.result.FailureException;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketDataFailureException;
 import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.scenario.MarketDataBox;
 
@@ -42,7 +42,7 @@ public class BuiltMarketDataTest {
     assertThat(test.containsValue(ID)).isFalse();
     assertThat(test.getIds()).isEmpty();
     assertThat(test.findValue(ID)).isEqualTo(Optional.empty());
-    assertThatExceptionOfType(FailureException.class)
+    assertThatExceptionOfType(MarketDataFailureException.class)
         .isThrownBy(() -> test.getValue(ID))
         .withMessage(failureMessage);
   }
@@ -17,10 +17,10 @@ import java.util.Optional;
 import org.junit.jupiter.api.Test;
 
 import com.opengamma.strata.basics.currency.FxRate;
-import com.opengamma.strata.collect.result.FailureException;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.MarketDataFailureException;
 import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.scenario.MarketDataBox;
 
@@ -53,7 +53,7 @@ public class BuiltScenarioMarketDataTest {
     assertThat(test.containsValue(ID)).isFalse();
     assertThat(test.getIds()).isEmpty();
     assertThat(test.findValue(ID)).isEqualTo(Optional.empty());
-    assertThatExceptionOfType(FailureException.class)
+    assertThatExceptionOfType(MarketDataFailureException.class)
         .isThrownBy(() -> test.getValue(ID))
         .withMessage(failureMessage);
   }
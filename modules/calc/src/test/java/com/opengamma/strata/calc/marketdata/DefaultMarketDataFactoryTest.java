@@ -10,9 +10,15 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 
@@ -21,6 +27,9 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.metrics.InMemoryMetricsRecorder;
+import com.opengamma.strata.collect.metrics.Metrics;
+import com.opengamma.strata.collect.metrics.MetricsRecorder;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -119,6 +128,39 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketData.getValue(idC)).isEqualTo(new TestMarketDataC(timeSeries));
   }
 
+  /**
+   * Tests the metrics recorded when building market data.
+   */
+  @Test
+  public void buildNonObservableValues_metrics() {
+    ObservableId idA = new TestIdA("1");
+    MarketDataId<?> idC = new TestIdC("1");
+    LocalDateDoubleTimeSeries timeSeries = LocalDateDoubleTimeSeries.builder()
+        .put(date(2012, 4, 8), 10)
+        .build();
+    MarketData suppliedData = ImmutableMarketData.builder(date(2011, 3, 8))
+        .addTimeSeries(idA, timeSeries)
+        .build();
+    MarketDataFactory factory = MarketDataFactory.of(
+        ObservableDataProvider.none(),
+        new TestTimeSeriesProvider(ImmutableMap.of()),
+        new TestMarketDataFunctionC());
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(idC)
+        .build();
+
+    InMemoryMetricsRecorder recorder = new InMemoryMetricsRecorder();
+    Metrics.setRecorder(recorder);
+    try {
+      factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+    } finally {
+      Metrics.setRecorder(MetricsRecorder.none());
+    }
+    assertThat(recorder.findSummary("marketdata.create").get().getCount()).isEqualTo(1);
+    assertThat(recorder.findSummary("marketdata.levels").get().getTotal()).isEqualTo(2d);
+    assertThat(recorder.findSummary("marketdata.build.TestMarketDataFunctionC").get().getCount()).isEqualTo(1);
+  }
+
   /**
    * Tests building observable market data values.
    */
@@ -137,6 +179,42 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketData.getValue(id2)).isEqualTo(2d);
   }
 
+  /**
+   * Tests building observable market data and time-series using asynchronous providers in batches.
+   */
+  @Test
+  public void buildObservableValues_asyncBatched() {
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    try {
+      DelayedObservableDataProvider observableProvider = new DelayedObservableDataProvider(executor);
+      TestObservableId id1 = TestObservableId.of(StandardId.of("reqs", "a"));
+      TestObservableId id2 = TestObservableId.of(StandardId.of("reqs", "b"));
+      TestObservableId id3 = TestObservableId.of(StandardId.of("reqs", "3"));
+      LocalDateDoubleTimeSeries timeSeries = LocalDateDoubleTimeSeries.builder()
+          .put(date(2011, 3, 8), 1)
+          .build();
+      MarketDataFactory factory = MarketDataFactory.of(
+          ObservableDataProvider.batched(observableProvider, 2, 1),
+          TimeSeriesProvider.batched(new TestTimeSeriesProvider(ImmutableMap.of(id1, timeSeries)), 10, 1));
+
+      MarketData suppliedData = MarketData.empty(date(2011, 3, 8));
+      MarketDataRequirements requirements = MarketDataRequirements.builder()
+          .addValues(id1, id2, id3)
+          .addTimeSeries(id1, id2)
+          .build();
+      BuiltMarketData marketData = factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+      assertThat(marketData.getValue(id1)).isEqualTo(1d);
+      assertThat(marketData.getValue(id2)).isEqualTo(2d);
+      assertThat(marketData.getValue(id3)).isEqualTo(3d);
+      assertThat(marketData.getTimeSeries(id1)).isEqualTo(timeSeries);
+      assertThat(marketData.getTimeSeries(id2).isEmpty()).isTrue();
+      assertThat(marketData.getTimeSeriesFailures().get(id2).getReason()).isEqualTo(FailureReason.MISSING_DATA);
+      assertThat(observableProvider.batchSizes).containsExactlyInAnyOrder(2, 1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   /**
    * Tests observable market data values supplied by the user are included in the results.
    */
@@ -901,6 +979,35 @@ public class DefaultMarketDataFactoryTest {
     }
   }
 
+  /**
+   * Builds observable data asynchronously, after a delay.
+   */
+  private static final class DelayedObservableDataProvider implements ObservableDataProvider {
+
+    private final TestObservableDataProvider underlying = new TestObservableDataProvider();
+    private final ScheduledExecutorService executor;
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    private DelayedObservableDataProvider(ScheduledExecutorService executor) {
+      this.executor = executor;
+    }
+
+    @Override
+    public Map<ObservableId, Result<Double>> provideObservableData(Set<? extends ObservableId> requirements) {
+      return provideObservableDataAsync(requirements).join();
+    }
+
+    @Override
+    public CompletableFuture<Map<ObservableId, Result<Double>>> provideObservableDataAsync(
+        Set<? extends ObservableId> requirements) {
+
+      batchSizes.add(requirements.size());
+      CompletableFuture<Map<ObservableId, Result<Double>>> future = new CompletableFuture<>();
+      executor.schedule(() -> future.complete(underlying.provideObservableData(requirements)), 10, TimeUnit.MILLISECONDS);
+      return future;
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Test ID A.
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableSource;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioPerturbation;
+
+/**
+ * Test {@link PerturbationMappingIndex}.
+ */
+public class PerturbationMappingIndexTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.empty();
+  private static final MarketDataBox<Object> VALUE = MarketDataBox.ofSingleValue("A");
+
+  private static final PerturbationMapping<Object> MAPPING_OBS_TYPE =
+      PerturbationMapping.of(MarketDataFilter.ofIdType(TestObservableId.class), ScenarioPerturbation.none());
+  private static final PerturbationMapping<Object> MAPPING_ID =
+      PerturbationMapping.of(MarketDataFilter.ofId(TestId.of("a")), ScenarioPerturbation.none());
+  private static final PerturbationMapping<Object> MAPPING_NAME =
+      PerturbationMapping.of(MarketDataFilter.ofName(new TestingName("n")), ScenarioPerturbation.none());
+  private static final PerturbationMapping<Object> MAPPING_ID_TYPE =
+      PerturbationMapping.of(MarketDataFilter.ofIdType(TestId.class), ScenarioPerturbation.none());
+  private static final PerturbationMapping<Object> MAPPING_OBS_ID =
+      PerturbationMapping.of(MarketDataFilter.ofId(TestObservableId.of("x")), ScenarioPerturbation.none());
+  private static final List<PerturbationMapping<?>> MAPPINGS =
+      ImmutableList.of(MAPPING_OBS_TYPE, MAPPING_ID, MAPPING_NAME, MAPPING_ID_TYPE, MAPPING_OBS_ID);
+
+  @Test
+  public void test_findMapping() {
+    PerturbationMappingIndex test = PerturbationMappingIndex.of(MAPPINGS);
+    assertThat(test.findMapping(TestObservableId.of("x"), VALUE, REF_DATA)).hasValue(MAPPING_OBS_TYPE);
+    assertThat(test.findMapping(TestId.of("a"), VALUE, REF_DATA)).hasValue(MAPPING_ID);
+    assertThat(test.findMapping(TestId.of("b"), VALUE, REF_DATA)).hasValue(MAPPING_ID_TYPE);
+    assertThat(test.findMapping(new TestingNamedId("n"), VALUE, REF_DATA)).hasValue(MAPPING_NAME);
+    assertThat(test.findMapping(new TestingNamedId("m"), VALUE, REF_DATA)).isEmpty();
+  }
+
+  @Test
+  public void test_findMapping_order() {
+    PerturbationMappingIndex test = PerturbationMappingIndex.of(ImmutableList.of(MAPPING_ID_TYPE, MAPPING_ID));
+    assertThat(test.findMapping(TestId.of("a"), VALUE, REF_DATA)).hasValue(MAPPING_ID_TYPE);
+  }
+
+  @Test
+  public void test_findMapping_sameAsLinearSearch() {
+    PerturbationMappingIndex test = PerturbationMappingIndex.of(MAPPINGS);
+    List<MarketDataId<?>> ids = ImmutableList.of(
+        TestObservableId.of("x"),
+        TestObservableId.of("y"),
+        TestId.of("a"),
+        TestId.of("b"),
+        new TestingNamedId("n"),
+        new TestingNamedId("m"),
+        new TestSimpleId("a", ObservableSource.NONE));
+    for (MarketDataId<?> id : ids) {
+      Optional<PerturbationMapping<?>> expected = MAPPINGS.stream()
+          .filter(mapping -> mapping.matches(id, VALUE, REF_DATA))
+          .findFirst();
+      assertThat(test.findMapping(id, VALUE, REF_DATA)).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void test_findMapping_empty() {
+    PerturbationMappingIndex test = PerturbationMappingIndex.of(ImmutableList.of());
+    assertThat(test.findMapping(TestId.of("a"), VALUE, REF_DATA)).isEmpty();
+  }
+
+}
@@ -6,6 +6,7 @@
 package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,4 +41,9 @@ public class CalculationTaskCellTest {
     assertThat(CalculationTaskCell.meta()).isNotNull();
   }
 
+  @Test
+  public void test_serialization() {
+    assertSerialization(CalculationTaskCell.of(1, 2, TestingMeasures.PRESENT_VALUE, ReportingCurrency.of(USD)));
+  }
+
 }
@@ -14,13 +14,17 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -40,9 +44,12 @@ import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.TestId;
 import com.opengamma.strata.calc.marketdata.TestObservableId;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureException;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.MarketDataFailureException;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.ObservableId;
@@ -287,6 +294,123 @@ public class CalculationTaskTest {
             "Function 'MeasureCheckFunction' did not return requested measure 'PresentValueMultiCurrency' for ID '123'");
   }
 
+  /**
+   * Tests that executing a batch matches executing each task.
+   */
+  @Test
+  public void executeBatch() {
+    AtomicInteger counter = new AtomicInteger();
+    SupplierFunction<String> fn = SupplierFunction.of(() -> "foo" + counter.incrementAndGet());
+    CalculationTask task0 = CalculationTask.of(
+        TARGET, fn, CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD));
+    CalculationTask task1 = CalculationTask.of(
+        new TestTarget(), fn, CalculationTaskCell.of(1, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD));
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8)).build();
+
+    List<CalculationResults> results = CalculationTask.executeBatch(ImmutableList.of(task0, task1), marketData, REF_DATA);
+    assertThat(results).hasSize(2);
+    assertThat(results.get(0).getTarget()).isSameAs(TARGET);
+    assertThat(results.get(0).getCells().get(0).getResult()).hasValue(ScenarioArray.of("foo1"));
+    assertThat(results.get(1).getTarget()).isSameAs(task1.getTarget());
+    assertThat(results.get(1).getCells().get(0).getResult()).hasValue(ScenarioArray.of("foo2"));
+    assertThat(results.get(1).getCells().get(0).getRowIndex()).isEqualTo(1);
+  }
+
+  /**
+   * Tests that a batch falls back to the individual tasks if the batch calculation fails.
+   */
+  @Test
+  public void executeBatchException() {
+    SupplierFunction<String> fn = SupplierFunction.of(() -> {
+      throw new IllegalArgumentException("foo");
+    });
+    CalculationTask task0 = CalculationTask.of(
+        TARGET, fn, CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD));
+    CalculationTask task1 = CalculationTask.of(
+        new TestTarget(), fn, CalculationTaskCell.of(1, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD));
+    ScenarioMarketData marketData = ScenarioMarketData.empty();
+
+    List<CalculationResults> results = CalculationTask.executeBatch(ImmutableList.of(task0, task1), marketData, REF_DATA);
+    assertThat(results).hasSize(2);
+    for (CalculationResults result : results) {
+      assertThat(result.getCells().get(0).getResult())
+          .isFailure(FailureReason.CALCULATION_FAILED)
+          .hasFailureMessageMatching("Error when invoking function 'SupplierFunction' for ID '123': foo");
+    }
+  }
+
+  /**
+   * Tests that a failing batch is split, so only the failing target is calculated individually.
+   */
+  @Test
+  public void executeBatchPartialFailure() {
+    List<TestTarget> targets = IntStream.range(0, 8).mapToObj(i -> new TestTarget()).collect(toImmutableList());
+    BatchFunction fn = new BatchFunction(targets.get(5));
+    List<CalculationTask> tasks = IntStream.range(0, 8)
+        .mapToObj(i -> CalculationTask.of(
+            targets.get(i), fn, CalculationTaskCell.of(i, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD)))
+        .collect(toImmutableList());
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8)).build();
+
+    List<CalculationResults> results = CalculationTask.executeBatch(tasks, marketData, REF_DATA);
+    assertThat(results).hasSize(8);
+    for (int i = 0; i < 8; i++) {
+      assertThat(results.get(i).getTarget()).isSameAs(targets.get(i));
+      if (i == 5) {
+        assertThat(results.get(i).getCells().get(0).getResult())
+            .isFailure(FailureReason.CALCULATION_FAILED)
+            .hasFailureMessageMatching("Error when invoking function 'BatchFunction' for ID '123': bad");
+      } else {
+        assertThat(results.get(i).getCells().get(0).getResult()).hasValue(ScenarioArray.of("ok"));
+      }
+    }
+    // the batch is split in two until the failing target is isolated
+    assertThat(fn.batchSizes).containsExactly(8, 4, 4, 2, 2);
+    assertThat(fn.individualTargets).containsExactly(targets.get(4), targets.get(5));
+  }
+
+  /**
+   * Tests that a batch handles a function that fails to return the expected measure.
+   */
+  @Test
+  public void executeBatchMissingMeasure() {
+    MeasureCheckFunction fn = new MeasureCheckFunction(ImmutableSet.of(TestingMeasures.PRESENT_VALUE), Optional.of("123"));
+    CalculationTask task0 = CalculationTask.of(
+        TARGET,
+        fn,
+        CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD),
+        CalculationTaskCell.of(0, 1, TestingMeasures.PRESENT_VALUE_MULTI_CCY, REPORTING_CURRENCY_USD));
+    CalculationTask task1 = CalculationTask.of(
+        new TestTarget(),
+        fn,
+        CalculationTaskCell.of(1, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD),
+        CalculationTaskCell.of(1, 1, TestingMeasures.PRESENT_VALUE_MULTI_CCY, REPORTING_CURRENCY_USD));
+    ScenarioMarketData marketData = ScenarioMarketData.empty();
+
+    List<CalculationResults> results = CalculationTask.executeBatch(ImmutableList.of(task0, task1), marketData, REF_DATA);
+    assertThat(results).hasSize(2);
+    for (CalculationResults result : results) {
+      assertThat(result.getCells().get(0).getResult()).isSuccess();
+      assertThat(result.getCells().get(1).getResult())
+          .isFailure(FailureReason.CALCULATION_FAILED)
+          .hasFailureMessageMatching(
+              "Function 'MeasureCheckFunction' did not return requested measure 'PresentValueMultiCurrency' for ID '123'");
+    }
+  }
+
+  @Test
+  public void executeBatchInvalid() {
+    CalculationTask task0 = CalculationTask.of(
+        TARGET, new TestFunction(), CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL));
+    CalculationTask task1 = CalculationTask.of(
+        TARGET, new TestFunction(), CalculationTaskCell.of(1, 0, TestingMeasures.PRESENT_VALUE, NATURAL));
+    ScenarioMarketData marketData = ScenarioMarketData.empty();
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> CalculationTask.executeBatch(ImmutableList.of(task0, task1), marketData, REF_DATA));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> CalculationTask.executeBatch(ImmutableList.of(), marketData, REF_DATA));
+  }
+
   /**
    * Tests that executing a function filters the set of measures sent to function.
    */
@@ -348,6 +472,45 @@ public class CalculationTaskTest {
         .hasFailureMessageMatching("Missing market data when invoking function 'SupplierFunction' for ID '123': foo");
   }
 
+  /**
+   * Tests that executing a function that throws a market data failure exception shares the failure.
+   */
+  @Test
+  public void executeException_marketDataFailure() {
+    Failure failure = Failure.of(FailureReason.CALCULATION_FAILED, "Curve calibration failed");
+    SupplierFunction<String> fn = SupplierFunction.of(() -> {
+      throw new MarketDataFailureException(failure);
+    });
+    CalculationTaskCell cell1 = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD);
+    CalculationTaskCell cell2 = CalculationTaskCell.of(1, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD);
+    ScenarioMarketData marketData = ScenarioMarketData.empty();
+
+    Result<?> result1 = CalculationTask.of(TARGET, fn, cell1).execute(marketData, REF_DATA).getCells().get(0).getResult();
+    Result<?> result2 = CalculationTask.of(TARGET, fn, cell2).execute(marketData, REF_DATA).getCells().get(0).getResult();
+    assertThat(result1).isFailure(FailureReason.CALCULATION_FAILED);
+    assertThat(result1.getFailure()).isSameAs(failure);
+    assertThat(result2.getFailure()).isSameAs(failure);
+  }
+
+  /**
+   * Tests that executing a function that throws any other failure exception wraps the exception in a failure result.
+   */
+  @Test
+  public void executeException_failure() {
+    Failure failure = Failure.of(FailureReason.INVALID, "foo");
+    SupplierFunction<String> fn = SupplierFunction.of(() -> {
+      throw new FailureException(failure);
+    });
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD);
+    CalculationTask task = CalculationTask.of(TARGET, fn, cell);
+    ScenarioMarketData marketData = ScenarioMarketData.empty();
+
+    Result<?> result = task.execute(marketData, REF_DATA).getCells().get(0).getResult();
+    assertThat(result)
+        .isFailure(FailureReason.CALCULATION_FAILED)
+        .hasFailureMessageMatching("Error when invoking function 'SupplierFunction' for ID '123': foo");
+  }
+
   /**
    * Tests that executing a function that throws a market data exception wraps the exception in a failure result.
    * Target has no identifier.
@@ -677,6 +840,83 @@ public class CalculationTaskTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Function that calculates batches, failing for one target.
+   */
+  private static final class BatchFunction implements CalculationFunction<TestTarget> {
+
+    private final TestTarget failingTarget;
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private final List<TestTarget> individualTargets = new ArrayList<>();
+
+    private BatchFunction(TestTarget failingTarget) {
+      this.failingTarget = failingTarget;
+    }
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return TestTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return MEASURES;
+    }
+
+    @Override
+    public Optional<String> identifier(TestTarget target) {
+      return Optional.of("123");
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget trade, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      individualTargets.add(target);
+      if (target == failingTarget) {
+        throw new IllegalArgumentException("bad");
+      }
+      return ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success(ScenarioArray.of("ok")));
+    }
+
+    @Override
+    public List<Map<Measure, Result<?>>> calculateBatch(
+        List<TestTarget> targets,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      batchSizes.add(targets.size());
+      if (targets.contains(failingTarget)) {
+        throw new IllegalArgumentException("bad");
+      }
+      return targets.stream()
+          .map(target -> ImmutableMap.<Measure, Result<?>>of(TestingMeasures.PRESENT_VALUE, Result.success(ScenarioArray.of("ok"))))
+          .collect(toImmutableList());
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Function that returns a value from a Supplier.
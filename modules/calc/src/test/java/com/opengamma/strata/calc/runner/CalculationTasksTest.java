@@ -6,11 +6,14 @@
 package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 import java.util.List;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -75,6 +78,20 @@ public class CalculationTasksTest {
     assertThat(CalculationTasks.meta()).isNotNull();
   }
 
+  @Test
+  public void test_filter() {
+    CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(TestTarget.class, new TestFunction()));
+    List<TestTarget> targets = ImmutableList.of(TARGET1, TARGET2);
+    List<Column> columns = ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE), Column.of(TestingMeasures.PAR_RATE));
+    CalculationTasks base = CalculationTasks.of(CalculationRules.of(functions, USD), targets, columns);
+
+    CalculationTasks test = base.filter(task -> task.getRowIndex() == 1);
+    assertThat(test.getTargets()).containsExactly(TARGET1, TARGET2);
+    assertThat(test.getColumns()).isEqualTo(columns);
+    assertThat(test.getTasks()).containsExactly(base.getTasks().get(1));
+    assertThatIllegalArgumentException().isThrownBy(() -> base.filter(task -> false));
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void test_requirements() {
@@ -102,6 +119,77 @@ public class CalculationTasksTest {
     assertThat(timeSeries.iterator().next()).isEqualTo(timeSeriesId);
   }
 
+  @Test
+  public void test_of_requirements_parallel() {
+    CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(TestTarget.class, new TestFunction()));
+    CalculationRules calculationRules = CalculationRules.of(functions, USD);
+    List<TestTarget> targets = IntStream.range(0, 2500)
+        .mapToObj(i -> new TestTarget())
+        .collect(toImmutableList());
+    List<Column> columns = ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE), Column.of(TestingMeasures.PAR_RATE));
+
+    CalculationTasks test = CalculationTasks.of(calculationRules, targets, columns, REF_DATA);
+    assertThat(test.getTargets()).containsExactlyElementsOf(targets);
+    assertThat(test.getTasks()).hasSize(2500);
+    for (int i = 0; i < targets.size(); i++) {
+      CalculationTask task = test.getTasks().get(i);
+      assertThat(task.getTarget()).isSameAs(targets.get(i));
+      assertThat(task.getRowIndex()).isEqualTo(i);
+      assertThat(task.getCells()).extracting(CalculationTaskCell::getColumnIndex).containsExactly(0, 1);
+      // equal parameters are shared
+      assertThat(task.getParameters()).isSameAs(test.getTasks().get(0).getParameters());
+    }
+
+    MarketDataRequirements expected = MarketDataRequirements.combine(
+        test.getTasks().stream().map(task -> task.requirements(REF_DATA)).collect(toImmutableList()));
+    MarketDataRequirements requirements = test.requirements(REF_DATA);
+    assertThat(requirements).isEqualTo(expected);
+    // merged in task order, thus the iteration order is deterministic
+    assertThat(requirements.getObservables()).containsExactlyElementsOf(expected.getObservables());
+    assertThat(requirements.getNonObservables()).containsExactlyElementsOf(expected.getNonObservables());
+    assertThat(requirements.getTimeSeries()).containsExactlyElementsOf(expected.getTimeSeries());
+    assertThat(requirements.getOutputCurrencies()).containsExactlyElementsOf(expected.getOutputCurrencies());
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_batches() {
+    CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(TestTarget.class, new TestFunction()));
+    CalculationRules calculationRules = CalculationRules.of(functions, USD);
+    List<TestTarget> targets = IntStream.range(0, 5)
+        .mapToObj(i -> new TestTarget())
+        .collect(toImmutableList());
+    List<Column> columns = ImmutableList.of(
+        Column.of(TestingMeasures.PRESENT_VALUE),
+        Column.of(TestingMeasures.PAR_RATE, new TestParameter()));
+    CalculationTasks test = CalculationTasks.of(calculationRules, targets, columns, REF_DATA);
+    // two tasks for each target, as the columns have different parameters
+    assertThat(test.getTasks()).hasSize(10);
+
+    List<ImmutableList<CalculationTask>> batches = test.batches(3);
+    assertThat(batches).hasSize(4);
+    assertThat(batches.get(0)).hasSize(3);
+    assertThat(batches.get(1)).hasSize(2);
+    assertThat(batches.get(2)).hasSize(3);
+    assertThat(batches.get(3)).hasSize(2);
+    for (List<CalculationTask> batch : batches) {
+      CalculationTask first = batch.get(0);
+      for (CalculationTask task : batch) {
+        assertThat(task.getParameters()).isEqualTo(first.getParameters());
+        assertThat(task.getMeasures()).isEqualTo(first.getMeasures());
+      }
+    }
+    // batches are in the order of the first task in each group
+    assertThat(batches.get(0).get(0)).isSameAs(test.getTasks().get(0));
+    assertThat(batches.get(0)).extracting(CalculationTask::getRowIndex).containsExactly(0, 1, 2);
+    assertThat(batches.get(2).get(0).getMeasures()).isNotEqualTo(batches.get(0).get(0).getMeasures());
+    assertThat(batches.stream().flatMap(List::stream)).containsExactlyInAnyOrderElementsOf(test.getTasks());
+
+    assertThat(test.batches(1)).hasSize(10);
+    assertThat(test.batches(1).get(1)).containsExactly(test.getTasks().get(1));
+    assertThatIllegalArgumentException().isThrownBy(() -> test.batches(0));
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void testToString() {
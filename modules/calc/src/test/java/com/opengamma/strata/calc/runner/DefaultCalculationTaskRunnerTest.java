@@ -19,6 +19,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -37,6 +38,9 @@ import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.Results;
 import com.opengamma.strata.calc.TestingMeasures;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.metrics.InMemoryMetricsRecorder;
+import com.opengamma.strata.collect.metrics.Metrics;
+import com.opengamma.strata.collect.metrics.MetricsRecorder;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.MarketData;
@@ -142,6 +146,33 @@ public class DefaultCalculationTaskRunnerTest {
   /**
    * Tests that running an empty list of tasks completes and returns a set of results with zero rows.
    */
+  @Test
+  public void metrics() {
+    ScenarioArray<String> scenarioResult = ScenarioArray.of("foo");
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, scenarioResult);
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTask task = CalculationTask.of(TARGET, fn, cell);
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+    CalculationTasks tasks = CalculationTasks.of(ImmutableList.of(task), ImmutableList.of(column));
+    CalculationTaskRunner test = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+
+    InMemoryMetricsRecorder recorder = new InMemoryMetricsRecorder();
+    Metrics.setRecorder(recorder);
+    try {
+      Results results = test.calculate(tasks, MarketData.empty(VAL_DATE), REF_DATA);
+      assertThat(results.get(0, 0)).hasValue("foo");
+    } finally {
+      Metrics.setRecorder(MetricsRecorder.none());
+    }
+    assertThat(recorder.findSummary(CalculationMetrics.TASK).get().getCount()).isEqualTo(1);
+    assertThat(recorder.findSummary(CalculationMetrics.FUNCTION + "ScenarioResultFunction")).isPresent();
+    assertThat(recorder.findSummary(CalculationMetrics.CONVERSION)).isPresent();
+    assertThat(recorder.findSummary(CalculationMetrics.BATCH)).isPresent();
+    assertThat(recorder.findSummary(CalculationMetrics.BATCH_SIZE).get().getTotal()).isEqualTo(1d);
+    assertThat(recorder.findSummary(CalculationMetrics.QUEUE_DEPTH).get().getMax()).isEqualTo(0d);
+    assertThat(recorder.findSummary(CalculationMetrics.LISTENER).get().getCount()).isEqualTo(1);
+  }
+
   @Test
   public void runWithNoTasks() {
     Column column = Column.of(TestingMeasures.PRESENT_VALUE);
@@ -157,6 +188,26 @@ public class DefaultCalculationTaskRunnerTest {
     assertThat(results.getColumns().get(0).getMeasure()).isEqualTo(TestingMeasures.PRESENT_VALUE);
   }
 
+  @Test
+  public void batchSize() {
+    ExecutorService singleThread = Executors.newFixedThreadPool(1);
+    ForkJoinPool forkJoinPool = new ForkJoinPool(1);
+    try {
+      // the batch size is based on the threads of the executor, not the processors of the machine
+      assertThat(DefaultCalculationTaskRunner.parallelism(singleThread)).isEqualTo(1);
+      assertThat(DefaultCalculationTaskRunner.parallelism(forkJoinPool)).isEqualTo(1);
+      DefaultCalculationTaskRunner test = DefaultCalculationTaskRunner.of(singleThread);
+      assertThat(test.batchSize(3)).isEqualTo(1);
+      assertThat(test.batchSize(80)).isEqualTo(20);
+      assertThat(test.batchSize(1000)).isEqualTo(100);
+      assertThat(DefaultCalculationTaskRunner.parallelism(MoreExecutors.newDirectExecutorService()))
+          .isEqualTo(Runtime.getRuntime().availableProcessors());
+    } finally {
+      singleThread.shutdown();
+      forkJoinPool.shutdown();
+    }
+  }
+
   //-------------------------------------------------------------------------
   private static final class ScenarioResultFunction implements CalculationFunction<TestTarget> {
 
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnName;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.WorkerCalculationTaskRunnerTest.RemoteTarget;
+import com.opengamma.strata.calc.runner.WorkerCalculationTaskRunnerTest.TestFunctionsSupplier;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link DiskResultsListener} and {@link DiskResults}.
+ */
+public class DiskResultsListenerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(TestingMeasures.PRESENT_VALUE),
+      Column.of(TestingMeasures.PAR_RATE));
+  private static final ScenarioMarketData MARKET_DATA = ScenarioMarketData.of(3, MarketData.empty(date(2011, 3, 8)));
+  private static final List<Result<?>> VALUES = ImmutableList.of(
+      Result.success(1.5d),
+      Result.success(CurrencyAmount.of(GBP, 12.5)),
+      Result.success(DoubleScenarioArray.of(DoubleArray.of(1d, 2d, 3d))),
+      Result.success(CurrencyScenarioArray.of(GBP, DoubleArray.of(4d, 5d))),
+      Result.success("Text"),
+      Result.failure(FailureReason.CALCULATION_FAILED, "Failed"));
+
+  private Path directory;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("strata-disk-results");
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    MoreFiles.deleteRecursively(directory, RecursiveDeleteOption.ALLOW_INSECURE);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_roundTrip() {
+    List<CalculationTarget> targets = targets(VALUES.size());
+    DiskResultsListener listener = DiskResultsListener.of(directory);
+    listener.calculationsStarted(targets, COLUMNS);
+    for (int i = 0; i < VALUES.size(); i++) {
+      listener.resultReceived(targets.get(i), CalculationResult.of(i, 0, VALUES.get(i)));
+      listener.resultReceived(targets.get(i), CalculationResult.of(i, 1, Result.success(i)));
+    }
+    listener.calculationsComplete();
+
+    try (DiskResults test = listener.result()) {
+      assertThat(test.getDirectory()).isEqualTo(directory);
+      assertThat(test.getRowCount()).isEqualTo(VALUES.size());
+      assertThat(test.getColumnCount()).isEqualTo(2);
+      assertThat(test.getColumns()).containsExactly(COLUMNS.get(0).toHeader(), COLUMNS.get(1).toHeader());
+      assertThat(test.columnIndexByName(ColumnName.of(TestingMeasures.PAR_RATE))).isEqualTo(1);
+      assertThat(test.cellCount()).isEqualTo(VALUES.size() * 2);
+      for (int i = 0; i < VALUES.size(); i++) {
+        assertThat(test.contains(i, 0)).isTrue();
+        assertThat(test.get(i, 0)).isEqualTo(VALUES.get(i));
+        assertThat(test.find(i, 1)).hasValue(Result.success(i));
+      }
+      assertThat(test.columnStream(0).collect(toImmutableList())).isEqualTo(VALUES);
+      Results results = test.toResults();
+      assertThat(results.getColumns()).isEqualTo(test.getColumns());
+      assertThat(results.get(2, 0)).isEqualTo(VALUES.get(2));
+      assertThat(test.toString()).contains(directory.toString()).contains("6x2");
+    }
+  }
+
+  @Test
+  public void test_missingAndInvalid() {
+    List<CalculationTarget> targets = targets(2);
+    DiskResultsListener listener = DiskResultsListener.of(directory);
+    listener.calculationsStarted(targets, COLUMNS);
+    listener.resultReceived(targets.get(0), CalculationResult.of(0, 0, Result.success(1d)));
+    // a later record for the same cell replaces the earlier one
+    listener.resultReceived(targets.get(0), CalculationResult.of(0, 0, Result.success(2d)));
+    listener.calculationsComplete();
+
+    try (DiskResults test = listener.result()) {
+      assertThat(test.cellCount()).isEqualTo(1);
+      assertThat(test.get(0, 0)).isEqualTo(Result.success(2d));
+      assertThat(test.contains(1, 1)).isFalse();
+      assertThat(test.find(1, 1)).isEmpty();
+      assertThatIllegalStateException().isThrownBy(() -> test.get(1, 1));
+      assertThatIllegalStateException().isThrownBy(() -> test.toResults());
+      assertThatIllegalArgumentException().isThrownBy(() -> test.get(2, 0));
+      assertThatIllegalArgumentException().isThrownBy(() -> test.get(0, -1));
+      assertThatIllegalArgumentException().isThrownBy(() -> test.columnStream(2));
+      assertThatIllegalArgumentException().isThrownBy(() -> test.columnIndexByName(ColumnName.of("Foo")));
+    }
+    assertThatIllegalStateException().isThrownBy(() -> listener.calculationsStarted(targets, COLUMNS));
+  }
+
+  @Test
+  public void test_notSerializable() {
+    List<CalculationTarget> targets = targets(2);
+    DiskResultsListener listener = DiskResultsListener.of(directory);
+    listener.calculationsStarted(targets, COLUMNS);
+    listener.resultReceived(targets.get(0), CalculationResult.of(0, 0, Result.success(new Object())));
+    listener.resultReceived(targets.get(0), CalculationResult.of(0, 1, Result.success(1d)));
+    listener.resultReceived(targets.get(1), CalculationResult.of(1, 0, Result.success(2d)));
+    listener.resultReceived(targets.get(1), CalculationResult.of(1, 1, Result.success(3d)));
+    listener.calculationsComplete();
+
+    try (DiskResults test = listener.result()) {
+      assertThat(test.cellCount()).isEqualTo(4);
+      Result<?> failure = test.get(0, 0);
+      assertThat(failure.isFailure()).isTrue();
+      assertThat(failure.getFailure().getReason()).isEqualTo(FailureReason.ERROR);
+      assertThat(failure.getFailure().getMessage()).contains("not serializable").contains("java.lang.Object");
+      assertThat(test.get(0, 1)).isEqualTo(Result.success(1d));
+      assertThat(test.get(1, 0)).isEqualTo(Result.success(2d));
+      assertThat(test.get(1, 1)).isEqualTo(Result.success(3d));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_resume() throws IOException {
+    CalculationTasks tasks = tasks(10);
+    DiskResultsListener listener = DiskResultsListener.of(directory);
+    assertThat(listener.remainingTasks(tasks)).hasValue(tasks);
+    // simulate an interrupted calculation, with a partially written record at the end of a file
+    listener.calculationsStarted(tasks.getTargets(), tasks.getColumns());
+    for (int i = 0; i < 4; i++) {
+      CalculationTask task = tasks.getTasks().get(i);
+      task.execute(MARKET_DATA, REF_DATA).getCells().forEach(cell -> listener.resultReceived(task.getTarget(), cell));
+    }
+    listener.calculationsComplete();
+    listener.result().close();
+    Files.write(DiskResultsFormat.columnFile(directory, 0), new byte[] {0, 0, 0, 5, 0, 0}, StandardOpenOption.APPEND);
+
+    DiskResultsListener resumed = DiskResultsListener.of(directory);
+    assertThat(resumed.isCompleted(tasks.getTasks().get(3))).isTrue();
+    assertThat(resumed.isCompleted(tasks.getTasks().get(4))).isFalse();
+    Optional<CalculationTasks> remaining = resumed.remainingTasks(tasks);
+    assertThat(remaining).isPresent();
+    assertThat(remaining.get().getTasks()).isEqualTo(tasks.getTasks().subList(4, 10));
+
+    CalculationTaskRunner runner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    runner.calculateMultiScenarioAsync(remaining.get(), MARKET_DATA, REF_DATA, resumed);
+    resumed.result().close();
+
+    Results expected = runner.calculateMultiScenario(tasks, MARKET_DATA, REF_DATA);
+    try (DiskResults test = DiskResults.of(directory)) {
+      assertThat(test.cellCount()).isEqualTo(20);
+      assertThat(test.toResults()).isEqualTo(expected);
+    }
+    assertThat(DiskResultsListener.of(directory).remainingTasks(tasks)).isEmpty();
+  }
+
+  @Test
+  public void test_resume_differentGrid() {
+    CalculationTasks tasks = tasks(3);
+    DiskResultsListener listener = DiskResultsListener.of(directory);
+    listener.calculationsStarted(tasks.getTargets(), tasks.getColumns());
+    listener.calculationsComplete();
+    listener.result().close();
+
+    DiskResultsListener resumed = DiskResultsListener.of(directory);
+    assertThatIllegalArgumentException().isThrownBy(() -> resumed.remainingTasks(tasks(4)));
+    assertThatIllegalArgumentException().isThrownBy(() -> resumed.calculationsStarted(targets(4), COLUMNS));
+  }
+
+  //-------------------------------------------------------------------------
+  private static List<CalculationTarget> targets(int count) {
+    return IntStream.range(0, count).mapToObj(RemoteTarget::new).collect(toImmutableList());
+  }
+
+  private static CalculationTasks tasks(int count) {
+    CalculationRules rules = CalculationRules.of(new TestFunctionsSupplier().get());
+    return CalculationTasks.of(rules, targets(count), COLUMNS, REF_DATA);
+  }
+
+}
@@ -0,0 +1,406 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.ReportingCurrency;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link WorkerCalculationTaskRunner} and {@link CalculationWorker}.
+ */
+@Timeout(60)
+public class WorkerCalculationTaskRunnerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = date(2011, 3, 8);
+  private static final String SUPPLIER = TestFunctionsSupplier.class.getName();
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(TestingMeasures.PRESENT_VALUE),
+      Column.of(TestingMeasures.PAR_RATE));
+  private static final int NOT_SERIALIZABLE = -1;
+  private static final ScenarioMarketData MARKET_DATA = ScenarioMarketData.of(3, MarketData.empty(VAL_DATE));
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_calculateMultiScenario() {
+    CalculationTasks tasks = tasks(40);
+    try (WorkerCalculationTaskRunner test = new WorkerCalculationTaskRunner(2, SUPPLIER, WorkerCalculationTaskRunnerTest::worker)) {
+      Results results = test.calculateMultiScenario(tasks, MARKET_DATA, REF_DATA);
+      assertValues(results, 40, 3);
+      assertLocations(results, "remote");
+      // the workers can be used again
+      Results results2 = test.calculateMultiScenario(tasks, MARKET_DATA, REF_DATA);
+      assertThat(results2).isEqualTo(results);
+    }
+  }
+
+  @Test
+  public void test_calculate() {
+    CalculationTasks tasks = tasks(5);
+    try (WorkerCalculationTaskRunner test = new WorkerCalculationTaskRunner(1, SUPPLIER, WorkerCalculationTaskRunnerTest::worker)) {
+      Results results = test.calculate(tasks, MarketData.empty(VAL_DATE), REF_DATA);
+      for (int i = 0; i < 5; i++) {
+        assertThat(results.get(i, 0).getValue()).isEqualTo(i);
+        assertThat(results.get(i, 1).getValue()).isEqualTo("remote");
+      }
+    }
+  }
+
+  @Test
+  public void test_notSerializableTarget() {
+    CalculationTask task = CalculationTask.of(
+        new LocalTarget(7),
+        new TestFunction(),
+        CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, ReportingCurrency.NATURAL),
+        CalculationTaskCell.of(0, 1, TestingMeasures.PAR_RATE, ReportingCurrency.NATURAL));
+    CalculationTasks tasks = CalculationTasks.of(ImmutableList.of(task), COLUMNS);
+    try (WorkerCalculationTaskRunner test = new WorkerCalculationTaskRunner(1, SUPPLIER, WorkerCalculationTaskRunnerTest::worker)) {
+      Results results = test.calculateMultiScenario(tasks, MARKET_DATA, REF_DATA);
+      assertValues(results, 1, 3);
+      assertThat(results.get(0, 0).getValue()).isEqualTo(ScenarioArray.of(7, 7, 7));
+      assertLocations(results, "local");
+    }
+  }
+
+  @Test
+  public void test_notSerializableResult() {
+    List<RemoteTarget> targets = ImmutableList.of(new RemoteTarget(0), new RemoteTarget(NOT_SERIALIZABLE), new RemoteTarget(2));
+    CalculationRules rules = CalculationRules.of(new TestFunctionsSupplier().get());
+    CalculationTasks tasks = CalculationTasks.of(rules, targets, COLUMNS, REF_DATA);
+    try (WorkerCalculationTaskRunner test = new WorkerCalculationTaskRunner(1, SUPPLIER, WorkerCalculationTaskRunnerTest::worker)) {
+      Results results = test.calculateMultiScenario(tasks, MARKET_DATA, REF_DATA);
+      assertThat(results.get(0, 0).getValue()).isEqualTo(ScenarioArray.of(0, 0, 0));
+      assertThat(results.get(1, 0))
+          .isFailure(FailureReason.CALCULATION_FAILED)
+          .hasFailureMessageMatching("Result could not be returned by worker as it is not serializable: .*");
+      assertThat(results.get(2, 0).getValue()).isEqualTo(ScenarioArray.of(2, 2, 2));
+      // the worker is still used
+      Results results2 = test.calculateMultiScenario(tasks(10), MARKET_DATA, REF_DATA);
+      assertValues(results2, 10, 3);
+      assertLocations(results2, "remote");
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_retry() {
+    CalculationTasks tasks = tasks(40);
+    IntFunction<AutoCloseable> launcher = new IntFunction<AutoCloseable>() {
+      private int count;
+
+      @Override
+      public AutoCloseable apply(int port) {
+        return count++ == 0 ? failingWorker(port) : worker(port);
+      }
+    };
+    try (WorkerCalculationTaskRunner test = new WorkerCalculationTaskRunner(2, SUPPLIER, launcher)) {
+      Results results = test.calculateMultiScenario(tasks, MARKET_DATA, REF_DATA);
+      assertValues(results, 40, 3);
+    }
+  }
+
+  @Test
+  public void test_retryUnresponsiveWorker() {
+    CalculationTasks tasks = tasks(40);
+    IntFunction<AutoCloseable> launcher = new IntFunction<AutoCloseable>() {
+      private int count;
+
+      @Override
+      public AutoCloseable apply(int port) {
+        return count++ == 0 ? unresponsiveWorker(port) : worker(port);
+      }
+    };
+    try (WorkerCalculationTaskRunner test =
+        new WorkerCalculationTaskRunner(2, SUPPLIER, Duration.ofMillis(500), launcher)) {
+      Results results = test.calculateMultiScenario(tasks, MARKET_DATA, REF_DATA);
+      // the partition sent to the unresponsive worker is retried, either by the other worker or locally
+      assertValues(results, 40, 3);
+    }
+  }
+
+  @Test
+  public void test_retryInvalidResponse() {
+    CalculationTasks tasks = tasks(40);
+    IntFunction<AutoCloseable> launcher = new IntFunction<AutoCloseable>() {
+      private int count;
+
+      @Override
+      public AutoCloseable apply(int port) {
+        return count++ == 0 ? invalidResponseWorker(port) : worker(port);
+      }
+    };
+    try (WorkerCalculationTaskRunner test = new WorkerCalculationTaskRunner(2, SUPPLIER, launcher)) {
+      Results results = test.calculateMultiScenario(tasks, MARKET_DATA, REF_DATA);
+      assertValues(results, 40, 3);
+    }
+  }
+
+  @Test
+  public void test_invalidResponseTimeout() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new WorkerCalculationTaskRunner(1, SUPPLIER, Duration.ZERO, WorkerCalculationTaskRunnerTest::worker));
+  }
+
+  @Test
+  public void test_allWorkersFail() {
+    CalculationTasks tasks = tasks(40);
+    try (WorkerCalculationTaskRunner test =
+        new WorkerCalculationTaskRunner(2, SUPPLIER, WorkerCalculationTaskRunnerTest::failingWorker)) {
+      Results results = test.calculateMultiScenario(tasks, MARKET_DATA, REF_DATA);
+      assertValues(results, 40, 3);
+      assertLocations(results, "local");
+      // the failed workers are not used again
+      Results results2 = test.calculateMultiScenario(tasks, MARKET_DATA, REF_DATA);
+      assertThat(results2).isEqualTo(results);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_processes() {
+    CalculationTasks tasks = tasks(10);
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofWorkers(1, TestFunctionsSupplier.class)) {
+      Results results = test.calculateMultiScenario(tasks, MARKET_DATA, REF_DATA);
+      assertValues(results, 10, 3);
+      assertLocations(results, "remote");
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static CalculationTasks tasks(int count) {
+    List<RemoteTarget> targets = IntStream.range(0, count).mapToObj(RemoteTarget::new).collect(toImmutableList());
+    CalculationRules rules = CalculationRules.of(new TestFunctionsSupplier().get());
+    return CalculationTasks.of(rules, targets, COLUMNS, REF_DATA);
+  }
+
+  private static void assertValues(Results results, int rowCount, int scenarioCount) {
+    assertThat(results.getRowCount()).isEqualTo(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      Result<?> result = results.get(i, 0);
+      assertThat(result.isSuccess()).isTrue();
+      ScenarioArray<?> array = (ScenarioArray<?>) result.getValue();
+      assertThat(array.getScenarioCount()).isEqualTo(scenarioCount);
+    }
+  }
+
+  private static void assertLocations(Results results, String location) {
+    for (int i = 0; i < results.getRowCount(); i++) {
+      ScenarioArray<?> array = (ScenarioArray<?>) results.get(i, 1).getValue();
+      assertThat(array.get(0)).isEqualTo(location);
+    }
+  }
+
+  // starts a worker in this JVM
+  private static AutoCloseable worker(int port) {
+    Thread thread = new Thread(() -> CalculationWorker.main(new String[] {Integer.toString(port)}), "TestWorker");
+    thread.setDaemon(true);
+    thread.start();
+    return () -> thread.join(10_000);
+  }
+
+  // starts a worker that fails once it receives a partition
+  private static AutoCloseable failingWorker(int port) {
+    Thread thread = new Thread(
+        () -> {
+          try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            CalculationWorker.readMessage(in);
+            CalculationWorker.readMessage(in);
+          } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+          }
+        },
+        "TestWorker");
+    thread.setDaemon(true);
+    thread.start();
+    return () -> thread.join(10_000);
+  }
+
+  // starts a worker that responds to a partition with a message of the wrong type
+  private static AutoCloseable invalidResponseWorker(int port) {
+    Thread thread = new Thread(
+        () -> {
+          try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            CalculationWorker.readMessage(in);
+            CalculationWorker.readMessage(in);
+            CalculationWorker.writeBytes(out, CalculationWorker.serialize("Invalid"));
+            CalculationWorker.readMessage(in);
+          } catch (IOException ex) {
+            // the coordinator closed the connection
+          }
+        },
+        "TestWorker");
+    thread.setDaemon(true);
+    thread.start();
+    return () -> thread.join(10_000);
+  }
+
+  // starts a worker that receives partitions but never responds, until the connection is closed
+  private static AutoCloseable unresponsiveWorker(int port) {
+    Thread thread = new Thread(
+        () -> {
+          try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            while (true) {
+              CalculationWorker.readMessage(in);
+            }
+          } catch (IOException ex) {
+            // the coordinator closed the connection
+          }
+        },
+        "TestWorker");
+    thread.setDaemon(true);
+    thread.start();
+    return () -> thread.join(10_000);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A target that can be sent to a worker.
+   */
+  public static final class RemoteTarget implements CalculationTarget, Serializable {
+    private static final long serialVersionUID = 1L;
+    private final int value;
+
+    RemoteTarget(int value) {
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof RemoteTarget && ((RemoteTarget) obj).value == value;
+    }
+
+    @Override
+    public int hashCode() {
+      return value;
+    }
+  }
+
+  /**
+   * A target that cannot be sent to a worker.
+   */
+  static final class LocalTarget implements CalculationTarget {
+    private final int value;
+
+    LocalTarget(int value) {
+      this.value = value;
+    }
+  }
+
+  /**
+   * The supplier used by the workers.
+   */
+  public static final class TestFunctionsSupplier implements Supplier<CalculationFunctions> {
+    @Override
+    public CalculationFunctions get() {
+      TestFunction function = new TestFunction();
+      return CalculationFunctions.of(ImmutableMap.of(RemoteTarget.class, function, LocalTarget.class, function));
+    }
+  }
+
+  /**
+   * Function returning the value of the target, and whether it was calculated by a worker.
+   */
+  public static final class TestFunction implements CalculationFunction<CalculationTarget> {
+
+    @Override
+    public Class<CalculationTarget> targetType() {
+      return CalculationTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(TestingMeasures.PRESENT_VALUE, TestingMeasures.PAR_RATE);
+    }
+
+    @Override
+    public Currency naturalCurrency(CalculationTarget target, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        CalculationTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        CalculationTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      int value = target instanceof RemoteTarget ? ((RemoteTarget) target).value : ((LocalTarget) target).value;
+      String location = Thread.currentThread().getName().startsWith("WorkerCalculationTaskRunner-") ? "local" : "remote";
+      int scenarioCount = marketData.getScenarioCount();
+      if (value == NOT_SERIALIZABLE) {
+        return ImmutableMap.of(
+            TestingMeasures.PRESENT_VALUE,
+            Result.success(ScenarioArray.of(scenarioCount, i -> new Object())),
+            TestingMeasures.PAR_RATE,
+            Result.success(ScenarioArray.of(scenarioCount, i -> location)));
+      }
+      return ImmutableMap.of(
+          TestingMeasures.PRESENT_VALUE,
+          Result.success(ScenarioArray.of(scenarioCount, i -> value)),
+          TestingMeasures.PAR_RATE,
+          Result.success(ScenarioArray.of(scenarioCount, i -> location)));
+    }
+  }
+
+}
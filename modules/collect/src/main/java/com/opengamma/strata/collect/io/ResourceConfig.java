@@ -8,15 +8,27 @@ package com.opengamma.strata.collect.io;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
+import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Unchecked;
 
@@ -67,6 +79,19 @@ import com.opengamma.strata.collect.Unchecked;
  * In general, the configuration managed by this class will be in INI format.
  * The {@link #combinedIniFile(String)} method is the main entry point, returning a single
  * INI file merged from all available configuration files.
+ * <p>
+ * Searching the thirty directories on the classpath takes time, which matters for short-lived processes.
+ * An index can be generated using {@link #writeIndex(Path)} or {@link ResourceConfigIndexer}.
+ * The index records the directories that contain each resource, and the merged form of each INI file.
+ * It is stored in the 'META-INF/com/opengamma/strata/config/index' directory and is used when the system property
+ * 'com.opengamma.strata.config.index' is 'true'. Resources that are not in the index are found by searching.
+ * <p>
+ * The index is opt-in. It is not generated by the Strata build, as it depends on the configuration
+ * of the application. An application that wants the index must generate it as part of its own build.
+ * The index records a hash of each configuration file that it was built from.
+ * If any of those files has changed or been removed, the whole index is ignored and the classpath is searched.
+ * A configuration file added to a directory that did not previously contain it is not detected,
+ * thus the index should be regenerated whenever the configuration on the classpath changes.
  */
 public final class ResourceConfig {
 
@@ -144,6 +169,47 @@ public final class ResourceConfig {
     log.config("Using directories: " + dirs);
     RESOURCE_DIRS = ImmutableList.copyOf(dirs);
   }
+  /**
+   * The system property enabling the build-time index.
+   */
+  public static final String INDEX_PROPERTY = "com.opengamma.strata.config.index";
+  /**
+   * The package/folder location for the build-time index.
+   */
+  private static final String INDEX_PACKAGE = CONFIG_PACKAGE + "index/";
+  /**
+   * The index file holding the directories that contain each resource.
+   */
+  private static final String INDEX_LOCATIONS = "ResourceLocations.ini";
+  /**
+   * The index section holding the directories used to build the index.
+   */
+  private static final String INDEX_SECTION = "index";
+  /**
+   * The index section holding the hash of each resource used to build the index.
+   */
+  private static final String FINGERPRINT_SECTION = "fingerprint";
+  /**
+   * Whether the build-time index is enabled.
+   */
+  private static final boolean INDEX_ENABLED;
+  static {
+    boolean enabled = false;
+    try {
+      enabled = Boolean.parseBoolean(System.getProperty(INDEX_PROPERTY));
+    } catch (Exception ex) {
+      log.warning("Unable to access system property: " + ex.toString());
+    }
+    INDEX_ENABLED = enabled;
+  }
+  /**
+   * The resource names that have been queried, used when writing the index.
+   */
+  private static final Set<String> QUERIED_RESOURCES = ConcurrentHashMap.newKeySet();
+  /**
+   * The INI file names that have been combined, used when writing the index.
+   */
+  private static final Set<String> QUERIED_INI_FILES = ConcurrentHashMap.newKeySet();
   /**
    * INI section name used for chaining.
    */
@@ -172,6 +238,11 @@ public final class ResourceConfig {
    */
   public static IniFile combinedIniFile(String resourceName) {
     ArgChecker.notNull(resourceName, "resourceName");
+    QUERIED_INI_FILES.add(resourceName);
+    Optional<IniFile> indexed = indexedIniFile(resourceName);
+    if (indexed.isPresent()) {
+      return indexed.get();
+    }
     return ResourceConfig.combinedIniFile(ResourceConfig.orderedResources(resourceName));
   }
 
@@ -241,33 +312,27 @@ public final class ResourceConfig {
 
   // find the list of resources
   private static List<ResourceLocator> orderedResources0(String classpathResourceName) throws IOException {
-    ClassLoader classLoader = ResourceLocator.classLoader();
+    QUERIED_RESOURCES.add(classpathResourceName);
+    return orderedResources0(ResourceLocator.classLoader(), IndexHolder.LOCATIONS, classpathResourceName);
+  }
+
+  // find the list of resources, using the index of resource locations if not null, package-scoped for testing
+  static List<ResourceLocator> orderedResources0(
+      ClassLoader classLoader,
+      IniFile locations,
+      String classpathResourceName) throws IOException {
+
+    // the index avoids searching directories that do not contain the resource
+    List<String> dirs = RESOURCE_DIRS;
+    if (locations != null && locations.contains(classpathResourceName)) {
+      dirs = locations.section(classpathResourceName).keys().asList();
+    }
     List<String> names = new ArrayList<>();
     List<ResourceLocator> result = new ArrayList<>();
-    for (String dir : RESOURCE_DIRS) {
+    for (String dir : dirs) {
       String name = CONFIG_PACKAGE + dir + "/" + classpathResourceName;
       names.add(name);
-      List<URL> urls = Collections.list(classLoader.getResources(name));
-      switch (urls.size()) {
-        case 0:
-          continue;
-        case 1:
-          result.add(ResourceLocator.ofClasspathUrl(urls.get(0)));
-          break;
-        default:
-          // handle case where Strata is on the classpath more than once
-          // only accept this if the data being read is the same in all URLs
-          ResourceLocator baseResource = ResourceLocator.ofClasspathUrl(urls.get(0));
-          for (int i = 1; i < urls.size(); i++) {
-            ResourceLocator otherResource = ResourceLocator.ofClasspathUrl(urls.get(i));
-            if (!baseResource.getByteSource().contentEquals(otherResource.getByteSource())) {
-              log.severe("More than one file found on the classpath: " + name + ": " + urls);
-              throw new IllegalStateException("More than one file found on the classpath: " + name + ": " + urls);
-            }
-          }
-          result.add(baseResource);
-          break;
-      }
+      findResource(classLoader, name).ifPresent(result::add);
     }
     if (result.isEmpty()) {
       log.severe("No resource files found on the classpath: " + names);
@@ -277,6 +342,181 @@ public final class ResourceConfig {
     return result;
   }
 
+  // find a single resource
+  private static Optional<ResourceLocator> findResource(ClassLoader classLoader, String name) throws IOException {
+    List<URL> urls = Collections.list(classLoader.getResources(name));
+    switch (urls.size()) {
+      case 0:
+        return Optional.empty();
+      case 1:
+        return Optional.of(ResourceLocator.ofClasspathUrl(urls.get(0)));
+      default:
+        // handle case where Strata is on the classpath more than once
+        // only accept this if the data being read is the same in all URLs
+        ResourceLocator baseResource = ResourceLocator.ofClasspathUrl(urls.get(0));
+        for (int i = 1; i < urls.size(); i++) {
+          ResourceLocator otherResource = ResourceLocator.ofClasspathUrl(urls.get(i));
+          if (!baseResource.getByteSource().contentEquals(otherResource.getByteSource())) {
+            log.severe("More than one file found on the classpath: " + name + ": " + urls);
+            throw new IllegalStateException("More than one file found on the classpath: " + name + ": " + urls);
+          }
+        }
+        return Optional.of(baseResource);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Finds an INI file in the build-time index.
+   * <p>
+   * This returns the INI file with the specified name from the 'META-INF/com/opengamma/strata/config/index' directory.
+   * The index is only used if the system property 'com.opengamma.strata.config.index' is 'true'
+   * and the configuration files that it was built from have not changed.
+   * 
+   * @param resourceName  the resource name
+   * @return the indexed INI file, empty if the index is disabled, out of date or does not contain the resource
+   * @throws UncheckedIOException if an IO error occurs
+   */
+  public static Optional<IniFile> indexedIniFile(String resourceName) {
+    ArgChecker.notNull(resourceName, "resourceName");
+    return indexedIniFile(IndexHolder.LOCATIONS != null, ResourceLocator.classLoader(), resourceName);
+  }
+
+  // find an INI file in the index, package-scoped for testing
+  static Optional<IniFile> indexedIniFile(boolean indexEnabled, ClassLoader classLoader, String resourceName) {
+    if (!indexEnabled) {
+      return Optional.empty();
+    }
+    URL url = classLoader.getResource(INDEX_PACKAGE + resourceName);
+    if (url == null) {
+      return Optional.empty();
+    }
+    return Optional.of(IniFile.of(ResourceLocator.ofClasspathUrl(url).getCharSource()));
+  }
+
+  /**
+   * Writes the build-time index of the resources queried so far.
+   * <p>
+   * The index contains each resource that has been queried since the JVM started,
+   * thus the application should be exercised before calling this method.
+   * The index is written to the 'META-INF/com/opengamma/strata/config/index' directory
+   * under the output directory, which should then be added to the classpath of the application.
+   * The index is always built by searching the classpath, ignoring any existing index.
+   * 
+   * @param outputDir  the output directory
+   * @throws UncheckedIOException if an IO error occurs
+   * @throws IllegalStateException if there is a configuration error
+   */
+  public static void writeIndex(Path outputDir) {
+    ArgChecker.notNull(outputDir, "outputDir");
+    Unchecked.wrap(() -> writeIndex0(outputDir));
+  }
+
+  // writes the index
+  private static void writeIndex0(Path outputDir) throws IOException {
+    ClassLoader classLoader = ResourceLocator.classLoader();
+    Map<String, PropertySet> locations = new LinkedHashMap<>();
+    locations.put(INDEX_SECTION, PropertySet.of(ImmutableMap.of("directories", Joiner.on(',').join(RESOURCE_DIRS))));
+    ImmutableListMultimap.Builder<String, String> fingerprint = ImmutableListMultimap.builder();
+    for (String resourceName : new TreeSet<>(Sets.union(QUERIED_RESOURCES, QUERIED_INI_FILES))) {
+      for (String dir : RESOURCE_DIRS) {
+        Optional<ResourceLocator> resource = findResource(classLoader, CONFIG_PACKAGE + dir + "/" + resourceName);
+        if (resource.isPresent()) {
+          fingerprint.put(dir + "/" + resourceName, fingerprint(resource.get()));
+        }
+      }
+    }
+    locations.put(FINGERPRINT_SECTION, PropertySet.of(fingerprint.build()));
+    for (String resourceName : new TreeSet<>(QUERIED_RESOURCES)) {
+      ImmutableListMultimap.Builder<String, String> dirs = ImmutableListMultimap.builder();
+      for (String dir : RESOURCE_DIRS) {
+        if (findResource(classLoader, CONFIG_PACKAGE + dir + "/" + resourceName).isPresent()) {
+          dirs.put(dir, "");
+        }
+      }
+      locations.put(resourceName, PropertySet.of(dirs.build()));
+    }
+    writeIndexFile(outputDir, INDEX_LOCATIONS, IniFile.of(locations));
+    for (String resourceName : new TreeSet<>(QUERIED_INI_FILES)) {
+      List<ResourceLocator> resources = new ArrayList<>();
+      for (String dir : RESOURCE_DIRS) {
+        findResource(classLoader, CONFIG_PACKAGE + dir + "/" + resourceName).ifPresent(resources::add);
+      }
+      writeIndexFile(outputDir, resourceName, combinedIniFile(resources));
+    }
+  }
+
+  /**
+   * Writes an INI file to the build-time index.
+   * <p>
+   * The file is written to the 'META-INF/com/opengamma/strata/config/index' directory under the output directory.
+   * It can be queried using {@link #indexedIniFile(String)}.
+   * 
+   * @param outputDir  the output directory
+   * @param resourceName  the resource name
+   * @param iniFile  the INI file to write
+   * @return the path of the file that was written
+   * @throws UncheckedIOException if an IO error occurs
+   */
+  public static Path writeIndexFile(Path outputDir, String resourceName, IniFile iniFile) {
+    ArgChecker.notNull(outputDir, "outputDir");
+    ArgChecker.notNull(resourceName, "resourceName");
+    ArgChecker.notNull(iniFile, "iniFile");
+    StringBuilder buf = new StringBuilder();
+    IniFileOutput.standard(buf, "\n").writeIniFile(iniFile);
+    Path file = outputDir.resolve(INDEX_PACKAGE + resourceName);
+    return Unchecked.wrap(() -> {
+      Files.createDirectories(file.getParent());
+      return Files.write(file, buf.toString().getBytes(StandardCharsets.UTF_8));
+    });
+  }
+
+  // the hash of the content of a resource
+  private static String fingerprint(ResourceLocator resource) throws IOException {
+    return resource.getByteSource().hash(Hashing.crc32c()).toString();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Holds the index of resource locations, loaded lazily.
+   */
+  private static final class IndexHolder {
+    /**
+     * The index of resource locations, null if the index is disabled, missing or out of date.
+     * The indexed INI files are only used if this is not null.
+     */
+    private static final IniFile LOCATIONS = loadIndexLocations(INDEX_ENABLED, ResourceLocator.classLoader(), RESOURCE_DIRS);
+  }
+
+  // loads the index of resource locations, null if disabled, missing, invalid, built for other directories
+  // or built from configuration files that have since changed, package-scoped for testing
+  static IniFile loadIndexLocations(boolean indexEnabled, ClassLoader classLoader, List<String> resourceDirs) {
+    try {
+      Optional<IniFile> index = indexedIniFile(indexEnabled, classLoader, INDEX_LOCATIONS);
+      if (!index.isPresent()) {
+        return null;
+      }
+      String dirs = index.get().section(INDEX_SECTION).value("directories");
+      if (!dirs.equals(Joiner.on(',').join(resourceDirs))) {
+        log.warning("Ignoring configuration index built for different directories: " + dirs);
+        return null;
+      }
+      PropertySet fingerprint = index.get().section(FINGERPRINT_SECTION);
+      for (String key : fingerprint.keys()) {
+        Optional<ResourceLocator> resource = Unchecked.wrap(() -> findResource(classLoader, CONFIG_PACKAGE + key));
+        if (!resource.isPresent() || !Unchecked.wrap(() -> fingerprint(resource.get())).equals(fingerprint.value(key))) {
+          log.warning("Ignoring configuration index as the configuration has changed: " + key);
+          return null;
+        }
+      }
+      log.config("Using configuration index");
+      return index.get();
+    } catch (RuntimeException ex) {
+      log.warning("Ignoring invalid configuration index: " + ex.toString());
+      return null;
+    }
+  }
+
   //-------------------------------------------------------------------------
   private ResourceConfig() {
   }
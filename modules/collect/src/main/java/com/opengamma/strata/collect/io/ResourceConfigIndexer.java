@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.opengamma.strata.collect.Unchecked;
+
+/**
+ * Command line tool to generate the build-time index used by {@link ResourceConfig}.
+ * <p>
+ * The first argument is the output directory, typically the classes directory of the application.
+ * The remaining arguments are the full names of classes to initialize, such as {@code IborIndices}.
+ * Initializing a class loads the configuration that it depends on, including the configuration
+ * of any extended enum that it references. The index then covers all the configuration loaded.
+ * <p>
+ * The index is opt-in and is not generated by the Strata build.
+ * An application that wants the index runs this tool as part of its own build, for example using
+ * the Maven exec plugin, and then packages the output directory with the application.
+ * The index is enabled at runtime by setting the system property 'com.opengamma.strata.config.index' to 'true'.
+ * If the configuration files have changed since the index was generated, the index is ignored.
+ */
+public final class ResourceConfigIndexer {
+
+  /**
+   * Generates the index.
+   *
+   * @param args  the output directory followed by the classes to initialize
+   */
+  public static void main(String[] args) {
+    if (args.length == 0) {
+      throw new IllegalArgumentException("Usage: ResourceConfigIndexer <outputDir> [className...]");
+    }
+    Path outputDir = Paths.get(args[0]);
+    for (int i = 1; i < args.length; i++) {
+      String className = args[i];
+      Unchecked.wrap(() -> Class.forName(className, true, ResourceLocator.classLoader()));
+    }
+    ResourceConfig.writeIndex(outputDir);
+  }
+
+  //-------------------------------------------------------------------------
+  private ResourceConfigIndexer() {
+  }
+
+}
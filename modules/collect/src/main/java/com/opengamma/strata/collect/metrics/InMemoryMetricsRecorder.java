@@ -0,0 +1,331 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.io.CsvOutput;
+
+/**
+ * A recorder that holds the metrics in memory.
+ * <p>
+ * Each metric is summarized as it is recorded, so the memory used does not grow with the number of observations.
+ * Elapsed times are held in a histogram, allowing percentiles to be estimated.
+ * The profile of a run can be obtained using {@link #summaries()}, or written as CSV or JSON.
+ * <p>
+ * The type of a metric is determined by the first observation of that metric.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class InMemoryMetricsRecorder implements MetricsRecorder {
+
+  /**
+   * The CSV header.
+   */
+  private static final ImmutableList<String> CSV_HEADER =
+      ImmutableList.of("Name", "Type", "Count", "Total", "Min", "Max", "Mean", "P50", "P90", "P99");
+
+  /**
+   * The metrics, keyed by name.
+   */
+  private final ConcurrentHashMap<String, Accumulator> metrics = new ConcurrentHashMap<>();
+
+  /**
+   * Creates an empty instance.
+   */
+  public InMemoryMetricsRecorder() {
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void recordTime(String name, long nanos) {
+    accumulator(name, MetricType.TIME).add(Math.max(nanos, 0));
+  }
+
+  @Override
+  public void recordValue(String name, double value) {
+    accumulator(name, MetricType.VALUE).add(value);
+  }
+
+  @Override
+  public void incrementCount(String name, long amount) {
+    accumulator(name, MetricType.COUNT).add(amount);
+  }
+
+  // finds or creates the accumulator
+  private Accumulator accumulator(String name, MetricType type) {
+    Accumulator accumulator = metrics.get(name);
+    if (accumulator == null) {
+      accumulator = metrics.computeIfAbsent(name, n -> new Accumulator(type));
+    }
+    return accumulator;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets a summary of each metric, sorted by name.
+   *
+   * @return the summaries
+   */
+  public ImmutableList<MetricSummary> summaries() {
+    return metrics.entrySet().stream()
+        .map(e -> e.getValue().summary(e.getKey()))
+        .sorted(Comparator.comparing(MetricSummary::getName))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Finds the summary of a metric.
+   *
+   * @param name  the name of the metric
+   * @return the summary, empty if the metric has not been recorded
+   */
+  public Optional<MetricSummary> findSummary(String name) {
+    return Optional.ofNullable(metrics.get(name)).map(accumulator -> accumulator.summary(name));
+  }
+
+  /**
+   * Discards all the metrics recorded so far.
+   */
+  public void reset() {
+    metrics.clear();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes the summary of each metric as CSV.
+   * <p>
+   * There is one row for each metric, sorted by name, preceded by a header row.
+   * Times are in nanoseconds.
+   *
+   * @param output  the output to write to
+   * @throws UncheckedIOException if an IO error occurs
+   */
+  public void writeCsv(Appendable output) {
+    ArgChecker.notNull(output, "output");
+    CsvOutput csv = CsvOutput.standard(output, "\n");
+    csv.writeLine(CSV_HEADER);
+    for (MetricSummary summary : summaries()) {
+      csv.writeLine(ImmutableList.of(
+          summary.getName(),
+          summary.getType().name(),
+          Long.toString(summary.getCount()),
+          format(summary.getTotal()),
+          format(summary.getMin()),
+          format(summary.getMax()),
+          format(summary.getMean()),
+          format(summary.getP50()),
+          format(summary.getP90()),
+          format(summary.getP99())));
+    }
+  }
+
+  /**
+   * Writes the summary of each metric as JSON.
+   * <p>
+   * The output is a JSON array containing one object for each metric, sorted by name.
+   * Times are in nanoseconds. Values that are not available are written as null.
+   *
+   * @param output  the output to write to
+   * @throws UncheckedIOException if an IO error occurs
+   */
+  public void writeJson(Appendable output) {
+    ArgChecker.notNull(output, "output");
+    try {
+      output.append('[');
+      String separator = "\n";
+      for (MetricSummary summary : summaries()) {
+        output.append(separator)
+            .append("  {\"name\": ").append(jsonString(summary.getName()))
+            .append(", \"type\": \"").append(summary.getType().name())
+            .append("\", \"count\": ").append(Long.toString(summary.getCount()))
+            .append(", \"total\": ").append(jsonNumber(summary.getTotal()))
+            .append(", \"min\": ").append(jsonNumber(summary.getMin()))
+            .append(", \"max\": ").append(jsonNumber(summary.getMax()))
+            .append(", \"mean\": ").append(jsonNumber(summary.getMean()))
+            .append(", \"p50\": ").append(jsonNumber(summary.getP50()))
+            .append(", \"p90\": ").append(jsonNumber(summary.getP90()))
+            .append(", \"p99\": ").append(jsonNumber(summary.getP99()))
+            .append('}');
+        separator = ",\n";
+      }
+      output.append("\n]\n");
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Returns the summary of each metric as CSV.
+   *
+   * @return the CSV
+   */
+  public String toCsv() {
+    StringBuilder buf = new StringBuilder(1024);
+    writeCsv(buf);
+    return buf.toString();
+  }
+
+  /**
+   * Returns the summary of each metric as JSON.
+   *
+   * @return the JSON
+   */
+  public String toJson() {
+    StringBuilder buf = new StringBuilder(1024);
+    writeJson(buf);
+    return buf.toString();
+  }
+
+  // formats a number, avoiding a decimal point for whole numbers
+  private static String format(double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      return "";
+    }
+    if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      return Long.toString((long) value);
+    }
+    return Double.toString(value);
+  }
+
+  private static String jsonNumber(double value) {
+    String formatted = format(value);
+    return formatted.isEmpty() ? "null" : formatted;
+  }
+
+  private static String jsonString(String value) {
+    StringBuilder buf = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      if (ch == '"' || ch == '\\') {
+        buf.append('\\').append(ch);
+      } else if (ch < 0x20) {
+        buf.append(String.format(Locale.ENGLISH, "\\u%04x", (int) ch));
+      } else {
+        buf.append(ch);
+      }
+    }
+    return buf.append('"').toString();
+  }
+
+  @Override
+  public String toString() {
+    return "InMemoryMetricsRecorder[" + metrics.size() + " metrics]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Accumulates the observations of a single metric.
+   * <p>
+   * Elapsed times are also held in a log-linear histogram.
+   * Each power of two is split into eight buckets, thus the midpoint of each bucket is within 7% of any value in it.
+   */
+  static final class Accumulator {
+    // the number of sub-buckets in each power of two, as a shift
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final MetricType type;
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder total = new DoubleAdder();
+    private final DoubleAccumulator min = new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+    private final DoubleAccumulator max = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+    private final AtomicLongArray histogram;
+
+    Accumulator(MetricType type) {
+      this.type = type;
+      this.histogram = type == MetricType.TIME ? new AtomicLongArray(BUCKETS) : null;
+    }
+
+    // adds an observation
+    void add(long value) {
+      add((double) value);
+      if (histogram != null) {
+        histogram.incrementAndGet(bucket(value));
+      }
+    }
+
+    // adds an observation
+    void add(double value) {
+      count.increment();
+      total.add(value);
+      min.accumulate(value);
+      max.accumulate(value);
+    }
+
+    // finds the bucket of a non-negative value
+    static int bucket(long value) {
+      if (value < SUB_BUCKETS) {
+        return (int) value;
+      }
+      int exponent = 63 - Long.numberOfLeadingZeros(value);
+      int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+      return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    // finds the midpoint of a bucket
+    static double bucketMidpoint(int bucket) {
+      if (bucket < SUB_BUCKETS) {
+        return bucket;
+      }
+      int shift = bucket / SUB_BUCKETS - 1;
+      long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+      return lower + ((1L << shift) - 1) / 2d;
+    }
+
+    // estimates a percentile from the histogram
+    private double percentile(long[] counts, long totalCount, double fraction, double minValue, double maxValue) {
+      long target = Math.max(1, (long) Math.ceil(fraction * totalCount));
+      long cumulative = 0;
+      for (int i = 0; i < counts.length; i++) {
+        cumulative += counts[i];
+        if (cumulative >= target) {
+          return Math.min(Math.max(bucketMidpoint(i), minValue), maxValue);
+        }
+      }
+      return maxValue;
+    }
+
+    // creates the summary
+    MetricSummary summary(String name) {
+      long countValue = count.sum();
+      double minValue = countValue == 0 ? Double.NaN : min.get();
+      double maxValue = countValue == 0 ? Double.NaN : max.get();
+      double p50 = Double.NaN;
+      double p90 = Double.NaN;
+      double p99 = Double.NaN;
+      if (histogram != null) {
+        long[] counts = new long[BUCKETS];
+        long histogramCount = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+          counts[i] = histogram.get(i);
+          histogramCount += counts[i];
+        }
+        if (histogramCount > 0) {
+          p50 = percentile(counts, histogramCount, 0.5, minValue, maxValue);
+          p90 = percentile(counts, histogramCount, 0.9, minValue, maxValue);
+          p99 = percentile(counts, histogramCount, 0.99, minValue, maxValue);
+        }
+      }
+      return MetricSummary.of(name, type, countValue, total.sum(), minValue, maxValue, p50, p90, p99);
+    }
+  }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import java.util.Objects;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * A summary of the observations of a single metric.
+ * <p>
+ * Times are expressed in nanoseconds.
+ * Percentiles are only available for metrics of type {@link MetricType#TIME}, and are otherwise NaN.
+ * The percentiles are estimated from a histogram, with a relative error of less than 7%.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class MetricSummary {
+
+  /**
+   * The name of the metric.
+   */
+  private final String name;
+  /**
+   * The type of the metric.
+   */
+  private final MetricType type;
+  /**
+   * The number of observations.
+   */
+  private final long count;
+  /**
+   * The total of the observations.
+   */
+  private final double total;
+  /**
+   * The minimum observation.
+   */
+  private final double min;
+  /**
+   * The maximum observation.
+   */
+  private final double max;
+  /**
+   * The estimated 50th percentile.
+   */
+  private final double p50;
+  /**
+   * The estimated 90th percentile.
+   */
+  private final double p90;
+  /**
+   * The estimated 99th percentile.
+   */
+  private final double p99;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param name  the name of the metric
+   * @param type  the type of the metric
+   * @param count  the number of observations
+   * @param total  the total of the observations
+   * @param min  the minimum observation
+   * @param max  the maximum observation
+   * @param p50  the estimated 50th percentile, NaN if not available
+   * @param p90  the estimated 90th percentile, NaN if not available
+   * @param p99  the estimated 99th percentile, NaN if not available
+   * @return the summary
+   */
+  public static MetricSummary of(
+      String name,
+      MetricType type,
+      long count,
+      double total,
+      double min,
+      double max,
+      double p50,
+      double p90,
+      double p99) {
+
+    return new MetricSummary(name, type, count, total, min, max, p50, p90, p99);
+  }
+
+  // restricted constructor
+  private MetricSummary(
+      String name,
+      MetricType type,
+      long count,
+      double total,
+      double min,
+      double max,
+      double p50,
+      double p90,
+      double p99) {
+
+    this.name = ArgChecker.notEmpty(name, "name");
+    this.type = ArgChecker.notNull(type, "type");
+    this.count = ArgChecker.notNegative(count, "count");
+    this.total = total;
+    this.min = min;
+    this.max = max;
+    this.p50 = p50;
+    this.p90 = p90;
+    this.p99 = p99;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the name of the metric.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the type of the metric.
+   *
+   * @return the type
+   */
+  public MetricType getType() {
+    return type;
+  }
+
+  /**
+   * Gets the number of observations.
+   * <p>
+   * For a counter, this is the number of times it was incremented.
+   *
+   * @return the number of observations
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Gets the total of the observations.
+   * <p>
+   * For a counter, this is the value of the counter.
+   *
+   * @return the total
+   */
+  public double getTotal() {
+    return total;
+  }
+
+  /**
+   * Gets the minimum observation.
+   *
+   * @return the minimum
+   */
+  public double getMin() {
+    return min;
+  }
+
+  /**
+   * Gets the maximum observation.
+   *
+   * @return the maximum
+   */
+  public double getMax() {
+    return max;
+  }
+
+  /**
+   * Gets the mean of the observations.
+   *
+   * @return the mean, NaN if there are no observations
+   */
+  public double getMean() {
+    return count == 0 ? Double.NaN : total / count;
+  }
+
+  /**
+   * Gets the estimated 50th percentile, the median.
+   *
+   * @return the 50th percentile, NaN if not available
+   */
+  public double getP50() {
+    return p50;
+  }
+
+  /**
+   * Gets the estimated 90th percentile.
+   *
+   * @return the 90th percentile, NaN if not available
+   */
+  public double getP90() {
+    return p90;
+  }
+
+  /**
+   * Gets the estimated 99th percentile.
+   *
+   * @return the 99th percentile, NaN if not available
+   */
+  public double getP99() {
+    return p99;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof MetricSummary) {
+      MetricSummary other = (MetricSummary) obj;
+      return name.equals(other.name) &&
+          type == other.type &&
+          count == other.count &&
+          Double.compare(total, other.total) == 0 &&
+          Double.compare(min, other.min) == 0 &&
+          Double.compare(max, other.max) == 0 &&
+          Double.compare(p50, other.p50) == 0 &&
+          Double.compare(p90, other.p90) == 0 &&
+          Double.compare(p99, other.p99) == 0;
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(name, type, count, total, min, max, p50, p90, p99);
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format(
+        "MetricSummary[{}, {}, count={}, total={}, min={}, max={}, p50={}, p90={}, p99={}]",
+        name, type, count, total, min, max, p50, p90, p99);
+  }
+
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+/**
+ * The type of a metric.
+ */
+public enum MetricType {
+
+  /**
+   * Elapsed times, in nanoseconds, recorded using {@link MetricsRecorder#recordTime(String, long)}.
+   */
+  TIME,
+  /**
+   * Observed values, recorded using {@link MetricsRecorder#recordValue(String, double)}.
+   */
+  VALUE,
+  /**
+   * A counter, incremented using {@link MetricsRecorder#incrementCount(String, long)}.
+   */
+  COUNT;
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Provides access to the installed {@link MetricsRecorder}.
+ * <p>
+ * The calculation and market data engines report metrics to the recorder returned by {@link #recorder()}.
+ * By default, this is {@link MetricsRecorder#none()}, which discards all metrics.
+ * A different recorder can be installed for the whole JVM using {@link #setRecorder(MetricsRecorder)}:
+ * <pre>
+ *  InMemoryMetricsRecorder recorder = new InMemoryMetricsRecorder();
+ *  Metrics.setRecorder(recorder);
+ *  try {
+ *    // run the calculations
+ *  } finally {
+ *    Metrics.setRecorder(MetricsRecorder.none());
+ *  }
+ *  recorder.writeCsv(writer);
+ * </pre>
+ */
+public final class Metrics {
+
+  /**
+   * The installed recorder.
+   */
+  private static volatile MetricsRecorder RECORDER = MetricsRecorder.none();
+  /**
+   * The method used to estimate allocation, null if not supported.
+   */
+  private static final MethodHandle ALLOCATED_BYTES = allocatedBytesMethod();
+
+  // restricted constructor
+  private Metrics() {
+  }
+
+  // finds the method that provides per-thread allocation, if supported by the JVM
+  // this is looked up reflectively as the method is not part of the standard API
+  private static MethodHandle allocatedBytesMethod() {
+    try {
+      ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      Class<?> beanType = Class.forName("com.sun.management.ThreadMXBean");
+      if (!beanType.isInstance(bean) ||
+          !((Boolean) beanType.getMethod("isThreadAllocatedMemoryEnabled").invoke(bean))) {
+        return null;
+      }
+      MethodHandle handle = MethodHandles.publicLookup()
+          .findVirtual(beanType, "getThreadAllocatedBytes", MethodType.methodType(long.class, long.class));
+      return handle.bindTo(bean);
+    } catch (Exception | LinkageError ex) {
+      return null;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the installed recorder.
+   *
+   * @return the recorder
+   */
+  public static MetricsRecorder recorder() {
+    return RECORDER;
+  }
+
+  /**
+   * Installs the recorder.
+   * <p>
+   * Use {@link MetricsRecorder#none()} to stop recording.
+   *
+   * @param recorder  the recorder
+   */
+  public static void setRecorder(MetricsRecorder recorder) {
+    RECORDER = ArgChecker.notNull(recorder, "recorder");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Estimates the number of bytes allocated by the current thread since it started.
+   * <p>
+   * The difference between two calls on the same thread estimates the allocation of the code in between.
+   * This is only supported on some JVMs.
+   *
+   * @return the number of bytes allocated by the current thread, -1 if not supported
+   */
+  public static long threadAllocatedBytes() {
+    if (ALLOCATED_BYTES == null) {
+      return -1;
+    }
+    try {
+      return (long) ALLOCATED_BYTES.invokeExact(Thread.currentThread().getId());
+    } catch (Throwable ex) {
+      return -1;
+    }
+  }
+
+}
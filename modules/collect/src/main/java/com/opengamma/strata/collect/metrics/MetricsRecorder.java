@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+/**
+ * A recorder of metrics, such as timings and counts.
+ * <p>
+ * This is the extension point used to instrument the calculation and market data engines.
+ * The recorder in use is obtained from {@link Metrics#recorder()}.
+ * Each metric is identified by a name, such as 'calc.task' or 'marketdata.build.CurveMarketDataFunction'.
+ * <p>
+ * Callers should check {@link #isEnabled()} before measuring, to avoid the cost of
+ * measurement when the metrics are discarded.
+ * <p>
+ * Implementations must be thread-safe and should return quickly.
+ */
+public interface MetricsRecorder {
+
+  /**
+   * Obtains a recorder that discards all metrics.
+   *
+   * @return the recorder that discards all metrics
+   */
+  public static MetricsRecorder none() {
+    return NoOpMetricsRecorder.INSTANCE;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if metrics are being recorded.
+   * <p>
+   * If this returns false, callers may skip measuring.
+   *
+   * @return true if metrics are being recorded
+   */
+  public default boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * Records the elapsed time of an operation.
+   * <p>
+   * The times recorded for a metric form a latency histogram.
+   *
+   * @param name  the name of the metric
+   * @param nanos  the elapsed time in nanoseconds
+   */
+  public abstract void recordTime(String name, long nanos);
+
+  /**
+   * Records an observed value, such as a residual or a queue depth.
+   *
+   * @param name  the name of the metric
+   * @param value  the value
+   */
+  public abstract void recordValue(String name, double value);
+
+  /**
+   * Increments a counter.
+   *
+   * @param name  the name of the metric
+   * @param amount  the amount to add to the counter
+   */
+  public abstract void incrementCount(String name, long amount);
+
+}
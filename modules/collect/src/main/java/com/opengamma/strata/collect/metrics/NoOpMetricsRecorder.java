@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+/**
+ * A recorder that discards all metrics.
+ */
+enum NoOpMetricsRecorder implements MetricsRecorder {
+
+  /**
+   * The singleton instance.
+   */
+  INSTANCE;
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean isEnabled() {
+    return false;
+  }
+
+  @Override
+  public void recordTime(String name, long nanos) {
+  }
+
+  @Override
+  public void recordValue(String name, double value) {
+  }
+
+  @Override
+  public void incrementCount(String name, long amount) {
+  }
+
+  @Override
+  public String toString() {
+    return "MetricsRecorder[None]";
+  }
+
+}
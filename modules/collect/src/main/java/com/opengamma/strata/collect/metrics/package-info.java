@@ -0,0 +1,16 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Provides a pluggable facility to record timings and other metrics.
+ * <p>
+ * The calculation and market data engines report metrics to the {@link com.opengamma.strata.collect.metrics.MetricsRecorder}
+ * installed using {@link com.opengamma.strata.collect.metrics.Metrics#setRecorder(MetricsRecorder)}.
+ * By default, metrics are discarded.
+ * {@link com.opengamma.strata.collect.metrics.InMemoryMetricsRecorder} collects the metrics in memory,
+ * allowing the profile of a run to be written as CSV or JSON.
+ */
+package com.opengamma.strata.collect.metrics;
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.result;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * The policy used to capture the stack trace of a {@link FailureItem}.
+ * <p>
+ * Formatting a stack trace for every failure is expensive when a large number of failures are created,
+ * for example when a curve fails to calibrate and every dependent calculation fails.
+ * This policy controls how much work is done, and how much memory is retained, for each failure.
+ * <p>
+ * The policy applies to all failure items created after it is set.
+ * The initial policy can be set using the system property 'com.opengamma.strata.failure.capture',
+ * with a value of 'eager', 'lazy', 'sampled' or 'off'.
+ * The sample interval can be set using the system property 'com.opengamma.strata.failure.sampleInterval'.
+ * The initial policy is {@link #EAGER} if the property is not set.
+ */
+public enum FailureCapturePolicy {
+
+  /**
+   * The stack trace is captured and formatted when the failure is created.
+   */
+  EAGER,
+  /**
+   * The stack trace is captured when the failure is created, but only formatted when it is first queried.
+   * <p>
+   * The failure retains the exception that caused it until the stack trace is formatted.
+   */
+  LAZY,
+  /**
+   * The stack trace is captured and formatted for one failure in every sample interval.
+   * <p>
+   * The other failures only record the first line of the stack trace.
+   */
+  SAMPLED,
+  /**
+   * The stack trace is not captured.
+   * <p>
+   * Failures only record the first line of the stack trace.
+   */
+  OFF;
+
+  /**
+   * The system property defining the initial policy.
+   */
+  public static final String POLICY_PROPERTY = "com.opengamma.strata.failure.capture";
+  /**
+   * The system property defining the initial sample interval.
+   */
+  public static final String SAMPLE_INTERVAL_PROPERTY = "com.opengamma.strata.failure.sampleInterval";
+  /**
+   * The default sample interval.
+   */
+  private static final int DEFAULT_SAMPLE_INTERVAL = 1000;
+  /**
+   * The logger.
+   */
+  private static final Logger log = Logger.getLogger(FailureCapturePolicy.class.getName());
+  /**
+   * The number of failures created with the sampled policy.
+   */
+  private static final AtomicLong SAMPLE_COUNT = new AtomicLong();
+  /**
+   * The current policy.
+   */
+  private static volatile FailureCapturePolicy CURRENT = EAGER;
+  /**
+   * The current sample interval.
+   */
+  private static volatile int SAMPLE_INTERVAL = DEFAULT_SAMPLE_INTERVAL;
+  static {
+    try {
+      String policy = System.getProperty(POLICY_PROPERTY);
+      if (policy != null && !policy.isEmpty()) {
+        CURRENT = FailureCapturePolicy.valueOf(policy.trim().toUpperCase(Locale.ENGLISH));
+      }
+      String interval = System.getProperty(SAMPLE_INTERVAL_PROPERTY);
+      if (interval != null && !interval.isEmpty()) {
+        SAMPLE_INTERVAL = ArgChecker.notNegativeOrZero(Integer.parseInt(interval.trim()), "sampleInterval");
+      }
+    } catch (RuntimeException ex) {
+      log.warning("Invalid failure capture system property: " + ex.toString());
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the policy used when creating failure items.
+   *
+   * @return the current policy
+   */
+  public static FailureCapturePolicy current() {
+    return CURRENT;
+  }
+
+  /**
+   * Sets the policy used when creating failure items.
+   * <p>
+   * This is intended to be called once at application startup.
+   *
+   * @param policy  the policy
+   */
+  public static void setCurrent(FailureCapturePolicy policy) {
+    CURRENT = ArgChecker.notNull(policy, "policy");
+  }
+
+  /**
+   * Gets the sample interval used by the {@link #SAMPLED} policy.
+   * <p>
+   * One failure in every interval has its stack trace captured.
+   *
+   * @return the sample interval
+   */
+  public static int sampleInterval() {
+    return SAMPLE_INTERVAL;
+  }
+
+  /**
+   * Sets the sample interval used by the {@link #SAMPLED} policy.
+   * <p>
+   * This is intended to be called once at application startup.
+   *
+   * @param interval  the sample interval, one to capture every stack trace
+   */
+  public static void setSampleInterval(int interval) {
+    SAMPLE_INTERVAL = ArgChecker.notNegativeOrZero(interval, "interval");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks whether the stack trace of the next failure should be formatted immediately.
+   * <p>
+   * For {@link #SAMPLED}, this advances the sample count.
+   *
+   * @return true if the stack trace should be formatted immediately
+   */
+  boolean captureEagerly() {
+    switch (this) {
+      case EAGER:
+        return true;
+      case SAMPLED:
+        return SAMPLE_COUNT.getAndIncrement() % SAMPLE_INTERVAL == 0;
+      default:
+        return false;
+    }
+  }
+
+}
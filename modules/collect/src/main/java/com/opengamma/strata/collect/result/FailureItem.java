@@ -43,6 +43,8 @@ import com.opengamma.strata.collect.tuple.Pair;
  * <p>
  * This is used in {@link Failure} and {@link FailureItems} to capture details of a single failure.
  * Details include the reason, message and stack trace.
+ * <p>
+ * The amount of work done to capture the stack trace is controlled by {@link FailureCapturePolicy}.
  */
 @BeanDefinition(builderScope = "private")
 public final class FailureItem
@@ -82,14 +84,20 @@ public final class FailureItem
    * Stack trace where the failure occurred.
    * If the failure was caused by an {@code Exception} its stack trace is used, otherwise it's the
    * location where the failure was created.
+   * <p>
+   * This is null if the stack trace is captured lazily.
    */
-  @PropertyDefinition(validate = "notNull")
+  @PropertyDefinition(get = "manual", validate = "notNull")
   private final String stackTrace;
   /**
    * The type of the throwable that caused the failure, not present if it wasn't caused by a throwable.
    */
   @PropertyDefinition(get = "optional")
   private final Class<? extends Throwable> causeType;
+  /**
+   * The stack trace that is formatted when first queried, null if the stack trace was captured eagerly.
+   */
+  private final transient LazyStackTrace lazyStackTrace;  // not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -131,8 +139,7 @@ public final class FailureItem
     ArgChecker.notNull(reason, "reason");
     ArgChecker.notEmpty(message, "message");
     Pair<String, Map<String, String>> messageArgPair = Messages.formatWithAttributes(message, messageArgs);
-    String stackTrace = localGetStackTraceAsString(messageArgPair.getFirst(), skipFrames);
-    return new FailureItem(reason, messageArgPair.getFirst(), messageArgPair.getSecond(), stackTrace, null);
+    return ofCallerStackTrace(reason, messageArgPair.getFirst(), messageArgPair.getSecond(), skipFrames);
   }
 
   /**
@@ -148,22 +155,61 @@ public final class FailureItem
   private static FailureItem of(FailureReason reason, String message, Map<String, String> attributes) {
     ArgChecker.notNull(reason, "reason");
     ArgChecker.notEmpty(message, "message");
-    String stackTrace = localGetStackTraceAsString(message, 1);
+    return ofCallerStackTrace(reason, message, attributes, 1);
+  }
+
+  // creates a failure using the stack trace of the calling code, as controlled by the capture policy
+  private static FailureItem ofCallerStackTrace(
+      FailureReason reason,
+      String message,
+      Map<String, String> attributes,
+      int skipFrames) {
+
+    FailureCapturePolicy policy = FailureCapturePolicy.current();
+    if (policy == FailureCapturePolicy.LAZY) {
+      // the throwable records the stack cheaply, the stack trace elements are only created when formatted
+      LazyStackTrace lazy = new LazyStackTrace(FAILURE_EXCEPTION + message, new Throwable(), skipFrames + 2);
+      return new FailureItem(reason, message, attributes, null, lazy, null);
+    }
+    String stackTrace = policy.captureEagerly() ?
+        localGetStackTraceAsString(message, skipFrames + 1) :
+        FAILURE_EXCEPTION + message + "\n";
     return new FailureItem(reason, message, attributes, stackTrace, null);
   }
 
   private static String localGetStackTraceAsString(String message, int skipFrames) {
-    StringBuilder builder = new StringBuilder();
-    StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-    // simulate full stack trace, pretending this class is a Throwable subclass
-    builder.append(FAILURE_EXCEPTION).append(message).append("\n");
     // drop the first few frames because they are part of the immediate calling code
-    for (int i = skipFrames + 3; i < stackTrace.length; i++) {
+    return formatStackTrace(FAILURE_EXCEPTION + message, Thread.currentThread().getStackTrace(), skipFrames + 3);
+  }
+
+  // simulate full stack trace, pretending this class is a Throwable subclass
+  private static String formatStackTrace(String firstLine, StackTraceElement[] stackTrace, int firstFrame) {
+    StringBuilder builder = new StringBuilder();
+    builder.append(firstLine).append("\n");
+    for (int i = firstFrame; i < stackTrace.length; i++) {
       builder.append("\tat ").append(stackTrace[i]).append("\n");
     }
     return builder.toString();
   }
 
+  // creates a failure using the stack trace of the cause, as controlled by the capture policy
+  private static FailureItem ofCauseStackTrace(
+      FailureReason reason,
+      String message,
+      Map<String, String> attributes,
+      Throwable cause) {
+
+    FailureCapturePolicy policy = FailureCapturePolicy.current();
+    if (policy == FailureCapturePolicy.LAZY) {
+      LazyStackTrace lazy = new LazyStackTrace(cause.toString(), cause, -1);
+      return new FailureItem(reason, message, attributes, null, lazy, cause.getClass());
+    }
+    String stackTrace = policy.captureEagerly() ?
+        Throwables.getStackTraceAsString(cause).replace(System.lineSeparator(), "\n") :
+        cause.toString() + "\n";
+    return new FailureItem(reason, message, attributes, stackTrace, cause.getClass());
+  }
+
   /**
    * Obtains a failure from a reason and exception.
    * <p>
@@ -208,8 +254,7 @@ public final class FailureItem
       return ofWrappedFailureItem(((FailureItemProvider) cause).getFailureItem(), reason, messageTemplate, messageArgs);
     }
     Pair<String, Map<String, String>> msg = Messages.formatWithAttributes(messageTemplate, messageArgs);
-    String stackTrace = Throwables.getStackTraceAsString(cause).replace(System.lineSeparator(), "\n");
-    FailureItem base = new FailureItem(reason, msg.getFirst(), msg.getSecond(), stackTrace, cause.getClass());
+    FailureItem base = ofCauseStackTrace(reason, msg.getFirst(), msg.getSecond(), cause);
     String causeMessage = extractCauseMessage(cause);
     if (!base.getAttributes().containsKey(EXCEPTION_MESSAGE_ATTRIBUTE) && !Strings.isNullOrEmpty(causeMessage)) {
       return base.withAttribute(EXCEPTION_MESSAGE_ATTRIBUTE, causeMessage);
@@ -269,7 +314,13 @@ public final class FailureItem
     if (!mergedLocation.isEmpty()) {
       combinedAttrs.put(FailureAttributeKeys.TEMPLATE_LOCATION, mergedLocation);
     }
-    return new FailureItem(underlying.reason, combinedMsg, combinedAttrs, underlying.stackTrace, underlying.causeType);
+    return new FailureItem(
+        underlying.reason,
+        combinedMsg,
+        combinedAttrs,
+        underlying.stackTrace,
+        underlying.lazyStackTrace,
+        underlying.causeType);
   }
 
   /**
@@ -299,17 +350,47 @@ public final class FailureItem
       Map<String, String> attributes,
       String stackTrace,
       Class<? extends Throwable> causeType) {
+    this(reason, message, attributes, ArgChecker.notNull(stackTrace, "stackTrace"), null, causeType);
+  }
+
+  // exactly one of the stack trace and the lazy stack trace is non-null
+  private FailureItem(
+      FailureReason reason,
+      String message,
+      Map<String, String> attributes,
+      String stackTrace,
+      LazyStackTrace lazyStackTrace,
+      Class<? extends Throwable> causeType) {
     this.attributes = ImmutableMap.copyOf(attributes);
     JodaBeanUtils.notNull(reason, "reason");
     JodaBeanUtils.notEmpty(message, "message");
-    JodaBeanUtils.notNull(stackTrace, "stackTrace");
     this.reason = reason;
     this.message = message;
-    this.stackTrace = INTERNER.intern(stackTrace);
+    this.stackTrace = stackTrace != null ? INTERNER.intern(stackTrace) : null;
+    this.lazyStackTrace = lazyStackTrace;
     this.causeType = causeType;
   }
 
+  // ensure the stack trace is formatted before serialization
+  private Object writeReplace() {
+    return stackTrace != null ? this : new FailureItem(reason, message, attributes, getStackTrace(), causeType);
+  }
+
   //-------------------------------------------------------------------------
+  /**
+   * Gets stack trace where the failure occurred.
+   * <p>
+   * If the failure was caused by an {@code Exception} its stack trace is used, otherwise it's the
+   * location where the failure was created.
+   * Depending on the {@link FailureCapturePolicy} in use when the failure was created,
+   * the stack trace may only contain the first line, or may be formatted when first queried.
+   *
+   * @return the stack trace
+   */
+  public String getStackTrace() {
+    return stackTrace != null ? stackTrace : lazyStackTrace.get();
+  }
+
   /**
    * Gets the message template that was used to create the message.
    * <p>
@@ -334,7 +415,7 @@ public final class FailureItem
   public FailureItem withAttribute(String key, String value) {
     Map<String, String> attributes = new HashMap<>(this.attributes);
     attributes.put(key, value);
-    return new FailureItem(reason, message, attributes, stackTrace, causeType);
+    return new FailureItem(reason, message, attributes, stackTrace, lazyStackTrace, causeType);
   }
 
   /**
@@ -348,7 +429,7 @@ public final class FailureItem
   public FailureItem withAttributes(Map<String, String> attributes) {
     Map<String, String> newAttributes = new HashMap<>(this.attributes);
     newAttributes.putAll(attributes);
-    return new FailureItem(reason, message, newAttributes, stackTrace, causeType);
+    return new FailureItem(reason, message, newAttributes, stackTrace, lazyStackTrace, causeType);
   }
 
   /**
@@ -361,7 +442,7 @@ public final class FailureItem
    * @return the transformed instance
    */
   public FailureItem mapMessage(Function<String, String> function) {
-    return new FailureItem(reason, function.apply(message), attributes, stackTrace, causeType);
+    return new FailureItem(reason, function.apply(message), attributes, stackTrace, lazyStackTrace, causeType);
   }
 
   /**
@@ -370,11 +451,12 @@ public final class FailureItem
    * @return the summary stack trace
    */
   public Optional<String> summarizeStackTrace() {
-    if (stackTrace.startsWith(FAILURE_EXCEPTION)) {
+    String firstLine = lazyStackTrace != null ? lazyStackTrace.firstLine : stackTrace;
+    if (firstLine.startsWith(FAILURE_EXCEPTION)) {
       return Optional.empty();
     }
-    int endLine = stackTrace.indexOf("\n");
-    String firstLine = endLine < 0 ? stackTrace : stackTrace.substring(0, endLine);
+    int endLine = firstLine.indexOf("\n");
+    firstLine = endLine < 0 ? firstLine : firstLine.substring(0, endLine);
     firstLine = firstLine.endsWith(": " + message) ? firstLine.substring(0, firstLine.length() - message.length() - 2) : firstLine;
     return Optional.of(firstLine);
   }
@@ -389,6 +471,74 @@ public final class FailureItem
     return reason + ": " + message + summarizeStackTrace().map(str -> ": " + str).orElse("");
   }
 
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      FailureItem other = (FailureItem) obj;
+      return JodaBeanUtils.equal(reason, other.reason) &&
+          JodaBeanUtils.equal(message, other.message) &&
+          JodaBeanUtils.equal(attributes, other.attributes) &&
+          JodaBeanUtils.equal(causeType, other.causeType) &&
+          JodaBeanUtils.equal(getStackTrace(), other.getStackTrace());
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    // the stack trace is excluded so that hashing does not format a lazily captured stack trace
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(reason);
+    hash = hash * 31 + JodaBeanUtils.hashCode(message);
+    hash = hash * 31 + JodaBeanUtils.hashCode(attributes);
+    hash = hash * 31 + JodaBeanUtils.hashCode(causeType);
+    return hash;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A stack trace that is formatted when first queried.
+   */
+  private static final class LazyStackTrace {
+    /**
+     * The first line of the stack trace.
+     */
+    private final String firstLine;
+    /**
+     * The number of frames to skip, negative if the throwable is the cause of the failure.
+     */
+    private final int skipFrames;
+    /**
+     * The throwable holding the stack, null once formatted.
+     */
+    private Throwable throwable;
+    /**
+     * The formatted stack trace, null until first queried.
+     */
+    private String formatted;
+
+    private LazyStackTrace(String firstLine, Throwable throwable, int skipFrames) {
+      this.firstLine = firstLine;
+      this.throwable = throwable;
+      this.skipFrames = skipFrames;
+    }
+
+    private synchronized String get() {
+      if (formatted == null) {
+        String stackTrace = skipFrames < 0 ?
+            Throwables.getStackTraceAsString(throwable).replace(System.lineSeparator(), "\n") :
+            formatStackTrace(firstLine, throwable.getStackTrace(), skipFrames);
+        formatted = INTERNER.intern(stackTrace);
+        throwable = null;
+      }
+      return formatted;
+    }
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code FailureItem}.
@@ -440,17 +590,6 @@ public final class FailureItem
     return attributes;
   }
 
-  //-----------------------------------------------------------------------
-  /**
-   * Gets stack trace where the failure occurred.
-   * If the failure was caused by an {@code Exception} its stack trace is used, otherwise it's the
-   * location where the failure was created.
-   * @return the value of the property, not null
-   */
-  public String getStackTrace() {
-    return stackTrace;
-  }
-
   //-----------------------------------------------------------------------
   /**
    * Gets the type of the throwable that caused the failure, not present if it wasn't caused by a throwable.
@@ -460,34 +599,6 @@ public final class FailureItem
     return Optional.ofNullable(causeType);
   }
 
-  //-----------------------------------------------------------------------
-  @Override
-  public boolean equals(Object obj) {
-    if (obj == this) {
-      return true;
-    }
-    if (obj != null && obj.getClass() == this.getClass()) {
-      FailureItem other = (FailureItem) obj;
-      return JodaBeanUtils.equal(reason, other.reason) &&
-          JodaBeanUtils.equal(message, other.message) &&
-          JodaBeanUtils.equal(attributes, other.attributes) &&
-          JodaBeanUtils.equal(stackTrace, other.stackTrace) &&
-          JodaBeanUtils.equal(causeType, other.causeType);
-    }
-    return false;
-  }
-
-  @Override
-  public int hashCode() {
-    int hash = getClass().hashCode();
-    hash = hash * 31 + JodaBeanUtils.hashCode(reason);
-    hash = hash * 31 + JodaBeanUtils.hashCode(message);
-    hash = hash * 31 + JodaBeanUtils.hashCode(attributes);
-    hash = hash * 31 + JodaBeanUtils.hashCode(stackTrace);
-    hash = hash * 31 + JodaBeanUtils.hashCode(causeType);
-    return hash;
-  }
-
   //-----------------------------------------------------------------------
   /**
    * The meta-bean for {@code FailureItem}.
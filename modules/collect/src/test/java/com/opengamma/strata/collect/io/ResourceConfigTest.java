@@ -10,7 +10,11 @@ import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -19,6 +23,9 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multimap;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import com.opengamma.strata.collect.Unchecked;
 
 /**
  * Test {@link ResourceConfig}.
@@ -99,10 +106,179 @@ public class ResourceConfigTest {
         .containsEntry("two", PropertySet.of(keyValues2));
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_writeIndex() throws Exception {
+    Path tempDir = Files.createTempDirectory("resource-config-test");
+    try {
+      assertWriteIndex(tempDir);
+    } finally {
+      MoreFiles.deleteRecursively(tempDir);
+    }
+  }
+
+  private void assertWriteIndex(Path tempDir) {
+    IniFile combined = ResourceConfig.combinedIniFile("TestChain5.ini");
+    ResourceConfig.orderedResources("TestFile.txt");
+    ResourceConfigIndexer.main(new String[] {tempDir.toString()});
+    Path indexDir = tempDir.resolve("META-INF/com/opengamma/strata/config/index");
+
+    IniFile locations = IniFile.of(
+        ResourceLocator.ofFile(indexDir.resolve("ResourceLocations.ini").toFile()).getCharSource());
+    assertThat(locations.section("index").value("directories")).startsWith("base,base1,base2,");
+    assertThat(locations.section("TestChain5.ini").keys()).containsExactly("base", "base1", "application");
+    assertThat(locations.section("TestFile.txt").keys()).containsExactly("base");
+    assertThat(locations.section("fingerprint").keys())
+        .contains("base/TestChain5.ini", "base1/TestChain5.ini", "application/TestChain5.ini", "base/TestFile.txt");
+    assertThat(locations.section("fingerprint").value("base1/TestChain5.ini"))
+        .isEqualTo(fingerprint(ResourceConfig.orderedResources("TestChain5.ini").get(1)));
+    IniFile indexed = IniFile.of(ResourceLocator.ofFile(indexDir.resolve("TestChain5.ini").toFile()).getCharSource());
+    assertThat(indexed).isEqualTo(combined);
+    assertThat(Files.exists(indexDir.resolve("TestFile.txt"))).isFalse();
+  }
+
+  @Test
+  public void test_indexedIniFile_disabled() {
+    assertThat(ResourceConfig.indexedIniFile("TestChain5.ini")).isEmpty();
+  }
+
+  @Test
+  public void test_indexedIniFile_enabled() throws Exception {
+    Path tempDir = Files.createTempDirectory("resource-config-test");
+    try {
+      IniFile combined = ResourceConfig.combinedIniFile("TestChain5.ini");
+      ResourceConfig.writeIndex(tempDir);
+      try (URLClassLoader classLoader = indexClassLoader(tempDir)) {
+        assertThat(ResourceConfig.indexedIniFile(true, classLoader, "TestChain5.ini")).hasValue(combined);
+        assertThat(ResourceConfig.indexedIniFile(true, classLoader, "NotIndexed.ini")).isEmpty();
+        assertThat(ResourceConfig.indexedIniFile(false, classLoader, "TestChain5.ini")).isEmpty();
+      }
+    } finally {
+      MoreFiles.deleteRecursively(tempDir);
+    }
+  }
+
+  @Test
+  public void test_loadIndexLocations() throws Exception {
+    Path tempDir = Files.createTempDirectory("resource-config-test");
+    try {
+      IniFile locations = locationsIndex("base,base1", "base1");
+      ResourceConfig.writeIndexFile(tempDir, "ResourceLocations.ini", locations);
+      try (URLClassLoader classLoader = indexClassLoader(tempDir)) {
+        assertThat(ResourceConfig.loadIndexLocations(true, classLoader, ImmutableList.of("base", "base1")))
+            .isEqualTo(locations);
+        assertThat(ResourceConfig.loadIndexLocations(false, classLoader, ImmutableList.of("base", "base1"))).isNull();
+      }
+    } finally {
+      MoreFiles.deleteRecursively(tempDir);
+    }
+  }
+
+  @Test
+  public void test_loadIndexLocations_changedConfiguration() throws Exception {
+    Path tempDir = Files.createTempDirectory("resource-config-test");
+    try {
+      IniFile locations = locationsIndex("base,base1", "base1");
+      IniFile changed = IniFile.of(ImmutableMap.of(
+          "index", locations.section("index"),
+          "fingerprint", PropertySet.of(ImmutableListMultimap.of("base1/TestChain5.ini", "0000")),
+          "TestChain5.ini", locations.section("TestChain5.ini")));
+      ResourceConfig.writeIndexFile(tempDir, "ResourceLocations.ini", changed);
+      try (URLClassLoader classLoader = indexClassLoader(tempDir)) {
+        // the configuration file has changed since the index was built, so it is ignored
+        assertThat(ResourceConfig.loadIndexLocations(true, classLoader, ImmutableList.of("base", "base1"))).isNull();
+      }
+    } finally {
+      MoreFiles.deleteRecursively(tempDir);
+    }
+  }
+
+  @Test
+  public void test_loadIndexLocations_removedConfiguration() throws Exception {
+    Path tempDir = Files.createTempDirectory("resource-config-test");
+    try {
+      IniFile locations = locationsIndex("base,base1", "base1");
+      IniFile removed = IniFile.of(ImmutableMap.of(
+          "index", locations.section("index"),
+          "fingerprint", PropertySet.of(ImmutableListMultimap.of("base1/Removed.ini", "0000")),
+          "TestChain5.ini", locations.section("TestChain5.ini")));
+      ResourceConfig.writeIndexFile(tempDir, "ResourceLocations.ini", removed);
+      try (URLClassLoader classLoader = indexClassLoader(tempDir)) {
+        assertThat(ResourceConfig.loadIndexLocations(true, classLoader, ImmutableList.of("base", "base1"))).isNull();
+      }
+    } finally {
+      MoreFiles.deleteRecursively(tempDir);
+    }
+  }
+
+  @Test
+  public void test_loadIndexLocations_staleIndex() throws Exception {
+    Path tempDir = Files.createTempDirectory("resource-config-test");
+    try {
+      ResourceConfig.writeIndexFile(tempDir, "ResourceLocations.ini", locationsIndex("base,base1", "base1"));
+      try (URLClassLoader classLoader = indexClassLoader(tempDir)) {
+        // the index was built for different directories, so it is ignored
+        assertThat(ResourceConfig.loadIndexLocations(true, classLoader, ImmutableList.of("base", "base1", "application")))
+            .isNull();
+      }
+    } finally {
+      MoreFiles.deleteRecursively(tempDir);
+    }
+  }
+
+  @Test
+  public void test_loadIndexLocations_missing() throws Exception {
+    Path tempDir = Files.createTempDirectory("resource-config-test");
+    try (URLClassLoader classLoader = indexClassLoader(tempDir)) {
+      assertThat(ResourceConfig.loadIndexLocations(true, classLoader, ImmutableList.of("base"))).isNull();
+    } finally {
+      MoreFiles.deleteRecursively(tempDir);
+    }
+  }
+
+  @Test
+  public void test_orderedResources_indexedLocations() throws Exception {
+    ClassLoader classLoader = ResourceLocator.classLoader();
+    IniFile locations = locationsIndex("base,base1,application", "base1");
+    // only the indexed directory is searched for an indexed resource
+    List<ResourceLocator> indexed = ResourceConfig.orderedResources0(classLoader, locations, "TestChain5.ini");
+    assertThat(indexed).hasSize(1);
+    assertThat(indexed.get(0).getLocator()).endsWith("com/opengamma/strata/config/base1/TestChain5.ini");
+    // every directory is searched for a resource that is not in the index
+    List<ResourceLocator> notIndexed = ResourceConfig.orderedResources0(classLoader, locations, "TestChain4.ini");
+    assertThat(notIndexed).isEqualTo(ResourceConfig.orderedResources("TestChain4.ini"));
+    assertThat(notIndexed).hasSize(2);
+    // every directory is searched when there is no index
+    assertThat(ResourceConfig.orderedResources0(classLoader, null, "TestChain5.ini"))
+        .isEqualTo(ResourceConfig.orderedResources("TestChain5.ini"));
+  }
+
+  // an index of the locations of TestChain5.ini
+  private static IniFile locationsIndex(String directories, String testChain5Directory) {
+    ResourceLocator resource = ResourceLocator.ofClasspath(
+        "META-INF/com/opengamma/strata/config/" + testChain5Directory + "/TestChain5.ini");
+    return IniFile.of(ImmutableMap.of(
+        "index", PropertySet.of(ImmutableListMultimap.of("directories", directories)),
+        "fingerprint", PropertySet.of(ImmutableListMultimap.of(
+            testChain5Directory + "/TestChain5.ini", fingerprint(resource))),
+        "TestChain5.ini", PropertySet.of(ImmutableListMultimap.of(testChain5Directory, ""))));
+  }
+
+  // the hash of the content of a resource
+  private static String fingerprint(ResourceLocator resource) {
+    return Unchecked.wrap(() -> resource.getByteSource().hash(Hashing.crc32c()).toString());
+  }
+
+  // a class loader that finds the index in the specified directory and the configuration on the classpath
+  private static URLClassLoader indexClassLoader(Path dir) throws Exception {
+    return new URLClassLoader(new URL[] {dir.toUri().toURL()}, ResourceLocator.classLoader());
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void coverage() {
     coverPrivateConstructor(ResourceConfig.class);
+    coverPrivateConstructor(ResourceConfigIndexer.class);
   }
 
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import static com.opengamma.strata.collect.TestHelper.coverEnum;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.metrics.InMemoryMetricsRecorder.Accumulator;
+
+/**
+ * Test {@link InMemoryMetricsRecorder}, {@link Metrics} and {@link MetricsRecorder}.
+ */
+public class InMemoryMetricsRecorderTest {
+
+  @Test
+  public void test_time() {
+    InMemoryMetricsRecorder test = new InMemoryMetricsRecorder();
+    assertThat(test.isEnabled()).isTrue();
+    IntStream.rangeClosed(1, 1000).parallel().forEach(i -> test.recordTime("calc.task", i * 1000L));
+
+    MetricSummary summary = test.findSummary("calc.task").get();
+    assertThat(summary.getName()).isEqualTo("calc.task");
+    assertThat(summary.getType()).isEqualTo(MetricType.TIME);
+    assertThat(summary.getCount()).isEqualTo(1000);
+    assertThat(summary.getTotal()).isEqualTo(500_500_000d);
+    assertThat(summary.getMin()).isEqualTo(1000d);
+    assertThat(summary.getMax()).isEqualTo(1_000_000d);
+    assertThat(summary.getMean()).isEqualTo(500_500d);
+    assertThat(summary.getP50()).isCloseTo(500_000d, within(35_000d));
+    assertThat(summary.getP90()).isCloseTo(900_000d, within(63_000d));
+    assertThat(summary.getP99()).isCloseTo(990_000d, within(69_300d));
+  }
+
+  @Test
+  public void test_valueAndCount() {
+    InMemoryMetricsRecorder test = new InMemoryMetricsRecorder();
+    test.recordValue("calibration.residual", 1e-12);
+    test.recordValue("calibration.residual", 3e-12);
+    test.incrementCount("marketdata.observables", 5);
+    test.incrementCount("marketdata.observables", 2);
+
+    MetricSummary value = test.findSummary("calibration.residual").get();
+    assertThat(value.getType()).isEqualTo(MetricType.VALUE);
+    assertThat(value.getCount()).isEqualTo(2);
+    assertThat(value.getMin()).isEqualTo(1e-12);
+    assertThat(value.getMax()).isEqualTo(3e-12);
+    assertThat(value.getMean()).isCloseTo(2e-12, within(1e-20));
+    assertThat(value.getP50()).isNaN();
+
+    MetricSummary count = test.findSummary("marketdata.observables").get();
+    assertThat(count.getType()).isEqualTo(MetricType.COUNT);
+    assertThat(count.getCount()).isEqualTo(2);
+    assertThat(count.getTotal()).isEqualTo(7d);
+
+    assertThat(test.findSummary("foo")).isEmpty();
+    assertThat(test.summaries()).extracting(MetricSummary::getName)
+        .containsExactly("calibration.residual", "marketdata.observables");
+    test.reset();
+    assertThat(test.summaries()).isEmpty();
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_writeCsv() {
+    InMemoryMetricsRecorder test = new InMemoryMetricsRecorder();
+    test.recordTime("calc.task", 100);
+    test.recordValue("calibration.residual", 0.5);
+    test.incrementCount("marketdata.observables", 3);
+    assertThat(test.toCsv()).isEqualTo(
+        "Name,Type,Count,Total,Min,Max,Mean,P50,P90,P99\n" +
+            "calc.task,TIME,1,100,100,100,100,100,100,100\n" +
+            "calibration.residual,VALUE,1,0.5,0.5,0.5,0.5,,,\n" +
+            "marketdata.observables,COUNT,1,3,3,3,3,,,\n");
+  }
+
+  @Test
+  public void test_writeJson() {
+    InMemoryMetricsRecorder test = new InMemoryMetricsRecorder();
+    test.recordTime("calc.task", 100);
+    test.incrementCount("a\"b", 3);
+    assertThat(test.toJson()).isEqualTo(
+        "[\n" +
+            "  {\"name\": \"a\\\"b\", \"type\": \"COUNT\", \"count\": 1, \"total\": 3, \"min\": 3, \"max\": 3, " +
+            "\"mean\": 3, \"p50\": null, \"p90\": null, \"p99\": null},\n" +
+            "  {\"name\": \"calc.task\", \"type\": \"TIME\", \"count\": 1, \"total\": 100, \"min\": 100, \"max\": 100, " +
+            "\"mean\": 100, \"p50\": 100, \"p90\": 100, \"p99\": 100}\n" +
+            "]\n");
+    assertThat(new InMemoryMetricsRecorder().toJson()).isEqualTo("[\n]\n");
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_bucket() {
+    for (long value : new long[] {0, 1, 7, 8, 9, 15, 16, 100, 12345, 1_000_000_007L, Long.MAX_VALUE}) {
+      double midpoint = Accumulator.bucketMidpoint(Accumulator.bucket(value));
+      assertThat(Math.abs(midpoint - value)).isLessThanOrEqualTo(value * 0.07);
+    }
+    assertThat(Accumulator.bucket(Long.MAX_VALUE)).isEqualTo(487);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_metrics() {
+    assertThat(Metrics.recorder()).isSameAs(MetricsRecorder.none());
+    InMemoryMetricsRecorder recorder = new InMemoryMetricsRecorder();
+    Metrics.setRecorder(recorder);
+    try {
+      assertThat(Metrics.recorder()).isSameAs(recorder);
+    } finally {
+      Metrics.setRecorder(MetricsRecorder.none());
+    }
+    assertThatIllegalArgumentException().isThrownBy(() -> Metrics.setRecorder(null));
+    long before = Metrics.threadAllocatedBytes();
+    assertThat(new long[1024]).hasSize(1024);
+    long after = Metrics.threadAllocatedBytes();
+    assertThat(after).isGreaterThanOrEqualTo(before);
+  }
+
+  @Test
+  public void test_none() {
+    MetricsRecorder test = MetricsRecorder.none();
+    assertThat(test.isEnabled()).isFalse();
+    test.recordTime("a", 1);
+    test.recordValue("a", 1);
+    test.incrementCount("a", 1);
+    assertThat(test.toString()).isEqualTo("MetricsRecorder[None]");
+  }
+
+  @Test
+  public void coverage() {
+    coverPrivateConstructor(Metrics.class);
+    coverEnum(MetricType.class);
+    coverEnum(NoOpMetricsRecorder.class);
+    MetricSummary summary = MetricSummary.of("a", MetricType.VALUE, 1, 2, 2, 2, Double.NaN, Double.NaN, Double.NaN);
+    assertThat(summary)
+        .isEqualTo(MetricSummary.of("a", MetricType.VALUE, 1, 2, 2, 2, Double.NaN, Double.NaN, Double.NaN))
+        .isNotEqualTo(MetricSummary.of("b", MetricType.VALUE, 1, 2, 2, 2, Double.NaN, Double.NaN, Double.NaN))
+        .isNotEqualTo("")
+        .hasSameHashCodeAs(MetricSummary.of("a", MetricType.VALUE, 1, 2, 2, 2, Double.NaN, Double.NaN, Double.NaN));
+    assertThat(summary.toString()).startsWith("MetricSummary[a, VALUE, count=1");
+    assertThat(new InMemoryMetricsRecorder().toString()).isEqualTo("InMemoryMetricsRecorder[0 metrics]");
+  }
+
+}
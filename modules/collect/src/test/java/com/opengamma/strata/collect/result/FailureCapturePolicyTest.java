@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.result;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.base.Throwables;
+import com.opengamma.strata.collect.TestHelper;
+
+/**
+ * Test {@link FailureCapturePolicy}.
+ */
+public class FailureCapturePolicyTest {
+
+  private static final String HEADER = "com.opengamma.strata.collect.result.FailureItem: ";
+
+  @AfterEach
+  public void tearDown() {
+    FailureCapturePolicy.setCurrent(FailureCapturePolicy.EAGER);
+    FailureCapturePolicy.setSampleInterval(1000);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_default() {
+    assertThat(FailureCapturePolicy.current()).isEqualTo(FailureCapturePolicy.EAGER);
+    assertThat(FailureCapturePolicy.sampleInterval()).isEqualTo(1000);
+    assertThatIllegalArgumentException().isThrownBy(() -> FailureCapturePolicy.setSampleInterval(0));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_lazy_message() {
+    FailureCapturePolicy.setCurrent(FailureCapturePolicy.LAZY);
+    FailureItem test = FailureItem.of(FailureReason.INVALID, "my {} failure", "big");
+    assertThat(test.summarizeStackTrace()).isEmpty();
+    assertThat(test.toString()).isEqualTo("INVALID: my big failure");
+    String stackTrace = test.getStackTrace();
+    assertThat(stackTrace).startsWith(HEADER + "my big failure\n\tat ");
+    assertThat(stackTrace).doesNotContain(".FailureItem.of(");
+    assertThat(stackTrace.split("\n")[1]).contains(".test_lazy_message(");
+    assertThat(test.getStackTrace()).isSameAs(stackTrace);
+  }
+
+  @Test
+  public void test_lazy_failure() {
+    FailureCapturePolicy.setCurrent(FailureCapturePolicy.LAZY);
+    Failure test = Failure.of(FailureReason.INVALID, "my {} failure", "big");
+    assertThat(test.getFirstItem().getStackTrace().split("\n")[1]).contains(".test_lazy_failure(");
+  }
+
+  @Test
+  public void test_lazy_cause() {
+    IllegalArgumentException cause = new IllegalArgumentException("bad");
+    FailureItem eager = FailureItem.of(FailureReason.INVALID, cause);
+    FailureCapturePolicy.setCurrent(FailureCapturePolicy.LAZY);
+    FailureItem test = FailureItem.of(FailureReason.INVALID, cause);
+    assertThat(test.summarizeStackTrace()).hasValue("java.lang.IllegalArgumentException");
+    assertThat(test.hashCode()).isEqualTo(eager.hashCode());
+    assertThat(test.getStackTrace()).isEqualTo(Throwables.getStackTraceAsString(cause).replace(System.lineSeparator(), "\n"));
+    assertThat(test).isEqualTo(eager);
+    assertThat(test.withAttribute("a", "b").getStackTrace()).isSameAs(test.getStackTrace());
+  }
+
+  @Test
+  public void test_lazy_serialization() {
+    FailureCapturePolicy.setCurrent(FailureCapturePolicy.LAZY);
+    TestHelper.assertSerialization(FailureItem.of(FailureReason.INVALID, new IllegalArgumentException("bad")));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_off() {
+    FailureCapturePolicy.setCurrent(FailureCapturePolicy.OFF);
+    FailureItem test = FailureItem.of(FailureReason.INVALID, "my {} failure", "big");
+    assertThat(test.getStackTrace()).isEqualTo(HEADER + "my big failure\n");
+    assertThat(test.summarizeStackTrace()).isEmpty();
+    FailureItem test2 = FailureItem.of(FailureReason.INVALID, new IllegalArgumentException("bad"));
+    assertThat(test2.getStackTrace()).isEqualTo("java.lang.IllegalArgumentException: bad\n");
+    assertThat(test2.summarizeStackTrace()).hasValue("java.lang.IllegalArgumentException");
+    assertThat(test2.getCauseType()).hasValue(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void test_sampled() {
+    FailureCapturePolicy.setCurrent(FailureCapturePolicy.SAMPLED);
+    FailureCapturePolicy.setSampleInterval(3);
+    int captured = 0;
+    for (int i = 0; i < 9; i++) {
+      FailureItem test = FailureItem.of(FailureReason.INVALID, "my failure");
+      if (test.getStackTrace().contains(".test_sampled(")) {
+        captured++;
+      } else {
+        assertThat(test.getStackTrace()).isEqualTo(HEADER + "my failure\n");
+      }
+    }
+    assertThat(captured).isEqualTo(3);
+  }
+
+}
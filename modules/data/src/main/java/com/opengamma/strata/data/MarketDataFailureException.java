@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data;
+
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureException;
+
+/**
+ * Exception thrown when requested market data could not be built.
+ * <p>
+ * The failure is that recorded when the market data was built.
+ * The same failure is typically passed to every calculation that requires the market data.
+ */
+public class MarketDataFailureException extends FailureException {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Creates the exception wrapping the failure to build the market data.
+   *
+   * @param failure  the failure to build the market data
+   */
+  public MarketDataFailureException(Failure failure) {
+    super(failure);
+  }
+
+}
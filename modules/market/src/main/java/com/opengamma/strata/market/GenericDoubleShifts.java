@@ -24,6 +24,7 @@ import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioPerturbation;
 
@@ -87,6 +88,13 @@ public final class GenericDoubleShifts
   //-------------------------------------------------------------------------
   @Override
   public MarketDataBox<Double> applyTo(MarketDataBox<Double> marketData, ReferenceData refData) {
+    if (marketData.isSingleValue()) {
+      // the shifted values are held as primitives, avoiding one boxed value per scenario
+      double value = marketData.getSingleValue();
+      return MarketDataBox.ofScenarioValue(DoubleScenarioArray.of(
+          getScenarioCount(),
+          scenarioIndex -> shiftType.applyShift(value + spread, shiftAmount.get(scenarioIndex)) - spread));
+    }
     return marketData.mapWithIndex(
         getScenarioCount(),
         (value, scenarioIndex) -> shiftType.applyShift(value + spread, shiftAmount.get(scenarioIndex)) - spread);
@@ -86,6 +86,12 @@ public final class CurveParallelShifts
   //-------------------------------------------------------------------------
   @Override
   public MarketDataBox<Curve> applyTo(MarketDataBox<Curve> curve, ReferenceData refData) {
+    if (curve.isSingleValue()) {
+      // the shifted curve for a scenario is a cheap wrapper, so it is only created when the scenario is read
+      Curve baseCurve = curve.getSingleValue();
+      log.debug("Applying {} parallel shifts of {} to curve '{}'", shiftType, shiftAmounts, baseCurve.getName());
+      return MarketDataBox.ofScenarioValue(ParallelShiftedCurveScenarioArray.of(baseCurve, shiftType, shiftAmounts));
+    }
     return curve.mapWithIndex(getScenarioCount(), this::applyShift);
   }
 
@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
 import java.util.stream.IntStream;
 
 import org.joda.beans.Bean;
@@ -31,6 +32,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.curve.interpolator.BoundCurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
@@ -202,6 +204,22 @@ public final class InterpolatedNodalCurve
         .collect(toImmutableList());
   }
 
+  // creates an instance with different y-values, sharing the data derived from the x-values and metadata
+  private InterpolatedNodalCurve(InterpolatedNodalCurve base, DoubleArray yValues) {
+    JodaBeanUtils.notNull(yValues, "values");
+    if (base.xValues.size() != yValues.size()) {
+      throw new IllegalArgumentException("Length of x-values and y-values must match");
+    }
+    this.metadata = base.metadata;
+    this.xValues = base.xValues;
+    this.yValues = yValues;
+    this.extrapolatorLeft = base.extrapolatorLeft;
+    this.interpolator = base.interpolator;
+    this.extrapolatorRight = base.extrapolatorRight;
+    this.boundInterpolator = interpolator.bind(xValues, yValues, extrapolatorLeft, extrapolatorRight);
+    this.parameterMetadata = base.parameterMetadata;
+  }
+
   @ImmutableDefaults
   private static void applyDefaults(Builder builder) {
     builder.extrapolatorLeft = CurveExtrapolators.FLAT;
@@ -237,6 +255,32 @@ public final class InterpolatedNodalCurve
     return withYValues(perturbedValues);
   }
 
+  /**
+   * Returns an array of perturbed copies of the curve, one for each scenario.
+   * <p>
+   * The result holds the y-values of all scenarios in a single matrix, sharing the metadata,
+   * x-values and parameter metadata of this curve between the scenarios.
+   *
+   * @param scenarioCount  the number of scenarios
+   * @param perturbationFunction  the function used to obtain the perturbation of each scenario
+   * @return the perturbed curves, one for each scenario
+   */
+  @Override
+  public InterpolatedNodalCurveScenarioArray withPerturbations(
+      int scenarioCount,
+      IntFunction<ParameterPerturbation> perturbationFunction) {
+
+    int size = yValues.size();
+    double[][] perturbedValues = new double[scenarioCount][size];
+    for (int scenarioIndex = 0; scenarioIndex < scenarioCount; scenarioIndex++) {
+      ParameterPerturbation perturbation = perturbationFunction.apply(scenarioIndex);
+      for (int i = 0; i < size; i++) {
+        perturbedValues[scenarioIndex][i] = perturbation.perturbParameter(i, yValues.get(i), parameterMetadata.get(i));
+      }
+    }
+    return InterpolatedNodalCurveScenarioArray.of(this, DoubleMatrix.ofUnsafe(perturbedValues));
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public double yValue(double x) {
@@ -261,7 +305,7 @@ public final class InterpolatedNodalCurve
 
   @Override
   public InterpolatedNodalCurve withYValues(DoubleArray yValues) {
-    return new InterpolatedNodalCurve(metadata, xValues, yValues, interpolator, extrapolatorLeft, extrapolatorRight);
+    return new InterpolatedNodalCurve(this, yValues);
   }
 
   @Override
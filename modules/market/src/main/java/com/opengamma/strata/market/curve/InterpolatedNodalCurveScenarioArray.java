@@ -0,0 +1,369 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableConstructor;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+
+/**
+ * A scenario array of interpolated nodal curves that differ only in their y-values.
+ * <p>
+ * This holds a base curve and a matrix of y-values, with one row for each scenario and one column for each node.
+ * The metadata, x-values, interpolator and extrapolators of the base curve are shared by every scenario,
+ * as is the parameter metadata derived from them.
+ * <p>
+ * The curve of a scenario is a view created when the scenario is first requested, using the row of the matrix
+ * as the y-values without copying. The interpolator of the view is bound at that point, and the view is
+ * retained so that each scenario is bound at most once.
+ * A scenario whose y-values are the same as the base curve returns the base curve itself.
+ */
+@BeanDefinition(builderScope = "private")
+public final class InterpolatedNodalCurveScenarioArray
+    implements ScenarioArray<InterpolatedNodalCurve>, ImmutableBean, Serializable {
+
+  /**
+   * The base curve, providing the data shared by every scenario.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final InterpolatedNodalCurve curve;
+  /**
+   * The y-values, with a row for each scenario and a column for each node of the curve.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleMatrix yValues;
+  /**
+   * The curves of the scenarios, populated when first requested.
+   */
+  private final transient AtomicReferenceArray<InterpolatedNodalCurve> scenarioCurves;  // derived and cached, not a property
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from a base curve and the y-values of each scenario.
+   *
+   * @param curve  the base curve, providing the data shared by every scenario
+   * @param yValues  the y-values, with a row for each scenario and a column for each node of the curve
+   * @return an instance with the specified curve and y-values
+   * @throws IllegalArgumentException if the number of columns does not match the number of nodes
+   */
+  public static InterpolatedNodalCurveScenarioArray of(InterpolatedNodalCurve curve, DoubleMatrix yValues) {
+    return new InterpolatedNodalCurveScenarioArray(curve, yValues);
+  }
+
+  //-------------------------------------------------------------------------
+  // restricted constructor
+  @ImmutableConstructor
+  private InterpolatedNodalCurveScenarioArray(InterpolatedNodalCurve curve, DoubleMatrix yValues) {
+    JodaBeanUtils.notNull(curve, "curve");
+    JodaBeanUtils.notNull(yValues, "yValues");
+    if (yValues.rowCount() > 0 && yValues.columnCount() != curve.getParameterCount()) {
+      throw new IllegalArgumentException(Messages.format(
+          "Number of y-values {} must match the number of nodes {} of curve '{}'",
+          yValues.columnCount(),
+          curve.getParameterCount(),
+          curve.getName()));
+    }
+    this.curve = curve;
+    this.yValues = yValues;
+    this.scenarioCurves = new AtomicReferenceArray<>(yValues.rowCount());
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new InterpolatedNodalCurveScenarioArray(curve, yValues);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getScenarioCount() {
+    return yValues.rowCount();
+  }
+
+  /**
+   * Returns the curve of the specified scenario.
+   * <p>
+   * The curve is a view sharing the data of the base curve, with the y-values of the scenario.
+   *
+   * @param index  the scenario index
+   * @return the curve of the scenario
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  @Override
+  public InterpolatedNodalCurve get(int index) {
+    if (index < 0 || index >= yValues.rowCount()) {
+      throw new IndexOutOfBoundsException(Messages.format(
+          "Index {} is outside the range 0 to {}", index, yValues.rowCount() - 1));
+    }
+    InterpolatedNodalCurve scenarioCurve = scenarioCurves.get(index);
+    if (scenarioCurve == null) {
+      DoubleArray scenarioYValues = yValues.row(index);
+      scenarioCurve = scenarioYValues.equals(curve.getYValues()) ? curve : curve.withYValues(scenarioYValues);
+      // if two threads race, the first curve stored is used by both
+      if (!scenarioCurves.compareAndSet(index, null, scenarioCurve)) {
+        scenarioCurve = scenarioCurves.get(index);
+      }
+    }
+    return scenarioCurve;
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code InterpolatedNodalCurveScenarioArray}.
+   * @return the meta-bean, not null
+   */
+  public static InterpolatedNodalCurveScenarioArray.Meta meta() {
+    return InterpolatedNodalCurveScenarioArray.Meta.INSTANCE;
+  }
+
+  static {
+    MetaBean.register(InterpolatedNodalCurveScenarioArray.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public InterpolatedNodalCurveScenarioArray.Meta metaBean() {
+    return InterpolatedNodalCurveScenarioArray.Meta.INSTANCE;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the base curve, providing the data shared by every scenario.
+   * @return the value of the property, not null
+   */
+  public InterpolatedNodalCurve getCurve() {
+    return curve;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the y-values, with a row for each scenario and a column for each node of the curve.
+   * @return the value of the property, not null
+   */
+  public DoubleMatrix getYValues() {
+    return yValues;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      InterpolatedNodalCurveScenarioArray other = (InterpolatedNodalCurveScenarioArray) obj;
+      return JodaBeanUtils.equal(curve, other.curve) &&
+          JodaBeanUtils.equal(yValues, other.yValues);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(curve);
+    hash = hash * 31 + JodaBeanUtils.hashCode(yValues);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("InterpolatedNodalCurveScenarioArray{");
+    buf.append("curve").append('=').append(JodaBeanUtils.toString(curve)).append(',').append(' ');
+    buf.append("yValues").append('=').append(JodaBeanUtils.toString(yValues));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code InterpolatedNodalCurveScenarioArray}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code curve} property.
+     */
+    private final MetaProperty<InterpolatedNodalCurve> curve = DirectMetaProperty.ofImmutable(
+        this, "curve", InterpolatedNodalCurveScenarioArray.class, InterpolatedNodalCurve.class);
+    /**
+     * The meta-property for the {@code yValues} property.
+     */
+    private final MetaProperty<DoubleMatrix> yValues = DirectMetaProperty.ofImmutable(
+        this, "yValues", InterpolatedNodalCurveScenarioArray.class, DoubleMatrix.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "curve",
+        "yValues");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 95027439:  // curve
+          return curve;
+        case -1726182661:  // yValues
+          return yValues;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends InterpolatedNodalCurveScenarioArray> builder() {
+      return new InterpolatedNodalCurveScenarioArray.Builder();
+    }
+
+    @Override
+    public Class<? extends InterpolatedNodalCurveScenarioArray> beanType() {
+      return InterpolatedNodalCurveScenarioArray.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code curve} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<InterpolatedNodalCurve> curve() {
+      return curve;
+    }
+
+    /**
+     * The meta-property for the {@code yValues} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<DoubleMatrix> yValues() {
+      return yValues;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 95027439:  // curve
+          return ((InterpolatedNodalCurveScenarioArray) bean).getCurve();
+        case -1726182661:  // yValues
+          return ((InterpolatedNodalCurveScenarioArray) bean).getYValues();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code InterpolatedNodalCurveScenarioArray}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<InterpolatedNodalCurveScenarioArray> {
+
+    private InterpolatedNodalCurve curve;
+    private DoubleMatrix yValues;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 95027439:  // curve
+          return curve;
+        case -1726182661:  // yValues
+          return yValues;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 95027439:  // curve
+          this.curve = (InterpolatedNodalCurve) newValue;
+          break;
+        case -1726182661:  // yValues
+          this.yValues = (DoubleMatrix) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public InterpolatedNodalCurveScenarioArray build() {
+      return new InterpolatedNodalCurveScenarioArray(
+          curve,
+          yValues);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(96);
+      buf.append("InterpolatedNodalCurveScenarioArray.Builder{");
+      buf.append("curve").append('=').append(JodaBeanUtils.toString(curve)).append(',').append(' ');
+      buf.append("yValues").append('=').append(JodaBeanUtils.toString(yValues));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -7,6 +7,7 @@ package com.opengamma.strata.market.param;
 
 import static com.opengamma.strata.basics.currency.MultiCurrencyAmount.toMultiCurrencyAmount;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static java.util.stream.Collector.Characteristics.UNORDERED;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -19,6 +20,7 @@ import java.util.Optional;
 import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 import org.joda.beans.Bean;
@@ -109,6 +111,37 @@ public final class CurrencyParameterSensitivities
     return new CurrencyParameterSensitivitiesBuilder();
   }
 
+  /**
+   * Returns a mutable accumulator that can be used to total a large number of sensitivities.
+   * <p>
+   * The result is equivalent to {@link #combinedWith(CurrencyParameterSensitivities)},
+   * but the values are summed in place rather than copied each time a sensitivity is added.
+   *
+   * @return the accumulator
+   */
+  public static CurrencyParameterSensitivitiesAccumulator accumulator() {
+    return new CurrencyParameterSensitivitiesAccumulator();
+  }
+
+  /**
+   * Returns a collector that combines a stream of sensitivities into a single instance.
+   * <p>
+   * The result is equivalent to calling {@link #combinedWith(CurrencyParameterSensitivities)}
+   * on each element of the stream. The collector supports parallel streams,
+   * using a separate accumulator for each thread.
+   *
+   * @return the collector
+   */
+  public static Collector<CurrencyParameterSensitivities, ?, CurrencyParameterSensitivities> toCombinedSensitivities() {
+    return Collector.<CurrencyParameterSensitivities, CurrencyParameterSensitivitiesAccumulator,
+        CurrencyParameterSensitivities>of(
+            CurrencyParameterSensitivitiesAccumulator::new,
+            CurrencyParameterSensitivitiesAccumulator::add,
+            CurrencyParameterSensitivitiesAccumulator::add,
+            CurrencyParameterSensitivitiesAccumulator::toSensitivities,
+            UNORDERED);
+  }
+
   /**
    * Obtains an instance from a single sensitivity entry.
    * 
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.MarketDataName;
+
+/**
+ * A mutable accumulator of currency-based parameter sensitivities.
+ * <p>
+ * This is used to total the sensitivities of a large number of trades, such as when aggregating
+ * the bucketed PV01 of a portfolio. The result is the same as repeatedly calling
+ * {@link CurrencyParameterSensitivities#combinedWith(CurrencyParameterSensitivities)}, however
+ * the values are summed in place in a primitive array for each market data name and currency,
+ * thus adding a sensitivity does not copy the sensitivities that have already been added.
+ * <p>
+ * As with {@code combinedWith}, the sensitivities are merged using market data name and currency as a key.
+ * The parameter metadata is not checked, thus the caller must ensure the sensitivities
+ * are compatible with the same metadata and parameter count.
+ * <p>
+ * Instances are obtained from {@link CurrencyParameterSensitivities#accumulator()}.
+ * <p>
+ * This class is mutable and not thread-safe.
+ * When aggregating in parallel, each thread should use its own accumulator,
+ * combining them using {@link #add(CurrencyParameterSensitivitiesAccumulator)}.
+ */
+public final class CurrencyParameterSensitivitiesAccumulator {
+
+  /**
+   * The accumulated sensitivities, keyed by market data name and currency.
+   */
+  private final Map<Pair<MarketDataName<?>, Currency>, Entry> entries = new LinkedHashMap<>();
+
+  //-------------------------------------------------------------------------
+  // restricted constructor
+  CurrencyParameterSensitivitiesAccumulator() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds sensitivities to the accumulator.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @return this, for chaining
+   * @throws IllegalArgumentException if the parameter count does not match
+   */
+  public CurrencyParameterSensitivitiesAccumulator add(CurrencyParameterSensitivities sensitivities) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    for (CurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+      add(sensitivity);
+    }
+    return this;
+  }
+
+  /**
+   * Adds a sensitivity to the accumulator.
+   *
+   * @param sensitivity  the sensitivity to add
+   * @return this, for chaining
+   * @throws IllegalArgumentException if the parameter count does not match
+   */
+  public CurrencyParameterSensitivitiesAccumulator add(CurrencyParameterSensitivity sensitivity) {
+    ArgChecker.notNull(sensitivity, "sensitivity");
+    entry(sensitivity).add(sensitivity.getSensitivity(), 1d);
+    return this;
+  }
+
+  /**
+   * Adds sensitivities multiplied by a factor to the accumulator.
+   * <p>
+   * This is typically used to scale the sensitivity of a security by a quantity.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @param factor  the factor to multiply the sensitivities by
+   * @return this, for chaining
+   * @throws IllegalArgumentException if the parameter count does not match
+   */
+  public CurrencyParameterSensitivitiesAccumulator addMultiplied(
+      CurrencyParameterSensitivities sensitivities,
+      double factor) {
+
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    for (CurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+      entry(sensitivity).add(sensitivity.getSensitivity(), factor);
+    }
+    return this;
+  }
+
+  /**
+   * Adds the total of another accumulator.
+   * <p>
+   * This is used to combine the accumulators of different threads.
+   * The other accumulator is unaffected.
+   *
+   * @param other  the accumulator to add
+   * @return this, for chaining
+   * @throws IllegalArgumentException if the parameter count does not match
+   */
+  public CurrencyParameterSensitivitiesAccumulator add(CurrencyParameterSensitivitiesAccumulator other) {
+    ArgChecker.notNull(other, "other");
+    for (Entry otherEntry : other.entries.values()) {
+      entry(otherEntry.base).add(otherEntry.values);
+    }
+    return this;
+  }
+
+  // finds or creates the entry for the sensitivity
+  private Entry entry(CurrencyParameterSensitivity sensitivity) {
+    return entries.computeIfAbsent(
+        Pair.of(sensitivity.getMarketDataName(), sensitivity.getCurrency()),
+        key -> new Entry(sensitivity));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if no sensitivities have been added.
+   *
+   * @return true if empty
+   */
+  public boolean isEmpty() {
+    return entries.isEmpty();
+  }
+
+  /**
+   * Returns the total as a sensitivities instance.
+   * <p>
+   * The accumulator is unaffected and may continue to be used.
+   *
+   * @return the total sensitivities
+   */
+  public CurrencyParameterSensitivities toSensitivities() {
+    List<CurrencyParameterSensitivity> result = new ArrayList<>(entries.size());
+    for (Entry entry : entries.values()) {
+      result.add(entry.base.withSensitivity(DoubleArray.copyOf(entry.values)));
+    }
+    return CurrencyParameterSensitivities.of(result);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CurrencyParameterSensitivitiesAccumulator" + entries.keySet();
+  }
+
+  //-------------------------------------------------------------------------
+  // the sensitivity to a single market data name and currency
+  private static final class Entry {
+    // the first sensitivity added, providing the metadata
+    private final CurrencyParameterSensitivity base;
+    private final double[] values;
+
+    private Entry(CurrencyParameterSensitivity base) {
+      this.base = base;
+      this.values = new double[base.getParameterCount()];
+    }
+
+    private void add(DoubleArray sensitivity, double factor) {
+      checkSize(sensitivity.size());
+      for (int i = 0; i < values.length; i++) {
+        values[i] += sensitivity.get(i) * factor;
+      }
+    }
+
+    private void add(double[] sensitivity) {
+      checkSize(sensitivity.length);
+      for (int i = 0; i < values.length; i++) {
+        values[i] += sensitivity[i];
+      }
+    }
+
+    private void checkSize(int size) {
+      if (size != values.length) {
+        throw new IllegalArgumentException(Messages.format(
+            "Sensitivity to {} in {} has {} parameters but {} were expected",
+            base.getMarketDataName(),
+            base.getCurrency(),
+            size,
+            values.length));
+      }
+    }
+  }
+
+}
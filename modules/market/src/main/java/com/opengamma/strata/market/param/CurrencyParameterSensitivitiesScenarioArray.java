@@ -0,0 +1,861 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableValidator;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioFxConvertible;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
+
+/**
+ * A currency-convertible scenario array for parameter sensitivities, holding one set of sensitivities for each scenario.
+ * <p>
+ * This contains a {@link CurrencyParameterSensitivities} for each scenario.
+ * The calculation runner is able to convert the currency of the values if required.
+ * <p>
+ * This class uses less memory than an instance based on a list of {@link CurrencyParameterSensitivities} instances.
+ * The market data names, currencies and parameter metadata are normally the same in every scenario,
+ * so they are stored once. Internally, the sensitivity values are stored using a {@link DoubleMatrix}
+ * for each market data name and currency, with a row for each scenario and a column for each parameter.
+ * <p>
+ * If the sensitivities of a scenario do not have the same names, currencies and parameter metadata
+ * as the first scenario, such as when the valuation date differs between scenarios, the sensitivities
+ * of that scenario are stored in full.
+ */
+@BeanDefinition(builderScope = "private")
+public final class CurrencyParameterSensitivitiesScenarioArray
+    implements ScenarioArray<CurrencyParameterSensitivities>,
+    ScenarioFxConvertible<CurrencyParameterSensitivitiesScenarioArray>, ImmutableBean, Serializable {
+
+  /**
+   * The number of scenarios.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative", overrideGet = true)
+  private final int scenarioCount;
+  /**
+   * The sensitivities of the first scenario.
+   * <p>
+   * These define the market data names, currencies and parameter metadata shared by the scenarios.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CurrencyParameterSensitivities firstScenario;
+  /**
+   * The sensitivity values, one matrix for each sensitivity of the first scenario.
+   * <p>
+   * Each matrix has a row for each scenario and a column for each parameter.
+   * The rows of the scenarios in {@code irregularScenarios} are zero.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<DoubleMatrix> values;
+  /**
+   * The sensitivities of the scenarios that do not share the metadata of the first scenario, keyed by scenario index.
+   * <p>
+   * This is normally empty, and never contains the first scenario.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<Integer, CurrencyParameterSensitivities> irregularScenarios;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the specified sensitivities.
+   *
+   * @param sensitivities  the sensitivities, one for each scenario
+   * @return an instance with the specified sensitivities
+   */
+  public static CurrencyParameterSensitivitiesScenarioArray of(CurrencyParameterSensitivities... sensitivities) {
+    return of(Arrays.asList(sensitivities));
+  }
+
+  /**
+   * Obtains an instance from the specified list of sensitivities.
+   *
+   * @param sensitivities  the sensitivities, one for each scenario
+   * @return an instance with the specified sensitivities
+   */
+  public static CurrencyParameterSensitivitiesScenarioArray of(List<CurrencyParameterSensitivities> sensitivities) {
+    return of(sensitivities.size(), sensitivities::get);
+  }
+
+  /**
+   * Obtains an instance using a function to create the entries.
+   * <p>
+   * The function is passed the scenario index and returns the sensitivities for that index.
+   * The function is invoked once for each scenario, in order, and the sensitivities it returns
+   * are not retained unless they differ in shape from the first scenario.
+   *
+   * @param scenarioCount  the number of scenarios
+   * @param sensitivitiesFunction  the function used to obtain the sensitivities of each scenario
+   * @return an instance initialized using the function
+   */
+  public static CurrencyParameterSensitivitiesScenarioArray of(
+      int scenarioCount,
+      IntFunction<CurrencyParameterSensitivities> sensitivitiesFunction) {
+
+    ArgChecker.notNegative(scenarioCount, "scenarioCount");
+    if (scenarioCount == 0) {
+      return new CurrencyParameterSensitivitiesScenarioArray(
+          0, CurrencyParameterSensitivities.empty(), ImmutableList.of(), ImmutableMap.of());
+    }
+    CurrencyParameterSensitivities first = sensitivitiesFunction.apply(0);
+    ImmutableList<CurrencyParameterSensitivity> firstSensitivities = first.getSensitivities();
+    double[][][] arrays = new double[firstSensitivities.size()][scenarioCount][];
+    ImmutableMap.Builder<Integer, CurrencyParameterSensitivities> irregular = ImmutableMap.builder();
+    for (int i = 0; i < scenarioCount; i++) {
+      CurrencyParameterSensitivities sensitivities = i == 0 ? first : sensitivitiesFunction.apply(i);
+      boolean regular = isSameShape(first, sensitivities);
+      if (!regular) {
+        irregular.put(i, sensitivities);
+      }
+      for (int k = 0; k < arrays.length; k++) {
+        arrays[k][i] = regular ?
+            sensitivities.getSensitivities().get(k).getSensitivity().toArrayUnsafe() :
+            new double[firstSensitivities.get(k).getParameterCount()];
+      }
+    }
+    ImmutableList<DoubleMatrix> values = Arrays.stream(arrays)
+        .map(DoubleMatrix::ofUnsafe)
+        .collect(toImmutableList());
+    return new CurrencyParameterSensitivitiesScenarioArray(scenarioCount, first, values, irregular.build());
+  }
+
+  // checks if the sensitivities have the same names, currencies and metadata as the first scenario
+  private static boolean isSameShape(CurrencyParameterSensitivities first, CurrencyParameterSensitivities other) {
+    if (first == other) {
+      return true;
+    }
+    List<CurrencyParameterSensitivity> firstSensitivities = first.getSensitivities();
+    List<CurrencyParameterSensitivity> otherSensitivities = other.getSensitivities();
+    if (firstSensitivities.size() != otherSensitivities.size()) {
+      return false;
+    }
+    for (int k = 0; k < firstSensitivities.size(); k++) {
+      CurrencyParameterSensitivity firstSens = firstSensitivities.get(k);
+      CurrencyParameterSensitivity otherSens = otherSensitivities.get(k);
+      if (!firstSens.getMarketDataName().equals(otherSens.getMarketDataName()) ||
+          !firstSens.getCurrency().equals(otherSens.getCurrency()) ||
+          !firstSens.getParameterMetadata().equals(otherSens.getParameterMetadata()) ||
+          !firstSens.getParameterSplit().equals(otherSens.getParameterSplit())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // creates an instance from a list of sensitivities of the first scenario and the matching value matrices
+  private static CurrencyParameterSensitivitiesScenarioArray of(
+      int scenarioCount,
+      List<CurrencyParameterSensitivity> templates,
+      List<DoubleMatrix> values,
+      Map<Integer, CurrencyParameterSensitivities> irregularScenarios) {
+
+    // the sensitivities are sorted to match the order used by CurrencyParameterSensitivities
+    List<Integer> order = new ArrayList<>();
+    for (int k = 0; k < templates.size(); k++) {
+      order.add(k);
+    }
+    order.sort(Comparator.comparing(templates::get, CurrencyParameterSensitivity::compareKey));
+    ImmutableList.Builder<CurrencyParameterSensitivity> first = ImmutableList.builder();
+    ImmutableList.Builder<DoubleMatrix> sortedValues = ImmutableList.builder();
+    for (int k : order) {
+      DoubleMatrix matrix = zeroRows(values.get(k), irregularScenarios.keySet());
+      first.add(templates.get(k).withSensitivity(row(matrix, 0)));
+      sortedValues.add(matrix);
+    }
+    return new CurrencyParameterSensitivitiesScenarioArray(
+        scenarioCount,
+        CurrencyParameterSensitivities.of(first.build()),
+        sortedValues.build(),
+        ImmutableMap.copyOf(irregularScenarios));
+  }
+
+  // zeroes the rows of the irregular scenarios, whose values are held separately
+  private static DoubleMatrix zeroRows(DoubleMatrix matrix, Set<Integer> irregularIndices) {
+    if (matrix.isEmpty() || irregularIndices.isEmpty()) {
+      return matrix;
+    }
+    double[][] array = matrix.toArray();
+    for (int index : irregularIndices) {
+      Arrays.fill(array[index], 0d);
+    }
+    return DoubleMatrix.ofUnsafe(array);
+  }
+
+  @ImmutableValidator
+  private void validate() {
+    List<CurrencyParameterSensitivity> sensitivities = firstScenario.getSensitivities();
+    if (values.size() != sensitivities.size()) {
+      throw new IllegalArgumentException(Messages.format(
+          "Expected {} value matrices but received {}", sensitivities.size(), values.size()));
+    }
+    for (int k = 0; k < values.size(); k++) {
+      DoubleMatrix matrix = values.get(k);
+      int parameterCount = sensitivities.get(k).getParameterCount();
+      boolean valid = matrix.isEmpty() ?
+          parameterCount == 0 :
+          matrix.rowCount() == scenarioCount && matrix.columnCount() == parameterCount;
+      if (!valid) {
+        throw new IllegalArgumentException(Messages.format(
+            "Value matrix for '{}' must have {} rows and {} columns",
+            sensitivities.get(k).getMarketDataName(),
+            scenarioCount,
+            parameterCount));
+      }
+    }
+    for (Integer index : irregularScenarios.keySet()) {
+      ArgChecker.inRange(index, 0, scenarioCount, "irregularScenarios");
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the sensitivities at the specified scenario index.
+   * <p>
+   * This creates the sensitivities from the shared metadata and the values of the scenario.
+   * Consider using {@link #getValues(MarketDataName, Currency)} to access the values of all scenarios.
+   *
+   * @param index  the scenario index
+   * @return the sensitivities of the scenario
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  @Override
+  public CurrencyParameterSensitivities get(int index) {
+    if (index < 0 || index >= scenarioCount) {
+      throw new IndexOutOfBoundsException(Messages.format("Index {} is outside the range 0 to {}", index, scenarioCount - 1));
+    }
+    if (index == 0) {
+      return firstScenario;
+    }
+    CurrencyParameterSensitivities irregular = irregularScenarios.get(index);
+    if (irregular != null) {
+      return irregular;
+    }
+    List<CurrencyParameterSensitivity> sensitivities = firstScenario.getSensitivities();
+    ImmutableList.Builder<CurrencyParameterSensitivity> builder = ImmutableList.builder();
+    for (int k = 0; k < sensitivities.size(); k++) {
+      builder.add(sensitivities.get(k).withSensitivity(row(values.get(k), index)));
+    }
+    return CurrencyParameterSensitivities.of(builder.build());
+  }
+
+  /**
+   * Returns the sensitivity values of all scenarios for a market data name and currency.
+   * <p>
+   * The matrix has a row for each scenario and a column for each parameter, as described by
+   * the parameter metadata of the first scenario.
+   * For scenarios whose sensitivities do not share the metadata of the first scenario, the row
+   * contains the sensitivity to the same name and currency if it has the same number of parameters,
+   * and is otherwise zero.
+   *
+   * @param name  the name of the market data
+   * @param currency  the currency of the sensitivity
+   * @return the values, with a row for each scenario and a column for each parameter
+   * @throws IllegalArgumentException if the name and currency do not match an entry
+   */
+  public DoubleMatrix getValues(MarketDataName<?> name, Currency currency) {
+    List<CurrencyParameterSensitivity> sensitivities = firstScenario.getSensitivities();
+    for (int k = 0; k < sensitivities.size(); k++) {
+      CurrencyParameterSensitivity sensitivity = sensitivities.get(k);
+      if (sensitivity.getMarketDataName().equals(name) && sensitivity.getCurrency().equals(currency)) {
+        DoubleMatrix matrix = values.get(k);
+        if (irregularScenarios.isEmpty()) {
+          return matrix;
+        }
+        double[][] array = matrix.toArray();
+        irregularScenarios.forEach((index, irregular) -> irregular.findSensitivity(name, currency)
+            .filter(sens -> sens.getParameterCount() == sensitivity.getParameterCount())
+            .ifPresent(sens -> array[index] = sens.getSensitivity().toArray()));
+        return DoubleMatrix.ofUnsafe(array);
+      }
+    }
+    throw new IllegalArgumentException(Messages.format(
+        "Unable to find sensitivity: {} for {}", name, currency));
+  }
+
+  // gets a row of the matrix, handling the matrix of a sensitivity with no parameters
+  private static DoubleArray row(DoubleMatrix matrix, int index) {
+    return matrix.isEmpty() ? DoubleArray.EMPTY : matrix.row(index);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns an instance containing a range of the scenarios.
+   *
+   * @param startInclusive  the index of the first scenario, inclusive
+   * @param endExclusive  the index of the last scenario, exclusive
+   * @return an instance containing the scenarios in the range
+   * @throws IllegalArgumentException if the range is invalid
+   */
+  public CurrencyParameterSensitivitiesScenarioArray subArray(int startInclusive, int endExclusive) {
+    ArgChecker.inOrderOrEqual(startInclusive, endExclusive, "startInclusive", "endExclusive");
+    ArgChecker.inRangeInclusive(startInclusive, 0, scenarioCount, "startInclusive");
+    ArgChecker.inRangeInclusive(endExclusive, 0, scenarioCount, "endExclusive");
+    if (startInclusive == 0 && endExclusive == scenarioCount) {
+      return this;
+    }
+    int count = endExclusive - startInclusive;
+    if (count == 0 || irregularScenarios.containsKey(startInclusive)) {
+      // the first scenario of the range defines the shared metadata, so the scenarios must be reassessed
+      return of(count, i -> get(startInclusive + i));
+    }
+    ImmutableList<DoubleMatrix> slicedValues = values.stream()
+        .map(matrix -> matrix.isEmpty() ?
+            matrix :
+            DoubleMatrix.ofArrayObjects(count, matrix.columnCount(), i -> matrix.row(startInclusive + i)))
+        .collect(toImmutableList());
+    Map<Integer, CurrencyParameterSensitivities> slicedIrregular = new TreeMap<>();
+    irregularScenarios.forEach((index, irregular) -> {
+      if (index >= startInclusive && index < endExclusive) {
+        slicedIrregular.put(index - startInclusive, irregular);
+      }
+    });
+    return of(count, firstScenario.getSensitivities(), slicedValues, slicedIrregular);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns an instance with the sensitivity values multiplied by the specified factor.
+   *
+   * @param factor  the multiplicative factor
+   * @return an instance based on this one, with each sensitivity multiplied by the factor
+   */
+  public CurrencyParameterSensitivitiesScenarioArray multipliedBy(double factor) {
+    return new CurrencyParameterSensitivitiesScenarioArray(
+        scenarioCount,
+        firstScenario.multipliedBy(factor),
+        values.stream().map(matrix -> matrix.multipliedBy(factor)).collect(toImmutableList()),
+        ImmutableMap.copyOf(Maps.transformValues(irregularScenarios, sens -> sens.multipliedBy(factor))));
+  }
+
+  /**
+   * Combines this instance with another, adding the sensitivities of each scenario.
+   * <p>
+   * The result is the same as calling {@link CurrencyParameterSensitivities#combinedWith(CurrencyParameterSensitivities)}
+   * on the sensitivities of each scenario.
+   *
+   * @param other  the other instance
+   * @return an instance based on this one, with the other sensitivities added
+   * @throws IllegalArgumentException if the number of scenarios differs or the number of parameters of
+   *   the same market data name and currency differs
+   */
+  public CurrencyParameterSensitivitiesScenarioArray combinedWith(CurrencyParameterSensitivitiesScenarioArray other) {
+    if (other.scenarioCount != scenarioCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Expected {} scenarios but received {}", scenarioCount, other.scenarioCount));
+    }
+    if (scenarioCount == 0) {
+      return this;
+    }
+    Map<Pair<MarketDataName<?>, Currency>, Pair<CurrencyParameterSensitivity, DoubleMatrix>> combined =
+        new LinkedHashMap<>();
+    addColumns(combined, firstScenario.getSensitivities(), values);
+    addColumns(combined, other.firstScenario.getSensitivities(), other.values);
+    Map<Integer, CurrencyParameterSensitivities> combinedIrregular = new TreeMap<>();
+    for (int index : ImmutableList.<Integer>builder()
+        .addAll(irregularScenarios.keySet())
+        .addAll(other.irregularScenarios.keySet())
+        .build()) {
+      combinedIrregular.put(index, get(index).combinedWith(other.get(index)));
+    }
+    return of(
+        scenarioCount,
+        combined.values().stream().map(Pair::getFirst).collect(toImmutableList()),
+        combined.values().stream().map(Pair::getSecond).collect(toImmutableList()),
+        combinedIrregular);
+  }
+
+  // adds the columns, summing the values of columns with the same name and currency
+  private static void addColumns(
+      Map<Pair<MarketDataName<?>, Currency>, Pair<CurrencyParameterSensitivity, DoubleMatrix>> columns,
+      List<CurrencyParameterSensitivity> sensitivities,
+      List<DoubleMatrix> values) {
+
+    for (int k = 0; k < sensitivities.size(); k++) {
+      CurrencyParameterSensitivity sensitivity = sensitivities.get(k);
+      DoubleMatrix matrix = values.get(k);
+      columns.merge(
+          Pair.of(sensitivity.getMarketDataName(), sensitivity.getCurrency()),
+          Pair.of(sensitivity, matrix),
+          (existing, added) -> {
+            if (existing.getFirst().getParameterCount() != added.getFirst().getParameterCount()) {
+              throw new IllegalArgumentException(Messages.format(
+                  "Unable to combine sensitivities to '{}' with different numbers of parameters",
+                  sensitivity.getMarketDataName()));
+            }
+            return Pair.of(existing.getFirst(), existing.getSecond().plus(added.getSecond()));
+          });
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the total of the sensitivity values of each scenario.
+   * <p>
+   * The result is the same as calling {@link CurrencyParameterSensitivities#total()} on the sensitivities of each scenario.
+   *
+   * @return the total of each scenario
+   */
+  public MultiCurrencyScenarioArray total() {
+    Map<Currency, double[]> totals = new TreeMap<>();
+    List<CurrencyParameterSensitivity> sensitivities = firstScenario.getSensitivities();
+    for (int k = 0; k < sensitivities.size(); k++) {
+      double[] currencyTotals = totals.computeIfAbsent(sensitivities.get(k).getCurrency(), ccy -> new double[scenarioCount]);
+      double[][] array = values.get(k).toArrayUnsafe();
+      for (int i = 0; i < array.length; i++) {
+        for (double value : array[i]) {
+          currencyTotals[i] += value;
+        }
+      }
+    }
+    irregularScenarios.forEach((index, irregular) -> {
+      for (CurrencyAmount amount : irregular.total().getAmounts()) {
+        totals.computeIfAbsent(amount.getCurrency(), ccy -> new double[scenarioCount])[index] += amount.getAmount();
+      }
+    });
+    if (totals.isEmpty()) {
+      return MultiCurrencyScenarioArray.of(scenarioCount, i -> MultiCurrencyAmount.empty());
+    }
+    return MultiCurrencyScenarioArray.of(Maps.transformValues(totals, DoubleArray::ofUnsafe));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts the sensitivities of each scenario to a single currency.
+   * <p>
+   * The result is the same as calling {@link CurrencyParameterSensitivities#convertedTo(Currency, FxRateProvider)}
+   * on the sensitivities of each scenario, using the FX rates of that scenario.
+   * Sensitivities to the same market data name in different currencies are added together.
+   *
+   * @param resultCurrency  the currency of the result
+   * @param fxRateProvider  the provider of FX rates for each scenario
+   * @return the sensitivities of each scenario converted to the currency
+   * @throws IllegalArgumentException if the number of FX rates does not match the number of scenarios
+   */
+  @Override
+  public CurrencyParameterSensitivitiesScenarioArray convertedTo(
+      Currency resultCurrency,
+      ScenarioFxRateProvider fxRateProvider) {
+
+    if (fxRateProvider.getScenarioCount() != scenarioCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Expected {} FX rates but received {}", scenarioCount, fxRateProvider.getScenarioCount()));
+    }
+    Map<Pair<MarketDataName<?>, Currency>, Pair<CurrencyParameterSensitivity, DoubleMatrix>> converted =
+        new LinkedHashMap<>();
+    List<CurrencyParameterSensitivity> sensitivities = firstScenario.getSensitivities();
+    List<CurrencyParameterSensitivity> convertedSensitivities = new ArrayList<>();
+    List<DoubleMatrix> convertedValues = new ArrayList<>();
+    for (int k = 0; k < sensitivities.size(); k++) {
+      CurrencyParameterSensitivity sensitivity = sensitivities.get(k);
+      Currency currency = sensitivity.getCurrency();
+      DoubleMatrix matrix = values.get(k);
+      if (!currency.equals(resultCurrency) && !matrix.isEmpty()) {
+        DoubleMatrix base = matrix;
+        matrix = DoubleMatrix.ofArrayObjects(
+            base.rowCount(),
+            base.columnCount(),
+            i -> base.row(i).multipliedBy(fxRateProvider.fxRate(currency, resultCurrency, i)));
+      }
+      convertedSensitivities.add(CurrencyParameterSensitivity.of(
+          sensitivity.getMarketDataName(),
+          sensitivity.getParameterMetadata(),
+          resultCurrency,
+          sensitivity.getSensitivity(),
+          sensitivity.getParameterSplit().orElse(null)));
+      convertedValues.add(matrix);
+    }
+    addColumns(converted, convertedSensitivities, convertedValues);
+    Map<Integer, CurrencyParameterSensitivities> convertedIrregular = new TreeMap<>();
+    irregularScenarios.forEach((index, irregular) -> convertedIrregular.put(
+        index, irregular.convertedTo(resultCurrency, fxRateProvider.fxRateProvider(index))));
+    return of(
+        scenarioCount,
+        converted.values().stream().map(Pair::getFirst).collect(toImmutableList()),
+        converted.values().stream().map(Pair::getSecond).collect(toImmutableList()),
+        convertedIrregular);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code CurrencyParameterSensitivitiesScenarioArray}.
+   * @return the meta-bean, not null
+   */
+  public static CurrencyParameterSensitivitiesScenarioArray.Meta meta() {
+    return CurrencyParameterSensitivitiesScenarioArray.Meta.INSTANCE;
+  }
+
+  static {
+    MetaBean.register(CurrencyParameterSensitivitiesScenarioArray.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private CurrencyParameterSensitivitiesScenarioArray(
+      int scenarioCount,
+      CurrencyParameterSensitivities firstScenario,
+      List<DoubleMatrix> values,
+      Map<Integer, CurrencyParameterSensitivities> irregularScenarios) {
+    ArgChecker.notNegative(scenarioCount, "scenarioCount");
+    JodaBeanUtils.notNull(firstScenario, "firstScenario");
+    JodaBeanUtils.notNull(values, "values");
+    JodaBeanUtils.notNull(irregularScenarios, "irregularScenarios");
+    this.scenarioCount = scenarioCount;
+    this.firstScenario = firstScenario;
+    this.values = ImmutableList.copyOf(values);
+    this.irregularScenarios = ImmutableMap.copyOf(irregularScenarios);
+    validate();
+  }
+
+  @Override
+  public CurrencyParameterSensitivitiesScenarioArray.Meta metaBean() {
+    return CurrencyParameterSensitivitiesScenarioArray.Meta.INSTANCE;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of scenarios.
+   * @return the value of the property
+   */
+  @Override
+  public int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the sensitivities of the first scenario.
+   * <p>
+   * These define the market data names, currencies and parameter metadata shared by the scenarios.
+   * @return the value of the property, not null
+   */
+  public CurrencyParameterSensitivities getFirstScenario() {
+    return firstScenario;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the sensitivity values, one matrix for each sensitivity of the first scenario.
+   * <p>
+   * Each matrix has a row for each scenario and a column for each parameter.
+   * The rows of the scenarios in {@code irregularScenarios} are zero.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<DoubleMatrix> getValues() {
+    return values;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the sensitivities of the scenarios that do not share the metadata of the first scenario, keyed by scenario index.
+   * <p>
+   * This is normally empty, and never contains the first scenario.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<Integer, CurrencyParameterSensitivities> getIrregularScenarios() {
+    return irregularScenarios;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      CurrencyParameterSensitivitiesScenarioArray other = (CurrencyParameterSensitivitiesScenarioArray) obj;
+      return (scenarioCount == other.scenarioCount) &&
+          JodaBeanUtils.equal(firstScenario, other.firstScenario) &&
+          JodaBeanUtils.equal(values, other.values) &&
+          JodaBeanUtils.equal(irregularScenarios, other.irregularScenarios);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(scenarioCount);
+    hash = hash * 31 + JodaBeanUtils.hashCode(firstScenario);
+    hash = hash * 31 + JodaBeanUtils.hashCode(values);
+    hash = hash * 31 + JodaBeanUtils.hashCode(irregularScenarios);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(160);
+    buf.append("CurrencyParameterSensitivitiesScenarioArray{");
+    buf.append("scenarioCount").append('=').append(JodaBeanUtils.toString(scenarioCount)).append(',').append(' ');
+    buf.append("firstScenario").append('=').append(JodaBeanUtils.toString(firstScenario)).append(',').append(' ');
+    buf.append("values").append('=').append(JodaBeanUtils.toString(values)).append(',').append(' ');
+    buf.append("irregularScenarios").append('=').append(JodaBeanUtils.toString(irregularScenarios));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code CurrencyParameterSensitivitiesScenarioArray}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code scenarioCount} property.
+     */
+    private final MetaProperty<Integer> scenarioCount = DirectMetaProperty.ofImmutable(
+        this, "scenarioCount", CurrencyParameterSensitivitiesScenarioArray.class, Integer.TYPE);
+    /**
+     * The meta-property for the {@code firstScenario} property.
+     */
+    private final MetaProperty<CurrencyParameterSensitivities> firstScenario = DirectMetaProperty.ofImmutable(
+        this, "firstScenario", CurrencyParameterSensitivitiesScenarioArray.class, CurrencyParameterSensitivities.class);
+    /**
+     * The meta-property for the {@code values} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableList<DoubleMatrix>> values = DirectMetaProperty.ofImmutable(
+        this, "values", CurrencyParameterSensitivitiesScenarioArray.class, (Class) ImmutableList.class);
+    /**
+     * The meta-property for the {@code irregularScenarios} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableMap<Integer, CurrencyParameterSensitivities>> irregularScenarios = DirectMetaProperty.ofImmutable(
+        this, "irregularScenarios", CurrencyParameterSensitivitiesScenarioArray.class, (Class) ImmutableMap.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "scenarioCount",
+        "firstScenario",
+        "values",
+        "irregularScenarios");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1203198113:  // scenarioCount
+          return scenarioCount;
+        case 1065941600:  // firstScenario
+          return firstScenario;
+        case -823812830:  // values
+          return values;
+        case -1530435120:  // irregularScenarios
+          return irregularScenarios;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends CurrencyParameterSensitivitiesScenarioArray> builder() {
+      return new CurrencyParameterSensitivitiesScenarioArray.Builder();
+    }
+
+    @Override
+    public Class<? extends CurrencyParameterSensitivitiesScenarioArray> beanType() {
+      return CurrencyParameterSensitivitiesScenarioArray.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code scenarioCount} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Integer> scenarioCount() {
+      return scenarioCount;
+    }
+
+    /**
+     * The meta-property for the {@code firstScenario} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<CurrencyParameterSensitivities> firstScenario() {
+      return firstScenario;
+    }
+
+    /**
+     * The meta-property for the {@code values} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableList<DoubleMatrix>> values() {
+      return values;
+    }
+
+    /**
+     * The meta-property for the {@code irregularScenarios} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableMap<Integer, CurrencyParameterSensitivities>> irregularScenarios() {
+      return irregularScenarios;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -1203198113:  // scenarioCount
+          return ((CurrencyParameterSensitivitiesScenarioArray) bean).getScenarioCount();
+        case 1065941600:  // firstScenario
+          return ((CurrencyParameterSensitivitiesScenarioArray) bean).getFirstScenario();
+        case -823812830:  // values
+          return ((CurrencyParameterSensitivitiesScenarioArray) bean).getValues();
+        case -1530435120:  // irregularScenarios
+          return ((CurrencyParameterSensitivitiesScenarioArray) bean).getIrregularScenarios();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code CurrencyParameterSensitivitiesScenarioArray}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<CurrencyParameterSensitivitiesScenarioArray> {
+
+    private int scenarioCount;
+    private CurrencyParameterSensitivities firstScenario;
+    private List<DoubleMatrix> values = ImmutableList.of();
+    private Map<Integer, CurrencyParameterSensitivities> irregularScenarios = ImmutableMap.of();
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1203198113:  // scenarioCount
+          return scenarioCount;
+        case 1065941600:  // firstScenario
+          return firstScenario;
+        case -823812830:  // values
+          return values;
+        case -1530435120:  // irregularScenarios
+          return irregularScenarios;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -1203198113:  // scenarioCount
+          this.scenarioCount = (Integer) newValue;
+          break;
+        case 1065941600:  // firstScenario
+          this.firstScenario = (CurrencyParameterSensitivities) newValue;
+          break;
+        case -823812830:  // values
+          this.values = (List<DoubleMatrix>) newValue;
+          break;
+        case -1530435120:  // irregularScenarios
+          this.irregularScenarios = (Map<Integer, CurrencyParameterSensitivities>) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public CurrencyParameterSensitivitiesScenarioArray build() {
+      return new CurrencyParameterSensitivitiesScenarioArray(
+          scenarioCount,
+          firstScenario,
+          values,
+          irregularScenarios);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(160);
+      buf.append("CurrencyParameterSensitivitiesScenarioArray.Builder{");
+      buf.append("scenarioCount").append('=').append(JodaBeanUtils.toString(scenarioCount)).append(',').append(' ');
+      buf.append("firstScenario").append('=').append(JodaBeanUtils.toString(firstScenario)).append(',').append(' ');
+      buf.append("values").append('=').append(JodaBeanUtils.toString(values)).append(',').append(' ');
+      buf.append("irregularScenarios").append('=').append(JodaBeanUtils.toString(irregularScenarios));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -6,9 +6,12 @@
 package com.opengamma.strata.market.param;
 
 import java.util.OptionalInt;
+import java.util.function.IntFunction;
 
 import org.joda.beans.JodaBeanUtils;
 
+import com.opengamma.strata.data.scenario.ScenarioArray;
+
 /**
  * An abstraction of market data in terms of a number of arbitrary {@code double} parameters.
  * <p>
@@ -106,4 +109,27 @@ public interface ParameterizedData {
     return result;
   }
 
+  /**
+   * Returns an array of perturbed copies of the data, one for each scenario.
+   * <p>
+   * The function is passed the scenario index and returns the perturbation to apply for that scenario.
+   * The element of each scenario is equal to the result of {@link #withPerturbation(ParameterPerturbation)}
+   * using the perturbation of the scenario.
+   * <p>
+   * The default implementation perturbs this instance once for each scenario.
+   * Implementations may override this to share the data that is common to all scenarios.
+   * <p>
+   * This instance is immutable and unaffected by this method call.
+   * 
+   * @param scenarioCount  the number of scenarios
+   * @param perturbationFunction  the function used to obtain the perturbation of each scenario
+   * @return the perturbed instances, one for each scenario
+   */
+  public default ScenarioArray<? extends ParameterizedData> withPerturbations(
+      int scenarioCount,
+      IntFunction<ParameterPerturbation> perturbationFunction) {
+
+    return ScenarioArray.of(scenarioCount, i -> withPerturbation(perturbationFunction.apply(i)));
+  }
+
 }
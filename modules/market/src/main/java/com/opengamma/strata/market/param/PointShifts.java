@@ -33,6 +33,7 @@ import com.opengamma.strata.collect.Guavate;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.ObjIntPair;
 import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioPerturbation;
 import com.opengamma.strata.market.ShiftType;
 
@@ -123,16 +124,29 @@ public final class PointShifts
 
     log.debug("Applying {} point shift to ParameterizedData '{}'", shiftType,
         marketData.getValue(0).toString());
+    if (marketData.isSingleValue()) {
+      // the data may share the values that are common to all scenarios
+      ScenarioArray<? extends ParameterizedData> perturbed =
+          marketData.getSingleValue().withPerturbations(shifts.rowCount(), this::perturbation);
+      return MarketDataBox.ofScenarioValue(cast(perturbed));
+    }
     return marketData.mapWithIndex(
         shifts.rowCount(),
-        (prams, scenarioIndex) -> applyShifts(scenarioIndex, prams));
+        (prams, scenarioIndex) -> prams.withPerturbation(perturbation(scenarioIndex)));
   }
 
-  private ParameterizedData applyShifts(int scenarioIndex, ParameterizedData prams) {
-    return prams.withPerturbation((index, value, meta) -> {
+  // the perturbation applying the shifts of a scenario
+  private ParameterPerturbation perturbation(int scenarioIndex) {
+    return (index, value, meta) -> {
       double shiftAmount = shiftForNode(scenarioIndex, meta);
       return shiftType.applyShift(value, shiftAmount);
-    });
+    };
+  }
+
+  // safe to cast as the array is immutable
+  @SuppressWarnings("unchecked")
+  private static ScenarioArray<ParameterizedData> cast(ScenarioArray<? extends ParameterizedData> array) {
+    return (ScenarioArray<ParameterizedData>) array;
   }
 
   @Override
@@ -11,9 +11,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import org.junit.jupiter.api.Test;
 
-import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MarketDataBox;
 
 /**
@@ -49,27 +49,38 @@ public class GenericDoubleShiftsTest {
     MarketDataBox<Double> marketData = MarketDataBox.ofSingleValue(baseValue);
     GenericDoubleShifts testScaled = GenericDoubleShifts.of(ShiftType.SCALED, SHIFT_AMOUNT, SPREAD);
     MarketDataBox<Double> computedScaled = testScaled.applyTo(marketData, REF_DATA);
-    MarketDataBox<Double> expectedScaled = MarketDataBox.ofScenarioValues(ImmutableList.of(
+    MarketDataBox<Double> expectedScaled = MarketDataBox.ofScenarioValue(DoubleScenarioArray.of(DoubleArray.of(
         (baseValue + SPREAD) * SHIFT_AMOUNT.get(0) - SPREAD,
         (baseValue + SPREAD) * SHIFT_AMOUNT.get(1) - SPREAD,
-        (baseValue + SPREAD) * SHIFT_AMOUNT.get(2) - SPREAD));
+        (baseValue + SPREAD) * SHIFT_AMOUNT.get(2) - SPREAD)));
     assertThat(computedScaled).isEqualTo(expectedScaled);
     GenericDoubleShifts testRelative = GenericDoubleShifts.of(ShiftType.RELATIVE, SHIFT_AMOUNT, SPREAD);
     MarketDataBox<Double> computedRelative = testRelative.applyTo(marketData, REF_DATA);
-    MarketDataBox<Double> expectedRelative = MarketDataBox.ofScenarioValues(ImmutableList.of(
+    MarketDataBox<Double> expectedRelative = MarketDataBox.ofScenarioValue(DoubleScenarioArray.of(DoubleArray.of(
         (baseValue + SPREAD) * (1d + SHIFT_AMOUNT.get(0)) - SPREAD,
         (baseValue + SPREAD) * (1d + SHIFT_AMOUNT.get(1)) - SPREAD,
-        (baseValue + SPREAD) * (1d + SHIFT_AMOUNT.get(2)) - SPREAD));
+        (baseValue + SPREAD) * (1d + SHIFT_AMOUNT.get(2)) - SPREAD)));
     assertThat(computedRelative).isEqualTo(expectedRelative);
     GenericDoubleShifts testAbsolute = GenericDoubleShifts.of(ShiftType.ABSOLUTE, SHIFT_AMOUNT);
     MarketDataBox<Double> computedAbsolute = testAbsolute.applyTo(marketData, REF_DATA);
-    MarketDataBox<Double> expectedAbsolute = MarketDataBox.ofScenarioValues(ImmutableList.of(
+    MarketDataBox<Double> expectedAbsolute = MarketDataBox.ofScenarioValue(DoubleScenarioArray.of(DoubleArray.of(
         baseValue + SHIFT_AMOUNT.get(0),
         baseValue + SHIFT_AMOUNT.get(1),
-        baseValue + SHIFT_AMOUNT.get(2)));
+        baseValue + SHIFT_AMOUNT.get(2))));
     assertThat(computedAbsolute).isEqualTo(expectedAbsolute);
   }
 
+  @Test
+  public void test_applyTo_scenarioValue() {
+    MarketDataBox<Double> marketData = MarketDataBox.ofScenarioValues(1d, 2d, 3d);
+    GenericDoubleShifts test = GenericDoubleShifts.of(ShiftType.ABSOLUTE, SHIFT_AMOUNT);
+    MarketDataBox<Double> computed = test.applyTo(marketData, REF_DATA);
+    assertThat(computed.getScenarioCount()).isEqualTo(3);
+    assertThat(computed.getValue(0)).isEqualTo(1d + SHIFT_AMOUNT.get(0));
+    assertThat(computed.getValue(1)).isEqualTo(2d + SHIFT_AMOUNT.get(1));
+    assertThat(computed.getValue(2)).isEqualTo(3d + SHIFT_AMOUNT.get(2));
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void coverage() {
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.market.curve;
 
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -39,6 +40,7 @@ public class CurveParallelShiftsTest {
     assertThat(shiftedCurveBox.getValue(0)).isEqualTo(ParallelShiftedCurve.absolute(baseCurve, 1d));
     assertThat(shiftedCurveBox.getValue(1)).isEqualTo(ParallelShiftedCurve.absolute(baseCurve, 2d));
     assertThat(shiftedCurveBox.getValue(2)).isEqualTo(ParallelShiftedCurve.absolute(baseCurve, 4d));
+    assertSerialization(shiftedCurveBox);
   }
 
   @Test
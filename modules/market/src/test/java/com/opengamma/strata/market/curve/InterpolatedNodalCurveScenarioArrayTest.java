@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.param.ParameterMetadata;
+
+/**
+ * Test {@link InterpolatedNodalCurveScenarioArray}.
+ */
+public class InterpolatedNodalCurveScenarioArrayTest {
+
+  private static final CurveName CURVE_NAME = CurveName.of("TestCurve");
+  private static final CurveMetadata METADATA = Curves.zeroRates(CURVE_NAME, ACT_365F, ParameterMetadata.listOfEmpty(3));
+  private static final DoubleArray XVALUES = DoubleArray.of(1d, 2d, 3d);
+  private static final DoubleArray YVALUES = DoubleArray.of(5d, 7d, 8d);
+  private static final InterpolatedNodalCurve CURVE = InterpolatedNodalCurve.of(
+      METADATA, XVALUES, YVALUES, CurveInterpolators.NATURAL_SPLINE, CurveExtrapolators.LINEAR, CurveExtrapolators.FLAT);
+  private static final DoubleMatrix Y_MATRIX = DoubleMatrix.copyOf(new double[][] {{5d, 7d, 8d}, {6d, 7d, 9d}});
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    InterpolatedNodalCurveScenarioArray test = InterpolatedNodalCurveScenarioArray.of(CURVE, Y_MATRIX);
+    assertThat(test.getCurve()).isEqualTo(CURVE);
+    assertThat(test.getYValues()).isEqualTo(Y_MATRIX);
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.get(0)).isSameAs(CURVE);
+    InterpolatedNodalCurve expected = InterpolatedNodalCurve.of(
+        METADATA, XVALUES, DoubleArray.of(6d, 7d, 9d),
+        CurveInterpolators.NATURAL_SPLINE, CurveExtrapolators.LINEAR, CurveExtrapolators.FLAT);
+    assertThat(test.get(1)).isEqualTo(expected);
+    assertThat(test.get(1).getXValues()).isSameAs(CURVE.getXValues());
+    assertThat(test.get(1).yValue(1.5d)).isEqualTo(expected.yValue(1.5d));
+    assertThat(test.get(1).yValueParameterSensitivity(1.5d)).isEqualTo(expected.yValueParameterSensitivity(1.5d));
+    assertThat(test.stream().collect(toList())).containsExactly(CURVE, expected);
+  }
+
+  @Test
+  public void test_get_bindsOnce() {
+    InterpolatedNodalCurveScenarioArray test = InterpolatedNodalCurveScenarioArray.of(CURVE, Y_MATRIX);
+    InterpolatedNodalCurve first = test.get(1);
+    assertThat(test.get(1)).isSameAs(first);
+    assertThat(test.stream().collect(toList()).get(1)).isSameAs(first);
+  }
+
+  @Test
+  public void test_of_noScenarios() {
+    InterpolatedNodalCurveScenarioArray test = InterpolatedNodalCurveScenarioArray.of(CURVE, DoubleMatrix.EMPTY);
+    assertThat(test.getScenarioCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void test_of_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> InterpolatedNodalCurveScenarioArray.of(CURVE, DoubleMatrix.of(1, 2, 5d, 7d)));
+  }
+
+  @Test
+  public void test_get_invalid() {
+    InterpolatedNodalCurveScenarioArray test = InterpolatedNodalCurveScenarioArray.of(CURVE, Y_MATRIX);
+    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> test.get(-1));
+    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> test.get(2));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void coverage() {
+    InterpolatedNodalCurveScenarioArray test = InterpolatedNodalCurveScenarioArray.of(CURVE, Y_MATRIX);
+    coverImmutableBean(test);
+    InterpolatedNodalCurveScenarioArray test2 = InterpolatedNodalCurveScenarioArray.of(
+        CURVE.withYValues(DoubleArray.of(1d, 2d, 3d)), DoubleMatrix.of(1, 3, 1d, 2d, 3d));
+    coverBeanEquals(test, test2);
+  }
+
+  @Test
+  public void test_serialization() {
+    assertSerialization(InterpolatedNodalCurveScenarioArray.of(CURVE, Y_MATRIX));
+  }
+
+}
@@ -18,6 +18,7 @@ import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -30,6 +31,7 @@ import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.LabelDateParameterMetadata;
 import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.market.param.ParameterPerturbation;
 import com.opengamma.strata.market.param.UnitParameterSensitivity;
 
 /**
@@ -172,6 +174,23 @@ public class InterpolatedNodalCurveTest {
         .isThrownBy(() -> base.withYValues(DoubleArray.of(4d, 6d)));
   }
 
+  @Test
+  public void test_withPerturbations() {
+    InterpolatedNodalCurve base = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
+    List<ParameterPerturbation> perturbations = ImmutableList.of(
+        (i, v, m) -> v,
+        (i, v, m) -> v - 2d,
+        (i, v, m) -> i == 1 ? v + 1d : v);
+    InterpolatedNodalCurveScenarioArray test = base.withPerturbations(3, perturbations::get);
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.getCurve()).isSameAs(base);
+    assertThat(test.get(0)).isSameAs(base);
+    assertThat(test.get(1)).isEqualTo(InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES_BUMPED, INTERPOLATOR));
+    for (int i = 0; i < 3; i++) {
+      assertThat(test.get(i)).isEqualTo(base.withPerturbation(perturbations.get(i)));
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void test_withValuesXy() {
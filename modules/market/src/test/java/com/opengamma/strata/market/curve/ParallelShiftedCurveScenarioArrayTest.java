@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.ShiftType;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+
+/**
+ * Test {@link ParallelShiftedCurveScenarioArray}.
+ */
+public class ParallelShiftedCurveScenarioArrayTest {
+
+  private static final Curve CURVE = InterpolatedNodalCurve.of(
+      Curves.zeroRates("curve", ACT_365F), DoubleArray.of(1, 2, 3), DoubleArray.of(5, 6, 7), CurveInterpolators.LOG_LINEAR);
+  private static final DoubleArray SHIFTS = DoubleArray.of(1d, 2d, 4d);
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    ParallelShiftedCurveScenarioArray test = ParallelShiftedCurveScenarioArray.of(CURVE, ShiftType.ABSOLUTE, SHIFTS);
+    assertThat(test.getCurve()).isEqualTo(CURVE);
+    assertThat(test.getShiftType()).isEqualTo(ShiftType.ABSOLUTE);
+    assertThat(test.getShiftAmounts()).isEqualTo(SHIFTS);
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.get(0)).isEqualTo(ParallelShiftedCurve.absolute(CURVE, 1d));
+    assertThat(test.get(1)).isEqualTo(ParallelShiftedCurve.absolute(CURVE, 2d));
+    assertThat(test.get(2)).isEqualTo(ParallelShiftedCurve.absolute(CURVE, 4d));
+    assertThat(test.stream().collect(toList())).containsExactly(
+        ParallelShiftedCurve.absolute(CURVE, 1d),
+        ParallelShiftedCurve.absolute(CURVE, 2d),
+        ParallelShiftedCurve.absolute(CURVE, 4d));
+  }
+
+  @Test
+  public void test_get_invalid() {
+    ParallelShiftedCurveScenarioArray test = ParallelShiftedCurveScenarioArray.of(CURVE, ShiftType.RELATIVE, SHIFTS);
+    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> test.get(-1));
+    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> test.get(3));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void coverage() {
+    ParallelShiftedCurveScenarioArray test = ParallelShiftedCurveScenarioArray.of(CURVE, ShiftType.ABSOLUTE, SHIFTS);
+    coverImmutableBean(test);
+    ParallelShiftedCurveScenarioArray test2 = ParallelShiftedCurveScenarioArray.of(
+        ConstantCurve.of(Curves.zeroRates("other", ACT_365F), 1d), ShiftType.RELATIVE, DoubleArray.of(0.1d));
+    coverBeanEquals(test, test2);
+  }
+
+  @Test
+  public void test_serialization() {
+    assertSerialization(ParallelShiftedCurveScenarioArray.of(CURVE, ShiftType.ABSOLUTE, SHIFTS));
+  }
+
+}
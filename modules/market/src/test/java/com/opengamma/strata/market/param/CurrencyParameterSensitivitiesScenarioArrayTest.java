@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.param;
+
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
+import com.opengamma.strata.market.curve.CurveName;
+
+/**
+ * Test {@link CurrencyParameterSensitivitiesScenarioArray}.
+ */
+public class CurrencyParameterSensitivitiesScenarioArrayTest {
+
+  private static final Currency USD = Currency.USD;
+  private static final Currency EUR = Currency.EUR;
+  private static final MarketDataName<?> NAME1 = CurveName.of("NAME-1");
+  private static final MarketDataName<?> NAME2 = CurveName.of("NAME-2");
+  private static final List<ParameterMetadata> METADATA1 = ParameterMetadata.listOfEmpty(3);
+  private static final List<ParameterMetadata> METADATA1B = ImmutableList.of(
+      TenorParameterMetadata.of(Tenor.TENOR_1Y),
+      TenorParameterMetadata.of(Tenor.TENOR_2Y),
+      TenorParameterMetadata.of(Tenor.TENOR_3Y));
+  private static final List<ParameterMetadata> METADATA2 = ParameterMetadata.listOfEmpty(2);
+
+  private static final CurrencyParameterSensitivities SENS_0 = sensitivities(METADATA1, 1d);
+  private static final CurrencyParameterSensitivities SENS_1 = sensitivities(METADATA1, 2d);
+  private static final CurrencyParameterSensitivities SENS_2 = sensitivities(METADATA1, 3d);
+  private static final CurrencyParameterSensitivities SENS_IRREGULAR = sensitivities(METADATA1B, 4d);
+  private static final CurrencyParameterSensitivities SENS_OTHER = CurrencyParameterSensitivities.of(
+      CurrencyParameterSensitivity.of(NAME1, METADATA1, USD, DoubleArray.of(10, 20, 30)),
+      CurrencyParameterSensitivity.of(NAME1, METADATA1, EUR, DoubleArray.of(5, 5, 5)));
+
+  private static final double TOLERANCE = 1e-10;
+
+  private static CurrencyParameterSensitivities sensitivities(List<ParameterMetadata> metadata1, double factor) {
+    return CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(NAME1, metadata1, USD, DoubleArray.of(1, 2, 3).multipliedBy(factor)),
+        CurrencyParameterSensitivity.of(NAME2, METADATA2, EUR, DoubleArray.of(4, 5).multipliedBy(factor)));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    CurrencyParameterSensitivitiesScenarioArray test = CurrencyParameterSensitivitiesScenarioArray.of(SENS_0, SENS_1, SENS_2);
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.get(0)).isEqualTo(SENS_0);
+    assertThat(test.get(1)).isEqualTo(SENS_1);
+    assertThat(test.get(2)).isEqualTo(SENS_2);
+    assertThat(test.stream().collect(toList())).containsExactly(SENS_0, SENS_1, SENS_2);
+    assertThat(test.getFirstScenario()).isEqualTo(SENS_0);
+    assertThat(test.getIrregularScenarios()).isEmpty();
+    assertThat(test.getValues(NAME1, USD)).isEqualTo(DoubleMatrix.copyOf(new double[][] {{1, 2, 3}, {2, 4, 6}, {3, 6, 9}}));
+    assertThat(test.getValues(NAME2, EUR)).isEqualTo(DoubleMatrix.copyOf(new double[][] {{4, 5}, {8, 10}, {12, 15}}));
+    assertThatIllegalArgumentException().isThrownBy(() -> test.getValues(NAME2, USD));
+    assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> test.get(3));
+  }
+
+  @Test
+  public void test_of_function() {
+    List<CurrencyParameterSensitivities> sensitivities = ImmutableList.of(SENS_0, SENS_1, SENS_2);
+    CurrencyParameterSensitivitiesScenarioArray test = CurrencyParameterSensitivitiesScenarioArray.of(3, sensitivities::get);
+    assertThat(test).isEqualTo(CurrencyParameterSensitivitiesScenarioArray.of(sensitivities));
+  }
+
+  @Test
+  public void test_of_irregular() {
+    CurrencyParameterSensitivitiesScenarioArray test =
+        CurrencyParameterSensitivitiesScenarioArray.of(SENS_0, SENS_IRREGULAR, CurrencyParameterSensitivities.empty(), SENS_2);
+    assertThat(test.getScenarioCount()).isEqualTo(4);
+    assertThat(test.get(0)).isEqualTo(SENS_0);
+    assertThat(test.get(1)).isEqualTo(SENS_IRREGULAR);
+    assertThat(test.get(2)).isEqualTo(CurrencyParameterSensitivities.empty());
+    assertThat(test.get(3)).isEqualTo(SENS_2);
+    assertThat(test.getIrregularScenarios()).containsOnlyKeys(1, 2);
+    assertThat(test.getValues(NAME1, USD))
+        .isEqualTo(DoubleMatrix.copyOf(new double[][] {{1, 2, 3}, {4, 8, 12}, {0, 0, 0}, {3, 6, 9}}));
+  }
+
+  @Test
+  public void test_of_empty() {
+    CurrencyParameterSensitivitiesScenarioArray test = CurrencyParameterSensitivitiesScenarioArray.of(ImmutableList.of());
+    assertThat(test.getScenarioCount()).isEqualTo(0);
+    assertThat(test.stream().count()).isEqualTo(0);
+    assertThat(test.total().getScenarioCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void test_of_noSensitivities() {
+    CurrencyParameterSensitivities empty = CurrencyParameterSensitivities.empty();
+    CurrencyParameterSensitivitiesScenarioArray test = CurrencyParameterSensitivitiesScenarioArray.of(empty, empty);
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.get(1)).isEqualTo(empty);
+    assertThat(test.total().getScenarioCount()).isEqualTo(2);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_subArray() {
+    CurrencyParameterSensitivitiesScenarioArray test =
+        CurrencyParameterSensitivitiesScenarioArray.of(SENS_0, SENS_1, SENS_IRREGULAR, SENS_2);
+    assertThat(test.subArray(0, 4)).isSameAs(test);
+    assertThat(test.subArray(1, 4).stream().collect(toList())).containsExactly(SENS_1, SENS_IRREGULAR, SENS_2);
+    assertThat(test.subArray(1, 4).getIrregularScenarios()).containsOnlyKeys(1);
+    assertThat(test.subArray(2, 4).stream().collect(toList())).containsExactly(SENS_IRREGULAR, SENS_2);
+    assertThat(test.subArray(2, 4).getFirstScenario()).isEqualTo(SENS_IRREGULAR);
+    assertThat(test.subArray(3, 3).getScenarioCount()).isEqualTo(0);
+    assertThatIllegalArgumentException().isThrownBy(() -> test.subArray(3, 2));
+    assertThatIllegalArgumentException().isThrownBy(() -> test.subArray(0, 5));
+  }
+
+  @Test
+  public void test_multipliedBy() {
+    CurrencyParameterSensitivitiesScenarioArray test =
+        CurrencyParameterSensitivitiesScenarioArray.of(SENS_0, SENS_IRREGULAR, SENS_2).multipliedBy(2d);
+    assertThat(test.stream().collect(toList())).containsExactly(
+        SENS_0.multipliedBy(2d), SENS_IRREGULAR.multipliedBy(2d), SENS_2.multipliedBy(2d));
+  }
+
+  @Test
+  public void test_combinedWith() {
+    CurrencyParameterSensitivitiesScenarioArray base =
+        CurrencyParameterSensitivitiesScenarioArray.of(SENS_0, SENS_1, SENS_IRREGULAR);
+    CurrencyParameterSensitivitiesScenarioArray other =
+        CurrencyParameterSensitivitiesScenarioArray.of(SENS_OTHER, SENS_0, SENS_OTHER);
+    CurrencyParameterSensitivitiesScenarioArray test = base.combinedWith(other);
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    for (int i = 0; i < 3; i++) {
+      assertThat(test.get(i)).isEqualTo(base.get(i).combinedWith(other.get(i)));
+    }
+    assertThat(test.getIrregularScenarios()).containsOnlyKeys(1, 2);
+  }
+
+  @Test
+  public void test_combinedWith_irregularWithRegular() {
+    CurrencyParameterSensitivitiesScenarioArray base =
+        CurrencyParameterSensitivitiesScenarioArray.of(SENS_0, SENS_IRREGULAR, SENS_2);
+    CurrencyParameterSensitivitiesScenarioArray other =
+        CurrencyParameterSensitivitiesScenarioArray.of(SENS_1, SENS_1, SENS_1);
+    CurrencyParameterSensitivitiesScenarioArray test = base.combinedWith(other);
+    assertThat(test.getIrregularScenarios()).containsOnlyKeys(1);
+    MultiCurrencyScenarioArray total = test.total();
+    for (int i = 0; i < 3; i++) {
+      CurrencyParameterSensitivities expected = base.get(i).combinedWith(other.get(i));
+      assertThat(test.get(i)).isEqualTo(expected);
+      assertThat(total.get(i)).isEqualTo(expected.total());
+    }
+    assertThat(test.getValues(NAME2, EUR).row(1)).isEqualTo(DoubleArray.of(24, 30));
+    assertThat(test.getValues(NAME1, USD).row(1))
+        .isEqualTo(SENS_IRREGULAR.combinedWith(SENS_1).getSensitivity(NAME1, USD).getSensitivity());
+  }
+
+  @Test
+  public void test_combinedWith_invalid() {
+    CurrencyParameterSensitivitiesScenarioArray base = CurrencyParameterSensitivitiesScenarioArray.of(SENS_0, SENS_1);
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> base.combinedWith(CurrencyParameterSensitivitiesScenarioArray.of(SENS_0)));
+    CurrencyParameterSensitivities small = CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(NAME1, ParameterMetadata.listOfEmpty(1), USD, DoubleArray.of(1)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> base.combinedWith(CurrencyParameterSensitivitiesScenarioArray.of(small, small)));
+  }
+
+  @Test
+  public void test_total() {
+    CurrencyParameterSensitivitiesScenarioArray test =
+        CurrencyParameterSensitivitiesScenarioArray.of(SENS_0, SENS_IRREGULAR, SENS_OTHER);
+    MultiCurrencyScenarioArray total = test.total();
+    assertThat(total.getScenarioCount()).isEqualTo(3);
+    assertThat(total.getValues(USD)).isEqualTo(DoubleArray.of(6, 24, 60));
+    assertThat(total.getValues(EUR)).isEqualTo(DoubleArray.of(9, 36, 15));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_convertedTo() {
+    CurrencyParameterSensitivitiesScenarioArray test =
+        CurrencyParameterSensitivitiesScenarioArray.of(SENS_OTHER, SENS_IRREGULAR, SENS_OTHER);
+    ScenarioFxRateProvider fxProvider = new TestFxRateProvider(DoubleArray.of(1.1, 1.2, 1.3));
+    CurrencyParameterSensitivitiesScenarioArray converted = test.convertedTo(USD, fxProvider);
+    assertThat(converted.getScenarioCount()).isEqualTo(3);
+    for (int i = 0; i < 3; i++) {
+      CurrencyParameterSensitivities expected = test.get(i).convertedTo(USD, fxProvider.fxRateProvider(i));
+      assertThat(converted.get(i).equalWithTolerance(expected, TOLERANCE)).isTrue();
+    }
+    assertThat(converted.getFirstScenario().size()).isEqualTo(1);
+    assertThat(converted.getValues(NAME1, USD).row(2)).isEqualTo(DoubleArray.of(10 + 5 * 1.3, 20 + 5 * 1.3, 30 + 5 * 1.3));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> test.convertedTo(USD, new TestFxRateProvider(DoubleArray.of(1.1))));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void coverage() {
+    CurrencyParameterSensitivitiesScenarioArray test = CurrencyParameterSensitivitiesScenarioArray.of(SENS_0, SENS_1);
+    coverImmutableBean(test);
+    CurrencyParameterSensitivitiesScenarioArray test2 = CurrencyParameterSensitivitiesScenarioArray.of(SENS_OTHER);
+    coverBeanEquals(test, test2);
+  }
+
+  //-------------------------------------------------------------------------
+  // provides an EUR/USD rate for each scenario
+  private static final class TestFxRateProvider implements ScenarioFxRateProvider {
+    private final DoubleArray rates;
+
+    private TestFxRateProvider(DoubleArray rates) {
+      this.rates = rates;
+    }
+
+    @Override
+    public int getScenarioCount() {
+      return rates.size();
+    }
+
+    @Override
+    public FxRateProvider fxRateProvider(int scenarioIndex) {
+      return FxMatrix.of(EUR, USD, rates.get(scenarioIndex));
+    }
+  }
+
+}
@@ -151,6 +151,41 @@ public class CurrencyParameterSensitivitiesTest {
     assertThat(test.getSensitivities().get(0).getSensitivity()).isEqualTo(DoubleArray.of(300, 600, 600, 246));
   }
 
+  @Test
+  public void test_accumulator() {
+    CurrencyParameterSensitivitiesAccumulator test = CurrencyParameterSensitivities.accumulator();
+    assertThat(test.isEmpty()).isTrue();
+    test.add(SENSI_1).add(ENTRY_USD2).addMultiplied(CurrencyParameterSensitivities.of(ENTRY_EUR), 2d);
+    assertThat(test.isEmpty()).isFalse();
+    assertThat(test.toSensitivities()).isEqualTo(
+        CurrencyParameterSensitivities.of(ENTRY_USD_TOTAL, ENTRY_EUR.multipliedBy(2d)));
+    assertThat(test.toString()).contains("NAME-1");
+  }
+
+  @Test
+  public void test_accumulator_combine() {
+    CurrencyParameterSensitivitiesAccumulator test = CurrencyParameterSensitivities.accumulator().add(SENSI_1);
+    CurrencyParameterSensitivitiesAccumulator other = CurrencyParameterSensitivities.accumulator().add(SENSI_2);
+    test.add(other);
+    assertThat(test.toSensitivities()).isEqualTo(SENSI_1.combinedWith(SENSI_2));
+    assertThat(other.toSensitivities()).isEqualTo(SENSI_2);
+  }
+
+  @Test
+  public void test_accumulator_sizeMismatch() {
+    CurrencyParameterSensitivitiesAccumulator test = CurrencyParameterSensitivities.accumulator().add(ENTRY_USD);
+    assertThatIllegalArgumentException().isThrownBy(() -> test.add(ENTRY_USD_SMALL));
+  }
+
+  @Test
+  public void test_toCombinedSensitivities() {
+    List<CurrencyParameterSensitivities> list = ImmutableList.of(SENSI_1, SENSI_2, SENSI_1);
+    CurrencyParameterSensitivities expected = SENSI_1.combinedWith(SENSI_2).combinedWith(SENSI_1);
+    assertThat(list.stream().collect(CurrencyParameterSensitivities.toCombinedSensitivities())).isEqualTo(expected);
+    assertThat(list.parallelStream().collect(CurrencyParameterSensitivities.toCombinedSensitivities()))
+        .isEqualTo(expected);
+  }
+
   @Test
   public void test_builder_emptyMetadata() {
     assertThatIllegalArgumentException().isThrownBy(() -> CurrencyParameterSensitivities.builder().add(ENTRY_USD));
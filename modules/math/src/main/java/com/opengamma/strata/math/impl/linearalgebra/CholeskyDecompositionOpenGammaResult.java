@@ -49,10 +49,22 @@ public class CholeskyDecompositionOpenGammaResult implements CholeskyDecompositi
 
   @Override
   public double[] solve(double[] b) {
-    int dim = b.length;
+    double[] x = b.clone();
+    solveInPlace(x);
+    return x;
+  }
+
+  /**
+   * Solves $\mathbf{A}x = b$ in place, overwriting the vector b with the solution x.
+   * <p>
+   * This does not allocate any memory, and is intended for use when solving many
+   * systems with the same matrix.
+   * 
+   * @param x  the vector b on input, the solution x on output
+   */
+  public void solveInPlace(double[] x) {
+    int dim = x.length;
     ArgChecker.isTrue(dim == _lArray.length, "b array of incorrect size");
-    double[] x = new double[dim];
-    System.arraycopy(b, 0, x, 0, dim);
     // L y = b (y stored in x array)
     for (int looprow = 0; looprow < dim; looprow++) {
       x[looprow] /= _lArray[looprow][looprow];
@@ -67,7 +79,6 @@ public class CholeskyDecompositionOpenGammaResult implements CholeskyDecompositi
         x[j] -= x[looprow] * _lArray[looprow][j];
       }
     }
-    return x;
   }
 
   @Override
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.linearalgebra.Decomposition;
+
+/**
+ * OpenGamma implementation of the LU decomposition with partial pivoting.
+ * <p>
+ * The decomposition works directly on a copy of the matrix data, without conversion to another library.
+ * The rows of the matrix are eliminated in place, which is cache-friendly for the row-based storage
+ * of {@link DoubleMatrix}. The result can be used to solve many systems with the same matrix,
+ * including in place using {@link LUDecompositionOpenGammaResult#solveInPlace(double[])}.
+ */
+// CSOFF: AbbreviationAsWordInName
+public class LUDecompositionOpenGamma implements Decomposition<LUDecompositionResult> {
+
+  /**
+   * The default threshold below which the absolute value of a pivot is considered to be zero.
+   * This is the same as the threshold used by Commons Math.
+   */
+  public static final double DEFAULT_SINGULARITY_THRESHOLD = 1.0E-11;
+
+  /**
+   * The singularity threshold.
+   */
+  private final double _singularityThreshold;
+
+  /**
+   * Creates an instance using the default singularity threshold.
+   */
+  public LUDecompositionOpenGamma() {
+    this(DEFAULT_SINGULARITY_THRESHOLD);
+  }
+
+  /**
+   * Creates an instance using the specified singularity threshold.
+   *
+   * @param singularityThreshold  the threshold below which the absolute value of a pivot is considered to be zero
+   */
+  public LUDecompositionOpenGamma(double singularityThreshold) {
+    _singularityThreshold = ArgChecker.notNegative(singularityThreshold, "singularityThreshold");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LUDecompositionOpenGammaResult apply(DoubleMatrix x) {
+    ArgChecker.notNull(x, "x");
+    ArgChecker.isTrue(x.isSquare(), "Matrix not square");
+    int n = x.rowCount();
+    double[][] lu = x.toArray();
+    int[] pivot = new int[n];
+    int[] swaps = new int[n];
+    for (int i = 0; i < n; i++) {
+      pivot[i] = i;
+    }
+    boolean even = true;
+    for (int k = 0; k < n; k++) {
+      // find the pivot, the largest absolute value in the column
+      int max = k;
+      double largest = Math.abs(lu[k][k]);
+      for (int i = k + 1; i < n; i++) {
+        double abs = Math.abs(lu[i][k]);
+        if (abs > largest) {
+          largest = abs;
+          max = i;
+        }
+      }
+      if (largest < _singularityThreshold) {
+        return new LUDecompositionOpenGammaResult(lu, pivot, swaps, even, true);
+      }
+      swaps[k] = max;
+      if (max != k) {
+        double[] tmpRow = lu[max];
+        lu[max] = lu[k];
+        lu[k] = tmpRow;
+        int tmpPivot = pivot[max];
+        pivot[max] = pivot[k];
+        pivot[k] = tmpPivot;
+        even = !even;
+      }
+      // eliminate the rows below the pivot
+      double[] rowK = lu[k];
+      double diagonal = rowK[k];
+      for (int i = k + 1; i < n; i++) {
+        double[] rowI = lu[i];
+        double factor = rowI[k] / diagonal;
+        rowI[k] = factor;
+        for (int j = k + 1; j < n; j++) {
+          rowI[j] -= factor * rowK[j];
+        }
+      }
+    }
+    return new LUDecompositionOpenGammaResult(lu, pivot, swaps, even, false);
+  }
+
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Results of the OpenGamma implementation of LU decomposition.
+ * <p>
+ * The matrix is decomposed once, and the result can be used to solve many systems.
+ * The in-place methods do not allocate any memory.
+ */
+// CSOFF: AbbreviationAsWordInName
+public class LUDecompositionOpenGammaResult implements LUDecompositionResult {
+
+  /**
+   * The combined L and U matrices, the unit diagonal of L is not stored.
+   */
+  private final double[][] _lu;
+  /**
+   * The pivot permutation, the original row of each row of the decomposition.
+   */
+  private final int[] _pivot;
+  /**
+   * The row interchanges, the row swapped with each row in turn during the elimination.
+   */
+  private final int[] _swaps;
+  /**
+   * Whether the number of row interchanges is even.
+   */
+  private final boolean _even;
+  /**
+   * Whether the matrix is singular.
+   */
+  private final boolean _singular;
+
+  /**
+   * Constructor.
+   *
+   * @param lu  the combined L and U matrices
+   * @param pivot  the pivot permutation
+   * @param swaps  the row interchanges
+   * @param even  whether the number of row interchanges is even
+   * @param singular  whether the matrix is singular
+   */
+  LUDecompositionOpenGammaResult(double[][] lu, int[] pivot, int[] swaps, boolean even, boolean singular) {
+    _lu = lu;
+    _pivot = pivot;
+    _swaps = swaps;
+    _even = even;
+    _singular = singular;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the decomposed matrix is singular.
+   * <p>
+   * If the matrix is singular, the solve methods throw an exception.
+   *
+   * @return true if the matrix is singular
+   */
+  public boolean isSingular() {
+    return _singular;
+  }
+
+  @Override
+  public double[] solve(double[] b) {
+    ArgChecker.notNull(b, "b");
+    double[] x = b.clone();
+    solveInPlace(x);
+    return x;
+  }
+
+  /**
+   * Solves $\mathbf{A}x = b$ in place, overwriting the vector b with the solution x.
+   * <p>
+   * This does not allocate any memory, and is intended for use when solving many
+   * systems with the same matrix.
+   *
+   * @param x  the vector b on input, the solution x on output
+   * @throws IllegalArgumentException if the matrix is singular
+   */
+  public void solveInPlace(double[] x) {
+    ArgChecker.notNull(x, "x");
+    int n = _lu.length;
+    ArgChecker.isTrue(x.length == n, "b array of incorrect size");
+    checkNotSingular();
+    // P b
+    for (int k = 0; k < n; k++) {
+      int swap = _swaps[k];
+      if (swap != k) {
+        double tmp = x[k];
+        x[k] = x[swap];
+        x[swap] = tmp;
+      }
+    }
+    // L y = P b
+    for (int i = 1; i < n; i++) {
+      double[] luRow = _lu[i];
+      double sum = x[i];
+      for (int k = 0; k < i; k++) {
+        sum -= luRow[k] * x[k];
+      }
+      x[i] = sum;
+    }
+    // U x = y
+    for (int i = n - 1; i >= 0; i--) {
+      double[] luRow = _lu[i];
+      double sum = x[i];
+      for (int k = i + 1; k < n; k++) {
+        sum -= luRow[k] * x[k];
+      }
+      x[i] = sum / luRow[i];
+    }
+  }
+
+  @Override
+  public DoubleMatrix solve(DoubleMatrix b) {
+    ArgChecker.notNull(b, "b");
+    double[][] x = b.toArray();
+    solveInPlace(x);
+    return DoubleMatrix.ofUnsafe(x);
+  }
+
+  /**
+   * Solves $\mathbf{A}\mathbf{X} = \mathbf{B}$ in place, overwriting the matrix B with the solution X.
+   * <p>
+   * The rows of the array may be reordered, thus the row arrays must not be shared with other matrices.
+   * This does not allocate any memory, and is intended for use when solving many
+   * systems with the same matrix, such as when calculating the inverse.
+   *
+   * @param x  the matrix B on input, the solution X on output
+   * @throws IllegalArgumentException if the matrix is singular
+   */
+  public void solveInPlace(double[][] x) {
+    ArgChecker.notNull(x, "x");
+    int n = _lu.length;
+    ArgChecker.isTrue(x.length == n, "b array of incorrect size");
+    checkNotSingular();
+    // P B
+    for (int k = 0; k < n; k++) {
+      int swap = _swaps[k];
+      if (swap != k) {
+        double[] tmp = x[k];
+        x[k] = x[swap];
+        x[swap] = tmp;
+      }
+    }
+    int nbCol = n == 0 ? 0 : x[0].length;
+    // L Y = P B, processing whole rows of B at a time
+    for (int i = 1; i < n; i++) {
+      double[] luRow = _lu[i];
+      double[] xRow = x[i];
+      for (int k = 0; k < i; k++) {
+        double factor = luRow[k];
+        double[] xRowK = x[k];
+        for (int j = 0; j < nbCol; j++) {
+          xRow[j] -= factor * xRowK[j];
+        }
+      }
+    }
+    // U X = Y
+    for (int i = n - 1; i >= 0; i--) {
+      double[] luRow = _lu[i];
+      double[] xRow = x[i];
+      for (int k = i + 1; k < n; k++) {
+        double factor = luRow[k];
+        double[] xRowK = x[k];
+        for (int j = 0; j < nbCol; j++) {
+          xRow[j] -= factor * xRowK[j];
+        }
+      }
+      double diagonal = luRow[i];
+      for (int j = 0; j < nbCol; j++) {
+        xRow[j] /= diagonal;
+      }
+    }
+  }
+
+  /**
+   * Calculates the inverse of the decomposed matrix.
+   *
+   * @return the inverse
+   * @throws IllegalArgumentException if the matrix is singular
+   */
+  public DoubleMatrix getInverse() {
+    double[][] inverse = DoubleMatrix.identity(_lu.length).toArray();
+    solveInPlace(inverse);
+    return DoubleMatrix.ofUnsafe(inverse);
+  }
+
+  // checks the matrix is not singular
+  private void checkNotSingular() {
+    if (_singular) {
+      throw new IllegalArgumentException("Matrix is singular");
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DoubleMatrix getL() {
+    int n = _lu.length;
+    return DoubleMatrix.of(n, n, (i, j) -> i > j ? _lu[i][j] : (i == j ? 1d : 0d));
+  }
+
+  @Override
+  public DoubleMatrix getU() {
+    int n = _lu.length;
+    return DoubleMatrix.of(n, n, (i, j) -> i <= j ? _lu[i][j] : 0d);
+  }
+
+  @Override
+  public DoubleMatrix getP() {
+    int n = _lu.length;
+    return DoubleMatrix.of(n, n, (i, j) -> _pivot[i] == j ? 1d : 0d);
+  }
+
+  @Override
+  public int[] getPivot() {
+    return _pivot.clone();
+  }
+
+  @Override
+  public double getDeterminant() {
+    if (_singular) {
+      return 0d;
+    }
+    double determinant = _even ? 1d : -1d;
+    for (int i = 0; i < _lu.length; i++) {
+      determinant *= _lu[i][i];
+    }
+    return determinant;
+  }
+
+}
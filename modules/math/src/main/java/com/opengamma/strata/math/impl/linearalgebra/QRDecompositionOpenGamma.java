@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.linearalgebra.Decomposition;
+
+/**
+ * OpenGamma implementation of the QR decomposition using Householder reflections.
+ * <p>
+ * The decomposition works directly on a transposed copy of the matrix data, without conversion
+ * to another library, such that each Householder vector is held in a contiguous array.
+ * The result can be used to solve many least-squares systems with the same matrix,
+ * including in place using {@link QRDecompositionOpenGammaResult#solveInPlace(double[])}.
+ */
+// CSOFF: AbbreviationAsWordInName
+public class QRDecompositionOpenGamma implements Decomposition<QRDecompositionResult> {
+
+  /**
+   * The default threshold at or below which the absolute value of a diagonal element of R
+   * is considered to be zero. This is the same as the threshold used by Commons Math.
+   */
+  public static final double DEFAULT_SINGULARITY_THRESHOLD = 0d;
+
+  /**
+   * The singularity threshold.
+   */
+  private final double _singularityThreshold;
+
+  /**
+   * Creates an instance using the default singularity threshold.
+   */
+  public QRDecompositionOpenGamma() {
+    this(DEFAULT_SINGULARITY_THRESHOLD);
+  }
+
+  /**
+   * Creates an instance using the specified singularity threshold.
+   *
+   * @param singularityThreshold  the threshold at or below which the absolute value of a diagonal element
+   *   of R is considered to be zero
+   */
+  public QRDecompositionOpenGamma(double singularityThreshold) {
+    _singularityThreshold = ArgChecker.notNegative(singularityThreshold, "singularityThreshold");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public QRDecompositionOpenGammaResult apply(DoubleMatrix x) {
+    ArgChecker.notNull(x, "x");
+    int m = x.rowCount();
+    int n = x.columnCount();
+    double[][] qrt = x.transpose().toArray();
+    int minDim = Math.min(m, n);
+    double[] rDiag = new double[minDim];
+    for (int minor = 0; minor < minDim; minor++) {
+      double[] qrtMinor = qrt[minor];
+      double xNormSqr = 0d;
+      for (int row = minor; row < m; row++) {
+        double c = qrtMinor[row];
+        xNormSqr += c * c;
+      }
+      double a = qrtMinor[minor] > 0 ? -Math.sqrt(xNormSqr) : Math.sqrt(xNormSqr);
+      rDiag[minor] = a;
+      if (a != 0d) {
+        // the Householder vector is v = x - a e, stored in place of x
+        qrtMinor[minor] -= a;
+        double denominator = a * qrtMinor[minor];
+        for (int col = minor + 1; col < n; col++) {
+          double[] qrtCol = qrt[col];
+          double alpha = 0d;
+          for (int row = minor; row < m; row++) {
+            alpha -= qrtCol[row] * qrtMinor[row];
+          }
+          alpha /= denominator;
+          for (int row = minor; row < m; row++) {
+            qrtCol[row] -= alpha * qrtMinor[row];
+          }
+        }
+      }
+    }
+    return new QRDecompositionOpenGammaResult(qrt, rDiag, m, _singularityThreshold);
+  }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Results of the OpenGamma implementation of QR decomposition.
+ * <p>
+ * The matrix is decomposed once, and the result can be used to solve many systems.
+ * For a matrix with more rows than columns, the solution is the least-squares solution.
+ * The in-place methods do not allocate any memory.
+ */
+// CSOFF: AbbreviationAsWordInName
+public class QRDecompositionOpenGammaResult implements QRDecompositionResult {
+
+  /**
+   * The transpose of the decomposed matrix, holding the Householder vectors and R above the diagonal.
+   */
+  private final double[][] _qrt;
+  /**
+   * The diagonal elements of R.
+   */
+  private final double[] _rDiag;
+  /**
+   * The number of rows of the decomposed matrix.
+   */
+  private final int _rowCount;
+  /**
+   * Whether the matrix is singular.
+   */
+  private final boolean _singular;
+
+  /**
+   * Constructor.
+   *
+   * @param qrt  the transposed decomposition
+   * @param rDiag  the diagonal elements of R
+   * @param rowCount  the number of rows of the decomposed matrix
+   * @param singularityThreshold  the singularity threshold
+   */
+  QRDecompositionOpenGammaResult(double[][] qrt, double[] rDiag, int rowCount, double singularityThreshold) {
+    _qrt = qrt;
+    _rDiag = rDiag;
+    _rowCount = rowCount;
+    boolean singular = false;
+    for (double diagonal : rDiag) {
+      if (Math.abs(diagonal) <= singularityThreshold) {
+        singular = true;
+      }
+    }
+    _singular = singular;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the decomposed matrix is singular.
+   * <p>
+   * If the matrix is singular, the solve methods throw an exception.
+   *
+   * @return true if the matrix is singular
+   */
+  public boolean isSingular() {
+    return _singular;
+  }
+
+  @Override
+  public double[] solve(double[] b) {
+    ArgChecker.notNull(b, "b");
+    double[] y = b.clone();
+    solveInPlace(y);
+    double[] x = new double[_qrt.length];
+    System.arraycopy(y, 0, x, 0, x.length);
+    return x;
+  }
+
+  /**
+   * Solves $\mathbf{A}x = b$ in place, overwriting the vector b.
+   * <p>
+   * The vector b has one element for each row of the matrix.
+   * On output, the first elements of the vector, one for each column of the matrix, contain the solution x.
+   * This does not allocate any memory, and is intended for use when solving many
+   * systems with the same matrix.
+   *
+   * @param y  the vector b on input, the solution x followed by the residual terms on output
+   * @throws IllegalArgumentException if the matrix is singular
+   */
+  public void solveInPlace(double[] y) {
+    ArgChecker.notNull(y, "y");
+    ArgChecker.isTrue(y.length == _rowCount, "b array of incorrect size");
+    ArgChecker.isTrue(_rowCount >= _qrt.length, "Matrix must have at least as many rows as columns");
+    if (_singular) {
+      throw new IllegalArgumentException("Matrix is singular");
+    }
+    // Q^T b
+    for (int minor = 0; minor < _rDiag.length; minor++) {
+      double[] qrtMinor = _qrt[minor];
+      double dotProduct = 0d;
+      for (int row = minor; row < _rowCount; row++) {
+        dotProduct += y[row] * qrtMinor[row];
+      }
+      dotProduct /= _rDiag[minor] * qrtMinor[minor];
+      for (int row = minor; row < _rowCount; row++) {
+        y[row] += dotProduct * qrtMinor[row];
+      }
+    }
+    // R x = Q^T b
+    for (int row = _rDiag.length - 1; row >= 0; row--) {
+      y[row] /= _rDiag[row];
+      double yRow = y[row];
+      double[] qrtRow = _qrt[row];
+      for (int i = 0; i < row; i++) {
+        y[i] -= yRow * qrtRow[i];
+      }
+    }
+  }
+
+  @Override
+  public DoubleMatrix solve(DoubleMatrix b) {
+    ArgChecker.notNull(b, "b");
+    ArgChecker.isTrue(b.rowCount() == _rowCount, "b matrix of incorrect size");
+    int nbCol = b.columnCount();
+    double[][] x = new double[_qrt.length][nbCol];
+    double[] y = new double[_rowCount];
+    for (int j = 0; j < nbCol; j++) {
+      for (int i = 0; i < _rowCount; i++) {
+        y[i] = b.get(i, j);
+      }
+      solveInPlace(y);
+      for (int i = 0; i < x.length; i++) {
+        x[i][j] = y[i];
+      }
+    }
+    return DoubleMatrix.ofUnsafe(x);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DoubleMatrix getQ() {
+    return getQT().transpose();
+  }
+
+  @Override
+  public DoubleMatrix getQT() {
+    int m = _rowCount;
+    double[][] qta = new double[m][m];
+    for (int minor = m - 1; minor >= _rDiag.length; minor--) {
+      qta[minor][minor] = 1d;
+    }
+    for (int minor = _rDiag.length - 1; minor >= 0; minor--) {
+      double[] qrtMinor = _qrt[minor];
+      qta[minor][minor] = 1d;
+      if (qrtMinor[minor] != 0d) {
+        for (int col = minor; col < m; col++) {
+          double[] qtaCol = qta[col];
+          double alpha = 0d;
+          for (int row = minor; row < m; row++) {
+            alpha -= qtaCol[row] * qrtMinor[row];
+          }
+          alpha /= _rDiag[minor] * qrtMinor[minor];
+          for (int row = minor; row < m; row++) {
+            qtaCol[row] -= alpha * qrtMinor[row];
+          }
+        }
+      }
+    }
+    return DoubleMatrix.ofUnsafe(qta);
+  }
+
+  @Override
+  public DoubleMatrix getR() {
+    int n = _qrt.length;
+    double[][] r = new double[_rowCount][n];
+    for (int row = _rDiag.length - 1; row >= 0; row--) {
+      r[row][row] = _rDiag[row];
+      for (int col = row + 1; col < n; col++) {
+        r[row][col] = _qrt[col][row];
+      }
+    }
+    return DoubleMatrix.ofUnsafe(r);
+  }
+
+}
@@ -0,0 +1,429 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.matrix;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.array.Matrix;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionOpenGamma;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionOpenGammaResult;
+import com.opengamma.strata.math.impl.linearalgebra.TridiagonalMatrix;
+
+/**
+ * Matrix algebra operating directly on the storage of {@link DoubleMatrix} and {@link DoubleArray}.
+ * <p>
+ * Unlike {@link CommonsMatrixAlgebra}, the matrices are not copied to and from another library.
+ * Matrix multiplication is blocked so that the rows being combined remain in the processor cache,
+ * with each element summed in the same order as a simple triple loop.
+ * The inverse and determinant of a square matrix are calculated using an LU decomposition.
+ * <p>
+ * If a matrix is singular or not square, the inverse is the pseudo-inverse calculated using a
+ * singular value decomposition, as for {@link CommonsMatrixAlgebra}. The condition number
+ * and the 2-norm of a matrix are also based on the singular value decomposition.
+ * <p>
+ * Methods taking arrays are provided that write the result into a supplied array,
+ * allowing repeated calculations without allocation.
+ */
+public class DenseMatrixAlgebra extends MatrixAlgebra {
+
+  /**
+   * The size of the blocks used in matrix multiplication.
+   */
+  private static final int BLOCK_SIZE = 64;
+  /**
+   * The algebra used for operations based on the singular value decomposition.
+   */
+  private static final CommonsMatrixAlgebra COMMONS = new CommonsMatrixAlgebra();
+  /**
+   * The algebra used for tridiagonal matrices.
+   */
+  private static final OGMatrixAlgebra OG = new OGMatrixAlgebra();
+  /**
+   * The LU decomposition.
+   */
+  private static final LUDecompositionOpenGamma LU = new LUDecompositionOpenGamma();
+
+  //-------------------------------------------------------------------------
+  /**
+   * {@inheritDoc}
+   * This is based on the singular value decomposition.
+   */
+  @Override
+  public double getCondition(Matrix m) {
+    return COMMONS.getCondition(m);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getDeterminant(Matrix m) {
+    DoubleMatrix matrix = toMatrix(m, "determinant");
+    ArgChecker.isTrue(matrix.isSquare(), "Matrix not square");
+    return LU.apply(matrix).getDeterminant();
+  }
+
+  /**
+   * {@inheritDoc}
+   * If the matrix is singular or not square, the pseudo-inverse is returned.
+   */
+  @Override
+  public DoubleMatrix getInverse(Matrix m) {
+    DoubleMatrix matrix = toMatrix(m, "inverse");
+    if (matrix.isSquare()) {
+      LUDecompositionOpenGammaResult lu = LU.apply(matrix);
+      if (!lu.isSingular()) {
+        return lu.getInverse();
+      }
+    }
+    return COMMONS.getInverse(matrix);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getInnerProduct(Matrix m1, Matrix m2) {
+    ArgChecker.notNull(m1, "m1");
+    ArgChecker.notNull(m2, "m2");
+    if (m1 instanceof DoubleArray && m2 instanceof DoubleArray) {
+      double[] array1 = ((DoubleArray) m1).toArrayUnsafe();
+      double[] array2 = ((DoubleArray) m2).toArrayUnsafe();
+      ArgChecker.isTrue(array1.length == array2.length, "Arrays must have the same size");
+      double sum = 0d;
+      for (int i = 0; i < array1.length; i++) {
+        sum += array1[i] * array2[i];
+      }
+      return sum;
+    }
+    throw new IllegalArgumentException("Can only find inner product of DoubleArray; have " + m1.getClass() +
+        " and " + m2.getClass());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix getOuterProduct(Matrix m1, Matrix m2) {
+    ArgChecker.notNull(m1, "m1");
+    ArgChecker.notNull(m2, "m2");
+    if (m1 instanceof DoubleArray && m2 instanceof DoubleArray) {
+      double[] array1 = ((DoubleArray) m1).toArrayUnsafe();
+      double[] array2 = ((DoubleArray) m2).toArrayUnsafe();
+      double[][] result = new double[array1.length][array2.length];
+      for (int i = 0; i < array1.length; i++) {
+        double[] row = result[i];
+        double value = array1[i];
+        for (int j = 0; j < array2.length; j++) {
+          row[j] = value * array2[j];
+        }
+      }
+      return DoubleMatrix.ofUnsafe(result);
+    }
+    throw new IllegalArgumentException("Can only find outer product of DoubleArray; have " + m1.getClass() +
+        " and " + m2.getClass());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getNorm1(Matrix m) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleArray) {
+      double sum = 0d;
+      for (double value : ((DoubleArray) m).toArrayUnsafe()) {
+        sum += Math.abs(value);
+      }
+      return sum;
+    } else if (m instanceof DoubleMatrix) {
+      DoubleMatrix matrix = (DoubleMatrix) m;
+      double[] columnSums = new double[matrix.columnCount()];
+      for (double[] row : matrix.toArrayUnsafe()) {
+        for (int j = 0; j < row.length; j++) {
+          columnSums[j] += Math.abs(row[j]);
+        }
+      }
+      double max = 0d;
+      for (double sum : columnSums) {
+        max = Math.max(max, sum);
+      }
+      return max;
+    }
+    throw new IllegalArgumentException("Can only find norm1 of DoubleMatrix; have " + m.getClass());
+  }
+
+  /**
+   * {@inheritDoc}
+   * The 2-norm of a matrix is based on the singular value decomposition.
+   */
+  @Override
+  public double getNorm2(Matrix m) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleArray) {
+      double sum = 0d;
+      for (double value : ((DoubleArray) m).toArrayUnsafe()) {
+        sum += value * value;
+      }
+      return Math.sqrt(sum);
+    }
+    return COMMONS.getNorm2(m);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getNormInfinity(Matrix m) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleArray) {
+      double max = 0d;
+      for (double value : ((DoubleArray) m).toArrayUnsafe()) {
+        max = Math.max(max, Math.abs(value));
+      }
+      return max;
+    } else if (m instanceof DoubleMatrix) {
+      double max = 0d;
+      for (double[] row : ((DoubleMatrix) m).toArrayUnsafe()) {
+        double sum = 0d;
+        for (double value : row) {
+          sum += Math.abs(value);
+        }
+        max = Math.max(max, sum);
+      }
+      return max;
+    }
+    throw new IllegalArgumentException("Can only find normInfinity of DoubleMatrix; have " + m.getClass());
+  }
+
+  /**
+   * {@inheritDoc}
+   * The power is calculated by repeated squaring, and must not be negative.
+   */
+  @Override
+  public DoubleMatrix getPower(Matrix m, int p) {
+    DoubleMatrix matrix = toMatrix(m, "powers");
+    ArgChecker.isTrue(matrix.isSquare(), "Matrix not square");
+    ArgChecker.notNegative(p, "p");
+    DoubleMatrix result = DoubleMatrix.identity(matrix.rowCount());
+    DoubleMatrix square = matrix;
+    int remaining = p;
+    while (remaining > 0) {
+      if ((remaining & 1) == 1) {
+        result = multiply(result, square);
+      }
+      remaining >>= 1;
+      if (remaining > 0) {
+        square = multiply(square, square);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * {@inheritDoc}
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public DoubleMatrix getPower(Matrix m, double p) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getTrace(Matrix m) {
+    DoubleMatrix matrix = toMatrix(m, "trace");
+    ArgChecker.isTrue(matrix.isSquare(), "Matrix not square");
+    double[][] array = matrix.toArrayUnsafe();
+    double sum = 0d;
+    for (int i = 0; i < array.length; i++) {
+      sum += array[i][i];
+    }
+    return sum;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix getTranspose(Matrix m) {
+    return toMatrix(m, "transpose").transpose();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix matrixTransposeMultiplyMatrix(DoubleMatrix a) {
+    ArgChecker.notNull(a, "a");
+    int m = a.columnCount();
+    double[][] data = new double[m][m];
+    // accumulate the contribution of each row of a, in the same order as the column-based calculation
+    for (double[] row : a.toArrayUnsafe()) {
+      for (int i = 0; i < m; i++) {
+        double value = row[i];
+        double[] dataRow = data[i];
+        for (int j = i; j < m; j++) {
+          dataRow[j] += value * row[j];
+        }
+      }
+    }
+    for (int i = 0; i < m; i++) {
+      for (int j = i + 1; j < m; j++) {
+        data[j][i] = data[i][j];
+      }
+    }
+    return DoubleMatrix.ofUnsafe(data);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * {@inheritDoc} The following combinations of input matrices m1 and m2 are allowed:
+   * <ul>
+   * <li>m1 = 2-D matrix, m2 = 2-D matrix, returns $\mathbf{C} = \mathbf{AB}$
+   * <li>m1 = 2-D matrix, m2 = 1-D matrix, returns $\mathbf{C} = \mathbf{A}b$
+   * <li>m1 = 1-D matrix, m2 = 2-D matrix, returns $\mathbf{C} = a^T\mathbf{B}$
+   * </ul>
+   */
+  @Override
+  public Matrix multiply(Matrix m1, Matrix m2) {
+    ArgChecker.notNull(m1, "m1");
+    ArgChecker.notNull(m2, "m2");
+    if (m1 instanceof DoubleMatrix && m2 instanceof DoubleMatrix) {
+      return multiply((DoubleMatrix) m1, (DoubleMatrix) m2);
+    } else if (m1 instanceof DoubleMatrix && m2 instanceof DoubleArray) {
+      DoubleMatrix matrix = (DoubleMatrix) m1;
+      double[] result = new double[matrix.rowCount()];
+      multiply(matrix.toArrayUnsafe(), ((DoubleArray) m2).toArrayUnsafe(), result);
+      return DoubleArray.ofUnsafe(result);
+    } else if (m1 instanceof DoubleArray && m2 instanceof DoubleMatrix) {
+      DoubleMatrix matrix = (DoubleMatrix) m2;
+      double[] result = new double[matrix.columnCount()];
+      multiply(((DoubleArray) m1).toArrayUnsafe(), matrix.toArrayUnsafe(), result);
+      return DoubleArray.ofUnsafe(result);
+    } else if (m1 instanceof TridiagonalMatrix || m2 instanceof TridiagonalMatrix) {
+      return OG.multiply(m1, m2);
+    }
+    throw new IllegalArgumentException(
+        "Can only multiply two DoubleMatrix; a DoubleMatrix and a DoubleArray; " +
+            "or a DoubleArray and a DoubleMatrix. have " + m1.getClass() + " and " + m2.getClass());
+  }
+
+  /**
+   * Multiplies two matrices.
+   *
+   * @param m1  the first matrix
+   * @param m2  the second matrix
+   * @return the product
+   */
+  public DoubleMatrix multiply(DoubleMatrix m1, DoubleMatrix m2) {
+    ArgChecker.notNull(m1, "m1");
+    ArgChecker.notNull(m2, "m2");
+    double[][] result = new double[m1.rowCount()][m2.columnCount()];
+    multiply(m1.toArrayUnsafe(), m2.toArrayUnsafe(), result);
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  /**
+   * Multiplies two matrices, writing the product into the result array.
+   * <p>
+   * The multiplication is blocked, with each element of the result summed in the order of the
+   * inner index, matching a simple triple loop. The result array must not be one of the inputs.
+   *
+   * @param a  the first matrix, with n rows and p columns
+   * @param b  the second matrix, with p rows and m columns
+   * @param result  the array to populate with the n by m product, existing values are overwritten
+   */
+  public void multiply(double[][] a, double[][] b, double[][] result) {
+    int n = a.length;
+    int p = b.length;
+    int m = result.length == 0 ? 0 : result[0].length;
+    ArgChecker.isTrue(result.length == n, "Result has {} rows but {} were expected", result.length, n);
+    for (int i = 0; i < n; i++) {
+      ArgChecker.isTrue(
+          a[i].length == p, "Matrix size mismatch. m1 has {} columns, but m2 has {} rows", a[i].length, p);
+      Arrays.fill(result[i], 0d);
+    }
+    for (int kk = 0; kk < p; kk += BLOCK_SIZE) {
+      int kEnd = Math.min(kk + BLOCK_SIZE, p);
+      for (int jj = 0; jj < m; jj += BLOCK_SIZE) {
+        int jEnd = Math.min(jj + BLOCK_SIZE, m);
+        for (int i = 0; i < n; i++) {
+          double[] aRow = a[i];
+          double[] resultRow = result[i];
+          for (int k = kk; k < kEnd; k++) {
+            double aik = aRow[k];
+            double[] bRow = b[k];
+            for (int j = jj; j < jEnd; j++) {
+              resultRow[j] += aik * bRow[j];
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Multiplies a matrix by a vector, writing the product into the result array.
+   * <p>
+   * The result array must not be the input vector.
+   *
+   * @param a  the matrix, with n rows and p columns
+   * @param x  the vector, with p elements
+   * @param result  the array to populate with the n elements of the product
+   */
+  public void multiply(double[][] a, double[] x, double[] result) {
+    int n = a.length;
+    ArgChecker.isTrue(result.length == n, "Result has {} elements but {} were expected", result.length, n);
+    for (int i = 0; i < n; i++) {
+      double[] aRow = a[i];
+      ArgChecker.isTrue(aRow.length == x.length, "Matrix/vector size mismatch");
+      double sum = 0d;
+      for (int j = 0; j < x.length; j++) {
+        sum += aRow[j] * x[j];
+      }
+      result[i] = sum;
+    }
+  }
+
+  /**
+   * Multiplies the transpose of a vector by a matrix, writing the product into the result array.
+   * <p>
+   * The result array must not be the input vector.
+   *
+   * @param x  the vector, with n elements
+   * @param a  the matrix, with n rows and m columns
+   * @param result  the array to populate with the m elements of the product
+   */
+  public void multiply(double[] x, double[][] a, double[] result) {
+    int n = x.length;
+    ArgChecker.isTrue(a.length == n, "Matrix/vector size mismatch");
+    Arrays.fill(result, 0d);
+    for (int k = 0; k < n; k++) {
+      double[] aRow = a[k];
+      ArgChecker.isTrue(aRow.length == result.length, "Matrix/vector size mismatch");
+      double xk = x[k];
+      for (int j = 0; j < result.length; j++) {
+        result[j] += xk * aRow[j];
+      }
+    }
+  }
+
+  // checks the matrix is a DoubleMatrix
+  private static DoubleMatrix toMatrix(Matrix m, String operation) {
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleMatrix) {
+      return (DoubleMatrix) m;
+    }
+    throw new IllegalArgumentException("Can only find " + operation + " of DoubleMatrix; have " + m.getClass());
+  }
+
+}
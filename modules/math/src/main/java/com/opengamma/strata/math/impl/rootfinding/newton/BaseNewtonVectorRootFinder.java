@@ -16,8 +16,8 @@ import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.math.impl.differentiation.VectorFieldFirstOrderDifferentiator;
+import com.opengamma.strata.math.impl.matrix.DenseMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
-import com.opengamma.strata.math.impl.matrix.OGMatrixAlgebra;
 import com.opengamma.strata.math.impl.rootfinding.VectorRootFinder;
 import com.opengamma.strata.math.rootfind.NewtonVectorRootFinder;
 
@@ -39,7 +39,7 @@ public class BaseNewtonVectorRootFinder
   private final NewtonRootFinderDirectionFunction _directionFunction;
   private final NewtonRootFinderMatrixInitializationFunction _initializationFunction;
   private final NewtonRootFinderMatrixUpdateFunction _updateFunction;
-  private final MatrixAlgebra _algebra = new OGMatrixAlgebra();
+  private final MatrixAlgebra _algebra = new DenseMatrixAlgebra();
 
   public BaseNewtonVectorRootFinder(
       double absoluteTol,
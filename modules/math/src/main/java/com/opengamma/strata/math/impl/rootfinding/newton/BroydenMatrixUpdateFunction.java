@@ -5,7 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding.newton;
 
-import static com.opengamma.strata.math.impl.matrix.MatrixAlgebraFactory.OG_ALGEBRA;
+import static com.opengamma.strata.math.impl.matrix.MatrixAlgebraFactory.DENSE_ALGEBRA;
 
 import java.util.function.Function;
 
@@ -29,13 +29,13 @@ public class BroydenMatrixUpdateFunction implements NewtonRootFinderMatrixUpdate
     ArgChecker.notNull(deltaX, "deltaX");
     ArgChecker.notNull(deltaY, "deltaY");
     ArgChecker.notNull(matrix, "matrix");
-    double length2 = OG_ALGEBRA.getInnerProduct(deltaX, deltaX);
+    double length2 = DENSE_ALGEBRA.getInnerProduct(deltaX, deltaX);
     if (length2 == 0.0) {
       return matrix;
     }
-    Matrix temp = OG_ALGEBRA.subtract(deltaY, OG_ALGEBRA.multiply(matrix, deltaX));
-    temp = OG_ALGEBRA.scale(temp, 1.0 / length2);
-    return (DoubleMatrix) OG_ALGEBRA.add(matrix, OG_ALGEBRA.getOuterProduct(temp, deltaX));
+    Matrix temp = DENSE_ALGEBRA.subtract(deltaY, DENSE_ALGEBRA.multiply(matrix, deltaX));
+    temp = DENSE_ALGEBRA.scale(temp, 1.0 / length2);
+    return (DoubleMatrix) DENSE_ALGEBRA.add(matrix, DENSE_ALGEBRA.getOuterProduct(temp, deltaX));
   }
 
 }
@@ -5,7 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding.newton;
 
-import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionCommons;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionOpenGamma;
 import com.opengamma.strata.math.linearalgebra.Decomposition;
 
 /**
@@ -46,7 +46,7 @@ public class BroydenVectorRootFinder extends BaseNewtonVectorRootFinder {
    * @param maxSteps  the maximum steps
    */
   public BroydenVectorRootFinder(double absoluteTol, double relativeTol, int maxSteps) {
-    this(absoluteTol, relativeTol, maxSteps, new LUDecompositionCommons());
+    this(absoluteTol, relativeTol, maxSteps, new LUDecompositionOpenGamma());
   }
 
   /**
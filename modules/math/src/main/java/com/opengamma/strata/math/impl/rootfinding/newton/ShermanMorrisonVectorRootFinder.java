@@ -5,9 +5,9 @@
  */
 package com.opengamma.strata.math.impl.rootfinding.newton;
 
-import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionCommons;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionOpenGamma;
+import com.opengamma.strata.math.impl.matrix.DenseMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
-import com.opengamma.strata.math.impl.matrix.OGMatrixAlgebra;
 import com.opengamma.strata.math.linearalgebra.Decomposition;
 
 /**
@@ -40,7 +40,7 @@ public class ShermanMorrisonVectorRootFinder extends BaseNewtonVectorRootFinder
    * @param maxSteps  the maximum steps
    */
   public ShermanMorrisonVectorRootFinder(double absoluteTol, double relativeTol, int maxSteps) {
-    this(absoluteTol, relativeTol, maxSteps, new LUDecompositionCommons());
+    this(absoluteTol, relativeTol, maxSteps, new LUDecompositionOpenGamma());
   }
 
   /**
@@ -52,7 +52,7 @@ public class ShermanMorrisonVectorRootFinder extends BaseNewtonVectorRootFinder
    * @param decomp  the decomposition
    */
   public ShermanMorrisonVectorRootFinder(double absoluteTol, double relativeTol, int maxSteps, Decomposition<?> decomp) {
-    this(absoluteTol, relativeTol, maxSteps, decomp, new OGMatrixAlgebra());
+    this(absoluteTol, relativeTol, maxSteps, decomp, new DenseMatrixAlgebra());
   }
 
   /**
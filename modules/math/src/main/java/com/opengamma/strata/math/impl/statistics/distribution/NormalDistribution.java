@@ -26,6 +26,7 @@ import com.opengamma.strata.math.impl.cern.RandomEngine;
 public class NormalDistribution implements ProbabilityDistribution<Double> {
 
   private static final double ROOT2 = Math.sqrt(2);
+  private static final double STANDARD_PDF_FACTOR = 1d / Math.sqrt(2d * Math.PI);
 
   // TODO need a better seed
   private final double _mean;
@@ -89,6 +90,33 @@ public class NormalDistribution implements ProbabilityDistribution<Double> {
     return Probability.normalInverse(p);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the cumulative distribution function of the standard normal distribution.
+   * <p>
+   * This matches {@link #getCDF(Double)} for a mean of 0 and a standard deviation of 1,
+   * but takes a primitive argument so that it can be used in allocation-free loops.
+   * 
+   * @param x  the value at which to evaluate the function
+   * @return the cumulative distribution function
+   */
+  public static double standardCdf(double x) {
+    return DERFC.getErfc(-x / ROOT2) / 2;
+  }
+
+  /**
+   * Computes the probability density function of the standard normal distribution.
+   * <p>
+   * This matches {@link #getPDF(Double)} for a mean of 0 and a standard deviation of 1,
+   * but takes a primitive argument so that it can be used in allocation-free loops.
+   * 
+   * @param x  the value at which to evaluate the function
+   * @return the probability density function
+   */
+  public static double standardPdf(double x) {
+    return STANDARD_PDF_FACTOR * Math.exp(-(x * x) / 2d);
+  }
+
   /**
    * @return The mean
    */
@@ -47,7 +47,7 @@ public class NonLinearLeastSquare {
   private final MatrixAlgebra _algebra;
 
   public NonLinearLeastSquare() {
-    this(DecompositionFactory.SV_COMMONS, MatrixAlgebraFactory.OG_ALGEBRA, 1e-8);
+    this(DecompositionFactory.SV_COMMONS, MatrixAlgebraFactory.DENSE_ALGEBRA, 1e-8);
   }
 
   public NonLinearLeastSquare(Decomposition<?> decomposition, MatrixAlgebra algebra, double eps) {
@@ -34,6 +34,10 @@ public class DecompositionFactoryTest {
         DecompositionFactory.getDecompositionName(DecompositionFactory.getDecomposition(DecompositionFactory.QR_COMMONS_NAME)));
     assertThat(DecompositionFactory.SV_COMMONS_NAME).isEqualTo(
         DecompositionFactory.getDecompositionName(DecompositionFactory.getDecomposition(DecompositionFactory.SV_COMMONS_NAME)));
+    assertThat(DecompositionFactory.LU_OPENGAMMA_NAME).isEqualTo(
+        DecompositionFactory.getDecompositionName(DecompositionFactory.getDecomposition(DecompositionFactory.LU_OPENGAMMA_NAME)));
+    assertThat(DecompositionFactory.QR_OPENGAMMA_NAME).isEqualTo(
+        DecompositionFactory.getDecompositionName(DecompositionFactory.getDecomposition(DecompositionFactory.QR_OPENGAMMA_NAME)));
   }
 
 }
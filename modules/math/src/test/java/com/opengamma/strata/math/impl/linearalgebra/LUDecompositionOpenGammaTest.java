@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.OGMatrixAlgebra;
+
+/**
+ * Tests the LU decomposition OpenGamma implementation.
+ */
+public class LUDecompositionOpenGammaTest {
+
+  private static final MatrixAlgebra ALGEBRA = new OGMatrixAlgebra();
+  private static final LUDecompositionOpenGamma LU = new LUDecompositionOpenGamma();
+  private static final LUDecompositionCommons LU_COMMONS = new LUDecompositionCommons();
+  private static final DoubleMatrix A = DoubleMatrix.copyOf(
+      new double[][] {{1, 2, -1}, {4, 3, 1}, {2, 2, 3}});
+  private static final DoubleMatrix A5 = DoubleMatrix.copyOf(
+      new double[][] {
+          {0.5, 2.0, -1.0, 1.0, 1.0},
+          {2.0, 5.0, -2.0, 0.5, 0.5},
+          {-1.0, -2.0, 15.0, 1.0, 0.5},
+          {7.0, 0.5, 1.0, 10.0, -1.0},
+          {1.0, 0.5, 0.5, -1.0, 25.0}});
+  private static final double EPS = 1e-10;
+
+  @Test
+  public void testNullObjectMatrix() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> LU.apply((DoubleMatrix) null));
+  }
+
+  @Test
+  public void testNotSquare() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> LU.apply(DoubleMatrix.of(2, 3, 1d, 2d, 3d, 4d, 5d, 6d)));
+  }
+
+  /**
+   * Tests P A = L U.
+   */
+  @Test
+  public void testRecoverOriginal() {
+    LUDecompositionOpenGammaResult result = LU.apply(A5);
+    DoubleMatrix lu = (DoubleMatrix) ALGEBRA.multiply(result.getL(), result.getU());
+    checkEquals((DoubleMatrix) ALGEBRA.multiply(result.getP(), A5), lu);
+  }
+
+  /**
+   * Tests the decomposition matches Commons Math.
+   */
+  @Test
+  public void testCompareCommons() {
+    LUDecompositionResult expected = LU_COMMONS.apply(A5);
+    LUDecompositionOpenGammaResult test = LU.apply(A5);
+    assertThat(test.getPivot()).containsExactly(expected.getPivot());
+    checkEquals(expected.getL(), test.getL());
+    checkEquals(expected.getU(), test.getU());
+    checkEquals(expected.getP(), test.getP());
+    assertThat(test.getDeterminant()).isCloseTo(expected.getDeterminant(), offset(EPS));
+    assertThat(LU.apply(A).getDeterminant()).isCloseTo(LU_COMMONS.apply(A).getDeterminant(), offset(EPS));
+  }
+
+  @Test
+  public void testSolveVector() {
+    LUDecompositionOpenGammaResult result = LU.apply(A5);
+    double[] b = new double[] {1.0, 2.0, 3.0, 4.0, -1.0};
+    double[] x = result.solve(b);
+    DoubleArray ax = (DoubleArray) ALGEBRA.multiply(A5, DoubleArray.copyOf(x));
+    assertThat(ax.toArray()).usingComparatorWithPrecision(EPS).containsExactly(b);
+    assertThat(result.solve(DoubleArray.copyOf(b)).toArray()).containsExactly(x);
+    double[] inPlace = b.clone();
+    result.solveInPlace(inPlace);
+    assertThat(inPlace).containsExactly(x);
+  }
+
+  @Test
+  public void testSolveMatrix() {
+    LUDecompositionOpenGammaResult result = LU.apply(A5);
+    DoubleMatrix b = DoubleMatrix.copyOf(
+        new double[][] {{1.0, 2.0}, {2.0, 3.0}, {3.0, 4.0}, {4.0, -2.0}, {-1.0, -1.0}});
+    DoubleMatrix x = result.solve(b);
+    checkEquals(b, (DoubleMatrix) ALGEBRA.multiply(A5, x));
+    for (int j = 0; j < b.columnCount(); j++) {
+      assertThat(x.columnArray(j)).usingComparatorWithPrecision(EPS).containsExactly(result.solve(b.columnArray(j)));
+    }
+  }
+
+  @Test
+  public void testInverse() {
+    DoubleMatrix inverse = LU.apply(A5).getInverse();
+    checkEquals(DoubleMatrix.identity(5), (DoubleMatrix) ALGEBRA.multiply(A5, inverse));
+  }
+
+  @Test
+  public void testSingular() {
+    LUDecompositionOpenGammaResult result = LU.apply(DoubleMatrix.of(2, 2, 1d, 2d, 2d, 4d));
+    assertThat(result.isSingular()).isTrue();
+    assertThat(result.getDeterminant()).isEqualTo(0d);
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> result.solve(new double[] {1d, 2d}));
+    assertThat(LU.apply(A5).isSingular()).isFalse();
+  }
+
+  private void checkEquals(DoubleMatrix x, DoubleMatrix y) {
+    int n = x.rowCount();
+    int m = x.columnCount();
+    assertThat(n).isEqualTo(y.rowCount());
+    assertThat(m).isEqualTo(y.columnCount());
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < m; j++) {
+        assertThat(x.get(i, j)).isCloseTo(y.get(i, j), offset(EPS));
+      }
+    }
+  }
+
+}
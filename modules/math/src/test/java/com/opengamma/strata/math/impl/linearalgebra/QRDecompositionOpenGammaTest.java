@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.OGMatrixAlgebra;
+
+/**
+ * Tests the QR decomposition OpenGamma implementation.
+ */
+public class QRDecompositionOpenGammaTest {
+
+  private static final MatrixAlgebra ALGEBRA = new OGMatrixAlgebra();
+  private static final QRDecompositionOpenGamma QR = new QRDecompositionOpenGamma();
+  private static final QRDecompositionCommons QR_COMMONS = new QRDecompositionCommons();
+  private static final DoubleMatrix A = DoubleMatrix.copyOf(
+      new double[][] {{1, 2, -1}, {4, 3, 1}, {2, 2, 3}, {1, -1, 0.5}});
+  private static final double EPS = 1e-10;
+
+  @Test
+  public void testNullObjectMatrix() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> QR.apply((DoubleMatrix) null));
+  }
+
+  /**
+   * Tests A = Q R.
+   */
+  @Test
+  public void testRecoverOriginal() {
+    QRDecompositionOpenGammaResult result = QR.apply(A);
+    checkEquals(A, (DoubleMatrix) ALGEBRA.multiply(result.getQ(), result.getR()));
+    checkEquals(DoubleMatrix.identity(4), (DoubleMatrix) ALGEBRA.multiply(result.getQT(), result.getQ()));
+  }
+
+  /**
+   * Tests the decomposition and least-squares solution match Commons Math.
+   */
+  @Test
+  public void testCompareCommons() {
+    QRDecompositionResult expected = QR_COMMONS.apply(A);
+    QRDecompositionOpenGammaResult test = QR.apply(A);
+    checkEquals(expected.getQ(), test.getQ());
+    checkEquals(expected.getR(), test.getR());
+    double[] b = new double[] {1.0, 2.0, 3.0, 4.0};
+    assertThat(test.solve(b)).usingComparatorWithPrecision(EPS).containsExactly(expected.solve(b));
+    DoubleMatrix bMatrix = DoubleMatrix.copyOf(new double[][] {{1.0, 2.0}, {2.0, 3.0}, {3.0, 4.0}, {4.0, -2.0}});
+    checkEquals(expected.solve(bMatrix), test.solve(bMatrix));
+  }
+
+  @Test
+  public void testSolveInPlace() {
+    QRDecompositionOpenGammaResult result = QR.apply(A);
+    double[] b = new double[] {1.0, 2.0, 3.0, 4.0};
+    double[] x = result.solve(b);
+    assertThat(x).hasSize(3);
+    result.solveInPlace(b);
+    assertThat(new double[] {b[0], b[1], b[2]}).containsExactly(x);
+  }
+
+  @Test
+  public void testSolveSquare() {
+    DoubleMatrix a = DoubleMatrix.copyOf(new double[][] {{1, 2, -1}, {4, 3, 1}, {2, 2, 3}});
+    double[] b = new double[] {1.0, -2.0, 3.0};
+    double[] x = QR.apply(a).solve(b);
+    DoubleArray ax = (DoubleArray) ALGEBRA.multiply(a, DoubleArray.copyOf(x));
+    assertThat(ax.toArray()).usingComparatorWithPrecision(EPS).containsExactly(b);
+  }
+
+  @Test
+  public void testSingular() {
+    QRDecompositionOpenGammaResult result = QR.apply(DoubleMatrix.of(2, 2, 0d, 0d, 0d, 0d));
+    assertThat(result.isSingular()).isTrue();
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> result.solve(new double[] {1d, 2d}));
+  }
+
+  private void checkEquals(DoubleMatrix x, DoubleMatrix y) {
+    int n = x.rowCount();
+    int m = x.columnCount();
+    assertThat(n).isEqualTo(y.rowCount());
+    assertThat(m).isEqualTo(y.columnCount());
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < m; j++) {
+        assertThat(x.get(i, j)).isCloseTo(y.get(i, j), offset(EPS));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.matrix;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.linearalgebra.TridiagonalMatrix;
+
+/**
+ * Test {@link DenseMatrixAlgebra}.
+ */
+public class DenseMatrixAlgebraTest {
+
+  private static final DenseMatrixAlgebra ALGEBRA = MatrixAlgebraFactory.DENSE_ALGEBRA;
+  private static final MatrixAlgebra COMMONS = MatrixAlgebraFactory.COMMONS_ALGEBRA;
+  private static final MatrixAlgebra OG = MatrixAlgebraFactory.OG_ALGEBRA;
+  private static final DoubleArray V1 = DoubleArray.of(1, 2, -3);
+  private static final DoubleArray V2 = DoubleArray.of(3, -4, 5);
+  private static final DoubleMatrix A = DoubleMatrix.copyOf(
+      new double[][] {{1, 2, -1}, {4, 3, 1}, {2, 2, 3}});
+  private static final DoubleMatrix B = DoubleMatrix.copyOf(
+      new double[][] {{1, 2}, {0.5, -3}, {2, 1}});
+  private static final double EPS = 1e-10;
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_multiply_matchesOg() {
+    // larger than the block size, exercising partial blocks
+    DoubleMatrix a = random(130, 70, 1);
+    DoubleMatrix b = random(70, 90, 2);
+    DoubleMatrix expected = (DoubleMatrix) OG.multiply(a, b);
+    DoubleMatrix test = (DoubleMatrix) ALGEBRA.multiply(a, b);
+    // the summation order is the same, thus the result is identical
+    assertThat(test).isEqualTo(expected);
+    DoubleArray vector = random(70, 1, 3).column(0);
+    assertThat(ALGEBRA.multiply(a, vector)).isEqualTo(OG.multiply(a, vector));
+    DoubleArray vector2 = random(130, 1, 4).column(0);
+    assertThat(ALGEBRA.multiply(vector2, a)).isEqualTo(OG.multiply(vector2, a));
+  }
+
+  @Test
+  public void test_multiply_inPlace() {
+    double[][] result = new double[3][2];
+    result[0][0] = 100d;
+    ALGEBRA.multiply(A.toArrayUnsafe(), B.toArrayUnsafe(), result);
+    assertThat(DoubleMatrix.ofUnsafe(result)).isEqualTo(OG.multiply(A, B));
+    double[] vectorResult = new double[3];
+    ALGEBRA.multiply(A.toArrayUnsafe(), V1.toArrayUnsafe(), vectorResult);
+    assertThat(DoubleArray.ofUnsafe(vectorResult)).isEqualTo(OG.multiply(A, V1));
+    ALGEBRA.multiply(V1.toArrayUnsafe(), A.toArrayUnsafe(), vectorResult);
+    assertThat(DoubleArray.ofUnsafe(vectorResult)).isEqualTo(OG.multiply(V1, A));
+  }
+
+  @Test
+  public void test_multiply_tridiagonal() {
+    TridiagonalMatrix tridiagonal = new TridiagonalMatrix(new double[] {1, 2, 3}, new double[] {4, 5}, new double[] {6, 7});
+    assertThat(ALGEBRA.multiply(tridiagonal, V1)).isEqualTo(OG.multiply(tridiagonal, V1));
+  }
+
+  @Test
+  public void test_multiply_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ALGEBRA.multiply(B, B));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ALGEBRA.multiply(V1, V2));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_inverse() {
+    DoubleMatrix a = random(20, 20, 5);
+    DoubleMatrix inverse = ALGEBRA.getInverse(a);
+    checkEquals(COMMONS.getInverse(a), inverse, 1e-8);
+    checkEquals(DoubleMatrix.identity(20), ALGEBRA.multiply(a, inverse), 1e-8);
+  }
+
+  @Test
+  public void test_inverse_singularOrRectangular() {
+    DoubleMatrix singular = DoubleMatrix.of(2, 2, 1d, 2d, 2d, 4d);
+    checkEquals(COMMONS.getInverse(singular), ALGEBRA.getInverse(singular), EPS);
+    checkEquals(COMMONS.getInverse(B), ALGEBRA.getInverse(B), EPS);
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ALGEBRA.getInverse(V1));
+  }
+
+  @Test
+  public void test_determinant() {
+    assertThat(ALGEBRA.getDeterminant(A)).isCloseTo(COMMONS.getDeterminant(A), offset(EPS));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ALGEBRA.getDeterminant(B));
+  }
+
+  @Test
+  public void test_condition() {
+    assertThat(ALGEBRA.getCondition(A)).isEqualTo(COMMONS.getCondition(A));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_products() {
+    assertThat(ALGEBRA.getInnerProduct(V1, V2)).isEqualTo(OG.getInnerProduct(V1, V2));
+    assertThat(ALGEBRA.getOuterProduct(V1, V2)).isEqualTo(OG.getOuterProduct(V1, V2));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ALGEBRA.getInnerProduct(V1, DoubleArray.of(1, 2)));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ALGEBRA.getOuterProduct(A, V1));
+    DoubleMatrix a = random(40, 30, 6);
+    assertThat(ALGEBRA.matrixTransposeMultiplyMatrix(a)).isEqualTo(OG.matrixTransposeMultiplyMatrix(a));
+  }
+
+  @Test
+  public void test_norms() {
+    assertThat(ALGEBRA.getNorm1(V1)).isCloseTo(COMMONS.getNorm1(V1), offset(EPS));
+    assertThat(ALGEBRA.getNorm1(B)).isCloseTo(COMMONS.getNorm1(B), offset(EPS));
+    assertThat(ALGEBRA.getNorm2(V1)).isCloseTo(COMMONS.getNorm2(V1), offset(EPS));
+    assertThat(ALGEBRA.getNorm2(B)).isCloseTo(COMMONS.getNorm2(B), offset(EPS));
+    assertThat(ALGEBRA.getNormInfinity(V1)).isCloseTo(COMMONS.getNormInfinity(V1), offset(EPS));
+    assertThat(ALGEBRA.getNormInfinity(B)).isCloseTo(COMMONS.getNormInfinity(B), offset(EPS));
+  }
+
+  @Test
+  public void test_powerTraceTranspose() {
+    checkEquals(COMMONS.getPower(A, 5), ALGEBRA.getPower(A, 5), EPS);
+    assertThat(ALGEBRA.getPower(A, 0)).isEqualTo(DoubleMatrix.identity(3));
+    assertThat(ALGEBRA.getTrace(A)).isEqualTo(7d);
+    assertThat(ALGEBRA.getTranspose(B)).isEqualTo(OG.getTranspose(B));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ALGEBRA.getPower(A, -1));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> ALGEBRA.getTrace(B));
+    assertThatExceptionOfType(UnsupportedOperationException.class)
+        .isThrownBy(() -> ALGEBRA.getPower(A, 0.5));
+  }
+
+  //-------------------------------------------------------------------------
+  private static DoubleMatrix random(int rows, int columns, long seed) {
+    Random random = new Random(seed);
+    return DoubleMatrix.of(rows, columns, (i, j) -> random.nextDouble() - 0.5 + (i == j ? rows : 0d));
+  }
+
+  private static void checkEquals(DoubleMatrix expected, Object actual, double tolerance) {
+    DoubleMatrix test = (DoubleMatrix) actual;
+    assertThat(test.rowCount()).isEqualTo(expected.rowCount());
+    assertThat(test.columnCount()).isEqualTo(expected.columnCount());
+    for (int i = 0; i < expected.rowCount(); i++) {
+      for (int j = 0; j < expected.columnCount(); j++) {
+        assertThat(test.get(i, j)).isCloseTo(expected.get(i, j), offset(tolerance));
+      }
+    }
+  }
+
+}
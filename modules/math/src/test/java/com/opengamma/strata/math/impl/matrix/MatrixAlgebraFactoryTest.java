@@ -104,6 +104,10 @@ public class MatrixAlgebraFactoryTest {
     assertThat(MatrixAlgebraFactory.getMatrixAlgebraName(MatrixAlgebraFactory.COMMONS_ALGEBRA))
         .isEqualTo(MatrixAlgebraFactory.COMMONS);
     assertThat(MatrixAlgebraFactory.getMatrixAlgebraName(MatrixAlgebraFactory.OG_ALGEBRA)).isEqualTo(MatrixAlgebraFactory.OG);
+    assertThat(MatrixAlgebraFactory.getMatrixAlgebra(MatrixAlgebraFactory.DENSE))
+        .isEqualTo(MatrixAlgebraFactory.DENSE_ALGEBRA);
+    assertThat(MatrixAlgebraFactory.getMatrixAlgebraName(MatrixAlgebraFactory.DENSE_ALGEBRA))
+        .isEqualTo(MatrixAlgebraFactory.DENSE);
   }
 
 }
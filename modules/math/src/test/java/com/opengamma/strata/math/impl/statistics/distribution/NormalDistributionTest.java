@@ -52,6 +52,15 @@ public class NormalDistributionTest extends ProbabilityDistributionTestCase {
     }
   }
 
+  @Test
+  public void testStandard() {
+    for (int i = 0; i < 41; i++) {
+      double x = -10.0 + 0.5 * i;
+      assertThat(NormalDistribution.standardCdf(x)).isEqualTo(NORMAL.getCDF(x));
+      assertThat(NormalDistribution.standardPdf(x)).isEqualTo(NORMAL.getPDF(x));
+    }
+  }
+
   @Test
   public void testObject() {
     NormalDistribution other = new NormalDistribution(0, 1, ENGINE);
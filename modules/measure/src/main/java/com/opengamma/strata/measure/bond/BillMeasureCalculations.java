@@ -10,8 +10,8 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
-import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesScenarioArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.pricer.bond.DiscountingBillTradePricer;
 import com.opengamma.strata.pricer.bond.LegalEntityDiscountingProvider;
@@ -95,11 +95,11 @@ public class BillMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates calibrated bucketed PV01 for all scenarios
-  ScenarioArray<CurrencyParameterSensitivities> pv01CalibratedBucketed(
+  CurrencyParameterSensitivitiesScenarioArray pv01CalibratedBucketed(
       ResolvedBillTrade trade,
       LegalEntityDiscountingScenarioMarketData marketData) {
 
-    return ScenarioArray.of(
+    return CurrencyParameterSensitivitiesScenarioArray.of(
         marketData.getScenarioCount(),
         i -> pv01CalibratedBucketed(trade, marketData.scenario(i).discountingProvider()));
   }
@@ -136,11 +136,11 @@ public class BillMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates market quote bucketed PV01 for all scenarios
-  ScenarioArray<CurrencyParameterSensitivities> pv01MarketQuoteBucketed(
+  CurrencyParameterSensitivitiesScenarioArray pv01MarketQuoteBucketed(
       ResolvedBillTrade trade,
       LegalEntityDiscountingScenarioMarketData marketData) {
 
-    return ScenarioArray.of(
+    return CurrencyParameterSensitivitiesScenarioArray.of(
         marketData.getScenarioCount(),
         i -> pv01MarketQuoteBucketed(trade, marketData.scenario(i).discountingProvider()));
   }
@@ -9,9 +9,9 @@ import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
-import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesScenarioArray;
 import com.opengamma.strata.pricer.bond.DiscountingBillTradePricer;
 import com.opengamma.strata.pricer.bond.LegalEntityDiscountingProvider;
 import com.opengamma.strata.product.bond.BillTrade;
@@ -142,7 +142,7 @@ public class BillTradeCalculations {
    * @param marketData  the market data
    * @return the present value sensitivity, one entry per scenario
    */
-  public ScenarioArray<CurrencyParameterSensitivities> pv01CalibratedBucketed(
+  public CurrencyParameterSensitivitiesScenarioArray pv01CalibratedBucketed(
       ResolvedBillTrade trade,
       LegalEntityDiscountingMarketDataLookup lookup,
       ScenarioMarketData marketData) {
@@ -224,7 +224,7 @@ public class BillTradeCalculations {
    * @param marketData  the market data
    * @return the present value sensitivity, one entry per scenario
    */
-  public ScenarioArray<CurrencyParameterSensitivities> pv01MarketQuoteBucketed(
+  public CurrencyParameterSensitivitiesScenarioArray pv01MarketQuoteBucketed(
       ResolvedBillTrade trade,
       LegalEntityDiscountingMarketDataLookup lookup,
       ScenarioMarketData marketData) {
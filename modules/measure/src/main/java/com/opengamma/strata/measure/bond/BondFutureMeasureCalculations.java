@@ -13,9 +13,9 @@ import com.opengamma.strata.data.FieldName;
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
-import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesScenarioArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.pricer.bond.DiscountingBondFutureTradePricer;
 import com.opengamma.strata.pricer.bond.LegalEntityDiscountingProvider;
@@ -101,11 +101,11 @@ final class BondFutureMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates calibrated bucketed PV01 for all scenarios
-  ScenarioArray<CurrencyParameterSensitivities> pv01CalibratedBucketed(
+  CurrencyParameterSensitivitiesScenarioArray pv01CalibratedBucketed(
       ResolvedBondFutureTrade trade,
       LegalEntityDiscountingScenarioMarketData marketData) {
 
-    return ScenarioArray.of(
+    return CurrencyParameterSensitivitiesScenarioArray.of(
         marketData.getScenarioCount(),
         i -> pv01CalibratedBucketed(trade, marketData.scenario(i).discountingProvider()));
   }
@@ -142,11 +142,11 @@ final class BondFutureMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates market quote bucketed PV01 for all scenarios
-  ScenarioArray<CurrencyParameterSensitivities> pv01MarketQuoteBucketed(
+  CurrencyParameterSensitivitiesScenarioArray pv01MarketQuoteBucketed(
       ResolvedBondFutureTrade trade,
       LegalEntityDiscountingScenarioMarketData marketData) {
 
-    return ScenarioArray.of(
+    return CurrencyParameterSensitivitiesScenarioArray.of(
         marketData.getScenarioCount(),
         i -> pv01MarketQuoteBucketed(trade, marketData.scenario(i).discountingProvider()));
   }
@@ -14,9 +14,9 @@ import com.opengamma.strata.data.FieldName;
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
-import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesScenarioArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.pricer.bond.BlackBondFutureOptionMarginedTradePricer;
 import com.opengamma.strata.pricer.bond.BlackBondFutureVolatilities;
@@ -114,13 +114,13 @@ final class BondFutureOptionMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates calibrated bucketed PV01 for all scenarios
-  ScenarioArray<CurrencyParameterSensitivities> pv01CalibratedBucketed(
+  CurrencyParameterSensitivitiesScenarioArray pv01CalibratedBucketed(
       ResolvedBondFutureOptionTrade trade,
       LegalEntityDiscountingScenarioMarketData legalEntityMarketData,
       BondFutureOptionScenarioMarketData optionMarketData) {
 
     SecurityId securityId = trade.getProduct().getUnderlyingFuture().getSecurityId();
-    return ScenarioArray.of(
+    return CurrencyParameterSensitivitiesScenarioArray.of(
         legalEntityMarketData.getScenarioCount(),
         i -> pv01CalibratedBucketed(
             trade,
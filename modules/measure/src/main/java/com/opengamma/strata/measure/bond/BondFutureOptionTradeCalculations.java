@@ -10,9 +10,9 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
-import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesScenarioArray;
 import com.opengamma.strata.pricer.bond.BlackBondFutureOptionMarginedTradePricer;
 import com.opengamma.strata.pricer.bond.BondFutureVolatilities;
 import com.opengamma.strata.pricer.bond.LegalEntityDiscountingProvider;
@@ -154,7 +154,7 @@ public class BondFutureOptionTradeCalculations {
    * @param marketData  the market data
    * @return the present value sensitivity, one entry per scenario
    */
-  public ScenarioArray<CurrencyParameterSensitivities> pv01CalibratedBucketed(
+  public CurrencyParameterSensitivitiesScenarioArray pv01CalibratedBucketed(
       ResolvedBondFutureOptionTrade trade,
       LegalEntityDiscountingMarketDataLookup legalEntityLookup,
       BondFutureOptionMarketDataLookup volsLookup,
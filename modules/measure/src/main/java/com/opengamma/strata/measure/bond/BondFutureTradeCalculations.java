@@ -10,9 +10,9 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
-import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesScenarioArray;
 import com.opengamma.strata.pricer.bond.DiscountingBondFutureTradePricer;
 import com.opengamma.strata.pricer.bond.LegalEntityDiscountingProvider;
 import com.opengamma.strata.product.bond.BondFutureTrade;
@@ -145,7 +145,7 @@ public class BondFutureTradeCalculations {
    * @param marketData  the market data
    * @return the present value sensitivity, one entry per scenario
    */
-  public ScenarioArray<CurrencyParameterSensitivities> pv01CalibratedBucketed(
+  public CurrencyParameterSensitivitiesScenarioArray pv01CalibratedBucketed(
       ResolvedBondFutureTrade trade,
       LegalEntityDiscountingMarketDataLookup lookup,
       ScenarioMarketData marketData) {
@@ -227,7 +227,7 @@ public class BondFutureTradeCalculations {
    * @param marketData  the market data
    * @return the present value sensitivity, one entry per scenario
    */
-  public ScenarioArray<CurrencyParameterSensitivities> pv01MarketQuoteBucketed(
+  public CurrencyParameterSensitivitiesScenarioArray pv01MarketQuoteBucketed(
       ResolvedBondFutureTrade trade,
       LegalEntityDiscountingMarketDataLookup lookup,
       ScenarioMarketData marketData) {
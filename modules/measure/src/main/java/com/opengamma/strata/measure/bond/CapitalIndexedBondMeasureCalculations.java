@@ -10,8 +10,8 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
-import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesScenarioArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
 import com.opengamma.strata.pricer.bond.DiscountingCapitalIndexedBondTradePricer;
@@ -102,12 +102,12 @@ final class CapitalIndexedBondMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates calibrated bucketed PV01 for all scenarios
-  ScenarioArray<CurrencyParameterSensitivities> pv01CalibratedBucketed(
+  CurrencyParameterSensitivitiesScenarioArray pv01CalibratedBucketed(
       ResolvedCapitalIndexedBondTrade trade,
       RatesScenarioMarketData ratesMarketData,
       LegalEntityDiscountingScenarioMarketData legalEntityMarketData) {
 
-    return ScenarioArray.of(
+    return CurrencyParameterSensitivitiesScenarioArray.of(
         legalEntityMarketData.getScenarioCount(),
         i -> pv01CalibratedBucketed(
             trade,
@@ -9,9 +9,9 @@ import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
-import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesScenarioArray;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
 import com.opengamma.strata.pricer.bond.DiscountingCapitalIndexedBondTradePricer;
 import com.opengamma.strata.pricer.bond.LegalEntityDiscountingProvider;
@@ -156,7 +156,7 @@ public class CapitalIndexedBondTradeCalculations {
    * @param marketData  the market data
    * @return the present value sensitivity, one entry per scenario
    */
-  public ScenarioArray<CurrencyParameterSensitivities> pv01CalibratedBucketed(
+  public CurrencyParameterSensitivitiesScenarioArray pv01CalibratedBucketed(
       ResolvedCapitalIndexedBondTrade trade,
       RatesMarketDataLookup ratesLookup,
       LegalEntityDiscountingMarketDataLookup legalEntityLookup,
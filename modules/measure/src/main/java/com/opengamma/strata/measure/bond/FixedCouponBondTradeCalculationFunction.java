@@ -5,7 +5,9 @@
  */
 package com.opengamma.strata.measure.bond;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -15,6 +17,8 @@ import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.Resolvable;
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.runner.CalculationFunction;
 import com.opengamma.strata.calc.runner.CalculationParameters;
@@ -22,12 +26,19 @@ import com.opengamma.strata.calc.runner.FunctionRequirements;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesScenarioArray;
 import com.opengamma.strata.measure.Measures;
 import com.opengamma.strata.product.SecuritizedProductPortfolioItem;
+import com.opengamma.strata.product.TradeInfo;
 import com.opengamma.strata.product.bond.FixedCouponBond;
 import com.opengamma.strata.product.bond.FixedCouponBondPosition;
 import com.opengamma.strata.product.bond.FixedCouponBondTrade;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBondSettlement;
 import com.opengamma.strata.product.bond.ResolvedFixedCouponBondTrade;
 
 /**
@@ -162,6 +173,99 @@ public class FixedCouponBondTradeCalculationFunction<T extends SecuritizedProduc
     return results;
   }
 
+  @Override
+  public List<Map<Measure, Result<?>>> calculateBatch(
+      List<T> targets,
+      Set<Measure> measures,
+      CalculationParameters parameters,
+      ScenarioMarketData scenarioMarketData,
+      ReferenceData refData) {
+
+    // use lookup to query market data, sharing the view and its providers between all targets
+    LegalEntityDiscountingMarketDataLookup bondLookup = parameters.getParameter(LegalEntityDiscountingMarketDataLookup.class);
+    LegalEntityDiscountingScenarioMarketData marketData = bondLookup.marketDataView(scenarioMarketData);
+
+    // targets with the same product and settlement date are valued once, for a quantity of one
+    // all measures except the resolved target are linear in the quantity and in the settlement price,
+    // as the price only affects the upfront payment, thus the unit results are adjusted for each target
+    Map<ResolvedFixedCouponBondTrade, UnitResults> unitResults = new HashMap<>();
+    List<Map<Measure, Result<?>>> results = new ArrayList<>(targets.size());
+    for (T target : targets) {
+      ResolvedFixedCouponBondTrade resolved = target.resolve(refData);
+      UnitResults unit = unitResults.computeIfAbsent(unitTrade(resolved, 0d), UnitResults::new);
+      double quantity = resolved.getQuantity();
+      double price = resolved.getSettlement().map(ResolvedFixedCouponBondSettlement::getPrice).orElse(0d);
+      Map<Measure, Result<?>> targetResults = new HashMap<>();
+      for (Measure measure : measures) {
+        if (measure.equals(Measures.RESOLVED_TARGET)) {
+          targetResults.put(measure, calculate(measure, resolved, marketData));
+        } else {
+          targetResults.put(measure, unit.result(measure, quantity, price, marketData));
+        }
+      }
+      results.add(targetResults);
+    }
+    return results;
+  }
+
+  // the trade for a quantity of one, with the same product and settlement date
+  private static ResolvedFixedCouponBondTrade unitTrade(ResolvedFixedCouponBondTrade resolved, double price) {
+    return resolved.toBuilder()
+        .info(TradeInfo.empty())
+        .quantity(1d)
+        .settlement(resolved.getSettlement()
+            .map(settlement -> ResolvedFixedCouponBondSettlement.of(settlement.getSettlementDate(), price))
+            .orElse(null))
+        .build();
+  }
+
+  // combines two results, each multiplied by a factor
+  private static Object combined(Object first, double firstFactor, Object second, double secondFactor) {
+    if (first instanceof CurrencyScenarioArray) {
+      CurrencyScenarioArray array1 = (CurrencyScenarioArray) first;
+      CurrencyScenarioArray array2 = (CurrencyScenarioArray) second;
+      return CurrencyScenarioArray.of(
+          array1.getScenarioCount(),
+          i -> array1.get(i).multipliedBy(firstFactor).plus(array2.get(i).multipliedBy(secondFactor)));
+    }
+    if (first instanceof MultiCurrencyScenarioArray) {
+      MultiCurrencyScenarioArray array1 = (MultiCurrencyScenarioArray) first;
+      MultiCurrencyScenarioArray array2 = (MultiCurrencyScenarioArray) second;
+      return MultiCurrencyScenarioArray.of(
+          array1.getScenarioCount(),
+          i -> array1.get(i).multipliedBy(firstFactor).plus(array2.get(i).multipliedBy(secondFactor)));
+    }
+    if (first instanceof CurrencyParameterSensitivitiesScenarioArray) {
+      return ((CurrencyParameterSensitivitiesScenarioArray) first).multipliedBy(firstFactor)
+          .combinedWith(((CurrencyParameterSensitivitiesScenarioArray) second).multipliedBy(secondFactor));
+    }
+    if (first instanceof ScenarioArray) {
+      ScenarioArray<?> array1 = (ScenarioArray<?>) first;
+      ScenarioArray<?> array2 = (ScenarioArray<?>) second;
+      return ScenarioArray.of(
+          array1.getScenarioCount(),
+          i -> combinedValue(array1.get(i), firstFactor, array2.get(i), secondFactor));
+    }
+    return combinedValue(first, firstFactor, second, secondFactor);
+  }
+
+  // combines two single values, each multiplied by a factor
+  private static Object combinedValue(Object first, double firstFactor, Object second, double secondFactor) {
+    if (first instanceof CurrencyParameterSensitivities) {
+      return ((CurrencyParameterSensitivities) first).multipliedBy(firstFactor)
+          .combinedWith(((CurrencyParameterSensitivities) second).multipliedBy(secondFactor));
+    }
+    if (first instanceof MultiCurrencyAmount) {
+      return ((MultiCurrencyAmount) first).multipliedBy(firstFactor)
+          .plus(((MultiCurrencyAmount) second).multipliedBy(secondFactor));
+    }
+    if (first instanceof CurrencyAmount) {
+      return ((CurrencyAmount) first).multipliedBy(firstFactor)
+          .plus(((CurrencyAmount) second).multipliedBy(secondFactor));
+    }
+    throw new IllegalStateException("Unable to combine values of type " + first.getClass().getSimpleName());
+  }
+
   // calculate one measure
   private Result<?> calculate(
       Measure measure,
@@ -175,6 +279,35 @@ public class FixedCouponBondTradeCalculationFunction<T extends SecuritizedProduc
     return Result.of(() -> calculator.calculate(resolved, marketData));
   }
 
+  //-------------------------------------------------------------------------
+  // the results of a trade for a quantity of one, at a settlement price of zero and of one
+  // the result at any other quantity and price is a linear combination of the two
+  private final class UnitResults {
+    private final ResolvedFixedCouponBondTrade zeroPriceTrade;
+    private final Map<Measure, Result<?>> zeroPriceResults = new HashMap<>();
+    private final Map<Measure, Result<?>> unitPriceResults = new HashMap<>();
+
+    private UnitResults(ResolvedFixedCouponBondTrade zeroPriceTrade) {
+      this.zeroPriceTrade = zeroPriceTrade;
+    }
+
+    private Result<?> result(
+        Measure measure,
+        double quantity,
+        double price,
+        LegalEntityDiscountingScenarioMarketData marketData) {
+
+      Result<?> zeroPrice = zeroPriceResults.computeIfAbsent(measure, m -> calculate(m, zeroPriceTrade, marketData));
+      if (price == 0d) {
+        return zeroPrice.map(value -> combined(value, quantity, value, 0d));
+      }
+      Result<?> unitPrice = unitPriceResults.computeIfAbsent(
+          measure, m -> calculate(m, unitTrade(zeroPriceTrade, 1d), marketData));
+      return zeroPrice.combineWith(
+          unitPrice, (value0, value1) -> Result.success(combined(value0, quantity * (1d - price), value1, quantity * price)));
+    }
+  }
+
   //-------------------------------------------------------------------------
   @FunctionalInterface
   interface SingleMeasureCalculation {
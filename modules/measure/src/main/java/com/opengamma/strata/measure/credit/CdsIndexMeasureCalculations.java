@@ -14,6 +14,7 @@ import com.opengamma.strata.data.scenario.DoubleScenarioArray;
 import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesScenarioArray;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.pricer.common.PriceType;
@@ -218,12 +219,12 @@ final class CdsIndexMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates market quote bucketed IR01 for all scenarios
-  ScenarioArray<CurrencyParameterSensitivities> ir01MarketQuoteBucketed(
+  CurrencyParameterSensitivitiesScenarioArray ir01MarketQuoteBucketed(
       ResolvedCdsIndexTrade trade,
       CreditRatesScenarioMarketData marketData,
       ReferenceData refData) {
 
-    return ScenarioArray.of(
+    return CurrencyParameterSensitivitiesScenarioArray.of(
         marketData.getScenarioCount(),
         i -> ir01MarketQuoteBucketed(trade, marketData.scenario(i).creditRatesProvider(), refData));
   }
@@ -268,12 +269,12 @@ final class CdsIndexMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates calibrated bucketed PV01 for all scenarios
-  ScenarioArray<CurrencyParameterSensitivities> pv01CalibratedBucketed(
+  CurrencyParameterSensitivitiesScenarioArray pv01CalibratedBucketed(
       ResolvedCdsIndexTrade trade,
       CreditRatesScenarioMarketData marketData,
       ReferenceData refData) {
 
-    return ScenarioArray.of(
+    return CurrencyParameterSensitivitiesScenarioArray.of(
         marketData.getScenarioCount(),
         i -> pv01CalibratedBucketed(trade, marketData.scenario(i).creditRatesProvider(), refData));
   }
@@ -314,12 +315,12 @@ final class CdsIndexMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates market quote bucketed PV01 for all scenarios
-  ScenarioArray<CurrencyParameterSensitivities> pv01MarketQuoteBucketed(
+  CurrencyParameterSensitivitiesScenarioArray pv01MarketQuoteBucketed(
       ResolvedCdsIndexTrade trade,
       CreditRatesScenarioMarketData marketData,
       ReferenceData refData) {
 
-    return ScenarioArray.of(
+    return CurrencyParameterSensitivitiesScenarioArray.of(
         marketData.getScenarioCount(),
         i -> pv01MarketQuoteBucketed(trade, marketData.scenario(i).creditRatesProvider(), refData));
   }
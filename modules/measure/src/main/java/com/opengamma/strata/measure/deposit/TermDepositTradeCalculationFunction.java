@@ -6,6 +6,7 @@
 package com.opengamma.strata.measure.deposit;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -122,12 +123,35 @@ public class TermDepositTradeCalculationFunction
       ScenarioMarketData scenarioMarketData,
       ReferenceData refData) {
 
-    // resolve the trade once for all measures and all scenarios
-    ResolvedTermDepositTrade resolved = trade.resolve(refData);
-
     // use lookup to query market data
     RatesMarketDataLookup ratesLookup = parameters.getParameter(RatesMarketDataLookup.class);
     RatesScenarioMarketData marketData = ratesLookup.marketDataView(scenarioMarketData);
+    return calculate(trade, measures, marketData, refData);
+  }
+
+  @Override
+  public List<Map<Measure, Result<?>>> calculateBatch(
+      List<TermDepositTrade> trades,
+      Set<Measure> measures,
+      CalculationParameters parameters,
+      ScenarioMarketData scenarioMarketData,
+      ReferenceData refData) {
+
+    // use lookup to query market data once for all trades
+    RatesMarketDataLookup ratesLookup = parameters.getParameter(RatesMarketDataLookup.class);
+    return ratesLookup.calculateBatch(
+        trades, scenarioMarketData, (trade, marketData) -> calculate(trade, measures, marketData, refData));
+  }
+
+  // calculate all measures for one trade
+  private Map<Measure, Result<?>> calculate(
+      TermDepositTrade trade,
+      Set<Measure> measures,
+      RatesScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    // resolve the trade once for all measures and all scenarios
+    ResolvedTermDepositTrade resolved = trade.resolve(refData);
 
     // loop around measures, calculating all scenarios for one measure
     Map<Measure, Result<?>> results = new HashMap<>();
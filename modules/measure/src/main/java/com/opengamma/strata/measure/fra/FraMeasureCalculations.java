@@ -30,6 +30,7 @@ import com.opengamma.strata.market.curve.CurveId;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.param.CrossGammaParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesScenarioArray;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.measure.rate.RatesMarketData;
@@ -140,11 +141,11 @@ final class FraMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates calibrated bucketed PV01 for all scenarios
-  ScenarioArray<CurrencyParameterSensitivities> pv01CalibratedBucketed(
+  CurrencyParameterSensitivitiesScenarioArray pv01CalibratedBucketed(
       ResolvedFraTrade trade,
       RatesScenarioMarketData marketData) {
 
-    return ScenarioArray.of(
+    return CurrencyParameterSensitivitiesScenarioArray.of(
         marketData.getScenarioCount(),
         i -> pv01CalibratedBucketed(trade, marketData.scenario(i).ratesProvider()));
   }
@@ -181,11 +182,11 @@ final class FraMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates market quote bucketed PV01 for all scenarios
-  ScenarioArray<CurrencyParameterSensitivities> pv01MarketQuoteBucketed(
+  CurrencyParameterSensitivitiesScenarioArray pv01MarketQuoteBucketed(
       ResolvedFraTrade trade,
       RatesScenarioMarketData marketData) {
 
-    return ScenarioArray.of(
+    return CurrencyParameterSensitivitiesScenarioArray.of(
         marketData.getScenarioCount(),
         i -> pv01MarketQuoteBucketed(trade, marketData.scenario(i).ratesProvider()));
   }
@@ -202,11 +203,11 @@ final class FraMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates semi-parallel gamma PV01 for all scenarios
-  ScenarioArray<CurrencyParameterSensitivities> pv01SemiParallelGammaBucketed(
+  CurrencyParameterSensitivitiesScenarioArray pv01SemiParallelGammaBucketed(
       ResolvedFraTrade trade,
       RatesScenarioMarketData marketData) {
 
-    return ScenarioArray.of(
+    return CurrencyParameterSensitivitiesScenarioArray.of(
         marketData.getScenarioCount(),
         i -> pv01SemiParallelGammaBucketed(trade, marketData.scenario(i)));
   }
@@ -259,11 +260,11 @@ final class FraMeasureCalculations {
 
   //-------------------------------------------------------------------------
   // calculates single-node gamma PV01 for all scenarios
-  ScenarioArray<CurrencyParameterSensitivities> pv01SingleNodeGammaBucketed(
+  CurrencyParameterSensitivitiesScenarioArray pv01SingleNodeGammaBucketed(
       ResolvedFraTrade trade,
       RatesScenarioMarketData marketData) {
 
-    return ScenarioArray.of(
+    return CurrencyParameterSensitivitiesScenarioArray.of(
         marketData.getScenarioCount(),
         i -> pv01SingleNodeGammaBucketed(trade, marketData.scenario(i).ratesProvider()));
   }
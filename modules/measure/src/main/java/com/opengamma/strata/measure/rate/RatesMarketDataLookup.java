@@ -5,15 +5,19 @@
  */
 package com.opengamma.strata.measure.rate;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiFunction;
 
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.FxRateProvider;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.runner.CalculationFunction;
 import com.opengamma.strata.calc.runner.CalculationParameter;
 import com.opengamma.strata.calc.runner.CalculationParameters;
 import com.opengamma.strata.calc.runner.FunctionRequirements;
@@ -298,6 +302,32 @@ public interface RatesMarketDataLookup extends FxRateLookup, CalculationParamete
     return DefaultRatesMarketData.of(this, marketData);
   }
 
+  /**
+   * Calculates a result for each of a batch of targets using a single filtered view of the market data.
+   * <p>
+   * The view, and the rates providers it creates for each scenario, are shared between all the targets.
+   * This is intended to implement {@link CalculationFunction#calculateBatch}.
+   *
+   * @param <T>  the type of the targets
+   * @param <R>  the type of the results
+   * @param targets  the targets of the calculation
+   * @param marketData  the complete set of market data for all scenarios
+   * @param calculator  the calculator of the result of a single target
+   * @return the results, one for each target, in the same order as the targets
+   */
+  public default <T, R> List<R> calculateBatch(
+      List<T> targets,
+      ScenarioMarketData marketData,
+      BiFunction<? super T, RatesScenarioMarketData, R> calculator) {
+
+    RatesScenarioMarketData view = marketDataView(marketData);
+    List<R> results = new ArrayList<>(targets.size());
+    for (T target : targets) {
+      results.add(calculator.apply(target, view));
+    }
+    return results;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Obtains a rates provider based on the specified market data.
@@ -5,7 +5,9 @@
  */
 package com.opengamma.strata.measure.security;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -20,12 +22,14 @@ import com.opengamma.strata.calc.runner.CalculationParameters;
 import com.opengamma.strata.calc.runner.FunctionRequirements;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.measure.Measures;
 import com.opengamma.strata.product.GenericSecurityPosition;
 import com.opengamma.strata.product.Security;
+import com.opengamma.strata.product.SecurityId;
 
 /**
  * Perform calculations on a single {@code GenericSecurityPosition} for each of a set of scenarios.
@@ -100,10 +104,37 @@ public class GenericSecurityPositionCalculationFunction
       ScenarioMarketData scenarioMarketData,
       ReferenceData refData) {
 
+    return calculate(measures, position, scenarioMarketData, new HashMap<>());
+  }
+
+  @Override
+  public List<Map<Measure, Result<?>>> calculateBatch(
+      List<GenericSecurityPosition> positions,
+      Set<Measure> measures,
+      CalculationParameters parameters,
+      ScenarioMarketData scenarioMarketData,
+      ReferenceData refData) {
+
+    // the quotes of each distinct security are obtained once
+    Map<SecurityId, MarketDataBox<Double>> quotesCache = new HashMap<>();
+    List<Map<Measure, Result<?>>> results = new ArrayList<>(positions.size());
+    for (GenericSecurityPosition position : positions) {
+      results.add(calculate(measures, position, scenarioMarketData, quotesCache));
+    }
+    return results;
+  }
+
+  // calculate all measures
+  private Map<Measure, Result<?>> calculate(
+      Set<Measure> measures,
+      GenericSecurityPosition position,
+      ScenarioMarketData scenarioMarketData,
+      Map<SecurityId, MarketDataBox<Double>> quotesCache) {
+
     // loop around measures, calculating all scenarios for one measure
     Map<Measure, Result<?>> results = new HashMap<>();
     for (Measure measure : measures) {
-      results.put(measure, calculate(measure, position, scenarioMarketData));
+      results.put(measure, calculate(measure, position, scenarioMarketData, quotesCache));
     }
     return results;
   }
@@ -112,13 +143,14 @@ public class GenericSecurityPositionCalculationFunction
   private Result<?> calculate(
       Measure measure,
       GenericSecurityPosition position,
-      ScenarioMarketData scenarioMarketData) {
+      ScenarioMarketData scenarioMarketData,
+      Map<SecurityId, MarketDataBox<Double>> quotesCache) {
 
     SingleMeasureCalculation calculator = CALCULATORS.get(measure);
     if (calculator == null) {
       return Result.failure(FailureReason.UNSUPPORTED, "Unsupported measure for GenericSecurityPosition: {}", measure);
     }
-    return Result.of(() -> calculator.calculate(position.getSecurity(), position.getQuantity(), scenarioMarketData));
+    return Result.of(() -> calculator.calculate(position.getSecurity(), position.getQuantity(), scenarioMarketData, quotesCache));
   }
 
   //-------------------------------------------------------------------------
@@ -127,7 +159,8 @@ public class GenericSecurityPositionCalculationFunction
     public abstract ScenarioArray<?> calculate(
         Security security,
         double quantity,
-        ScenarioMarketData marketData);
+        ScenarioMarketData marketData,
+        Map<SecurityId, MarketDataBox<Double>> quotesCache);
   }
 
 }
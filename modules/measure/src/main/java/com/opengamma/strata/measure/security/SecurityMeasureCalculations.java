@@ -5,12 +5,16 @@
  */
 package com.opengamma.strata.measure.security;
 
-import com.opengamma.strata.basics.currency.CurrencyAmount;
-import com.opengamma.strata.data.MarketData;
+import java.util.HashMap;
+import java.util.Map;
+
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.product.Security;
+import com.opengamma.strata.product.SecurityId;
+import com.opengamma.strata.product.SecurityPriceInfo;
 
 /**
  * Multi-scenario measure calculations for simple security trades and positions.
@@ -30,21 +34,37 @@ final class SecurityMeasureCalculations {
       double quantity,
       ScenarioMarketData marketData) {
 
+    return presentValue(security, quantity, marketData, new HashMap<>());
+  }
+
+  // calculates present value for all scenarios, obtaining the quotes of each security once using the cache
+  static CurrencyScenarioArray presentValue(
+      Security security,
+      double quantity,
+      ScenarioMarketData marketData,
+      Map<SecurityId, MarketDataBox<Double>> quotesCache) {
+
+    MarketDataBox<Double> quotes = quotes(security, marketData, quotesCache);
+    SecurityPriceInfo priceInfo = security.getInfo().getPriceInfo();
     return CurrencyScenarioArray.of(
         marketData.getScenarioCount(),
-        i -> calculatePresentValue(security, quantity, marketData.scenario(i)));
+        i -> priceInfo.calculateMonetaryAmount(quantity, quotes.getValue(i)));
   }
 
   //-------------------------------------------------------------------------
-  // present value for one scenario
-  private static CurrencyAmount calculatePresentValue(
+  // obtains the quotes of the security for all scenarios
+  private static MarketDataBox<Double> quotes(
       Security security,
-      double quantity,
-      MarketData marketData) {
+      ScenarioMarketData marketData,
+      Map<SecurityId, MarketDataBox<Double>> quotesCache) {
 
-    QuoteId id = QuoteId.of(security.getSecurityId().getStandardId());
-    double price = marketData.getValue(id);
-    return security.getInfo().getPriceInfo().calculateMonetaryAmount(quantity, price);
+    MarketDataBox<Double> cached = quotesCache.get(security.getSecurityId());
+    if (cached != null) {
+      return cached;
+    }
+    MarketDataBox<Double> quotes = marketData.getValue(QuoteId.of(security.getSecurityId().getStandardId()));
+    quotesCache.put(security.getSecurityId(), quotes);
+    return quotes;
   }
 
 }
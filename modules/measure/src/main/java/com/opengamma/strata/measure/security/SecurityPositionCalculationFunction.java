@@ -5,7 +5,9 @@
  */
 package com.opengamma.strata.measure.security;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -20,11 +22,13 @@ import com.opengamma.strata.calc.runner.CalculationParameters;
 import com.opengamma.strata.calc.runner.FunctionRequirements;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.measure.Measures;
 import com.opengamma.strata.product.Security;
+import com.opengamma.strata.product.SecurityId;
 import com.opengamma.strata.product.SecurityPosition;
 
 /**
@@ -104,11 +108,40 @@ public class SecurityPositionCalculationFunction
 
     // resolve security
     Security security = refData.getValue(position.getSecurityId());
+    return calculate(measures, position, security, scenarioMarketData, new HashMap<>());
+  }
+
+  @Override
+  public List<Map<Measure, Result<?>>> calculateBatch(
+      List<SecurityPosition> positions,
+      Set<Measure> measures,
+      CalculationParameters parameters,
+      ScenarioMarketData scenarioMarketData,
+      ReferenceData refData) {
+
+    // each distinct security is resolved once, and its quotes obtained once
+    Map<SecurityId, Security> securities = new HashMap<>();
+    Map<SecurityId, MarketDataBox<Double>> quotesCache = new HashMap<>();
+    List<Map<Measure, Result<?>>> results = new ArrayList<>(positions.size());
+    for (SecurityPosition position : positions) {
+      Security security = securities.computeIfAbsent(position.getSecurityId(), id -> refData.getValue(id));
+      results.add(calculate(measures, position, security, scenarioMarketData, quotesCache));
+    }
+    return results;
+  }
+
+  // calculate all measures
+  private Map<Measure, Result<?>> calculate(
+      Set<Measure> measures,
+      SecurityPosition position,
+      Security security,
+      ScenarioMarketData scenarioMarketData,
+      Map<SecurityId, MarketDataBox<Double>> quotesCache) {
 
     // loop around measures, calculating all scenarios for one measure
     Map<Measure, Result<?>> results = new HashMap<>();
     for (Measure measure : measures) {
-      results.put(measure, calculate(measure, position, security, scenarioMarketData));
+      results.put(measure, calculate(measure, position, security, scenarioMarketData, quotesCache));
     }
     return results;
   }
@@ -118,13 +151,14 @@ public class SecurityPositionCalculationFunction
       Measure measure,
       SecurityPosition position,
       Security security,
-      ScenarioMarketData scenarioMarketData) {
+      ScenarioMarketData scenarioMarketData,
+      Map<SecurityId, MarketDataBox<Double>> quotesCache) {
 
     SingleMeasureCalculation calculator = CALCULATORS.get(measure);
     if (calculator == null) {
       return Result.failure(FailureReason.UNSUPPORTED, "Unsupported measure for SecurityPosition: {}", measure);
     }
-    return Result.of(() -> calculator.calculate(security, position.getQuantity(), scenarioMarketData));
+    return Result.of(() -> calculator.calculate(security, position.getQuantity(), scenarioMarketData, quotesCache));
   }
 
   //-------------------------------------------------------------------------
@@ -133,7 +167,8 @@ public class SecurityPositionCalculationFunction
     public abstract ScenarioArray<?> calculate(
         Security security,
         double quantity,
-        ScenarioMarketData marketData);
+        ScenarioMarketData marketData,
+        Map<SecurityId, MarketDataBox<Double>> quotesCache);
   }
 
 }
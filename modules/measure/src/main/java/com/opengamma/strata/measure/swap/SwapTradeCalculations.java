@@ -14,6 +14,7 @@ import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.amount.LegAmounts;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesScenarioArray;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapTradePricer;
@@ -180,7 +181,7 @@ public class SwapTradeCalculations {
    * @param marketData  the market data
    * @return the present value sensitivity, one entry per scenario
    */
-  public ScenarioArray<CurrencyParameterSensitivities> pv01CalibratedBucketed(
+  public CurrencyParameterSensitivitiesScenarioArray pv01CalibratedBucketed(
       ResolvedSwapTrade trade,
       RatesMarketDataLookup lookup,
       ScenarioMarketData marketData) {
@@ -262,7 +263,7 @@ public class SwapTradeCalculations {
    * @param marketData  the market data
    * @return the present value sensitivity, one entry per scenario
    */
-  public ScenarioArray<CurrencyParameterSensitivities> pv01MarketQuoteBucketed(
+  public CurrencyParameterSensitivitiesScenarioArray pv01MarketQuoteBucketed(
       ResolvedSwapTrade trade,
       RatesMarketDataLookup lookup,
       ScenarioMarketData marketData) {
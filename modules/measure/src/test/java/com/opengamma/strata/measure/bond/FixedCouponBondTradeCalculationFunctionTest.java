@@ -10,8 +10,10 @@ import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static com.opengamma.strata.basics.schedule.Frequency.P3M;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -52,6 +54,7 @@ import com.opengamma.strata.market.curve.LegalEntityGroup;
 import com.opengamma.strata.market.curve.RepoGroup;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesScenarioArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.measure.Measures;
 import com.opengamma.strata.measure.curve.TestMarketDataMap;
@@ -170,7 +173,7 @@ public class FixedCouponBondTradeCalculationFunctionTest {
         .containsEntry(
             Measures.PV01_CALIBRATED_SUM, Result.success(MultiCurrencyScenarioArray.of(ImmutableList.of(expectedPv01Cal))))
         .containsEntry(
-            Measures.PV01_CALIBRATED_BUCKETED, Result.success(ScenarioArray.of(ImmutableList.of(expectedPv01CalBucketed))));
+            Measures.PV01_CALIBRATED_BUCKETED, Result.success(CurrencyParameterSensitivitiesScenarioArray.of(expectedPv01CalBucketed)));
   }
 
   @Test
@@ -202,6 +205,61 @@ public class FixedCouponBondTradeCalculationFunctionTest {
     assertThat(bucketedComputed.get(0).equalWithTolerance(expectedPv01CalBucketed, 1.0e-10)).isTrue();
   }
 
+  @Test
+  public void test_calculateBatch() {
+    FixedCouponBondTradeCalculationFunction<FixedCouponBondTrade> function = FixedCouponBondTradeCalculationFunction.TRADE;
+    ScenarioMarketData md = marketData();
+    FixedCouponBondTrade trade2 = TRADE.toBuilder()
+        .info(TradeInfo.of(date(2015, 2, 26)))
+        .quantity(-150d)
+        .build();
+    FixedCouponBondTrade trade3 = TRADE.toBuilder()
+        .price(0.9945)
+        .build();
+    FixedCouponBondTrade trade4 = TRADE.toBuilder()
+        .quantity(-30d)
+        .price(1.02)
+        .build();
+    List<FixedCouponBondTrade> trades = ImmutableList.of(TRADE, trade2, trade3, trade4);
+    Set<Measure> measures = function.supportedMeasures();
+
+    List<Map<Measure, Result<?>>> test = function.calculateBatch(trades, measures, PARAMS, md, REF_DATA);
+    assertThat(test).hasSize(4);
+    for (int i = 0; i < trades.size(); i++) {
+      Map<Measure, Result<?>> expected = function.calculate(trades.get(i), measures, PARAMS, md, REF_DATA);
+      Map<Measure, Result<?>> computed = test.get(i);
+      assertThat(computed.keySet()).isEqualTo(expected.keySet());
+      assertThat(computed.get(Measures.RESOLVED_TARGET)).isEqualTo(expected.get(Measures.RESOLVED_TARGET));
+      for (Measure measure : ImmutableList.of(Measures.PRESENT_VALUE, Measures.CURRENT_CASH)) {
+        CurrencyScenarioArray computedArray = (CurrencyScenarioArray) computed.get(measure).getValue();
+        CurrencyScenarioArray expectedArray = (CurrencyScenarioArray) expected.get(measure).getValue();
+        assertThat(computedArray.getAmounts().getValues().equalWithTolerance(expectedArray.getAmounts().getValues(), 1e-8))
+            .isTrue();
+      }
+      for (Measure measure : ImmutableList.of(
+          Measures.PV01_CALIBRATED_SUM, Measures.PV01_MARKET_QUOTE_SUM, Measures.CURRENCY_EXPOSURE)) {
+        MultiCurrencyScenarioArray computedArray = (MultiCurrencyScenarioArray) computed.get(measure).getValue();
+        MultiCurrencyScenarioArray expectedArray = (MultiCurrencyScenarioArray) expected.get(measure).getValue();
+        assertThat(computedArray.getScenarioCount()).isEqualTo(expectedArray.getScenarioCount());
+        for (int j = 0; j < expectedArray.getScenarioCount(); j++) {
+          assertThat(computedArray.get(j).getAmount(GBP).getAmount())
+              .isCloseTo(expectedArray.get(j).getAmount(GBP).getAmount(), offset(1e-8));
+        }
+      }
+      for (Measure measure : ImmutableList.of(Measures.PV01_CALIBRATED_BUCKETED, Measures.PV01_MARKET_QUOTE_BUCKETED)) {
+        assertThat(computed.get(measure).getValue()).isInstanceOf(CurrencyParameterSensitivitiesScenarioArray.class);
+        CurrencyParameterSensitivitiesScenarioArray computedArray =
+            (CurrencyParameterSensitivitiesScenarioArray) computed.get(measure).getValue();
+        CurrencyParameterSensitivitiesScenarioArray expectedArray =
+            (CurrencyParameterSensitivitiesScenarioArray) expected.get(measure).getValue();
+        assertThat(computedArray.getScenarioCount()).isEqualTo(expectedArray.getScenarioCount());
+        for (int j = 0; j < expectedArray.getScenarioCount(); j++) {
+          assertThat(computedArray.get(j).equalWithTolerance(expectedArray.get(j), 1e-8)).isTrue();
+        }
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   static ScenarioMarketData marketData() {
     CurveParameterSize issuerSize = CurveParameterSize.of(ISSUER_CURVE_ID.getCurveName(), 3);
@@ -11,6 +11,8 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -148,6 +150,22 @@ public class TermDepositTradeCalculationFunctionTest {
             Measures.PV01_CALIBRATED_BUCKETED, Result.success(ScenarioArray.of(ImmutableList.of(expectedBucketedPv01))));
   }
 
+  @Test
+  public void test_calculateBatch() {
+    TermDepositTradeCalculationFunction function = new TermDepositTradeCalculationFunction();
+    ScenarioMarketData md = marketData();
+    Set<Measure> measures = ImmutableSet.of(Measures.PRESENT_VALUE, Measures.RESOLVED_TARGET);
+    TermDepositTrade trade2 = TRADE.toBuilder()
+        .product(TRADE.getProduct().toBuilder().rate(0.003).build())
+        .build();
+    List<Map<Measure, Result<?>>> test =
+        function.calculateBatch(ImmutableList.of(TRADE, trade2), measures, PARAMS, md, REF_DATA);
+    assertThat(test).containsExactly(
+        function.calculate(TRADE, measures, PARAMS, md, REF_DATA),
+        function.calculate(trade2, measures, PARAMS, md, REF_DATA));
+    assertThat(test.get(0).get(Measures.PRESENT_VALUE)).isNotEqualTo(test.get(1).get(Measures.PRESENT_VALUE));
+  }
+
   //-------------------------------------------------------------------------
   static ScenarioMarketData marketData() {
     Curve curve = ConstantCurve.of(Curves.discountFactors("Test", ACT_360), 0.99);
@@ -9,6 +9,8 @@ import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -38,6 +40,7 @@ import com.opengamma.strata.market.curve.Curves;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesScenarioArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.measure.Measures;
 import com.opengamma.strata.measure.curve.TestMarketDataMap;
@@ -143,7 +146,23 @@ public class FraTradeCalculationFunctionTest {
         .containsEntry(
             Measures.PV01_CALIBRATED_SUM, Result.success(MultiCurrencyScenarioArray.of(ImmutableList.of(expectedPv01Cal))))
         .containsEntry(
-            Measures.PV01_CALIBRATED_BUCKETED, Result.success(ScenarioArray.of(ImmutableList.of(expectedPv01CalBucketed))));
+            Measures.PV01_CALIBRATED_BUCKETED, Result.success(CurrencyParameterSensitivitiesScenarioArray.of(expectedPv01CalBucketed)));
+  }
+
+  @Test
+  public void test_calculateBatch() {
+    FraTradeCalculationFunction function = new FraTradeCalculationFunction();
+    ScenarioMarketData md = marketData();
+    Set<Measure> measures = ImmutableSet.of(Measures.PRESENT_VALUE, Measures.RESOLVED_TARGET);
+    FraTrade trade2 = TRADE.toBuilder()
+        .product(TRADE.getProduct().toBuilder().fixedRate(0.03).build())
+        .build();
+    List<Map<Measure, Result<?>>> test =
+        function.calculateBatch(ImmutableList.of(TRADE, trade2), measures, PARAMS, md, REF_DATA);
+    assertThat(test).containsExactly(
+        function.calculate(TRADE, measures, PARAMS, md, REF_DATA),
+        function.calculate(trade2, measures, PARAMS, md, REF_DATA));
+    assertThat(test.get(0).get(Measures.PRESENT_VALUE)).isNotEqualTo(test.get(1).get(Measures.PRESENT_VALUE));
   }
 
   //-------------------------------------------------------------------------
@@ -12,6 +12,8 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -134,6 +136,22 @@ public class FxSingleTradeCalculationFunctionTest {
             Measures.PV01_CALIBRATED_BUCKETED, Result.success(ScenarioArray.of(ImmutableList.of(expectedBucketedPv01))));
   }
 
+  @Test
+  public void test_calculateBatch() {
+    FxSingleTradeCalculationFunction function = new FxSingleTradeCalculationFunction();
+    ScenarioMarketData md = marketData();
+    Set<Measure> measures = ImmutableSet.of(Measures.PRESENT_VALUE, Measures.RESOLVED_TARGET);
+    FxSingleTrade trade2 = TRADE.toBuilder()
+        .product(FxSingle.of(GBP_P1000, CurrencyAmount.of(USD, -1_650), date(2015, 6, 30)))
+        .build();
+    List<Map<Measure, Result<?>>> test =
+        function.calculateBatch(ImmutableList.of(TRADE, trade2), measures, PARAMS, md, REF_DATA);
+    assertThat(test).containsExactly(
+        function.calculate(TRADE, measures, PARAMS, md, REF_DATA),
+        function.calculate(trade2, measures, PARAMS, md, REF_DATA));
+    assertThat(test.get(0).get(Measures.PRESENT_VALUE)).isNotEqualTo(test.get(1).get(Measures.PRESENT_VALUE));
+  }
+
   //-------------------------------------------------------------------------
   static ScenarioMarketData marketData() {
     Curve curve1 = ConstantCurve.of(Curves.discountFactors("Test", ACT_360), 0.992);
@@ -10,6 +10,8 @@ import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -83,6 +85,20 @@ public class GenericSecurityPositionCalculationFunctionTest {
             Measures.PRESENT_VALUE, Result.success(CurrencyScenarioArray.of(ImmutableList.of(expectedPv))));
   }
 
+  @Test
+  public void test_calculateBatch() {
+    GenericSecurityPositionCalculationFunction function = new GenericSecurityPositionCalculationFunction();
+    ScenarioMarketData md = marketData();
+    GenericSecurityPosition position2 = TRADE.withQuantity(-5);
+
+    Set<Measure> measures = ImmutableSet.of(Measures.PRESENT_VALUE);
+    List<Map<Measure, Result<?>>> test =
+        function.calculateBatch(ImmutableList.of(TRADE, position2), measures, PARAMS, md, REF_DATA);
+    assertThat(test).containsExactly(
+        function.calculate(TRADE, measures, PARAMS, md, REF_DATA),
+        function.calculate(position2, measures, PARAMS, md, REF_DATA));
+  }
+
   //-------------------------------------------------------------------------
   private ScenarioMarketData marketData() {
     TestMarketDataMap md = new TestMarketDataMap(
@@ -10,6 +10,8 @@ import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -79,6 +81,20 @@ public class SecurityPositionCalculationFunctionTest {
             Measures.PRESENT_VALUE, Result.success(CurrencyScenarioArray.of(ImmutableList.of(expectedPv))));
   }
 
+  @Test
+  public void test_calculateBatch() {
+    SecurityPositionCalculationFunction function = new SecurityPositionCalculationFunction();
+    ScenarioMarketData md = marketData();
+    SecurityPosition position2 = SecurityPosition.ofNet(SEC_ID, 5);
+
+    Set<Measure> measures = ImmutableSet.of(Measures.PRESENT_VALUE);
+    List<Map<Measure, Result<?>>> test =
+        function.calculateBatch(ImmutableList.of(POSITION, position2, POSITION), measures, PARAMS, md, REF_DATA);
+    Map<Measure, Result<?>> expected1 = function.calculate(POSITION, measures, PARAMS, md, REF_DATA);
+    Map<Measure, Result<?>> expected2 = function.calculate(position2, measures, PARAMS, md, REF_DATA);
+    assertThat(test).containsExactly(expected1, expected2, expected1);
+  }
+
   //-------------------------------------------------------------------------
   private ScenarioMarketData marketData() {
     TestMarketDataMap md = new TestMarketDataMap(
@@ -12,7 +12,8 @@ import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.J
 import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.US_STREET;
 
 import java.time.LocalDate;
-import java.util.function.Function;
+import java.util.Arrays;
+import java.util.List;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
@@ -22,10 +23,8 @@ import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
-import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
-import com.opengamma.strata.math.impl.rootfinding.BrentSingleRootFinder;
-import com.opengamma.strata.math.impl.rootfinding.RealSingleRootFinder;
 import com.opengamma.strata.pricer.CompoundedRateType;
+import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.DiscountingPaymentPricer;
 import com.opengamma.strata.pricer.ZeroRateSensitivity;
 import com.opengamma.strata.product.Security;
@@ -51,15 +50,6 @@ public class DiscountingFixedCouponBondProductPricer {
       DiscountingFixedCouponBondPaymentPeriodPricer.DEFAULT,
       DiscountingPaymentPricer.DEFAULT);
 
-  /**
-   * The root finder.
-   */
-  private static final RealSingleRootFinder ROOT_FINDER = new BrentSingleRootFinder();
-  /**
-   * Brackets a root.
-   */
-  private static final BracketRoot ROOT_BRACKETER = new BracketRoot();
-
   /**
    * Pricer for {@link Payment}.
    */
@@ -314,15 +304,9 @@ public class DiscountingFixedCouponBondProductPricer {
       CompoundedRateType compoundedRateType,
       int periodsPerYear) {
 
-    final Function<Double, Double> residual = new Function<Double, Double>() {
-      @Override
-      public Double apply(final Double z) {
-        return dirtyPriceFromCurvesWithZSpread(
-            bond, provider, refData, z, compoundedRateType, periodsPerYear) - dirtyPrice;
-      }
-    };
-    double[] range = ROOT_BRACKETER.getBracketedPoints(residual, -0.01, 0.01); // Starting range is [-1%, 1%]
-    return ROOT_FINDER.getRoot(residual, range[0], range[1]);
+    LocalDate settlementDate = bond.getSettlementDateOffset().adjust(provider.getValuationDate(), refData);
+    return cashFlowKernel(bond, provider, settlementDate)
+        .zSpreadFromDirtyPrice(dirtyPrice, compoundedRateType, periodsPerYear);
   }
 
   //-------------------------------------------------------------------------
@@ -690,7 +674,8 @@ public class DiscountingFixedCouponBondProductPricer {
    * <p>
    * The dirty price must be fractional.
    * If the analytic formula is not available, the yield is computed by solving
-   * a root-finding problem with {@link #dirtyPriceFromYield(ResolvedFixedCouponBond, LocalDate, double)}.  
+   * a root-finding problem with {@link #dirtyPriceFromYield(ResolvedFixedCouponBond, LocalDate, double)}.
+   * The root is found by {@link FixedCouponBondCashFlowKernel}.
    * The result is also expressed in fraction.
    * 
    * @param bond  the product
@@ -699,22 +684,7 @@ public class DiscountingFixedCouponBondProductPricer {
    * @return the yield of the product 
    */
   public double yieldFromDirtyPrice(ResolvedFixedCouponBond bond, LocalDate settlementDate, double dirtyPrice) {
-    if (bond.getYieldConvention().equals(JP_SIMPLE)) {
-      double cleanPrice = cleanPriceFromDirtyPrice(bond, settlementDate, dirtyPrice);
-      LocalDate maturityDate = bond.getUnadjustedEndDate();
-      double maturity = bond.getDayCount().relativeYearFraction(settlementDate, maturityDate);
-      return (bond.getFixedRate() + (1d - cleanPrice) / maturity) / cleanPrice;
-    }
-
-    final Function<Double, Double> priceResidual = new Function<Double, Double>() {
-      @Override
-      public Double apply(final Double y) {
-        return dirtyPriceFromYield(bond, settlementDate, y) - dirtyPrice;
-      }
-    };
-    double[] range = ROOT_BRACKETER.getBracketedPoints(priceResidual, 0.00, 0.20);
-    double yield = ROOT_FINDER.getRoot(priceResidual, range[0], range[1]);
-    return yield;
+    return cashFlowKernel(bond, settlementDate).yieldFromDirtyPrice(dirtyPrice);
   }
 
   /**
@@ -722,7 +692,8 @@ public class DiscountingFixedCouponBondProductPricer {
    * <p>
    * The dirty price must be fractional.
    * If the analytic formula is not available, the yield is computed by solving
-   * a root-finding problem with {@link #dirtyPriceFromYield(ResolvedFixedCouponBond, LocalDate, double)}.  
+   * a root-finding problem with {@link #dirtyPriceFromYield(ResolvedFixedCouponBond, LocalDate, double)}.
+   * The root is found by {@link FixedCouponBondCashFlowKernel}.
    * The result is also expressed in fraction.
    * 
    * @param bond  the product
@@ -740,16 +711,199 @@ public class DiscountingFixedCouponBondProductPricer {
           (-1.0d / maturity * cleanPrice - (bond.getFixedRate() + (1d - cleanPrice) / maturity)) / (cleanPrice * cleanPrice);
       return ValueDerivatives.of(yield, DoubleArray.of(priceBar));
     }
-    final Function<Double, Double> priceResidual = new Function<Double, Double>() {
-      @Override
-      public Double apply(final Double y) {
-        return dirtyPriceFromYield(bond, settlementDate, y) - dirtyPrice;
+    FixedCouponBondCashFlowKernel kernel = cashFlowKernel(bond, settlementDate);
+    double yield = kernel.yieldFromDirtyPrice(dirtyPrice);
+    return ValueDerivatives.of(yield, DoubleArray.of(1.0 / kernel.dirtyPriceFromYieldDerivative(yield)));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the dirty prices of several fixed coupon bonds from their yields.
+   * <p>
+   * The i-th dirty price is computed as {@link #dirtyPriceFromYield(ResolvedFixedCouponBond, LocalDate, double)}
+   * and written into the i-th element of {@code dirtyPrices}.
+   * 
+   * @param bonds  the products
+   * @param settlementDates  the settlement dates, one per product
+   * @param yields  the yields, one per product
+   * @param dirtyPrices  the array to write the dirty prices into
+   */
+  public void dirtyPriceFromYield(
+      List<ResolvedFixedCouponBond> bonds,
+      List<LocalDate> settlementDates,
+      double[] yields,
+      double[] dirtyPrices) {
+
+    int nbBonds = checkBatch(bonds, settlementDates, yields, dirtyPrices);
+    for (int i = 0; i < nbBonds; i++) {
+      dirtyPrices[i] = cashFlowKernel(bonds.get(i), settlementDates.get(i)).dirtyPriceFromYield(yields[i]);
+    }
+  }
+
+  /**
+   * Calculates the yields of several fixed coupon bonds from their dirty prices.
+   * <p>
+   * The i-th yield is computed as {@link #yieldFromDirtyPrice(ResolvedFixedCouponBond, LocalDate, double)}
+   * and written into the i-th element of {@code yields}.
+   * 
+   * @param bonds  the products
+   * @param settlementDates  the settlement dates, one per product
+   * @param dirtyPrices  the dirty prices, one per product
+   * @param yields  the array to write the yields into
+   */
+  public void yieldFromDirtyPrice(
+      List<ResolvedFixedCouponBond> bonds,
+      List<LocalDate> settlementDates,
+      double[] dirtyPrices,
+      double[] yields) {
+
+    int nbBonds = checkBatch(bonds, settlementDates, dirtyPrices, yields);
+    for (int i = 0; i < nbBonds; i++) {
+      yields[i] = cashFlowKernel(bonds.get(i), settlementDates.get(i)).yieldFromDirtyPrice(dirtyPrices[i]);
+    }
+  }
+
+  /**
+   * Calculates the z-spreads of several fixed coupon bonds from curves and their dirty prices.
+   * <p>
+   * The i-th z-spread is computed as {@code zSpreadFromCurvesAndDirtyPrice} for a single bond
+   * and written into the i-th element of {@code zSpreads}.
+   * 
+   * @param bonds  the products
+   * @param provider  the discounting provider
+   * @param refData  the reference data used to calculate the settlement dates
+   * @param dirtyPrices  the dirty prices, one per product
+   * @param compoundedRateType  the compounded rate type
+   * @param periodsPerYear  the number of periods per year
+   * @param zSpreads  the array to write the z-spreads into
+   */
+  public void zSpreadFromCurvesAndDirtyPrice(
+      List<ResolvedFixedCouponBond> bonds,
+      LegalEntityDiscountingProvider provider,
+      ReferenceData refData,
+      double[] dirtyPrices,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear,
+      double[] zSpreads) {
+
+    ArgChecker.notNull(bonds, "bonds");
+    int nbBonds = bonds.size();
+    ArgChecker.isTrue(dirtyPrices.length == nbBonds, "dirtyPrices must have one element per bond");
+    ArgChecker.isTrue(zSpreads.length >= nbBonds, "zSpreads array is too short");
+    LocalDate valuationDate = provider.getValuationDate();
+    for (int i = 0; i < nbBonds; i++) {
+      ResolvedFixedCouponBond bond = bonds.get(i);
+      LocalDate settlementDate = bond.getSettlementDateOffset().adjust(valuationDate, refData);
+      zSpreads[i] = cashFlowKernel(bond, provider, settlementDate)
+          .zSpreadFromDirtyPrice(dirtyPrices[i], compoundedRateType, periodsPerYear);
+    }
+  }
+
+  // validates the inputs of the batch methods, returning the number of bonds
+  private static int checkBatch(
+      List<ResolvedFixedCouponBond> bonds,
+      List<LocalDate> settlementDates,
+      double[] inputs,
+      double[] outputs) {
+
+    ArgChecker.notNull(bonds, "bonds");
+    ArgChecker.notNull(settlementDates, "settlementDates");
+    int nbBonds = bonds.size();
+    ArgChecker.isTrue(settlementDates.size() == nbBonds, "settlementDates must have one element per bond");
+    ArgChecker.isTrue(inputs.length == nbBonds, "inputs must have one element per bond");
+    ArgChecker.isTrue(outputs.length >= nbBonds, "outputs array is too short");
+    return nbBonds;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Compiles the cash flows of the fixed coupon bond for the specified settlement date.
+   * <p>
+   * The kernel supports the conversions between dirty price and yield.
+   * It can be reused for many conversions of the same bond and settlement date.
+   * 
+   * @param bond  the product
+   * @param settlementDate  the settlement date
+   * @return the cash flow kernel
+   */
+  public FixedCouponBondCashFlowKernel cashFlowKernel(ResolvedFixedCouponBond bond, LocalDate settlementDate) {
+    return cashFlowKernel(bond, null, settlementDate);
+  }
+
+  /**
+   * Compiles the cash flows and discount factors of the fixed coupon bond for the specified settlement date.
+   * <p>
+   * The kernel supports the conversions between dirty price and yield,
+   * and between dirty price and z-spread using the curves of the provider.
+   * It can be reused for many conversions of the same bond, provider and settlement date.
+   * 
+   * @param bond  the product
+   * @param provider  the discounting provider, null to support yield conversions only
+   * @param settlementDate  the settlement date
+   * @return the cash flow kernel
+   */
+  public FixedCouponBondCashFlowKernel cashFlowKernel(
+      ResolvedFixedCouponBond bond,
+      LegalEntityDiscountingProvider provider,
+      LocalDate settlementDate) {
+
+    ArgChecker.notNull(bond, "bond");
+    ArgChecker.notNull(settlementDate, "settlementDate");
+    ImmutableList<FixedCouponBondPaymentPeriod> payments = bond.getPeriodicPayments();
+    FixedCouponBondYieldConvention yieldConv = bond.getYieldConvention();
+    double fixedRate = bond.getFixedRate();
+    // yield conventions
+    boolean inRange = bond.getUnadjustedStartDate().isAfter(settlementDate) || bond.findPeriod(settlementDate).isPresent();
+    // the number of coupons per year is not used here, as it is not available for all frequencies
+    double yearFractionToNextCoupon = inRange ? yearFractionToNextCoupon(bond, settlementDate) : Double.NaN;
+    double accruedInterest = inRange ? accruedInterest(bond, settlementDate) / bond.getNotional() : Double.NaN;
+    double singleCouponPayment = Double.NaN;
+    int nCoupon = payments.size() - couponIndex(payments, settlementDate);
+    if (nCoupon == 1 && (yieldConv.equals(US_STREET) || yieldConv.equals(DE_BONDS))) {
+      FixedCouponBondPaymentPeriod payment = payments.get(payments.size() - 1);
+      singleCouponPayment = 1d + payment.getFixedRate() * payment.getYearFraction();
+    }
+    DoubleArray couponFractions = DoubleArray.of(payments.stream()
+        .filter(period -> (period.hasExCouponPeriod() && !settlementDate.isAfter(period.getDetachmentDate())) ||
+            (!period.hasExCouponPeriod() && period.getPaymentDate().isAfter(settlementDate)))
+        .mapToDouble(period -> fixedRate * period.getYearFraction()));
+    LocalDate maturityDate = bond.getUnadjustedEndDate();
+    double maturity = yieldConv.equals(JP_SIMPLE) ?
+        bond.getDayCount().relativeYearFraction(settlementDate, maturityDate) :
+        Double.NaN;
+    if (provider == null) {
+      return new FixedCouponBondCashFlowKernel(settlementDate, yieldConv, bond.getFrequency(),
+          couponFractions.toArrayUnsafe(), yearFractionToNextCoupon, singleCouponPayment, fixedRate, maturity,
+          settlementDate.isAfter(maturityDate), accruedInterest, null, null, null);
+    }
+    // curves, the cash flows are consistent with presentValueWithZSpread
+    DiscountFactors discountFactors = issuerCurveDf(bond, provider).getDiscountFactors();
+    LocalDate valuationDate = discountFactors.getValuationDate();
+    double priceScale = repoCurveDf(bond, provider).discountFactor(settlementDate) * bond.getNotional();
+    int nbPeriods = payments.size();
+    double[] times = new double[nbPeriods + 1];
+    double[] dfs = new double[nbPeriods + 1];
+    double[] amounts = new double[nbPeriods + 1];
+    int nbFlows = 0;
+    for (FixedCouponBondPaymentPeriod period : payments) {
+      if (!period.getDetachmentDate().isBefore(settlementDate) && !period.getPaymentDate().isBefore(valuationDate)) {
+        times[nbFlows] = discountFactors.relativeYearFraction(period.getPaymentDate());
+        dfs[nbFlows] = discountFactors.discountFactor(times[nbFlows]);
+        amounts[nbFlows] = period.getFixedRate() * period.getNotional() * period.getYearFraction() / priceScale;
+        nbFlows++;
       }
-    };
-    double[] range = ROOT_BRACKETER.getBracketedPoints(priceResidual, 0.00, 0.20);
-    double yield = ROOT_FINDER.getRoot(priceResidual, range[0], range[1]);
-    ValueDerivatives priceDYield = dirtyPriceFromYieldAd(bond, settlementDate, yield);
-    return ValueDerivatives.of(yield, DoubleArray.of(1.0 / priceDYield.getDerivative(0)));
+    }
+    Payment nominal = bond.getNominalPayment();
+    if (!valuationDate.isAfter(nominal.getDate())) {
+      times[nbFlows] = discountFactors.relativeYearFraction(nominal.getDate());
+      dfs[nbFlows] = discountFactors.discountFactor(times[nbFlows]);
+      amounts[nbFlows] = nominal.getAmount() / priceScale;
+      nbFlows++;
+    }
+    return new FixedCouponBondCashFlowKernel(settlementDate, yieldConv, bond.getFrequency(),
+        couponFractions.toArrayUnsafe(), yearFractionToNextCoupon, singleCouponPayment, fixedRate, maturity,
+        settlementDate.isAfter(maturityDate), accruedInterest,
+        Arrays.copyOf(times, nbFlows), Arrays.copyOf(dfs, nbFlows), Arrays.copyOf(amounts, nbFlows));
   }
 
   //-------------------------------------------------------------------------
@@ -1050,13 +1204,18 @@ public class DiscountingFixedCouponBondProductPricer {
   //-------------------------------------------------------------------------
   // Accrual factor to the next coupon
   private double factorToNextCoupon(ResolvedFixedCouponBond bond, LocalDate settlementDate) {
+    return yearFractionToNextCoupon(bond, settlementDate) * ((double) bond.getFrequency().eventsPerYear());
+  }
+
+  // Year fraction to the next coupon
+  private double yearFractionToNextCoupon(ResolvedFixedCouponBond bond, LocalDate settlementDate) {
     if (bond.getPeriodicPayments().get(0).getStartDate().isAfter(settlementDate)) {
       return 0d;
     }
     int couponIndex = couponIndex(bond.getPeriodicPayments(), settlementDate);
     double factorSpot = accruedYearFraction(bond, settlementDate);
     double factorPeriod = bond.getPeriodicPayments().get(couponIndex).getYearFraction();
-    return (factorPeriod - factorSpot) * ((double) bond.getFrequency().eventsPerYear());
+    return factorPeriod - factorSpot;
   }
 
   private int couponIndex(ImmutableList<FixedCouponBondPaymentPeriod> list, LocalDate date) {
@@ -0,0 +1,399 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.DE_BONDS;
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.GB_BUMP_DMO;
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.JP_SIMPLE;
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.US_STREET;
+
+import java.time.LocalDate;
+
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.pricer.CompoundedRateType;
+import com.opengamma.strata.product.bond.FixedCouponBondYieldConvention;
+
+/**
+ * Compiled cash flows of a fixed coupon bond for a single settlement date.
+ * <p>
+ * The coupons, year fractions and discount factors of a {@link com.opengamma.strata.product.bond.ResolvedFixedCouponBond}
+ * are extracted once into primitive arrays. Yield, z-spread and price conversions then do not walk the
+ * payment periods, compute dates or query curves.
+ * <p>
+ * The yield and the z-spread are solved by a safeguarded Newton method using the analytic derivative of the price.
+ * Once a root is bracketed, a Newton step that leaves the bracket is replaced by a bisection step.
+ * <p>
+ * Instances are obtained from {@link DiscountingFixedCouponBondProductPricer#cashFlowKernel}.
+ * A kernel created without a discounting provider supports the yield methods only.
+ * This class is immutable and thread-safe.
+ */
+public final class FixedCouponBondCashFlowKernel {
+
+  /**
+   * The maximum number of iterations of the root finder.
+   */
+  private static final int MAX_ITERATIONS = 100;
+  /**
+   * The accuracy of the root.
+   */
+  private static final double ACCURACY = 1.0e-15;
+  /**
+   * Year fractions below this are treated as zero, consistent with {@code DiscountFactors}.
+   */
+  private static final double EFFECTIVE_ZERO = 1.0e-10;
+
+  /**
+   * The settlement date.
+   */
+  private final LocalDate settlementDate;
+  /**
+   * The yield convention.
+   */
+  private final FixedCouponBondYieldConvention yieldConvention;
+  /**
+   * The coupon frequency.
+   * <p>
+   * The number of coupons per year is only obtained by the yield methods,
+   * allowing the curve methods to be used with frequencies that cannot be annualised.
+   */
+  private final Frequency frequency;
+  /**
+   * The fixed rate times the year fraction of each coupon considered by the standard yield conventions.
+   */
+  private final double[] couponFractions;
+  /**
+   * The year fraction to the next coupon, NaN if the settlement date is outside the range of the bond.
+   * Multiplying by the number of coupons per year gives the accrual factor to the next coupon.
+   */
+  private final double yearFractionToNextCoupon;
+  /**
+   * The final payment per unit notional if a single coupon remains and the convention uses the simple formula,
+   * NaN otherwise.
+   */
+  private final double singleCouponPayment;
+  /**
+   * The fixed rate.
+   */
+  private final double fixedRate;
+  /**
+   * The year fraction between settlement and maturity.
+   */
+  private final double maturity;
+  /**
+   * Whether the settlement is after maturity.
+   */
+  private final boolean expired;
+  /**
+   * The accrued interest per unit notional, NaN if the settlement date is outside the range of the bond.
+   */
+  private final double accruedInterest;
+  /**
+   * The issuer curve year fraction of each cash flow, null if no curves are available.
+   */
+  private final double[] times;
+  /**
+   * The issuer curve discount factor of each cash flow, null if no curves are available.
+   */
+  private final double[] discountFactors;
+  /**
+   * The amount of each cash flow divided by the repo discount factor and the notional, null if no curves are available.
+   */
+  private final double[] priceAmounts;
+
+  // creates an instance
+  FixedCouponBondCashFlowKernel(
+      LocalDate settlementDate,
+      FixedCouponBondYieldConvention yieldConvention,
+      Frequency frequency,
+      double[] couponFractions,
+      double yearFractionToNextCoupon,
+      double singleCouponPayment,
+      double fixedRate,
+      double maturity,
+      boolean expired,
+      double accruedInterest,
+      double[] times,
+      double[] discountFactors,
+      double[] priceAmounts) {
+
+    this.settlementDate = settlementDate;
+    this.yieldConvention = yieldConvention;
+    this.frequency = frequency;
+    this.couponFractions = couponFractions;
+    this.yearFractionToNextCoupon = yearFractionToNextCoupon;
+    this.singleCouponPayment = singleCouponPayment;
+    this.fixedRate = fixedRate;
+    this.maturity = maturity;
+    this.expired = expired;
+    this.accruedInterest = accruedInterest;
+    this.times = times;
+    this.discountFactors = discountFactors;
+    this.priceAmounts = priceAmounts;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the settlement date.
+   *
+   * @return the settlement date
+   */
+  public LocalDate getSettlementDate() {
+    return settlementDate;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the dirty price from yield.
+   * <p>
+   * This matches {@link DiscountingFixedCouponBondProductPricer#dirtyPriceFromYield}.
+   *
+   * @param yield  the yield
+   * @return the dirty price
+   */
+  public double dirtyPriceFromYield(double yield) {
+    return dirtyPriceFromYield(yield, null);
+  }
+
+  /**
+   * Calculates the first derivative of the dirty price with respect to yield.
+   *
+   * @param yield  the yield
+   * @return the derivative of the dirty price
+   */
+  public double dirtyPriceFromYieldDerivative(double yield) {
+    double[] derivative = new double[1];
+    dirtyPriceFromYield(yield, derivative);
+    return derivative[0];
+  }
+
+  /**
+   * Calculates the yield from dirty price.
+   * <p>
+   * This matches {@link DiscountingFixedCouponBondProductPricer#yieldFromDirtyPrice}.
+   *
+   * @param dirtyPrice  the dirty price
+   * @return the yield
+   */
+  public double yieldFromDirtyPrice(double dirtyPrice) {
+    if (yieldConvention.equals(JP_SIMPLE)) {
+      double cleanPrice = dirtyPrice - checkInRange(accruedInterest);
+      return (fixedRate + (1d - cleanPrice) / maturity) / cleanPrice;
+    }
+    checkYieldConvention();
+    double[] derivative = new double[1];
+    double yield = fixedRate;
+    double[] bracket = {Double.NaN, Double.NaN};
+    for (int i = 0; i < MAX_ITERATIONS; ++i) {
+      double residual = dirtyPriceFromYield(yield, derivative) - dirtyPrice;
+      // the periodic compounding factor must remain positive
+      double next = nextIterate(yield, residual, derivative[0], bracket, -frequency.eventsPerYear());
+      if (Math.abs(next - yield) <= ACCURACY || residual == 0d) {
+        return next;
+      }
+      yield = next;
+    }
+    throw new MathException("Could not converge to yield in " + MAX_ITERATIONS + " attempts");
+  }
+
+  // the dirty price from yield, the derivative is written if the array is non-null
+  private double dirtyPriceFromYield(double yield, double[] derivative) {
+    if (!Double.isNaN(singleCouponPayment)) {
+      double couponsPerYear = frequency.eventsPerYear();
+      double factorToNextCoupon = checkInRange(yearFractionToNextCoupon) * couponsPerYear;
+      double df = 1d + factorToNextCoupon * yield / couponsPerYear;
+      if (derivative != null) {
+        derivative[0] = -singleCouponPayment / (df * df) * factorToNextCoupon / couponsPerYear;
+      }
+      return singleCouponPayment / df;
+    }
+    if (yieldConvention.equals(JP_SIMPLE)) {
+      if (expired) {
+        if (derivative != null) {
+          derivative[0] = 0d;
+        }
+        return 0d;
+      }
+      double factor = 1d + yield * maturity;
+      if (derivative != null) {
+        derivative[0] = -(1d + fixedRate * maturity) / (factor * factor) * maturity;
+      }
+      return (1d + fixedRate * maturity) / factor + checkInRange(accruedInterest);
+    }
+    checkYieldConvention();
+    double couponsPerYear = frequency.eventsPerYear();
+    double factorToNextCoupon = checkInRange(yearFractionToNextCoupon) * couponsPerYear;
+    double factorOnPeriod = 1d + yield / couponsPerYear;
+    double discount = 1d / factorOnPeriod;
+    double pvAtFirstCoupon = 0d;
+    double pvAtFirstCouponDerivative = 0d;
+    double discountPow = 1d;
+    int nbCoupon = couponFractions.length;
+    for (int k = 0; k < nbCoupon; ++k) {
+      pvAtFirstCoupon += couponFractions[k] * discountPow;
+      pvAtFirstCouponDerivative -= k * couponFractions[k] * discountPow;
+      discountPow *= discount;
+    }
+    // discountPow is now factorOnPeriod^(-nbCoupon)
+    double principal = discountPow * factorOnPeriod;
+    pvAtFirstCoupon += principal;
+    pvAtFirstCouponDerivative += (1d - nbCoupon) * principal;
+    double priceAfter = Math.pow(factorOnPeriod, -factorToNextCoupon);
+    if (derivative != null) {
+      // the derivatives above are multiplied by factorOnPeriod
+      derivative[0] = (pvAtFirstCouponDerivative - factorToNextCoupon * pvAtFirstCoupon) *
+          priceAfter * discount / couponsPerYear;
+    }
+    return pvAtFirstCoupon * priceAfter;
+  }
+
+  // the value is NaN if the settlement date is outside the range of the bond
+  private static double checkInRange(double value) {
+    if (Double.isNaN(value)) {
+      throw new IllegalArgumentException("Date outside range of bond");
+    }
+    return value;
+  }
+
+  private void checkYieldConvention() {
+    if (!yieldConvention.equals(US_STREET) && !yieldConvention.equals(GB_BUMP_DMO) && !yieldConvention.equals(DE_BONDS) &&
+        !yieldConvention.equals(JP_SIMPLE)) {
+      throw new UnsupportedOperationException("The convention " + yieldConvention.name() + " is not supported.");
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the dirty price from z-spread.
+   * <p>
+   * This matches {@link DiscountingFixedCouponBondProductPricer#dirtyPriceFromCurvesWithZSpread} for the settlement date.
+   *
+   * @param zSpread  the z-spread
+   * @param compoundedRateType  the compounded rate type
+   * @param periodsPerYear  the number of periods per year
+   * @return the dirty price
+   * @throws IllegalStateException if the kernel was created without curves
+   */
+  public double dirtyPriceFromZSpread(double zSpread, CompoundedRateType compoundedRateType, int periodsPerYear) {
+    checkZSpreadInputs(compoundedRateType, periodsPerYear);
+    return dirtyPriceFromZSpread(zSpread, compoundedRateType, periodsPerYear, null);
+  }
+
+  /**
+   * Calculates the z-spread from dirty price.
+   * <p>
+   * This matches {@link DiscountingFixedCouponBondProductPricer#zSpreadFromCurvesAndDirtyPrice} for the settlement date.
+   *
+   * @param dirtyPrice  the dirty price
+   * @param compoundedRateType  the compounded rate type
+   * @param periodsPerYear  the number of periods per year
+   * @return the z-spread
+   * @throws IllegalStateException if the kernel was created without curves
+   */
+  public double zSpreadFromDirtyPrice(double dirtyPrice, CompoundedRateType compoundedRateType, int periodsPerYear) {
+    checkZSpreadInputs(compoundedRateType, periodsPerYear);
+    double lowerBound = Double.NEGATIVE_INFINITY;
+    if (compoundedRateType.equals(CompoundedRateType.PERIODIC)) {
+      // the periodic compounding factors must remain positive
+      for (int i = 0; i < times.length; ++i) {
+        if (times[i] >= EFFECTIVE_ZERO) {
+          double base = Math.pow(discountFactors[i], -1d / periodsPerYear / times[i]);
+          lowerBound = Math.max(lowerBound, -periodsPerYear * base);
+        }
+      }
+    }
+    double[] derivative = new double[1];
+    double zSpread = 0d;
+    double[] bracket = {Double.NaN, Double.NaN};
+    for (int i = 0; i < MAX_ITERATIONS; ++i) {
+      double residual = dirtyPriceFromZSpread(zSpread, compoundedRateType, periodsPerYear, derivative) - dirtyPrice;
+      double next = nextIterate(zSpread, residual, derivative[0], bracket, lowerBound);
+      if (Math.abs(next - zSpread) <= ACCURACY || residual == 0d) {
+        return next;
+      }
+      zSpread = next;
+    }
+    throw new MathException("Could not converge to z-spread in " + MAX_ITERATIONS + " attempts");
+  }
+
+  // the dirty price from z-spread, the derivative is written if the array is non-null
+  private double dirtyPriceFromZSpread(
+      double zSpread,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear,
+      double[] derivative) {
+
+    boolean isPeriodic = compoundedRateType.equals(CompoundedRateType.PERIODIC);
+    double price = 0d;
+    double priceDerivative = 0d;
+    for (int i = 0; i < times.length; ++i) {
+      double t = times[i];
+      if (t < EFFECTIVE_ZERO) {
+        price += priceAmounts[i];
+        continue;
+      }
+      double df;
+      if (isPeriodic) {
+        double ratePeriodicAnnualPlusOne =
+            Math.pow(discountFactors[i], -1d / periodsPerYear / t) + zSpread / periodsPerYear;
+        df = Math.pow(ratePeriodicAnnualPlusOne, -periodsPerYear * t);
+        priceDerivative -= priceAmounts[i] * t * df / ratePeriodicAnnualPlusOne;
+      } else {
+        df = discountFactors[i] * Math.exp(-zSpread * t);
+        priceDerivative -= priceAmounts[i] * t * df;
+      }
+      price += priceAmounts[i] * df;
+    }
+    if (derivative != null) {
+      derivative[0] = priceDerivative;
+    }
+    return price;
+  }
+
+  private void checkZSpreadInputs(CompoundedRateType compoundedRateType, int periodsPerYear) {
+    if (times == null) {
+      throw new IllegalStateException("The cash flow kernel was created without curves");
+    }
+    ArgChecker.notNull(compoundedRateType, "compoundedRateType");
+    if (compoundedRateType.equals(CompoundedRateType.PERIODIC)) {
+      ArgChecker.notNegativeOrZero(periodsPerYear, "periodPerYear");
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // safeguarded Newton step
+  // the bracket holds the last points with positive and negative residual
+  // the step falls back to bisection if it leaves the bracket, or to halving the distance to the lower bound
+  private static double nextIterate(double x, double residual, double derivative, double[] bracket, double lowerBound) {
+    if (residual > 0d) {
+      bracket[0] = x;
+    } else {
+      bracket[1] = x;
+    }
+    double next = x - residual / derivative;
+    if (Math.abs(next - x) <= ACCURACY) {
+      // converged, the step may round onto the end of the bracket
+      return next;
+    }
+    if (!Double.isNaN(bracket[0]) && !Double.isNaN(bracket[1])) {
+      double low = Math.min(bracket[0], bracket[1]);
+      double high = Math.max(bracket[0], bracket[1]);
+      if (!(next >= low && next <= high)) {
+        next = 0.5 * (low + high);
+      }
+      return next;
+    }
+    if (Double.isNaN(next) || Double.isInfinite(next)) {
+      throw new MathException("Failed to find root: derivative is zero at x = " + x);
+    }
+    if (next <= lowerBound) {
+      next = 0.5 * (x + lowerBound);
+    }
+    return next;
+  }
+
+}
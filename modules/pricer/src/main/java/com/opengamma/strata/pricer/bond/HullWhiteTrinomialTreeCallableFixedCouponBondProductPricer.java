@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.impl.tree.HullWhiteTrinomialTree;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.product.bond.FixedCouponBondPaymentPeriod;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * Pricer for callable fixed coupon bond products in Hull-White one factor model
+ * with piecewise constant volatility, using a trinomial tree.
+ * <p>
+ * The bond is callable by the issuer on each of the call dates, at the call price plus the accrued interest.
+ * The call price is a decimal price, for example 1.0 for a call at par.
+ * When the bond is called, the issuer pays the call amount on the call date and the coupons and the nominal
+ * paid after the call date are cancelled.
+ * <p>
+ * The present value is the present value of the bond without call less the value of the issuer's Bermudan call.
+ * The tree is fitted to the issuer curve of the bond, the model parameters describing the dynamic of that curve.
+ * The sensitivities are computed by adjoint differentiation of the tree, with the exercise boundary fixed.
+ */
+public class HullWhiteTrinomialTreeCallableFixedCouponBondProductPricer {
+
+  /**
+   * The default minimum number of steps in the tree.
+   */
+  private static final int DEFAULT_MINIMUM_STEPS = 250;
+
+  /**
+   * Default implementation.
+   */
+  public static final HullWhiteTrinomialTreeCallableFixedCouponBondProductPricer DEFAULT =
+      new HullWhiteTrinomialTreeCallableFixedCouponBondProductPricer(
+          DiscountingFixedCouponBondProductPricer.DEFAULT, DEFAULT_MINIMUM_STEPS);
+
+  /**
+   * Pricer for {@link ResolvedFixedCouponBond} without call.
+   */
+  private final DiscountingFixedCouponBondProductPricer bondPricer;
+  /**
+   * The minimum number of steps in the tree.
+   */
+  private final int minimumSteps;
+
+  /**
+   * Creates an instance.
+   *
+   * @param bondPricer  the pricer for {@link ResolvedFixedCouponBond} without call
+   * @param minimumSteps  the minimum number of steps in the tree
+   */
+  public HullWhiteTrinomialTreeCallableFixedCouponBondProductPricer(
+      DiscountingFixedCouponBondProductPricer bondPricer,
+      int minimumSteps) {
+
+    this.bondPricer = ArgChecker.notNull(bondPricer, "bondPricer");
+    this.minimumSteps = ArgChecker.notNegativeOrZero(minimumSteps, "minimumSteps");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the callable bond product.
+   * <p>
+   * The result is expressed using the payment currency of the bond.
+   *
+   * @param bond  the product
+   * @param callDates  the call dates, in increasing order
+   * @param callPrices  the call prices, in decimal form
+   * @param provider  the discounting provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the present value of the callable bond product
+   */
+  public CurrencyAmount presentValue(
+      ResolvedFixedCouponBond bond,
+      List<LocalDate> callDates,
+      DoubleArray callPrices,
+      LegalEntityDiscountingProvider provider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    CurrencyAmount pvBond = bondPricer.presentValue(bond, provider);
+    CallSchedule schedule = CallSchedule.of(bond, callDates, callPrices, provider, hwProvider, bondPricer);
+    if (schedule.isEmpty()) {
+      return pvBond;
+    }
+    HullWhiteTrinomialTree tree = schedule.tree(bond, provider, hwProvider, minimumSteps);
+    return pvBond.minus(schedule.presentValue(tree));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value sensitivity of the callable bond product.
+   * <p>
+   * The present value sensitivity of the product is the sensitivity of the present value to
+   * the underlying curves.
+   *
+   * @param bond  the product
+   * @param callDates  the call dates, in increasing order
+   * @param callPrices  the call prices, in decimal form
+   * @param provider  the discounting provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the present value curve sensitivity of the product
+   */
+  public PointSensitivityBuilder presentValueSensitivityRates(
+      ResolvedFixedCouponBond bond,
+      List<LocalDate> callDates,
+      DoubleArray callPrices,
+      LegalEntityDiscountingProvider provider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    PointSensitivityBuilder pointBond = bondPricer.presentValueSensitivity(bond, provider);
+    CallSchedule schedule = CallSchedule.of(bond, callDates, callPrices, provider, hwProvider, bondPricer);
+    if (schedule.isEmpty()) {
+      return pointBond;
+    }
+    HullWhiteTrinomialTree tree = schedule.tree(bond, provider, hwProvider, minimumSteps);
+    DoubleArray derivatives = schedule.presentValueAdjoint(tree).getDerivatives();
+    IssuerCurveDiscountFactors issuerDf = DiscountingFixedCouponBondProductPricer.issuerCurveDf(bond, provider);
+    PointSensitivityBuilder point = PointSensitivityBuilder.none();
+    for (int k = 0; k < schedule.keyDates.size(); k++) {
+      if (derivatives.get(k) != 0d) {
+        point = point.combinedWith(issuerDf.zeroRatePointSensitivity(schedule.keyDates.get(k)).multipliedBy(derivatives.get(k)));
+      }
+    }
+    return pointBond.combinedWith(point.multipliedBy(-1d));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value sensitivity to piecewise constant volatility parameters of the Hull-White model.
+   *
+   * @param bond  the product
+   * @param callDates  the call dates, in increasing order
+   * @param callPrices  the call prices, in decimal form
+   * @param provider  the discounting provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the present value Hull-White model parameter sensitivity of the callable bond product
+   */
+  public DoubleArray presentValueSensitivityModelParamsHullWhite(
+      ResolvedFixedCouponBond bond,
+      List<LocalDate> callDates,
+      DoubleArray callPrices,
+      LegalEntityDiscountingProvider provider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    CallSchedule schedule = CallSchedule.of(bond, callDates, callPrices, provider, hwProvider, bondPricer);
+    int nbVols = hwProvider.getParameters().getVolatility().size();
+    if (schedule.isEmpty()) {
+      return DoubleArray.filled(nbVols);
+    }
+    HullWhiteTrinomialTree tree = schedule.tree(bond, provider, hwProvider, minimumSteps);
+    DoubleArray derivatives = schedule.presentValueAdjoint(tree).getDerivatives();
+    return derivatives.subArray(derivatives.size() - nbVols).multipliedBy(-1d);
+  }
+
+  //-------------------------------------------------------------------------
+  // the issuer's call, described as a Bermudan option on the cancelled cash flows
+  private static final class CallSchedule {
+    private final List<LocalDate> keyDates;
+    private final int[] exerciseKeys;
+    private final double[] exerciseAmounts;
+    private final int[] flowKeys;
+    private final double[] flowAmounts;
+    private final int[] flowGroups;
+
+    private CallSchedule(
+        List<LocalDate> keyDates,
+        int[] exerciseKeys,
+        double[] exerciseAmounts,
+        int[] flowKeys,
+        double[] flowAmounts,
+        int[] flowGroups) {
+
+      this.keyDates = keyDates;
+      this.exerciseKeys = exerciseKeys;
+      this.exerciseAmounts = exerciseAmounts;
+      this.flowKeys = flowKeys;
+      this.flowAmounts = flowAmounts;
+      this.flowGroups = flowGroups;
+    }
+
+    // the group of a cash flow is the last call date strictly before its payment date
+    private static CallSchedule of(
+        ResolvedFixedCouponBond bond,
+        List<LocalDate> callDates,
+        DoubleArray callPrices,
+        LegalEntityDiscountingProvider provider,
+        HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider,
+        DiscountingFixedCouponBondProductPricer bondPricer) {
+
+      ArgChecker.isTrue(callDates.size() == callPrices.size(), "callDates and callPrices must have the same size");
+      ArgChecker.isTrue(hwProvider.getValuationDateTime().toLocalDate().equals(provider.getValuationDate()),
+          "Hull-White model data and discounting data should be for the same date");
+      LocalDate valuationDate = provider.getValuationDate();
+      List<LocalDate> exerciseDates = new ArrayList<>();
+      List<Double> exerciseAmounts = new ArrayList<>();
+      for (int i = 0; i < callDates.size(); i++) {
+        LocalDate callDate = callDates.get(i);
+        ArgChecker.isTrue(i == 0 || callDate.isAfter(callDates.get(i - 1)), "callDates must be increasing");
+        if (!callDate.isBefore(valuationDate) && callDate.isBefore(bond.getNominalPayment().getDate())) {
+          exerciseDates.add(callDate);
+          exerciseAmounts.add(-(callPrices.get(i) * bond.getNotional() + bondPricer.accruedInterest(bond, callDate)));
+        }
+      }
+      List<LocalDate> flowDates = new ArrayList<>();
+      List<Double> flowAmounts = new ArrayList<>();
+      List<Integer> flowGroups = new ArrayList<>();
+      for (FixedCouponBondPaymentPeriod period : bond.getPeriodicPayments()) {
+        int group = group(exerciseDates, period.getPaymentDate());
+        if (group >= 0) {
+          flowDates.add(period.getPaymentDate());
+          flowAmounts.add(period.getNotional() * period.getFixedRate() * period.getYearFraction());
+          flowGroups.add(group);
+        }
+      }
+      int groupNominal = group(exerciseDates, bond.getNominalPayment().getDate());
+      if (groupNominal >= 0) {
+        flowDates.add(bond.getNominalPayment().getDate());
+        flowAmounts.add(bond.getNominalPayment().getAmount());
+        flowGroups.add(groupNominal);
+      }
+      TreeSet<LocalDate> dates = new TreeSet<>(exerciseDates);
+      dates.addAll(flowDates);
+      List<LocalDate> keyDates = new ArrayList<>(dates);
+      return new CallSchedule(
+          keyDates,
+          exerciseDates.stream().mapToInt(keyDates::indexOf).toArray(),
+          exerciseAmounts.stream().mapToDouble(Double::doubleValue).toArray(),
+          flowDates.stream().mapToInt(keyDates::indexOf).toArray(),
+          flowAmounts.stream().mapToDouble(Double::doubleValue).toArray(),
+          flowGroups.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static int group(List<LocalDate> exerciseDates, LocalDate paymentDate) {
+      int group = -1;
+      while (group + 1 < exerciseDates.size() && exerciseDates.get(group + 1).isBefore(paymentDate)) {
+        group++;
+      }
+      return group;
+    }
+
+    private boolean isEmpty() {
+      return exerciseKeys.length == 0;
+    }
+
+    private HullWhiteTrinomialTree tree(
+        ResolvedFixedCouponBond bond,
+        LegalEntityDiscountingProvider provider,
+        HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider,
+        int minimumSteps) {
+
+      IssuerCurveDiscountFactors issuerDf = DiscountingFixedCouponBondProductPricer.issuerCurveDf(bond, provider);
+      return HullWhiteTrinomialTree.of(hwProvider, issuerDf.getDiscountFactors(), keyDates, minimumSteps);
+    }
+
+    private double presentValue(HullWhiteTrinomialTree tree) {
+      return tree.presentValue(exerciseKeys, exerciseAmounts, flowKeys, flowAmounts, flowGroups);
+    }
+
+    private ValueDerivatives presentValueAdjoint(HullWhiteTrinomialTree tree) {
+      return tree.presentValueAdjoint(exerciseKeys, exerciseAmounts, flowKeys, flowAmounts, flowGroups);
+    }
+  }
+
+}
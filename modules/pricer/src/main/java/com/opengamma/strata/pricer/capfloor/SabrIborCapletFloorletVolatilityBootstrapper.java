@@ -6,7 +6,7 @@
 package com.opengamma.strata.pricer.capfloor;
 
 import static com.opengamma.strata.math.impl.linearalgebra.DecompositionFactory.SV_COMMONS;
-import static com.opengamma.strata.math.impl.matrix.MatrixAlgebraFactory.OG_ALGEBRA;
+import static com.opengamma.strata.math.impl.matrix.MatrixAlgebraFactory.DENSE_ALGEBRA;
 
 import java.time.LocalDate;
 import java.time.Period;
@@ -110,7 +110,7 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       double epsilon,
       ReferenceData referenceData) {
 
-    NonLinearLeastSquare solver = new NonLinearLeastSquare(SV_COMMONS, OG_ALGEBRA, epsilon);
+    NonLinearLeastSquare solver = new NonLinearLeastSquare(SV_COMMONS, DENSE_ALGEBRA, epsilon);
     return new SabrIborCapletFloorletVolatilityBootstrapper(pricer, sabrPeriodPricer, solver, referenceData);
   }
 
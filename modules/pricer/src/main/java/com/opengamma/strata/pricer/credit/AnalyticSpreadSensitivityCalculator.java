@@ -19,9 +19,9 @@ import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
-import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionCommons;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionOpenGamma;
 import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionResult;
-import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.DenseMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.product.credit.ResolvedCds;
 import com.opengamma.strata.product.credit.ResolvedCdsTrade;
@@ -43,11 +43,11 @@ public class AnalyticSpreadSensitivityCalculator
   /**
    * The matrix algebra used for matrix inversion.
    */
-  private static final MatrixAlgebra MATRIX_ALGEBRA = new CommonsMatrixAlgebra();
+  private static final MatrixAlgebra MATRIX_ALGEBRA = new DenseMatrixAlgebra();
   /**
    * LU decomposition.
    */
-  private static final LUDecompositionCommons DECOMPOSITION = new LUDecompositionCommons();
+  private static final LUDecompositionOpenGamma DECOMPOSITION = new LUDecompositionOpenGamma();
 
   /**
    * Constructor with the accrual-on-default formula specified.
@@ -37,7 +37,7 @@ import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ResolvedTradeParameterMetadata;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
-import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.DenseMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.pricer.common.PriceType;
 import com.opengamma.strata.product.credit.CdsCalibrationTrade;
@@ -70,7 +70,7 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
   /**
    * The matrix algebra used for matrix inversion.
    */
-  private static final MatrixAlgebra MATRIX_ALGEBRA = new CommonsMatrixAlgebra();
+  private static final MatrixAlgebra MATRIX_ALGEBRA = new DenseMatrixAlgebra();
 
   /**
    * The arbitrage handling.
@@ -11,6 +11,8 @@ import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
@@ -22,6 +24,8 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.metrics.Metrics;
+import com.opengamma.strata.collect.metrics.MetricsRecorder;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
@@ -31,7 +35,7 @@ import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
 import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
 import com.opengamma.strata.market.observable.IndexQuoteId;
-import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.DenseMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.math.rootfind.NewtonVectorRootFinder;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
@@ -52,6 +56,9 @@ import com.opengamma.strata.product.ResolvedTrade;
  * <p>
  * Once calibrated, the curves are then available for use.
  * Each node in the curve definition becomes a parameter in the matching output curve.
+ * <p>
+ * If a {@link MetricsRecorder} is installed, the time taken to calibrate each group is recorded,
+ * together with the number of evaluations made by the root finder and the residual.
  */
 public final class RatesCurveCalibrator {
 
@@ -63,7 +70,31 @@ public final class RatesCurveCalibrator {
   /**
    * The matrix algebra used for matrix inversion.
    */
-  private static final MatrixAlgebra MATRIX_ALGEBRA = new CommonsMatrixAlgebra();
+  private static final MatrixAlgebra MATRIX_ALGEBRA = new DenseMatrixAlgebra();
+  /**
+   * The metric for the time taken to calibrate a group.
+   */
+  private static final String METRIC_GROUP = "calibration.group";
+  /**
+   * The metric for the number of function evaluations made by the root finder for a group.
+   */
+  private static final String METRIC_EVALUATIONS = "calibration.evaluations";
+  /**
+   * The metric for the number of Jacobian evaluations made by the root finder for a group.
+   */
+  private static final String METRIC_JACOBIANS = "calibration.jacobians";
+  /**
+   * The metric for the largest absolute residual of a group, from the last evaluation of the root finder.
+   */
+  private static final String METRIC_RESIDUAL = "calibration.residual";
+  /**
+   * The metric for the number of groups that failed to calibrate.
+   */
+  private static final String METRIC_FAILURES = "calibration.failures";
+  /**
+   * The metric for the time taken to build the Jacobian matrices of a group.
+   */
+  private static final String METRIC_JACOBIAN_MATRIX = "calibration.jacobian.matrix";
 
   /**
    * The root finder used for curve calibration.
@@ -279,8 +310,13 @@ public final class RatesCurveCalibrator {
 
       // use calibration to build Jacobian matrices
       if (groupDefnBound.isComputeJacobian()) {
+        MetricsRecorder recorder = Metrics.recorder();
+        long start = recorder.isEnabled() ? System.nanoTime() : 0;
         jacobians = updateJacobiansForGroup(
             calibratedProvider, trades, orderGroup, orderPrev, orderPrevAndGroup, jacobians);
+        if (recorder.isEnabled()) {
+          recorder.recordTime(METRIC_JACOBIAN_MATRIX, System.nanoTime() - start);
+        }
       }
       ImmutableMap<CurveName, DoubleArray> sensitivityToMarketQuote = ImmutableMap.of();
       if (groupDefnBound.isComputePvSensitivityToMarketQuote()) {
@@ -317,7 +353,48 @@ public final class RatesCurveCalibrator {
 
     // calibrate
     DoubleArray initialGuess = DoubleArray.copyOf(initialGuesses);
-    return rootFinder.findRoot(valueCalculator, derivativeCalculator, initialGuess);
+    MetricsRecorder recorder = Metrics.recorder();
+    if (!recorder.isEnabled()) {
+      return rootFinder.findRoot(valueCalculator, derivativeCalculator, initialGuess);
+    }
+    return calibrateGroupMeasured(valueCalculator, derivativeCalculator, initialGuess, recorder);
+  }
+
+  // calibrates a single group, recording the number of evaluations and the residual
+  private DoubleArray calibrateGroupMeasured(
+      Function<DoubleArray, DoubleArray> valueCalculator,
+      Function<DoubleArray, DoubleMatrix> derivativeCalculator,
+      DoubleArray initialGuess,
+      MetricsRecorder recorder) {
+
+    AtomicInteger valueCount = new AtomicInteger();
+    AtomicInteger derivativeCount = new AtomicInteger();
+    AtomicReference<DoubleArray> lastValue = new AtomicReference<>(DoubleArray.EMPTY);
+    Function<DoubleArray, DoubleArray> countingValueCalculator = x -> {
+      valueCount.incrementAndGet();
+      DoubleArray value = valueCalculator.apply(x);
+      lastValue.set(value);
+      return value;
+    };
+    Function<DoubleArray, DoubleMatrix> countingDerivativeCalculator = x -> {
+      derivativeCount.incrementAndGet();
+      return derivativeCalculator.apply(x);
+    };
+    long start = System.nanoTime();
+    try {
+      return rootFinder.findRoot(countingValueCalculator, countingDerivativeCalculator, initialGuess);
+    } catch (RuntimeException ex) {
+      recorder.incrementCount(METRIC_FAILURES, 1);
+      throw ex;
+    } finally {
+      recorder.recordTime(METRIC_GROUP, System.nanoTime() - start);
+      recorder.recordValue(METRIC_EVALUATIONS, valueCount.get());
+      recorder.recordValue(METRIC_JACOBIANS, derivativeCount.get());
+      DoubleArray residuals = lastValue.get();
+      if (!residuals.isEmpty()) {
+        recorder.recordValue(METRIC_RESIDUAL, residuals.map(Math::abs).max());
+      }
+    }
   }
 
   //-------------------------------------------------------------------------
@@ -5,11 +5,16 @@
  */
 package com.opengamma.strata.pricer.fxopt;
 
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.math.DoubleMath;
 import com.opengamma.strata.basics.currency.Currency;
@@ -19,12 +24,15 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.impl.tree.ConstantContinuousSingleBarrierKnockoutFunction;
 import com.opengamma.strata.pricer.impl.tree.EuropeanVanillaOptionFunction;
+import com.opengamma.strata.pricer.impl.tree.OptionFunction;
 import com.opengamma.strata.pricer.impl.tree.TrinomialTree;
+import com.opengamma.strata.pricer.impl.tree.TrinomialTreeWorkspace;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.fx.ResolvedFxSingle;
@@ -192,6 +200,39 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
       RecombiningTrinomialTreeData treeData) {
 
     double price = price(option, ratesProvider, volatilities, treeData);
+    return presentValue(option, price);
+  }
+
+  /**
+   * Calculates the present value of several FX barrier option products.
+   * <p>
+   * The present value of each product is the value on the valuation date.
+   * It is expressed in the counter currency.
+   * <p>
+   * A trinomial tree is calibrated to Black volatilities once for each distinct currency pair and expiry, 
+   * then the products sharing a tree are priced together in a single backward sweep.
+   * The results are in the order of the input list.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the present values of the products
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    ValueDerivatives[] priceDerivatives = priceDerivatives(options, ratesProvider, volatilities);
+    ImmutableList.Builder<CurrencyAmount> result = ImmutableList.builder();
+    for (int i = 0; i < priceDerivatives.length; ++i) {
+      result.add(presentValue(options.get(i), priceDerivatives[i].getValue()));
+    }
+    return result.build();
+  }
+
+  // the present value from the price
+  private CurrencyAmount presentValue(ResolvedFxSingleBarrierOption option, double price) {
     ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
     return CurrencyAmount.of(underlyingOption.getCounterCurrency(), signedNotional(underlyingOption) * price);
   }
@@ -309,8 +350,42 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
       BlackFxOptionVolatilities volatilities,
       RecombiningTrinomialTreeData treeData) {
 
-    ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
     ValueDerivatives priceDerivatives = priceDerivatives(option, ratesProvider, volatilities, treeData);
+    return currencyExposure(option, ratesProvider, priceDerivatives);
+  }
+
+  /**
+   * Calculates the currency exposure of several FX barrier option products.
+   * <p>
+   * A trinomial tree is calibrated to Black volatilities once for each distinct currency pair and expiry, 
+   * then the products sharing a tree are priced together in a single backward sweep.
+   * The results are in the order of the input list.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the currency exposures of the products
+   */
+  public List<MultiCurrencyAmount> currencyExposure(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    ValueDerivatives[] priceDerivatives = priceDerivatives(options, ratesProvider, volatilities);
+    ImmutableList.Builder<MultiCurrencyAmount> result = ImmutableList.builder();
+    for (int i = 0; i < priceDerivatives.length; ++i) {
+      result.add(currencyExposure(options.get(i), ratesProvider, priceDerivatives[i]));
+    }
+    return result.build();
+  }
+
+  // the currency exposure from the price and delta
+  private MultiCurrencyAmount currencyExposure(
+      ResolvedFxSingleBarrierOption option,
+      RatesProvider ratesProvider,
+      ValueDerivatives priceDerivatives) {
+
+    ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
     double price = priceDerivatives.getValue();
     double delta = priceDerivatives.getDerivative(0);
     CurrencyPair currencyPair = underlyingOption.getUnderlying().getCurrencyPair();
@@ -328,61 +403,69 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
       BlackFxOptionVolatilities volatilities,
       RecombiningTrinomialTreeData data) {
 
-    validate(option, ratesProvider, volatilities);
-    validateData(option, ratesProvider, volatilities, data);
-    int nSteps = data.getNumberOfSteps();
-    ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
-    double timeToExpiry = data.getTime(nSteps);
-    ResolvedFxSingle underlyingFx = underlyingOption.getUnderlying();
-    Currency ccyBase = underlyingFx.getCounterCurrencyPayment().getCurrency();
-    Currency ccyCounter = underlyingFx.getCounterCurrencyPayment().getCurrency();
-    DiscountFactors baseDiscountFactors = ratesProvider.discountFactors(ccyBase);
-    DiscountFactors counterDiscountFactors = ratesProvider.discountFactors(ccyCounter);
-    double rebateAtExpiry = 0d; // used to price knock-in option
-    double rebateAtExpiryDerivative = 0d; // used to price knock-in option
-    double notional = Math.abs(underlyingFx.getBaseCurrencyPayment().getAmount());
-    double[] rebateArray = new double[nSteps + 1];
-    SimpleConstantContinuousBarrier barrier = (SimpleConstantContinuousBarrier) option.getBarrier();
-    if (option.getRebate().isPresent()) {
-      CurrencyAmount rebateCurrencyAmount = option.getRebate().get();
-      double rebatePerUnit = rebateCurrencyAmount.getAmount() / notional;
-      boolean isCounter = rebateCurrencyAmount.getCurrency().equals(ccyCounter);
-      double rebate = isCounter ? rebatePerUnit : rebatePerUnit * barrier.getBarrierLevel();
-      if (barrier.getKnockType().isKnockIn()) { // use in-out parity
-        double dfCounterAtExpiry = counterDiscountFactors.discountFactor(timeToExpiry);
-        double dfBaseAtExpiry = baseDiscountFactors.discountFactor(timeToExpiry);
-        for (int i = 0; i < nSteps + 1; ++i) {
-          rebateArray[i] = isCounter ?
-              rebate * dfCounterAtExpiry / counterDiscountFactors.discountFactor(data.getTime(i)) :
-              rebate * dfBaseAtExpiry / baseDiscountFactors.discountFactor(data.getTime(i));
-        }
-        if (isCounter) {
-          rebateAtExpiry = rebatePerUnit * dfCounterAtExpiry;
-        } else {
-          rebateAtExpiry = rebatePerUnit * data.getSpot() * dfBaseAtExpiry;
-          rebateAtExpiryDerivative = rebatePerUnit * dfBaseAtExpiry;
-        }
-      } else {
-        Arrays.fill(rebateArray, rebate);
+    return priceDerivatives(ImmutableList.of(option), ratesProvider, volatilities, data, new TrinomialTreeWorkspace()).get(0);
+  }
+
+  // calibrates one tree per currency pair and expiry, then prices the options sharing a tree in one sweep
+  private ValueDerivatives[] priceDerivatives(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    int nOptions = options.size();
+    Map<Pair<CurrencyPair, ZonedDateTime>, List<ResolvedFxSingleBarrierOption>> groups = new LinkedHashMap<>();
+    Map<Pair<CurrencyPair, ZonedDateTime>, List<Integer>> groupIndices = new HashMap<>();
+    for (int i = 0; i < nOptions; ++i) {
+      ResolvedFxSingleBarrierOption option = options.get(i);
+      validate(option, ratesProvider, volatilities);
+      ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
+      Pair<CurrencyPair, ZonedDateTime> key =
+          Pair.of(underlyingOption.getUnderlying().getCurrencyPair(), underlyingOption.getExpiry());
+      groups.computeIfAbsent(key, k -> new ArrayList<>()).add(option);
+      groupIndices.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+    }
+    ValueDerivatives[] result = new ValueDerivatives[nOptions];
+    TrinomialTreeWorkspace workspace = new TrinomialTreeWorkspace();
+    for (Entry<Pair<CurrencyPair, ZonedDateTime>, List<ResolvedFxSingleBarrierOption>> entry : groups.entrySet()) {
+      List<ResolvedFxSingleBarrierOption> group = entry.getValue();
+      RecombiningTrinomialTreeData treeData =
+          calibrator.calibrateTrinomialTree(group.get(0).getUnderlyingOption(), ratesProvider, volatilities);
+      List<ValueDerivatives> groupResult = priceDerivatives(group, ratesProvider, volatilities, treeData, workspace);
+      List<Integer> indices = groupIndices.get(entry.getKey());
+      for (int j = 0; j < indices.size(); ++j) {
+        result[indices.get(j)] = groupResult.get(j);
       }
     }
-    ConstantContinuousSingleBarrierKnockoutFunction barrierFunction = ConstantContinuousSingleBarrierKnockoutFunction.of(
-        underlyingOption.getStrike(),
-        timeToExpiry,
-        underlyingOption.getPutCall(),
-        nSteps,
-        barrier.getBarrierType(),
-        barrier.getBarrierLevel(),
-        DoubleArray.ofUnsafe(rebateArray));
-    ValueDerivatives barrierPrice = TREE.optionPriceAdjoint(barrierFunction, data);
-    if (barrier.getKnockType().isKnockIn()) {  // use in-out parity
-      EuropeanVanillaOptionFunction vanillaFunction = EuropeanVanillaOptionFunction.of(
-          underlyingOption.getStrike(), timeToExpiry, underlyingOption.getPutCall(), nSteps);
-      ValueDerivatives vanillaPrice = TREE.optionPriceAdjoint(vanillaFunction, data);
-      return ValueDerivatives.of(vanillaPrice.getValue() + rebateAtExpiry - barrierPrice.getValue(),
-          DoubleArray.of(vanillaPrice.getDerivative(0) + rebateAtExpiryDerivative - barrierPrice.getDerivative(0)));
+    return result;
+  }
+
+  // prices the options in a single backward sweep over the tree
+  private List<ValueDerivatives> priceDerivatives(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities,
+      RecombiningTrinomialTreeData data,
+      TrinomialTreeWorkspace workspace) {
+
+    List<TreePayoff> payoffs = new ArrayList<>(options.size());
+    List<OptionFunction> functions = new ArrayList<>(2 * options.size());
+    for (ResolvedFxSingleBarrierOption option : options) {
+      validate(option, ratesProvider, volatilities);
+      validateData(option, ratesProvider, volatilities, data);
+      TreePayoff payoff = TreePayoff.of(option, ratesProvider, data);
+      payoffs.add(payoff);
+      payoff.addFunctions(functions);
     }
-    return barrierPrice;
+    double[] prices = new double[functions.size()];
+    double[] deltas = new double[functions.size()];
+    TREE.optionPriceAdjoint(functions, data, workspace, prices, deltas);
+    ImmutableList.Builder<ValueDerivatives> result = ImmutableList.builder();
+    int index = 0;
+    for (TreePayoff payoff : payoffs) {
+      result.add(payoff.priceDerivatives(prices, deltas, index));
+      index += payoff.size();
+    }
+    return result.build();
   }
 
   //-------------------------------------------------------------------------
@@ -417,4 +500,111 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
         Math.abs(option.getUnderlying().getBaseCurrencyPayment().getAmount());
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * The tree payoffs of a barrier option.
+   * <p>
+   * A knock-out option is priced by the knock-out function alone.
+   * A knock-in option is priced via the in-out parity, with the knock-out function and the vanilla function
+   * priced in the same backward sweep.
+   */
+  private static final class TreePayoff {
+
+    private final OptionFunction knockoutFunction;
+    private final OptionFunction vanillaFunction;
+    private final double rebateAtExpiry;
+    private final double rebateAtExpiryDerivative;
+
+    private TreePayoff(
+        OptionFunction knockoutFunction,
+        OptionFunction vanillaFunction,
+        double rebateAtExpiry,
+        double rebateAtExpiryDerivative) {
+
+      this.knockoutFunction = knockoutFunction;
+      this.vanillaFunction = vanillaFunction;
+      this.rebateAtExpiry = rebateAtExpiry;
+      this.rebateAtExpiryDerivative = rebateAtExpiryDerivative;
+    }
+
+    private static TreePayoff of(
+        ResolvedFxSingleBarrierOption option,
+        RatesProvider ratesProvider,
+        RecombiningTrinomialTreeData data) {
+
+      int nSteps = data.getNumberOfSteps();
+      ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
+      double timeToExpiry = data.getTime(nSteps);
+      ResolvedFxSingle underlyingFx = underlyingOption.getUnderlying();
+      Currency ccyBase = underlyingFx.getCounterCurrencyPayment().getCurrency();
+      Currency ccyCounter = underlyingFx.getCounterCurrencyPayment().getCurrency();
+      DiscountFactors baseDiscountFactors = ratesProvider.discountFactors(ccyBase);
+      DiscountFactors counterDiscountFactors = ratesProvider.discountFactors(ccyCounter);
+      double rebateAtExpiry = 0d; // used to price knock-in option
+      double rebateAtExpiryDerivative = 0d; // used to price knock-in option
+      double notional = Math.abs(underlyingFx.getBaseCurrencyPayment().getAmount());
+      double[] rebateArray = new double[nSteps + 1];
+      SimpleConstantContinuousBarrier barrier = (SimpleConstantContinuousBarrier) option.getBarrier();
+      if (option.getRebate().isPresent()) {
+        CurrencyAmount rebateCurrencyAmount = option.getRebate().get();
+        double rebatePerUnit = rebateCurrencyAmount.getAmount() / notional;
+        boolean isCounter = rebateCurrencyAmount.getCurrency().equals(ccyCounter);
+        double rebate = isCounter ? rebatePerUnit : rebatePerUnit * barrier.getBarrierLevel();
+        if (barrier.getKnockType().isKnockIn()) { // use in-out parity
+          double dfCounterAtExpiry = counterDiscountFactors.discountFactor(timeToExpiry);
+          double dfBaseAtExpiry = baseDiscountFactors.discountFactor(timeToExpiry);
+          for (int i = 0; i < nSteps + 1; ++i) {
+            rebateArray[i] = isCounter ?
+                rebate * dfCounterAtExpiry / counterDiscountFactors.discountFactor(data.getTime(i)) :
+                rebate * dfBaseAtExpiry / baseDiscountFactors.discountFactor(data.getTime(i));
+          }
+          if (isCounter) {
+            rebateAtExpiry = rebatePerUnit * dfCounterAtExpiry;
+          } else {
+            rebateAtExpiry = rebatePerUnit * data.getSpot() * dfBaseAtExpiry;
+            rebateAtExpiryDerivative = rebatePerUnit * dfBaseAtExpiry;
+          }
+        } else {
+          Arrays.fill(rebateArray, rebate);
+        }
+      }
+      ConstantContinuousSingleBarrierKnockoutFunction barrierFunction = ConstantContinuousSingleBarrierKnockoutFunction.of(
+          underlyingOption.getStrike(),
+          timeToExpiry,
+          underlyingOption.getPutCall(),
+          nSteps,
+          barrier.getBarrierType(),
+          barrier.getBarrierLevel(),
+          DoubleArray.ofUnsafe(rebateArray));
+      if (barrier.getKnockType().isKnockIn()) {  // use in-out parity
+        EuropeanVanillaOptionFunction vanillaFunction = EuropeanVanillaOptionFunction.of(
+            underlyingOption.getStrike(), timeToExpiry, underlyingOption.getPutCall(), nSteps);
+        return new TreePayoff(barrierFunction, vanillaFunction, rebateAtExpiry, rebateAtExpiryDerivative);
+      }
+      return new TreePayoff(barrierFunction, null, 0d, 0d);
+    }
+
+    // the number of functions priced on the tree
+    private int size() {
+      return vanillaFunction == null ? 1 : 2;
+    }
+
+    // adds the functions in the order expected by priceDerivatives
+    private void addFunctions(List<OptionFunction> functions) {
+      functions.add(knockoutFunction);
+      if (vanillaFunction != null) {
+        functions.add(vanillaFunction);
+      }
+    }
+
+    // the price and delta from the tree prices and deltas of the functions starting at index
+    private ValueDerivatives priceDerivatives(double[] prices, double[] deltas, int index) {
+      if (vanillaFunction == null) {
+        return ValueDerivatives.of(prices[index], DoubleArray.of(deltas[index]));
+      }
+      return ValueDerivatives.of(prices[index + 1] + rebateAtExpiry - prices[index],
+          DoubleArray.of(deltas[index + 1] + rebateAtExpiryDerivative - deltas[index]));
+    }
+  }
+
 }
@@ -14,6 +14,7 @@ import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.math.impl.cern.Probability;
 import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
 import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
 import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
@@ -39,6 +40,10 @@ public final class BlackFormulaRepository {
   private static final double ATM_LIMIT = 1.0E-3;
   private static final double ROOT_ACCURACY = 1.0E-7;
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder(ROOT_ACCURACY);
+  /** The relative accuracy of the batch implied volatility solver, applied to the total volatility. */
+  private static final double BATCH_VOL_ACCURACY = 1.0E-14;
+  /** The maximal number of iterations of the batch implied volatility solver. */
+  private static final int BATCH_MAX_ITERATIONS = 100;
 
   // restricted constructor
   private BlackFormulaRepository() {
@@ -67,6 +72,47 @@ public final class BlackFormulaRepository {
     ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
     ArgChecker.isTrue(lognormalVol >= 0d, "negative/NaN lognormalVol; have {}", lognormalVol);
 
+    return priceUnchecked(forward, strike, timeToExpiry, lognormalVol, isCall);
+  }
+
+  /**
+   * Computes the forward price of a batch of options.
+   * <p>
+   * This is equivalent to calling {@link #price(double, double, double, double, boolean)} for each option.
+   * The inputs are validated up-front and the prices are then computed in a single loop that does not allocate,
+   * with the price of option {@code i} written to {@code prices[i]}.
+   * The input and output arrays must all have the same length.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param isCall  true for call, false for put
+   * @param prices  the array populated with the forward prices
+   */
+  public static void price(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols,
+      boolean[] isCall,
+      double[] prices) {
+
+    int size = validateBatch(forwards, strikes, timesToExpiry, lognormalVols, isCall);
+    ArgChecker.isTrue(prices.length == size, "prices must have length {}", size);
+    for (int i = 0; i < size; i++) {
+      prices[i] = priceUnchecked(forwards[i], strikes[i], timesToExpiry[i], lognormalVols[i], isCall[i]);
+    }
+  }
+
+  // computes the price without validating the inputs
+  private static double priceUnchecked(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double lognormalVol,
+      boolean isCall) {
+
     double sigmaRootT = lognormalVol * Math.sqrt(timeToExpiry);
     if (Double.isNaN(sigmaRootT)) {
       log.info("lognormalVol * Math.sqrt(timeToExpiry) ambiguous");
@@ -94,8 +140,8 @@ public final class BlackFormulaRepository {
       d2 = d1 - sigmaRootT;
     }
 
-    double nF = NORMAL.getCDF(sign * d1);
-    double nS = NORMAL.getCDF(sign * d2);
+    double nF = NormalDistribution.standardCdf(sign * d1);
+    double nS = NormalDistribution.standardCdf(sign * d2);
     double first = nF == 0d ? 0d : forward * nF;
     double second = nS == 0d ? 0d : strike * nS;
 
@@ -187,6 +233,102 @@ public final class BlackFormulaRepository {
     return ValueDerivatives.of(price, DoubleArray.of(forwardBar, strikeBar, timeToExpiryBar, lognormalVolBar));
   }
 
+  /**
+   * Computes the price without numeraire and its derivatives for a batch of options.
+   * <p>
+   * This is equivalent to calling {@link #priceAdjoint(double, double, double, double, boolean)} for each option,
+   * but no {@code ValueDerivatives} is created. The price of option {@code i} is written to {@code prices[i]}
+   * and its derivatives are written to {@code derivatives[k][i]}, where the derivatives are in the following order:
+   * <ul>
+   * <li>[0] derivative with respect to the forward
+   * <li>[1] derivative with respect to the strike
+   * <li>[2] derivative with respect to the time to expiry
+   * <li>[3] derivative with respect to the volatility
+   * </ul>
+   * The input and output arrays must all have the same length.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param isCall  true for call, false for put
+   * @param prices  the array populated with the forward prices
+   * @param derivatives  the four arrays populated with the derivatives
+   */
+  public static void priceAdjoint(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols,
+      boolean[] isCall,
+      double[] prices,
+      double[][] derivatives) {
+
+    int size = validateBatch(forwards, strikes, timesToExpiry, lognormalVols, isCall);
+    ArgChecker.isTrue(prices.length == size, "prices must have length {}", size);
+    ArgChecker.isTrue(derivatives.length == 4, "derivatives must have four rows");
+    double[] forwardBars = derivatives[0];
+    double[] strikeBars = derivatives[1];
+    double[] timeToExpiryBars = derivatives[2];
+    double[] lognormalVolBars = derivatives[3];
+    ArgChecker.isTrue(
+        forwardBars.length == size && strikeBars.length == size &&
+            timeToExpiryBars.length == size && lognormalVolBars.length == size,
+        "derivatives must have length {}", size);
+
+    for (int i = 0; i < size; i++) {
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double timeToExpiry = timesToExpiry[i];
+      double lognormalVol = lognormalVols[i];
+      int sign = isCall[i] ? 1 : -1;
+      double rootT = Math.sqrt(timeToExpiry);
+      double sigmaRootT = lognormalVol * rootT;
+      if (Double.isNaN(sigmaRootT)) {
+        log.info("lognormalVol * Math.sqrt(timeToExpiry) ambiguous");
+        sigmaRootT = 1d;
+      }
+      if (forward > LARGE && strike > LARGE) {
+        log.info("(large value)/(large value) ambiguous");
+        prices[i] = isCall[i] ? (forward >= strike ? forward : 0d) : (strike >= forward ? strike : 0d);
+        forwardBars[i] = 0d;
+        strikeBars[i] = 0d;
+        timeToExpiryBars[i] = 0d;
+        lognormalVolBars[i] = 0d;
+        continue;
+      }
+      if (sigmaRootT < SMALL) {
+        boolean isItm = (sign * (forward - strike)) > 0;
+        prices[i] = isItm ? sign * (forward - strike) : 0d;
+        forwardBars[i] = isItm ? sign : 0d;
+        strikeBars[i] = isItm ? -sign : 0d;
+        timeToExpiryBars[i] = 0d;
+        lognormalVolBars[i] = 0d;
+        continue;
+      }
+      double d1;
+      double d2;
+      if (Math.abs(forward - strike) < SMALL || sigmaRootT > LARGE) {
+        d1 = 0.5 * sigmaRootT;
+        d2 = -0.5 * sigmaRootT;
+      } else {
+        d2 = Math.log(forward / strike) / sigmaRootT - 0.5 * sigmaRootT;
+        d1 = d2 + sigmaRootT;
+      }
+      double nF = NormalDistribution.standardCdf(sign * d1);
+      double nS = NormalDistribution.standardCdf(sign * d2);
+      double first = nF == 0d ? 0d : forward * nF;
+      double second = nS == 0d ? 0d : strike * nS;
+      prices[i] = Math.max(0d, sign * (first - second));
+      // backward sweep, see the single option method
+      double d1Bar = NormalDistribution.standardPdf(sign * d1) * forward;
+      forwardBars[i] = sign * nF;
+      strikeBars[i] = -sign * nS;
+      timeToExpiryBars[i] = 0.5 / rootT * lognormalVol * d1Bar;
+      lognormalVolBars[i] = rootT * d1Bar;
+    }
+  }
+
   /**
    * Computes the price without numeraire and its derivatives of the first and second order.
    * <p>
@@ -1285,6 +1427,112 @@ public final class BlackFormulaRepository {
     return ValueDerivatives.of(impliedVolatility, DoubleArray.of(dvoldprice));
   }
 
+  /**
+   * Computes the log-normal implied volatility of a batch of options.
+   * <p>
+   * This is equivalent to calling {@link #impliedVolatility(double, double, double, double, boolean)}
+   * for each option, but uses a dedicated solver that does not allocate.
+   * The time value of each option is converted to the price of the out-the-money option,
+   * the total volatility is estimated by the closed form approximation of Corrado and Miller
+   * and the estimate is then refined by third order Householder iterations.
+   * The iterations are safeguarded by bisection, as the price is monotonic in the volatility.
+   * <p>
+   * The implied volatility of option {@code i} is written to {@code impliedVols[i]}.
+   * The input and output arrays must all have the same length.
+   * 
+   * @param prices  the forward prices, which are the market prices divided by the numeraire
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param isCall  true for call, false for put
+   * @param impliedVols  the array populated with the log-normal (Black) implied volatilities
+   */
+  public static void impliedVolatility(
+      double[] prices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      boolean[] isCall,
+      double[] impliedVols) {
+
+    int size = prices.length;
+    ArgChecker.isTrue(forwards.length == size, "forwards must have length {}", size);
+    ArgChecker.isTrue(strikes.length == size, "strikes must have length {}", size);
+    ArgChecker.isTrue(timesToExpiry.length == size, "timesToExpiry must have length {}", size);
+    ArgChecker.isTrue(isCall.length == size, "isCall must have length {}", size);
+    ArgChecker.isTrue(impliedVols.length == size, "impliedVols must have length {}", size);
+    for (int i = 0; i < size; i++) {
+      double price = prices[i];
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double timeToExpiry = timesToExpiry[i];
+      ArgChecker.isTrue(price >= -NEAR_ZERO * forward, "negative/NaN price; have {}", price);
+      ArgChecker.isTrue(forward > 0d, "negative/NaN forward; have {}", forward);
+      ArgChecker.isTrue(strike >= 0d, "negative/NaN strike; have {}", strike);
+      ArgChecker.isTrue(timeToExpiry >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+      ArgChecker.isFalse(Double.isInfinite(forward), "forward is Infinity");
+      ArgChecker.isFalse(Double.isInfinite(strike), "strike is Infinity");
+      ArgChecker.isFalse(Double.isInfinite(timeToExpiry), "timeToExpiry is Infinity");
+    }
+    for (int i = 0; i < size; i++) {
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double otmPrice = prices[i] - Math.max(0d, (isCall[i] ? 1 : -1) * (forward - strike));
+      impliedVols[i] = impliedVolatilityOtm(otmPrice, forward, strike, timesToExpiry[i]);
+    }
+  }
+
+  // solves for the implied volatility of an out-the-money option, with the inputs already validated
+  private static double impliedVolatilityOtm(double otmPrice, double forward, double strike, double timeToExpiry) {
+    if (Math.abs(otmPrice) < NEAR_ZERO * forward) {
+      return 0d;
+    }
+    ArgChecker.isTrue(otmPrice < Math.min(forward, strike), "otmPrice exceeded upper bound; have {}", otmPrice);
+    double rootT = Math.sqrt(timeToExpiry);
+    if (forward == strike) {
+      return Probability.normalInverse(0.5 * (otmPrice / forward + 1)) * 2 / rootT;
+    }
+    int sign = strike >= forward ? 1 : -1;
+    double x = Math.log(forward / strike);
+    double x2 = x * x;
+    // Corrado-Miller estimate, falling back to the inflexion point of the price which Newton iterations converge from
+    double callPrice = sign > 0 ? otmPrice : otmPrice + forward - strike;
+    double halfDiff = 0.5 * (forward - strike);
+    double discriminant = (callPrice - halfDiff) * (callPrice - halfDiff) - 4d * halfDiff * halfDiff / Math.PI;
+    double sigmaRootT = Math.sqrt(2d * Math.PI) / (forward + strike) *
+        (callPrice - halfDiff + Math.sqrt(Math.max(discriminant, 0d)));
+    if (!(sigmaRootT > 0d && sigmaRootT < LARGE)) {
+      sigmaRootT = Math.sqrt(2d * Math.abs(x));
+    }
+    double lower = 0d;
+    double upper = Double.POSITIVE_INFINITY;
+    for (int iteration = 0; iteration < BATCH_MAX_ITERATIONS; iteration++) {
+      double d1 = x / sigmaRootT + 0.5 * sigmaRootT;
+      double d2 = d1 - sigmaRootT;
+      double price = sign * (forward * NormalDistribution.standardCdf(sign * d1) - strike * NormalDistribution.standardCdf(sign * d2));
+      double diff = price - otmPrice;
+      if (diff > 0d) {
+        upper = sigmaRootT;
+      } else {
+        lower = sigmaRootT;
+      }
+      // third order Householder step using the derivatives of the price with respect to the total volatility
+      double vega = forward * NormalDistribution.standardPdf(d1);
+      double newton = -diff / vega;
+      double h2 = d1 * d2 / sigmaRootT;
+      double h3 = h2 * h2 - 3d * x2 / (sigmaRootT * sigmaRootT * sigmaRootT * sigmaRootT) - 0.25;
+      double next = sigmaRootT + newton * (1d + 0.5 * h2 * newton) / (1d + newton * (h2 + h3 * newton / 6d));
+      if (!(next > lower && next < upper)) {
+        next = upper == Double.POSITIVE_INFINITY ? 2d * sigmaRootT : 0.5 * (lower + upper);
+      }
+      if (Math.abs(next - sigmaRootT) <= BATCH_VOL_ACCURACY * next) {
+        return next / rootT;
+      }
+      sigmaRootT = next;
+    }
+    return sigmaRootT / rootT;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the implied strike from delta and volatility in the Black formula.
@@ -1455,4 +1703,27 @@ public final class BlackFormulaRepository {
     return normalVolatility * factor1 * factor2;
   }
 
+  //-------------------------------------------------------------------------
+  // validates the inputs of a batch of price calculations, returning the batch size
+  private static int validateBatch(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols,
+      boolean[] isCall) {
+
+    int size = forwards.length;
+    ArgChecker.isTrue(strikes.length == size, "strikes must have length {}", size);
+    ArgChecker.isTrue(timesToExpiry.length == size, "timesToExpiry must have length {}", size);
+    ArgChecker.isTrue(lognormalVols.length == size, "lognormalVols must have length {}", size);
+    ArgChecker.isTrue(isCall.length == size, "isCall must have length {}", size);
+    for (int i = 0; i < size; i++) {
+      ArgChecker.isTrue(forwards[i] >= 0d, "negative/NaN forward; have {}", forwards[i]);
+      ArgChecker.isTrue(strikes[i] >= 0d, "negative/NaN strike; have {}", strikes[i]);
+      ArgChecker.isTrue(timesToExpiry[i] >= 0d, "negative/NaN timeToExpiry; have {}", timesToExpiry[i]);
+      ArgChecker.isTrue(lognormalVols[i] >= 0d, "negative/NaN lognormalVol; have {}", lognormalVols[i]);
+    }
+    return size;
+  }
+
 }
@@ -41,6 +41,23 @@ public final class NormalFormulaRepository {
 
   /** Limit defining "close to ATM forward" to avoid the formula singularity in the impliedVolatilityFromBlackVolatility. **/
   private static final double ATM_LIMIT = 1.0E-3;
+  /**
+   * The relative accuracy of the batch implied volatility solver, applied to the total volatility.
+   */
+  private static final double BATCH_VOL_ACCURACY = 1.0E-14;
+  /**
+   * The numerator coefficients of the rational approximation to the implied volatility.
+   */
+  private static final double[] GUESS_NUMERATOR = {
+      3.994961687345134e-1, 2.100960795068497e+1, 4.980340217855084e+1, 5.988761102690991e+2,
+      1.848489695437094e+3, 6.106322407867059e+3, 2.493415285349361e+4, 1.266458051348246e+4};
+  /**
+   * The denominator coefficients of the rational approximation to the implied volatility.
+   */
+  private static final double[] GUESS_DENOMINATOR = {
+      1.000000000000000e+0, 4.990534153589422e+1, 3.093573936743112e+1, 1.495105008310999e+3,
+      1.323614537899738e+3, 1.598919697679745e+4, 2.392008891720782e+4, 3.608817108375034e+3,
+      -2.067719486400926e+2, 1.174240599306013e+1};
 
   // restricted constructor
   private NormalFormulaRepository() {
@@ -72,6 +89,46 @@ public final class NormalFormulaRepository {
     return sign * (forward - strike) * cdf + sigmaRootT * pdf;
   }
 
+  /**
+   * Computes the forward price of a batch of options.
+   * <p>
+   * This is equivalent to calling {@link #price(double, double, double, double, PutCall)} for each option,
+   * computed in a single loop that does not allocate.
+   * The price of option {@code i} is written to {@code prices[i]}.
+   * The input and output arrays must all have the same length.
+   * <p>
+   * Note that the 'numeraire' is a simple multiplier and is the responsibility of the caller.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param putCalls  whether each option is put or call
+   * @param prices  the array populated with the forward prices
+   */
+  public static void price(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] normalVols,
+      PutCall[] putCalls,
+      double[] prices) {
+
+    int size = validateBatch(forwards, strikes, timesToExpiry, normalVols, putCalls);
+    ArgChecker.isTrue(prices.length == size, "prices must have length {}", size);
+    for (int i = 0; i < size; i++) {
+      double sigmaRootT = normalVols[i] * Math.sqrt(timesToExpiry[i]);
+      int sign = putCalls[i].isCall() ? 1 : -1;
+      double x = sign * (forwards[i] - strikes[i]);
+      if (sigmaRootT < NEAR_ZERO) {
+        prices[i] = (x > 0 ? x : 0d);
+      } else {
+        double arg = x / sigmaRootT;
+        prices[i] = x * NormalDistribution.standardCdf(arg) + sigmaRootT * NormalDistribution.standardPdf(arg);
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the price and first order derivatives.
@@ -138,6 +195,74 @@ public final class NormalFormulaRepository {
     return ValueDerivatives.of(price, DoubleArray.of(forwardDerivative, volatilityDerivative, strikeDerivative));
   }
 
+  /**
+   * Computes the price and first order derivatives for a batch of options.
+   * <p>
+   * This is equivalent to calling {@link #priceAdjoint(double, double, double, double, double, PutCall)}
+   * for each option, but no {@code ValueDerivatives} is created. The price of option {@code i} is written
+   * to {@code prices[i]} and its derivatives are written to {@code derivatives[k][i]}, where:
+   * <ul>
+   * <li>[0] derivative with respect to the forward
+   * <li>[1] derivative with respect to the volatility
+   * <li>[2] derivative with respect to the strike
+   * </ul>
+   * The input and output arrays must all have the same length.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param numeraires  the numeraires
+   * @param putCalls  whether each option is put or call
+   * @param prices  the array populated with the prices
+   * @param derivatives  the three arrays populated with the derivatives
+   */
+  public static void priceAdjoint(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] normalVols,
+      double[] numeraires,
+      PutCall[] putCalls,
+      double[] prices,
+      double[][] derivatives) {
+
+    int size = validateBatch(forwards, strikes, timesToExpiry, normalVols, putCalls);
+    ArgChecker.isTrue(numeraires.length == size, "numeraires must have length {}", size);
+    ArgChecker.isTrue(prices.length == size, "prices must have length {}", size);
+    ArgChecker.isTrue(derivatives.length == 3, "derivatives must have three rows");
+    double[] forwardDerivatives = derivatives[0];
+    double[] volatilityDerivatives = derivatives[1];
+    double[] strikeDerivatives = derivatives[2];
+    ArgChecker.isTrue(
+        forwardDerivatives.length == size && volatilityDerivatives.length == size && strikeDerivatives.length == size,
+        "derivatives must have length {}", size);
+
+    for (int i = 0; i < size; i++) {
+      double numeraire = numeraires[i];
+      double rootT = Math.sqrt(timesToExpiry[i]);
+      double sigmaRootT = normalVols[i] * rootT;
+      int sign = putCalls[i].isCall() ? 1 : -1;
+      double x = sign * (forwards[i] - strikes[i]);
+      if (sigmaRootT < NEAR_ZERO) {
+        prices[i] = (x > 0 ? numeraire * x : 0d);
+        forwardDerivatives[i] = sign * (x > 0 ? numeraire : 0d);
+        strikeDerivatives[i] = -forwardDerivatives[i];
+        volatilityDerivatives[i] = 0d;
+      } else {
+        double arg = x / sigmaRootT;
+        double cdf = NormalDistribution.standardCdf(arg);
+        double pdf = NormalDistribution.standardPdf(arg);
+        prices[i] = numeraire * (x * cdf + sigmaRootT * pdf);
+        // backward sweep, see the single option method
+        double argBar = pdf * numeraire * x - pdf * arg * numeraire * sigmaRootT;
+        forwardDerivatives[i] = numeraire * sign * cdf + sign / sigmaRootT * argBar;
+        strikeDerivatives[i] = -forwardDerivatives[i];
+        volatilityDerivatives[i] = rootT * (-arg / sigmaRootT * argBar + numeraire * pdf);
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes the delta.
@@ -316,6 +441,108 @@ public final class NormalFormulaRepository {
     return sigma;
   }
 
+  /**
+   * Computes the implied volatility of a batch of options.
+   * <p>
+   * This solves the same problem as {@link #impliedVolatility(double, double, double, double, double, double, PutCall)}
+   * for each option, but does not need an initial volatility and does not allocate.
+   * The total volatility is estimated by the rational approximation of Choi, Kim and Kwak,
+   * expressed in terms of the straddle price, and the estimate is then refined by third order Householder iterations.
+   * The iterations are safeguarded by bisection, as the price is monotonic in the volatility.
+   * <p>
+   * The implied volatility of option {@code i} is written to {@code impliedVols[i]}.
+   * The input and output arrays must all have the same length.
+   * <p>
+   * Reference: Choi, J., Kim, K. and Kwak, M. Numerical approximation of the implied volatility
+   * under arithmetic Brownian motion. Applied Mathematical Finance, 16(3), 2009.
+   * 
+   * @param optionPrices  the prices of the options
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param numeraires  the numeraires
+   * @param putCalls  whether each option is put or call
+   * @param impliedVols  the array populated with the implied volatilities
+   */
+  public static void impliedVolatility(
+      double[] optionPrices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] numeraires,
+      PutCall[] putCalls,
+      double[] impliedVols) {
+
+    int size = optionPrices.length;
+    ArgChecker.isTrue(forwards.length == size, "forwards must have length {}", size);
+    ArgChecker.isTrue(strikes.length == size, "strikes must have length {}", size);
+    ArgChecker.isTrue(timesToExpiry.length == size, "timesToExpiry must have length {}", size);
+    ArgChecker.isTrue(numeraires.length == size, "numeraires must have length {}", size);
+    ArgChecker.isTrue(putCalls.length == size, "putCalls must have length {}", size);
+    ArgChecker.isTrue(impliedVols.length == size, "impliedVols must have length {}", size);
+    for (int i = 0; i < size; i++) {
+      double intrinsicPrice = numeraires[i] * Math.max(0, (putCalls[i].isCall() ? 1 : -1) * (forwards[i] - strikes[i]));
+      ArgChecker.isTrue(optionPrices[i] > intrinsicPrice || DoubleMath.fuzzyEquals(optionPrices[i], intrinsicPrice, 1e-6),
+          "Option price less than intrinsic value; have {}", optionPrices[i]);
+    }
+    for (int i = 0; i < size; i++) {
+      double numeraire = numeraires[i];
+      double moneyness = forwards[i] - strikes[i];
+      double intrinsicPrice = Math.max(0, (putCalls[i].isCall() ? 1 : -1) * moneyness);
+      // the time value is the same for the call and the put
+      double timeValue = optionPrices[i] / numeraire - intrinsicPrice;
+      impliedVols[i] = timeValue > 0d ? impliedTotalVolatility(timeValue, Math.abs(moneyness)) / Math.sqrt(timesToExpiry[i]) : 0d;
+    }
+  }
+
+  // solves for the total volatility of an option given its time value per numeraire and absolute moneyness
+  private static double impliedTotalVolatility(double timeValue, double absMoneyness) {
+    double straddle = 2d * timeValue + absMoneyness;
+    if (absMoneyness == 0d) {
+      return Math.sqrt(0.5 * Math.PI) * straddle;
+    }
+    double v = absMoneyness / straddle;
+    double eta = v < 1e-8 ? 1d : v / (0.5 * Math.log((1d + v) / (1d - v)));
+    double numerator = GUESS_NUMERATOR[GUESS_NUMERATOR.length - 1];
+    for (int j = GUESS_NUMERATOR.length - 2; j >= 0; j--) {
+      numerator = numerator * eta + GUESS_NUMERATOR[j];
+    }
+    double denominator = GUESS_DENOMINATOR[GUESS_DENOMINATOR.length - 1];
+    for (int j = GUESS_DENOMINATOR.length - 2; j >= 0; j--) {
+      denominator = denominator * eta + GUESS_DENOMINATOR[j];
+    }
+    double sigmaRootT = Math.sqrt(0.5 * Math.PI) * straddle * Math.sqrt(eta) * numerator / denominator;
+    if (!(sigmaRootT > 0d)) {
+      sigmaRootT = absMoneyness;
+    }
+    double lower = 0d;
+    double upper = Double.POSITIVE_INFINITY;
+    for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+      double z = absMoneyness / sigmaRootT;
+      double pdf = NormalDistribution.standardPdf(z);
+      double diff = sigmaRootT * pdf - absMoneyness * NormalDistribution.standardCdf(-z) - timeValue;
+      if (diff > 0d) {
+        upper = sigmaRootT;
+      } else {
+        lower = sigmaRootT;
+      }
+      // third order Householder step using the derivatives of the time value with respect to the total volatility
+      double newton = -diff / pdf;
+      double z2 = z * z;
+      double h2 = z2 / sigmaRootT;
+      double h3 = (z2 * z2 - 3d * z2) / (sigmaRootT * sigmaRootT);
+      double next = sigmaRootT + newton * (1d + 0.5 * h2 * newton) / (1d + newton * (h2 + h3 * newton / 6d));
+      if (!(next > lower && next < upper)) {
+        next = upper == Double.POSITIVE_INFINITY ? 2d * sigmaRootT : 0.5 * (lower + upper);
+      }
+      if (Math.abs(next - sigmaRootT) <= BATCH_VOL_ACCURACY * next) {
+        return next;
+      }
+      sigmaRootT = next;
+    }
+    return sigmaRootT;
+  }
+
   /**
    * Compute the implied volatility using an approximate explicit transformation formula.
    * <p>
@@ -392,4 +619,22 @@ public final class NormalFormulaRepository {
     return ValueDerivatives.of(normalVol, DoubleArray.of(blackVolatilityBar));
   }
 
+  //-------------------------------------------------------------------------
+  // validates the inputs of a batch of price calculations, returning the batch size
+  private static int validateBatch(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] normalVols,
+      PutCall[] putCalls) {
+
+    int size = forwards.length;
+    ArgChecker.isTrue(strikes.length == size, "strikes must have length {}", size);
+    ArgChecker.isTrue(timesToExpiry.length == size, "timesToExpiry must have length {}", size);
+    ArgChecker.isTrue(normalVols.length == size, "normalVols must have length {}", size);
+    ArgChecker.isTrue(putCalls.length == size, "putCalls must have length {}", size);
+    ArgChecker.noNulls(putCalls, "putCalls");
+    return size;
+  }
+
 }
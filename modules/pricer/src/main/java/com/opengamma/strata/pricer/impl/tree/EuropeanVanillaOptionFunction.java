@@ -84,6 +84,31 @@ public final class EuropeanVanillaOptionFunction
     return DoubleArray.ofUnsafe(values);
   }
 
+  @Override
+  public void getPayoffAtExpiryTrinomial(double[] stateValue, double[] result) {
+    int nNodes = stateValue.length;
+    for (int i = 0; i < nNodes; ++i) {
+      result[i] = Math.max(sign * (stateValue[i] - strike), 0d);
+    }
+  }
+
+  @Override
+  public void getNextOptionValues(
+      double discountFactor,
+      double[][] transitionProbability,
+      double[] stateValue,
+      double[] value,
+      int i,
+      double[] result) {
+
+    int nNodes = 2 * i + 1;
+    for (int j = 0; j < nNodes; ++j) {
+      double[] probability = transitionProbability[j];
+      result[j] = discountFactor *
+          (probability[2] * value[j + 2] + probability[1] * value[j + 1] + probability[0] * value[j]);
+    }
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code EuropeanVanillaOptionFunction}.
@@ -0,0 +1,865 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.tree;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+
+/**
+ * Trinomial tree for the Hull-White one factor model with piecewise constant volatility.
+ * <p>
+ * The short rate is {@code r(t) = phi(t) + x(t)} where {@code dx = -a x dt + sigma(t) dW} and {@code x(0) = 0}.
+ * The tree is built on a time grid containing the key times, typically the exercise and payment times
+ * of the instruments to price. The intervals between key times are refined so that the tree has at least
+ * the minimum number of steps requested.
+ * <p>
+ * At each level, the node spacing is such that the conditional variance of {@code x} over the previous step
+ * is a third of the squared spacing. The branching is centred on the node nearest to the conditional mean
+ * and the tree is truncated, as in Hull and White (1994), when mean reversion allows it.
+ * The shift {@code phi} is fitted at each level to reprice the discount factors exactly.
+ * Between key times, the discount factors are interpolated linearly in the log.
+ * <p>
+ * The tree is immutable and can be used to price many instruments.
+ * Each valuation runs one backward sweep over rolling primitive arrays.
+ * The adjoint version adds one forward sweep which provides the derivatives with respect to
+ * the discount factors at the key times, the cash flow amounts, the exercise amounts and the volatility parameters.
+ * <p>
+ * Reference: Hull, J. and White, A. "Numerical procedures for implementing term structure models I:
+ * single-factor models", Journal of Derivatives, 1994, 2, 7-16.
+ */
+public final class HullWhiteTrinomialTree {
+
+  /**
+   * The truncation margin, such that the middle probability remains positive at the edge of the tree.
+   */
+  private static final double TRUNCATION = 0.184;
+  /**
+   * The tolerance used when refining the intervals between key times.
+   */
+  private static final double TIME_TOLERANCE = 1.0e-10;
+
+  /**
+   * The model parameters.
+   */
+  private final HullWhiteOneFactorPiecewiseConstantParameters parameters;
+  /**
+   * The key times.
+   */
+  private final double[] keyTimes;
+  /**
+   * The discount factors at the key times.
+   */
+  private final double[] keyDiscountFactors;
+  /**
+   * The level of each key time.
+   */
+  private final int[] keyLevels;
+  /**
+   * The time of each level.
+   */
+  private final double[] times;
+  /**
+   * The index of the key time before or at each level, -1 for the origin.
+   */
+  private final int[] levelLowerKeys;
+  /**
+   * The interpolation weight of the key time after each level.
+   */
+  private final double[] levelWeights;
+  /**
+   * The discount factor at each level.
+   */
+  private final double[] discountFactors;
+  /**
+   * The node spacing at each level.
+   */
+  private final double[] spacings;
+  /**
+   * The highest node index at each level, the nodes being symmetric around zero.
+   */
+  private final int[] jMax;
+  /**
+   * The conditional variance of the state over each step.
+   */
+  private final double[] stepVariances;
+  /**
+   * The ratio between the conditional mean of the state and the node index, in units of the next spacing.
+   */
+  private final double[] meanRatios;
+  /**
+   * The array position in the next level of the central node of the branching, by step and node.
+   */
+  private final int[][] centers;
+  /**
+   * The offset of the conditional mean from the central node, in units of the next spacing, by step and node.
+   */
+  private final double[][] offsets;
+  /**
+   * The up probabilities, by step and node.
+   */
+  private final double[][] upProbabilities;
+  /**
+   * The middle probabilities, by step and node.
+   */
+  private final double[][] midProbabilities;
+  /**
+   * The down probabilities, by step and node.
+   */
+  private final double[][] downProbabilities;
+  /**
+   * The discount factor over each step based on the state only, by step and node.
+   */
+  private final double[][] stateDiscounts;
+  /**
+   * The discount factor over each step, including the fitted shift, by step and node.
+   */
+  private final double[][] nodeDiscounts;
+  /**
+   * The Arrow-Debreu prices of the tree without shift, by level and node.
+   */
+  private final double[][] stateAdPrices;
+  /**
+   * The sum of the Arrow-Debreu prices of the tree without shift, by level.
+   */
+  private final double[] stateAdSums;
+  /**
+   * The maximum number of nodes on a level.
+   */
+  private final int maxWidth;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds a tree for the model parameters, fitted to discount factors at key times.
+   * <p>
+   * The key times should be sorted in increasing order and not be negative.
+   * A key time of zero corresponds to the valuation level and its discount factor is ignored.
+   *
+   * @param parameters  the Hull-White model parameters
+   * @param keyTimes  the key times
+   * @param keyDiscountFactors  the discount factors at the key times
+   * @param minimumSteps  the minimum number of steps in the tree
+   * @return the tree
+   */
+  public static HullWhiteTrinomialTree of(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      DoubleArray keyTimes,
+      DoubleArray keyDiscountFactors,
+      int minimumSteps) {
+
+    ArgChecker.notNull(parameters, "parameters");
+    ArgChecker.isTrue(keyTimes.size() > 0, "keyTimes must not be empty");
+    ArgChecker.isTrue(keyTimes.size() == keyDiscountFactors.size(), "keyTimes and keyDiscountFactors must have the same size");
+    ArgChecker.isTrue(minimumSteps > 0, "minimumSteps must be positive");
+    ArgChecker.isTrue(keyTimes.get(0) >= 0d, "keyTimes must not be negative");
+    for (int i = 1; i < keyTimes.size(); i++) {
+      ArgChecker.isTrue(keyTimes.get(i) > keyTimes.get(i - 1), "keyTimes must be increasing");
+    }
+    return new HullWhiteTrinomialTree(parameters, keyTimes.toArray(), keyDiscountFactors.toArray(), minimumSteps);
+  }
+
+  /**
+   * Builds a tree for the model parameters, fitted to the discount factors at key dates.
+   * <p>
+   * The key dates should be sorted in increasing order and not be before the valuation date.
+   * The times are computed by the model provider and the discount factors by the discount factors provided.
+   * The index of each key date is the index of the corresponding key time in the tree.
+   *
+   * @param hwProvider  the Hull-White model parameter provider
+   * @param discountFactors  the discount factors
+   * @param keyDates  the key dates
+   * @param minimumSteps  the minimum number of steps in the tree
+   * @return the tree
+   */
+  public static HullWhiteTrinomialTree of(
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider,
+      DiscountFactors discountFactors,
+      List<LocalDate> keyDates,
+      int minimumSteps) {
+
+    int nbKeys = keyDates.size();
+    double[] keyTimes = new double[nbKeys];
+    double[] keyDiscountFactors = new double[nbKeys];
+    for (int k = 0; k < nbKeys; k++) {
+      LocalDate date = keyDates.get(k);
+      keyTimes[k] = hwProvider.relativeTime(date);
+      keyDiscountFactors[k] = discountFactors.discountFactor(date);
+    }
+    return of(
+        hwProvider.getParameters(), DoubleArray.ofUnsafe(keyTimes), DoubleArray.ofUnsafe(keyDiscountFactors), minimumSteps);
+  }
+
+  // builds the tree
+  private HullWhiteTrinomialTree(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      double[] keyTimes,
+      double[] keyDiscountFactors,
+      int minimumSteps) {
+
+    this.parameters = parameters;
+    this.keyTimes = keyTimes;
+    this.keyDiscountFactors = keyDiscountFactors;
+    int nbKeys = keyTimes.length;
+    // time grid
+    double lastTime = keyTimes[nbKeys - 1];
+    double dtMax = lastTime / minimumSteps;
+    int[] nbSubSteps = new int[nbKeys];
+    int nbSteps = 0;
+    double previousTime = 0d;
+    for (int k = 0; k < nbKeys; k++) {
+      double interval = keyTimes[k] - previousTime;
+      nbSubSteps[k] = interval == 0d ? 0 : Math.max(1, (int) Math.ceil(interval / dtMax - TIME_TOLERANCE));
+      nbSteps += nbSubSteps[k];
+      previousTime = keyTimes[k];
+    }
+    this.keyLevels = new int[nbKeys];
+    this.times = new double[nbSteps + 1];
+    this.levelLowerKeys = new int[nbSteps + 1];
+    this.levelWeights = new double[nbSteps + 1];
+    this.discountFactors = new double[nbSteps + 1];
+    levelLowerKeys[0] = -1;
+    discountFactors[0] = 1d;
+    int level = 0;
+    previousTime = 0d;
+    double previousLogDf = 0d;
+    for (int k = 0; k < nbKeys; k++) {
+      double logDf = keyTimes[k] == 0d ? 0d : Math.log(keyDiscountFactors[k]);
+      for (int s = 1; s <= nbSubSteps[k]; s++) {
+        level++;
+        double weight = s / (double) nbSubSteps[k];
+        times[level] = s == nbSubSteps[k] ? keyTimes[k] : previousTime + weight * (keyTimes[k] - previousTime);
+        levelLowerKeys[level] = k - 1;
+        levelWeights[level] = weight;
+        discountFactors[level] = Math.exp((1d - weight) * previousLogDf + weight * logDf);
+      }
+      keyLevels[k] = level;
+      previousTime = keyTimes[k];
+      previousLogDf = logDf;
+    }
+    // geometry
+    double a = parameters.getMeanReversion();
+    this.spacings = new double[nbSteps + 1];
+    this.jMax = new int[nbSteps + 1];
+    this.stepVariances = new double[nbSteps];
+    this.meanRatios = new double[nbSteps];
+    this.centers = new int[nbSteps][];
+    this.offsets = new double[nbSteps][];
+    this.upProbabilities = new double[nbSteps][];
+    this.midProbabilities = new double[nbSteps][];
+    this.downProbabilities = new double[nbSteps][];
+    this.stateDiscounts = new double[nbSteps][];
+    this.nodeDiscounts = new double[nbSteps][];
+    this.stateAdPrices = new double[nbSteps + 1][];
+    this.stateAdSums = new double[nbSteps + 1];
+    stateAdPrices[0] = new double[] {1d};
+    stateAdSums[0] = 1d;
+    int width = 1;
+    for (int i = 0; i < nbSteps; i++) {
+      double dt = times[i + 1] - times[i];
+      double variance = stepVariance(i, null);
+      ArgChecker.isTrue(variance > 0d, "Hull-White volatility must be positive over the tree");
+      stepVariances[i] = variance;
+      spacings[i + 1] = Math.sqrt(3d * variance);
+      double ratio = i == 0 ? 0d : spacings[i] / spacings[i + 1] * Math.exp(-a * dt);
+      meanRatios[i] = ratio;
+      int jNatural = (int) Math.rint(jMax[i] * ratio) + 1;
+      int jTruncated = (int) Math.ceil(jMax[i] * ratio + TRUNCATION);
+      int jNext = Math.min(jNatural, jTruncated);
+      jMax[i + 1] = jNext;
+      int widthNext = 2 * jNext + 1;
+      int[] center = new int[width];
+      double[] offset = new double[width];
+      double[] pu = new double[width];
+      double[] pm = new double[width];
+      double[] pd = new double[width];
+      double[] stateDiscount = new double[width];
+      double[] adNext = new double[widthNext];
+      double[] ad = stateAdPrices[i];
+      for (int jj = 0; jj < width; jj++) {
+        int j = jj - jMax[i];
+        double mean = j * ratio;
+        int k = Math.max(-jNext + 1, Math.min(jNext - 1, (int) Math.rint(mean)));
+        double eta = mean - k;
+        center[jj] = k + jNext;
+        offset[jj] = eta;
+        pu[jj] = 1d / 6d + 0.5 * (eta * eta + eta);
+        pm[jj] = 2d / 3d - eta * eta;
+        pd[jj] = 1d / 6d + 0.5 * (eta * eta - eta);
+        stateDiscount[jj] = Math.exp(-j * spacings[i] * dt);
+        double adDiscounted = ad[jj] * stateDiscount[jj];
+        adNext[center[jj] + 1] += adDiscounted * pu[jj];
+        adNext[center[jj]] += adDiscounted * pm[jj];
+        adNext[center[jj] - 1] += adDiscounted * pd[jj];
+      }
+      centers[i] = center;
+      offsets[i] = offset;
+      upProbabilities[i] = pu;
+      midProbabilities[i] = pm;
+      downProbabilities[i] = pd;
+      stateDiscounts[i] = stateDiscount;
+      stateAdPrices[i + 1] = adNext;
+      double sum = 0d;
+      for (int jj = 0; jj < widthNext; jj++) {
+        sum += adNext[jj];
+      }
+      stateAdSums[i + 1] = sum;
+      width = widthNext;
+    }
+    int widthMax = 1;
+    for (int i = 0; i <= nbSteps; i++) {
+      widthMax = Math.max(widthMax, 2 * jMax[i] + 1);
+    }
+    this.maxWidth = widthMax;
+    // fit of the shift to the discount factors
+    for (int i = 0; i < nbSteps; i++) {
+      double shiftFactor = (discountFactors[i + 1] / stateAdSums[i + 1]) / (discountFactors[i] / stateAdSums[i]);
+      double[] stateDiscount = stateDiscounts[i];
+      double[] nodeDiscount = new double[stateDiscount.length];
+      for (int jj = 0; jj < stateDiscount.length; jj++) {
+        nodeDiscount[jj] = shiftFactor * stateDiscount[jj];
+      }
+      nodeDiscounts[i] = nodeDiscount;
+    }
+  }
+
+  // the conditional variance of the state over the step, with the derivatives to the volatilities if requested
+  private double stepVariance(int step, double[] derivatives) {
+    double a = parameters.getMeanReversion();
+    DoubleArray volatility = parameters.getVolatility();
+    DoubleArray volatilityTime = parameters.getVolatilityTime();
+    double start = times[step];
+    double end = times[step + 1];
+    double variance = 0d;
+    for (int m = 0; m < volatility.size(); m++) {
+      double lower = Math.max(start, volatilityTime.get(m));
+      double upper = Math.min(end, volatilityTime.get(m + 1));
+      if (upper <= lower) {
+        continue;
+      }
+      double factor = Math.abs(2d * a * (upper - lower)) < 1.0e-8 ?
+          (upper - lower) * Math.exp(-2d * a * (end - upper)) :
+          Math.exp(-2d * a * (end - upper)) * -Math.expm1(-2d * a * (upper - lower)) / (2d * a);
+      double sigma = volatility.get(m);
+      variance += sigma * sigma * factor;
+      if (derivatives != null) {
+        derivatives[m] = 2d * sigma * factor;
+      }
+    }
+    return variance;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of steps of the tree.
+   *
+   * @return the number of steps
+   */
+  public int getNumberOfSteps() {
+    return times.length - 1;
+  }
+
+  /**
+   * Gets the maximum number of nodes on a level of the tree.
+   *
+   * @return the maximum number of nodes
+   */
+  public int getMaximumWidth() {
+    return maxWidth;
+  }
+
+  /**
+   * Gets the time of a level of the tree.
+   *
+   * @param level  the level
+   * @return the time
+   */
+  public double getTime(int level) {
+    return times[level];
+  }
+
+  /**
+   * Gets the level of a key time.
+   *
+   * @param keyIndex  the index of the key time
+   * @return the level
+   */
+  public int getKeyLevel(int keyIndex) {
+    return keyLevels[keyIndex];
+  }
+
+  /**
+   * Gets the number of key times.
+   *
+   * @return the number of key times
+   */
+  public int getKeyCount() {
+    return keyTimes.length;
+  }
+
+  /**
+   * Gets the model parameters.
+   *
+   * @return the parameters
+   */
+  public HullWhiteOneFactorPiecewiseConstantParameters getParameters() {
+    return parameters;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the value of a Bermudan option on cash flows.
+   * <p>
+   * The option can be exercised at the key times {@code exerciseKeys}, which must be increasing.
+   * When exercised at the exercise {@code e}, the holder receives the amount {@code exerciseAmounts[e]}
+   * at the exercise time and all the cash flows whose group is greater than or equal to {@code e}.
+   * The cash flows are paid at the key times {@code cashFlowKeys}. The group of a cash flow is the last exercise
+   * that gives access to it, or -1 if the cash flow is not part of the option.
+   * A cash flow must not be paid before the exercise time of its group.
+   * <p>
+   * The nested groups represent, for example, the underlying swaps of a Bermudan swaption whose start dates move
+   * with the exercise dates.
+   *
+   * @param exerciseKeys  the key indices of the exercise times
+   * @param exerciseAmounts  the amounts received on exercise
+   * @param cashFlowKeys  the key indices of the cash flow payment times
+   * @param cashFlowAmounts  the cash flow amounts
+   * @param cashFlowGroups  the groups of the cash flows
+   * @return the value of the option
+   */
+  public double presentValue(
+      int[] exerciseKeys,
+      double[] exerciseAmounts,
+      int[] cashFlowKeys,
+      double[] cashFlowAmounts,
+      int[] cashFlowGroups) {
+
+    Claim claim = new Claim(exerciseKeys, exerciseAmounts, cashFlowKeys, cashFlowAmounts, cashFlowGroups);
+    return backwardSweep(claim, null, null);
+  }
+
+  /**
+   * Computes the value of a Bermudan option on cash flows and its derivatives.
+   * <p>
+   * The option is described in {@link #presentValue(int[], double[], int[], double[], int[])}.
+   * The derivatives are, in order, with respect to the discount factors at the key times,
+   * the cash flow amounts, the exercise amounts and the volatility parameters of the model.
+   * The derivatives are computed by one backward and one forward sweep, with the exercise boundary fixed.
+   *
+   * @param exerciseKeys  the key indices of the exercise times
+   * @param exerciseAmounts  the amounts received on exercise
+   * @param cashFlowKeys  the key indices of the cash flow payment times
+   * @param cashFlowAmounts  the cash flow amounts
+   * @param cashFlowGroups  the groups of the cash flows
+   * @return the value of the option and its derivatives
+   */
+  public ValueDerivatives presentValueAdjoint(
+      int[] exerciseKeys,
+      double[] exerciseAmounts,
+      int[] cashFlowKeys,
+      double[] cashFlowAmounts,
+      int[] cashFlowGroups) {
+
+    Claim claim = new Claim(exerciseKeys, exerciseAmounts, cashFlowKeys, cashFlowAmounts, cashFlowGroups);
+    int nbLevels = times.length;
+    double[][][] history = new double[nbLevels][][];
+    boolean[][] exercised = new boolean[nbLevels][];
+    double pv = backwardSweep(claim, history, exercised);
+    int nbKeys = keyTimes.length;
+    int nbFlows = cashFlowKeys.length;
+    int nbExercises = exerciseKeys.length;
+    int nbVols = parameters.getVolatility().size();
+    double[] derivatives = new double[nbKeys + nbFlows + nbExercises + nbVols];
+    if (history[0][Claim.OPTION] != null) {
+      forwardSweep(claim, history, exercised, derivatives);
+    }
+    return ValueDerivatives.of(pv, DoubleArray.ofUnsafe(derivatives));
+  }
+
+  //-------------------------------------------------------------------------
+  // the backward sweep, storing the values and exercise decisions if requested
+  private double backwardSweep(Claim claim, double[][][] history, boolean[][] exercised) {
+    int nbSteps = times.length - 1;
+    int nbVectors = claim.vectorCount();
+    double[][] values = new double[nbVectors][];
+    ArrayDeque<double[]> pool = new ArrayDeque<>();
+    double[] scratch = new double[maxWidth];
+    for (int level = nbSteps; level >= 0; level--) {
+      int width = 2 * jMax[level] + 1;
+      // roll back the active vectors
+      if (level < nbSteps) {
+        for (int v = 0; v < nbVectors; v++) {
+          if (values[v] != null) {
+            rollBack(level, values[v], scratch);
+            double[] rolled = scratch;
+            scratch = values[v];
+            values[v] = rolled;
+          }
+        }
+      }
+      // add the cash flows paid at this level
+      for (int f = claim.flowStart[level]; f < claim.flowStart[level + 1]; f++) {
+        int flow = claim.flowOrder[f];
+        int v = Claim.GROUP + claim.cashFlowGroups[flow];
+        if (values[v] == null) {
+          values[v] = borrow(pool, width);
+        }
+        double amount = claim.cashFlowAmounts[flow];
+        double[] groupValues = values[v];
+        for (int jj = 0; jj < width; jj++) {
+          groupValues[jj] += amount;
+        }
+      }
+      // exercise
+      int e = claim.levelExercises[level];
+      if (e >= 0) {
+        int g = Claim.GROUP + e;
+        if (values[g] != null) {
+          if (values[Claim.UNDERLYING] == null) {
+            values[Claim.UNDERLYING] = values[g];
+          } else {
+            double[] underlying = values[Claim.UNDERLYING];
+            double[] groupValues = values[g];
+            for (int jj = 0; jj < width; jj++) {
+              underlying[jj] += groupValues[jj];
+            }
+            pool.push(groupValues);
+          }
+          values[g] = null;
+        }
+        if (values[Claim.OPTION] == null) {
+          values[Claim.OPTION] = borrow(pool, width);
+        }
+        double[] option = values[Claim.OPTION];
+        double[] underlying = values[Claim.UNDERLYING];
+        double amount = claim.exerciseAmounts[e];
+        boolean[] decisions = exercised != null ? new boolean[width] : null;
+        for (int jj = 0; jj < width; jj++) {
+          double exerciseValue = (underlying != null ? underlying[jj] : 0d) + amount;
+          if (exerciseValue > option[jj]) {
+            option[jj] = exerciseValue;
+            if (decisions != null) {
+              decisions[jj] = true;
+            }
+          }
+        }
+        if (exercised != null) {
+          exercised[level] = decisions;
+        }
+      }
+      if (history != null) {
+        double[][] stored = new double[nbVectors][];
+        for (int v = 0; v < nbVectors; v++) {
+          if (values[v] != null) {
+            stored[v] = Arrays.copyOf(values[v], width);
+          }
+        }
+        history[level] = stored;
+      }
+    }
+    return values[Claim.OPTION] != null ? values[Claim.OPTION][0] : 0d;
+  }
+
+  // the forward sweep of the adjoint, from the valuation level to the last level
+  private void forwardSweep(Claim claim, double[][][] history, boolean[][] exercised, double[] derivatives) {
+    int nbSteps = times.length - 1;
+    int nbVectors = claim.vectorCount();
+    int nbKeys = keyTimes.length;
+    int nbFlows = claim.cashFlowKeys.length;
+    int nbExercises = claim.exerciseAmounts.length;
+    double[][] weights = new double[nbVectors][];
+    double[][] weightsNext = new double[nbVectors][];
+    double[] logShiftBar = new double[nbSteps]; // derivative with respect to the log of the step shift factor
+    double[][] logStateDiscountBar = new double[nbSteps][]; // derivative with respect to the state (x) by node
+    double[][] offsetBar = new double[nbSteps][];
+    weights[Claim.OPTION] = new double[maxWidth];
+    weights[Claim.OPTION][0] = 1d;
+    for (int v = 1; v < nbVectors; v++) {
+      if (history[0][v] != null) {
+        weights[v] = new double[maxWidth];
+      }
+    }
+    for (int level = 0; level <= nbSteps; level++) {
+      int width = 2 * jMax[level] + 1;
+      double[][] stored = history[level];
+      // exercise
+      int e = claim.levelExercises[level];
+      if (e >= 0) {
+        boolean[] decisions = exercised[level];
+        double[] optionBar = weights[Claim.OPTION];
+        double[] underlyingBar = stored[Claim.UNDERLYING] != null ? weights[Claim.UNDERLYING] : null;
+        double amountBar = 0d;
+        for (int jj = 0; jj < width; jj++) {
+          if (decisions[jj]) {
+            amountBar += optionBar[jj];
+            if (underlyingBar != null) {
+              underlyingBar[jj] += optionBar[jj];
+            }
+            optionBar[jj] = 0d;
+          }
+        }
+        derivatives[nbKeys + nbFlows + e] = amountBar;
+        // the group merged into the underlying shares its derivatives
+        int g = Claim.GROUP + e;
+        if (underlyingBar != null) {
+          if (weights[g] == null) {
+            weights[g] = new double[maxWidth];
+          }
+          System.arraycopy(underlyingBar, 0, weights[g], 0, width);
+        }
+      }
+      // cash flows
+      for (int f = claim.flowStart[level]; f < claim.flowStart[level + 1]; f++) {
+        int flow = claim.flowOrder[f];
+        double[] groupBar = weights[Claim.GROUP + claim.cashFlowGroups[flow]];
+        double amountBar = 0d;
+        for (int jj = 0; jj < width; jj++) {
+          amountBar += groupBar[jj];
+        }
+        derivatives[nbKeys + flow] = amountBar;
+      }
+      if (level == nbSteps) {
+        break;
+      }
+      // adjoint of the roll back
+      int widthNext = 2 * jMax[level + 1] + 1;
+      double dt = times[level + 1] - times[level];
+      int[] center = centers[level];
+      double[] pu = upProbabilities[level];
+      double[] pm = midProbabilities[level];
+      double[] pd = downProbabilities[level];
+      double[] offset = offsets[level];
+      double[] nodeDiscount = nodeDiscounts[level];
+      double[] stateBar = new double[width];
+      double[] etaBar = new double[width];
+      double shiftBar = 0d;
+      double[][] storedNext = history[level + 1];
+      for (int v = 0; v < nbVectors; v++) {
+        if (storedNext[v] == null) {
+          weightsNext[v] = null;
+          continue;
+        }
+        if (weightsNext[v] == null) {
+          weightsNext[v] = new double[maxWidth];
+        }
+        double[] next = storedNext[v];
+        double[] bar = weights[v];
+        double[] barNext = weightsNext[v];
+        Arrays.fill(barNext, 0, widthNext, 0d);
+        for (int jj = 0; jj < width; jj++) {
+          double w = bar[jj];
+          if (w == 0d) {
+            continue;
+          }
+          int k = center[jj];
+          double up = next[k + 1];
+          double mid = next[k];
+          double down = next[k - 1];
+          double discountedWeight = w * nodeDiscount[jj];
+          barNext[k + 1] += discountedWeight * pu[jj];
+          barNext[k] += discountedWeight * pm[jj];
+          barNext[k - 1] += discountedWeight * pd[jj];
+          double expectation = discountedWeight * (pu[jj] * up + pm[jj] * mid + pd[jj] * down);
+          shiftBar += expectation;
+          stateBar[jj] -= dt * expectation;
+          double eta = offset[jj];
+          etaBar[jj] += discountedWeight * ((eta + 0.5) * up - 2d * eta * mid + (eta - 0.5) * down);
+        }
+      }
+      logShiftBar[level] = shiftBar;
+      logStateDiscountBar[level] = stateBar;
+      offsetBar[level] = etaBar;
+      double[][] swap = weights;
+      weights = weightsNext;
+      weightsNext = swap;
+    }
+    // discount factors: log(shift factor i) = log(DF i+1) - log(DF i) + log(S i) - log(S i+1)
+    double[] logSumBar = new double[nbSteps + 1];
+    for (int level = 1; level <= nbSteps; level++) {
+      double before = logShiftBar[level - 1];
+      double after = level < nbSteps ? logShiftBar[level] : 0d;
+      double logDfBar = before - after;
+      logSumBar[level] = after - before;
+      int lower = levelLowerKeys[level];
+      double weight = levelWeights[level];
+      if (keyTimes[lower + 1] > 0d) {
+        derivatives[lower + 1] += weight * logDfBar;
+      }
+      if (lower >= 0 && keyTimes[lower] > 0d) {
+        derivatives[lower] += (1d - weight) * logDfBar;
+      }
+    }
+    for (int k = 0; k < nbKeys; k++) {
+      derivatives[k] /= keyDiscountFactors[k];
+    }
+    volatilityAdjoint(logStateDiscountBar, offsetBar, logSumBar, derivatives, nbKeys + nbFlows + nbExercises);
+  }
+
+  // the adjoint of the tree geometry with respect to the volatility parameters
+  private void volatilityAdjoint(
+      double[][] stateBar,
+      double[][] etaBar,
+      double[] logSumBar,
+      double[] derivatives,
+      int volStart) {
+
+    int nbSteps = times.length - 1;
+    // adjoint of the Arrow-Debreu prices without shift, backward
+    double[] adBar = new double[maxWidth];
+    double[] adBarNext = new double[maxWidth];
+    int widthLast = 2 * jMax[nbSteps] + 1;
+    Arrays.fill(adBarNext, 0, widthLast, logSumBar[nbSteps] / stateAdSums[nbSteps]);
+    for (int level = nbSteps - 1; level >= 0; level--) {
+      int width = 2 * jMax[level] + 1;
+      double dt = times[level + 1] - times[level];
+      double sumBar = level > 0 ? logSumBar[level] / stateAdSums[level] : 0d;
+      int[] center = centers[level];
+      double[] pu = upProbabilities[level];
+      double[] pm = midProbabilities[level];
+      double[] pd = downProbabilities[level];
+      double[] offset = offsets[level];
+      double[] stateDiscount = stateDiscounts[level];
+      double[] ad = stateAdPrices[level];
+      for (int jj = 0; jj < width; jj++) {
+        int k = center[jj];
+        double up = adBarNext[k + 1];
+        double mid = adBarNext[k];
+        double down = adBarNext[k - 1];
+        double expectation = stateDiscount[jj] * (pu[jj] * up + pm[jj] * mid + pd[jj] * down);
+        adBar[jj] = sumBar + expectation;
+        stateBar[level][jj] -= dt * ad[jj] * expectation;
+        double eta = offset[jj];
+        etaBar[level][jj] += ad[jj] * stateDiscount[jj] * ((eta + 0.5) * up - 2d * eta * mid + (eta - 0.5) * down);
+      }
+      double[] swap = adBar;
+      adBar = adBarNext;
+      adBarNext = swap;
+    }
+    // adjoint of the spacings
+    double[] spacingBar = new double[nbSteps + 1];
+    for (int level = 1; level < nbSteps; level++) {
+      int width = 2 * jMax[level] + 1;
+      double ratioBar = 0d;
+      for (int jj = 0; jj < width; jj++) {
+        int j = jj - jMax[level];
+        spacingBar[level] += stateBar[level][jj] * j;
+        ratioBar += etaBar[level][jj] * j;
+      }
+      double ratio = meanRatios[level];
+      spacingBar[level] += ratioBar * ratio / spacings[level];
+      spacingBar[level + 1] -= ratioBar * ratio / spacings[level + 1];
+    }
+    // adjoint of the step variances
+    double[] varianceDerivatives = new double[parameters.getVolatility().size()];
+    for (int step = 0; step < nbSteps; step++) {
+      double varianceBar = spacingBar[step + 1] * 1.5d / spacings[step + 1];
+      if (varianceBar == 0d) {
+        continue;
+      }
+      Arrays.fill(varianceDerivatives, 0d);
+      stepVariance(step, varianceDerivatives);
+      for (int m = 0; m < varianceDerivatives.length; m++) {
+        derivatives[volStart + m] += varianceBar * varianceDerivatives[m];
+      }
+    }
+  }
+
+  // rolls back values from the level after to the level
+  private void rollBack(int level, double[] next, double[] result) {
+    int width = 2 * jMax[level] + 1;
+    int[] center = centers[level];
+    double[] pu = upProbabilities[level];
+    double[] pm = midProbabilities[level];
+    double[] pd = downProbabilities[level];
+    double[] nodeDiscount = nodeDiscounts[level];
+    for (int jj = 0; jj < width; jj++) {
+      int k = center[jj];
+      result[jj] = nodeDiscount[jj] * (pu[jj] * next[k + 1] + pm[jj] * next[k] + pd[jj] * next[k - 1]);
+    }
+  }
+
+  // obtains a zero array from the pool
+  private double[] borrow(ArrayDeque<double[]> pool, int width) {
+    double[] array = pool.isEmpty() ? new double[maxWidth] : pool.pop();
+    Arrays.fill(array, 0, width, 0d);
+    return array;
+  }
+
+  //-------------------------------------------------------------------------
+  // the validated description of an option on cash flows, with the cash flows sorted by level
+  private final class Claim {
+    private static final int OPTION = 0;
+    private static final int UNDERLYING = 1;
+    private static final int GROUP = 2;
+
+    private final int[] cashFlowKeys;
+    private final double[] cashFlowAmounts;
+    private final int[] cashFlowGroups;
+    private final double[] exerciseAmounts;
+    private final int[] levelExercises;
+    private final int[] flowStart;
+    private final int[] flowOrder;
+
+    private Claim(
+        int[] exerciseKeys,
+        double[] exerciseAmounts,
+        int[] cashFlowKeys,
+        double[] cashFlowAmounts,
+        int[] cashFlowGroups) {
+
+      int nbExercises = exerciseKeys.length;
+      int nbFlows = cashFlowKeys.length;
+      int nbLevels = times.length;
+      ArgChecker.isTrue(exerciseAmounts.length == nbExercises, "exerciseAmounts must match exerciseKeys");
+      ArgChecker.isTrue(cashFlowAmounts.length == nbFlows, "cashFlowAmounts must match cashFlowKeys");
+      ArgChecker.isTrue(cashFlowGroups.length == nbFlows, "cashFlowGroups must match cashFlowKeys");
+      this.cashFlowKeys = cashFlowKeys;
+      this.cashFlowAmounts = cashFlowAmounts;
+      this.cashFlowGroups = cashFlowGroups;
+      this.exerciseAmounts = exerciseAmounts;
+      this.levelExercises = new int[nbLevels];
+      Arrays.fill(levelExercises, -1);
+      int[] exerciseLevels = new int[nbExercises];
+      for (int e = 0; e < nbExercises; e++) {
+        exerciseLevels[e] = keyLevels[exerciseKeys[e]];
+        ArgChecker.isTrue(e == 0 || exerciseLevels[e] > exerciseLevels[e - 1], "exerciseKeys must be increasing");
+        levelExercises[exerciseLevels[e]] = e;
+      }
+      this.flowStart = new int[nbLevels + 1];
+      for (int f = 0; f < nbFlows; f++) {
+        int group = cashFlowGroups[f];
+        ArgChecker.isTrue(group >= -1 && group < nbExercises, "cashFlowGroups must refer to an exercise or be -1");
+        if (group >= 0) {
+          int flowLevel = keyLevels[cashFlowKeys[f]];
+          ArgChecker.isTrue(flowLevel >= exerciseLevels[group], "cash flows must not be paid before the exercise of their group");
+          flowStart[flowLevel + 1]++;
+        }
+      }
+      for (int level = 0; level < nbLevels; level++) {
+        flowStart[level + 1] += flowStart[level];
+      }
+      this.flowOrder = new int[flowStart[nbLevels]];
+      int[] position = Arrays.copyOf(flowStart, nbLevels);
+      for (int f = 0; f < nbFlows; f++) {
+        if (cashFlowGroups[f] >= 0) {
+          flowOrder[position[keyLevels[cashFlowKeys[f]]]++] = f;
+        }
+      }
+    }
+
+    private int vectorCount() {
+      return GROUP + exerciseAmounts.length;
+    }
+  }
+
+}
@@ -64,6 +64,23 @@ public interface OptionFunction {
    */
   public abstract DoubleArray getPayoffAtExpiryTrinomial(DoubleArray stateValue);
 
+  /**
+   * Computes payoff at expiry for trinomial tree, writing into a caller-supplied array.
+   * <p>
+   * This is the primitive form of {@link #getPayoffAtExpiryTrinomial(DoubleArray)} used by the rolling buffers
+   * of {@link TrinomialTreeWorkspace}. The first {@code stateValue.length} elements of {@code result} are written.
+   * <p>
+   * The default implementation delegates to {@link #getPayoffAtExpiryTrinomial(DoubleArray)}, and thus allocates.
+   * Implementations should override this to avoid allocation.
+   * 
+   * @param stateValue  the state values, not mutated
+   * @param result  the array to write the payoff at expiry into
+   */
+  public default void getPayoffAtExpiryTrinomial(double[] stateValue, double[] result) {
+    DoubleArray payoff = getPayoffAtExpiryTrinomial(DoubleArray.ofUnsafe(stateValue));
+    System.arraycopy(payoff.toArrayUnsafe(), 0, result, 0, stateValue.length);
+  }
+
   /**
    * Computes the option values in the intermediate nodes.
    * <p>
@@ -131,4 +148,41 @@ public interface OptionFunction {
         transitionProbability.get(j, 1) * value.get(j + 1) + transitionProbability.get(j, 0) * value.get(j)));
   }
 
+  /**
+   * Computes the option values in the intermediate nodes, writing into a caller-supplied array.
+   * <p>
+   * This is the primitive form of {@link #getNextOptionValues(double, DoubleMatrix, DoubleArray, DoubleArray, int)}
+   * used by the rolling buffers of {@link TrinomialTreeWorkspace}.
+   * The arrays {@code value} and {@code result} may be longer than required, but must not be the same array.
+   * Only the first (2*i+3) elements of {@code value} are read and only the first (2*i+1) elements of {@code result}
+   * are written.
+   * <p>
+   * The default implementation delegates to
+   * {@link #getNextOptionValues(double, DoubleMatrix, DoubleArray, DoubleArray, int)}, and thus allocates.
+   * Implementations should override this to avoid allocation.
+   * 
+   * @param discountFactor  the discount factor between the two layers
+   * @param transitionProbability  the transition probability, with the (down, middle, up) probabilities in each row
+   * @param stateValue  the state value
+   * @param value  the option value in the (i+1)-th layer, not mutated
+   * @param i  the step number for which the next option values are computed
+   * @param result  the array to write the option values in the i-th layer into
+   */
+  public default void getNextOptionValues(
+      double discountFactor,
+      double[][] transitionProbability,
+      double[] stateValue,
+      double[] value,
+      int i,
+      double[] result) {
+
+    DoubleArray next = getNextOptionValues(
+        discountFactor,
+        DoubleMatrix.ofUnsafe(transitionProbability),
+        DoubleArray.ofUnsafe(stateValue),
+        DoubleArray.ofUnsafe(value).subArray(0, 2 * i + 3),
+        i);
+    System.arraycopy(next.toArrayUnsafe(), 0, result, 0, 2 * i + 1);
+  }
+
 }
@@ -5,6 +5,9 @@
  */
 package com.opengamma.strata.pricer.impl.tree;
 
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -17,6 +20,8 @@ import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
  * and the option to price is specified by {@code OptionFunction}. 
  * <p>
  * Option pricing with non-uniform tree is realised by specifying {@code RecombiningTrinomialTreeData}.
+ * Several options can be priced on the same non-uniform tree in a single backward sweep,
+ * rolling the option values back in the primitive buffers of a {@link TrinomialTreeWorkspace}.
  */
 public class TrinomialTree {
 
@@ -76,14 +81,9 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
-    int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-    }
-    return values.get(0);
+    double[] price = new double[1];
+    optionPrice(ImmutableList.of(function), data, new TrinomialTreeWorkspace(), price);
+    return price[0];
   }
 
   /**
@@ -100,21 +100,109 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
+    double[] price = new double[1];
+    double[] delta = new double[1];
+    optionPriceAdjoint(ImmutableList.of(function), data, new TrinomialTreeWorkspace(), price, delta);
+    return ValueDerivatives.of(price[0], DoubleArray.of(delta[0]));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Price several options under the specified trinomial tree gird.
+   * <p>
+   * All of the options are priced in a single backward sweep over the tree.
+   * The option values are rolled back in the buffers of {@code workspace}, thus no objects are created per time step.
+   * The price of the k-th option is written into the k-th element of {@code prices}.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @param workspace  the workspace
+   * @param prices  the array to write the option prices into
+   */
+  public void optionPrice(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data,
+      TrinomialTreeWorkspace workspace,
+      double[] prices) {
+
+    backwardSweep(functions, data, workspace, prices, null);
+  }
+
+  /**
+   * Compute price and delta of several options under the specified trinomial tree gird.
+   * <p>
+   * All of the options are priced in a single backward sweep over the tree.
+   * The option values are rolled back in the buffers of {@code workspace}, thus no objects are created per time step.
+   * The price and delta of the k-th option are written into the k-th element of {@code prices} and {@code deltas}.
+   * <p>
+   * The delta is the first derivative of the price with respect to spot, and approximated by the data embedded in 
+   * the trinomial tree.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @param workspace  the workspace
+   * @param prices  the array to write the option prices into
+   * @param deltas  the array to write the spot deltas into
+   */
+  public void optionPriceAdjoint(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data,
+      TrinomialTreeWorkspace workspace,
+      double[] prices,
+      double[] deltas) {
+
+    ArgChecker.notNull(deltas, "deltas");
+    backwardSweep(functions, data, workspace, prices, deltas);
+  }
+
+  // rolls back all of the options together, the delta is computed if deltas is non-null
+  private void backwardSweep(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data,
+      TrinomialTreeWorkspace workspace,
+      double[] prices,
+      double[] deltas) {
+
+    ArgChecker.notEmpty(functions, "functions");
+    ArgChecker.notNull(data, "data");
+    ArgChecker.notNull(workspace, "workspace");
     int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    double delta = 0d;
+    int nFunctions = functions.size();
+    ArgChecker.isTrue(prices.length >= nFunctions, "prices array is too short");
+    ArgChecker.isTrue(deltas == null || deltas.length >= nFunctions, "deltas array is too short");
+    OptionFunction[] payoffs = functions.toArray(new OptionFunction[nFunctions]);
+    for (OptionFunction function : payoffs) {
+      ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
+    }
+    workspace.ensureCapacity(nFunctions, nSteps);
+    double[][] stateValue = data.getStateValue().toArrayUnsafe();
+    for (int k = 0; k < nFunctions; ++k) {
+      payoffs[k].getPayoffAtExpiryTrinomial(stateValue[nSteps], workspace.values(k));
+    }
     for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-      if (i == 1) {
-        DoubleArray stateValue = data.getStateValueAtLayer(1);
-        double d1 = (values.get(2) - values.get(1)) / (stateValue.get(2) - stateValue.get(1));
-        double d2 = (values.get(1) - values.get(0)) / (stateValue.get(1) - stateValue.get(0));
-        delta = 0.5 * (d1 + d2);
+      double discountFactor = data.getDiscountFactorAtLayer(i);
+      double[][] probability = data.getProbabilityAtLayer(i).toArrayUnsafe();
+      for (int k = 0; k < nFunctions; ++k) {
+        payoffs[k].getNextOptionValues(
+            discountFactor, probability, stateValue[i], workspace.values(k), i, workspace.spare());
+        workspace.swap(k);
+      }
+      if (i == 1 && deltas != null) {
+        double[] state = stateValue[1];
+        for (int k = 0; k < nFunctions; ++k) {
+          double[] values = workspace.values(k);
+          double d1 = (values[2] - values[1]) / (state[2] - state[1]);
+          double d2 = (values[1] - values[0]) / (state[1] - state[0]);
+          deltas[k] = 0.5 * (d1 + d2);
+        }
+      }
+    }
+    for (int k = 0; k < nFunctions; ++k) {
+      prices[k] = workspace.values(k)[0];
+      if (deltas != null && nSteps == 1) {
+        deltas[k] = 0d;
       }
     }
-    return ValueDerivatives.of(values.get(0), DoubleArray.of(delta));
   }
 
 }
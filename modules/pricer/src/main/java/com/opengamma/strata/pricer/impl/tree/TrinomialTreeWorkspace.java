@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.tree;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Reusable workspace for the backward sweep of {@link TrinomialTree}.
+ * <p>
+ * The workspace holds double-buffered primitive arrays for the option values of each payoff.
+ * At each layer, the next option values are written into a spare buffer which is then swapped with the
+ * current buffer, thus the backward sweep creates no objects per time step.
+ * <p>
+ * The buffers grow on demand and are retained between calls.
+ * A single instance may therefore be used to price many options on trees of different sizes.
+ * <p>
+ * This class is mutable and not thread-safe. Each thread should use its own instance.
+ */
+public final class TrinomialTreeWorkspace {
+
+  /**
+   * The option values, one buffer per payoff.
+   */
+  private double[][] values = new double[0][];
+  /**
+   * The spare buffer, swapped with the value buffers at each layer.
+   */
+  private double[] spare = new double[0];
+
+  /**
+   * Creates an empty workspace.
+   * <p>
+   * The buffers are allocated when the workspace is first used.
+   */
+  public TrinomialTreeWorkspace() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Ensures the buffers can hold the specified number of payoffs on a tree with the specified number of steps.
+   *
+   * @param nPayoffs  the number of payoffs
+   * @param nSteps  the number of time steps
+   */
+  void ensureCapacity(int nPayoffs, int nSteps) {
+    ArgChecker.notNegativeOrZero(nPayoffs, "nPayoffs");
+    int nNodes = 2 * ArgChecker.notNegativeOrZero(nSteps, "nSteps") + 1;
+    if (spare.length < nNodes) {
+      spare = new double[nNodes];
+      for (int k = 0; k < values.length; ++k) {
+        values[k] = new double[nNodes];
+      }
+    }
+    if (values.length < nPayoffs) {
+      double[][] grown = new double[nPayoffs][];
+      System.arraycopy(values, 0, grown, 0, values.length);
+      for (int k = values.length; k < nPayoffs; ++k) {
+        grown[k] = new double[spare.length];
+      }
+      values = grown;
+    }
+  }
+
+  /**
+   * Obtains the current option value buffer of the specified payoff.
+   *
+   * @param payoff  the payoff index
+   * @return the buffer
+   */
+  double[] values(int payoff) {
+    return values[payoff];
+  }
+
+  /**
+   * Obtains the spare buffer.
+   *
+   * @return the spare buffer
+   */
+  double[] spare() {
+    return spare;
+  }
+
+  /**
+   * Swaps the spare buffer with the option value buffer of the specified payoff.
+   * <p>
+   * This is called once the next option values of the payoff have been written into the spare buffer.
+   *
+   * @param payoff  the payoff index
+   */
+  void swap(int payoff) {
+    double[] current = values[payoff];
+    values[payoff] = spare;
+    spare = current;
+  }
+
+}
@@ -91,6 +91,65 @@ public final class SabrHaganVolatilityFunctionProvider
     ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
     ArgChecker.isTrue(strike >= 0.0, "strike must be greater than zero");
     ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
+    return volatilityUnchecked(forward, strike, timeToExpiry, alpha, beta, rho, nu);
+  }
+
+  /**
+   * Computes the implied volatility in the SABR model for a slice of strikes.
+   * <p>
+   * The inputs are validated once for the slice and the volatilities are then computed
+   * without allocation, the volatility at {@code strikes[i]} being written to {@code volatilities[i]}.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param alpha  the SABR alpha value
+   * @param beta  the SABR beta value
+   * @param rho  the SABR rho value
+   * @param nu  the SABR nu value
+   * @param volatilities  the array populated with the volatilities, of the same length as the strikes
+   */
+  public void volatility(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu,
+      double[] volatilities) {
+
+    validate(forward, strikes, timeToExpiry);
+    ArgChecker.isTrue(volatilities.length == strikes.length, "volatilities must have length {}", strikes.length);
+    for (int i = 0; i < strikes.length; i++) {
+      volatilities[i] = volatilityUnchecked(forward, strikes[i], timeToExpiry, alpha, beta, rho, nu);
+    }
+  }
+
+  /**
+   * Computes the implied volatility in the SABR model for a slice of strikes.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param data  the SABR data
+   * @param volatilities  the array populated with the volatilities, of the same length as the strikes
+   */
+  @Override
+  public void volatility(double forward, double[] strikes, double timeToExpiry, SabrFormulaData data, double[] volatilities) {
+    ArgChecker.notNull(data, "data");
+    volatility(forward, strikes, timeToExpiry, data.getAlpha(), data.getBeta(), data.getRho(), data.getNu(), volatilities);
+  }
+
+  // computes the volatility, with the inputs already validated
+  private double volatilityUnchecked(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu) {
 
     if (alpha == 0.0) {
       return 0.0;
@@ -207,6 +266,95 @@ public final class SabrHaganVolatilityFunctionProvider
     ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
     ArgChecker.isTrue(strike >= 0.0, "strike must be greater than zero");
     ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
+    double[] derivatives = new double[6];
+    double volatility = volatilityAdjointUnchecked(forward, strike, timeToExpiry, alpha, beta, rho, nu, derivatives);
+    return ValueDerivatives.of(volatility, DoubleArray.ofUnsafe(derivatives));
+  }
+
+  /**
+   * Computes the implied volatility in the SABR model and its derivatives for a slice of strikes.
+   * <p>
+   * The inputs are validated once for the slice and the volatilities are then computed without
+   * per-strike allocation. The volatility at {@code strikes[i]} is written to {@code volatilities[i]}
+   * and the derivatives are written to {@code derivatives[j][i]}, where:
+   * <ul>
+   * <li>[0] derivative with respect to the forward
+   * <li>[1] derivative with respect to the strike
+   * <li>[2] derivative with respect to the alpha
+   * <li>[3] derivative with respect to the beta
+   * <li>[4] derivative with respect to the rho
+   * <li>[5] derivative with respect to the nu
+   * </ul>
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param alpha  the SABR alpha value
+   * @param beta  the SABR beta value
+   * @param rho  the SABR rho value
+   * @param nu  the SABR nu value
+   * @param volatilities  the array populated with the volatilities, of the same length as the strikes
+   * @param derivatives  the six arrays populated with the derivatives, each of the same length as the strikes
+   */
+  public void volatilityAdjoint(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu,
+      double[] volatilities,
+      double[][] derivatives) {
+
+    validate(forward, strikes, timeToExpiry);
+    validateSlice(strikes, volatilities, derivatives);
+    double[] strikeDerivatives = new double[6];
+    for (int i = 0; i < strikes.length; i++) {
+      volatilities[i] = volatilityAdjointUnchecked(forward, strikes[i], timeToExpiry, alpha, beta, rho, nu, strikeDerivatives);
+      for (int j = 0; j < 6; j++) {
+        derivatives[j][i] = strikeDerivatives[j];
+      }
+    }
+  }
+
+  /**
+   * Computes the implied volatility in the SABR model and its derivatives for a slice of strikes.
+   * <p>
+   * See {@link #volatilityAdjoint(double, double[], double, double, double, double, double, double[], double[][])}.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param data  the SABR data
+   * @param volatilities  the array populated with the volatilities, of the same length as the strikes
+   * @param derivatives  the six arrays populated with the derivatives, each of the same length as the strikes
+   */
+  @Override
+  public void volatilityAdjoint(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      SabrFormulaData data,
+      double[] volatilities,
+      double[][] derivatives) {
+
+    ArgChecker.notNull(data, "data");
+    volatilityAdjoint(
+        forward, strikes, timeToExpiry, data.getAlpha(), data.getBeta(), data.getRho(), data.getNu(), volatilities, derivatives);
+  }
+
+  // computes the volatility, writing the six derivatives to the array, with the inputs already validated
+  private double volatilityAdjointUnchecked(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu,
+      double[] derivatives) {
+
     double cutoff = forward * CUTOFF_MONEYNESS;
     double k = strike;
     if (k < cutoff) {
@@ -227,7 +375,13 @@ public final class SabrHaganVolatilityFunctionProvider
         // so we return an arbitrary large number
         alphaBar = 1e7;
       }
-      return ValueDerivatives.of(0d, DoubleArray.of(0, 0, alphaBar, 0, 0, 0));
+      derivatives[0] = 0d;
+      derivatives[1] = 0d;
+      derivatives[2] = alphaBar;
+      derivatives[3] = 0d;
+      derivatives[4] = 0d;
+      derivatives[5] = 0d;
+      return 0d;
     }
 
     // Implementation note: Forward sweep.
@@ -350,7 +504,13 @@ public final class SabrHaganVolatilityFunctionProvider
         (betaStar / 12 * lnrfKPow2 + pow3(betaStar) / 480 * lnrfKPow4) * sf1Bar +
         (-betaStar * alphaPow2 / (sfKPow2 * 12) + (rho * nu * alpha) / sfKMul4) * timeToExpiry * sf2Bar;
 
-    return ValueDerivatives.of(volatility, DoubleArray.of(forwardBar, strikeBar, alphaBar, betaBar, rhoBar, nuBar));
+    derivatives[0] = forwardBar;
+    derivatives[1] = strikeBar;
+    derivatives[2] = alphaBar;
+    derivatives[3] = betaBar;
+    derivatives[4] = rhoBar;
+    derivatives[5] = nuBar;
+    return volatility;
   }
 
   /**
@@ -559,6 +719,24 @@ public final class SabrHaganVolatilityFunctionProvider
     return sigma;
   }
 
+  // validates the inputs of a slice of strikes
+  private static void validate(double forward, double[] strikes, double timeToExpiry) {
+    ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
+    ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
+    for (double strike : strikes) {
+      ArgChecker.isTrue(strike >= 0.0, "strike must be greater than zero");
+    }
+  }
+
+  private static void validateSlice(double[] strikes, double[] volatilities, double[][] derivatives) {
+    int size = strikes.length;
+    ArgChecker.isTrue(volatilities.length == size, "volatilities must have length {}", size);
+    ArgChecker.isTrue(derivatives.length == 6, "derivatives must have six rows");
+    for (double[] row : derivatives) {
+      ArgChecker.isTrue(row.length == size, "derivatives must have length {}", size);
+    }
+  }
+
   private double getZOverChi(double rho, double z) {
 
     // Implementation comment: To avoid numerical instability (0/0) around ATM the first order approximation is used.
@@ -77,27 +77,31 @@ public abstract class SmileModelFitter<T extends SmileModelData> {
     this.marketValues = impliedVols;
     this.errors = error;
     this.model = model;
+    double[] strikeArray = strikes.toArrayUnsafe();
     this.volFunc = new Function<DoubleArray, DoubleArray>() {
       @Override
       public DoubleArray apply(DoubleArray x) {
         final T data = toSmileModelData(x);
         double[] res = new double[n];
-        for (int i = 0; i < n; ++i) {
-          res[i] = model.volatility(forward, strikes.get(i), timeToExpiry, data);
-        }
-        return DoubleArray.copyOf(res);
+        model.volatility(forward, strikeArray, timeToExpiry, data, res);
+        return DoubleArray.ofUnsafe(res);
       }
     };
     this.volAdjointFunc = new Function<DoubleArray, DoubleMatrix>() {
       @Override
       public DoubleMatrix apply(DoubleArray x) {
         final T data = toSmileModelData(x);
-        double[][] resAdj = new double[n][];
+        int nParams = data.getNumberOfParameters();
+        double[] vols = new double[n];
+        double[][] derivatives = new double[2 + nParams][n];
+        model.volatilityAdjoint(forward, strikeArray, timeToExpiry, data, vols, derivatives);
+        double[][] resAdj = new double[n][nParams];
         for (int i = 0; i < n; ++i) {
-          DoubleArray deriv = model.volatilityAdjoint(forward, strikes.get(i), timeToExpiry, data).getDerivatives();
-          resAdj[i] = deriv.subArray(2).toArrayUnsafe();
+          for (int j = 0; j < nParams; ++j) {
+            resAdj[i][j] = derivatives[j + 2][i];
+          }
         }
-        return DoubleMatrix.copyOf(resAdj);
+        return DoubleMatrix.ofUnsafe(resAdj);
       }
     };
   }
@@ -56,6 +56,59 @@ public abstract class VolatilityFunctionProvider<T extends SmileModelData> {
     return ValueDerivatives.of(volatility, DoubleArray.ofUnsafe(res));
   }
 
+  /**
+   * Calculates the volatility for a slice of strikes.
+   * <p>
+   * The volatility at {@code strikes[i]} is written to {@code volatilities[i]}.
+   * By default this calls {@link #volatility(double, double, double, SmileModelData)} for each strike.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param data  the model data
+   * @param volatilities  the array populated with the volatilities, of the same length as the strikes
+   */
+  public void volatility(double forward, double[] strikes, double timeToExpiry, T data, double[] volatilities) {
+    ArgChecker.isTrue(volatilities.length == strikes.length, "volatilities must have length {}", strikes.length);
+    for (int i = 0; i < strikes.length; i++) {
+      volatilities[i] = volatility(forward, strikes[i], timeToExpiry, data);
+    }
+  }
+
+  /**
+   * Calculates the volatility and the adjoint for a slice of strikes.
+   * <p>
+   * The volatility at {@code strikes[i]} is written to {@code volatilities[i]} and the derivatives
+   * are written to {@code derivatives[j][i]}, in the order of {@link #volatilityAdjoint(double, double, double, SmileModelData)}.
+   * Only the first {@code derivatives.length} derivatives are written.
+   * By default this calls the single strike method for each strike.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param data  the model data
+   * @param volatilities  the array populated with the volatilities, of the same length as the strikes
+   * @param derivatives  the arrays populated with the derivatives, each of the same length as the strikes
+   */
+  public void volatilityAdjoint(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      T data,
+      double[] volatilities,
+      double[][] derivatives) {
+
+    int size = strikes.length;
+    ArgChecker.isTrue(volatilities.length == size, "volatilities must have length {}", size);
+    for (int i = 0; i < size; i++) {
+      ValueDerivatives adjoint = volatilityAdjoint(forward, strikes[i], timeToExpiry, data);
+      volatilities[i] = adjoint.getValue();
+      for (int j = 0; j < derivatives.length; j++) {
+        derivatives[j][i] = adjoint.getDerivative(j);
+      }
+    }
+  }
+
   /**
    * Computes the first and second order derivatives of the volatility.
    * <p>
@@ -5,20 +5,31 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
 
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveInfoType;
 import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivitiesAccumulator;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
-import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
-import com.opengamma.strata.math.impl.matrix.OGMatrixAlgebra;
 import com.opengamma.strata.pricer.bond.LegalEntityDiscountingProvider;
 import com.opengamma.strata.pricer.credit.CreditRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -29,6 +40,10 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * This needs the {@link JacobianCalibrationMatrix} obtained during curve calibration.
  * The Market Quote sensitivities are also called Par Rate when the instruments used
  * in the curve calibration are quoted in rate, e.g. IRS, FRA or OIS.
+ * <p>
+ * The sensitivities of many trades can be converted together using the methods that accept a list.
+ * The parameter sensitivities of all the trades to each curve are stacked into a single matrix,
+ * which is multiplied by the Jacobian of the curve once.
  */
 public class MarketQuoteSensitivityCalculator {
 
@@ -37,9 +52,9 @@ public class MarketQuoteSensitivityCalculator {
    */
   public static final MarketQuoteSensitivityCalculator DEFAULT = new MarketQuoteSensitivityCalculator();
   /**
-   * The matrix algebra used for matrix inversion.
+   * The block size used when multiplying the stacked sensitivities by the Jacobian.
    */
-  private static final MatrixAlgebra MATRIX_ALGEBRA = new OGMatrixAlgebra();
+  private static final int BLOCK_SIZE = 64;
 
   //-------------------------------------------------------------------------
   /**
@@ -55,36 +70,7 @@ public class MarketQuoteSensitivityCalculator {
 
     ArgChecker.notNull(paramSensitivities, "paramSensitivities");
     ArgChecker.notNull(provider, "provider");
-
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
-    for (CurrencyParameterSensitivity paramSens : paramSensitivities.getSensitivities()) {
-      // find the matching calibration info
-      Curve curve = provider.findData(paramSens.getMarketDataName())
-          .filter(v -> v instanceof Curve)
-          .map(v -> (Curve) v)
-          .orElseThrow(() -> new IllegalArgumentException(
-              "Market Quote sensitivity requires curve: " + paramSens.getMarketDataName()));
-      JacobianCalibrationMatrix info = curve.getMetadata().findInfo(CurveInfoType.JACOBIAN)
-          .orElseThrow(() -> new IllegalArgumentException(
-              "Market Quote sensitivity requires Jacobian calibration information"));
-
-      // calculate the market quote sensitivity using the Jacobian
-      DoubleMatrix jacobian = info.getJacobianMatrix();
-      DoubleArray paramSensMatrix = paramSens.getSensitivity();
-      DoubleArray marketQuoteSensMatrix = (DoubleArray) MATRIX_ALGEBRA.multiply(paramSensMatrix, jacobian);
-      DoubleArray marketQuoteSens = marketQuoteSensMatrix;
-
-      // split between different curves
-      Map<CurveName, DoubleArray> split = info.splitValues(marketQuoteSens);
-      for (Entry<CurveName, DoubleArray> entry : split.entrySet()) {
-        CurveName curveName = entry.getKey();
-        CurrencyParameterSensitivity maketQuoteSens = provider.findData(curveName)
-            .map(c -> c.createParameterSensitivity(paramSens.getCurrency(), entry.getValue()))
-            .orElse(CurrencyParameterSensitivity.of(curveName, paramSens.getCurrency(), entry.getValue()));
-        result = result.combinedWith(maketQuoteSens);
-      }
-    }
-    return result;
+    return sensitivity(ImmutableList.of(paramSensitivities), provider::findData).get(0);
   }
 
   /**
@@ -103,36 +89,7 @@ public class MarketQuoteSensitivityCalculator {
 
     ArgChecker.notNull(paramSensitivities, "paramSensitivities");
     ArgChecker.notNull(provider, "provider");
-
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
-    for (CurrencyParameterSensitivity paramSens : paramSensitivities.getSensitivities()) {
-      // find the matching calibration info
-      Curve curve = provider.findData(paramSens.getMarketDataName())
-          .filter(v -> v instanceof Curve)
-          .map(v -> (Curve) v)
-          .orElseThrow(() -> new IllegalArgumentException(
-              "Market Quote sensitivity requires curve: " + paramSens.getMarketDataName()));
-      JacobianCalibrationMatrix info = curve.getMetadata().findInfo(CurveInfoType.JACOBIAN)
-          .orElseThrow(() -> new IllegalArgumentException(
-              "Market Quote sensitivity requires Jacobian calibration information"));
-
-      // calculate the market quote sensitivity using the Jacobian
-      DoubleMatrix jacobian = info.getJacobianMatrix();
-      DoubleArray paramSensMatrix = paramSens.getSensitivity();
-      DoubleArray marketQuoteSensMatrix = (DoubleArray) MATRIX_ALGEBRA.multiply(paramSensMatrix, jacobian);
-      DoubleArray marketQuoteSens = marketQuoteSensMatrix;
-
-      // split between different curves
-      Map<CurveName, DoubleArray> split = info.splitValues(marketQuoteSens);
-      for (Entry<CurveName, DoubleArray> entry : split.entrySet()) {
-        CurveName curveName = entry.getKey();
-        CurrencyParameterSensitivity maketQuoteSens = provider.findData(curveName)
-            .map(c -> c.createParameterSensitivity(paramSens.getCurrency(), entry.getValue()))
-            .orElse(CurrencyParameterSensitivity.of(curveName, paramSens.getCurrency(), entry.getValue()));
-        result = result.combinedWith(maketQuoteSens);
-      }
-    }
-    return result;
+    return sensitivity(ImmutableList.of(paramSensitivities), provider::findData).get(0);
   }
 
   /**
@@ -149,32 +106,152 @@ public class MarketQuoteSensitivityCalculator {
       CurrencyParameterSensitivities paramSensitivities,
       CreditRatesProvider provider) {
 
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
-    for (CurrencyParameterSensitivity paramSens : paramSensitivities.getSensitivities()) {
+    ArgChecker.notNull(paramSensitivities, "paramSensitivities");
+    ArgChecker.notNull(provider, "provider");
+    return sensitivity(ImmutableList.of(paramSensitivities), provider::findData).get(0);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the market quote sensitivities from the parameter sensitivities of many trades.
+   * <p>
+   * The result is the same as calling {@link #sensitivity(CurrencyParameterSensitivities, RatesProvider)}
+   * for each element, but the Jacobian of each curve is applied to all the trades at once.
+   * 
+   * @param paramSensitivities  the curve parameter sensitivities, one element per trade
+   * @param provider  the rates provider, containing Jacobian calibration information
+   * @return the market quote sensitivities, in the same order as the input
+   */
+  public List<CurrencyParameterSensitivities> sensitivity(
+      List<CurrencyParameterSensitivities> paramSensitivities,
+      RatesProvider provider) {
+
+    ArgChecker.noNulls(paramSensitivities, "paramSensitivities");
+    ArgChecker.notNull(provider, "provider");
+    return sensitivity(paramSensitivities, provider::findData);
+  }
+
+  /**
+   * Calculates the market quote sensitivities from the parameter sensitivities of many trades.
+   * <p>
+   * The result is the same as calling {@link #sensitivity(CurrencyParameterSensitivities, LegalEntityDiscountingProvider)}
+   * for each element, but the Jacobian of each curve is applied to all the trades at once.
+   * 
+   * @param paramSensitivities  the curve parameter sensitivities, one element per trade
+   * @param provider  the legal entity discounting provider, containing Jacobian calibration information
+   * @return the market quote sensitivities, in the same order as the input
+   */
+  public List<CurrencyParameterSensitivities> sensitivity(
+      List<CurrencyParameterSensitivities> paramSensitivities,
+      LegalEntityDiscountingProvider provider) {
+
+    ArgChecker.noNulls(paramSensitivities, "paramSensitivities");
+    ArgChecker.notNull(provider, "provider");
+    return sensitivity(paramSensitivities, provider::findData);
+  }
+
+  /**
+   * Calculates the market quote sensitivities from the parameter sensitivities of many trades.
+   * <p>
+   * The result is the same as calling {@link #sensitivity(CurrencyParameterSensitivities, CreditRatesProvider)}
+   * for each element, but the Jacobian of each curve is applied to all the trades at once.
+   * 
+   * @param paramSensitivities  the curve parameter sensitivities, one element per trade
+   * @param provider  the credit rates provider, containing Jacobian calibration information
+   * @return the market quote sensitivities, in the same order as the input
+   */
+  public List<CurrencyParameterSensitivities> sensitivity(
+      List<CurrencyParameterSensitivities> paramSensitivities,
+      CreditRatesProvider provider) {
+
+    ArgChecker.noNulls(paramSensitivities, "paramSensitivities");
+    ArgChecker.notNull(provider, "provider");
+    return sensitivity(paramSensitivities, provider::findData);
+  }
+
+  //-------------------------------------------------------------------------
+  // calculates the market quote sensitivities, applying the Jacobian of each curve once
+  private List<CurrencyParameterSensitivities> sensitivity(
+      List<CurrencyParameterSensitivities> paramSensitivities,
+      Function<MarketDataName<?>, Optional<?>> dataLookup) {
+
+    // group the sensitivities of all the trades by curve, retaining the index of the trade
+    // the curves are sorted to add the sensitivities of each trade in the same order as the input
+    Map<MarketDataName<?>, List<Pair<Integer, CurrencyParameterSensitivity>>> byCurve = new TreeMap<>();
+    for (int i = 0; i < paramSensitivities.size(); i++) {
+      for (CurrencyParameterSensitivity paramSens : paramSensitivities.get(i).getSensitivities()) {
+        byCurve.computeIfAbsent(paramSens.getMarketDataName(), name -> new ArrayList<>())
+            .add(Pair.of(i, paramSens));
+      }
+    }
+    List<CurrencyParameterSensitivitiesAccumulator> accumulators = new ArrayList<>(paramSensitivities.size());
+    for (int i = 0; i < paramSensitivities.size(); i++) {
+      accumulators.add(CurrencyParameterSensitivities.accumulator());
+    }
+
+    for (Entry<MarketDataName<?>, List<Pair<Integer, CurrencyParameterSensitivity>>> entry : byCurve.entrySet()) {
       // find the matching calibration info
-      Curve curve = provider.findData(paramSens.getMarketDataName())
+      Curve curve = dataLookup.apply(entry.getKey())
           .filter(v -> v instanceof Curve)
           .map(v -> (Curve) v)
           .orElseThrow(() -> new IllegalArgumentException(
-              "Market Quote sensitivity requires curve: " + paramSens.getMarketDataName()));
+              "Market Quote sensitivity requires curve: " + entry.getKey()));
       JacobianCalibrationMatrix info = curve.getMetadata().findInfo(CurveInfoType.JACOBIAN)
           .orElseThrow(() -> new IllegalArgumentException(
               "Market Quote sensitivity requires Jacobian calibration information"));
 
-      // calculate the market quote sensitivity using the Jacobian
-      DoubleMatrix jacobian = info.getJacobianMatrix();
-      DoubleArray paramSensMatrix = paramSens.getSensitivity();
-      DoubleArray marketQuoteSensMatrix = (DoubleArray) MATRIX_ALGEBRA.multiply(paramSensMatrix, jacobian);
-      DoubleArray marketQuoteSens = marketQuoteSensMatrix;
+      // calculate the market quote sensitivity using the Jacobian, one row per trade
+      List<Pair<Integer, CurrencyParameterSensitivity>> rows = entry.getValue();
+      double[][] paramSensMatrix = new double[rows.size()][];
+      for (int i = 0; i < rows.size(); i++) {
+        paramSensMatrix[i] = rows.get(i).getSecond().getSensitivity().toArrayUnsafe();
+      }
+      double[][] marketQuoteSensMatrix = multiply(paramSensMatrix, info.getJacobianMatrix());
 
       // split between different curves
-      Map<CurveName, DoubleArray> split = info.splitValues(marketQuoteSens);
-      for (Entry<CurveName, DoubleArray> entry : split.entrySet()) {
-        CurveName curveName = entry.getKey();
-        CurrencyParameterSensitivity maketQuoteSens = provider.findData(curveName)
-            .map(c -> c.createParameterSensitivity(paramSens.getCurrency(), entry.getValue()))
-            .orElse(CurrencyParameterSensitivity.of(curveName, paramSens.getCurrency(), entry.getValue()));
-        result = result.combinedWith(maketQuoteSens);
+      int start = 0;
+      for (CurveParameterSize paramSize : info.getOrder()) {
+        CurveName curveName = paramSize.getName();
+        Optional<Curve> splitCurve = dataLookup.apply(curveName).map(c -> (Curve) c);
+        int end = start + paramSize.getParameterCount();
+        for (int i = 0; i < rows.size(); i++) {
+          Currency currency = rows.get(i).getSecond().getCurrency();
+          DoubleArray marketQuoteSens = DoubleArray.copyOf(marketQuoteSensMatrix[i], start, end);
+          CurrencyParameterSensitivity maketQuoteSens = splitCurve
+              .map(c -> c.createParameterSensitivity(currency, marketQuoteSens))
+              .orElse(CurrencyParameterSensitivity.of(curveName, currency, marketQuoteSens));
+          accumulators.get(rows.get(i).getFirst()).add(maketQuoteSens);
+        }
+        start = end;
+      }
+    }
+    return accumulators.stream()
+        .map(CurrencyParameterSensitivitiesAccumulator::toSensitivities)
+        .collect(toImmutableList());
+  }
+
+  // multiplies the stacked sensitivities by the Jacobian, blocking over the inner dimension
+  private static double[][] multiply(double[][] sensitivities, DoubleMatrix jacobian) {
+    double[][] jac = jacobian.toArrayUnsafe();
+    int rowCount = sensitivities.length;
+    int innerCount = jacobian.rowCount();
+    int columnCount = jacobian.columnCount();
+    double[][] result = new double[rowCount][columnCount];
+    for (int i = 0; i < rowCount; i++) {
+      ArgChecker.isTrue(sensitivities[i].length == innerCount, "Matrix/vector size mismatch");
+    }
+    for (int kBlock = 0; kBlock < innerCount; kBlock += BLOCK_SIZE) {
+      int kEnd = Math.min(kBlock + BLOCK_SIZE, innerCount);
+      for (int i = 0; i < rowCount; i++) {
+        double[] sensRow = sensitivities[i];
+        double[] resultRow = result[i];
+        for (int k = kBlock; k < kEnd; k++) {
+          double sens = sensRow[k];
+          double[] jacRow = jac[k];
+          for (int j = 0; j < columnCount; j++) {
+            resultRow[j] += sens * jacRow[j];
+          }
+        }
       }
     }
     return result;
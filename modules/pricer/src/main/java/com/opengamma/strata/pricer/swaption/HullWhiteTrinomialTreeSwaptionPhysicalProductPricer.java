@@ -0,0 +1,402 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.impl.rate.swap.CashFlowEquivalentCalculator;
+import com.opengamma.strata.pricer.impl.tree.HullWhiteTrinomialTree;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.common.SettlementType;
+import com.opengamma.strata.product.swap.NotionalExchange;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapPaymentEvent;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+import com.opengamma.strata.product.swaption.ResolvedSwaption;
+import com.opengamma.strata.product.swaption.SwaptionExerciseDate;
+
+/**
+ * Pricer for Bermudan swaption with physical settlement in Hull-White one factor model
+ * with piecewise constant volatility, using a trinomial tree.
+ * <p>
+ * The swaption can be exercised on each of its exercise dates into the swap made of the payment periods
+ * starting on or after the corresponding swap start date. European swaptions are priced as Bermudan
+ * swaptions with one exercise date. American swaptions are not supported.
+ * <p>
+ * The legs of the underlying swap are replaced by their cash flow equivalents, see {@link CashFlowEquivalentCalculator}.
+ * The tree is fitted to the discounting curve of the swaption currency at the exercise and cash flow dates.
+ * The sensitivities are computed by adjoint differentiation of the tree, with the exercise boundary fixed.
+ */
+public class HullWhiteTrinomialTreeSwaptionPhysicalProductPricer {
+
+  /**
+   * The default minimum number of steps in the tree.
+   */
+  private static final int DEFAULT_MINIMUM_STEPS = 250;
+  /**
+   * The maximum ratio between the longest and the shortest horizon of the swaptions priced on one tree.
+   * This bounds the number of steps of a shared tree to twice the minimum number of steps.
+   */
+  private static final double MAXIMUM_HORIZON_RATIO = 2d;
+
+  /**
+   * Default implementation.
+   */
+  public static final HullWhiteTrinomialTreeSwaptionPhysicalProductPricer DEFAULT =
+      new HullWhiteTrinomialTreeSwaptionPhysicalProductPricer(DEFAULT_MINIMUM_STEPS);
+
+  /**
+   * The minimum number of steps in the tree.
+   */
+  private final int minimumSteps;
+
+  /**
+   * Creates an instance.
+   *
+   * @param minimumSteps  the minimum number of steps in the tree
+   */
+  public HullWhiteTrinomialTreeSwaptionPhysicalProductPricer(int minimumSteps) {
+    this.minimumSteps = ArgChecker.notNegativeOrZero(minimumSteps, "minimumSteps");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the swaption product.
+   * <p>
+   * The result is expressed using the currency of the swaption.
+   *
+   * @param swaption  the product
+   * @param ratesProvider  the rates provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the present value
+   */
+  public CurrencyAmount presentValue(
+      ResolvedSwaption swaption,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    return presentValue(ImmutableList.of(swaption), ratesProvider, hwProvider).get(0);
+  }
+
+  /**
+   * Calculates the present value of several swaption products.
+   * <p>
+   * The swaptions in the same currency and with a similar horizon, the date of their last cash flow,
+   * are priced on a single tree, built once on the union of their dates.
+   * Each swaption has at least the minimum number of steps up to its own horizon.
+   * The results are expressed using the currency of each swaption, in the order of the input list.
+   *
+   * @param swaptions  the products
+   * @param ratesProvider  the rates provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the present values
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedSwaption> swaptions,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    int nbSwaptions = swaptions.size();
+    BermudanCashFlows[] cashFlows = new BermudanCashFlows[nbSwaptions];
+    double[] horizons = new double[nbSwaptions];
+    Map<Currency, List<Integer>> indicesByCurrency = new LinkedHashMap<>();
+    for (int i = 0; i < nbSwaptions; i++) {
+      ResolvedSwaption swaption = swaptions.get(i);
+      validate(swaption, ratesProvider, hwProvider);
+      if (!isExpired(swaption, ratesProvider)) {
+        cashFlows[i] = BermudanCashFlows.of(swaption, ratesProvider, false);
+        horizons[i] = hwProvider.relativeTime(cashFlows[i].dates().last());
+        indicesByCurrency.computeIfAbsent(swaption.getCurrency(), ccy -> new ArrayList<>()).add(i);
+      }
+    }
+    // the swaptions of a currency are grouped by horizon, the time of their last date, sharing a tree in each group
+    // the tree has enough steps for the swaption with the shortest horizon to have the minimum number of steps
+    HullWhiteTrinomialTree[] trees = new HullWhiteTrinomialTree[nbSwaptions];
+    List<Map<LocalDate, Integer>> keys = new ArrayList<>(Collections.nCopies(nbSwaptions, null));
+    for (Map.Entry<Currency, List<Integer>> entry : indicesByCurrency.entrySet()) {
+      DiscountFactors discountFactors = ratesProvider.discountFactors(entry.getKey());
+      List<Integer> indices = entry.getValue();
+      indices.sort(Comparator.comparingDouble(i -> horizons[i]));
+      int start = 0;
+      while (start < indices.size()) {
+        double shortest = horizons[indices.get(start)];
+        int end = start + 1;
+        while (end < indices.size() && horizons[indices.get(end)] <= MAXIMUM_HORIZON_RATIO * shortest) {
+          end++;
+        }
+        List<Integer> group = indices.subList(start, end);
+        TreeSet<LocalDate> dates = new TreeSet<>();
+        for (int i : group) {
+          dates.addAll(cashFlows[i].dates());
+        }
+        List<LocalDate> keyDates = new ArrayList<>(dates);
+        int steps = (int) Math.ceil(minimumSteps * horizons[indices.get(end - 1)] / shortest);
+        HullWhiteTrinomialTree tree = HullWhiteTrinomialTree.of(hwProvider, discountFactors, keyDates, steps);
+        Map<LocalDate, Integer> groupKeys = keyIndices(keyDates);
+        for (int i : group) {
+          trees[i] = tree;
+          keys.set(i, groupKeys);
+        }
+        start = end;
+      }
+    }
+    ImmutableList.Builder<CurrencyAmount> result = ImmutableList.builder();
+    for (int i = 0; i < nbSwaptions; i++) {
+      ResolvedSwaption swaption = swaptions.get(i);
+      Currency currency = swaption.getCurrency();
+      if (cashFlows[i] == null) {
+        result.add(CurrencyAmount.zero(currency));
+      } else {
+        double pv = cashFlows[i].presentValue(trees[i], keys.get(i));
+        result.add(CurrencyAmount.of(currency, pv * (swaption.getLongShort().isLong() ? 1d : -1d)));
+      }
+    }
+    return result.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the currency exposure of the swaption product.
+   *
+   * @param swaption  the product
+   * @param ratesProvider  the rates provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the currency exposure
+   */
+  public MultiCurrencyAmount currencyExposure(
+      ResolvedSwaption swaption,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    return MultiCurrencyAmount.of(presentValue(swaption, ratesProvider, hwProvider));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value sensitivity of the swaption product.
+   * <p>
+   * The present value sensitivity of the product is the sensitivity of the present value to
+   * the underlying curves.
+   *
+   * @param swaption  the product
+   * @param ratesProvider  the rates provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the point sensitivity to the rate curves
+   */
+  public PointSensitivityBuilder presentValueSensitivityRates(
+      ResolvedSwaption swaption,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    validate(swaption, ratesProvider, hwProvider);
+    if (isExpired(swaption, ratesProvider)) {
+      return PointSensitivityBuilder.none();
+    }
+    BermudanCashFlows cashFlows = BermudanCashFlows.of(swaption, ratesProvider, true);
+    List<LocalDate> keyDates = new ArrayList<>(cashFlows.dates());
+    DiscountFactors discountFactors = ratesProvider.discountFactors(swaption.getCurrency());
+    HullWhiteTrinomialTree tree = HullWhiteTrinomialTree.of(hwProvider, discountFactors, keyDates, minimumSteps);
+    ValueDerivatives pv = cashFlows.presentValueAdjoint(tree, keyIndices(keyDates));
+    DoubleArray derivatives = pv.getDerivatives();
+    PointSensitivityBuilder point = PointSensitivityBuilder.none();
+    for (int k = 0; k < keyDates.size(); k++) {
+      if (derivatives.get(k) != 0d) {
+        point = point.combinedWith(discountFactors.zeroRatePointSensitivity(keyDates.get(k)).multipliedBy(derivatives.get(k)));
+      }
+    }
+    int nbKeys = keyDates.size();
+    for (int f = 0; f < cashFlows.flowSensitivities.size(); f++) {
+      PointSensitivityBuilder flowSensitivity = cashFlows.flowSensitivities.get(f);
+      if (!flowSensitivity.equals(PointSensitivityBuilder.none())) {
+        point = point.combinedWith(flowSensitivity.multipliedBy(derivatives.get(nbKeys + f)));
+      }
+    }
+    return swaption.getLongShort().isLong() ? point : point.multipliedBy(-1d);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value sensitivity to piecewise constant volatility parameters of the Hull-White model.
+   *
+   * @param swaption  the product
+   * @param ratesProvider  the rates provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the present value Hull-White model parameter sensitivity of the swaption product
+   */
+  public DoubleArray presentValueSensitivityModelParamsHullWhite(
+      ResolvedSwaption swaption,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    validate(swaption, ratesProvider, hwProvider);
+    if (isExpired(swaption, ratesProvider)) {
+      return DoubleArray.EMPTY;
+    }
+    BermudanCashFlows cashFlows = BermudanCashFlows.of(swaption, ratesProvider, false);
+    List<LocalDate> keyDates = new ArrayList<>(cashFlows.dates());
+    HullWhiteTrinomialTree tree = HullWhiteTrinomialTree.of(
+        hwProvider, ratesProvider.discountFactors(swaption.getCurrency()), keyDates, minimumSteps);
+    DoubleArray derivatives = cashFlows.presentValueAdjoint(tree, keyIndices(keyDates)).getDerivatives();
+    int nbVols = hwProvider.getParameters().getVolatility().size();
+    DoubleArray sensi = derivatives.subArray(derivatives.size() - nbVols);
+    return swaption.getLongShort().isLong() ? sensi : sensi.multipliedBy(-1d);
+  }
+
+  //-------------------------------------------------------------------------
+  // validate that the rates and volatilities providers are coherent
+  private void validate(
+      ResolvedSwaption swaption,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    ArgChecker.isTrue(hwProvider.getValuationDateTime().toLocalDate().equals(ratesProvider.getValuationDate()),
+        "Hull-White model data and rate data should be for the same date");
+    ArgChecker.isFalse(swaption.getUnderlying().isCrossCurrency(), "underlying swap should be single currency");
+    ArgChecker.isTrue(swaption.getSwaptionSettlement().getSettlementType().equals(SettlementType.PHYSICAL),
+        "swaption should be physical settlement");
+    ArgChecker.isFalse(swaption.getExerciseInfo().isAmerican(), "swaption should not be American");
+  }
+
+  // checks if the swaption has expired
+  private static boolean isExpired(ResolvedSwaption swaption, RatesProvider ratesProvider) {
+    return swaption.getExpiryDate().isBefore(ratesProvider.getValuationDate());
+  }
+
+  // the index of each key date
+  private static Map<LocalDate, Integer> keyIndices(List<LocalDate> keyDates) {
+    Map<LocalDate, Integer> indices = new HashMap<>();
+    for (int k = 0; k < keyDates.size(); k++) {
+      indices.put(keyDates.get(k), k);
+    }
+    return indices;
+  }
+
+  //-------------------------------------------------------------------------
+  // the exercise dates and cash flow equivalents of the underlying swaps
+  private static final class BermudanCashFlows {
+    private final List<LocalDate> exerciseDates;
+    private final List<Payment> flows;
+    private final List<PointSensitivityBuilder> flowSensitivities;
+    private final int[] flowGroups;
+
+    private BermudanCashFlows(
+        List<LocalDate> exerciseDates,
+        List<Payment> flows,
+        List<PointSensitivityBuilder> flowSensitivities,
+        int[] flowGroups) {
+
+      this.exerciseDates = exerciseDates;
+      this.flows = flows;
+      this.flowSensitivities = flowSensitivities;
+      this.flowGroups = flowGroups;
+    }
+
+    // splits the underlying swap by exercise, the group of a cash flow being the last exercise giving access to it
+    private static BermudanCashFlows of(ResolvedSwaption swaption, RatesProvider ratesProvider, boolean sensitivity) {
+      LocalDate valuationDate = ratesProvider.getValuationDate();
+      List<SwaptionExerciseDate> exercises = new ArrayList<>();
+      for (SwaptionExerciseDate exercise : swaption.getExerciseInfo().getDates()) {
+        if (!exercise.getExerciseDate().isBefore(valuationDate)) {
+          exercises.add(exercise);
+        }
+      }
+      List<LocalDate> exerciseDates = new ArrayList<>();
+      List<Payment> flows = new ArrayList<>();
+      List<PointSensitivityBuilder> flowSensitivities = new ArrayList<>();
+      List<Integer> groups = new ArrayList<>();
+      ResolvedSwap swap = swaption.getUnderlying();
+      for (int e = 0; e < exercises.size(); e++) {
+        LocalDate sliceStart = exercises.get(e).getSwapStartDate();
+        LocalDate sliceEnd = e + 1 < exercises.size() ? exercises.get(e + 1).getSwapStartDate() : LocalDate.MAX;
+        List<ResolvedSwapLeg> sliceLegs = new ArrayList<>();
+        for (ResolvedSwapLeg leg : swap.getLegs()) {
+          List<SwapPaymentPeriod> periods = new ArrayList<>();
+          for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
+            if (!period.getStartDate().isBefore(sliceStart) && period.getStartDate().isBefore(sliceEnd)) {
+              periods.add(period);
+            }
+          }
+          if (!periods.isEmpty()) {
+            sliceLegs.add(leg.toBuilder().paymentPeriods(periods).build());
+          }
+        }
+        exerciseDates.add(exercises.get(e).getExerciseDate());
+        if (sliceLegs.isEmpty()) {
+          continue;
+        }
+        ResolvedSwap slice = ResolvedSwap.builder().legs(sliceLegs).build();
+        if (sensitivity) {
+          Map<Payment, PointSensitivityBuilder> equivalent =
+              CashFlowEquivalentCalculator.cashFlowEquivalentAndSensitivitySwap(slice, ratesProvider);
+          for (Map.Entry<Payment, PointSensitivityBuilder> entry : equivalent.entrySet()) {
+            flows.add(entry.getKey());
+            flowSensitivities.add(entry.getValue());
+            groups.add(e);
+          }
+        } else {
+          ResolvedSwapLeg equivalent = CashFlowEquivalentCalculator.cashFlowEquivalentSwap(slice, ratesProvider);
+          for (SwapPaymentEvent event : equivalent.getPaymentEvents()) {
+            flows.add(((NotionalExchange) event).getPayment());
+            groups.add(e);
+          }
+        }
+      }
+      return new BermudanCashFlows(
+          exerciseDates, flows, flowSensitivities, groups.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // the exercise and payment dates
+    private TreeSet<LocalDate> dates() {
+      TreeSet<LocalDate> dates = new TreeSet<>(exerciseDates);
+      for (Payment flow : flows) {
+        dates.add(flow.getDate());
+      }
+      return dates;
+    }
+
+    private double presentValue(HullWhiteTrinomialTree tree, Map<LocalDate, Integer> keys) {
+      return tree.presentValue(exerciseKeys(keys), new double[exerciseDates.size()], flowKeys(keys), flowAmounts(), flowGroups);
+    }
+
+    private ValueDerivatives presentValueAdjoint(HullWhiteTrinomialTree tree, Map<LocalDate, Integer> keys) {
+      return tree.presentValueAdjoint(
+          exerciseKeys(keys), new double[exerciseDates.size()], flowKeys(keys), flowAmounts(), flowGroups);
+    }
+
+    private int[] exerciseKeys(Map<LocalDate, Integer> keys) {
+      return exerciseDates.stream().mapToInt(date -> keys.get(date)).toArray();
+    }
+
+    private int[] flowKeys(Map<LocalDate, Integer> keys) {
+      return flows.stream().mapToInt(flow -> keys.get(flow.getDate())).toArray();
+    }
+
+    private double[] flowAmounts() {
+      return flows.stream().mapToDouble(Payment::getAmount).toArray();
+    }
+  }
+
+}
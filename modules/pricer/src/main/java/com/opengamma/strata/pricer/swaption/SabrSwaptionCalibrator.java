@@ -12,6 +12,9 @@ import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import com.opengamma.strata.basics.ReferenceData;
@@ -188,79 +191,156 @@ public final class SabrSwaptionCalibrator {
       Surface shiftSurface,
       boolean stopOnMathException) {
 
-    SwaptionVolatilitiesName name = definition.getName();
+    List<NodeCalibration> nodes = new ArrayList<>();
+    for (Tenor tenor : data.getTenors()) {
+      nodes.addAll(calibrateTenor(
+          definition, calibrationDateTime, tenor, data.getData(tenor), ratesProvider,
+          betaSurface, shiftSurface, stopOnMathException, false));
+    }
+    return volatilities(definition, calibrationDateTime, betaSurface, shiftSurface, nodes);
+  }
+
+  /**
+   * Calibrate SABR parameters to a set of raw swaption data, calibrating the tenors in parallel.
+   * <p>
+   * The SABR parameters are calibrated with fixed beta and fixed shift surfaces.
+   * The raw data can be (shifted) log-normal volatilities, normal volatilities or option prices
+   * <p>
+   * The tenors are independent of each other and are calibrated as separate tasks on the supplied executor.
+   * Within a tenor, the expiries are calibrated in order and each fit is first started from the parameters
+   * of the previous expiry. If that fit does not match the data within one unit of error per strike on average,
+   * the standard starting points are tried as well and the best fit is retained.
+   * <p>
+   * The result contains the calibrated parameters and the sensitivities of the parameters to the raw data,
+   * as used by {@link SabrSwaptionRawDataSensitivityCalculator}.
+   * The calling thread waits for all the tasks to complete.
+   * 
+   * @param definition  the definition of the calibration to be performed
+   * @param calibrationDateTime  the data and time of the calibration
+   * @param data  the map of raw option data, keyed by tenor
+   * @param ratesProvider  the rate provider used to compute the swap forward rates
+   * @param betaSurface  the beta surface
+   * @param shiftSurface  the shift surface
+   * @param stopOnMathException  flag indicating if the calibration should stop on math exceptions or skip the 
+   *   expiries/tenors which throw MathException
+   * @param executor  the executor used to run the calibration tasks
+   * @return the SABR volatility object
+   */
+  public SabrParametersSwaptionVolatilities calibrateWithFixedBetaAndShift(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      Executor executor) {
+
+    ArgChecker.notNull(executor, "executor");
+    List<CompletableFuture<List<NodeCalibration>>> futures = new ArrayList<>();
+    for (Tenor tenor : data.getTenors()) {
+      RawOptionData tenorData = data.getData(tenor);
+      futures.add(CompletableFuture.supplyAsync(
+          () -> calibrateTenor(
+              definition, calibrationDateTime, tenor, tenorData, ratesProvider,
+              betaSurface, shiftSurface, stopOnMathException, true),
+          executor));
+    }
+    List<NodeCalibration> nodes = new ArrayList<>();
+    for (CompletableFuture<List<NodeCalibration>> future : futures) {
+      try {
+        nodes.addAll(future.join());
+      } catch (CompletionException ex) {
+        if (ex.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) ex.getCause();
+        }
+        throw ex;
+      }
+    }
+    return volatilities(definition, calibrationDateTime, betaSurface, shiftSurface, nodes);
+  }
+
+  // Calibrates all the expiries of one tenor, in the order of the raw data.
+  // If seeded, the calibration at each expiry is started from the result of the previous expiry.
+  private List<NodeCalibration> calibrateTenor(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      Tenor tenor,
+      RawOptionData tenorData,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      boolean seeded) {
+
     FixedFloatSwapConvention convention = definition.getConvention();
     DayCount dayCount = definition.getDayCount();
-    SurfaceInterpolator interpolator = definition.getInterpolator();
-
     BitSet fixed = new BitSet();
     fixed.set(1); // Beta fixed
     BusinessDayAdjustment bda = convention.getFloatingLeg().getStartDateBusinessDayAdjustment();
     LocalDate calibrationDate = calibrationDateTime.toLocalDate();
-    // Sorted maps to obtain the surfaces nodes in standard order
-    TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityRhoTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityNuTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, SabrFormulaData>> sabrPointTmp = new TreeMap<>();
-    for (Tenor tenor : data.getTenors()) {
-      RawOptionData tenorData = data.getData(tenor);
-      double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
-      List<Period> expiries = tenorData.getExpiries();
-      for (Period expiry : expiries) {
-        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiry);
-        if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
-          continue;
-        }
-        LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiry);
-        LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
-        double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
-        double beta = betaSurface.zValue(timeToExpiry, timeTenor);
-        double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
-        LocalDate endDate = effectiveDate.plus(tenor);
-        SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
-        double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
-        SabrFormulaData sabrPoint = null;
-        DoubleMatrix inverseJacobian = null;
-        boolean error = false;
-        try {
-          Pair<SabrFormulaData, DoubleMatrix> calibrationResult =
-              calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
-                  availableSmile.getFirst(), availableSmile.getSecond(), expiry, tenorData);
-          sabrPoint = calibrationResult.getFirst();
-          inverseJacobian = calibrationResult.getSecond();
-        } catch (MathException e) {
-          error = true;
-          if (stopOnMathException) {
-            String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
-                expiry, tenor);
-            throw new MathException(message, e);
-          }
-        }
-        if (!error) {
-          if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
-            parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
-            sabrPointTmp.put(timeToExpiry, new TreeMap<>());
-          }
-          TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-          TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-          parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
-              timeToExpiry,
-              timeTenor,
-              expiry.toString() + "x" + tenor));
-          dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
-          dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
-          dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
-          sabrPointExpiryMap.put(timeTenor, sabrPoint);
+    double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
+    List<NodeCalibration> nodes = new ArrayList<>();
+    NodeCalibration previous = null;
+    for (Period expiry : tenorData.getExpiries()) {
+      Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiry);
+      if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
+        continue;
+      }
+      LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiry);
+      LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
+      double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
+      double beta = betaSurface.zValue(timeToExpiry, timeTenor);
+      double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
+      LocalDate endDate = effectiveDate.plus(tenor);
+      SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
+      double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
+      DoubleArray seed = null;
+      if (seeded && previous != null) {
+        // Alpha rescaled to keep the approximate at-the-money volatility of the previous expiry
+        double alphaSeed = previous.sabrPoint.getAlpha() *
+            Math.pow(previous.forward + previous.shift, 1 - previous.sabrPoint.getBeta()) /
+            Math.pow(forward + shift, 1 - beta);
+        seed = DoubleArray.of(alphaSeed, beta, previous.sabrPoint.getRho(), previous.sabrPoint.getNu());
+      }
+      try {
+        Pair<SabrFormulaData, DoubleMatrix> calibrationResult =
+            calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
+                availableSmile.getFirst(), availableSmile.getSecond(), expiry, tenorData, seed);
+        ParameterMetadata metadata = SwaptionSurfaceExpiryTenorParameterMetadata.of(
+            timeToExpiry,
+            timeTenor,
+            expiry.toString() + "x" + tenor);
+        previous = new NodeCalibration(
+            timeToExpiry, timeTenor, metadata, forward, shift, calibrationResult.getFirst(), calibrationResult.getSecond());
+        nodes.add(previous);
+      } catch (MathException e) {
+        if (stopOnMathException) {
+          String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
+              expiry, tenor);
+          throw new MathException(message, e);
         }
       }
     }
+    return nodes;
+  }
+
+  // Creates the volatilities from the calibrated nodes, sorted by expiry and then tenor
+  private SabrParametersSwaptionVolatilities volatilities(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      Surface betaSurface,
+      Surface shiftSurface,
+      List<NodeCalibration> nodes) {
+
+    SwaptionVolatilitiesName name = definition.getName();
+    DayCount dayCount = definition.getDayCount();
+    SurfaceInterpolator interpolator = definition.getInterpolator();
+    // Sorted maps to obtain the surfaces nodes in standard order
+    TreeMap<Double, TreeMap<Double, NodeCalibration>> nodesTmp = new TreeMap<>();
+    for (NodeCalibration node : nodes) {
+      nodesTmp.computeIfAbsent(node.timeToExpiry, t -> new TreeMap<>()).put(node.timeTenor, node);
+    }
     DoubleArray timeToExpiryArray = DoubleArray.EMPTY;
     DoubleArray timeTenorArray = DoubleArray.EMPTY;
     DoubleArray alphaArray = DoubleArray.EMPTY;
@@ -270,23 +350,17 @@ public final class SabrSwaptionCalibrator {
     List<DoubleArray> dataSensitivityAlpha = new ArrayList<>(); // Sensitivity to the calibrating data
     List<DoubleArray> dataSensitivityRho = new ArrayList<>();
     List<DoubleArray> dataSensitivityNu = new ArrayList<>();
-    for (Double timeToExpiry : parameterMetadataTmp.keySet()) {
-      TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-      TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-      TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-      TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-      TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-      for (Double timeTenor : parameterMetadataExpiryMap.keySet()) {
-        parameterMetadata.add(parameterMetadataExpiryMap.get(timeTenor));
-        dataSensitivityAlpha.add(dataSensitivityAlphaExpiryMap.get(timeTenor));
-        dataSensitivityRho.add(dataSensitivityRhoExpiryMap.get(timeTenor));
-        dataSensitivityNu.add(dataSensitivityNuExpiryMap.get(timeTenor));
-        timeToExpiryArray = timeToExpiryArray.concat(timeToExpiry);
-        timeTenorArray = timeTenorArray.concat(timeTenor);
-        SabrFormulaData sabrPt = sabrPointExpiryMap.get(timeTenor);
-        alphaArray = alphaArray.concat(sabrPt.getAlpha());
-        rhoArray = rhoArray.concat(sabrPt.getRho());
-        nuArray = nuArray.concat(sabrPt.getNu());
+    for (TreeMap<Double, NodeCalibration> nodesExpiryMap : nodesTmp.values()) {
+      for (NodeCalibration node : nodesExpiryMap.values()) {
+        parameterMetadata.add(node.metadata);
+        dataSensitivityAlpha.add(node.inverseJacobian.row(0));
+        dataSensitivityRho.add(node.inverseJacobian.row(2));
+        dataSensitivityNu.add(node.inverseJacobian.row(3));
+        timeToExpiryArray = timeToExpiryArray.concat(node.timeToExpiry);
+        timeTenorArray = timeTenorArray.concat(node.timeTenor);
+        alphaArray = alphaArray.concat(node.sabrPoint.getAlpha());
+        rhoArray = rhoArray.concat(node.sabrPoint.getRho());
+        nuArray = nuArray.concat(node.sabrPoint.getNu());
       }
     }
     SurfaceMetadata metadataAlpha = Surfaces.sabrParameterByExpiryTenor(
@@ -308,7 +382,7 @@ public final class SabrSwaptionCalibrator {
         alphaSurface, betaSurface, rhoSurface, nuSurface, shiftSurface, sabrVolatilityFormula);
     return SabrParametersSwaptionVolatilities.builder()
         .name(name)
-        .convention(convention)
+        .convention(definition.getConvention())
         .valuationDateTime(calibrationDateTime)
         .parameters(params)
         .dataSensitivityAlpha(dataSensitivityAlpha)
@@ -318,6 +392,8 @@ public final class SabrSwaptionCalibrator {
 
   // The main part of the calibration. The calibration is done 4 times with different starting points: low and high
   // volatilities and high and low vol of vol. The best result (in term of chi^2) is returned.
+  // If a seed is provided, the calibration is first started from the seed and the 4 starting points are only
+  // used if this fails or if the chi^2 is above one per strike, i.e. if the average error exceeds the data error.
   private Pair<SabrFormulaData, DoubleMatrix> calibration(
       double forward,
       double shift,
@@ -329,47 +405,41 @@ public final class SabrSwaptionCalibrator {
       DoubleArray strike,
       DoubleArray data,
       Period expiry,
-      RawOptionData rawData) {
-
-    double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
-    // Correlation is usually positive for normal and negative for log-normal;.
-    double[] alphaStart = new double[4];
-    alphaStart[0] = 0.0025 / Math.pow(forward + shift, beta); // Low vol
-    alphaStart[1] = alphaStart[0];
-    alphaStart[2] = 4 * alphaStart[0]; // High vol
-    alphaStart[3] = alphaStart[2];
-    double[] nuStart = new double[4];
-    nuStart[0] = 0.10; // Low vol of vol
-    nuStart[1] = 0.50; // High vol of vol
-    nuStart[2] = 0.10;
-    nuStart[3] = 0.50;
+      RawOptionData rawData,
+      DoubleArray seed) {
+
     double chi2 = 1.0E+12; // Large number
     Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
-    for (int i = 0; i < 4; i++) { // Try different starting points and take the best
-      DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
-      Pair<LeastSquareResultsWithTransform, DoubleArray> r;
-      if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
-        r = calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
-            expiry, forward, strike, rawData.getStrikeType(),
-            data, startParameters, fixed, shift);
-      } else {
-        if (rawData.getDataType().equals(ValueType.PRICE)) {
-          r = calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
-              expiry, forward, strike, rawData.getStrikeType(),
-              data, startParameters, fixed, shift);
-        } else {
-          if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
-            r = calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
-                expiry, forward, strike, rawData.getStrikeType(),
-                data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
-          } else {
-            throw new IllegalArgumentException("Data type not supported");
-          }
-        }
+    if (seed != null) {
+      try {
+        sabrCalibrationResult = calibrationLs(
+            forward, shift, fixed, bda, calibrationDateTime, dayCount, strike, data, expiry, rawData, seed);
+        chi2 = sabrCalibrationResult.getFirst().getChiSq();
+      } catch (MathException e) {
+        // the standard starting points are used
       }
-      if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
-        sabrCalibrationResult = r;
-        chi2 = r.getFirst().getChiSq();
+    }
+    if (sabrCalibrationResult == null || !(chi2 <= strike.size())) {
+      double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
+      // Correlation is usually positive for normal and negative for log-normal;.
+      double[] alphaStart = new double[4];
+      alphaStart[0] = 0.0025 / Math.pow(forward + shift, beta); // Low vol
+      alphaStart[1] = alphaStart[0];
+      alphaStart[2] = 4 * alphaStart[0]; // High vol
+      alphaStart[3] = alphaStart[2];
+      double[] nuStart = new double[4];
+      nuStart[0] = 0.10; // Low vol of vol
+      nuStart[1] = 0.50; // High vol of vol
+      nuStart[2] = 0.10;
+      nuStart[3] = 0.50;
+      for (int i = 0; i < 4; i++) { // Try different starting points and take the best
+        DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
+        Pair<LeastSquareResultsWithTransform, DoubleArray> r = calibrationLs(
+            forward, shift, fixed, bda, calibrationDateTime, dayCount, strike, data, expiry, rawData, startParameters);
+        if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
+          sabrCalibrationResult = r;
+          chi2 = r.getFirst().getChiSq();
+        }
       }
     }
     @SuppressWarnings("null")
@@ -390,6 +460,38 @@ public final class SabrSwaptionCalibrator {
     return Pair.of(sabrParameters, parameterSensitivityToData);
   }
 
+  // Least square calibration from one starting point, based on the raw data type
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> calibrationLs(
+      double forward,
+      double shift,
+      BitSet fixed,
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      DoubleArray strike,
+      DoubleArray data,
+      Period expiry,
+      RawOptionData rawData,
+      DoubleArray startParameters) {
+
+    if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
+      return calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.PRICE)) {
+      return calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
+      return calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
+    }
+    throw new IllegalArgumentException("Data type not supported");
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calibrate SABR alpha parameters to a set of ATM swaption volatilities.
@@ -897,4 +999,34 @@ public final class SabrSwaptionCalibrator {
     return bda.adjust(calibrationDate.plus(expiry), refData);
   }
 
+  //-------------------------------------------------------------------------
+  // The result of the calibration at one expiry/tenor node
+  private static final class NodeCalibration {
+    private final double timeToExpiry;
+    private final double timeTenor;
+    private final ParameterMetadata metadata;
+    private final double forward;
+    private final double shift;
+    private final SabrFormulaData sabrPoint;
+    private final DoubleMatrix inverseJacobian;
+
+    private NodeCalibration(
+        double timeToExpiry,
+        double timeTenor,
+        ParameterMetadata metadata,
+        double forward,
+        double shift,
+        SabrFormulaData sabrPoint,
+        DoubleMatrix inverseJacobian) {
+
+      this.timeToExpiry = timeToExpiry;
+      this.timeTenor = timeTenor;
+      this.metadata = metadata;
+      this.forward = forward;
+      this.shift = shift;
+      this.sabrPoint = sabrPoint;
+      this.inverseJacobian = inverseJacobian;
+    }
+  }
+
 }
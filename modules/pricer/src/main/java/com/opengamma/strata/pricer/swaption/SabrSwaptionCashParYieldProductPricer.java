@@ -134,11 +134,11 @@ public class SabrSwaptionCashParYieldProductPricer
       return PointSensitivityBuilder.none();
     }
     double forward = forwardRate(swaption, ratesProvider);
-    double volatility = swaptionVolatilities.volatility(expiry, tenor, strike, forward);
     double numeraire = calculateNumeraire(swaption, fixedLeg, forward, ratesProvider);
-    DoubleArray derivative = swaptionVolatilities.volatilityAdjoint(expiry, tenor, strike, forward).getDerivatives();
+    ValueDerivatives volatilityAdj = swaptionVolatilities.volatilityAdjoint(expiry, tenor, strike, forward);
+    DoubleArray derivative = volatilityAdj.getDerivatives();
     double vega = numeraire * swaption.getLongShort().sign() *
-        BlackFormulaRepository.vega(forward + shift, strike + shift, expiry, volatility);
+        BlackFormulaRepository.vega(forward + shift, strike + shift, expiry, volatilityAdj.getValue());
     // sensitivities
     Currency ccy = fixedLeg.getCurrency();
     SwaptionVolatilitiesName name = swaptionVolatilities.getName();
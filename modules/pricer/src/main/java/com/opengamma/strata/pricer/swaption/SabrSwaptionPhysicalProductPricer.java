@@ -129,11 +129,10 @@ public class SabrSwaptionPhysicalProductPricer
       return PointSensitivityBuilder.none();
     }
     double forward = forwardRate(swaption, ratesProvider);
-    double volatility = swaptionVolatilities.volatility(expiry, tenor, strike, forward);
-    DoubleArray derivative =
-        swaptionVolatilities.volatilityAdjoint(expiry, tenor, strike, forward).getDerivatives();
+    ValueDerivatives volatilityAdj = swaptionVolatilities.volatilityAdjoint(expiry, tenor, strike, forward);
+    DoubleArray derivative = volatilityAdj.getDerivatives();
     // Backward sweep
-    double vega = Math.abs(pvbp) * BlackFormulaRepository.vega(forward + shift, strike + shift, expiry, volatility) *
+    double vega = Math.abs(pvbp) * BlackFormulaRepository.vega(forward + shift, strike + shift, expiry, volatilityAdj.getValue()) *
         swaption.getLongShort().sign();
     // sensitivities
     Currency ccy = fixedLeg.getCurrency();
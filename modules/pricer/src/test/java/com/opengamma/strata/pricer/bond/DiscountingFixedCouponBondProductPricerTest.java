@@ -17,6 +17,8 @@ import static com.opengamma.strata.pricer.CompoundedRateType.CONTINUOUS;
 import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.assertj.core.api.Assertions.offset;
 
 import java.time.LocalDate;
@@ -349,6 +351,35 @@ public class DiscountingFixedCouponBondProductPricerTest {
     assertThat(computed).isCloseTo(Z_SPREAD, offset(TOL));
   }
 
+  @Test
+  public void test_zSpreadFromCurvesAndPV_frequencyNotAnnualisable() {
+    // the number of events per year cannot be calculated for P5M, which is only needed by the yield methods
+    ResolvedFixedCouponBond product = FixedCouponBond.builder()
+        .securityId(SECURITY_ID)
+        .dayCount(DAY_COUNT)
+        .fixedRate(FIXED_RATE)
+        .legalEntityId(ISSUER_ID)
+        .currency(EUR)
+        .notional(NOTIONAL)
+        .accrualSchedule(PeriodicSchedule.of(
+            START_DATE, END_DATE, Frequency.ofMonths(5), BUSINESS_ADJUST, StubConvention.SHORT_INITIAL, false))
+        .settlementDateOffset(DATE_OFFSET)
+        .yieldConvention(YIELD_CONVENTION)
+        .build()
+        .resolve(REF_DATA);
+    double dirtyPrice = PRICER.dirtyPriceFromCurvesWithZSpread(
+        product, PROVIDER, REF_DATA, Z_SPREAD, CONTINUOUS, 0);
+    double computed = PRICER.zSpreadFromCurvesAndDirtyPrice(
+        product, PROVIDER, REF_DATA, dirtyPrice, CONTINUOUS, 0);
+    assertThat(computed).isCloseTo(Z_SPREAD, offset(TOL));
+    LocalDate settlement = product.getSettlementDateOffset().adjust(VAL_DATE, REF_DATA);
+    FixedCouponBondCashFlowKernel kernel = PRICER.cashFlowKernel(product, PROVIDER, settlement);
+    assertThat(kernel.dirtyPriceFromZSpread(Z_SPREAD, PERIODIC, PERIOD_PER_YEAR))
+        .isCloseTo(PRICER.dirtyPriceFromCurvesWithZSpread(product, PROVIDER, REF_DATA, Z_SPREAD, PERIODIC, PERIOD_PER_YEAR),
+            offset(TOL));
+    assertThatIllegalArgumentException().isThrownBy(() -> kernel.dirtyPriceFromYield(0.02));
+  }
+
   //-------------------------------------------------------------------------
   @Test
   public void test_presentValueSensitivity() {
@@ -1007,4 +1038,84 @@ public class DiscountingFixedCouponBondProductPricerTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_cashFlowKernel_yield() {
+    List<ResolvedFixedCouponBond> bonds = ImmutableList.of(
+        PRODUCT_US, PRODUCT_US, PRODUCT_UK, PRODUCT_UK, PRODUCT_GER, PRODUCT_GER, PRODUCT_JP, PRODUCT_JP);
+    List<LocalDate> settlements = ImmutableList.of(
+        SETTLEMENT_US, SETTLEMENT_LAST_US, SETTLEMENT_UK, SETTLEMENT_LAST_UK,
+        SETTLEMENT_GER, SETTLEMENT_LAST_GER, SETTLEMENT_JP, SETTLEMENT_LAST_JP);
+    double[] yields = {YIELD_US, YIELD_US, YIELD_UK, YIELD_UK, YIELD_GER, YIELD_GER, YIELD_JP, YIELD_JP};
+    for (int i = 0; i < bonds.size(); i++) {
+      ResolvedFixedCouponBond bond = bonds.get(i);
+      LocalDate settlement = settlements.get(i);
+      FixedCouponBondCashFlowKernel kernel = PRICER.cashFlowKernel(bond, settlement);
+      assertThat(kernel.getSettlementDate()).isEqualTo(settlement);
+      double dirtyPrice = kernel.dirtyPriceFromYield(yields[i]);
+      assertThat(dirtyPrice).isCloseTo(PRICER.dirtyPriceFromYield(bond, settlement, yields[i]), offset(TOL));
+      assertThat(kernel.dirtyPriceFromYieldDerivative(yields[i]))
+          .isCloseTo(PRICER.dirtyPriceFromYieldAd(bond, settlement, yields[i]).getDerivative(0), offset(TOL));
+      assertThat(kernel.yieldFromDirtyPrice(dirtyPrice)).isCloseTo(yields[i], offset(TOL));
+    }
+    FixedCouponBondCashFlowKernel ended = PRICER.cashFlowKernel(PRODUCT_JP, SETTLEMENT_ENDED_JP);
+    assertThat(ended.dirtyPriceFromYield(YIELD_JP)).isEqualTo(0d);
+  }
+
+  @Test
+  public void test_cashFlowKernel_zSpread() {
+    LocalDate settlement = PRODUCT.getSettlementDateOffset().adjust(VAL_DATE, REF_DATA);
+    FixedCouponBondCashFlowKernel kernel = PRICER.cashFlowKernel(PRODUCT, PROVIDER, settlement);
+    double dirtyPriceContinuous = PRICER.dirtyPriceFromCurvesWithZSpread(PRODUCT, PROVIDER, REF_DATA, Z_SPREAD, CONTINUOUS, 0);
+    assertThat(kernel.dirtyPriceFromZSpread(Z_SPREAD, CONTINUOUS, 0)).isCloseTo(dirtyPriceContinuous, offset(TOL));
+    assertThat(kernel.zSpreadFromDirtyPrice(dirtyPriceContinuous, CONTINUOUS, 0)).isCloseTo(Z_SPREAD, offset(TOL));
+    double dirtyPricePeriodic =
+        PRICER.dirtyPriceFromCurvesWithZSpread(PRODUCT, PROVIDER, REF_DATA, Z_SPREAD, PERIODIC, PERIOD_PER_YEAR);
+    assertThat(kernel.dirtyPriceFromZSpread(Z_SPREAD, PERIODIC, PERIOD_PER_YEAR)).isCloseTo(dirtyPricePeriodic, offset(TOL));
+    assertThat(kernel.zSpreadFromDirtyPrice(dirtyPricePeriodic, PERIODIC, PERIOD_PER_YEAR)).isCloseTo(Z_SPREAD, offset(TOL));
+  }
+
+  @Test
+  public void test_cashFlowKernel_noCurves() {
+    FixedCouponBondCashFlowKernel kernel = PRICER.cashFlowKernel(PRODUCT, VAL_DATE);
+    assertThatIllegalStateException().isThrownBy(() -> kernel.dirtyPriceFromZSpread(Z_SPREAD, CONTINUOUS, 0));
+    assertThatIllegalStateException().isThrownBy(() -> kernel.zSpreadFromDirtyPrice(1d, CONTINUOUS, 0));
+  }
+
+  @Test
+  public void test_batch() {
+    List<ResolvedFixedCouponBond> bonds = ImmutableList.of(PRODUCT_US, PRODUCT_UK, PRODUCT_GER, PRODUCT_JP);
+    List<LocalDate> settlements = ImmutableList.of(SETTLEMENT_US, SETTLEMENT_LAST_UK, SETTLEMENT_GER, SETTLEMENT_JP);
+    double[] yields = {YIELD_US, YIELD_UK, YIELD_GER, YIELD_JP};
+    double[] dirtyPrices = new double[4];
+    PRICER.dirtyPriceFromYield(bonds, settlements, yields, dirtyPrices);
+    double[] computedYields = new double[4];
+    PRICER.yieldFromDirtyPrice(bonds, settlements, dirtyPrices, computedYields);
+    for (int i = 0; i < bonds.size(); i++) {
+      assertThat(dirtyPrices[i]).isCloseTo(
+          PRICER.dirtyPriceFromYield(bonds.get(i), settlements.get(i), yields[i]), offset(TOL));
+      assertThat(computedYields[i]).isEqualTo(PRICER.yieldFromDirtyPrice(bonds.get(i), settlements.get(i), dirtyPrices[i]));
+    }
+    List<ResolvedFixedCouponBond> zBonds = ImmutableList.of(PRODUCT, PRODUCT_NO_EXCOUPON);
+    double[] zDirtyPrices = {
+        PRICER.dirtyPriceFromCurvesWithZSpread(PRODUCT, PROVIDER, REF_DATA, Z_SPREAD, PERIODIC, PERIOD_PER_YEAR),
+        PRICER.dirtyPriceFromCurvesWithZSpread(PRODUCT_NO_EXCOUPON, PROVIDER, REF_DATA, Z_SPREAD, PERIODIC, PERIOD_PER_YEAR)};
+    double[] zSpreads = new double[2];
+    PRICER.zSpreadFromCurvesAndDirtyPrice(zBonds, PROVIDER, REF_DATA, zDirtyPrices, PERIODIC, PERIOD_PER_YEAR, zSpreads);
+    assertThat(zSpreads[0]).isCloseTo(Z_SPREAD, offset(TOL));
+    assertThat(zSpreads[1]).isCloseTo(Z_SPREAD, offset(TOL));
+  }
+
+  @Test
+  public void test_batch_invalid() {
+    List<ResolvedFixedCouponBond> bonds = ImmutableList.of(PRODUCT_US, PRODUCT_UK);
+    List<LocalDate> settlements = ImmutableList.of(SETTLEMENT_US, SETTLEMENT_UK);
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> PRICER.dirtyPriceFromYield(bonds, settlements, new double[1], new double[2]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> PRICER.yieldFromDirtyPrice(bonds, settlements, new double[2], new double[1]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> PRICER.dirtyPriceFromYield(bonds, settlements.subList(0, 1), new double[2], new double[2]));
+  }
+
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.BusinessDayConventions;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.StubConvention;
+import com.opengamma.strata.collect.DoubleArrayMath;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.LegalEntityGroup;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.sensitivity.RatesFiniteDifferenceSensitivityCalculator;
+import com.opengamma.strata.product.LegalEntityId;
+import com.opengamma.strata.product.SecurityId;
+import com.opengamma.strata.product.bond.FixedCouponBond;
+import com.opengamma.strata.product.bond.FixedCouponBondYieldConvention;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * Test {@link HullWhiteTrinomialTreeCallableFixedCouponBondProductPricer}.
+ */
+public class HullWhiteTrinomialTreeCallableFixedCouponBondProductPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LegalEntityId ISSUER_ID = LegalEntityId.of("OG-Ticker", "CORP1");
+  private static final LocalDate VAL_DATE = date(2016, 4, 25);
+  private static final double NOTIONAL = 1.0e7;
+  private static final BusinessDayAdjustment BUSINESS_ADJUST =
+      BusinessDayAdjustment.of(BusinessDayConventions.MODIFIED_FOLLOWING, HolidayCalendarIds.EUTA);
+  private static final ResolvedFixedCouponBond BOND = FixedCouponBond.builder()
+      .securityId(SecurityId.of("OG-Ticker", "CORP1-BOND1"))
+      .dayCount(ACT_365F)
+      .fixedRate(0.045)
+      .legalEntityId(ISSUER_ID)
+      .currency(EUR)
+      .notional(NOTIONAL)
+      .accrualSchedule(PeriodicSchedule.of(
+          date(2015, 4, 12), date(2025, 4, 12), Frequency.P12M, BUSINESS_ADJUST, StubConvention.SHORT_INITIAL, false))
+      .settlementDateOffset(DaysAdjustment.ofBusinessDays(3, HolidayCalendarIds.EUTA))
+      .yieldConvention(FixedCouponBondYieldConvention.DE_BONDS)
+      .build()
+      .resolve(REF_DATA);
+  private static final ImmutableList<LocalDate> CALL_DATES = ImmutableList.of(
+      date(2019, 4, 12), date(2020, 4, 14), date(2021, 4, 12), date(2022, 4, 12), date(2023, 4, 12), date(2024, 4, 12));
+  private static final DoubleArray CALL_PRICES = DoubleArray.of(1.02, 1.015, 1.01, 1.005, 1.0, 1.0);
+
+  private static final InterpolatedNodalCurve CURVE_ISSUER = InterpolatedNodalCurve.of(
+      Curves.zeroRates(CurveName.of("TestIssuerCurve"), ACT_365F),
+      DoubleArray.of(0.2, 3.0, 9.0, 15.0),
+      DoubleArray.of(0.025, 0.03, 0.04, 0.045),
+      CurveInterpolators.LINEAR);
+  private static final LegalEntityGroup GROUP_ISSUER = LegalEntityGroup.of("CORP1");
+  private static final LegalEntityDiscountingProvider PROVIDER = ImmutableLegalEntityDiscountingProvider.builder()
+      .issuerCurves(ImmutableMap.of(Pair.of(GROUP_ISSUER, EUR), ZeroRateDiscountFactors.of(EUR, VAL_DATE, CURVE_ISSUER)))
+      .issuerCurveGroups(ImmutableMap.of(ISSUER_ID, GROUP_ISSUER))
+      .valuationDate(VAL_DATE)
+      .build();
+  private static final HullWhiteOneFactorPiecewiseConstantParameters HW_PARAMETERS =
+      HullWhiteOneFactorPiecewiseConstantParameters.of(
+          0.02, DoubleArray.of(0.008, 0.009, 0.01), DoubleArray.of(2.0, 5.0));
+  private static final HullWhiteOneFactorPiecewiseConstantParametersProvider HW_PROVIDER =
+      HullWhiteOneFactorPiecewiseConstantParametersProvider.of(
+          HW_PARAMETERS, ACT_365F, VAL_DATE.atTime(LocalTime.NOON).atZone(ZoneOffset.UTC));
+
+  private static final double TOL = 1.0e-12;
+  private static final double EPS = 1.0e-7;
+  private static final HullWhiteTrinomialTreeCallableFixedCouponBondProductPricer PRICER =
+      HullWhiteTrinomialTreeCallableFixedCouponBondProductPricer.DEFAULT;
+  private static final DiscountingFixedCouponBondProductPricer BOND_PRICER = DiscountingFixedCouponBondProductPricer.DEFAULT;
+  private static final RatesFiniteDifferenceSensitivityCalculator FD_CAL = new RatesFiniteDifferenceSensitivityCalculator(EPS);
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_presentValue() {
+    CurrencyAmount computed = PRICER.presentValue(BOND, CALL_DATES, CALL_PRICES, PROVIDER, HW_PROVIDER);
+    CurrencyAmount straight = BOND_PRICER.presentValue(BOND, PROVIDER);
+    assertThat(computed.getCurrency()).isEqualTo(EUR);
+    assertThat(computed.getAmount()).isLessThan(straight.getAmount() - 0.01 * NOTIONAL);
+  }
+
+  @Test
+  public void test_presentValue_outOfTheMoney() {
+    DoubleArray highPrices = DoubleArray.filled(CALL_DATES.size(), 10d);
+    CurrencyAmount computed = PRICER.presentValue(BOND, CALL_DATES, highPrices, PROVIDER, HW_PROVIDER);
+    CurrencyAmount straight = BOND_PRICER.presentValue(BOND, PROVIDER);
+    assertThat(computed.getAmount()).isCloseTo(straight.getAmount(), offset(NOTIONAL * TOL));
+  }
+
+  @Test
+  public void test_presentValue_noCall() {
+    List<LocalDate> pastCalls = ImmutableList.of(date(2015, 4, 13));
+    CurrencyAmount computed = PRICER.presentValue(BOND, pastCalls, DoubleArray.of(1d), PROVIDER, HW_PROVIDER);
+    assertThat(computed).isEqualTo(BOND_PRICER.presentValue(BOND, PROVIDER));
+    assertThat(PRICER.presentValueSensitivityModelParamsHullWhite(BOND, pastCalls, DoubleArray.of(1d), PROVIDER, HW_PROVIDER))
+        .isEqualTo(DoubleArray.filled(3));
+  }
+
+  @Test
+  public void test_presentValue_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> PRICER.presentValue(BOND, CALL_DATES, DoubleArray.of(1d), PROVIDER, HW_PROVIDER));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> PRICER.presentValue(BOND, CALL_DATES.reverse(), CALL_PRICES, PROVIDER, HW_PROVIDER));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_presentValueSensitivityRates() {
+    PointSensitivityBuilder point = PRICER.presentValueSensitivityRates(BOND, CALL_DATES, CALL_PRICES, PROVIDER, HW_PROVIDER);
+    CurrencyParameterSensitivities computed = PROVIDER.parameterSensitivity(point.build());
+    CurrencyParameterSensitivities expected = FD_CAL.sensitivity(
+        PROVIDER, p -> PRICER.presentValue(BOND, CALL_DATES, CALL_PRICES, p, HW_PROVIDER));
+    assertThat(computed.equalWithTolerance(expected, 100d * NOTIONAL * EPS)).isTrue();
+  }
+
+  @Test
+  public void test_presentValueSensitivityModelParamsHullWhite() {
+    DoubleArray computed =
+        PRICER.presentValueSensitivityModelParamsHullWhite(BOND, CALL_DATES, CALL_PRICES, PROVIDER, HW_PROVIDER);
+    DoubleArray vols = HW_PARAMETERS.getVolatility();
+    int size = vols.size();
+    double[] expected = new double[size];
+    for (int i = 0; i < size; ++i) {
+      HullWhiteOneFactorPiecewiseConstantParametersProvider provUp = HullWhiteOneFactorPiecewiseConstantParametersProvider.of(
+          HullWhiteOneFactorPiecewiseConstantParameters.of(
+              HW_PARAMETERS.getMeanReversion(), vols.with(i, vols.get(i) + EPS), HW_PARAMETERS.getVolatilityTime().subArray(1, size)),
+          ACT_365F,
+          HW_PROVIDER.getValuationDateTime());
+      HullWhiteOneFactorPiecewiseConstantParametersProvider provDw = HullWhiteOneFactorPiecewiseConstantParametersProvider.of(
+          HullWhiteOneFactorPiecewiseConstantParameters.of(
+              HW_PARAMETERS.getMeanReversion(), vols.with(i, vols.get(i) - EPS), HW_PARAMETERS.getVolatilityTime().subArray(1, size)),
+          ACT_365F,
+          HW_PROVIDER.getValuationDateTime());
+      expected[i] = 0.5 * (PRICER.presentValue(BOND, CALL_DATES, CALL_PRICES, PROVIDER, provUp).getAmount() -
+          PRICER.presentValue(BOND, CALL_DATES, CALL_PRICES, PROVIDER, provDw).getAmount()) / EPS;
+    }
+    assertThat(computed.get(0)).isLessThan(0d);
+    assertThat(DoubleArrayMath.fuzzyEquals(computed.toArray(), expected, NOTIONAL * EPS * 10d)).isTrue();
+  }
+
+}
@@ -7,8 +7,16 @@ package com.opengamma.strata.pricer.curve;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.LocalDate;
+import java.time.Period;
+
 import org.junit.jupiter.api.Test;
 
+import com.opengamma.strata.collect.metrics.InMemoryMetricsRecorder;
+import com.opengamma.strata.collect.metrics.MetricSummary;
+import com.opengamma.strata.collect.metrics.Metrics;
+import com.opengamma.strata.collect.metrics.MetricsRecorder;
+
 /**
  * Tests {@link RatesCurveCalibrator}.
  */
@@ -19,4 +27,31 @@ public class RatesCurveCalibratorTest {
     assertThat(RatesCurveCalibrator.standard().toString()).isEqualTo("CurveCalibrator[ParSpread]");
   }
 
+  @Test
+  public void test_metrics() {
+    Period[] dscTenors = new Period[] {Period.ofYears(2), Period.ofYears(5), Period.ofYears(10)};
+    Period[] fraTenors = new Period[] {Period.ofMonths(3), Period.ofMonths(6)};
+    Period[] irsTenors = new Period[] {Period.ofYears(2), Period.ofYears(5), Period.ofYears(10)};
+    double[] irsQuotes = new double[] {0.0054, 0.0055, 0.0056};
+    double[] fraQuotes = new double[] {0.0051, 0.0052};
+
+    InMemoryMetricsRecorder recorder = new InMemoryMetricsRecorder();
+    Metrics.setRecorder(recorder);
+    try {
+      CalibrationEurStandard.calibrateEurStandard(
+          LocalDate.of(2015, 7, 24),
+          new double[] {0.0010, 0.0020, 0.0030}, dscTenors,
+          0.0050, fraQuotes, irsQuotes, fraTenors, irsTenors,
+          0.0050, fraQuotes, irsQuotes, fraTenors, irsTenors);
+    } finally {
+      Metrics.setRecorder(MetricsRecorder.none());
+    }
+    MetricSummary group = recorder.findSummary("calibration.group").get();
+    assertThat(group.getCount()).isGreaterThanOrEqualTo(1);
+    assertThat(recorder.findSummary("calibration.evaluations").get().getMin()).isGreaterThanOrEqualTo(1d);
+    assertThat(recorder.findSummary("calibration.jacobians").get().getMin()).isGreaterThanOrEqualTo(1d);
+    assertThat(recorder.findSummary("calibration.residual").get().getMax()).isLessThan(1e-8);
+    assertThat(recorder.findSummary("calibration.failures")).isEmpty();
+  }
+
 }
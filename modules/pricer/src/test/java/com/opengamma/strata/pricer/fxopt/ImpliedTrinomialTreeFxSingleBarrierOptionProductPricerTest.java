@@ -14,9 +14,11 @@ import static org.assertj.core.data.Offset.offset;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.currency.Payment;
@@ -332,6 +334,26 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricerTest {
     assertThat(ce).isEqualTo(ceWithData);
   }
 
+  @Test
+  public void test_batch() {
+    ResolvedFxVanillaOption callEarly = CALL.toBuilder().expiry(EXPIRY_DATETIME.minusMonths(6)).build();
+    List<ResolvedFxSingleBarrierOption> options = ImmutableList.of(
+        CALL_DKO,
+        ResolvedFxSingleBarrierOption.of(callEarly, BARRIER_UKI, REBATE_BASE),
+        CALL_UKI_C,
+        ResolvedFxSingleBarrierOption.of(PUT, BARRIER_DKO, REBATE),
+        ResolvedFxSingleBarrierOption.of(callEarly, BARRIER_DKO));
+    List<CurrencyAmount> pvs = PRICER_39.presentValue(options, RATE_PROVIDER, VOLS);
+    List<MultiCurrencyAmount> ces = PRICER_39.currencyExposure(options, RATE_PROVIDER, VOLS);
+    assertThat(pvs).hasSize(options.size());
+    assertThat(ces).hasSize(options.size());
+    for (int i = 0; i < options.size(); ++i) {
+      assertThat(pvs.get(i)).isEqualTo(PRICER_39.presentValue(options.get(i), RATE_PROVIDER, VOLS));
+      assertThat(ces.get(i)).isEqualTo(PRICER_39.currencyExposure(options.get(i), RATE_PROVIDER, VOLS));
+    }
+    assertThat(PRICER_39.presentValue(ImmutableList.of(), RATE_PROVIDER, VOLS)).isEmpty();
+  }
+
   @Test
   public void test_expired_calibration() {
     assertThatIllegalArgumentException()
@@ -8956,4 +8956,100 @@ public class BlackFormulaRepositoryTest {
     assertThat(bsD2[1][2]).as("AD Second order: 2nd - str-vol").isCloseTo(bsD2[2][1], offset(TOLERANCE_1));
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void batchPriceTest() {
+    int nStrikes = STRIKES_INPUT.length;
+    int nVols = VOLS.length;
+    int size = 2 * nStrikes * nVols;
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] times = new double[size];
+    double[] vols = new double[size];
+    boolean[] isCall = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      forwards[i] = FORWARD;
+      strikes[i] = STRIKES_INPUT[(i / nVols) % nStrikes];
+      times[i] = i % 3 == 0 ? 0d : TIME_TO_EXPIRY;
+      vols[i] = i % 5 == 0 ? 0d : VOLS[i % nVols];
+      isCall[i] = i < size / 2;
+    }
+    double[] prices = new double[size];
+    double[] adjointPrices = new double[size];
+    double[][] derivatives = new double[4][size];
+    BlackFormulaRepository.price(forwards, strikes, times, vols, isCall, prices);
+    BlackFormulaRepository.priceAdjoint(forwards, strikes, times, vols, isCall, adjointPrices, derivatives);
+    for (int i = 0; i < size; i++) {
+      assertThat(prices[i]).isEqualTo(BlackFormulaRepository.price(forwards[i], strikes[i], times[i], vols[i], isCall[i]));
+      ValueDerivatives expected = BlackFormulaRepository.priceAdjoint(forwards[i], strikes[i], times[i], vols[i], isCall[i]);
+      assertThat(adjointPrices[i]).isEqualTo(expected.getValue());
+      for (int k = 0; k < 4; k++) {
+        assertThat(derivatives[k][i]).isCloseTo(expected.getDerivative(k), offset(1e-14 * Math.max(1d, Math.abs(expected.getDerivative(k)))));
+      }
+    }
+  }
+
+  @Test
+  public void batchPriceInvalidTest() {
+    double[] values = new double[] {100d, 100d};
+    boolean[] isCall = new boolean[] {true, false};
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BlackFormulaRepository.price(values, values, values, values, isCall, new double[1]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BlackFormulaRepository.price(values, new double[] {100d, -1d}, values, values, isCall, new double[2]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BlackFormulaRepository.priceAdjoint(values, values, values, values, isCall, new double[2], new double[3][2]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> BlackFormulaRepository.impliedVolatility(values, values, values, values, new boolean[1], new double[2]));
+  }
+
+  @Test
+  public void batchImpliedVolatilityTest() {
+    double[] strikesInput = new double[] {0.5, 20.0, 85.0, 95.0, 103.0, 104.0, 108.0, 150.0, 250.0, 1000.0};
+    double[] volsInput = new double[] {0.01, 0.1, 0.3, 0.8, 2.0};
+    double[] timesInput = new double[] {0.05, 1.0, TIME_TO_EXPIRY};
+    int size = strikesInput.length * volsInput.length * timesInput.length * 2;
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] times = new double[size];
+    double[] vols = new double[size];
+    boolean[] isCall = new boolean[size];
+    int index = 0;
+    for (double strike : strikesInput) {
+      for (double vol : volsInput) {
+        for (double time : timesInput) {
+          for (boolean call : new boolean[] {true, false}) {
+            forwards[index] = FORWARD;
+            strikes[index] = strike;
+            times[index] = time;
+            vols[index] = vol;
+            isCall[index] = call;
+            index++;
+          }
+        }
+      }
+    }
+    double[] prices = new double[size];
+    BlackFormulaRepository.price(forwards, strikes, times, vols, isCall, prices);
+    double[] impliedVols = new double[size];
+    BlackFormulaRepository.impliedVolatility(prices, forwards, strikes, times, isCall, impliedVols);
+    for (int i = 0; i < size; i++) {
+      double otmPrice = prices[i] - Math.max(0d, (isCall[i] ? 1 : -1) * (forwards[i] - strikes[i]));
+      if (otmPrice < 1e-12 * FORWARD) {
+        // the volatility cannot be recovered from a price which is indistinguishable from intrinsic value
+        continue;
+      }
+      double repriced = BlackFormulaRepository.price(forwards[i], strikes[i], times[i], impliedVols[i], isCall[i]);
+      assertThat(repriced).as("repriced " + i).isCloseTo(prices[i], offset(1e-12 * FORWARD));
+      if (otmPrice > 1e-8 * FORWARD) {
+        assertThat(impliedVols[i]).as("vol " + i).isCloseTo(vols[i], offset(1e-8));
+      }
+    }
+    // zero time value
+    double[] zeroVol = new double[1];
+    BlackFormulaRepository.impliedVolatility(
+        new double[] {4d}, new double[] {FORWARD}, new double[] {100d}, new double[] {1d}, new boolean[] {true}, zeroVol);
+    assertThat(zeroVol[0]).isEqualTo(0d);
+  }
+
 }
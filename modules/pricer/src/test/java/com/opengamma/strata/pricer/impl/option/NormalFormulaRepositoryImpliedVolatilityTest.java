@@ -149,4 +149,90 @@ public class NormalFormulaRepositoryImpliedVolatilityTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void batch_price() {
+    int size = 2 * N;
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] times = new double[size];
+    double[] vols = new double[size];
+    double[] numeraires = new double[size];
+    PutCall[] putCalls = new PutCall[size];
+    for (int i = 0; i < size; i++) {
+      forwards[i] = FORWARD;
+      strikes[i] = STRIKES[i % N];
+      times[i] = i % 4 == 0 ? 0d : T;
+      vols[i] = SIGMA[i % N];
+      numeraires[i] = DF;
+      putCalls[i] = i < N ? PutCall.CALL : PutCall.PUT;
+    }
+    double[] prices = new double[size];
+    double[] adjointPrices = new double[size];
+    double[][] derivatives = new double[3][size];
+    NormalFormulaRepository.price(forwards, strikes, times, vols, putCalls, prices);
+    NormalFormulaRepository.priceAdjoint(forwards, strikes, times, vols, numeraires, putCalls, adjointPrices, derivatives);
+    for (int i = 0; i < size; i++) {
+      assertThat(prices[i]).isEqualTo(NormalFormulaRepository.price(forwards[i], strikes[i], times[i], vols[i], putCalls[i]));
+      ValueDerivatives expected =
+          NormalFormulaRepository.priceAdjoint(forwards[i], strikes[i], times[i], vols[i], numeraires[i], putCalls[i]);
+      assertThat(adjointPrices[i]).isEqualTo(expected.getValue());
+      for (int k = 0; k < 3; k++) {
+        assertThat(derivatives[k][i]).isCloseTo(expected.getDerivative(k), offset(1e-14));
+      }
+    }
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> NormalFormulaRepository.price(forwards, strikes, times, vols, putCalls, new double[1]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> NormalFormulaRepository.priceAdjoint(
+            forwards, strikes, times, vols, numeraires, putCalls, prices, new double[2][size]));
+  }
+
+  @Test
+  public void batch_implied_volatility() {
+    double[] moneynessInput = new double[] {-200.0, -50.0, -10.0, -1.0, -1.0E-4, 0.0, 1.0E-4, 1.0, 10.0, 50.0, 200.0};
+    double[] volsInput = new double[] {0.01, 0.5, 5.0, 20.0, 100.0};
+    int size = moneynessInput.length * volsInput.length * 2;
+    double[] forwards = new double[size];
+    double[] strikes = new double[size];
+    double[] times = new double[size];
+    double[] vols = new double[size];
+    double[] numeraires = new double[size];
+    PutCall[] putCalls = new PutCall[size];
+    int index = 0;
+    for (double moneyness : moneynessInput) {
+      for (double vol : volsInput) {
+        for (PutCall putCall : PutCall.values()) {
+          forwards[index] = FORWARD;
+          strikes[index] = FORWARD - moneyness;
+          times[index] = T;
+          vols[index] = vol;
+          numeraires[index] = DF;
+          putCalls[index] = putCall;
+          index++;
+        }
+      }
+    }
+    double[] prices = new double[size];
+    double[][] derivatives = new double[3][size];
+    NormalFormulaRepository.priceAdjoint(forwards, strikes, times, vols, numeraires, putCalls, prices, derivatives);
+    double[] impliedVols = new double[size];
+    NormalFormulaRepository.impliedVolatility(prices, forwards, strikes, times, numeraires, putCalls, impliedVols);
+    for (int i = 0; i < size; i++) {
+      double timeValue = prices[i] - DF * Math.max(0d, (putCalls[i].isCall() ? 1 : -1) * (forwards[i] - strikes[i]));
+      double repriced = DF * NormalFormulaRepository.price(forwards[i], strikes[i], times[i], impliedVols[i], putCalls[i]);
+      assertThat(repriced).as("repriced " + i).isCloseTo(prices[i], offset(1e-12 * FORWARD));
+      if (timeValue > 1e-8) {
+        assertThat(impliedVols[i]).as("vol " + i).isCloseTo(vols[i], offset(1e-9 * vols[i]));
+        double expected = NormalFormulaRepository.impliedVolatility(
+            prices[i], forwards[i], strikes[i], times[i], vols[i], numeraires[i], putCalls[i]);
+        assertThat(impliedVols[i]).as("vol " + i).isCloseTo(expected, offset(1e-8 * vols[i]));
+      }
+    }
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> NormalFormulaRepository.impliedVolatility(
+            new double[] {1d}, new double[] {FORWARD}, new double[] {90d}, new double[] {T}, new double[] {DF},
+            new PutCall[] {PutCall.CALL}, new double[1]));
+  }
+
 }
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import org.junit.jupiter.api.Test;
+
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Test {@link HullWhiteTrinomialTree}.
+ */
+public class HullWhiteTrinomialTreeTest {
+
+  private static final double MEAN_REVERSION = 0.03;
+  private static final DoubleArray VOLATILITY = DoubleArray.of(0.008, 0.009, 0.010, 0.0105);
+  private static final DoubleArray VOLATILITY_TIME = DoubleArray.of(0.5, 1.5, 3.0);
+  private static final HullWhiteOneFactorPiecewiseConstantParameters PARAMETERS =
+      HullWhiteOneFactorPiecewiseConstantParameters.of(MEAN_REVERSION, VOLATILITY, VOLATILITY_TIME);
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
+  private static final DoubleArray KEY_TIMES = DoubleArray.of(0.0, 1.0, 2.0, 2.5, 3.0, 4.0);
+  private static final DoubleArray KEY_DFS = DoubleArray.of(1.0, 0.985, 0.966, 0.955, 0.944, 0.920);
+  private static final int STEPS = 200;
+  private static final HullWhiteTrinomialTree TREE = HullWhiteTrinomialTree.of(PARAMETERS, KEY_TIMES, KEY_DFS, STEPS);
+
+  // Bermudan option on a coupon bond: exercise at 1, 2 and 3 against a strike into the remaining coupons
+  private static final int[] EXERCISE_KEYS = new int[] {1, 2, 4};
+  private static final double[] EXERCISE_AMOUNTS = new double[] {-0.955, -0.972, -0.988};
+  private static final int[] FLOW_KEYS = new int[] {2, 3, 4, 5, 5};
+  private static final double[] FLOW_AMOUNTS = new double[] {0.015, 0.0075, 0.0075, 0.015, 1.0};
+  private static final int[] FLOW_GROUPS = new int[] {0, 1, 1, 2, 2};
+
+  private static final double TOL = 1.0e-12;
+  private static final double EPS = 1.0e-6;
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_of() {
+    assertThat(TREE.getKeyCount()).isEqualTo(6);
+    assertThat(TREE.getParameters()).isEqualTo(PARAMETERS);
+    assertThat(TREE.getNumberOfSteps()).isGreaterThanOrEqualTo(STEPS);
+    assertThat(TREE.getKeyLevel(0)).isEqualTo(0);
+    assertThat(TREE.getKeyLevel(5)).isEqualTo(TREE.getNumberOfSteps());
+    for (int k = 0; k < KEY_TIMES.size(); k++) {
+      assertThat(TREE.getTime(TREE.getKeyLevel(k))).isEqualTo(KEY_TIMES.get(k));
+    }
+    assertThat(TREE.getMaximumWidth()).isLessThan(2 * TREE.getNumberOfSteps() + 1);
+  }
+
+  @Test
+  public void test_of_invalid() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> HullWhiteTrinomialTree.of(PARAMETERS, DoubleArray.of(1.0, 0.5), DoubleArray.of(0.99, 0.98), STEPS));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> HullWhiteTrinomialTree.of(PARAMETERS, DoubleArray.of(1.0), DoubleArray.of(0.99, 0.98), STEPS));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> HullWhiteTrinomialTree.of(PARAMETERS, KEY_TIMES, KEY_DFS, 0));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> TREE.presentValue(new int[] {2, 1}, new double[2], new int[0], new double[0], new int[0]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> TREE.presentValue(new int[] {2}, new double[1], new int[] {1}, new double[1], new int[] {0}));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_discountFactors() {
+    // the zero-coupon bonds are repriced exactly, including between key times
+    for (int k = 1; k < KEY_TIMES.size(); k++) {
+      double pv = TREE.presentValue(new int[] {0}, new double[1], new int[] {k}, new double[] {1d}, new int[] {0});
+      assertThat(pv).isCloseTo(KEY_DFS.get(k), offset(TOL));
+    }
+  }
+
+  @Test
+  public void test_zeroCouponBondOption() {
+    // European call on a zero-coupon bond, compared to the explicit formula
+    int expiryKey = 3;
+    int maturityKey = 5;
+    double strike = 0.96;
+    double pv = TREE.presentValue(
+        new int[] {expiryKey}, new double[] {-strike}, new int[] {maturityKey}, new double[] {1d}, new int[] {0});
+    double expiry = KEY_TIMES.get(expiryKey);
+    double[] alpha = new double[] {
+        MODEL.alpha(PARAMETERS, 0d, expiry, expiry, expiry),
+        MODEL.alpha(PARAMETERS, 0d, expiry, expiry, KEY_TIMES.get(maturityKey))};
+    double[] discountedCashFlow = new double[] {-strike * KEY_DFS.get(expiryKey), KEY_DFS.get(maturityKey)};
+    double kappa = MODEL.kappa(DoubleArray.ofUnsafe(discountedCashFlow), DoubleArray.ofUnsafe(alpha));
+    double expected = 0d;
+    for (int i = 0; i < 2; i++) {
+      expected += discountedCashFlow[i] * NORMAL.getCDF(kappa + alpha[i]);
+    }
+    assertThat(pv).isCloseTo(expected, offset(1.0e-5));
+  }
+
+  @Test
+  public void test_bermudan() {
+    double pv = TREE.presentValue(EXERCISE_KEYS, EXERCISE_AMOUNTS, FLOW_KEYS, FLOW_AMOUNTS, FLOW_GROUPS);
+    // each European option is worth less than the Bermudan option
+    for (int e = 0; e < EXERCISE_KEYS.length; e++) {
+      int[] groups = new int[FLOW_GROUPS.length];
+      for (int f = 0; f < groups.length; f++) {
+        groups[f] = FLOW_GROUPS[f] >= e ? 0 : -1;
+      }
+      double pvEuropean = TREE.presentValue(
+          new int[] {EXERCISE_KEYS[e]}, new double[] {EXERCISE_AMOUNTS[e]}, FLOW_KEYS, FLOW_AMOUNTS, groups);
+      assertThat(pv + TOL).isGreaterThanOrEqualTo(pvEuropean);
+    }
+    assertThat(TREE.presentValueAdjoint(EXERCISE_KEYS, EXERCISE_AMOUNTS, FLOW_KEYS, FLOW_AMOUNTS, FLOW_GROUPS).getValue())
+        .isEqualTo(pv);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_presentValueAdjoint() {
+    ValueDerivatives computed =
+        TREE.presentValueAdjoint(EXERCISE_KEYS, EXERCISE_AMOUNTS, FLOW_KEYS, FLOW_AMOUNTS, FLOW_GROUPS);
+    int nbKeys = KEY_TIMES.size();
+    int nbFlows = FLOW_KEYS.length;
+    int nbExercises = EXERCISE_KEYS.length;
+    assertThat(computed.getValue()).isGreaterThan(0d);
+    assertThat(computed.getDerivatives().size()).isEqualTo(nbKeys + nbFlows + nbExercises + VOLATILITY.size());
+    // discount factors
+    assertThat(computed.getDerivative(0)).isEqualTo(0d);
+    for (int k = 1; k < nbKeys; k++) {
+      HullWhiteTrinomialTree treeUp = HullWhiteTrinomialTree.of(
+          PARAMETERS, KEY_TIMES, KEY_DFS.with(k, KEY_DFS.get(k) + EPS), STEPS);
+      HullWhiteTrinomialTree treeDw = HullWhiteTrinomialTree.of(
+          PARAMETERS, KEY_TIMES, KEY_DFS.with(k, KEY_DFS.get(k) - EPS), STEPS);
+      double expected = 0.5 * (treeUp.presentValue(EXERCISE_KEYS, EXERCISE_AMOUNTS, FLOW_KEYS, FLOW_AMOUNTS, FLOW_GROUPS) -
+          treeDw.presentValue(EXERCISE_KEYS, EXERCISE_AMOUNTS, FLOW_KEYS, FLOW_AMOUNTS, FLOW_GROUPS)) / EPS;
+      assertThat(computed.getDerivative(k)).isCloseTo(expected, offset(EPS));
+    }
+    // cash flow amounts
+    for (int f = 0; f < nbFlows; f++) {
+      double[] amountsUp = FLOW_AMOUNTS.clone();
+      double[] amountsDw = FLOW_AMOUNTS.clone();
+      amountsUp[f] += EPS;
+      amountsDw[f] -= EPS;
+      double expected = 0.5 * (TREE.presentValue(EXERCISE_KEYS, EXERCISE_AMOUNTS, FLOW_KEYS, amountsUp, FLOW_GROUPS) -
+          TREE.presentValue(EXERCISE_KEYS, EXERCISE_AMOUNTS, FLOW_KEYS, amountsDw, FLOW_GROUPS)) / EPS;
+      assertThat(computed.getDerivative(nbKeys + f)).isCloseTo(expected, offset(EPS));
+    }
+    // exercise amounts
+    for (int e = 0; e < nbExercises; e++) {
+      double[] amountsUp = EXERCISE_AMOUNTS.clone();
+      double[] amountsDw = EXERCISE_AMOUNTS.clone();
+      amountsUp[e] += EPS;
+      amountsDw[e] -= EPS;
+      double expected = 0.5 * (TREE.presentValue(EXERCISE_KEYS, amountsUp, FLOW_KEYS, FLOW_AMOUNTS, FLOW_GROUPS) -
+          TREE.presentValue(EXERCISE_KEYS, amountsDw, FLOW_KEYS, FLOW_AMOUNTS, FLOW_GROUPS)) / EPS;
+      assertThat(computed.getDerivative(nbKeys + nbFlows + e)).isCloseTo(expected, offset(EPS)).isNotZero();
+    }
+    // volatilities
+    for (int m = 0; m < VOLATILITY.size(); m++) {
+      HullWhiteTrinomialTree treeUp = HullWhiteTrinomialTree.of(
+          HullWhiteOneFactorPiecewiseConstantParameters.of(
+              MEAN_REVERSION, VOLATILITY.with(m, VOLATILITY.get(m) + EPS), VOLATILITY_TIME),
+          KEY_TIMES, KEY_DFS, STEPS);
+      HullWhiteTrinomialTree treeDw = HullWhiteTrinomialTree.of(
+          HullWhiteOneFactorPiecewiseConstantParameters.of(
+              MEAN_REVERSION, VOLATILITY.with(m, VOLATILITY.get(m) - EPS), VOLATILITY_TIME),
+          KEY_TIMES, KEY_DFS, STEPS);
+      double expected = 0.5 * (treeUp.presentValue(EXERCISE_KEYS, EXERCISE_AMOUNTS, FLOW_KEYS, FLOW_AMOUNTS, FLOW_GROUPS) -
+          treeDw.presentValue(EXERCISE_KEYS, EXERCISE_AMOUNTS, FLOW_KEYS, FLOW_AMOUNTS, FLOW_GROUPS)) / EPS;
+      assertThat(computed.getDerivative(nbKeys + nbFlows + nbExercises + m)).isCloseTo(expected, offset(EPS));
+    }
+  }
+
+}
@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.impl.tree;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.data.Offset.offset;
 
 import java.util.ArrayList;
@@ -14,11 +15,13 @@ import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
 import com.opengamma.strata.product.common.PutCall;
+import com.opengamma.strata.product.option.BarrierType;
 
 /**
  * Test {@link TrinomialTree}.
@@ -83,4 +86,94 @@ public class TrinomialTreeTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_batch() {
+    TrinomialTreeWorkspace workspace = new TrinomialTreeWorkspace();
+    for (int nSteps : new int[] {1, 20, 135, 50}) {  // the workspace is reused for smaller and larger trees
+      RecombiningTrinomialTreeData treeData = treeData(nSteps, 0.2, 0.03, 0.01);
+      DoubleArray rebate = DoubleArray.filled(nSteps + 1, 2d);
+      List<OptionFunction> functions = new ArrayList<>();
+      for (double strike : STRIKES) {
+        functions.add(EuropeanVanillaOptionFunction.of(strike, TIME, PutCall.CALL, nSteps));
+        functions.add(EuropeanVanillaOptionFunction.of(strike, TIME, PutCall.PUT, nSteps));
+        if (nSteps > 1) {
+          functions.add(ConstantContinuousSingleBarrierKnockoutFunction.of(
+              strike, TIME, PutCall.CALL, nSteps, BarrierType.DOWN, 90d, rebate));
+          functions.add(ConstantContinuousSingleBarrierKnockoutFunction.of(
+              strike, TIME, PutCall.PUT, nSteps, BarrierType.UP, 121d, rebate));
+        }
+      }
+      // function relying on the default primitive methods
+      EuropeanVanillaOptionFunction vanilla = EuropeanVanillaOptionFunction.of(100d, TIME, PutCall.CALL, nSteps);
+      functions.add(new OptionFunction() {
+        @Override
+        public double getTimeToExpiry() {
+          return vanilla.getTimeToExpiry();
+        }
+
+        @Override
+        public int getNumberOfSteps() {
+          return vanilla.getNumberOfSteps();
+        }
+
+        @Override
+        public DoubleArray getPayoffAtExpiryTrinomial(DoubleArray stateValue) {
+          return vanilla.getPayoffAtExpiryTrinomial(stateValue);
+        }
+      });
+      int nFunctions = functions.size();
+      double[] prices = new double[nFunctions];
+      double[] pricesAdj = new double[nFunctions];
+      double[] deltas = new double[nFunctions];
+      TRINOMIAL_TREE.optionPrice(functions, treeData, workspace, prices);
+      TRINOMIAL_TREE.optionPriceAdjoint(functions, treeData, workspace, pricesAdj, deltas);
+      for (int k = 0; k < nFunctions; ++k) {
+        ValueDerivatives expected = TRINOMIAL_TREE.optionPriceAdjoint(functions.get(k), treeData);
+        assertThat(prices[k]).isEqualTo(TRINOMIAL_TREE.optionPrice(functions.get(k), treeData));
+        assertThat(pricesAdj[k]).isEqualTo(expected.getValue());
+        assertThat(deltas[k]).isEqualTo(expected.getDerivative(0));
+      }
+      assertThat(prices[nFunctions - 1]).isEqualTo(TRINOMIAL_TREE.optionPrice(vanilla, treeData));
+    }
+  }
+
+  @Test
+  public void test_batch_invalid() {
+    RecombiningTrinomialTreeData treeData = treeData(10, 0.2, 0.03, 0.01);
+    List<OptionFunction> functions = ImmutableList.of(
+        EuropeanVanillaOptionFunction.of(100d, TIME, PutCall.CALL, 10),
+        EuropeanVanillaOptionFunction.of(100d, TIME, PutCall.CALL, 11));
+    TrinomialTreeWorkspace workspace = new TrinomialTreeWorkspace();
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> TRINOMIAL_TREE.optionPrice(functions, treeData, workspace, new double[2]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> TRINOMIAL_TREE.optionPrice(functions.subList(0, 1), treeData, workspace, new double[0]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> TRINOMIAL_TREE.optionPriceAdjoint(
+            functions.subList(0, 1), treeData, workspace, new double[1], new double[0]));
+  }
+
+  // tree with constant volatility and rates
+  private static RecombiningTrinomialTreeData treeData(int nSteps, double vol, double interest, double dividend) {
+    double dt = TIME / nSteps;
+    double[] params = new CoxRossRubinsteinLatticeSpecification()
+        .getParametersTrinomial(vol, interest - dividend, dt).toArray();
+    DoubleArray time = DoubleArray.of(nSteps + 1, i -> dt * i);
+    DoubleArray df = DoubleArray.of(nSteps, i -> Math.exp(-interest * dt));
+    double[][] stateValue = new double[nSteps + 1][];
+    stateValue[0] = new double[] {SPOT };
+    List<DoubleMatrix> prob = new ArrayList<DoubleMatrix>();
+    double[] probs = new double[] {params[5], params[4], params[3] };
+    for (int i = 0; i < nSteps; ++i) {
+      int index = i;
+      stateValue[i + 1] = DoubleArray.of(2 * i + 3,
+          j -> SPOT * Math.pow(params[2], index + 1 - j) * Math.pow(params[1], j)).toArray();
+      double[][] probMatrix = new double[2 * i + 1][];
+      Arrays.fill(probMatrix, probs);
+      prob.add(DoubleMatrix.ofUnsafe(probMatrix));
+    }
+    return RecombiningTrinomialTreeData.of(DoubleMatrix.ofUnsafe(stateValue), prob, df, time);
+  }
+
 }
@@ -578,4 +578,53 @@ public class SabrHaganVolatilityFunctionProviderTest extends SabrVolatilityFunct
     return EuropeanVanillaOption.of(strike, option.getTimeToExpiry(), option.getPutCall());
   }
 
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_volatilitySlice() {
+    double[] strikes = new double[] {0.0, 0.01, 0.03, STRIKE_ITM, F, F * (1 + 1e-9), STRIKE_OTM, 0.08, 0.2};
+    double[][] parameters = new double[][] {
+        {ALPHA, BETA, RHO, NU}, {ALPHA, 0.0, RHO, NU}, {ALPHA, 1.0, RHO, NU}, {0.0, BETA, RHO, NU}, {ALPHA, BETA, 0.5, 0.0}};
+    int n = strikes.length;
+    for (double[] p : parameters) {
+      double[] vols = new double[n];
+      double[] adjointVols = new double[n];
+      double[][] derivatives = new double[6][n];
+      FUNCTION.volatility(F, strikes, T, p[0], p[1], p[2], p[3], vols);
+      FUNCTION.volatilityAdjoint(F, strikes, T, p[0], p[1], p[2], p[3], adjointVols, derivatives);
+      for (int i = 0; i < n; i++) {
+        assertThat(vols[i]).isEqualTo(FUNCTION.volatility(F, strikes[i], T, p[0], p[1], p[2], p[3]));
+        ValueDerivatives expected = FUNCTION.volatilityAdjoint(F, strikes[i], T, p[0], p[1], p[2], p[3]);
+        assertThat(adjointVols[i]).isEqualTo(expected.getValue());
+        for (int j = 0; j < 6; j++) {
+          assertThat(derivatives[j][i]).isEqualTo(expected.getDerivative(j));
+        }
+      }
+    }
+    // the model data variants
+    SabrFormulaData data = SabrFormulaData.of(ALPHA, BETA, RHO, NU);
+    double[] vols = new double[n];
+    double[] adjointVols = new double[n];
+    double[][] derivatives = new double[6][n];
+    FUNCTION.volatility(F, strikes, T, data, vols);
+    FUNCTION.volatilityAdjoint(F, strikes, T, data, adjointVols, derivatives);
+    for (int i = 0; i < n; i++) {
+      assertThat(vols[i]).isEqualTo(FUNCTION.volatility(F, strikes[i], T, data));
+      assertThat(adjointVols[i]).isEqualTo(FUNCTION.volatilityAdjoint(F, strikes[i], T, data).getValue());
+      assertThat(derivatives[5][i]).isEqualTo(FUNCTION.volatilityAdjoint(F, strikes[i], T, data).getDerivative(5));
+    }
+  }
+
+  @Test
+  public void test_volatilitySlice_invalid() {
+    double[] strikes = new double[] {0.01, 0.02};
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> FUNCTION.volatility(F, strikes, T, ALPHA, BETA, RHO, NU, new double[1]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> FUNCTION.volatility(F, new double[] {0.01, -0.02}, T, ALPHA, BETA, RHO, NU, new double[2]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> FUNCTION.volatilityAdjoint(F, strikes, T, ALPHA, BETA, RHO, NU, new double[2], new double[4][2]));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> FUNCTION.volatilityAdjoint(F, strikes, T, ALPHA, BETA, RHO, NU, new double[2], new double[6][1]));
+  }
+
 }
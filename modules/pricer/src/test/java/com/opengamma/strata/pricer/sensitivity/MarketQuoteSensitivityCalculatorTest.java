@@ -14,6 +14,7 @@ import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -123,4 +124,18 @@ public class MarketQuoteSensitivityCalculatorTest {
     assertThat(computed.getSensitivity(CURVE_NAME_2, GBP).getSensitivity().equalWithTolerance(expected22, TOL)).isTrue();
   }
 
+  @Test
+  public void test_sensitivity_LegalEntityDiscountingProvider_batch() {
+    CurrencyParameterSensitivities other = CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(CURVE_NAME_2, USD, DoubleArray.of(1d, 0d, -2d, 5d)));
+    List<CurrencyParameterSensitivities> paramSensitivities = ImmutableList.of(
+        PARAMETER_SENSITIVITIES, other, CurrencyParameterSensitivities.empty(), PARAMETER_SENSITIVITIES.multipliedBy(2d));
+    List<CurrencyParameterSensitivities> computed = CALC.sensitivity(paramSensitivities, PROVIDER);
+    assertThat(computed).hasSize(4);
+    for (int i = 0; i < paramSensitivities.size(); i++) {
+      assertThat(computed.get(i)).isEqualTo(CALC.sensitivity(paramSensitivities.get(i), PROVIDER));
+    }
+    assertThat(computed.get(2)).isEqualTo(CurrencyParameterSensitivities.empty());
+  }
+
 }
@@ -0,0 +1,347 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_FOLLOWING;
+import static com.opengamma.strata.basics.date.DayCounts.THIRTY_U_360;
+import static com.opengamma.strata.basics.index.IborIndices.EUR_EURIBOR_6M;
+import static com.opengamma.strata.basics.schedule.Frequency.P12M;
+import static com.opengamma.strata.basics.schedule.Frequency.P6M;
+import static com.opengamma.strata.collect.TestHelper.dateUtc;
+import static com.opengamma.strata.product.common.LongShort.LONG;
+import static com.opengamma.strata.product.common.LongShort.SHORT;
+import static com.opengamma.strata.product.common.PayReceive.PAY;
+import static com.opengamma.strata.product.common.PayReceive.RECEIVE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.RollConventions;
+import com.opengamma.strata.basics.schedule.StubConvention;
+import com.opengamma.strata.basics.value.ValueSchedule;
+import com.opengamma.strata.collect.DoubleArrayMath;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.index.HullWhiteIborFutureDataSet;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.sensitivity.RatesFiniteDifferenceSensitivityCalculator;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.common.LongShort;
+import com.opengamma.strata.product.swap.FixedRateCalculation;
+import com.opengamma.strata.product.swap.IborRateCalculation;
+import com.opengamma.strata.product.swap.NotionalSchedule;
+import com.opengamma.strata.product.swap.PaymentSchedule;
+import com.opengamma.strata.product.swap.RateCalculationSwapLeg;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.Swap;
+import com.opengamma.strata.product.swap.SwapLeg;
+import com.opengamma.strata.product.swap.SwapLegType;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+import com.opengamma.strata.product.swaption.CashSwaptionSettlement;
+import com.opengamma.strata.product.swaption.CashSwaptionSettlementMethod;
+import com.opengamma.strata.product.swaption.PhysicalSwaptionSettlement;
+import com.opengamma.strata.product.swaption.ResolvedSwaption;
+import com.opengamma.strata.product.swaption.Swaption;
+import com.opengamma.strata.product.swaption.SwaptionExerciseDate;
+import com.opengamma.strata.product.swaption.SwaptionExerciseDates;
+
+/**
+ * Test {@link HullWhiteTrinomialTreeSwaptionPhysicalProductPricer}.
+ */
+public class HullWhiteTrinomialTreeSwaptionPhysicalProductPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ZonedDateTime MATURITY = dateUtc(2016, 7, 7);
+  private static final HolidayCalendarId CALENDAR = HolidayCalendarIds.SAT_SUN;
+  private static final BusinessDayAdjustment BDA_MF = BusinessDayAdjustment.of(MODIFIED_FOLLOWING, CALENDAR);
+  private static final LocalDate SETTLE =
+      BDA_MF.adjust(CALENDAR.resolve(REF_DATA).shift(MATURITY.toLocalDate(), 2), REF_DATA);
+  private static final double NOTIONAL = 100000000; //100m
+  private static final LocalDate END = SETTLE.plusYears(5);
+  private static final double RATE = 0.0175;
+  private static final PeriodicSchedule PERIOD_FIXED = PeriodicSchedule.builder()
+      .startDate(SETTLE)
+      .endDate(END)
+      .frequency(P12M)
+      .businessDayAdjustment(BDA_MF)
+      .stubConvention(StubConvention.SHORT_FINAL)
+      .rollConvention(RollConventions.EOM)
+      .build();
+  private static final PeriodicSchedule PERIOD_IBOR = PeriodicSchedule.builder()
+      .startDate(SETTLE)
+      .endDate(END)
+      .frequency(P6M)
+      .businessDayAdjustment(BDA_MF)
+      .stubConvention(StubConvention.SHORT_FINAL)
+      .rollConvention(RollConventions.EOM)
+      .build();
+  private static final SwapLeg FIXED_LEG_REC = RateCalculationSwapLeg.builder()
+      .payReceive(RECEIVE)
+      .accrualSchedule(PERIOD_FIXED)
+      .paymentSchedule(PaymentSchedule.builder().paymentFrequency(P12M).paymentDateOffset(DaysAdjustment.NONE).build())
+      .notionalSchedule(NotionalSchedule.of(EUR, NOTIONAL))
+      .calculation(FixedRateCalculation.builder().dayCount(THIRTY_U_360).rate(ValueSchedule.of(RATE)).build())
+      .build();
+  private static final SwapLeg IBOR_LEG_PAY = RateCalculationSwapLeg.builder()
+      .payReceive(PAY)
+      .accrualSchedule(PERIOD_IBOR)
+      .paymentSchedule(PaymentSchedule.builder().paymentFrequency(P6M).paymentDateOffset(DaysAdjustment.NONE).build())
+      .notionalSchedule(NotionalSchedule.of(EUR, NOTIONAL))
+      .calculation(IborRateCalculation.builder()
+          .index(EUR_EURIBOR_6M)
+          .fixingDateOffset(DaysAdjustment.ofBusinessDays(-2, CALENDAR, BDA_MF))
+          .build())
+      .build();
+  private static final ResolvedSwap RSWAP_REC = Swap.of(FIXED_LEG_REC, IBOR_LEG_PAY).resolve(REF_DATA);
+  private static final ResolvedSwaption SWAPTION_REC_LONG = Swaption.builder()
+      .expiryDate(AdjustableDate.of(MATURITY.toLocalDate(), BDA_MF))
+      .expiryTime(MATURITY.toLocalTime())
+      .expiryZone(MATURITY.getZone())
+      .swaptionSettlement(PhysicalSwaptionSettlement.DEFAULT)
+      .longShort(LONG)
+      .underlying(Swap.of(FIXED_LEG_REC, IBOR_LEG_PAY))
+      .build()
+      .resolve(REF_DATA);
+  private static final ResolvedSwaption SWAPTION_CASH = SWAPTION_REC_LONG.toBuilder()
+      .swaptionSettlement(CashSwaptionSettlement.of(SETTLE, CashSwaptionSettlementMethod.PAR_YIELD))
+      .build();
+  // Bermudan swaption, exercisable two days before the start of each fixed period
+  private static final List<SwaptionExerciseDate> EXERCISE_DATES = exerciseDates();
+  private static final ResolvedSwaption BERMUDAN_REC_LONG = bermudan(LONG, EXERCISE_DATES.size());
+  private static final ResolvedSwaption BERMUDAN_REC_SHORT = bermudan(SHORT, EXERCISE_DATES.size());
+
+  private static final LocalDate VALUATION = LocalDate.of(2011, 7, 7);
+  private static final HullWhiteOneFactorPiecewiseConstantParametersProvider HW_PROVIDER =
+      HullWhiteIborFutureDataSet.createHullWhiteProvider(VALUATION);
+  private static final ImmutableRatesProvider RATE_PROVIDER = HullWhiteIborFutureDataSet.createRatesProvider(VALUATION);
+  private static final HullWhiteOneFactorPiecewiseConstantParametersProvider HW_PROVIDER_AFTER_MATURITY =
+      HullWhiteIborFutureDataSet.createHullWhiteProvider(MATURITY.toLocalDate().plusDays(1));
+  private static final ImmutableRatesProvider RATES_PROVIDER_AFTER_MATURITY =
+      HullWhiteIborFutureDataSet.createRatesProvider(MATURITY.toLocalDate().plusDays(1));
+
+  private static final double TOL = 1.0e-12;
+  private static final double TREE_TOL = 1.0e-4;
+  private static final double FD_TOL = 1.0e-7;
+  private static final HullWhiteTrinomialTreeSwaptionPhysicalProductPricer PRICER =
+      HullWhiteTrinomialTreeSwaptionPhysicalProductPricer.DEFAULT;
+  private static final HullWhiteSwaptionPhysicalProductPricer PRICER_EXPLICIT = HullWhiteSwaptionPhysicalProductPricer.DEFAULT;
+  private static final RatesFiniteDifferenceSensitivityCalculator FD_CAL =
+      new RatesFiniteDifferenceSensitivityCalculator(FD_TOL);
+
+  private static List<SwaptionExerciseDate> exerciseDates() {
+    List<SwaptionExerciseDate> dates = new ArrayList<>();
+    for (SwapPaymentPeriod period : RSWAP_REC.getLegs(SwapLegType.FIXED).get(0).getPaymentPeriods()) {
+      LocalDate exerciseDate = period.getStartDate().equals(SETTLE) ?
+          MATURITY.toLocalDate() :
+          period.getStartDate().minusDays(2);
+      dates.add(SwaptionExerciseDate.of(exerciseDate, exerciseDate, period.getStartDate()));
+    }
+    return dates;
+  }
+
+  // the swaption exercisable on the first exercise dates
+  private static ResolvedSwaption bermudan(LongShort longShort, int nbExercises) {
+    List<SwaptionExerciseDate> dates = EXERCISE_DATES.subList(0, nbExercises);
+    return ResolvedSwaption.builder()
+        .longShort(longShort)
+        .swaptionSettlement(PhysicalSwaptionSettlement.DEFAULT)
+        .exerciseInfo(SwaptionExerciseDates.of(dates, false))
+        .expiry(dates.get(nbExercises - 1).getExerciseDate().atStartOfDay(ZoneOffset.UTC))
+        .underlying(RSWAP_REC)
+        .build();
+  }
+
+  // the European swaption exercisable on one of the exercise dates
+  private static ResolvedSwaption european(int exercise) {
+    SwaptionExerciseDate date = EXERCISE_DATES.get(exercise);
+    List<ResolvedSwapLeg> legs = new ArrayList<>();
+    for (ResolvedSwapLeg leg : RSWAP_REC.getLegs()) {
+      List<SwapPaymentPeriod> periods = new ArrayList<>();
+      for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
+        if (!period.getStartDate().isBefore(date.getSwapStartDate())) {
+          periods.add(period);
+        }
+      }
+      legs.add(leg.toBuilder().paymentPeriods(periods).build());
+    }
+    return ResolvedSwaption.builder()
+        .longShort(LONG)
+        .swaptionSettlement(PhysicalSwaptionSettlement.DEFAULT)
+        .expiry(date.getExerciseDate().atStartOfDay(ZoneOffset.UTC))
+        .underlying(ResolvedSwap.builder().legs(legs).build())
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void validate() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> PRICER.presentValue(SWAPTION_CASH, RATE_PROVIDER, HW_PROVIDER));
+    ResolvedSwaption american = BERMUDAN_REC_LONG.toBuilder()
+        .exerciseInfo(SwaptionExerciseDates.of(ImmutableList.of(EXERCISE_DATES.get(0), EXERCISE_DATES.get(4)), true))
+        .build();
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> PRICER.presentValue(american, RATE_PROVIDER, HW_PROVIDER));
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> new HullWhiteTrinomialTreeSwaptionPhysicalProductPricer(0));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_presentValue_european() {
+    CurrencyAmount computed = PRICER.presentValue(SWAPTION_REC_LONG, RATE_PROVIDER, HW_PROVIDER);
+    CurrencyAmount expected = PRICER_EXPLICIT.presentValue(SWAPTION_REC_LONG, RATE_PROVIDER, HW_PROVIDER);
+    assertThat(computed.getCurrency()).isEqualTo(EUR);
+    assertThat(computed.getAmount()).isCloseTo(expected.getAmount(), offset(NOTIONAL * TREE_TOL));
+    CurrencyAmount computedLast = PRICER.presentValue(european(4), RATE_PROVIDER, HW_PROVIDER);
+    CurrencyAmount expectedLast = PRICER_EXPLICIT.presentValue(european(4), RATE_PROVIDER, HW_PROVIDER);
+    assertThat(computedLast.getAmount()).isCloseTo(expectedLast.getAmount(), offset(NOTIONAL * TREE_TOL));
+  }
+
+  @Test
+  public void test_presentValue_bermudan() {
+    CurrencyAmount computed = PRICER.presentValue(BERMUDAN_REC_LONG, RATE_PROVIDER, HW_PROVIDER);
+    for (int e = 0; e < EXERCISE_DATES.size(); e++) {
+      CurrencyAmount european = PRICER.presentValue(european(e), RATE_PROVIDER, HW_PROVIDER);
+      assertThat(computed.getAmount()).isGreaterThan(european.getAmount() - NOTIONAL * TREE_TOL);
+    }
+    // adding exercise dates increases the value
+    double previous = 0d;
+    for (int n = 1; n <= EXERCISE_DATES.size(); n++) {
+      double pv = PRICER.presentValue(bermudan(LONG, n), RATE_PROVIDER, HW_PROVIDER).getAmount();
+      assertThat(pv).isGreaterThan(previous - NOTIONAL * TOL);
+      previous = pv;
+    }
+    CurrencyAmount computedShort = PRICER.presentValue(BERMUDAN_REC_SHORT, RATE_PROVIDER, HW_PROVIDER);
+    assertThat(computedShort.getAmount()).isCloseTo(-computed.getAmount(), offset(NOTIONAL * TOL));
+    assertThat(PRICER.currencyExposure(BERMUDAN_REC_LONG, RATE_PROVIDER, HW_PROVIDER).getAmount(EUR)).isEqualTo(computed);
+  }
+
+  @Test
+  public void test_presentValue_afterExpiry() {
+    CurrencyAmount computed = PRICER.presentValue(BERMUDAN_REC_LONG, RATES_PROVIDER_AFTER_MATURITY, HW_PROVIDER_AFTER_MATURITY);
+    // the first exercise date has passed
+    CurrencyAmount expected = PRICER.presentValue(european(1).toBuilder()
+        .exerciseInfo(SwaptionExerciseDates.of(EXERCISE_DATES.subList(1, EXERCISE_DATES.size()), false))
+        .expiry(BERMUDAN_REC_LONG.getExpiry())
+        .underlying(RSWAP_REC)
+        .build(), RATES_PROVIDER_AFTER_MATURITY, HW_PROVIDER_AFTER_MATURITY);
+    assertThat(computed.getAmount()).isCloseTo(expected.getAmount(), offset(NOTIONAL * TOL));
+    assertThat(PRICER.presentValue(SWAPTION_REC_LONG, RATES_PROVIDER_AFTER_MATURITY, HW_PROVIDER_AFTER_MATURITY))
+        .isEqualTo(CurrencyAmount.zero(EUR));
+    assertThat(PRICER.presentValueSensitivityRates(SWAPTION_REC_LONG, RATES_PROVIDER_AFTER_MATURITY, HW_PROVIDER_AFTER_MATURITY))
+        .isEqualTo(PointSensitivityBuilder.none());
+    assertThat(PRICER.presentValueSensitivityModelParamsHullWhite(
+        SWAPTION_REC_LONG, RATES_PROVIDER_AFTER_MATURITY, HW_PROVIDER_AFTER_MATURITY)).isEqualTo(DoubleArray.EMPTY);
+  }
+
+  @Test
+  public void test_presentValue_batch() {
+    List<ResolvedSwaption> swaptions = ImmutableList.of(BERMUDAN_REC_LONG, SWAPTION_REC_LONG, BERMUDAN_REC_SHORT);
+    List<CurrencyAmount> computed = PRICER.presentValue(swaptions, RATE_PROVIDER, HW_PROVIDER);
+    assertThat(computed).hasSize(3);
+    for (int i = 0; i < swaptions.size(); i++) {
+      CurrencyAmount expected = PRICER.presentValue(swaptions.get(i), RATE_PROVIDER, HW_PROVIDER);
+      assertThat(computed.get(i).getCurrency()).isEqualTo(EUR);
+      assertThat(computed.get(i).getAmount()).isCloseTo(expected.getAmount(), offset(NOTIONAL * TREE_TOL));
+    }
+    // the swaptions share one tree
+    assertThat(computed.get(2).getAmount()).isCloseTo(-computed.get(0).getAmount(), offset(NOTIONAL * TOL));
+  }
+
+  @Test
+  public void test_presentValue_batch_mixedExpiries() {
+    // a six month swaption into a one year swap, much shorter than the swaptions expiring in five years
+    ResolvedSwap shortSwap = FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_6M
+        .createTrade(VALUATION, Period.ofMonths(6), Tenor.TENOR_1Y, BuySell.SELL, NOTIONAL, RATE, REF_DATA)
+        .getProduct()
+        .resolve(REF_DATA);
+    ResolvedSwaption shortSwaption = ResolvedSwaption.builder()
+        .longShort(LONG)
+        .swaptionSettlement(PhysicalSwaptionSettlement.DEFAULT)
+        .expiry(shortSwap.getStartDate().minusDays(2).atStartOfDay(ZoneOffset.UTC))
+        .underlying(shortSwap)
+        .build();
+    List<ResolvedSwaption> swaptions = ImmutableList.of(BERMUDAN_REC_LONG, shortSwaption, SWAPTION_REC_LONG);
+    List<CurrencyAmount> computed = PRICER.presentValue(swaptions, RATE_PROVIDER, HW_PROVIDER);
+    assertThat(computed).hasSize(3);
+    for (int i = 0; i < swaptions.size(); i++) {
+      CurrencyAmount expected = PRICER.presentValue(swaptions.get(i), RATE_PROVIDER, HW_PROVIDER);
+      assertThat(computed.get(i).getAmount()).isCloseTo(expected.getAmount(), offset(NOTIONAL * TREE_TOL));
+    }
+    // the short swaption is not priced on the tree of the long ones, thus has the same steps as when priced alone
+    CurrencyAmount expectedShort = PRICER.presentValue(shortSwaption, RATE_PROVIDER, HW_PROVIDER);
+    assertThat(computed.get(1).getAmount()).isCloseTo(expectedShort.getAmount(), offset(NOTIONAL * TOL));
+  }
+
+  //-------------------------------------------------------------------------
+  @Test
+  public void test_presentValueSensitivityRates() {
+    PointSensitivityBuilder point = PRICER.presentValueSensitivityRates(BERMUDAN_REC_LONG, RATE_PROVIDER, HW_PROVIDER);
+    CurrencyParameterSensitivities computed = RATE_PROVIDER.parameterSensitivity(point.build());
+    CurrencyParameterSensitivities expected =
+        FD_CAL.sensitivity(RATE_PROVIDER, p -> PRICER.presentValue(BERMUDAN_REC_LONG, p, HW_PROVIDER));
+    assertThat(computed.equalWithTolerance(expected, NOTIONAL * FD_TOL * 1000d)).isTrue();
+    PointSensitivityBuilder pointShort = PRICER.presentValueSensitivityRates(BERMUDAN_REC_SHORT, RATE_PROVIDER, HW_PROVIDER);
+    CurrencyParameterSensitivities computedShort = RATE_PROVIDER.parameterSensitivity(pointShort.build());
+    assertThat(computedShort.equalWithTolerance(computed.multipliedBy(-1d), NOTIONAL * TOL)).isTrue();
+  }
+
+  @Test
+  public void test_presentValueSensitivityHullWhiteParameter() {
+    DoubleArray computed = PRICER.presentValueSensitivityModelParamsHullWhite(BERMUDAN_REC_LONG, RATE_PROVIDER, HW_PROVIDER);
+    DoubleArray vols = HW_PROVIDER.getParameters().getVolatility();
+    int size = vols.size();
+    double[] expected = new double[size];
+    for (int i = 0; i < size; ++i) {
+      HullWhiteOneFactorPiecewiseConstantParameters paramsUp = HullWhiteOneFactorPiecewiseConstantParameters.of(
+          HW_PROVIDER.getParameters().getMeanReversion(),
+          vols.with(i, vols.get(i) + FD_TOL),
+          HW_PROVIDER.getParameters().getVolatilityTime().subArray(1, size));
+      HullWhiteOneFactorPiecewiseConstantParameters paramsDw = HullWhiteOneFactorPiecewiseConstantParameters.of(
+          HW_PROVIDER.getParameters().getMeanReversion(),
+          vols.with(i, vols.get(i) - FD_TOL),
+          HW_PROVIDER.getParameters().getVolatilityTime().subArray(1, size));
+      HullWhiteOneFactorPiecewiseConstantParametersProvider provUp = HullWhiteOneFactorPiecewiseConstantParametersProvider
+          .of(paramsUp, HW_PROVIDER.getDayCount(), HW_PROVIDER.getValuationDateTime());
+      HullWhiteOneFactorPiecewiseConstantParametersProvider provDw = HullWhiteOneFactorPiecewiseConstantParametersProvider
+          .of(paramsDw, HW_PROVIDER.getDayCount(), HW_PROVIDER.getValuationDateTime());
+      expected[i] = 0.5 * (PRICER.presentValue(BERMUDAN_REC_LONG, RATE_PROVIDER, provUp).getAmount() -
+          PRICER.presentValue(BERMUDAN_REC_LONG, RATE_PROVIDER, provDw).getAmount()) / FD_TOL;
+    }
+    assertThat(DoubleArrayMath.fuzzyEquals(computed.toArray(), expected, NOTIONAL * FD_TOL)).isTrue();
+    DoubleArray computedShort =
+        PRICER.presentValueSensitivityModelParamsHullWhite(BERMUDAN_REC_SHORT, RATE_PROVIDER, HW_PROVIDER);
+    assertThat(DoubleArrayMath.fuzzyEquals(computedShort.toArray(), computed.multipliedBy(-1d).toArray(), NOTIONAL * TOL))
+        .isTrue();
+  }
+
+}
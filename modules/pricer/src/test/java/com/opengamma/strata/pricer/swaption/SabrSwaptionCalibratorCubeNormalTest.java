@@ -20,6 +20,8 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.Test;
 
@@ -102,7 +104,43 @@ public class SabrSwaptionCalibratorCubeNormalTest {
             .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
     SabrParametersSwaptionVolatilities calibrated = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
         DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface);
+    checkCalibration(calibrated, shift);
+  }
+
+  @Test
+  public void normal_cube_parallel() {
+    double beta = 0.50;
+    Surface betaSurface = ConstantSurface.of("Beta", beta)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+    double shift = 0.0300;
+    Surface shiftSurface = ConstantSurface.of("Shift", shift)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
+    SabrParametersSwaptionVolatilities expected = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      SabrParametersSwaptionVolatilities calibrated = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+          DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface, true, executor);
+      checkCalibration(calibrated, shift);
+      assertThat(calibrated.getParameterCount()).isEqualTo(expected.getParameterCount());
+      assertThat(calibrated.getDataSensitivityAlpha()).isPresent();
+      assertThat(calibrated.getDataSensitivityAlpha().get()).hasSameSizeAs(expected.getDataSensitivityAlpha().get());
+      for (int i = 0; i < calibrated.getParameterCount(); i++) {
+        assertThat(calibrated.getParameterMetadata(i)).isEqualTo(expected.getParameterMetadata(i));
+      }
+      for (int i = 0; i < calibrated.getDataSensitivityAlpha().get().size(); i++) {
+        assertThat(calibrated.getDataSensitivityAlpha().get().get(i).size())
+            .isEqualTo(expected.getDataSensitivityAlpha().get().get(i).size());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
 
+  private void checkCalibration(SabrParametersSwaptionVolatilities calibrated, double shift) {
     for (int looptenor = 0; looptenor < TENORS.size(); looptenor++) {
       double tenor = TENORS.get(looptenor).get(ChronoUnit.YEARS);
       for (int loopexpiry = 0; loopexpiry < EXPIRIES.size(); loopexpiry++) {
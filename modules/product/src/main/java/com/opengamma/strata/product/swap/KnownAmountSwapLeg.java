@@ -36,6 +36,7 @@ import com.opengamma.strata.basics.date.DateAdjuster;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.schedule.PeriodicSchedule;
 import com.opengamma.strata.basics.schedule.Schedule;
+import com.opengamma.strata.basics.schedule.ScheduleCache;
 import com.opengamma.strata.basics.schedule.SchedulePeriod;
 import com.opengamma.strata.basics.value.ValueSchedule;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -168,7 +169,7 @@ public final class KnownAmountSwapLeg
    */
   @Override
   public ResolvedSwapLeg resolve(ReferenceData refData) {
-    Schedule resolvedAccruals = accrualSchedule.createSchedule(refData);
+    Schedule resolvedAccruals = ScheduleCache.DEFAULT.createSchedule(accrualSchedule, refData);
     Schedule resolvedPayments = paymentSchedule.createSchedule(resolvedAccruals, refData);
     List<SwapPaymentPeriod> payPeriods = createPaymentPeriods(resolvedPayments, refData);
     return new ResolvedSwapLeg(getType(), payReceive, payPeriods, ImmutableList.of(), currency);
@@ -27,6 +27,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ReferenceDataCache;
 import com.opengamma.strata.basics.ReferenceDataNotFoundException;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.date.AdjustableDate;
@@ -34,6 +35,7 @@ import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.schedule.PeriodicSchedule;
 import com.opengamma.strata.basics.schedule.Schedule;
+import com.opengamma.strata.basics.schedule.ScheduleCache;
 import com.opengamma.strata.product.common.PayReceive;
 
 /**
@@ -57,6 +59,15 @@ import com.opengamma.strata.product.common.PayReceive;
 public final class RateCalculationSwapLeg
     implements ScheduledSwapLeg, ImmutableBean, Serializable {
 
+  /**
+   * The accrual periods, keyed by the calculation, accrual schedule and payment schedule of the leg.
+   * These definitions, together with the reference data, fully determine the accrual periods.
+   * This allows the accrual periods, and thus the rate computations, to be shared between
+   * legs that have the same definition.
+   */
+  private static final ReferenceDataCache<List<Object>, ImmutableList<RateAccrualPeriod>> ACCRUAL_PERIODS =
+      ReferenceDataCache.of(10_000);
+
   /**
    * Whether the leg is pay or receive.
    * <p>
@@ -165,9 +176,12 @@ public final class RateCalculationSwapLeg
   @Override
   public ResolvedSwapLeg resolve(ReferenceData refData) {
     DayCount dayCount = calculation.getDayCount();
-    Schedule resolvedAccruals = accrualSchedule.createSchedule(refData, true);
+    Schedule resolvedAccruals = ScheduleCache.DEFAULT.createSchedule(accrualSchedule, refData, true);
     Schedule resolvedPayments = paymentSchedule.createSchedule(resolvedAccruals, refData);
-    List<RateAccrualPeriod> accrualPeriods = calculation.createAccrualPeriods(resolvedAccruals, resolvedPayments, refData);
+    List<RateAccrualPeriod> accrualPeriods = ACCRUAL_PERIODS.get(
+        ImmutableList.of(calculation, accrualSchedule, paymentSchedule),
+        refData,
+        () -> calculation.createAccrualPeriods(resolvedAccruals, resolvedPayments, refData));
     List<NotionalPaymentPeriod> payPeriods = paymentSchedule.createPaymentPeriods(
         resolvedAccruals, resolvedPayments, accrualPeriods, dayCount, notionalSchedule, payReceive, refData);
     LocalDate startDate = accrualPeriods.get(0).getStartDate();
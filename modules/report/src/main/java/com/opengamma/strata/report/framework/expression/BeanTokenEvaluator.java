@@ -5,13 +5,19 @@
  */
 package com.opengamma.strata.report.framework.expression;
 
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.joda.beans.Bean;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.MetaProperty;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.opengamma.strata.calc.runner.CalculationFunctions;
@@ -41,6 +47,14 @@ import com.opengamma.strata.market.amount.LegAmounts;
  */
 public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
 
+  /**
+   * The properties of immutable beans, keyed by bean type, then by lower-case property name.
+   * <p>
+   * Immutable beans have a fixed set of properties per type, so the case-insensitive
+   * resolution of a token to a property only needs to be performed once per type.
+   */
+  private static final Map<Class<?>, Map<String, MetaProperty<?>>> PROPERTY_CACHE = new ConcurrentHashMap<>();
+
   @Override
   public Class<Bean> getTargetType() {
     return Bean.class;
@@ -69,12 +83,10 @@ public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
       String firstToken,
       List<String> remainingTokens) {
 
-    Optional<String> propertyName = bean.propertyNames().stream()
-        .filter(p -> p.equalsIgnoreCase(firstToken))
-        .findFirst();
-
-    if (propertyName.isPresent()) {
-      Object propertyValue = bean.property(propertyName.get()).get();
+    Map<String, MetaProperty<?>> properties = properties(bean);
+    MetaProperty<?> property = properties.get(firstToken.toLowerCase(Locale.ENGLISH));
+    if (property != null) {
+      Object propertyValue = property.get(bean);
 
       return propertyValue != null ?
           EvaluationResult.success(propertyValue, remainingTokens) :
@@ -83,9 +95,8 @@ public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
     // The bean has a single property which doesn't match the token.
     // Return the property value without consuming any tokens.
     // This allows skipping over properties when the bean only has a single property.
-    if (bean.propertyNames().size() == 1) {
-      String singlePropertyName = Iterables.getOnlyElement(bean.propertyNames());
-      Object propertyValue = bean.property(singlePropertyName).get();
+    if (properties.size() == 1) {
+      Object propertyValue = Iterables.getOnlyElement(properties.values()).get(bean);
       List<String> tokens = ImmutableList.<String>builder().add(firstToken).addAll(remainingTokens).build();
 
       return propertyValue != null ?
@@ -95,4 +106,34 @@ public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
     return invalidTokenFailure(bean, firstToken);
   }
 
+  /**
+   * Finds the property of the bean matching the token, ignoring case.
+   * <p>
+   * This does not apply the special handling of beans with a single property.
+   *
+   * @param bean  the bean
+   * @param token  the token
+   * @return the matching property, null if there is no property with the name of the token
+   */
+  static MetaProperty<?> findProperty(Bean bean, String token) {
+    return properties(bean).get(token.toLowerCase(Locale.ENGLISH));
+  }
+
+  // gets the properties of the bean by lower-case name, which are cached for immutable beans
+  private static Map<String, MetaProperty<?>> properties(Bean bean) {
+    if (bean instanceof ImmutableBean) {
+      return PROPERTY_CACHE.computeIfAbsent(bean.getClass(), type -> buildProperties(bean));
+    }
+    return buildProperties(bean);
+  }
+
+  // builds the map of properties by lower-case name, first property wins if names clash
+  private static Map<String, MetaProperty<?>> buildProperties(Bean bean) {
+    Map<String, MetaProperty<?>> properties = new LinkedHashMap<>();
+    for (String propertyName : bean.propertyNames()) {
+      properties.putIfAbsent(propertyName.toLowerCase(Locale.ENGLISH), bean.property(propertyName).metaProperty());
+    }
+    return ImmutableMap.copyOf(properties);
+  }
+
 }
@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.framework.expression;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.MetaProperty;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.report.ReportCalculationResults;
+
+/**
+ * A value path that has been parsed and prepared for repeated evaluation.
+ * <p>
+ * Instances are obtained from {@link ValuePathEvaluator#compile(String)}.
+ * The path is tokenized once, and the evaluator used for each step is resolved once per
+ * runtime class and cached, thus evaluating the same path against many rows avoids
+ * repeated tokenization and evaluator lookup.
+ * <p>
+ * Where consecutive tokens select properties of immutable beans, the chain of properties
+ * is resolved once per bean type and cached, thus subsequent rows read the property values directly.
+ * <p>
+ * This class is thread-safe. The internal caches do not affect the result of evaluation.
+ */
+public final class CompiledValuePath {
+
+  /**
+   * The number of rows above which evaluation is performed in parallel.
+   */
+  static final int PARALLEL_THRESHOLD = 1000;
+
+  /**
+   * The original value path.
+   */
+  private final String valuePath;
+  /**
+   * The tokens of the value path.
+   */
+  private final ImmutableList<String> tokens;
+  /**
+   * The cache of property chains, one map per token index, keyed by the type of the bean at that index.
+   */
+  private final ImmutableList<Map<Class<?>, PropertyChain>> chains;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   *
+   * @param valuePath  the value path
+   * @param tokens  the tokens of the value path
+   */
+  CompiledValuePath(String valuePath, ImmutableList<String> tokens) {
+    this.valuePath = valuePath;
+    this.tokens = tokens;
+    this.chains = tokens.stream()
+        .map(token -> new ConcurrentHashMap<Class<?>, PropertyChain>())
+        .collect(toImmutableList());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the value path that was compiled.
+   *
+   * @return the value path
+   */
+  public String getValuePath() {
+    return valuePath;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Evaluates the value path against a set of results, returning the resolved result for each row.
+   * <p>
+   * Large result sets are evaluated in parallel.
+   * The order of the returned list matches the order of the rows in the results.
+   *
+   * @param results  the calculation results
+   * @return the list of resolved results for each row
+   */
+  public List<Result<?>> evaluate(ReportCalculationResults results) {
+    ArgChecker.notNull(results, "results");
+    int rowCount = results.getCalculationResults().getRowCount();
+    IntStream rows = IntStream.range(0, rowCount);
+    if (rowCount > PARALLEL_THRESHOLD) {
+      rows = rows.parallel();
+    }
+    return rows
+        .mapToObj(rowIndex -> evaluateRow(results, rowIndex))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Evaluates the value path against a single row of the results.
+   *
+   * @param results  the calculation results
+   * @param rowIndex  the index of the row
+   * @return the resolved result for the row
+   */
+  public Result<?> evaluateRow(ReportCalculationResults results, int rowIndex) {
+    if (tokens.isEmpty()) {
+      return Result.failure(FailureReason.INVALID, "Column expressions must not be empty");
+    }
+    ResultsRow row = new ResultsRow(results, rowIndex);
+    return evaluate(results.getCalculationFunctions(), tokens, RootEvaluator.INSTANCE, row);
+  }
+
+  // Tokens always has at least one token
+  @SuppressWarnings("unchecked")
+  private <T> Result<?> evaluate(
+      CalculationFunctions functions,
+      List<String> tokens,
+      TokenEvaluator<T> evaluator,
+      T target) {
+
+    if (evaluator.getClass() == BeanTokenEvaluator.class && target instanceof ImmutableBean) {
+      return evaluateBean(functions, tokens, (TokenEvaluator<ImmutableBean>) evaluator, (ImmutableBean) target);
+    }
+    return evaluateToken(functions, tokens, evaluator, target);
+  }
+
+  // evaluates the first token using the evaluator, then evaluates the remaining tokens
+  private <T> Result<?> evaluateToken(
+      CalculationFunctions functions,
+      List<String> tokens,
+      TokenEvaluator<T> evaluator,
+      T target) {
+
+    List<String> remaining = tokens.subList(1, tokens.size());
+    EvaluationResult evaluationResult = evaluator.evaluate(target, functions, tokens.get(0), remaining);
+
+    if (evaluationResult.isComplete()) {
+      return evaluationResult.getResult();
+    }
+    Object value = evaluationResult.getResult().getValue();
+    return evaluateNext(functions, evaluationResult.getRemainingTokens(), remaining, value);
+  }
+
+  // evaluates the tokens by following the cached chain of properties as far as the bean types match
+  private Result<?> evaluateBean(
+      CalculationFunctions functions,
+      List<String> tokens,
+      TokenEvaluator<ImmutableBean> evaluator,
+      ImmutableBean bean) {
+
+    // the tokens are always a suffix of the full list of tokens
+    int tokenIndex = this.tokens.size() - tokens.size();
+    PropertyChain chain = chains.get(tokenIndex).computeIfAbsent(bean.getClass(), type -> PropertyChain.of(bean, tokens));
+    Object value = bean;
+    int consumed = 0;
+    while (consumed < chain.size() && value.getClass() == chain.beanType(consumed)) {
+      value = chain.property(consumed).get((Bean) value);
+      if (value == null) {
+        return EvaluationResult.failure("No value available for property '{}'", tokens.get(consumed)).getResult();
+      }
+      consumed++;
+    }
+    if (consumed == 0) {
+      return evaluateToken(functions, tokens, evaluator, bean);
+    }
+    if (consumed == tokens.size()) {
+      return Result.success(value);
+    }
+    List<String> remaining = tokens.subList(consumed, tokens.size());
+    return evaluateNext(functions, remaining, remaining, value);
+  }
+
+  // evaluates the remaining tokens against the value
+  private Result<?> evaluateNext(
+      CalculationFunctions functions,
+      List<String> remainingTokens,
+      List<String> unconsumedTokens,
+      Object value) {
+
+    Optional<TokenEvaluator<Object>> nextEvaluator = ValuePathEvaluator.getEvaluator(value.getClass());
+
+    return nextEvaluator.isPresent() ?
+        evaluate(functions, remainingTokens, nextEvaluator.get(), value) :
+        noEvaluatorResult(unconsumedTokens, value);
+  }
+
+  private static Result<?> noEvaluatorResult(List<String> remaining, Object value) {
+    return Result.failure(
+        FailureReason.INVALID,
+        "Expression '{}' cannot be invoked on type {}",
+        Joiner.on('.').join(remaining),
+        value.getClass().getName());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A chain of properties selected by consecutive tokens, starting from an immutable bean.
+   * <p>
+   * Each step records the type of the bean and the property matching the token.
+   * A step only applies if the runtime type of the bean matches, as the type of a property value may vary.
+   */
+  private static final class PropertyChain {
+
+    private final Class<?>[] beanTypes;
+    private final MetaProperty<?>[] properties;
+
+    private PropertyChain(Class<?>[] beanTypes, MetaProperty<?>[] properties) {
+      this.beanTypes = beanTypes;
+      this.properties = properties;
+    }
+
+    // resolves the chain for as long as the tokens select properties of immutable beans directly
+    private static PropertyChain of(ImmutableBean bean, List<String> tokens) {
+      List<Class<?>> beanTypes = new ArrayList<>();
+      List<MetaProperty<?>> properties = new ArrayList<>();
+      Object value = bean;
+      for (String token : tokens) {
+        if (!(value instanceof ImmutableBean) || !isBeanEvaluated(value)) {
+          break;
+        }
+        MetaProperty<?> property = BeanTokenEvaluator.findProperty((Bean) value, token);
+        if (property == null) {
+          break;
+        }
+        beanTypes.add(value.getClass());
+        properties.add(property);
+        value = property.get((Bean) value);
+        if (value == null) {
+          break;
+        }
+      }
+      return new PropertyChain(beanTypes.toArray(new Class<?>[0]), properties.toArray(new MetaProperty<?>[0]));
+    }
+
+    // checks if the value is evaluated by the plain bean evaluator, rather than a more specific one
+    private static boolean isBeanEvaluated(Object value) {
+      return ValuePathEvaluator.getEvaluator(value.getClass())
+          .filter(evaluator -> evaluator.getClass() == BeanTokenEvaluator.class)
+          .isPresent();
+    }
+
+    private int size() {
+      return beanTypes.length;
+    }
+
+    private Class<?> beanType(int index) {
+      return beanTypes[index];
+    }
+
+    private MetaProperty<?> property(int index) {
+      return properties[index];
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return valuePath;
+  }
+
+}
@@ -141,13 +141,13 @@ class ResultsRow {
    * @return the result of calculating the named measure for the trade in the row
    */
   Result<?> getResult(String measureName) {
-    List<String> validMeasureNames = measureNames(results.getTargets().get(rowIndex), results.getCalculationFunctions());
-    if (!validMeasureNames.contains(measureName)) {
+    CalculationTarget target = results.getTargets().get(rowIndex);
+    if (!isValidMeasureName(target, results.getCalculationFunctions(), measureName)) {
       return Result.failure(
           FailureReason.INVALID,
           "Invalid measure name: {}. Valid measure names: {}",
           measureName,
-          validMeasureNames);
+          measureNames(target, results.getCalculationFunctions()));
     }
     try {
       Column column = Column.of(Measure.of(measureName));
@@ -157,7 +157,7 @@ class ResultsRow {
             FailureReason.INVALID,
             "Measure not found in results: '{}'. Valid measure names: {}",
             measureName,
-            validMeasureNames);
+            measureNames(target, results.getCalculationFunctions()));
       }
       Result<?> result = results.getCalculationResults().get(rowIndex, columnIndex);
       if (result.isFailure() && result.getFailure().getReason() == FailureReason.ERROR) {
@@ -165,7 +165,7 @@ class ResultsRow {
             FailureReason.INVALID,
             "Unable to calculate measure '{}'. Reason: {}",
             measureName,
-            validMeasureNames,
+            measureNames(target, results.getCalculationFunctions()),
             result.getFailure().getMessage());
       }
       return result;
@@ -176,10 +176,21 @@ class ResultsRow {
           "Unable to calculate measure '{}'. Reason: {}. Valid measure names: {}",
           measureName,
           ex.getMessage(),
-          validMeasureNames);
+          measureNames(target, results.getCalculationFunctions()));
     }
   }
 
+  // checks if the measure name is valid, avoiding the cost of sorting the names
+  private static boolean isValidMeasureName(
+      CalculationTarget target,
+      CalculationFunctions calculationFunctions,
+      String measureName) {
+
+    return calculationFunctions.findFunction(target)
+        .map(fn -> fn.supportedMeasures().stream().anyMatch(measure -> measure.getName().equals(measureName)))
+        .orElse(false);
+  }
+
   // determine the available measures
   static List<String> measureNames(CalculationTarget target, CalculationFunctions calculationFunctions) {
     Set<Measure> validMeasures = calculationFunctions.findFunction(target)
@@ -5,21 +5,16 @@
  */
 package com.opengamma.strata.report.framework.expression;
 
-import static com.opengamma.strata.collect.Guavate.toImmutableList;
-
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.IntStream;
+import java.util.concurrent.ConcurrentHashMap;
 
-import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.calc.Measure;
-import com.opengamma.strata.calc.runner.CalculationFunctions;
-import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.product.fra.Fra;
 import com.opengamma.strata.product.fra.FraTrade;
@@ -53,6 +48,9 @@ public final class ValuePathEvaluator {
       new BeanTokenEvaluator(),
       new IterableTokenEvaluator());
 
+  /** The evaluators keyed by the runtime class of the value being evaluated. */
+  private static final Map<Class<?>, Optional<TokenEvaluator<Object>>> EVALUATOR_CACHE = new ConcurrentHashMap<>();
+
   //-------------------------------------------------------------------------
   /**
    * Gets the measure encoded in a value path, if present.
@@ -75,6 +73,19 @@ public final class ValuePathEvaluator {
     }
   }
 
+  /**
+   * Compiles a value path for repeated evaluation.
+   * <p>
+   * The returned path can be evaluated against many rows and result sets.
+   * The evaluators used at each step are resolved once per runtime class and cached.
+   *
+   * @param valuePath  the value path
+   * @return the compiled value path
+   */
+  public static CompiledValuePath compile(String valuePath) {
+    return new CompiledValuePath(valuePath, tokenize(valuePath));
+  }
+
   /**
    * Evaluates a value path against a set of results, returning the resolved result for each trade.
    *
@@ -83,47 +94,7 @@ public final class ValuePathEvaluator {
    * @return the list of resolved results for each trade
    */
   public static List<Result<?>> evaluate(String valuePath, ReportCalculationResults results) {
-    List<String> tokens = tokenize(valuePath);
-
-    if (tokens.size() < 1) {
-      return Collections.nCopies(
-          results.getTargets().size(),
-          Result.failure(FailureReason.INVALID, "Column expressions must not be empty"));
-    }
-    CalculationFunctions functions = results.getCalculationFunctions();
-    int rowCount = results.getCalculationResults().getRowCount();
-    return IntStream.range(0, rowCount)
-        .mapToObj(rowIndex -> evaluate(functions, tokens, RootEvaluator.INSTANCE, new ResultsRow(results, rowIndex)))
-        .collect(toImmutableList());
-  }
-
-  // Tokens always has at least one token
-  private static <T> Result<?> evaluate(
-      CalculationFunctions functions,
-      List<String> tokens,
-      TokenEvaluator<T> evaluator,
-      T target) {
-
-    List<String> remaining = tokens.subList(1, tokens.size());
-    EvaluationResult evaluationResult = evaluator.evaluate(target, functions, tokens.get(0), remaining);
-
-    if (evaluationResult.isComplete()) {
-      return evaluationResult.getResult();
-    }
-    Object value = evaluationResult.getResult().getValue();
-    Optional<TokenEvaluator<Object>> nextEvaluator = getEvaluator(value.getClass());
-
-    return nextEvaluator.isPresent() ?
-        evaluate(functions, evaluationResult.getRemainingTokens(), nextEvaluator.get(), value) :
-        noEvaluatorResult(remaining, value);
-  }
-
-  private static Result<?> noEvaluatorResult(List<String> remaining, Object value) {
-    return Result.failure(
-        FailureReason.INVALID,
-        "Expression '{}' cannot be invoked on type {}",
-        Joiner.on('.').join(remaining),
-        value.getClass().getName());
+    return compile(valuePath).evaluate(results);
   }
 
   /**
@@ -138,13 +109,18 @@ public final class ValuePathEvaluator {
 
   //-------------------------------------------------------------------------
   // splits a value path into tokens for processing
-  private static List<String> tokenize(String valuePath) {
+  private static ImmutableList<String> tokenize(String valuePath) {
     String[] tokens = valuePath.split(PATH_SEPARATOR);
     return ImmutableList.copyOf(tokens);
   }
 
+  // finds the evaluator for the type, caching the result
+  static Optional<TokenEvaluator<Object>> getEvaluator(Class<?> targetClass) {
+    return EVALUATOR_CACHE.computeIfAbsent(targetClass, ValuePathEvaluator::findEvaluator);
+  }
+
   @SuppressWarnings("unchecked")
-  private static Optional<TokenEvaluator<Object>> getEvaluator(Class<?> targetClass) {
+  private static Optional<TokenEvaluator<Object>> findEvaluator(Class<?> targetClass) {
     return EVALUATORS.stream()
         .filter(e -> e.getTargetType().isAssignableFrom(targetClass))
         .map(e -> (TokenEvaluator<Object>) e)
@@ -59,10 +59,24 @@ public abstract class ReportFormatter<R extends Report> {
     OutputStreamWriter outputWriter = new OutputStreamWriter(out, StandardCharsets.UTF_8);
     CsvOutput csvOut = CsvOutput.safe(outputWriter);
     csvOut.writeLine(report.getColumnHeaders());
+    writeCsvRows(report, csvOut);
+    Unchecked.wrap(outputWriter::flush);
+  }
+
+  /**
+   * Outputs the rows of the report table in CSV format, without the header row.
+   * <p>
+   * This allows a large report to be written in chunks, with each chunk being
+   * a report containing a subset of the rows, see {@link #writeCsv(Report, OutputStream)}.
+   * The caller is responsible for writing the header row and flushing the output.
+   *
+   * @param report  the report
+   * @param csvOut  the CSV output to write to
+   */
+  public void writeCsvRows(R report, CsvOutput csvOut) {
     IntStream.range(0, report.getRowCount())
         .mapToObj(rowIdx -> formatRow(report, rowIdx, ReportOutputFormat.CSV))
         .forEach(csvOut::writeLine);
-    Unchecked.wrap(outputWriter::flush);
   }
 
   /**
@@ -0,0 +1,365 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.AggregatingCalculationListener;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.calc.runner.CalculationListener;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.collect.io.CsvOutput;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.report.ReportCalculationResults;
+
+/**
+ * Calculation listener that writes a trade report in CSV format as the results are calculated.
+ * <p>
+ * This is an alternative to collecting all the results using {@code ResultsListener},
+ * building a {@link TradeReport} and then writing it. The evaluated report is only held one chunk at a time.
+ * The results for each row are buffered until the row is complete. Complete rows are then
+ * evaluated against the report template, formatted and written in chunks, releasing their results.
+ * <p>
+ * Rows are written in the order of the calculation targets.
+ * A row that completes before an earlier row is retained, with its results, until every earlier row is complete.
+ * The calculation runner does not deliver results in target order. Tasks with the same function are grouped
+ * into batches, and the batches may be calculated concurrently. As such, when the writer is used directly
+ * as the listener of a calculation, the memory used is not bounded. In the worst case the results of every row
+ * are buffered, as they would be by {@code ResultsListener}.
+ * <p>
+ * To bound the memory, use {@link #calculate(CalculationRunner, CalculationRules, List, List, MarketData, int)}.
+ * This calculates the targets in windows of a fixed number of rows, only starting the calculation of a window
+ * once the previous window is complete. At most one window of rows is buffered, at the cost of not
+ * calculating the targets of different windows concurrently.
+ * <p>
+ * When the calculations complete, any row that is still missing results is written
+ * with a failure for each missing cell, thus there is one row for each target.
+ * <p>
+ * The calculation columns must include the measures required by the template,
+ * as returned by {@link TradeReportRunner#requirements(TradeReportTemplate)}.
+ * <p>
+ * The calculation runner guarantees that the listener is not invoked concurrently.
+ * The output stream is flushed after each chunk, but is not closed.
+ */
+public final class StreamingTradeReportWriter implements CalculationListener {
+
+  /**
+   * The default number of rows in each chunk.
+   */
+  private static final int DEFAULT_CHUNK_SIZE = 5000;
+
+  /**
+   * The report template.
+   */
+  private final TradeReportTemplate template;
+  /**
+   * The valuation date.
+   */
+  private final LocalDate valuationDate;
+  /**
+   * The calculation functions.
+   */
+  private final CalculationFunctions calculationFunctions;
+  /**
+   * The reference data.
+   */
+  private final ReferenceData refData;
+  /**
+   * The maximum number of rows in each chunk.
+   */
+  private final int chunkSize;
+  /**
+   * The underlying writer.
+   */
+  private final OutputStreamWriter outputWriter;
+  /**
+   * The CSV output.
+   */
+  private final CsvOutput csvOut;
+
+  // Mutable state -----------------------------------------------------
+  /** The calculation targets. */
+  private List<CalculationTarget> targets;
+  /** The calculation columns. */
+  private List<Column> columns;
+  /** The column headers. */
+  private List<ColumnHeader> columnHeaders;
+  /** The rows that have been started but not yet written, keyed by row index, see the class documentation. */
+  private final Map<Integer, PendingRow> pendingRows = new HashMap<>();
+  /** The complete rows that will be written in the next chunk. */
+  private final List<PendingRow> chunk = new ArrayList<>();
+  /** The index of the next row to be added to a chunk. */
+  private int nextRowIndex;
+  /** The number of rows written. */
+  private int rowsWritten;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that writes to the specified output stream.
+   * <p>
+   * This uses the default chunk size.
+   *
+   * @param template  the report template
+   * @param valuationDate  the valuation date
+   * @param calculationFunctions  the calculation functions used in the calculation
+   * @param refData  the reference data used in the calculation
+   * @param out  the output stream to write to
+   * @return the writer
+   */
+  public static StreamingTradeReportWriter of(
+      TradeReportTemplate template,
+      LocalDate valuationDate,
+      CalculationFunctions calculationFunctions,
+      ReferenceData refData,
+      OutputStream out) {
+
+    return of(template, valuationDate, calculationFunctions, refData, out, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Obtains an instance that writes to the specified output stream using the specified chunk size.
+   *
+   * @param template  the report template
+   * @param valuationDate  the valuation date
+   * @param calculationFunctions  the calculation functions used in the calculation
+   * @param refData  the reference data used in the calculation
+   * @param out  the output stream to write to
+   * @param chunkSize  the number of rows evaluated and written together
+   * @return the writer
+   */
+  public static StreamingTradeReportWriter of(
+      TradeReportTemplate template,
+      LocalDate valuationDate,
+      CalculationFunctions calculationFunctions,
+      ReferenceData refData,
+      OutputStream out,
+      int chunkSize) {
+
+    return new StreamingTradeReportWriter(template, valuationDate, calculationFunctions, refData, out, chunkSize);
+  }
+
+  // restricted constructor
+  private StreamingTradeReportWriter(
+      TradeReportTemplate template,
+      LocalDate valuationDate,
+      CalculationFunctions calculationFunctions,
+      ReferenceData refData,
+      OutputStream out,
+      int chunkSize) {
+
+    this.template = ArgChecker.notNull(template, "template");
+    this.valuationDate = ArgChecker.notNull(valuationDate, "valuationDate");
+    this.calculationFunctions = ArgChecker.notNull(calculationFunctions, "calculationFunctions");
+    this.refData = ArgChecker.notNull(refData, "refData");
+    this.chunkSize = ArgChecker.notNegativeOrZero(chunkSize, "chunkSize");
+    this.outputWriter = new OutputStreamWriter(ArgChecker.notNull(out, "out"), StandardCharsets.UTF_8);
+    this.csvOut = CsvOutput.safe(outputWriter);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of rows written so far.
+   *
+   * @return the number of rows written
+   */
+  public int getRowsWritten() {
+    return rowsWritten;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the targets using the runner and writes the report, bounding the number of buffered rows.
+   * <p>
+   * The targets are calculated in windows of at most the specified number of rows.
+   * The calculation of a window only starts once the previous window is complete,
+   * thus at most one window of rows is buffered.
+   * This method blocks until the report has been written.
+   * <p>
+   * The writer must not also be used as the listener of a calculation.
+   *
+   * @param runner  the calculation runner
+   * @param calculationRules  the rules defining how the calculation is performed
+   * @param targets  the targets, one for each row of the report
+   * @param columns  the calculation columns, including those required by the template
+   * @param marketData  the market data to be used in the calculations
+   * @param maxRowsInProgress  the maximum number of rows calculated at the same time
+   */
+  public void calculate(
+      CalculationRunner runner,
+      CalculationRules calculationRules,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      MarketData marketData,
+      int maxRowsInProgress) {
+
+    ArgChecker.notNull(runner, "runner");
+    ArgChecker.notNull(calculationRules, "calculationRules");
+    ArgChecker.notNull(targets, "targets");
+    ArgChecker.notNull(columns, "columns");
+    ArgChecker.notNull(marketData, "marketData");
+    ArgChecker.notNegativeOrZero(maxRowsInProgress, "maxRowsInProgress");
+    calculationsStarted(ImmutableList.copyOf(targets), columns);
+    for (int start = 0; start < targets.size(); start += maxRowsInProgress) {
+      List<? extends CalculationTarget> window = targets.subList(start, Math.min(start + maxRowsInProgress, targets.size()));
+      WindowListener listener = new WindowListener(start);
+      runner.calculateAsync(calculationRules, window, columns, marketData, refData, listener);
+      listener.result();
+    }
+    calculationsComplete();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    this.targets = ImmutableList.copyOf(targets);
+    this.columns = ImmutableList.copyOf(columns);
+    this.columnHeaders = columns.stream().map(Column::toHeader).collect(toImmutableList());
+    csvOut.writeLine(template.getColumns().stream().map(TradeReportColumn::getHeader).collect(toImmutableList()));
+    Unchecked.wrap(outputWriter::flush);
+  }
+
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult result) {
+    int rowIndex = result.getRowIndex();
+    PendingRow row = pendingRows.computeIfAbsent(rowIndex, idx -> new PendingRow(idx, columns.size()));
+    row.add(result.getColumnIndex(), result.getResult());
+    // move any contiguous complete rows into the chunk
+    PendingRow next = pendingRows.get(nextRowIndex);
+    while (next != null && next.isComplete()) {
+      pendingRows.remove(nextRowIndex);
+      chunk.add(next);
+      nextRowIndex++;
+      if (chunk.size() >= chunkSize) {
+        writeChunk();
+      }
+      next = pendingRows.get(nextRowIndex);
+    }
+  }
+
+  @Override
+  public void calculationsComplete() {
+    // rows that are missing results are written with failures, so that there is a row for every target
+    for (; nextRowIndex < targets.size(); nextRowIndex++) {
+      PendingRow row = pendingRows.remove(nextRowIndex);
+      if (row == null) {
+        row = new PendingRow(nextRowIndex, columns.size());
+      }
+      row.addMissing(columns);
+      chunk.add(row);
+      if (chunk.size() >= chunkSize) {
+        writeChunk();
+      }
+    }
+    writeChunk();
+    Unchecked.wrap(outputWriter::flush);
+  }
+
+  //-------------------------------------------------------------------------
+  // evaluates and writes the rows in the current chunk
+  private void writeChunk() {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    List<CalculationTarget> chunkTargets = new ArrayList<>(chunk.size());
+    List<Result<?>> chunkCells = new ArrayList<>(chunk.size() * columns.size());
+    for (PendingRow row : chunk) {
+      chunkTargets.add(targets.get(row.rowIndex));
+      chunkCells.addAll(Arrays.asList(row.cells));
+    }
+    ReportCalculationResults chunkResults = ReportCalculationResults.of(
+        valuationDate,
+        chunkTargets,
+        columns,
+        Results.of(columnHeaders, chunkCells),
+        calculationFunctions,
+        refData);
+    TradeReport chunkReport = TradeReportRunner.INSTANCE.runReport(chunkResults, template);
+    TradeReportFormatter.INSTANCE.writeCsvRows(chunkReport, csvOut);
+    Unchecked.wrap(outputWriter::flush);
+    rowsWritten += chunk.size();
+    chunk.clear();
+  }
+
+  //-------------------------------------------------------------------------
+  // receives the results of a window of rows, passing them to the writer with the row index of the report
+  private final class WindowListener extends AggregatingCalculationListener<Void> {
+    private final int firstRowIndex;
+
+    private WindowListener(int firstRowIndex) {
+      this.firstRowIndex = firstRowIndex;
+    }
+
+    @Override
+    public void resultReceived(CalculationTarget target, CalculationResult result) {
+      StreamingTradeReportWriter.this.resultReceived(
+          target,
+          CalculationResult.of(firstRowIndex + result.getRowIndex(), result.getColumnIndex(), result.getResult()));
+    }
+
+    @Override
+    protected Void createAggregateResult() {
+      return null;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // the results of a row that has not yet been written
+  private static final class PendingRow {
+    private final int rowIndex;
+    private final Result<?>[] cells;
+    private int received;
+
+    private PendingRow(int rowIndex, int columnCount) {
+      this.rowIndex = rowIndex;
+      this.cells = new Result<?>[columnCount];
+    }
+
+    private void add(int columnIndex, Result<?> result) {
+      if (cells[columnIndex] == null) {
+        received++;
+      }
+      cells[columnIndex] = result;
+    }
+
+    private boolean isComplete() {
+      return received == cells.length;
+    }
+
+    private void addMissing(List<Column> columns) {
+      for (int i = 0; i < cells.length; i++) {
+        if (cells[i] == null) {
+          add(i, Result.failure(
+              FailureReason.CALCULATION_FAILED,
+              "No result was received for column '{}' before the calculations completed",
+              columns.get(i).getName()));
+        }
+      }
+    }
+  }
+
+}
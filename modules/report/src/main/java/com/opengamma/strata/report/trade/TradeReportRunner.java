@@ -9,6 +9,7 @@ import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableTable;
@@ -19,6 +20,7 @@ import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.report.ReportCalculationResults;
 import com.opengamma.strata.report.ReportRequirements;
 import com.opengamma.strata.report.ReportRunner;
+import com.opengamma.strata.report.framework.expression.CompiledValuePath;
 import com.opengamma.strata.report.framework.expression.ValuePathEvaluator;
 
 /**
@@ -35,6 +37,15 @@ public final class TradeReportRunner
    * The single shared instance of this report runner.
    */
   public static final TradeReportRunner INSTANCE = new TradeReportRunner();
+  /**
+   * The number of rows above which the report is evaluated in parallel.
+   */
+  static final int PARALLEL_THRESHOLD = 1000;
+  /**
+   * The result used when a column does not specify a value.
+   */
+  private static final Result<?> NO_VALUE =
+      Result.failure(FailureReason.INVALID, "No value specified in report template");
 
   // restricted constructor
   private TradeReportRunner() {
@@ -56,23 +67,24 @@ public final class TradeReportRunner
 
   @Override
   public TradeReport runReport(ReportCalculationResults results, TradeReportTemplate reportTemplate) {
-    ImmutableTable.Builder<Integer, Integer, Result<?>> resultTable = ImmutableTable.builder();
-
-    for (int reportColumnIdx = 0; reportColumnIdx < reportTemplate.getColumns().size(); reportColumnIdx++) {
-      TradeReportColumn reportColumn = reportTemplate.getColumns().get(reportColumnIdx);
-      List<Result<?>> columnResults;
-
-      if (reportColumn.getValue().isPresent()) {
-        columnResults = ValuePathEvaluator.evaluate(reportColumn.getValue().get(), results);
-      } else {
-        columnResults = IntStream.range(0, results.getTargets().size())
-            .mapToObj(i -> Result.failure(FailureReason.INVALID, "No value specified in report template"))
-            .collect(toImmutableList());
-      }
-      int rowCount = results.getCalculationResults().getRowCount();
+    List<Optional<CompiledValuePath>> paths = reportTemplate.getColumns().stream()
+        .map(column -> column.getValue().map(ValuePathEvaluator::compile))
+        .collect(toImmutableList());
+    int rowCount = results.getCalculationResults().getRowCount();
+    IntStream rows = IntStream.range(0, rowCount);
+    if (rowCount > PARALLEL_THRESHOLD) {
+      rows = rows.parallel();
+    }
+    // rows are evaluated independently, the ordered stream preserves the row order
+    List<List<Result<?>>> rowResults = rows
+        .mapToObj(rowIdx -> evaluateRow(results, paths, rowIdx))
+        .collect(toImmutableList());
 
-      for (int rowIdx = 0; rowIdx < rowCount; rowIdx++) {
-        resultTable.put(rowIdx, reportColumnIdx, columnResults.get(rowIdx));
+    ImmutableTable.Builder<Integer, Integer, Result<?>> resultTable = ImmutableTable.builder();
+    for (int rowIdx = 0; rowIdx < rowCount; rowIdx++) {
+      List<Result<?>> row = rowResults.get(rowIdx);
+      for (int reportColumnIdx = 0; reportColumnIdx < row.size(); reportColumnIdx++) {
+        resultTable.put(rowIdx, reportColumnIdx, row.get(reportColumnIdx));
       }
     }
 
@@ -84,4 +96,15 @@ public final class TradeReportRunner
         .build();
   }
 
+  // evaluates all the columns of a single row
+  private static List<Result<?>> evaluateRow(
+      ReportCalculationResults results,
+      List<Optional<CompiledValuePath>> paths,
+      int rowIdx) {
+
+    return paths.stream()
+        .map(path -> path.isPresent() ? path.get().evaluateRow(results, rowIdx) : NO_VALUE)
+        .collect(toImmutableList());
+  }
+
 }
@@ -6,6 +6,7 @@
 package com.opengamma.strata.report.framework.expression;
 
 import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.product.common.BuySell.BUY;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -13,6 +14,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -128,6 +130,68 @@ public class ValuePathEvaluatorTest {
     assertThat(counterpartyResults).isEqualTo(expectedCounterparties);
   }
 
+  @Test
+  public void compiledPath() {
+    ReportCalculationResults reportResults = reportResults();
+
+    CompiledValuePath path = ValuePathEvaluator.compile("Trade.Counterparty.Value");
+    assertThat(path.getValuePath()).isEqualTo("Trade.Counterparty.Value");
+    assertThat(path.evaluate(reportResults))
+        .isEqualTo(ValuePathEvaluator.evaluate("Trade.Counterparty.Value", reportResults));
+    assertThat(path.evaluateRow(reportResults, 1)).isEqualTo(Result.success("cpty2"));
+  }
+
+  @Test
+  public void compiledPath_largeResultsPreserveOrder() {
+    Measure measure = Measure.of("PresentValue");
+    Column column = Column.of(measure);
+    int rowCount = 5000;
+    List<Result<?>> resultValues = IntStream.range(0, rowCount)
+        .mapToObj(i -> Result.success(CurrencyAmount.of(Currency.GBP, i)))
+        .collect(toImmutableList());
+    List<Trade> trades = IntStream.range(0, rowCount)
+        .mapToObj(i -> trade("cpty" + i, i))
+        .collect(toImmutableList());
+    Results results = Results.of(ImmutableList.of(column.toHeader()), resultValues);
+    ReportCalculationResults reportResults =
+        ReportCalculationResults.of(LocalDate.now(ZoneOffset.UTC), trades, ImmutableList.of(column), results);
+
+    List<Result<?>> amounts = ValuePathEvaluator.compile("Measures.PresentValue.Amount").evaluate(reportResults);
+    assertThat(amounts).isEqualTo(resultValues);
+    List<Result<?>> counterparties = ValuePathEvaluator.compile("Trade.Counterparty.Value").evaluate(reportResults);
+    for (int i = 0; i < rowCount; i++) {
+      assertThat(counterparties.get(i)).isEqualTo(Result.success("cpty" + i));
+    }
+  }
+
+  @Test
+  public void compiledPath_propertyChain() {
+    Measure measure = Measure.of("PresentValue");
+    Column column = Column.of(measure);
+    List<Result<?>> resultValues = ImmutableList.of(
+        Result.success(CurrencyAmount.of(Currency.GBP, 1d)),
+        Result.success(CurrencyAmount.of(Currency.GBP, 2d)),
+        Result.success(CurrencyAmount.of(Currency.GBP, 3d)));
+    List<Trade> trades = ImmutableList.of(
+        trade("cpty1", 1_000_000),
+        FraTrade.builder().info(TradeInfo.empty()).product(((FraTrade) trade("cpty2", 1)).getProduct()).build(),
+        trade("cpty3", 100_000_000));
+    Results results = Results.of(ImmutableList.of(column.toHeader()), resultValues);
+    ReportCalculationResults reportResults =
+        ReportCalculationResults.of(LocalDate.now(ZoneOffset.UTC), trades, ImmutableList.of(column), results);
+
+    CompiledValuePath path = ValuePathEvaluator.compile("Trade.Info.counterparty.VALUE");
+    for (int i = 0; i < 2; i++) {
+      List<Result<?>> counterparties = path.evaluate(reportResults);
+      assertThat(counterparties.get(0)).isEqualTo(Result.success("cpty1"));
+      assertThat(counterparties.get(1).isFailure()).isTrue();
+      assertThat(counterparties.get(1).getFailure().getMessage()).contains("counterparty");
+      assertThat(counterparties.get(2)).isEqualTo(Result.success("cpty3"));
+    }
+    assertThat(ValuePathEvaluator.compile("Trade.Info.Counterparty.Unknown").evaluateRow(reportResults, 0).isFailure())
+        .isTrue();
+  }
+
   //--------------------------------------------------------------------------------------------------
 
   private static ReportCalculationResults reportResults() {
@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2026 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationListener;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.calc.runner.CalculationTaskRunner;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.product.Trade;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.fra.Fra;
+import com.opengamma.strata.product.fra.FraTrade;
+import com.opengamma.strata.report.ReportCalculationResults;
+
+/**
+ * Test {@link StreamingTradeReportWriter}.
+ */
+public class StreamingTradeReportWriterTest {
+
+  private static final LocalDate VAL_DATE = date(2015, 8, 1);
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measure.of("PresentValue")),
+      Column.of(Measure.of("ParRate")));
+  private static final TradeReportTemplate TEMPLATE = TradeReportTemplate.builder()
+      .columns(
+          TradeReportColumn.builder().header("Counterparty").value("Trade.Counterparty.Value").build(),
+          TradeReportColumn.builder().header("PV").value("Measures.PresentValue").build(),
+          TradeReportColumn.builder().header("Par Rate").value("Measures.ParRate").build())
+      .build();
+
+  @Test
+  public void test_matchesInMemoryReport() {
+    int rowCount = 53;
+    List<Trade> trades = IntStream.range(0, rowCount)
+        .mapToObj(i -> trade("cpty" + i, 1_000_000 + i))
+        .collect(toImmutableList());
+    List<CalculationResult> cells = new ArrayList<>();
+    for (int i = 0; i < rowCount; i++) {
+      cells.add(CalculationResult.of(i, 0, Result.success(CurrencyAmount.of(Currency.GBP, i))));
+      cells.add(CalculationResult.of(i, 1, Result.success(0.01 * i)));
+    }
+    Results results = Results.of(
+        COLUMNS.stream().map(Column::toHeader).collect(toImmutableList()),
+        cells.stream().map(CalculationResult::getResult).collect(toImmutableList()));
+    ReportCalculationResults reportResults = ReportCalculationResults.of(VAL_DATE, trades, COLUMNS, results);
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    TradeReport.of(reportResults, TEMPLATE).writeCsv(expected);
+
+    // deliver the results out of order to exercise row buffering
+    Collections.shuffle(cells, new Random(1));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    StreamingTradeReportWriter test = StreamingTradeReportWriter.of(
+        TEMPLATE, VAL_DATE, StandardComponents.calculationFunctions(), ReferenceData.standard(), out, 10);
+    test.calculationsStarted(ImmutableList.copyOf(trades), COLUMNS);
+    for (CalculationResult cell : cells) {
+      test.resultReceived(trades.get(cell.getRowIndex()), cell);
+    }
+    test.calculationsComplete();
+
+    assertThat(test.getRowsWritten()).isEqualTo(rowCount);
+    assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8))
+        .isEqualTo(new String(expected.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void test_writesCompleteChunksEagerly() {
+    List<Trade> trades = IntStream.range(0, 5)
+        .mapToObj(i -> trade("cpty" + i, 1_000_000))
+        .collect(toImmutableList());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    StreamingTradeReportWriter test = StreamingTradeReportWriter.of(
+        TEMPLATE, VAL_DATE, StandardComponents.calculationFunctions(), ReferenceData.standard(), out, 2);
+    test.calculationsStarted(ImmutableList.copyOf(trades), COLUMNS);
+    String header = new String(out.toByteArray(), StandardCharsets.UTF_8);
+    assertThat(header).startsWith("Counterparty,PV,Par Rate");
+
+    // row 1 is complete but row 0 is not, so nothing is written
+    test.resultReceived(trades.get(1), CalculationResult.of(1, 0, Result.success(CurrencyAmount.of(Currency.GBP, 1))));
+    test.resultReceived(trades.get(1), CalculationResult.of(1, 1, Result.success(0.01)));
+    assertThat(test.getRowsWritten()).isEqualTo(0);
+
+    // completing row 0 completes the first chunk
+    test.resultReceived(trades.get(0), CalculationResult.of(0, 0, Result.success(CurrencyAmount.of(Currency.GBP, 0))));
+    test.resultReceived(trades.get(0), CalculationResult.of(0, 1, Result.success(0.02)));
+    assertThat(test.getRowsWritten()).isEqualTo(2);
+    assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).contains("cpty0").contains("cpty1");
+
+    test.resultReceived(trades.get(2), CalculationResult.of(2, 0, Result.success(CurrencyAmount.of(Currency.GBP, 2))));
+    test.resultReceived(trades.get(2), CalculationResult.of(2, 1, Result.success(0.03)));
+    assertThat(test.getRowsWritten()).isEqualTo(2);
+    test.resultReceived(trades.get(3), CalculationResult.of(3, 0, Result.success(CurrencyAmount.of(Currency.GBP, 3))));
+    test.resultReceived(trades.get(3), CalculationResult.of(3, 1, Result.success(0.04)));
+    test.resultReceived(trades.get(4), CalculationResult.of(4, 0, Result.success(CurrencyAmount.of(Currency.GBP, 4))));
+    test.resultReceived(trades.get(4), CalculationResult.of(4, 1, Result.success(0.05)));
+    assertThat(test.getRowsWritten()).isEqualTo(4);
+    test.calculationsComplete();
+    assertThat(test.getRowsWritten()).isEqualTo(5);
+  }
+
+  @Test
+  public void test_writesIncompleteRowsOnCompletion() {
+    List<Trade> trades = IntStream.range(0, 4)
+        .mapToObj(i -> trade("cpty" + i, 1_000_000))
+        .collect(toImmutableList());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    StreamingTradeReportWriter test = StreamingTradeReportWriter.of(
+        TEMPLATE, VAL_DATE, StandardComponents.calculationFunctions(), ReferenceData.standard(), out, 2);
+    test.calculationsStarted(ImmutableList.copyOf(trades), COLUMNS);
+
+    // row 0 is missing a result, row 1 and row 3 are complete and row 2 has no results
+    test.resultReceived(trades.get(0), CalculationResult.of(0, 0, Result.success(CurrencyAmount.of(Currency.GBP, 0))));
+    test.resultReceived(trades.get(1), CalculationResult.of(1, 0, Result.success(CurrencyAmount.of(Currency.GBP, 1))));
+    test.resultReceived(trades.get(1), CalculationResult.of(1, 1, Result.success(0.02)));
+    test.resultReceived(trades.get(3), CalculationResult.of(3, 0, Result.success(CurrencyAmount.of(Currency.GBP, 3))));
+    test.resultReceived(trades.get(3), CalculationResult.of(3, 1, Result.success(0.04)));
+    assertThat(test.getRowsWritten()).isEqualTo(0);
+    test.calculationsComplete();
+    assertThat(test.getRowsWritten()).isEqualTo(4);
+
+    List<String> lines = ImmutableList.copyOf(new String(out.toByteArray(), StandardCharsets.UTF_8).split("\\R"));
+    assertThat(lines).hasSize(5);
+    assertThat(lines.get(1)).startsWith("cpty0,").contains("No result was received for column 'ParRate'");
+    assertThat(lines.get(2)).isEqualTo("cpty1,1,0.02");
+    assertThat(lines.get(3)).startsWith("cpty2,").contains("No result was received for column 'PresentValue'");
+    assertThat(lines.get(4)).isEqualTo("cpty3,3,0.04");
+  }
+
+  @Test
+  public void test_calculate_boundsRowsInProgress() {
+    int rowCount = 23;
+    List<Trade> trades = IntStream.range(0, rowCount)
+        .mapToObj(i -> trade("cpty" + i, 1_000_000 + i))
+        .collect(toImmutableList());
+    CalculationRules rules = CalculationRules.of(StandardComponents.calculationFunctions());
+    List<Integer> windowSizes = new ArrayList<>();
+    try (CalculationRunner runner = new RecordingRunner(CalculationRunner.ofMultiThreaded(), windowSizes)) {
+      Results results = runner.calculate(rules, trades, COLUMNS, MarketData.empty(VAL_DATE), ReferenceData.standard());
+      ReportCalculationResults reportResults = ReportCalculationResults.of(VAL_DATE, trades, COLUMNS, results);
+      ByteArrayOutputStream expected = new ByteArrayOutputStream();
+      TradeReport.of(reportResults, TEMPLATE).writeCsv(expected);
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      StreamingTradeReportWriter test = StreamingTradeReportWriter.of(
+          TEMPLATE, VAL_DATE, StandardComponents.calculationFunctions(), ReferenceData.standard(), out, 4);
+      windowSizes.clear();
+      test.calculate(runner, rules, trades, COLUMNS, MarketData.empty(VAL_DATE), 10);
+
+      assertThat(windowSizes).containsExactly(10, 10, 3);
+      assertThat(test.getRowsWritten()).isEqualTo(rowCount);
+      assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8))
+          .isEqualTo(new String(expected.toByteArray(), StandardCharsets.UTF_8));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // runner that records the number of targets in each asynchronous calculation
+  private static final class RecordingRunner implements CalculationRunner {
+    private final CalculationRunner delegate;
+    private final List<Integer> windowSizes;
+
+    private RecordingRunner(CalculationRunner delegate, List<Integer> windowSizes) {
+      this.delegate = delegate;
+      this.windowSizes = windowSizes;
+    }
+
+    @Override
+    public Results calculate(
+        CalculationRules rules,
+        List<? extends CalculationTarget> targets,
+        List<Column> columns,
+        MarketData marketData,
+        ReferenceData refData) {
+      return delegate.calculate(rules, targets, columns, marketData, refData);
+    }
+
+    @Override
+    public void calculateAsync(
+        CalculationRules rules,
+        List<? extends CalculationTarget> targets,
+        List<Column> columns,
+        MarketData marketData,
+        ReferenceData refData,
+        CalculationListener listener) {
+      windowSizes.add(targets.size());
+      delegate.calculateAsync(rules, targets, columns, marketData, refData, listener);
+    }
+
+    @Override
+    public Results calculateMultiScenario(
+        CalculationRules rules,
+        List<? extends CalculationTarget> targets,
+        List<Column> columns,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+      return delegate.calculateMultiScenario(rules, targets, columns, marketData, refData);
+    }
+
+    @Override
+    public void calculateMultiScenarioAsync(
+        CalculationRules rules,
+        List<? extends CalculationTarget> targets,
+        List<Column> columns,
+        ScenarioMarketData marketData,
+        ReferenceData refData,
+        CalculationListener listener) {
+      delegate.calculateMultiScenarioAsync(rules, targets, columns, marketData, refData, listener);
+    }
+
+    @Override
+    public CalculationTaskRunner getTaskRunner() {
+      return delegate.getTaskRunner();
+    }
+
+    @Override
+    public void close() {
+      delegate.close();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static Trade trade(String counterparty, double notional) {
+    TradeInfo tradeInfo = TradeInfo.builder()
+        .counterparty(StandardId.of("cpty", counterparty))
+        .build();
+    Fra fra = Fra.builder()
+        .buySell(BUY)
+        .notional(notional)
+        .startDate(date(2015, 8, 5))
+        .endDate(date(2015, 11, 5))
+        .paymentDate(AdjustableDate.of(date(2015, 8, 7)))
+        .fixedRate(0.25d)
+        .index(GBP_LIBOR_3M)
+        .build();
+    return FraTrade.builder()
+        .info(tradeInfo)
+        .product(fra)
+        .build();
+  }
+
+}